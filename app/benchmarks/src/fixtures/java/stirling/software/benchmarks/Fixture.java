@@ -0,0 +1,45 @@
+package stirling.software.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/** The generated PDFs benchmarks run against, written by {@link FixtureGenerator}. */
+public enum Fixture {
+    /** A few pages of plain text. */
+    SMALL("small.pdf"),
+    /** Several hundred text and vector pages. */
+    LARGE("large.pdf"),
+    /** Pages dominated by large JPEG and lossless images. */
+    IMAGE_HEAVY("image-heavy.pdf"),
+    /** Text set in every bundled TrueType font, embedded as subsets. */
+    FONT_HEAVY("font-heavy.pdf"),
+    /** Pages of AcroForm text fields with generated appearances. */
+    FORM_HEAVY("form-heavy.pdf");
+
+    /** System property the jmh task sets to the directory the fixtures were generated into. */
+    public static final String DIRECTORY_PROPERTY = "benchmark.fixtures";
+
+    private final String fileName;
+
+    Fixture(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String fileName() {
+        return fileName;
+    }
+
+    /** The fixture's path, failing fast when the fixtures have not been generated. */
+    public Path path() {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        if (directory == null || directory.isBlank()) {
+            throw new IllegalStateException(
+                    DIRECTORY_PROPERTY + " is not set; run the benchmarks with ./gradlew jmh");
+        }
+        Path path = Path.of(directory, fileName);
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalStateException(path + " is missing; run ./gradlew generateFixtures");
+        }
+        return path;
+    }
+}
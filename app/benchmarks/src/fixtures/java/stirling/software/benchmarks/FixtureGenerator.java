@@ -0,0 +1,293 @@
+package stirling.software.benchmarks;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationWidget;
+import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
+import org.apache.pdfbox.pdmodel.interactive.form.PDTextField;
+
+/**
+ * Writes the {@link Fixture} PDFs. Content comes from a fixed seed, so every run and every commit
+ * benchmarks the same pages.
+ *
+ * <p>Arguments: the output directory, then optionally a directory of TrueType fonts to embed in
+ * the font-heavy fixture (the app's bundled {@code static/fonts}).
+ */
+public final class FixtureGenerator {
+
+    private static final long SEED = 20240601L;
+
+    private static final String[] WORDS =
+            ("lorem ipsum dolor sit amet consectetur adipiscing elit sed do eiusmod tempor"
+                            + " incididunt ut labore et dolore magna aliqua invoice total amount"
+                            + " due quarterly report revenue page section summary")
+                    .split(" ");
+
+    private static final int SMALL_PAGES = 3;
+    private static final int LARGE_PAGES = 400;
+    private static final int IMAGE_PAGES = 24;
+    private static final int FONT_PAGES = 40;
+    private static final int FORM_PAGES = 30;
+    private static final int FIELDS_PER_PAGE = 24;
+
+    private FixtureGenerator() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: FixtureGenerator <outputDir> [fontsDir]");
+        }
+        Path output = Path.of(args[0]);
+        Path fonts = args.length > 1 && !args[1].isBlank() ? Path.of(args[1]) : null;
+        Files.createDirectories(output);
+
+        write(output, Fixture.SMALL, doc -> textPages(doc, SMALL_PAGES, new Random(SEED)));
+        write(output, Fixture.LARGE, doc -> textPages(doc, LARGE_PAGES, new Random(SEED)));
+        write(output, Fixture.IMAGE_HEAVY, doc -> imagePages(doc, new Random(SEED)));
+        write(output, Fixture.FONT_HEAVY, doc -> fontPages(doc, fonts, new Random(SEED)));
+        write(output, Fixture.FORM_HEAVY, doc -> formPages(doc, new Random(SEED)));
+    }
+
+    @FunctionalInterface
+    private interface Content {
+        void addTo(PDDocument document) throws IOException;
+    }
+
+    private static void write(Path directory, Fixture fixture, Content content)
+            throws IOException {
+        Path path = directory.resolve(fixture.fileName());
+        try (PDDocument document = new PDDocument()) {
+            content.addTo(document);
+            document.save(path.toFile());
+        }
+        System.out.printf("%s: %d KB%n", path, Files.size(path) >> 10);
+    }
+
+    private static void textPages(PDDocument document, int pages, Random random)
+            throws IOException {
+        PDFont body = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        PDFont heading = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+        for (int i = 0; i < pages; i++) {
+            PDPage page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+            try (PDPageContentStream cs = new PDPageContentStream(document, page)) {
+                writeLine(cs, heading, 16, 50, 790, "Section " + (i + 1));
+                float y = 760;
+                for (int line = 0; line < 30; line++, y -= 14) {
+                    writeLine(cs, body, 10, 50, y, sentence(random, 12));
+                }
+                // A ruled table under the text, like the statements and reports users upload
+                for (int row = 0; row <= 8; row++) {
+                    cs.moveTo(50, 300 - row * 20f);
+                    cs.lineTo(545, 300 - row * 20f);
+                }
+                for (int col = 0; col <= 5; col++) {
+                    cs.moveTo(50 + col * 99f, 300);
+                    cs.lineTo(50 + col * 99f, 140);
+                }
+                cs.stroke();
+                for (int row = 0; row < 8; row++) {
+                    for (int col = 0; col < 5; col++) {
+                        String cell =
+                                String.format(
+                                        Locale.ROOT, "%,.2f", random.nextDouble() * 10_000);
+                        writeLine(cs, body, 9, 54 + col * 99f, 286 - row * 20f, cell);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void imagePages(PDDocument document, Random random) throws IOException {
+        for (int i = 0; i < IMAGE_PAGES; i++) {
+            PDPage page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+            // Alternate photo-like JPEGs with flat lossless images, the two kinds compress handles
+            PDImageXObject photo =
+                    JPEGFactory.createFromImage(document, photo(1800, 1200, random), 0.92f);
+            PDImageXObject chart = LosslessFactory.createFromImage(document, chart(900, 600, i));
+            try (PDPageContentStream cs = new PDPageContentStream(document, page)) {
+                cs.drawImage(photo, 40, 420, 515, 343);
+                cs.drawImage(chart, 40, 60, 515, 343);
+            }
+        }
+    }
+
+    private static void fontPages(PDDocument document, Path fontsDirectory, Random random)
+            throws IOException {
+        List<PDFont> fonts = new ArrayList<>();
+        for (Standard14Fonts.FontName name : Standard14Fonts.FontName.values()) {
+            if (name != Standard14Fonts.FontName.SYMBOL
+                    && name != Standard14Fonts.FontName.ZAPF_DINGBATS) {
+                fonts.add(new PDType1Font(name));
+            }
+        }
+        for (File file : trueTypeFonts(fontsDirectory)) {
+            PDFont font;
+            try {
+                font = PDType0Font.load(document, file);
+                // Script-specific fonts without Latin glyphs cannot set the sample text
+                font.encode(String.join(" ", WORDS));
+            } catch (IOException | IllegalArgumentException e) {
+                continue;
+            }
+            fonts.add(font);
+        }
+        for (int i = 0; i < FONT_PAGES; i++) {
+            PDPage page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+            try (PDPageContentStream cs = new PDPageContentStream(document, page)) {
+                float y = 790;
+                for (int line = 0; line < 48; line++, y -= 16) {
+                    PDFont font = fonts.get((i * 48 + line) % fonts.size());
+                    writeLine(cs, font, 11, 50, y, sentence(random, 9));
+                }
+            }
+        }
+    }
+
+    private static void formPages(PDDocument document, Random random) throws IOException {
+        PDFont font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        PDResources resources = new PDResources();
+        resources.put(COSName.HELV, font);
+        PDAcroForm form = new PDAcroForm(document);
+        form.setDefaultResources(resources);
+        form.setDefaultAppearance("/Helv 0 Tf 0 g");
+        document.getDocumentCatalog().setAcroForm(form);
+
+        for (int i = 0; i < FORM_PAGES; i++) {
+            PDPage page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+            try (PDPageContentStream cs = new PDPageContentStream(document, page)) {
+                for (int f = 0; f < FIELDS_PER_PAGE; f++) {
+                    writeLine(cs, font, 9, 50, 784 - f * 30f, "Field " + (f + 1));
+                }
+            }
+            for (int f = 0; f < FIELDS_PER_PAGE; f++) {
+                PDTextField field = new PDTextField(form);
+                field.setPartialName("p" + (i + 1) + "_field" + (f + 1));
+                field.setDefaultAppearance("/Helv 10 Tf 0 g");
+                form.getFields().add(field);
+
+                PDAnnotationWidget widget = field.getWidgets().get(0);
+                widget.setRectangle(new PDRectangle(130, 778 - f * 30f, 400, 20));
+                widget.setPage(page);
+                widget.setPrinted(true);
+                page.getAnnotations().add(widget);
+
+                field.setValue(sentence(random, 5));
+            }
+        }
+    }
+
+    private static List<File> trueTypeFonts(Path directory) {
+        if (directory == null || !Files.isDirectory(directory)) {
+            return List.of();
+        }
+        File[] files = directory.toFile().listFiles((dir, name) -> name.endsWith(".ttf"));
+        if (files == null) {
+            return List.of();
+        }
+        // Directory order differs between file systems; sort so the fixture is stable
+        Arrays.sort(files, Comparator.comparing(File::getName));
+        return List.of(files);
+    }
+
+    private static BufferedImage photo(int width, int height, Random random) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setPaint(
+                    new GradientPaint(
+                            0,
+                            0,
+                            new Color(random.nextInt(0xFFFFFF)),
+                            width,
+                            height,
+                            new Color(random.nextInt(0xFFFFFF))));
+            g.fillRect(0, 0, width, height);
+        } finally {
+            g.dispose();
+        }
+        // Sensor-like noise keeps the JPEG from compressing to nothing
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int rgb = image.getRGB(x, y);
+                int noise = random.nextInt(25) - 12;
+                int r = clamp(((rgb >> 16) & 0xFF) + noise);
+                int gr = clamp(((rgb >> 8) & 0xFF) + noise);
+                int b = clamp((rgb & 0xFF) + noise);
+                image.setRGB(x, y, (r << 16) | (gr << 8) | b);
+            }
+        }
+        return image;
+    }
+
+    private static BufferedImage chart(int width, int height, int index) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            int bars = 12;
+            for (int bar = 0; bar < bars; bar++) {
+                int barHeight = (int) (height * (0.2 + 0.7 * Math.abs(Math.sin(index + bar))));
+                g.setColor(Color.getHSBColor(bar / (float) bars, 0.6f, 0.85f));
+                g.fillRect(20 + bar * 72, height - barHeight, 56, barHeight);
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static void writeLine(
+            PDPageContentStream cs, PDFont font, float size, float x, float y, String text)
+            throws IOException {
+        cs.beginText();
+        cs.setFont(font, size);
+        cs.newLineAtOffset(x, y);
+        cs.showText(text);
+        cs.endText();
+    }
+}
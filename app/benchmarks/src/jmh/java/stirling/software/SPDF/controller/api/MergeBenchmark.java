@@ -0,0 +1,69 @@
+package stirling.software.SPDF.controller.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import stirling.software.benchmarks.BenchmarkConfiguration;
+import stirling.software.benchmarks.Fixture;
+import stirling.software.benchmarks.Uploads;
+import stirling.software.common.service.CustomPDFDocumentFactory;
+
+/**
+ * {@link MergeController#mergeDocuments} over several copies of one fixture, including the loads
+ * before it and the save after it that the merge endpoint performs.
+ */
+@State(Scope.Benchmark)
+public class MergeBenchmark {
+
+    @Param({"SMALL", "LARGE", "IMAGE_HEAVY", "FONT_HEAVY", "FORM_HEAVY"})
+    public Fixture fixture;
+
+    @Param({"4"})
+    public int copies;
+
+    private AnnotationConfigApplicationContext context;
+    private CustomPDFDocumentFactory factory;
+    private MergeController controller;
+    private byte[] pdf;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkConfiguration.start();
+        factory = context.getBean(CustomPDFDocumentFactory.class);
+        controller = context.getBean(MergeController.class);
+        pdf = Uploads.bytes(fixture);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void mergeDocuments() throws IOException {
+        List<PDDocument> sources = new ArrayList<>(copies);
+        try {
+            for (int i = 0; i < copies; i++) {
+                sources.add(factory.load(pdf));
+            }
+            try (PDDocument merged = controller.mergeDocuments(sources)) {
+                merged.save(OutputStream.nullOutputStream());
+            }
+        } finally {
+            for (PDDocument source : sources) {
+                source.close();
+            }
+        }
+    }
+}
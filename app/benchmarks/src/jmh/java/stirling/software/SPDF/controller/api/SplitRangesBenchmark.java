@@ -0,0 +1,72 @@
+package stirling.software.SPDF.controller.api;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import stirling.software.SPDF.model.api.general.SplitPdfBySizeOrCountRequest;
+import stirling.software.benchmarks.BenchmarkConfiguration;
+import stirling.software.benchmarks.Fixture;
+import stirling.software.jpdfium.PdfDocument;
+
+/**
+ * How long {@link SplitPdfBySizeController} takes to decide where to split, before any part is
+ * written. Size splits measure candidate ranges by saving them, so they dominate.
+ */
+@State(Scope.Benchmark)
+public class SplitRangesBenchmark {
+
+    /** The three split types the endpoint accepts, with a value suited to the fixtures. */
+    public enum Split {
+        BY_SIZE(0, "1MB"),
+        BY_PAGE_COUNT(1, "10"),
+        BY_DOCUMENT_COUNT(2, "4");
+
+        private final int type;
+        private final String value;
+
+        Split(int type, String value) {
+            this.type = type;
+            this.value = value;
+        }
+    }
+
+    @Param({"LARGE", "IMAGE_HEAVY", "FORM_HEAVY"})
+    public Fixture fixture;
+
+    @Param({"BY_SIZE", "BY_PAGE_COUNT", "BY_DOCUMENT_COUNT"})
+    public Split split;
+
+    private AnnotationConfigApplicationContext context;
+    private SplitPdfBySizeController controller;
+    private SplitPdfBySizeOrCountRequest request;
+    private PdfDocument document;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = BenchmarkConfiguration.start();
+        controller = context.getBean(SplitPdfBySizeController.class);
+        request = new SplitPdfBySizeOrCountRequest();
+        request.setSplitType(split.type);
+        request.setSplitValue(split.value);
+        document = PdfDocument.open(fixture.path());
+    }
+
+    @TearDown
+    public void tearDown() {
+        document.close();
+        context.close();
+    }
+
+    @Benchmark
+    public List<int[]> computeRanges() throws IOException {
+        return controller.computeRanges(request, document);
+    }
+}
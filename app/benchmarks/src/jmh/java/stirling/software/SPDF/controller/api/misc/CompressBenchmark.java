@@ -0,0 +1,52 @@
+package stirling.software.SPDF.controller.api.misc;
+
+import java.nio.file.Path;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import stirling.software.benchmarks.BenchmarkConfiguration;
+import stirling.software.benchmarks.Fixture;
+import stirling.software.common.util.TempFile;
+
+/**
+ * {@link CompressController#compressImagesInPDF} with the scale and JPEG quality of optimisation
+ * level 5, the middle of the range.
+ */
+@State(Scope.Benchmark)
+public class CompressBenchmark {
+
+    @Param({"IMAGE_HEAVY", "LARGE"})
+    public Fixture fixture;
+
+    @Param({"false", "true"})
+    public boolean grayscale;
+
+    private AnnotationConfigApplicationContext context;
+    private CompressController controller;
+    private Path pdf;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkConfiguration.start();
+        controller = context.getBean(CompressController.class);
+        pdf = fixture.path();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long compressImagesInPDF() throws Exception {
+        try (TempFile compressed = controller.compressImagesInPDF(pdf, 0.68, 0.72f, grayscale)) {
+            return compressed.getFile().length();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package stirling.software.SPDF.controller.api.security;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import stirling.software.benchmarks.BenchmarkConfiguration;
+import stirling.software.benchmarks.Fixture;
+import stirling.software.benchmarks.Uploads;
+import stirling.software.common.model.api.PDFFile;
+
+/** {@link GetInfoOnPDF#getPdfInfo}, including its veraPDF validation pass. */
+@State(Scope.Benchmark)
+public class GetInfoBenchmark {
+
+    @Param({"SMALL", "LARGE", "IMAGE_HEAVY", "FONT_HEAVY", "FORM_HEAVY"})
+    public Fixture fixture;
+
+    private AnnotationConfigApplicationContext context;
+    private GetInfoOnPDF controller;
+    private PDFFile request;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkConfiguration.start();
+        controller = context.getBean(GetInfoOnPDF.class);
+        request = new PDFFile();
+        request.setFileInput(Uploads.of(fixture));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] getPdfInfo() throws IOException {
+        return controller.getPdfInfo(request).getBody();
+    }
+}
@@ -0,0 +1,46 @@
+package stirling.software.SPDF.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.web.multipart.MultipartFile;
+
+import stirling.software.benchmarks.BenchmarkConfiguration;
+import stirling.software.benchmarks.Fixture;
+import stirling.software.benchmarks.Uploads;
+
+/** {@link PdfJsonConversionService#convertPdfToJson} streaming to a discarding output. */
+@State(Scope.Benchmark)
+public class PdfJsonConversionBenchmark {
+
+    @Param({"SMALL", "LARGE", "IMAGE_HEAVY", "FONT_HEAVY", "FORM_HEAVY"})
+    public Fixture fixture;
+
+    private AnnotationConfigApplicationContext context;
+    private PdfJsonConversionService service;
+    private MultipartFile upload;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkConfiguration.start();
+        service = context.getBean(PdfJsonConversionService.class);
+        upload = Uploads.of(fixture);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void convertPdfToJson() throws IOException {
+        service.convertPdfToJson(upload, OutputStream.nullOutputStream());
+    }
+}
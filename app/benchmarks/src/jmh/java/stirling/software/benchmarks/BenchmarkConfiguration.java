@@ -0,0 +1,150 @@
+package stirling.software.benchmarks;
+
+import java.util.List;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import stirling.software.SPDF.config.EndpointConfiguration;
+import stirling.software.SPDF.controller.api.MergeController;
+import stirling.software.SPDF.controller.api.SplitPdfBySizeController;
+import stirling.software.SPDF.controller.api.misc.CompressController;
+import stirling.software.SPDF.controller.api.security.GetInfoOnPDF;
+import stirling.software.SPDF.service.PdfJsonConversionService;
+import stirling.software.SPDF.service.PdfJsonCosMapper;
+import stirling.software.SPDF.service.PdfJsonFallbackFontService;
+import stirling.software.SPDF.service.VeraPDFService;
+import stirling.software.SPDF.service.pdfjson.PdfJsonBlobStore;
+import stirling.software.SPDF.service.pdfjson.PdfJsonDocumentCache;
+import stirling.software.SPDF.service.pdfjson.PdfJsonFontService;
+import stirling.software.SPDF.service.pdfjson.type3.Type3FontConversionService;
+import stirling.software.SPDF.service.pdfjson.type3.Type3GlyphExtractor;
+import stirling.software.common.model.ApplicationProperties;
+import stirling.software.common.service.CustomPDFDocumentFactory;
+import stirling.software.common.service.PdfMetadataService;
+import stirling.software.common.util.ApplicationContextProvider;
+import stirling.software.common.util.TempFileManager;
+import stirling.software.common.util.TempFileRegistry;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * The slice of the application the benchmarks call into, wired with default settings. A plain
+ * Spring context rather than the Boot application, so {@code @PostConstruct} initialisation and
+ * {@code @Value} defaults run without web, security or database startup.
+ */
+@Configuration
+public class BenchmarkConfiguration {
+
+    /** Starts the context; benchmarks close it in their trial tear-down. */
+    public static AnnotationConfigApplicationContext start() {
+        return new AnnotationConfigApplicationContext(BenchmarkConfiguration.class);
+    }
+
+    @Bean
+    public ApplicationProperties applicationProperties() {
+        return new ApplicationProperties();
+    }
+
+    @Bean
+    public ApplicationContextProvider applicationContextProvider() {
+        return new ApplicationContextProvider();
+    }
+
+    @Bean
+    public TempFileManager tempFileManager(ApplicationProperties applicationProperties) {
+        return new TempFileManager(new TempFileRegistry(), applicationProperties);
+    }
+
+    @Bean
+    public PdfMetadataService pdfMetadataService(ApplicationProperties applicationProperties) {
+        return new PdfMetadataService(applicationProperties, "Stirling-PDF", false, null);
+    }
+
+    @Bean
+    public CustomPDFDocumentFactory customPDFDocumentFactory(
+            PdfMetadataService pdfMetadataService, TempFileManager tempFileManager) {
+        return new CustomPDFDocumentFactory(pdfMetadataService, tempFileManager);
+    }
+
+    @Bean
+    public EndpointConfiguration endpointConfiguration(
+            ApplicationProperties applicationProperties) {
+        return new EndpointConfiguration(applicationProperties, false, null);
+    }
+
+    @Bean
+    public MergeController mergeController(
+            CustomPDFDocumentFactory pdfDocumentFactory, TempFileManager tempFileManager) {
+        return new MergeController(pdfDocumentFactory, tempFileManager);
+    }
+
+    @Bean
+    public SplitPdfBySizeController splitPdfBySizeController(
+            CustomPDFDocumentFactory pdfDocumentFactory, TempFileManager tempFileManager) {
+        return new SplitPdfBySizeController(pdfDocumentFactory, tempFileManager);
+    }
+
+    @Bean
+    public CompressController compressController(
+            CustomPDFDocumentFactory pdfDocumentFactory,
+            EndpointConfiguration endpointConfiguration,
+            TempFileManager tempFileManager) {
+        return new CompressController(pdfDocumentFactory, endpointConfiguration, tempFileManager);
+    }
+
+    @Bean
+    public VeraPDFService veraPDFService() {
+        return new VeraPDFService();
+    }
+
+    @Bean
+    public GetInfoOnPDF getInfoOnPDF(
+            CustomPDFDocumentFactory pdfDocumentFactory, VeraPDFService veraPDFService) {
+        return new GetInfoOnPDF(pdfDocumentFactory, veraPDFService);
+    }
+
+    @Bean
+    public PdfJsonFallbackFontService pdfJsonFallbackFontService(
+            ResourceLoader resourceLoader, ApplicationProperties applicationProperties) {
+        return new PdfJsonFallbackFontService(resourceLoader, applicationProperties);
+    }
+
+    @Bean
+    public PdfJsonFontService pdfJsonFontService(
+            TempFileManager tempFileManager, ApplicationProperties applicationProperties) {
+        return new PdfJsonFontService(tempFileManager, applicationProperties);
+    }
+
+    @Bean
+    public PdfJsonConversionService pdfJsonConversionService(
+            CustomPDFDocumentFactory pdfDocumentFactory,
+            EndpointConfiguration endpointConfiguration,
+            TempFileManager tempFileManager,
+            PdfJsonFallbackFontService fallbackFontService,
+            PdfJsonFontService fontService,
+            ApplicationProperties applicationProperties) {
+        ObjectMapper objectMapper = JsonMapper.builder().build();
+        Type3GlyphExtractor glyphExtractor = new Type3GlyphExtractor();
+        return new PdfJsonConversionService(
+                pdfDocumentFactory,
+                objectMapper,
+                endpointConfiguration,
+                tempFileManager,
+                null,
+                new PdfJsonCosMapper(),
+                fallbackFontService,
+                fontService,
+                new Type3FontConversionService(List.of(), glyphExtractor),
+                glyphExtractor,
+                applicationProperties,
+                new PdfJsonBlobStore(tempFileManager),
+                new PdfJsonDocumentCache(
+                        tempFileManager, applicationProperties, new SimpleMeterRegistry()));
+    }
+}
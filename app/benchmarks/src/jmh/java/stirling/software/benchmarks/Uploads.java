@@ -0,0 +1,40 @@
+package stirling.software.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.web.multipart.MultipartFile;
+
+import stirling.software.common.util.ResourceMultipartFile;
+
+/** Fixtures as the in-memory uploads controllers receive from a multipart request. */
+public final class Uploads {
+
+    private Uploads() {}
+
+    public static byte[] bytes(Fixture fixture) {
+        try {
+            return Files.readAllBytes(fixture.path());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * An upload backed by heap bytes rather than the fixture file, so the document factory takes
+     * the same path it does for a real request instead of opening the file in place.
+     */
+    public static MultipartFile of(Fixture fixture) {
+        String fileName = fixture.fileName();
+        ByteArrayResource resource =
+                new ByteArrayResource(bytes(fixture)) {
+                    @Override
+                    public String getFilename() {
+                        return fileName;
+                    }
+                };
+        return new ResourceMultipartFile("fileInput", resource);
+    }
+}
@@ -0,0 +1,105 @@
+package stirling.software.common.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.pdfbox.io.RandomAccessStreamCache.StreamCacheCreateFunction;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import stirling.software.benchmarks.BenchmarkConfiguration;
+import stirling.software.benchmarks.Fixture;
+import stirling.software.benchmarks.Uploads;
+import stirling.software.common.util.TempFileManager;
+
+/**
+ * {@link CustomPDFDocumentFactory#load(byte[])} on each stream-cache tier. The fixtures are all
+ * small enough for the memory tier on their own, so the tier is forced by reporting a size from
+ * the tier's range to the cache selection, with a heap snapshot that never counts as low.
+ */
+@State(Scope.Benchmark)
+public class DocumentLoadBenchmark {
+
+    /** The stream-cache tiers, each with a size that selects it. */
+    public enum Tier {
+        MEMORY(0),
+        MIXED(20L * 1024 * 1024),
+        FILE(100L * 1024 * 1024);
+
+        private final long reportedSize;
+
+        Tier(long reportedSize) {
+            this.reportedSize = reportedSize;
+        }
+    }
+
+    @Param({"SMALL", "LARGE", "IMAGE_HEAVY", "FONT_HEAVY", "FORM_HEAVY"})
+    public Fixture fixture;
+
+    @Param({"MEMORY", "MIXED", "FILE"})
+    public Tier tier;
+
+    private AnnotationConfigApplicationContext context;
+    private CustomPDFDocumentFactory factory;
+    private byte[] pdf;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkConfiguration.start();
+        factory =
+                new TierForcingDocumentFactory(
+                        context.getBean(PdfMetadataService.class),
+                        context.getBean(TempFileManager.class),
+                        tier);
+        pdf = Uploads.bytes(fixture);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /** Opens the document and walks the page tree, as most tools do before their own work. */
+    @Benchmark
+    public void load(Blackhole blackhole) throws IOException {
+        try (PDDocument document = factory.load(pdf)) {
+            for (PDPage page : document.getPages()) {
+                blackhole.consume(page.getResources());
+            }
+        }
+    }
+
+    /** Opens and re-saves the document, which reads every object through the stream cache. */
+    @Benchmark
+    public void loadAndSave() throws IOException {
+        try (PDDocument document = factory.load(pdf)) {
+            document.save(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static final class TierForcingDocumentFactory extends CustomPDFDocumentFactory {
+
+        private final Tier tier;
+
+        TierForcingDocumentFactory(
+                PdfMetadataService pdfMetadataService, TempFileManager tempFileManager, Tier tier) {
+            super(pdfMetadataService, tempFileManager);
+            this.tier = tier;
+        }
+
+        @Override
+        protected StreamCacheCreateFunction getStreamCacheFunction(
+                long contentSize, MemorySnapshot mem) {
+            MemorySnapshot roomy = new MemorySnapshot(mem.maxBytes(), 0, mem.maxBytes(), 100.0);
+            return super.getStreamCacheFunction(tier.reportedSize, roomy);
+        }
+    }
+}
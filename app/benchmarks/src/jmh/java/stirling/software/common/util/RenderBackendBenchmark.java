@@ -0,0 +1,78 @@
+package stirling.software.common.util;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import org.apache.pdfbox.Loader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import stirling.software.benchmarks.Fixture;
+import stirling.software.benchmarks.Uploads;
+import stirling.software.jpdfium.PdfDocument;
+
+/**
+ * Every page of a fixture rasterised at 150 DPI by each {@link RenderBackend}, opening the
+ * document each time as a render request does. Divide the score by the fixture's page count for
+ * milliseconds per page.
+ */
+@State(Scope.Benchmark)
+public class RenderBackendBenchmark {
+
+    private static final ParallelPageRenderer.RenderSettings SETTINGS =
+            ParallelPageRenderer.RenderSettings.of(150);
+
+    @Param({"SMALL", "LARGE", "IMAGE_HEAVY", "FONT_HEAVY", "FORM_HEAVY"})
+    public Fixture fixture;
+
+    @Param({"PDFBOX", "PDFIUM"})
+    public RenderBackend backend;
+
+    private byte[] pdf;
+    private int pageCount;
+
+    /** Fails the run if the backends disagree on the first page's size, beyond rounding. */
+    @Setup
+    public void setUp() throws IOException {
+        pdf = Uploads.bytes(fixture);
+        try (PdfBoxPageRasterizer pdfBox = new PdfBoxPageRasterizer(Loader.loadPDF(pdf), true);
+                PdfiumPageRasterizer pdfium = new PdfiumPageRasterizer(PdfDocument.open(pdf))) {
+            pageCount = pdfium.pageCount();
+            BufferedImage expected = pdfBox.render(0, SETTINGS);
+            BufferedImage actual = pdfium.render(0, SETTINGS);
+            if (Math.abs(expected.getWidth() - actual.getWidth()) > 1
+                    || Math.abs(expected.getHeight() - actual.getHeight()) > 1) {
+                throw new IllegalStateException(
+                        fixture
+                                + ": PDFBox renders page 1 at "
+                                + expected.getWidth()
+                                + "x"
+                                + expected.getHeight()
+                                + ", PDFium at "
+                                + actual.getWidth()
+                                + "x"
+                                + actual.getHeight());
+            }
+        }
+    }
+
+    @Benchmark
+    public void renderAllPages(Blackhole blackhole) throws IOException {
+        try (PageRasterizer rasterizer = open()) {
+            for (int page = 0; page < pageCount; page++) {
+                blackhole.consume(rasterizer.render(page, SETTINGS));
+            }
+        }
+    }
+
+    private PageRasterizer open() throws IOException {
+        return switch (backend) {
+            case PDFBOX -> new PdfBoxPageRasterizer(Loader.loadPDF(pdf), true);
+            case PDFIUM -> new PdfiumPageRasterizer(PdfDocument.open(pdf));
+        };
+    }
+}
@@ -0,0 +1,415 @@
+package stirling.software.SPDF.pdf.parser;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+
+/**
+ * The positioned text of a document, extracted once and shared by every feature that searches or
+ * lays out text: redaction search and line boxes, AI page text and comment anchoring. Pages are
+ * extracted on first use. Each {@link Page} holds the page text, the glyph behind every character
+ * of it, the blocks PDFBox emitted, and the visual lines grouped from those glyphs.
+ *
+ * <p>A layer reads its {@link PDDocument} under the layer's lock, since PDFBox documents are not
+ * thread-safe; {@link #preload} extracts pages in parallel from separate copies instead. Pages
+ * describe the document as it was when they were extracted, so a caller that rewrites content
+ * streams must take a new layer afterwards.
+ */
+public final class TextLayer {
+
+    /** The order glyphs are extracted in. */
+    public enum Order {
+        /** Content-stream order, which text search matches against. */
+        CONTENT,
+        /** Top-to-bottom, left-to-right, for line grouping and reading-order text. */
+        POSITION
+    }
+
+    /** Opens a private copy of the layer's document for a parallel extraction worker. */
+    @FunctionalInterface
+    public interface DocumentSource {
+        PDDocument open() throws IOException;
+    }
+
+    /** Min vertical jump (screen Y) before the next glyph is treated as a new line. */
+    private static final float LINE_Y_TOLERANCE = 3.0f;
+
+    /**
+     * Min horizontal gap (screen X) between consecutive glyphs on the same Y that indicates a
+     * column boundary. Chosen large enough to not split normal inter-word spacing (~6–10pt for 11pt
+     * text) but small enough to catch standard column gutters (typically ≥15pt).
+     */
+    private static final float COLUMN_GAP_X = 14f;
+
+    /** How far either side of a match to look for a glyph when the match has none of its own. */
+    private static final int NEARBY_GLYPHS = 5;
+
+    private final PDDocument document;
+    private final Order order;
+    private final int pageCount;
+    private final ConcurrentMap<Integer, Page> pages;
+    private final Consumer<Page> onExtracted;
+
+    TextLayer(
+            PDDocument document,
+            Order order,
+            ConcurrentMap<Integer, Page> pages,
+            Consumer<Page> onExtracted) {
+        this.document = Objects.requireNonNull(document, "document");
+        this.order = order;
+        this.pageCount = document.getNumberOfPages();
+        this.pages = pages;
+        this.onExtracted = onExtracted;
+    }
+
+    /** An uncached layer over {@code document}. */
+    public static TextLayer of(PDDocument document, Order order) {
+        return new TextLayer(document, order, new ConcurrentHashMap<>(), page -> {});
+    }
+
+    public Order order() {
+        return order;
+    }
+
+    public int pageCount() {
+        return pageCount;
+    }
+
+    /** The text of the 0-based page {@code pageIndex}, extracting it if needed. */
+    public Page page(int pageIndex) throws IOException {
+        Objects.checkIndex(pageIndex, pageCount);
+        Page page = pages.get(pageIndex);
+        if (page == null) {
+            extractMissing(pageIndex, pageIndex);
+            page = pages.get(pageIndex);
+        }
+        return page;
+    }
+
+    /** Every page in order, extracting missing ones in as few passes as possible. */
+    public List<Page> pages() throws IOException {
+        extractMissing(0, pageCount - 1);
+        List<Page> all = new ArrayList<>(pageCount);
+        for (int i = 0; i < pageCount; i++) {
+            all.add(pages.get(i));
+        }
+        return all;
+    }
+
+    /**
+     * Extracts every missing page, split into contiguous slices across up to {@code workers}
+     * threads. Each worker reads its own copy of the document from {@code source}.
+     */
+    public void preload(DocumentSource source, int workers) throws IOException {
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < pageCount; i++) {
+            if (!pages.containsKey(i)) {
+                missing.add(i);
+            }
+        }
+        int threads = Math.min(workers, missing.size());
+        if (threads <= 1) {
+            extractMissing(0, pageCount - 1);
+            return;
+        }
+        List<Future<Void>> slices = new ArrayList<>(threads);
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            for (int w = 0; w < threads; w++) {
+                List<Integer> slice =
+                        missing.subList(
+                                w * missing.size() / threads, (w + 1) * missing.size() / threads);
+                slices.add(
+                        pool.submit(
+                                () -> {
+                                    try (PDDocument copy = source.open()) {
+                                        extract(copy, slice.getFirst(), slice.getLast());
+                                    }
+                                    return null;
+                                }));
+            }
+            for (Future<Void> slice : slices) {
+                slice.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while extracting text", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Text extraction failed: " + e.getCause().getMessage(), e);
+        }
+    }
+
+    /** Extracts each run of missing pages between the 0-based indices, in one pass per run. */
+    private void extractMissing(int from, int to) throws IOException {
+        int runStart = -1;
+        for (int i = from; i <= to + 1; i++) {
+            boolean missing = i <= to && !pages.containsKey(i);
+            if (missing && runStart < 0) {
+                runStart = i;
+            } else if (!missing && runStart >= 0) {
+                synchronized (this) {
+                    extract(document, runStart, i - 1);
+                }
+                runStart = -1;
+            }
+        }
+    }
+
+    private void extract(PDDocument source, int from, int to) throws IOException {
+        Collector collector = new Collector(order, this::store);
+        collector.setStartPage(from + 1);
+        collector.setEndPage(to + 1);
+        collector.writeText(source, Writer.nullWriter());
+        // PDFBox skips pages without content streams entirely
+        for (int i = from; i <= to; i++) {
+            store(new Page(i, "", List.of(), List.of()));
+        }
+    }
+
+    private void store(Page page) {
+        if (pages.putIfAbsent(page.index(), page) == null) {
+            onExtracted.accept(page);
+        }
+    }
+
+    /**
+     * A glyph as PDFBox positioned it. {@code x}/{@code y} are screen space (top-left origin, Y
+     * down, {@code y} at the baseline); the {@code DirAdj} values are additionally adjusted for
+     * the text direction of a rotated page.
+     */
+    public record Glyph(
+            String unicode,
+            float x,
+            float y,
+            float width,
+            float height,
+            float xDirAdj,
+            float yDirAdj,
+            float widthDirAdj,
+            float heightDir,
+            float fontSize) {
+
+        static Glyph of(TextPosition position) {
+            return new Glyph(
+                    position.getUnicode(),
+                    position.getX(),
+                    position.getY(),
+                    position.getWidth(),
+                    position.getHeight(),
+                    position.getXDirAdj(),
+                    position.getYDirAdj(),
+                    position.getWidthDirAdj(),
+                    position.getHeightDir(),
+                    position.getFontSizeInPt());
+        }
+    }
+
+    /**
+     * Text PDFBox emitted in one piece (a word, or words set without a gap between them), with the
+     * range {@code [start, end)} of its glyphs in {@link Page#glyphs()}.
+     */
+    public record Block(String text, int start, int end) {}
+
+    /** A visual line's box in screen space: {@code top} is the glyph tops, {@code baseline} Y. */
+    public record Line(float x1, float top, float x2, float baseline) {}
+
+    /** The extracted text of one page. */
+    public static final class Page {
+
+        private final int index;
+        private final String text;
+        private final List<Glyph> glyphs;
+        private final List<Block> blocks;
+        private volatile List<Line> lines;
+
+        Page(int index, String text, List<Glyph> glyphs, List<Block> blocks) {
+            this.index = index;
+            this.text = text;
+            this.glyphs = Collections.unmodifiableList(glyphs);
+            this.blocks = List.copyOf(blocks);
+        }
+
+        /** 0-based page index. */
+        public int index() {
+            return index;
+        }
+
+        /** The page text, with {@code " "} between words and {@code "\n"} between lines. */
+        public String text() {
+            return text;
+        }
+
+        /**
+         * One entry per character of {@link #text()}: the glyph that produced it, or {@code null}
+         * for an inserted word or line separator.
+         */
+        public List<Glyph> glyphs() {
+            return glyphs;
+        }
+
+        public List<Block> blocks() {
+            return blocks;
+        }
+
+        /**
+         * Visible glyphs grouped into lines. A line ends on a jump in Y, or on a column-sized gap
+         * in X so two columns sharing a baseline give two lines instead of one wide one. Only
+         * meaningful for a {@link Order#POSITION} layer.
+         */
+        public List<Line> lines() {
+            List<Line> grouped = lines;
+            if (grouped == null) {
+                grouped = groupLines(glyphs);
+                lines = grouped;
+            }
+            return grouped;
+        }
+
+        /**
+         * Bounds of the glyphs behind {@code text[start, end)} as {@code [minX, minY, maxX,
+         * maxY]} in screen space, or {@code null} if that span is all separators.
+         */
+        public float[] bounds(int start, int end) {
+            float[] box = null;
+            for (int i = start; i < Math.min(end, glyphs.size()); i++) {
+                box = include(box, glyphs.get(i));
+            }
+            return box;
+        }
+
+        /**
+         * Bounds of the first glyph within a few characters of {@code text[start, end)}, for a
+         * match that {@link #bounds} could not place.
+         */
+        public float[] nearbyBounds(int start, int end) {
+            if (start >= glyphs.size()) {
+                return null;
+            }
+            int last = Math.min(glyphs.size(), end + NEARBY_GLYPHS);
+            for (int i = Math.max(0, start - NEARBY_GLYPHS); i < last; i++) {
+                if (glyphs.get(i) != null) {
+                    return include(null, glyphs.get(i));
+                }
+            }
+            return null;
+        }
+
+        private static float[] include(float[] box, Glyph glyph) {
+            if (glyph == null) {
+                return box;
+            }
+            if (box == null) {
+                box =
+                        new float[] {
+                            Float.MAX_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE
+                        };
+            }
+            box[0] = Math.min(box[0], glyph.x());
+            box[1] = Math.min(box[1], glyph.y() - glyph.height());
+            box[2] = Math.max(box[2], glyph.x() + glyph.width());
+            box[3] = Math.max(box[3], glyph.y());
+            return box;
+        }
+
+        private static List<Line> groupLines(List<Glyph> glyphs) {
+            List<Line> grouped = new ArrayList<>();
+            float[] box = null;
+            float lastY = Float.NaN;
+            float lastRight = Float.NaN;
+            for (Glyph glyph : glyphs) {
+                // Spaces and indents have a position but nothing visible; as lines of their own
+                // they would redact to thin black bars
+                if (glyph == null || glyph.unicode() == null || glyph.unicode().isBlank()) {
+                    continue;
+                }
+                boolean yJump =
+                        !Float.isNaN(lastY) && Math.abs(glyph.y() - lastY) > LINE_Y_TOLERANCE;
+                boolean xJump = !Float.isNaN(lastRight) && glyph.x() - lastRight > COLUMN_GAP_X;
+                if ((yJump || xJump) && box != null) {
+                    grouped.add(new Line(box[0], box[1], box[2], box[3]));
+                    box = null;
+                }
+                box = include(box, glyph);
+                lastY = glyph.y();
+                lastRight = glyph.x() + glyph.width();
+            }
+            if (box != null) {
+                grouped.add(new Line(box[0], box[1], box[2], box[3]));
+            }
+            return List.copyOf(grouped);
+        }
+    }
+
+    /** Records each page's text, glyphs and blocks as PDFBox writes them. */
+    private static final class Collector extends PDFTextStripper {
+
+        private final Consumer<Page> sink;
+        private final StringBuilder text = new StringBuilder();
+        private final List<Glyph> glyphs = new ArrayList<>();
+        private final List<Block> blocks = new ArrayList<>();
+
+        Collector(Order order, Consumer<Page> sink) throws IOException {
+            this.sink = sink;
+            setSortByPosition(order == Order.POSITION);
+            setWordSeparator(" ");
+            setLineSeparator("\n");
+        }
+
+        @Override
+        protected void startPage(PDPage page) throws IOException {
+            super.startPage(page);
+            text.setLength(0);
+            glyphs.clear();
+            blocks.clear();
+        }
+
+        @Override
+        protected void writeString(String string, List<TextPosition> positions) {
+            blocks.add(new Block(string, glyphs.size(), glyphs.size() + positions.size()));
+            text.append(string);
+            for (TextPosition position : positions) {
+                glyphs.add(Glyph.of(position));
+            }
+        }
+
+        @Override
+        protected void writeWordSeparator() {
+            text.append(getWordSeparator());
+            glyphs.add(null);
+        }
+
+        @Override
+        protected void writeLineSeparator() {
+            text.append(getLineSeparator());
+            glyphs.add(null);
+        }
+
+        @Override
+        protected void endPage(PDPage page) throws IOException {
+            sink.accept(
+                    new Page(
+                            getCurrentPageNo() - 1,
+                            text.toString(),
+                            new ArrayList<>(glyphs),
+                            blocks));
+            super.endPage(page);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package stirling.software.SPDF.pdf.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import stirling.software.SPDF.pdf.parser.TextLayer.Order;
+import stirling.software.SPDF.pdf.parser.TextLayer.Page;
+import stirling.software.common.util.ChecksumUtils;
+
+/**
+ * Shares extracted {@link TextLayer} pages between the features that read text from the same PDF.
+ *
+ * <p>Pages are keyed by the SHA-256 of the file's bytes when the caller knows it, so a second
+ * request for the same upload, or a second tool in the same chain, reuses pages another document
+ * object already extracted. Those entries are evicted least recently used first once their glyphs
+ * exceed {@code stirling.text-layer.cache-max-glyphs}. A caller that loads a document from an
+ * upload can {@link #bind} the two, after which every layer of that document is keyed by content,
+ * however deep in the call chain it is taken. Without a content hash, pages are shared only between
+ * calls on the same {@link PDDocument} object and are dropped with it.
+ *
+ * <p>Only documents whose content streams the caller does not edit should be read through here;
+ * after an edit, take an uncached {@link TextLayer#of} layer.
+ */
+@Slf4j
+@Service
+public class TextLayerCache {
+
+    private static final String DIGEST = "SHA-256";
+
+    /** Glyphs kept across documents, about 100 bytes each, before evicting. */
+    @Value("${stirling.text-layer.cache-max-glyphs:1000000}")
+    private long maxGlyphs = 1_000_000;
+
+    /** Threads {@link #preload} extracts a large document with. */
+    @Value("${stirling.text-layer.build-threads:4}")
+    private int buildThreads = 4;
+
+    /** Documents with fewer pages are extracted on the calling thread. */
+    @Value("${stirling.text-layer.parallel-min-pages:32}")
+    private int parallelMinPages = 32;
+
+    // contentHash:order -> pages, least recently used first; guarded by itself
+    private final LinkedHashMap<String, Entry> byContent = new LinkedHashMap<>(16, 0.75f, true);
+    private long glyphsInUse = 0;
+
+    // Pages of documents with no known content hash; the values must not reference the key
+    private final Map<PDDocument, Map<Order, ConcurrentMap<Integer, Page>>> byDocument =
+            new WeakHashMap<>();
+
+    // Content hashes of documents bound to the bytes they were loaded from
+    private final Map<PDDocument, String> boundHashes = new WeakHashMap<>();
+
+    private static final class Entry {
+        private final ConcurrentMap<Integer, Page> pages = new ConcurrentHashMap<>();
+        private long glyphs;
+        private boolean evicted;
+    }
+
+    /** Content hash of a PDF's bytes, for {@link #layer(PDDocument, String, Order)}. */
+    public static String contentHash(InputStream in) throws IOException {
+        return ChecksumUtils.checksum(in, DIGEST);
+    }
+
+    /**
+     * Records that {@code document} is an unedited load of {@code pdfBytes}, so that {@link
+     * #layer(PDDocument, Order)} shares its pages with every other load of the same bytes.
+     */
+    public void bind(PDDocument document, byte[] pdfBytes) {
+        String contentHash;
+        try {
+            contentHash = contentHash(new ByteArrayInputStream(pdfBytes));
+        } catch (IOException e) {
+            // Not thrown reading from memory
+            throw new UncheckedIOException(e);
+        }
+        synchronized (boundHashes) {
+            boundHashes.put(document, contentHash);
+        }
+    }
+
+    /**
+     * A layer sharing pages with every earlier layer of this {@code document} object, and with
+     * every load of the same bytes if the document was {@link #bind bound} to them.
+     */
+    public TextLayer layer(PDDocument document, Order order) {
+        String contentHash;
+        synchronized (boundHashes) {
+            contentHash = boundHashes.get(document);
+        }
+        if (contentHash != null) {
+            return layer(document, contentHash, order);
+        }
+        ConcurrentMap<Integer, Page> pages;
+        synchronized (byDocument) {
+            pages =
+                    byDocument
+                            .computeIfAbsent(document, d -> new EnumMap<>(Order.class))
+                            .computeIfAbsent(order, o -> new ConcurrentHashMap<>());
+        }
+        return new TextLayer(document, order, pages, page -> {});
+    }
+
+    /**
+     * A layer sharing pages with every layer of a document with the same bytes. {@code document}
+     * must be an unedited load of the bytes {@code contentHash} was computed from.
+     */
+    public TextLayer layer(PDDocument document, String contentHash, Order order) {
+        if (contentHash == null) {
+            return layer(document, order);
+        }
+        String key = contentHash + ":" + order;
+        Entry entry;
+        synchronized (byContent) {
+            entry = byContent.computeIfAbsent(key, k -> new Entry());
+        }
+        return new TextLayer(document, order, entry.pages, page -> added(key, entry, page));
+    }
+
+    /**
+     * Extracts every page of {@code layer} up front, in parallel from copies opened by {@code
+     * source} when the document is large enough to be worth it.
+     */
+    public void preload(TextLayer layer, TextLayer.DocumentSource source) throws IOException {
+        int workers = layer.pageCount() >= parallelMinPages ? buildThreads : 1;
+        log.debug("Extracting text of {} pages on {} thread(s)", layer.pageCount(), workers);
+        layer.preload(source, workers);
+    }
+
+    /** Glyphs held in content-keyed entries. */
+    public long getGlyphsInUse() {
+        synchronized (byContent) {
+            return glyphsInUse;
+        }
+    }
+
+    private void added(String key, Entry entry, Page page) {
+        synchronized (byContent) {
+            if (entry.evicted) {
+                return;
+            }
+            entry.glyphs += page.glyphs().size();
+            glyphsInUse += page.glyphs().size();
+            Iterator<Map.Entry<String, Entry>> eldest = byContent.entrySet().iterator();
+            while (glyphsInUse > maxGlyphs && eldest.hasNext()) {
+                Map.Entry<String, Entry> victim = eldest.next();
+                if (victim.getKey().equals(key)) {
+                    continue;
+                }
+                eldest.remove();
+                victim.getValue().evicted = true;
+                glyphsInUse -= victim.getValue().glyphs;
+            }
+        }
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.web.bind.annotation.RequestMethod;
 
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 
+import stirling.software.common.enumeration.JobPriority;
+
 /**
  * Shortcut for a POST endpoint that is executed through the Stirling "auto‑job" framework.
  *
@@ -83,4 +85,23 @@ public @interface AutoJobPostMapping {
      * readers clamp the value into {@code [1, 100]}.
      */
     int resourceWeight() default Integer.MIN_VALUE;
+
+    /**
+     * Lane the job waits in when it is queued. Multi-file and multi-step endpoints should use
+     * {@link stirling.software.common.enumeration.JobPriority#BATCH} so single-file calls are not
+     * stuck behind them.
+     *
+     * <p>Only honoured when {@code async=true} and {@link #queueable()} is set.
+     */
+    JobPriority priority() default JobPriority.INTERACTIVE;
+
+    /**
+     * Serve repeat calls with the same input bytes and parameters from the result cache. Only set
+     * this on endpoints whose output depends on nothing else: never on signing, timestamping or
+     * anything that embeds the current time, randomness or caller identity.
+     *
+     * <p>Applies to sync and async calls, when {@code stirling.result-cache.enabled} is set. See
+     * {@link stirling.software.common.service.ResultCache}.
+     */
+    boolean cacheable() default false;
 }
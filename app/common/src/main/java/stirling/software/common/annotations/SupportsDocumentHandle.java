@@ -0,0 +1,21 @@
+package stirling.software.common.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a PDF→PDF tool endpoint that can take its input as an open document handed on by the
+ * previous chained step, and hand its own result on the same way instead of saving it.
+ *
+ * <p>Only put this on endpoints that load their input through {@code
+ * CustomPDFDocumentFactory.load(...)} and return it through {@code
+ * WebResponseUtils.pdfDocToWebResponse(document, name, tempFileManager)}; anything else is saved
+ * and re-parsed as usual. See {@link stirling.software.common.service.DocumentHandoff}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SupportsDocumentHandle {}
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
@@ -13,6 +14,8 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
 import org.slf4j.MDC;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -22,9 +25,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import stirling.software.common.annotations.AutoJobPostMapping;
+import stirling.software.common.enumeration.JobPriority;
 import stirling.software.common.model.api.PDFFile;
+import stirling.software.common.service.AutomationRunContext;
 import stirling.software.common.service.FileStorage;
 import stirling.software.common.service.JobExecutorService;
+import stirling.software.common.service.ResultCache;
 
 @Aspect
 @Component
@@ -38,6 +44,7 @@ public class AutoJobAspect {
     private final JobExecutorService jobExecutorService;
     private final HttpServletRequest request;
     private final FileStorage fileStorage;
+    private final ResultCache resultCache;
 
     @Around("@annotation(autoJobPostMapping)")
     public Object wrapWithJobExecution(
@@ -64,10 +71,12 @@ public class AutoJobAspect {
 
         // Process arguments in-place to avoid type mismatch issues
         Object[] args = processArgsInPlace(joinPoint.getArgs(), async);
+        String cacheKey = resultCacheKey(joinPoint, autoJobPostMapping, args);
 
         // Extract queueable and resourceWeight parameters and validate
         boolean queueable = autoJobPostMapping.queueable();
         int resourceWeight = Math.max(1, Math.min(100, autoJobPostMapping.resourceWeight()));
+        JobPriority priority = autoJobPostMapping.priority();
 
         // Integrate with the JobExecutorService
         if (retryCount <= 1) {
@@ -82,7 +91,7 @@ public class AutoJobAspect {
                                     // The trackProgress flag controls whether detailed progress is
                                     // stored
                                     // for REST API queries, not WebSocket notifications
-                                    return joinPoint.proceed(args);
+                                    return proceed(joinPoint, args, cacheKey);
                                 } catch (Throwable ex) {
                                     log.error(
                                             "AutoJobAspect caught exception during job execution: {}",
@@ -99,30 +108,35 @@ public class AutoJobAspect {
                             }),
                     timeout,
                     queueable,
-                    resourceWeight);
+                    resourceWeight,
+                    priority);
         } else {
             // Use retry logic
             return executeWithRetries(
                     joinPoint,
                     args,
+                    cacheKey,
                     async,
                     timeout,
                     retryCount,
                     trackProgress,
                     queueable,
-                    resourceWeight);
+                    resourceWeight,
+                    priority);
         }
     }
 
     private Object executeWithRetries(
             ProceedingJoinPoint joinPoint,
             Object[] args,
+            String cacheKey,
             boolean async,
             long timeout,
             int maxRetries,
             boolean trackProgress,
             boolean queueable,
-            int resourceWeight)
+            int resourceWeight,
+            JobPriority priority)
             throws Exception {
 
         // Keep jobId reference for progress tracking in TaskManager
@@ -160,7 +174,7 @@ public class AutoJobAspect {
                                     }
 
                                     // Attempt to execute the operation
-                                    return joinPoint.proceed(args);
+                                    return proceed(joinPoint, args, cacheKey);
 
                                 } catch (Throwable ex) {
                                     lastException = ex;
@@ -234,7 +248,45 @@ public class AutoJobAspect {
                         }),
                 timeout,
                 queueable,
-                resourceWeight);
+                resourceWeight,
+                priority);
+    }
+
+    /**
+     * Key under which this call's response is cached, or null when it is not to be cached: the
+     * endpoint has not opted in, the cache is off, the call is a chained automation step whose
+     * document is handed on in memory, or its arguments cannot be normalized.
+     */
+    private String resultCacheKey(
+            ProceedingJoinPoint joinPoint, AutoJobPostMapping autoJobPostMapping, Object[] args) {
+        if (!autoJobPostMapping.cacheable()
+                || !resultCache.isEnabled()
+                || AutomationRunContext.currentDocumentHandoff() != null) {
+            return null;
+        }
+        try {
+            return resultCache
+                    .keyFor(joinPoint.getSignature().toLongString(), args)
+                    .orElse(null);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Not caching call, could not hash its inputs: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /** Runs the handler, answering from and filling the result cache when a key is given. */
+    private Object proceed(ProceedingJoinPoint joinPoint, Object[] args, String cacheKey)
+            throws Throwable {
+        if (cacheKey == null) {
+            return joinPoint.proceed(args);
+        }
+        Optional<ResponseEntity<Resource>> cached = resultCache.lookup(cacheKey);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Object result = joinPoint.proceed(args);
+        resultCache.store(cacheKey, result);
+        return result;
     }
 
     /**
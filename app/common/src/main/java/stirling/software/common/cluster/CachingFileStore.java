@@ -0,0 +1,366 @@
+package stirling.software.common.cluster;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-through disk cache in front of a shared {@link FileStore}. The first read of a file id on
+ * this node copies it into a local directory; later reads are served from there until the copy is
+ * evicted to keep the directory within its byte budget, least recently used first.
+ *
+ * <p>Stored files are immutable once written, so the only invalidation needed is on delete. A
+ * delete is published on the {@link ClusterBackplane} and every node, this one included, drops its
+ * copy when it receives the file id.
+ *
+ * <p>The directory is cleared on start, so each store holds an OS file lock on it (through a
+ * {@code <dir>.lock} file beside it) until closed. A second store, in this or another process,
+ * pointed at the same directory fails with {@link DirectoryInUseException} instead of deleting
+ * copies the first is serving.
+ */
+@Slf4j
+public class CachingFileStore implements FileStore, AutoCloseable {
+
+    static final String INVALIDATION_CHANNEL = "filestore-invalidate";
+
+    private static final String PARTIAL_SUFFIX = ".part";
+
+    // Ids become file names in the cache directory; anything else bypasses the cache
+    private static final Pattern CACHEABLE_ID = Pattern.compile("^[0-9A-Za-z-]{1,64}$");
+
+    private final FileStore delegate;
+    private final Path cacheDir;
+    private final long maxBytes;
+    private final ClusterBackplane backplane;
+    private final FileLock directoryLock;
+
+    // fileId -> cached size, in access order for LRU eviction
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytesInUse;
+    // fileId -> fetches copying it from the shared store, and the ids deleted while they ran
+    private final Map<String, Integer> fetching = new HashMap<>();
+    private final Set<String> deletedWhileFetching = new HashSet<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bytesSaved;
+
+    public CachingFileStore(
+            FileStore delegate,
+            Path cacheDir,
+            long maxBytes,
+            ClusterBackplane backplane,
+            MeterRegistry registry)
+            throws IOException {
+        this.delegate = delegate;
+        this.cacheDir = cacheDir.toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+        this.backplane = backplane;
+        Files.createDirectories(this.cacheDir);
+        this.directoryLock = lockDirectory(this.cacheDir);
+        clearDirectory();
+        this.hits =
+                Counter.builder("stirling.cluster.filestore.cache.hits")
+                        .description("Artifact reads served from this node's disk cache")
+                        .register(registry);
+        this.misses =
+                Counter.builder("stirling.cluster.filestore.cache.misses")
+                        .description("Artifact reads that went to the shared store")
+                        .register(registry);
+        this.bytesSaved =
+                Counter.builder("stirling.cluster.filestore.cache.bytes.saved")
+                        .description("Bytes served from the disk cache instead of the shared store")
+                        .baseUnit("bytes")
+                        .register(registry);
+        Gauge.builder(
+                        "stirling.cluster.filestore.cache.bytes",
+                        this,
+                        CachingFileStore::getBytesInUse)
+                .description("Bytes of artifacts held in this node's disk cache")
+                .baseUnit("bytes")
+                .register(registry);
+        backplane.subscribe(INVALIDATION_CHANNEL, this::evict);
+    }
+
+    @Override
+    public Stored store(InputStream in, String originalName, String owner) throws IOException {
+        return delegate.store(in, originalName, owner);
+    }
+
+    @Override
+    public Stored store(Path source, String originalName, String owner) throws IOException {
+        return delegate.store(source, originalName, owner);
+    }
+
+    @Override
+    public InputStream retrieve(String fileId) throws IOException {
+        if (!CACHEABLE_ID.matcher(fileId == null ? "" : fileId).matches()) {
+            return delegate.retrieve(fileId);
+        }
+        Long size = touch(fileId);
+        if (size != null) {
+            try {
+                InputStream cached = Files.newInputStream(cacheDir.resolve(fileId));
+                hits.increment();
+                bytesSaved.increment(size);
+                return new BufferedInputStream(cached);
+            } catch (IOException e) {
+                // Evicted between the lookup and the open; fall through to the shared store
+                log.debug("Cached copy of {} vanished: {}", fileId, e.getMessage());
+            }
+        }
+        misses.increment();
+        return fetch(fileId);
+    }
+
+    @Override
+    public byte[] retrieveBytes(String fileId) throws IOException {
+        try (InputStream in = retrieve(fileId)) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Override
+    public long size(String fileId) throws IOException {
+        Long size = touch(fileId);
+        return size != null ? size : delegate.size(fileId);
+    }
+
+    @Override
+    public boolean delete(String fileId) {
+        boolean deleted = delegate.delete(fileId);
+        evict(fileId);
+        backplane.publish(INVALIDATION_CHANNEL, fileId);
+        return deleted;
+    }
+
+    @Override
+    public boolean exists(String fileId) {
+        return touch(fileId) != null || delegate.exists(fileId);
+    }
+
+    /** Owners are always read from the shared store; they gate access and are cheap to fetch. */
+    @Override
+    public String getOwner(String fileId) throws IOException {
+        return delegate.getOwner(fileId);
+    }
+
+    /** Bytes of cached copies this node currently holds. */
+    public long getBytesInUse() {
+        synchronized (entries) {
+            return bytesInUse;
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (entries) {
+            entries.clear();
+            bytesInUse = 0;
+        }
+        clearDirectory();
+        try {
+            directoryLock.channel().close();
+        } catch (IOException e) {
+            log.warn("Failed to release file store cache directory {}", cacheDir, e);
+        }
+        if (delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Error closing cached file store", e);
+            }
+        }
+    }
+
+    /**
+     * Copies the file from the shared store into the cache and opens the copy. A file bigger than
+     * the whole budget is still served from its local copy, which is removed once read, and so is
+     * a file deleted while it was being copied.
+     */
+    private InputStream fetch(String fileId) throws IOException {
+        Path partial = cacheDir.resolve(fileId + "." + UUID.randomUUID() + PARTIAL_SUFFIX);
+        synchronized (entries) {
+            fetching.merge(fileId, 1, Integer::sum);
+        }
+        boolean ended = false;
+        try {
+            long size;
+            try (InputStream in = delegate.retrieve(fileId)) {
+                size = Files.copy(in, partial);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(partial);
+                throw e;
+            }
+            if (size > maxBytes) {
+                return new DeleteOnCloseInputStream(partial);
+            }
+            Path target = cacheDir.resolve(fileId);
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+            InputStream opened = new BufferedInputStream(Files.newInputStream(target));
+            ended = true;
+            if (!remember(fileId, size)) {
+                deleteCopy(fileId);
+            }
+            return opened;
+        } finally {
+            if (!ended) {
+                synchronized (entries) {
+                    endFetch(fileId);
+                }
+            }
+        }
+    }
+
+    private Long touch(String fileId) {
+        synchronized (entries) {
+            return entries.get(fileId);
+        }
+    }
+
+    /** Indexes a fetched copy; false, leaving it out, if the file was deleted during the fetch. */
+    private boolean remember(String fileId, long size) {
+        List<String> evicted = new ArrayList<>();
+        synchronized (entries) {
+            if (!endFetch(fileId)) {
+                return false;
+            }
+            Long previous = entries.put(fileId, size);
+            bytesInUse += size - (previous == null ? 0 : previous);
+            Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+            while (bytesInUse > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> victim = eldest.next();
+                if (victim.getKey().equals(fileId)) {
+                    continue;
+                }
+                eldest.remove();
+                bytesInUse -= victim.getValue();
+                evicted.add(victim.getKey());
+            }
+        }
+        evicted.forEach(this::deleteCopy);
+        return true;
+    }
+
+    /**
+     * Ends one fetch of {@code fileId}, returning false if the file was deleted since it started.
+     * The caller holds the {@code entries} lock.
+     */
+    private boolean endFetch(String fileId) {
+        Integer remaining = fetching.merge(fileId, -1, (a, b) -> a + b == 0 ? null : a + b);
+        return remaining == null
+                ? !deletedWhileFetching.remove(fileId)
+                : !deletedWhileFetching.contains(fileId);
+    }
+
+    /** Drops this node's copy of a file, if it has one. */
+    void evict(String fileId) {
+        if (!CACHEABLE_ID.matcher(fileId == null ? "" : fileId).matches()) {
+            return;
+        }
+        synchronized (entries) {
+            if (fetching.containsKey(fileId)) {
+                deletedWhileFetching.add(fileId);
+            }
+            Long size = entries.remove(fileId);
+            if (size == null) {
+                return;
+            }
+            bytesInUse -= size;
+        }
+        deleteCopy(fileId);
+    }
+
+    private void deleteCopy(String fileId) {
+        // Streams already open on the copy keep reading it on POSIX filesystems
+        try {
+            Files.deleteIfExists(cacheDir.resolve(fileId));
+        } catch (IOException e) {
+            log.warn("Failed to delete cached copy of {}: {}", fileId, e.getMessage());
+        }
+    }
+
+    /** Locks {@code cacheDir}; the OS releases the lock if this process dies without closing. */
+    private static FileLock lockDirectory(Path cacheDir) throws IOException {
+        Path lockFile = cacheDir.resolveSibling(cacheDir.getFileName() + ".lock");
+        FileChannel channel =
+                FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Held by another store in this JVM
+            lock = null;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new DirectoryInUseException(cacheDir);
+        }
+        return lock;
+    }
+
+    /** Copies left by an earlier run are not in the index, so they would never be evicted. */
+    private void clearDirectory() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDir)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to clear file store cache directory {}", cacheDir, e);
+        }
+    }
+
+    /** The cache directory is held by another store, in this process or another. */
+    public static final class DirectoryInUseException extends IOException {
+
+        DirectoryInUseException(Path cacheDir) {
+            super("File store cache directory " + cacheDir + " is in use by another store");
+        }
+    }
+
+    private static final class DeleteOnCloseInputStream extends FilterInputStream {
+        private final Path path;
+
+        DeleteOnCloseInputStream(Path path) throws IOException {
+            super(new BufferedInputStream(Files.newInputStream(path)));
+            this.path = path;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
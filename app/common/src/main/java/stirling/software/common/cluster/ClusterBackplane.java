@@ -1,5 +1,7 @@
 package stirling.software.common.cluster;
 
+import java.util.function.Consumer;
+
 /** Health and identity facade for the active cluster backplane. */
 public interface ClusterBackplane {
 
@@ -21,4 +23,15 @@ public interface ClusterBackplane {
     default boolean shouldRunLocalCleanup() {
         return true;
     }
+
+    /**
+     * Sends {@code message} to the listeners on {@code channel} of every node, this one included.
+     * Delivery is best effort: a node that is down or reconnecting misses it, so use this for
+     * cache invalidation and similar hints, never for state that must not be lost. The default
+     * drops the message, for backplanes with no messaging of their own.
+     */
+    default void publish(String channel, String message) {}
+
+    /** Registers {@code listener} for messages published on {@code channel} by any node. */
+    default void subscribe(String channel, Consumer<String> listener) {}
 }
@@ -28,6 +28,7 @@ public class ClusterConfig {
     @PostConstruct
     void validate() {
         Cluster cluster = applicationProperties.getCluster();
+        validateFileCache(cluster);
         if (!cluster.isEnabled()) {
             return;
         }
@@ -60,4 +61,22 @@ public class ClusterConfig {
                 cluster.resolvedRole(),
                 cluster.resolvedNodeId());
     }
+
+    /** The file cache layers over the shared artifact store, so it is checked in any mode. */
+    private void validateFileCache(Cluster cluster) {
+        Cluster.FileCache fileCache = cluster.getFileCache();
+        if (fileCache == null || !fileCache.isEnabled()) {
+            return;
+        }
+        if (fileCache.getMaxSizeMb() <= 0) {
+            throw new IllegalStateException(
+                    "cluster.fileCache.enabled=true requires cluster.fileCache.maxSizeMb > 0.");
+        }
+        if (!"s3".equalsIgnoreCase(cluster.getArtifactStore())) {
+            log.warn(
+                    "cluster.fileCache.enabled=true has no effect with artifactStore={} - the"
+                            + " cache only fronts the shared s3 artifact store.",
+                    cluster.getArtifactStore());
+        }
+    }
 }
@@ -1,5 +1,11 @@
 package stirling.software.common.cluster.inprocess;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
 import lombok.extern.slf4j.Slf4j;
 
 import stirling.software.common.cluster.ClusterBackplane;
@@ -9,6 +15,7 @@ import stirling.software.common.model.ApplicationProperties;
 public class InProcessClusterBackplane implements ClusterBackplane {
 
     private final ApplicationProperties applicationProperties;
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
 
     public InProcessClusterBackplane(ApplicationProperties applicationProperties) {
         this.applicationProperties = applicationProperties;
@@ -28,4 +35,21 @@ public class InProcessClusterBackplane implements ClusterBackplane {
     public String localNodeId() {
         return applicationProperties.getCluster().resolvedNodeId();
     }
+
+    /** Delivers synchronously to this JVM's listeners; there are no other nodes. */
+    @Override
+    public void publish(String channel, String message) {
+        for (Consumer<String> listener : listeners.getOrDefault(channel, List.of())) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                log.warn("Listener on channel {} failed: {}", channel, e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        listeners.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(listener);
+    }
 }
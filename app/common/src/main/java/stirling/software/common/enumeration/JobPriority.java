@@ -0,0 +1,17 @@
+package stirling.software.common.enumeration;
+
+/**
+ * Admission lanes for queued async jobs, highest priority first. See {@link
+ * stirling.software.common.annotations.AutoJobPostMapping#priority()}.
+ */
+public enum JobPriority {
+
+    /** A user waiting on a single tool call from the UI or API. */
+    INTERACTIVE,
+
+    /** Multi-file or multi-step work such as pipelines, where a little extra latency is fine. */
+    BATCH,
+
+    /** Runs started by a policy trigger rather than by a waiting user. */
+    POLICY
+}
@@ -1,5 +1,7 @@
 package stirling.software.common.enumeration;
 
+import java.util.List;
+
 /**
  * Standard resource-weight tiers for {@link
  * stirling.software.common.annotations.AutoJobPostMapping#resourceWeight()}.
@@ -18,5 +20,25 @@ public final class ResourceWeight {
     /** Extra heavy: OCR on large files, full-document re-render, AI-assisted edits. */
     public static final int XLARGE_WEIGHT = 10;
 
+    /** Tier names, lightest first, as reported in job queue statistics. */
+    public static final List<String> TIER_NAMES = List.of("small", "medium", "large", "xlarge");
+
     private ResourceWeight() {}
+
+    /**
+     * The tier a weight belongs to. Weights between the standard constants fall into the next
+     * heavier tier, so a custom weight of 4 counts as large.
+     */
+    public static String tierOf(int weight) {
+        if (weight <= SMALL_WEIGHT) {
+            return TIER_NAMES.get(0);
+        }
+        if (weight <= MEDIUM_WEIGHT) {
+            return TIER_NAMES.get(1);
+        }
+        if (weight <= LARGE_WEIGHT) {
+            return TIER_NAMES.get(2);
+        }
+        return TIER_NAMES.get(3);
+    }
 }
@@ -243,6 +243,23 @@ public class ApplicationProperties {
          */
         private int runExpiryMinutes = 30;
 
+        /**
+         * How many medium-weight policy runs may execute at once across all policies. Runs whose
+         * steps are heavier (by the tools' declared resource weight) take a larger share, lighter
+         * ones a smaller share; runs over the budget wait in a per-policy queue.
+         */
+        private int maxConcurrentRuns = 16;
+
+        /** How many runs of one policy may execute at once, so one policy cannot starve others. */
+        private int maxConcurrentRunsPerPolicy = 4;
+
+        /**
+         * How many runs of one policy may wait to start before its sweeps stop claiming new files,
+         * leaving them for a later sweep. Bounds memory when a source suddenly holds thousands of
+         * new files.
+         */
+        private int maxQueuedRunsPerPolicy = 200;
+
         /**
          * Whether a policy S3 source's custom endpoint may resolve to a loopback, link-local, or
          * private address. Off by default so a user-supplied endpoint cannot be pointed at internal
@@ -302,6 +319,7 @@ public class ApplicationProperties {
         public static class Cache {
             private long maxBytes = -1;
             private int maxPercent = 20;
+            private long maxDiskBytes = 2L * 1024 * 1024 * 1024;
         }
 
         @Data
@@ -316,6 +334,8 @@ public class ApplicationProperties {
             private String pythonCommand = "/opt/venv/bin/python3";
             private String pythonScript = "/scripts/convert_cff_to_ttf.py";
             private String fontforgeCommand = "fontforge";
+            private int workerPoolSize = 2;
+            private int cacheMaxEntries = 256;
         }
 
         @Data
@@ -564,6 +584,7 @@ public class ApplicationProperties {
 
         private Valkey valkey = new Valkey();
         private Node node = new Node();
+        private FileCache fileCache = new FileCache();
 
         private transient String cachedNodeId;
 
@@ -635,6 +656,25 @@ public class ApplicationProperties {
             /** Heartbeat publish interval for the instance registry, in milliseconds. */
             private long heartbeatIntervalMs = 5000;
         }
+
+        /**
+         * Node-local disk cache in front of a shared artifact store, so repeat reads of the same
+         * job file on one node do not go back to object storage. Only applies when {@code
+         * artifactStore=s3}; deletes are broadcast over the backplane so every node drops its copy.
+         */
+        @Data
+        public static class FileCache {
+            private boolean enabled = false;
+
+            /** Disk budget for cached copies on this node, in MB. */
+            private long maxSizeMb = 1024;
+
+            /**
+             * Directory for cached copies, used by this node alone; it is cleared on start. Blank
+             * = a subdirectory of the JVM temp directory that no other node on the host holds.
+             */
+            private String dir = "";
+        }
     }
 
     /**
@@ -648,6 +688,13 @@ public class ApplicationProperties {
     public static class InternalApi {
         private int connectTimeoutSeconds = 10;
         private int readTimeoutSeconds = 300;
+
+        /**
+         * Call eligible tool controllers directly instead of over loopback HTTP. Saves the
+         * multipart re-encode of every intermediate file, but in-process steps bypass the HTTP
+         * filter chain (controller audit, PAYG automation tagging) and the read timeout above.
+         */
+        private boolean inProcessDispatch = false;
     }
 
     @Data
@@ -1032,6 +1079,7 @@ public class ApplicationProperties {
         private Datasource datasource;
         private boolean disableSanitize;
         private int maxDPI = 500;
+        private PageRendering pageRendering = new PageRendering();
         private boolean enableUrlToPDF;
         private Html html = new Html();
         private CustomPaths customPaths = new CustomPaths();
@@ -1059,6 +1107,19 @@ public class ApplicationProperties {
             private boolean stretchToFit = false; // Whether to stretch image to fill page
         }
 
+        /**
+         * Limits for rendering PDF pages to images on several threads at once. Each extra thread
+         * opens its own read-only copy of the document.
+         */
+        @Data
+        public static class PageRendering {
+            private int threads = 0; // 0 = one per available processor; 1 disables parallelism
+            private int memoryBudgetMb = 0; // Heap shared by in-flight pages; 0 = 1/4 of max heap
+            private String backend = "pdfbox"; // Rasteriser for every operation: pdfbox or pdfium
+            private List<String> pdfiumOperations =
+                    new ArrayList<>(); // Operations rendered with PDFium when backend is pdfbox
+        }
+
         @Data
         public static class ServerCertificate {
             private boolean enabled =
@@ -17,6 +17,10 @@ package stirling.software.common.service;
  *
  * <p>No-op when the id is absent (a standalone tool call): the interceptor treats a missing run id
  * as "its own charge", which is exactly what a one-off call should be.
+ *
+ * <p>The same thread also carries the current step's {@link DocumentHandoff}, which lets chained
+ * PDF→PDF steps that run in-process pass one open document along instead of saving and re-parsing
+ * it between every step.
  */
 public final class AutomationRunContext {
 
@@ -25,6 +29,8 @@ public final class AutomationRunContext {
 
     private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
 
+    private static final ThreadLocal<DocumentHandoff> HANDOFF = new ThreadLocal<>();
+
     private AutomationRunContext() {}
 
     /**
@@ -48,6 +54,34 @@ public final class AutomationRunContext {
         return CURRENT.get();
     }
 
+    /**
+     * Opens a document handoff around one in-process step on the current thread. Closing it
+     * releases whatever the step did not hand on and restores the previous handoff (nesting-safe).
+     *
+     * @param handOnResult whether the next step also supports handles, so the result should be
+     *     handed on rather than saved
+     */
+    public static DocumentHandoff openDocumentHandoff(boolean handOnResult) {
+        DocumentHandoff previous = HANDOFF.get();
+        DocumentHandoff handoff =
+                new DocumentHandoff(
+                        handOnResult,
+                        () -> {
+                            if (previous == null) {
+                                HANDOFF.remove();
+                            } else {
+                                HANDOFF.set(previous);
+                            }
+                        });
+        HANDOFF.set(handoff);
+        return handoff;
+    }
+
+    /** The document handoff active on this thread, or {@code null} outside a chained step. */
+    public static DocumentHandoff currentDocumentHandoff() {
+        return HANDOFF.get();
+    }
+
     /** AutoCloseable whose {@link #close()} declares no checked exception. */
     public interface Scope extends AutoCloseable {
         @Override
@@ -0,0 +1,90 @@
+package stirling.software.common.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A view over a loaded document whose lifetime belongs to a {@link DocumentHandoff} chain rather
+ * than to the tool holding it. {@link #close()} is a no-op so a tool's try-with-resources leaves
+ * the document open for the next step; {@link #release()} is the real close.
+ *
+ * <p>Shares the source's {@code COSDocument}, so every edit made through the view lands in the same
+ * object graph. TrueType fonts registered on the view are tracked here because {@code
+ * PDDocument.close()} skips its own font list once the shared {@code COSDocument} is closed.
+ */
+@Slf4j
+final class ChainedPDDocument extends PDDocument {
+
+    private final PDDocument source;
+    private final List<TrueTypeFont> fonts = new ArrayList<>();
+
+    // Documents this one may still share COS objects with (e.g. pages imported from a step's
+    // input), kept open until this one is released.
+    private final List<ChainedPDDocument> companions = new ArrayList<>();
+
+    private boolean released;
+
+    ChainedPDDocument(PDDocument source) {
+        super(source.getDocument(), null, source.getCurrentAccessPermission());
+        this.source = source;
+        setResourceCache(source.getResourceCache());
+    }
+
+    @Override
+    public void registerTrueTypeFontForClosing(TrueTypeFont ttf) {
+        super.registerTrueTypeFontForClosing(ttf);
+        fonts.add(ttf);
+    }
+
+    /** Left open on purpose: the owning chain closes it via {@link #release()}. */
+    @Override
+    public void close() {}
+
+    void keepAlive(ChainedPDDocument companion) {
+        companions.add(companion);
+    }
+
+    boolean isReleased() {
+        return released;
+    }
+
+    void release() throws IOException {
+        if (released) {
+            return;
+        }
+        released = true;
+        IOException failure = null;
+        try {
+            source.close();
+        } catch (IOException e) {
+            failure = e;
+        }
+        for (TrueTypeFont font : fonts) {
+            try {
+                font.close();
+            } catch (IOException e) {
+                log.debug("Failed to close chained document font", e);
+            }
+        }
+        for (ChainedPDDocument companion : companions) {
+            try {
+                companion.release();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
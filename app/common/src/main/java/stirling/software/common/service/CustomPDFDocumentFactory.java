@@ -19,6 +19,7 @@ import java.util.function.Consumer;
 import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.io.IOUtils;
 import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessRead;
 import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
 import org.apache.pdfbox.io.RandomAccessStreamCache.StreamCacheCreateFunction;
 import org.apache.pdfbox.io.ScratchFile;
@@ -32,6 +33,7 @@ import lombok.extern.slf4j.Slf4j;
 import stirling.software.common.model.api.PDFFile;
 import stirling.software.common.util.DeletingRandomAccessFile;
 import stirling.software.common.util.ExceptionUtils;
+import stirling.software.common.util.ResourceMultipartFile;
 import stirling.software.common.util.TempFileManager;
 
 @Component
@@ -165,6 +167,39 @@ public class CustomPDFDocumentFactory {
         return load(path.toFile(), readOnly);
     }
 
+    /**
+     * Loads a PDF straight from {@code input}, such as a buffer the caller already holds, without
+     * copying it. The returned document owns {@code input} and closes it when it is closed.
+     */
+    public PDDocument load(RandomAccessRead input, boolean readOnly) throws IOException {
+        if (input == null) throw ExceptionUtils.createNullArgumentException("RandomAccessRead");
+        long size = input.length();
+        log.debug("Loading PDF from RandomAccessRead: {} MB", size >> 20);
+        MemorySnapshot mem = MemorySnapshot.capture();
+        StreamCacheCreateFunction cache = getStreamCacheFunction(size, mem);
+        PDDocument doc;
+        try {
+            doc = Loader.loadPDF(input, "", null, null, cache);
+        } catch (IOException e) {
+            try {
+                input.close();
+            } catch (IOException ce) {
+                e.addSuppressed(ce);
+            }
+            ExceptionUtils.logException("PDF loading from RandomAccessRead", e);
+            throw ExceptionUtils.handlePdfException(e);
+        }
+        if (size > LARGE_FILE_THRESHOLD || mem.isLow()) {
+            doc.setResourceCache(null);
+        }
+        try {
+            return maybePostProcess(doc, readOnly);
+        } catch (IOException | RuntimeException ex) {
+            doc.close();
+            throw ex;
+        }
+    }
+
     public PDDocument load(byte[] input) throws IOException {
         return load(input, false);
     }
@@ -224,9 +259,21 @@ public class CustomPDFDocumentFactory {
     /**
      * Loads a {@link MultipartFile}. Small uploads (<= {@link #SMALL_FILE_THRESHOLD}) are read
      * directly into a byte array, bypassing the InputStream → temp-file round-trip and saving one
-     * disk write + read cycle on the hot path.
+     * disk write + read cycle on the hot path. A {@link ResourceMultipartFile} that already lives
+     * on disk (an in-process pipeline step) is opened in place rather than streamed to a second
+     * file, and one wrapping a {@link PdfDocumentHandle} returns the already-open document.
      */
     public PDDocument load(MultipartFile pdfFile, boolean readOnly) throws IOException {
+        if (pdfFile instanceof ResourceMultipartFile resourceFile) {
+            DocumentHandoff handoff = AutomationRunContext.currentDocumentHandoff();
+            if (handoff != null && resourceFile.getResource() instanceof PdfDocumentHandle handle) {
+                return handoff.accept(handle);
+            }
+            if (resourceFile.getFile() != null) {
+                PDDocument doc = load(resourceFile.getFile(), readOnly);
+                return handoff != null ? handoff.adopt(doc) : doc;
+            }
+        }
         long size = pdfFile.getSize();
         if (size > 0 && size <= SMALL_FILE_THRESHOLD) {
             return load(pdfFile.getBytes(), readOnly);
@@ -266,7 +313,7 @@ public class CustomPDFDocumentFactory {
     public PDDocument createNewDocument(MemoryUsageSetting settings) throws IOException {
         PDDocument doc = new PDDocument(scratchCache(settings));
         pdfMetadataService.setDefaultMetadata(doc);
-        return doc;
+        return adoptIntoHandoff(doc);
     }
 
     /**
@@ -278,7 +325,16 @@ public class CustomPDFDocumentFactory {
     public PDDocument createNewDocument() throws IOException {
         PDDocument doc = new PDDocument(IOUtils.createMemoryOnlyStreamCache());
         pdfMetadataService.setDefaultMetadata(doc);
-        return doc;
+        return adoptIntoHandoff(doc);
+    }
+
+    /**
+     * Inside a chained step that hands its result on, a new document may become that result, so it
+     * has to outlive the tool's try-with-resources. Outside one this returns {@code doc} as-is.
+     */
+    private static PDDocument adoptIntoHandoff(PDDocument doc) {
+        DocumentHandoff handoff = AutomationRunContext.currentDocumentHandoff();
+        return handoff != null ? handoff.adopt(doc) : doc;
     }
 
     /**
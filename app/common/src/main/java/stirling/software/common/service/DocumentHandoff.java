@@ -0,0 +1,107 @@
+package stirling.software.common.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One chained step of a parse-once, save-once PDF chain. An orchestrator opens it through {@link
+ * AutomationRunContext#openDocumentHandoff(boolean)} around a {@link
+ * stirling.software.common.annotations.SupportsDocumentHandle} tool call; while it is open:
+ *
+ * <ul>
+ *   <li>{@link CustomPDFDocumentFactory} returns the open document behind an incoming {@link
+ *       PdfDocumentHandle} instead of parsing a file, and
+ *   <li>when the next step supports handles too, the documents the tool loads or creates are
+ *       wrapped so its {@code close()} leaves them open, and {@code
+ *       WebResponseUtils.pdfDocToWebResponse} returns the result as a new handle instead of saving
+ *       it.
+ * </ul>
+ *
+ * <p>Closing the scope releases every document the step touched but did not hand on. If a different
+ * document was handed on (a tool that builds a new document from its input) the leftovers stay open
+ * with it, since the result may still share COS objects with them.
+ */
+@Slf4j
+public final class DocumentHandoff implements AutomationRunContext.Scope {
+
+    private final boolean handOnResult;
+    private final Runnable restore;
+    private final List<ChainedPDDocument> tracked = new ArrayList<>();
+    private ChainedPDDocument handedOn;
+
+    DocumentHandoff(boolean handOnResult, Runnable restore) {
+        this.handOnResult = handOnResult;
+        this.restore = restore;
+    }
+
+    /** Whether this step's result should be handed on rather than saved. */
+    public boolean isHandOnResult() {
+        return handOnResult;
+    }
+
+    /** Takes over the document the previous step handed on. */
+    public PDDocument accept(PdfDocumentHandle handle) {
+        ChainedPDDocument document = handle.document();
+        tracked.add(document);
+        return document;
+    }
+
+    /**
+     * Puts a freshly loaded or created document under this step's ownership so it can be handed on.
+     * Returns {@code document} unchanged when the result is not being handed on, or when it is
+     * encrypted (its security handler lives on the original instance and cannot be shared).
+     */
+    public PDDocument adopt(PDDocument document) {
+        if (!handOnResult || document.isEncrypted()) {
+            return document;
+        }
+        ChainedPDDocument chained = new ChainedPDDocument(document);
+        tracked.add(chained);
+        return chained;
+    }
+
+    /**
+     * Hands {@code document} on as this step's result.
+     *
+     * @return the handle, or {@code null} if the document cannot be handed on and must be saved
+     */
+    public PdfDocumentHandle handOn(PDDocument document, String filename) {
+        if (!handOnResult || handedOn != null || !tracked.contains(document)) {
+            return null;
+        }
+        handedOn = (ChainedPDDocument) document;
+        return new PdfDocumentHandle(handedOn, filename);
+    }
+
+    @Override
+    public void close() {
+        try {
+            for (ChainedPDDocument document : tracked) {
+                if (document == handedOn) {
+                    continue;
+                }
+                if (handedOn != null) {
+                    handedOn.keepAlive(document);
+                } else {
+                    release(document);
+                }
+            }
+        } finally {
+            tracked.clear();
+            restore.run();
+        }
+    }
+
+    private static void release(ChainedPDDocument document) {
+        try {
+            document.release();
+        } catch (IOException e) {
+            log.warn("Failed to close chained PDF document", e);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package stirling.software.common.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.io.Resource;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.InitBinder;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import lombok.extern.slf4j.Slf4j;
+
+import stirling.software.common.annotations.SupportsDocumentHandle;
+import stirling.software.common.util.ResourceMultipartFile;
+import stirling.software.common.util.TempFile;
+import stirling.software.common.util.TempFileManager;
+import stirling.software.common.util.WebResponseUtils;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Runs a tool endpoint by calling its controller method directly, instead of the loopback
+ * multipart POST {@link InternalApiClient} otherwise makes. The handler is the one {@link
+ * ToolIORegistry} discovered for the path; the form body is bound onto the request model the same
+ * way Spring MVC would, with file parts wrapped as {@link ResourceMultipartFile} so the step reads
+ * the previous step's output in place. The result comes back in the shape {@code
+ * InternalApiClient.post} returns, so callers cannot tell the two paths apart — except that a
+ * {@link SupportsDocumentHandle} tool running inside a {@link DocumentHandoff} may return a {@link
+ * PdfDocumentHandle} body instead of a file.
+ *
+ * <p>The controller is invoked on its unproxied target. That skips the {@code AutoJobAspect} (which
+ * needs a servlet request and would re-queue the step as its own job) and the audit aspects, so
+ * handlers whose gating lives in a proxy — method security, licence or SaaS entitlement annotations
+ * — are never dispatched here and stay on the HTTP path.
+ */
+@Slf4j
+@Service
+public class InProcessToolDispatcher {
+
+    // Annotations from these packages are enforced by proxies this dispatcher bypasses.
+    private static final List<String> PROXY_GATED_PACKAGES =
+            List.of(
+                    "org.springframework.security.",
+                    "stirling.software.proprietary.",
+                    "stirling.software.saas.");
+
+    private static final ObjectMapper JSON = JsonMapper.builder().build();
+
+    private final ToolIORegistry toolIORegistry;
+    private final TempFileManager tempFileManager;
+    private final ConversionService conversionService = new DefaultFormattingConversionService();
+
+    // Eligibility never changes after startup; empty marks a path that must use HTTP.
+    private final Map<String, Optional<Invocation>> invocations = new ConcurrentHashMap<>();
+
+    public InProcessToolDispatcher(ToolIORegistry toolIORegistry, TempFileManager tempFileManager) {
+        this.toolIORegistry = toolIORegistry;
+        this.tempFileManager = tempFileManager;
+    }
+
+    /** Whether {@code endpointPath} can be run in-process rather than over loopback HTTP. */
+    public boolean canDispatch(String endpointPath) {
+        return resolve(endpointPath).isPresent();
+    }
+
+    /**
+     * Whether {@code endpointPath} runs in-process and can take and return a {@link
+     * PdfDocumentHandle} (see {@link SupportsDocumentHandle}).
+     */
+    public boolean supportsDocumentHandle(String endpointPath) {
+        return resolve(endpointPath)
+                .map(
+                        invocation ->
+                                invocation
+                                        .method()
+                                        .isAnnotationPresent(SupportsDocumentHandle.class))
+                .orElse(false);
+    }
+
+    /**
+     * Invokes the tool behind {@code endpointPath} with a multipart-style body (fileInput plus
+     * parameters, as built for {@link InternalApiClient#post}).
+     *
+     * @return response with the result file as an {@link InternalApiClient.TempFileResource} body
+     */
+    public ResponseEntity<Resource> dispatch(
+            String endpointPath, MultiValueMap<String, Object> body) {
+        Invocation invocation =
+                resolve(endpointPath)
+                        .orElseThrow(
+                                () ->
+                                        new IllegalArgumentException(
+                                                "Endpoint cannot be dispatched in-process: "
+                                                        + endpointPath));
+        log.debug("Dispatching {} in-process", endpointPath);
+        Object requestModel = bind(invocation, body);
+        Object result;
+        try {
+            result = invocation.method().invoke(invocation.target(), requestModel);
+        } catch (InvocationTargetException e) {
+            throw rethrow(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot invoke handler for " + endpointPath, e);
+        }
+        try {
+            return toResourceResponse((ResponseEntity<?>) result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Optional<Invocation> resolve(String endpointPath) {
+        return invocations.computeIfAbsent(
+                endpointPath,
+                path ->
+                        toolIORegistry
+                                .findHandler(path)
+                                .flatMap(InProcessToolDispatcher::toInvocation));
+    }
+
+    private static Optional<Invocation> toInvocation(HandlerMethod handler) {
+        Method method = handler.getMethod();
+        if (!ResponseEntity.class.isAssignableFrom(method.getReturnType())
+                || method.getParameterCount() != 1
+                || isProxyGated(method.getAnnotations())
+                || isProxyGated(handler.getBeanType().getAnnotations())) {
+            return Optional.empty();
+        }
+        Parameter parameter = method.getParameters()[0];
+        Class<?> modelType = parameter.getType();
+        boolean plainModel =
+                Stream.of(parameter.getAnnotations())
+                        .allMatch(annotation -> annotation instanceof ModelAttribute);
+        if (!plainModel
+                || BeanUtils.isSimpleProperty(modelType)
+                || MultipartFile.class.isAssignableFrom(modelType)
+                || !ClassUtils.hasConstructor(modelType)) {
+            return Optional.empty();
+        }
+        Object target = unwrapProxy(handler.createWithResolvedBean().getBean());
+        if (target == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new Invocation(target, method, modelType, initBinders(target)));
+    }
+
+    private static boolean isProxyGated(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            String name = annotation.annotationType().getName();
+            if (PROXY_GATED_PACKAGES.stream().anyMatch(name::startsWith)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** The raw controller behind any AOP proxies, or {@code null} if it cannot be reached. */
+    private static Object unwrapProxy(Object bean) {
+        Object current = bean;
+        while (AopUtils.isAopProxy(current)) {
+            current = AopProxyUtils.getSingletonTarget(current);
+            if (current == null) {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    private static List<Method> initBinders(Object target) {
+        List<Method> binders = new ArrayList<>();
+        ReflectionUtils.doWithMethods(
+                target.getClass(),
+                method -> {
+                    ReflectionUtils.makeAccessible(method);
+                    binders.add(method);
+                },
+                method ->
+                        method.isAnnotationPresent(InitBinder.class)
+                                && method.getParameterCount() == 1
+                                && WebDataBinder.class.isAssignableFrom(
+                                        method.getParameterTypes()[0]));
+        return List.copyOf(binders);
+    }
+
+    private Object bind(Invocation invocation, MultiValueMap<String, Object> body) {
+        Object model = BeanUtils.instantiateClass(invocation.modelType());
+        WebDataBinder binder = new WebDataBinder(model);
+        binder.setConversionService(conversionService);
+        for (Method initBinder : invocation.initBinders()) {
+            ReflectionUtils.invokeMethod(initBinder, invocation.target(), binder);
+        }
+        MutablePropertyValues values = new MutablePropertyValues();
+        body.forEach(
+                (name, parts) -> {
+                    List<Object> bound = new ArrayList<>(parts.size());
+                    for (Object part : parts) {
+                        bound.add(
+                                part instanceof Resource resource
+                                        ? new ResourceMultipartFile(name, resource)
+                                        : part);
+                    }
+                    values.add(name, bound.size() == 1 ? bound.get(0) : bound);
+                });
+        binder.bind(values);
+        return model;
+    }
+
+    private ResponseEntity<Resource> toResourceResponse(ResponseEntity<?> response)
+            throws IOException {
+        Object body = response.getBody();
+        if (body instanceof PdfDocumentHandle handle) {
+            // Nothing was saved; the next chained step picks the open document up.
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(response.getHeaders())
+                    .body(handle);
+        }
+        TempFile tempFile;
+        if (body instanceof WebResponseUtils.ManagedTempFileResource managed) {
+            // Already a temp file the caller now owns — adopt it rather than copying.
+            tempFile = managed.getTempFile();
+        } else {
+            tempFile = tempFileManager.createManagedTempFile("internal-api");
+            try {
+                writeBody(body, tempFile);
+            } catch (IOException | RuntimeException e) {
+                tempFile.close();
+                throw e;
+            }
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.setContentLength(Files.size(tempFile.getPath()));
+        String filename = InternalApiClient.extractFilename(response.getHeaders());
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(headers)
+                .body(new InternalApiClient.TempFileResource(tempFile, filename));
+    }
+
+    private static void writeBody(Object body, TempFile tempFile) throws IOException {
+        if (body == null) {
+            return;
+        }
+        if (body instanceof byte[] bytes) {
+            Files.write(tempFile.getPath(), bytes);
+        } else if (body instanceof Resource resource) {
+            try (var in = resource.getInputStream()) {
+                Files.copy(in, tempFile.getPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } else if (body instanceof StreamingResponseBody streaming) {
+            try (OutputStream out = Files.newOutputStream(tempFile.getPath())) {
+                streaming.writeTo(out);
+            }
+        } else if (body instanceof CharSequence text) {
+            Files.writeString(tempFile.getPath(), text, StandardCharsets.UTF_8);
+        } else {
+            log.debug(
+                    "Serialising {} body of in-process step as JSON",
+                    body.getClass().getSimpleName());
+            Files.write(tempFile.getPath(), JSON.writeValueAsBytes(body));
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        if (cause instanceof IOException io) {
+            return new UncheckedIOException(io);
+        }
+        return new RuntimeException(cause);
+    }
+
+    private record Invocation(
+            Object target, Method method, Class<?> modelType, List<Method> initBinders) {}
+}
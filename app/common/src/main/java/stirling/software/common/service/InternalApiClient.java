@@ -33,7 +33,8 @@ import stirling.software.common.util.TempFileManager;
 /**
  * Dispatches HTTP POST requests to internal Stirling API endpoints via loopback. Used by
  * PipelineProcessor and AiWorkflowService to execute tool operations programmatically without
- * leaving the JVM network stack.
+ * leaving the JVM network stack. With {@code internalApi.inProcessDispatch} enabled, eligible tools
+ * skip the loopback entirely (see {@link InProcessToolDispatcher}).
  */
 @Service
 @Slf4j
@@ -83,18 +84,39 @@ public class InternalApiClient {
     private final Environment environment;
     private final Duration readTimeout;
     private final RestTemplate restTemplate;
+    private final InProcessToolDispatcher inProcessDispatcher;
 
     public InternalApiClient(
             ServletContext servletContext,
-            @Autowired(required = false) UserServiceInterface userService,
+            UserServiceInterface userService,
             TempFileManager tempFileManager,
             Environment environment,
             ApplicationProperties applicationProperties) {
+        this(
+                servletContext,
+                userService,
+                tempFileManager,
+                environment,
+                applicationProperties,
+                null);
+    }
+
+    @Autowired
+    public InternalApiClient(
+            ServletContext servletContext,
+            @Autowired(required = false) UserServiceInterface userService,
+            TempFileManager tempFileManager,
+            Environment environment,
+            ApplicationProperties applicationProperties,
+            @Autowired(required = false) InProcessToolDispatcher inProcessDispatcher) {
         this.servletContext = servletContext;
         this.userService = userService;
         this.tempFileManager = tempFileManager;
         this.environment = environment;
         ApplicationProperties.InternalApi internalApi = applicationProperties.getInternalApi();
+        // In-process dispatch is opt-in: it skips the HTTP filter chain, so the PAYG automation
+        // header, controller audit and the read timeout below do not apply to those steps.
+        this.inProcessDispatcher = internalApi.isInProcessDispatch() ? inProcessDispatcher : null;
         // A bounded read timeout is what protects the workflow when an internal tool hangs
         // (e.g. an infinite loop in a PDF processing service). The connect timeout is short
         // because this is a loopback call; if connecting takes longer than a few seconds the
@@ -108,7 +130,9 @@ public class InternalApiClient {
 
     /**
      * POST to an internal API endpoint. The endpointPath must start with one of the allowed
-     * prefixes (e.g. {@code /api/v1/misc/compress-pdf}).
+     * prefixes (e.g. {@code /api/v1/misc/compress-pdf}). When in-process dispatch is enabled and
+     * the endpoint supports it, the controller is called directly via {@link
+     * InProcessToolDispatcher}; otherwise the step goes over loopback HTTP.
      *
      * @param endpointPath API path (e.g. {@code /api/v1/general/rotate-pdf})
      * @param body multipart form body (fileInput + parameters)
@@ -116,6 +140,9 @@ public class InternalApiClient {
      */
     public ResponseEntity<Resource> post(String endpointPath, MultiValueMap<String, Object> body) {
         validateUrl(endpointPath);
+        if (inProcessDispatcher != null && inProcessDispatcher.canDispatch(endpointPath)) {
+            return inProcessDispatcher.dispatch(endpointPath, body);
+        }
         String url = getBaseUrl() + endpointPath;
 
         HttpHeaders headers = new HttpHeaders();
@@ -198,11 +225,21 @@ public class InternalApiClient {
         }
     }
 
+    /**
+     * Whether {@code endpointPath} will run in-process and can exchange open documents with
+     * neighbouring chained steps (see {@link DocumentHandoff}). Always {@code false} when
+     * in-process dispatch is disabled.
+     */
+    public boolean supportsDocumentHandle(String endpointPath) {
+        return inProcessDispatcher != null
+                && inProcessDispatcher.supportsDocumentHandle(endpointPath);
+    }
+
     /**
      * Extract the filename from a response's {@code Content-Disposition} header. Returns {@code
      * null} if the header is missing or has no filename.
      */
-    private static String extractFilename(HttpHeaders headers) {
+    static String extractFilename(HttpHeaders headers) {
         String contentDisposition = headers.getFirst(HttpHeaders.CONTENT_DISPOSITION);
         if (contentDisposition == null || contentDisposition.isBlank()) {
             return null;
@@ -25,6 +25,7 @@ import jakarta.servlet.http.HttpServletRequest;
 
 import lombok.extern.slf4j.Slf4j;
 
+import stirling.software.common.enumeration.JobPriority;
 import stirling.software.common.model.job.JobResponse;
 import stirling.software.common.util.ExecutorFactory;
 import stirling.software.common.util.RegexPatternUtils;
@@ -103,6 +104,21 @@ public class JobExecutorService {
             long customTimeoutMs,
             boolean queueable,
             int resourceWeight) {
+        return runJobGeneric(
+                async, work, customTimeoutMs, queueable, resourceWeight, JobPriority.INTERACTIVE);
+    }
+
+    /**
+     * Runs a job, queueing it in {@code priority}'s lane under its owner when it is queueable and
+     * resources are short.
+     */
+    public ResponseEntity<?> runJobGeneric(
+            boolean async,
+            Supplier<Object> work,
+            long customTimeoutMs,
+            boolean queueable,
+            int resourceWeight,
+            JobPriority priority) {
         String baseJobId = UUID.randomUUID().toString();
         String scopedJobKey = getScopedJobKey(baseJobId);
 
@@ -168,7 +184,8 @@ public class JobExecutorService {
                     };
 
             CompletableFuture<ResponseEntity<?>> future =
-                    jobQueue.queueJob(jobId, resourceWeight, wrappedWork, timeoutToUse);
+                    jobQueue.queueJob(
+                            jobId, resourceWeight, wrappedWork, timeoutToUse, jobOwner, priority);
 
             return ResponseEntity.ok().body(new JobResponse<>(true, jobId, null));
         } else if (async) {
@@ -1,8 +1,18 @@
 package stirling.software.common.service;
 
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -15,12 +25,25 @@ import lombok.Data;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import stirling.software.common.enumeration.JobPriority;
+import stirling.software.common.enumeration.ResourceWeight;
 import stirling.software.common.util.ExecutorFactory;
 import stirling.software.common.util.SpringContextHolder;
 
 /**
  * Manages a queue of jobs with dynamic sizing based on system resources. Used when system resources
  * are limited to prevent overloading.
+ *
+ * <p>Queued jobs are admitted in arrival order against two budgets: CPU slots and estimated heap
+ * bytes, both charged from the job's resource weight and returned when it finishes. Queueing a job
+ * and finishing one wake the scheduler straight away; the periodic check only picks up changes in
+ * {@link ResourceMonitor} status. The budgets are halved under {@code WARNING} and nothing is
+ * admitted under {@code CRITICAL}.
+ *
+ * <p>The next job to admit comes from the highest {@link JobPriority} lane with work waiting.
+ * Within a lane, owners take turns by deficit round robin on resource weight, so one owner's large
+ * batch cannot starve another's single job. A job that has waited longer than the maximum wait time
+ * goes first regardless, so lower lanes are never starved outright.
  */
 @Service
 @Slf4j
@@ -42,6 +65,18 @@ public class JobQueue implements SmartLifecycle {
     @Value("${stirling.job.queue.max-wait-time-ms:600000}")
     private long maxWaitTimeMs = 600000; // 10 minutes
 
+    /** CPU slots shared by running queued jobs; 0 means one per available processor. */
+    @Value("${stirling.job.queue.cpu-slots:0}")
+    private int cpuSlotsSetting = 0;
+
+    /** Share of the maximum heap that running queued jobs may be estimated to use. */
+    @Value("${stirling.job.queue.heap-budget-fraction:0.5}")
+    private double heapBudgetFraction = 0.5;
+
+    /** Estimated heap a job uses per unit of resource weight (32 MB). */
+    @Value("${stirling.job.queue.heap-bytes-per-weight:33554432}")
+    private long heapBytesPerWeight = 32L * 1024 * 1024;
+
     private volatile BlockingQueue<QueuedJob> jobQueue;
     private final Map<String, QueuedJob> jobMap = new ConcurrentHashMap<>();
     private final ScheduledExecutorService scheduler =
@@ -49,6 +84,17 @@ public class JobQueue implements SmartLifecycle {
                     Thread.ofVirtual().name("job-queue-scheduler-", 0).factory());
     private final ExecutorService jobExecutor = ExecutorFactory.newVirtualThreadExecutor();
     private final Object queueLock = new Object(); // Lock for synchronizing queue operations
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    // Budget in use by admitted jobs; guarded by queueLock
+    private int cpuSlotsInUse = 0;
+    private long heapBytesInUse = 0;
+    private final Map<String, Integer> runningByTier = new LinkedHashMap<>();
+
+    private final Map<String, WaitTimeHistogram> waitTimes = new LinkedHashMap<>();
+
+    // Admission order over the jobs in jobQueue; guarded by queueLock
+    private final Map<JobPriority, Lane> lanes = new EnumMap<>(JobPriority.class);
 
     private boolean shuttingDown = false;
 
@@ -64,15 +110,158 @@ public class JobQueue implements SmartLifecycle {
     private static class QueuedJob {
         private final String jobId;
         private final int resourceWeight;
+        private final String owner;
+        private final JobPriority priority;
         private final Supplier<Object> work;
         private final long timeoutMs;
         private final Instant queuedAt;
         private CompletableFuture<ResponseEntity<?>> future;
         private volatile boolean cancelled = false;
+        private boolean admitted = false; // holds budget until released; guarded by queueLock
+    }
+
+    /**
+     * Counts of how long jobs waited before admission, in fixed buckets so snapshots are cheap and
+     * comparable between servers.
+     */
+    static final class WaitTimeHistogram {
+        static final long[] BUCKET_UPPER_BOUNDS_MS = {
+            10, 100, 500, 1_000, 5_000, 30_000, 60_000, 300_000
+        };
+
+        private final AtomicLongArray buckets =
+                new AtomicLongArray(BUCKET_UPPER_BOUNDS_MS.length + 1);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalMs = new AtomicLong();
+        private final AtomicLong maxMs = new AtomicLong();
+
+        void record(long waitMs) {
+            int bucket = 0;
+            while (bucket < BUCKET_UPPER_BOUNDS_MS.length
+                    && waitMs > BUCKET_UPPER_BOUNDS_MS[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+            count.incrementAndGet();
+            totalMs.addAndGet(waitMs);
+            maxMs.accumulateAndGet(waitMs, Math::max);
+        }
+
+        Map<String, Object> snapshot() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (int i = 0; i < BUCKET_UPPER_BOUNDS_MS.length; i++) {
+                counts.put("le" + BUCKET_UPPER_BOUNDS_MS[i] + "ms", buckets.get(i));
+            }
+            counts.put(
+                    "gt" + BUCKET_UPPER_BOUNDS_MS[BUCKET_UPPER_BOUNDS_MS.length - 1] + "ms",
+                    buckets.get(BUCKET_UPPER_BOUNDS_MS.length));
+            long n = count.get();
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("count", n);
+            snapshot.put("meanMs", n == 0 ? 0 : totalMs.get() / n);
+            snapshot.put("maxMs", maxMs.get());
+            snapshot.put("buckets", counts);
+            return snapshot;
+        }
+    }
+
+    /**
+     * One priority lane: deficit round robin over the owners with jobs waiting in it. Each turn
+     * credits the owner a quantum of resource weight and admits their jobs in order while the
+     * credit covers them, so every owner gets an equal share of weight however many jobs they
+     * queue.
+     */
+    private static final class Lane {
+        // One medium job per turn; heavier jobs save up over several turns
+        static final long QUANTUM = ResourceWeight.MEDIUM_WEIGHT;
+
+        private final Map<String, ArrayDeque<QueuedJob>> byOwner = new HashMap<>();
+        private final ArrayDeque<String> rotation = new ArrayDeque<>();
+        private final Map<String, Long> deficits = new HashMap<>();
+        private boolean turnCredited = false; // the owner at the front has had this turn's quantum
+
+        Lane copy() {
+            Lane copy = new Lane();
+            byOwner.forEach((owner, jobs) -> copy.byOwner.put(owner, new ArrayDeque<>(jobs)));
+            copy.rotation.addAll(rotation);
+            copy.deficits.putAll(deficits);
+            copy.turnCredited = turnCredited;
+            return copy;
+        }
+
+        int owners() {
+            return rotation.size();
+        }
+
+        void add(QueuedJob job) {
+            byOwner.computeIfAbsent(
+                            job.owner,
+                            owner -> {
+                                rotation.addLast(owner);
+                                return new ArrayDeque<>();
+                            })
+                    .addLast(job);
+        }
+
+        /** The job this lane admits next, advancing turns as needed. */
+        QueuedJob peek() {
+            while (!rotation.isEmpty()) {
+                String owner = rotation.peekFirst();
+                QueuedJob head = byOwner.get(owner).peekFirst();
+                long deficit = deficits.getOrDefault(owner, 0L);
+                if (!turnCredited) {
+                    deficits.put(owner, deficit + QUANTUM);
+                    turnCredited = true;
+                } else if (deficit >= Math.max(1, head.resourceWeight)) {
+                    return head;
+                } else {
+                    rotation.addLast(rotation.pollFirst());
+                    turnCredited = false;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Removes a job. An admitted job is charged to its owner when it is the one {@link #peek}
+         * chose; one admitted out of turn because it was overdue is not.
+         */
+        void remove(QueuedJob job, boolean admitted) {
+            ArrayDeque<QueuedJob> jobs = byOwner.get(job.owner);
+            if (jobs == null) {
+                return;
+            }
+            boolean current =
+                    admitted
+                            && turnCredited
+                            && job.owner.equals(rotation.peekFirst())
+                            && jobs.peekFirst() == job;
+            if (!jobs.remove(job)) {
+                return;
+            }
+            if (current) {
+                deficits.merge(job.owner, -(long) Math.max(1, job.resourceWeight), Long::sum);
+            }
+            if (jobs.isEmpty()) {
+                // An owner with nothing waiting does not keep unspent credit
+                byOwner.remove(job.owner);
+                deficits.remove(job.owner);
+                if (job.owner.equals(rotation.peekFirst())) {
+                    turnCredited = false;
+                }
+                rotation.remove(job.owner);
+            }
+        }
     }
 
     public JobQueue(ResourceMonitor resourceMonitor) {
         this.resourceMonitor = resourceMonitor;
+        for (String tier : ResourceWeight.TIER_NAMES) {
+            waitTimes.put(tier, new WaitTimeHistogram());
+        }
+        for (JobPriority priority : JobPriority.values()) {
+            lanes.put(priority, new Lane());
+        }
 
         // Initialize with dynamic capacity
         int capacity =
@@ -87,7 +276,8 @@ public class JobQueue implements SmartLifecycle {
                 baseQueueCapacity,
                 minQueueCapacity);
 
-        // Periodically process the job queue
+        // Queueing and finishing jobs wake the scheduler directly; this periodic pass only notices
+        // when the resource status has eased enough to admit more
         scheduler.scheduleWithFixedDelay(
                 this::processQueue, 0, queueCheckIntervalMs, TimeUnit.MILLISECONDS);
 
@@ -142,8 +332,8 @@ public class JobQueue implements SmartLifecycle {
     public void start() {
         log.info("Starting JobQueue lifecycle");
         if (!running) {
-            initializeSchedulers();
             running = true;
+            initializeSchedulers();
         }
     }
 
@@ -171,7 +361,7 @@ public class JobQueue implements SmartLifecycle {
     }
 
     /**
-     * Queues a job for execution when resources permit.
+     * Queues an interactive job with no owner for execution when resources permit.
      *
      * @param jobId The job ID
      * @param resourceWeight The resource weight of the job (1-100)
@@ -181,13 +371,44 @@ public class JobQueue implements SmartLifecycle {
      */
     public CompletableFuture<ResponseEntity<?>> queueJob(
             String jobId, int resourceWeight, Supplier<Object> work, long timeoutMs) {
+        return queueJob(jobId, resourceWeight, work, timeoutMs, null, JobPriority.INTERACTIVE);
+    }
+
+    /**
+     * Queues a job for execution when resources permit.
+     *
+     * @param jobId The job ID
+     * @param resourceWeight The resource weight of the job (1-100)
+     * @param work The work to be done
+     * @param timeoutMs The timeout in milliseconds
+     * @param owner The user or tenant the job is fair-shared under; null for anonymous jobs
+     * @param priority The lane the job waits in
+     * @return A CompletableFuture that will complete when the job is executed
+     */
+    public CompletableFuture<ResponseEntity<?>> queueJob(
+            String jobId,
+            int resourceWeight,
+            Supplier<Object> work,
+            long timeoutMs,
+            String owner,
+            JobPriority priority) {
 
         // Create a CompletableFuture to track this job's completion
         CompletableFuture<ResponseEntity<?>> future = new CompletableFuture<>();
 
         // Create the queued job
         QueuedJob job =
-                new QueuedJob(jobId, resourceWeight, work, timeoutMs, Instant.now(), future, false);
+                new QueuedJob(
+                        jobId,
+                        resourceWeight,
+                        owner != null ? owner : "",
+                        priority != null ? priority : JobPriority.INTERACTIVE,
+                        work,
+                        timeoutMs,
+                        Instant.now(),
+                        future,
+                        false,
+                        false);
 
         // Store in our map for lookup
         jobMap.put(jobId, job);
@@ -211,12 +432,16 @@ public class JobQueue implements SmartLifecycle {
                     return future;
                 }
 
+                lanes.get(job.priority).add(job);
+
                 log.debug(
-                        "Job {} queued for execution (weight: {}, queue size: {})",
+                        "Job {} queued for execution (weight: {}, lane: {}, queue size: {})",
                         jobId,
                         resourceWeight,
+                        job.priority,
                         jobQueue.size());
 
+                wakeUp();
                 return future;
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
@@ -272,10 +497,72 @@ public class JobQueue implements SmartLifecycle {
         }
     }
 
-    /** Processes jobs in the queue, executing them when resources permit. */
+    /**
+     * Schedules an admission pass on the scheduler thread. Calls made while one is already pending
+     * share it.
+     */
+    private void wakeUp() {
+        if (!running || shuttingDown || !wakeUpPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            scheduler.execute(
+                    () -> {
+                        wakeUpPending.set(false);
+                        processQueue();
+                    });
+        } catch (RejectedExecutionException e) {
+            wakeUpPending.set(false);
+        }
+    }
+
+    /** CPU slots available to queued jobs. */
+    private int cpuSlots() {
+        return cpuSlotsSetting > 0 ? cpuSlotsSetting : Runtime.getRuntime().availableProcessors();
+    }
+
+    /** Estimated heap available to queued jobs. */
+    private long heapBudgetBytes() {
+        return (long) (Runtime.getRuntime().maxMemory() * heapBudgetFraction);
+    }
+
+    /** CPU slots a job takes: one per medium weight, rounded up and capped at the whole budget. */
+    private int cpuSlotsFor(QueuedJob job) {
+        int slots =
+                (job.resourceWeight + ResourceWeight.MEDIUM_WEIGHT - 1)
+                        / ResourceWeight.MEDIUM_WEIGHT;
+        return Math.max(1, Math.min(cpuSlots(), slots));
+    }
+
+    private long heapBytesFor(QueuedJob job) {
+        return Math.max(1, job.resourceWeight) * heapBytesPerWeight;
+    }
+
+    /**
+     * The job to admit next: the oldest job if it has waited past the maximum wait time, otherwise
+     * the next job of the highest lane with work waiting.
+     */
+    private QueuedJob nextJob(QueuedJob oldest, Map<JobPriority, Lane> fromLanes, long nowMs) {
+        if (oldest != null && nowMs - oldest.queuedAt.toEpochMilli() > maxWaitTimeMs) {
+            return oldest;
+        }
+        for (Lane lane : fromLanes.values()) {
+            QueuedJob next = lane.peek();
+            if (next != null) {
+                return next;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Admits jobs in fair order while their cost fits the remaining budget, then starts them.
+     * Admission stops at the first job that does not fit, so heavy jobs are not starved by lighter
+     * ones behind them. A job larger than the whole budget still runs once nothing else is running.
+     */
     private void processQueue() {
         // Jobs to execute after releasing the lock
-        java.util.List<QueuedJob> jobsToExecute = new java.util.ArrayList<>();
+        List<QueuedJob> jobsToExecute = new ArrayList<>();
 
         // First synchronized block: poll jobs from the queue and prepare them for execution
         synchronized (queueLock) {
@@ -287,31 +574,41 @@ public class JobQueue implements SmartLifecycle {
                 // Get current resource status
                 ResourceMonitor.ResourceStatus status = resourceMonitor.getCurrentStatus().get();
 
-                // Check if we should execute any jobs
-                boolean canExecuteJobs = (status != ResourceMonitor.ResourceStatus.CRITICAL);
-
-                if (!canExecuteJobs) {
+                if (status == ResourceMonitor.ResourceStatus.CRITICAL) {
                     // Under critical load, don't execute any jobs
                     log.debug("System under critical load, delaying job execution");
                     return;
                 }
 
-                // Get jobs from the queue, up to a limit based on resource availability
-                int jobsToProcess =
-                        Math.max(
-                                1,
-                                switch (status) {
-                                    case OK -> 3;
-                                    case WARNING -> 1;
-                                    case CRITICAL -> 0;
-                                });
-
-                for (int i = 0; i < jobsToProcess && !jobQueue.isEmpty(); i++) {
-                    QueuedJob job = jobQueue.poll();
-                    if (job == null) break;
+                // Under strain, admit against half the budget
+                boolean warning = status == ResourceMonitor.ResourceStatus.WARNING;
+                int cpuBudget = warning ? Math.max(1, cpuSlots() / 2) : cpuSlots();
+                long heapBudget = warning ? heapBudgetBytes() / 2 : heapBudgetBytes();
+
+                QueuedJob job;
+                while ((job = nextJob(jobQueue.peek(), lanes, Instant.now().toEpochMilli()))
+                        != null) {
+                    int cpu = cpuSlotsFor(job);
+                    long heap = heapBytesFor(job);
+                    boolean idle = cpuSlotsInUse == 0 && heapBytesInUse == 0;
+                    if (!idle
+                            && (cpuSlotsInUse + cpu > cpuBudget
+                                    || heapBytesInUse + heap > heapBudget)) {
+                        log.debug(
+                                "Job {} waits for budget (cpu {}/{}, heap {}/{} MB)",
+                                job.jobId,
+                                cpuSlotsInUse,
+                                cpuBudget,
+                                heapBytesInUse >> 20,
+                                heapBudget >> 20);
+                        break;
+                    }
+                    jobQueue.remove(job);
+                    lanes.get(job.priority).remove(job, true);
 
                     // Check if it's been waiting too long
                     long waitTimeMs = Instant.now().toEpochMilli() - job.queuedAt.toEpochMilli();
+                    waitTimes.get(ResourceWeight.tierOf(job.resourceWeight)).record(waitTimeMs);
                     if (waitTimeMs > maxWaitTimeMs) {
                         log.warn(
                                 "Job {} exceeded maximum wait time ({} ms), executing anyway",
@@ -340,6 +637,11 @@ public class JobQueue implements SmartLifecycle {
                         }
                     }
 
+                    cpuSlotsInUse += cpu;
+                    heapBytesInUse += heap;
+                    runningByTier.merge(ResourceWeight.tierOf(job.resourceWeight), 1, Integer::sum);
+                    job.admitted = true;
+
                     // Remove from our map
                     jobMap.remove(job.jobId);
                     currentQueueSize = jobQueue.size();
@@ -358,6 +660,20 @@ public class JobQueue implements SmartLifecycle {
         }
     }
 
+    /** Returns an admitted job's budget and lets the next jobs in. */
+    private void release(QueuedJob job) {
+        synchronized (queueLock) {
+            if (!job.admitted) {
+                return;
+            }
+            job.admitted = false;
+            cpuSlotsInUse -= cpuSlotsFor(job);
+            heapBytesInUse -= heapBytesFor(job);
+            runningByTier.merge(ResourceWeight.tierOf(job.resourceWeight), -1, Integer::sum);
+        }
+        wakeUp();
+    }
+
     /**
      * Executes a job from the queue.
      *
@@ -366,6 +682,7 @@ public class JobQueue implements SmartLifecycle {
     private void executeJob(QueuedJob job) {
         if (job.cancelled) {
             log.debug("Job {} was cancelled, not executing", job.jobId);
+            release(job);
             return;
         }
 
@@ -388,6 +705,8 @@ public class JobQueue implements SmartLifecycle {
                         log.error(
                                 "Error executing queued job {}: {}", job.jobId, e.getMessage(), e);
                         job.future.completeExceptionally(e);
+                    } finally {
+                        release(job);
                     }
                 });
     }
@@ -433,23 +752,35 @@ public class JobQueue implements SmartLifecycle {
     }
 
     /**
-     * Gets the current position of a job in the queue.
+     * Gets the current position of a job in the queue: how many waiting jobs will be admitted
+     * before it if nothing else is queued in the meantime.
      *
      * @param jobId The job ID
      * @return The position (0-based) or -1 if not found
      */
     public int getJobPosition(String jobId) {
-        if (!jobMap.containsKey(jobId)) {
+        QueuedJob target = jobMap.get(jobId);
+        if (target == null) {
             return -1;
         }
 
-        // Count positions
-        int position = 0;
-        for (QueuedJob job : jobQueue) {
-            if (job.jobId.equals(jobId)) {
-                return position;
+        // Replay admission on copies of the lanes; the overdue check uses one clock reading
+        long nowMs = Instant.now().toEpochMilli();
+        synchronized (queueLock) {
+            ArrayDeque<QueuedJob> byArrival = new ArrayDeque<>(jobQueue);
+            Map<JobPriority, Lane> replay = new EnumMap<>(JobPriority.class);
+            lanes.forEach((priority, lane) -> replay.put(priority, lane.copy()));
+
+            int position = 0;
+            QueuedJob next;
+            while ((next = nextJob(byArrival.peekFirst(), replay, nowMs)) != null) {
+                if (next == target) {
+                    return position;
+                }
+                byArrival.remove(next);
+                replay.get(next.priority).remove(next, true);
+                position++;
             }
-            position++;
         }
 
         // If we didn't find it in the queue but it's in the map,
@@ -470,11 +801,16 @@ public class JobQueue implements SmartLifecycle {
             job.future.completeExceptionally(new RuntimeException("Job cancelled by user"));
 
             // Try to remove from queue if it's still there
-            jobQueue.remove(job);
-            currentQueueSize = jobQueue.size();
+            synchronized (queueLock) {
+                jobQueue.remove(job);
+                lanes.get(job.priority).remove(job, false);
+                currentQueueSize = jobQueue.size();
+            }
 
             log.debug("Job {} cancelled", jobId);
 
+            // The cancelled job may have been the one holding up the head of the queue
+            wakeUp();
             return true;
         }
 
@@ -482,16 +818,51 @@ public class JobQueue implements SmartLifecycle {
     }
 
     /**
-     * Get queue statistics.
+     * Get queue statistics, including the admission budget in use, per weight tier the jobs queued
+     * and running and a histogram of how long admitted jobs waited, and per priority lane the jobs
+     * and owners waiting.
      *
      * @return A map containing queue statistics
      */
     public Map<String, Object> getQueueStats() {
-        return Map.of(
-                "queuedJobs", jobQueue.size(),
-                "queueCapacity", getQueueCapacity(),
-                "totalQueuedJobs", totalQueuedJobs,
-                "rejectedJobs", rejectedJobs,
-                "resourceStatus", resourceMonitor.getCurrentStatus().get().name());
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (queueLock) {
+            Map<String, Integer> queuedByTier = new LinkedHashMap<>();
+            for (QueuedJob job : jobQueue) {
+                queuedByTier.merge(ResourceWeight.tierOf(job.resourceWeight), 1, Integer::sum);
+            }
+            Map<String, Object> laneStats = new LinkedHashMap<>();
+            lanes.forEach(
+                    (priority, lane) -> {
+                        int queued = 0;
+                        for (ArrayDeque<QueuedJob> jobs : lane.byOwner.values()) {
+                            queued += jobs.size();
+                        }
+                        laneStats.put(
+                                priority.name().toLowerCase(Locale.ROOT),
+                                Map.of("queued", queued, "owners", lane.owners()));
+                    });
+            Map<String, Object> tiers = new LinkedHashMap<>();
+            for (String tier : ResourceWeight.TIER_NAMES) {
+                Map<String, Object> tierStats = new LinkedHashMap<>();
+                tierStats.put("queued", queuedByTier.getOrDefault(tier, 0));
+                tierStats.put("running", runningByTier.getOrDefault(tier, 0));
+                tierStats.put("waitTimeMs", waitTimes.get(tier).snapshot());
+                tiers.put(tier, tierStats);
+            }
+
+            stats.put("queuedJobs", jobQueue.size());
+            stats.put("queueCapacity", getQueueCapacity());
+            stats.put("totalQueuedJobs", totalQueuedJobs);
+            stats.put("rejectedJobs", rejectedJobs);
+            stats.put("cpuSlots", cpuSlots());
+            stats.put("cpuSlotsInUse", cpuSlotsInUse);
+            stats.put("heapBudgetBytes", heapBudgetBytes());
+            stats.put("heapBytesInUse", heapBytesInUse);
+            stats.put("weightTiers", tiers);
+            stats.put("lanes", laneStats);
+        }
+        stats.put("resourceStatus", resourceMonitor.getCurrentStatus().get().name());
+        return stats;
     }
 }
@@ -0,0 +1,85 @@
+package stirling.software.common.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.core.io.AbstractResource;
+
+import stirling.software.common.util.TempFile;
+import stirling.software.common.util.TempFileManager;
+
+/**
+ * The result of a PDF→PDF tool that handed its document on instead of saving it (see {@link
+ * DocumentHandoff}). Travels between pipeline steps like any other result {@code Resource}; the
+ * next step that supports handles edits the same open document, and the chain serialises it once
+ * via {@link #materialize(TempFileManager)} when it ends or meets a step that needs a file.
+ *
+ * <p>Reading it as a stream still works but saves the whole document to heap on every call — it
+ * exists so generic {@code Resource} callers do not break, not as a way to consume handles.
+ */
+public class PdfDocumentHandle extends AbstractResource implements AutoCloseable {
+
+    private final ChainedPDDocument document;
+    private final String filename;
+
+    PdfDocumentHandle(ChainedPDDocument document, String filename) {
+        this.document = document;
+        this.filename = filename;
+    }
+
+    /** The same open document under a different result filename. */
+    public PdfDocumentHandle withFilename(String filename) {
+        return new PdfDocumentHandle(document, filename);
+    }
+
+    ChainedPDDocument document() {
+        return document;
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public String getDescription() {
+        return "open PDF document [" + filename + "]";
+    }
+
+    @Override
+    public boolean exists() {
+        return !document.isReleased();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        document.save(out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    /**
+     * Saves the document to a managed temp file and closes it. The handle is spent afterwards.
+     *
+     * @return the saved PDF; the caller owns it
+     */
+    public TempFile materialize(TempFileManager tempFileManager) throws IOException {
+        TempFile tempFile = tempFileManager.createManagedTempFile(".pdf");
+        try {
+            document.save(tempFile.getFile());
+        } catch (IOException | RuntimeException e) {
+            tempFile.close();
+            throw e;
+        } finally {
+            close();
+        }
+        return tempFile;
+    }
+
+    @Override
+    public void close() throws IOException {
+        document.release();
+    }
+}
@@ -1,19 +1,35 @@
 package stirling.software.common.service;
 
+import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
 import java.lang.management.OperatingSystemMXBean;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 
@@ -23,11 +39,19 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * Monitors system resources (CPU, memory) to inform job scheduling decisions. Provides information
  * about available resources to prevent overloading the system.
+ *
+ * <p>Sampling runs several times a second so admission reacts to a burst before it becomes an
+ * out-of-memory error, but every signal is exponentially smoothed so a single spiky sample does
+ * not flip the status. GC pause time and allocation rate come from garbage collector notifications
+ * and are smoothed the same way. When a {@link MeterRegistry} is present the smoothed signals are
+ * published as {@code stirling.resource.*} gauges.
  */
 @Service
 @Slf4j
 public class ResourceMonitor {
 
+    private static final String GC_NOTIFICATION = "com.sun.management.gc.notification";
+
     @Value("${stirling.resource.memory.critical-threshold:0.9}")
     private double memoryCriticalThreshold = 0.9; // 90% usage is critical
 
@@ -40,8 +64,18 @@ public class ResourceMonitor {
     @Value("${stirling.resource.cpu.high-threshold:0.75}")
     private double cpuHighThreshold = 0.75; // 75% usage is high
 
-    @Value("${stirling.resource.monitor.interval-ms:60000}")
-    private long monitorIntervalMs = 60000; // 60 seconds
+    @Value("${stirling.resource.gc.critical-threshold:0.25}")
+    private double gcPauseCriticalThreshold = 0.25; // 25% of wall time paused is critical
+
+    @Value("${stirling.resource.gc.high-threshold:0.1}")
+    private double gcPauseHighThreshold = 0.1; // 10% of wall time paused is high
+
+    @Value("${stirling.resource.monitor.interval-ms:250}")
+    private long monitorIntervalMs = 250; // 4 samples per second
+
+    // Half-life of the exponential smoothing: a step change is half reflected after this long.
+    @Value("${stirling.resource.monitor.smoothing-half-life-ms:2000}")
+    private long smoothingHalfLifeMs = 2000;
 
     private final ScheduledExecutorService scheduler =
             Executors.newSingleThreadScheduledExecutor(
@@ -49,6 +83,23 @@ public class ResourceMonitor {
     private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
     private final OperatingSystemMXBean osMXBean = ManagementFactory.getOperatingSystemMXBean();
 
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    // Fed by GC notifications on a JMX thread and drained by each sample.
+    private final AtomicLong gcPauseNanos = new AtomicLong();
+    private final AtomicLong gcReclaimedBytes = new AtomicLong();
+    private final List<NotificationEmitter> gcEmitters = new ArrayList<>();
+    private final NotificationListener gcListener = this::handleGcNotification;
+
+    // Only touched from the sampling thread.
+    private long lastSampleNanos;
+    private long lastHeapUsed;
+    private double smoothedCpu;
+    private double smoothedMemory;
+    private double smoothedGcPause;
+    private double smoothedAllocationRate;
+
     @Getter
     private final AtomicReference<ResourceStatus> currentStatus =
             new AtomicReference<>(ResourceStatus.OK);
@@ -77,6 +128,8 @@ public class ResourceMonitor {
         private final long freeMemoryBytes;
         private final long totalMemoryBytes;
         private final long maxMemoryBytes;
+        private final double gcPauseFraction;
+        private final double allocationBytesPerSecond;
         private final Instant timestamp;
 
         public ResourceMetrics() {
@@ -90,11 +143,33 @@ public class ResourceMonitor {
                 long totalMemoryBytes,
                 long maxMemoryBytes,
                 Instant timestamp) {
+            this(
+                    cpuUsage,
+                    memoryUsage,
+                    freeMemoryBytes,
+                    totalMemoryBytes,
+                    maxMemoryBytes,
+                    0,
+                    0,
+                    timestamp);
+        }
+
+        public ResourceMetrics(
+                double cpuUsage,
+                double memoryUsage,
+                long freeMemoryBytes,
+                long totalMemoryBytes,
+                long maxMemoryBytes,
+                double gcPauseFraction,
+                double allocationBytesPerSecond,
+                Instant timestamp) {
             this.cpuUsage = cpuUsage;
             this.memoryUsage = memoryUsage;
             this.freeMemoryBytes = freeMemoryBytes;
             this.totalMemoryBytes = totalMemoryBytes;
             this.maxMemoryBytes = maxMemoryBytes;
+            this.gcPauseFraction = gcPauseFraction;
+            this.allocationBytesPerSecond = allocationBytesPerSecond;
             this.timestamp = timestamp;
         }
 
@@ -121,6 +196,8 @@ public class ResourceMonitor {
     @PostConstruct
     public void initialize() {
         log.debug("Starting resource monitoring with interval of {}ms", monitorIntervalMs);
+        registerGcListeners();
+        registerGauges();
         scheduler.scheduleAtFixedRate(
                 this::updateResourceMetrics, 0, monitorIntervalMs, TimeUnit.MILLISECONDS);
     }
@@ -129,14 +206,110 @@ public class ResourceMonitor {
     public void shutdown() {
         log.info("Shutting down resource monitoring");
         scheduler.shutdownNow();
+        for (NotificationEmitter emitter : gcEmitters) {
+            try {
+                emitter.removeNotificationListener(gcListener);
+            } catch (ListenerNotFoundException e) {
+                log.trace("GC listener already removed");
+            }
+        }
+        gcEmitters.clear();
+    }
+
+    /**
+     * Subscribes to end-of-GC notifications. Collectors are only emitters when the {@code
+     * jdk.management} module is present, so on trimmed runtimes the GC signals simply stay at zero.
+     */
+    private void registerGcListeners() {
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(
+                        gcListener, n -> GC_NOTIFICATION.equals(n.getType()), null);
+                gcEmitters.add(emitter);
+            }
+        }
+        log.debug("Listening for GC notifications from {} collectors", gcEmitters.size());
+    }
+
+    private void registerGauges() {
+        if (meterRegistry == null) {
+            return;
+        }
+        Gauge.builder("stirling.resource.cpu.usage", latestMetrics, m -> m.get().cpuUsage)
+                .description("Smoothed CPU usage used for job admission")
+                .register(meterRegistry);
+        Gauge.builder("stirling.resource.memory.usage", latestMetrics, m -> m.get().memoryUsage)
+                .description("Smoothed memory usage as a fraction of the max heap")
+                .register(meterRegistry);
+        Gauge.builder(
+                        "stirling.resource.gc.pause.fraction",
+                        latestMetrics,
+                        m -> m.get().gcPauseFraction)
+                .description("Smoothed fraction of wall time spent in GC pauses")
+                .register(meterRegistry);
+        Gauge.builder(
+                        "stirling.resource.allocation.rate",
+                        latestMetrics,
+                        m -> m.get().allocationBytesPerSecond)
+                .description("Smoothed heap allocation rate")
+                .baseUnit("bytes/s")
+                .register(meterRegistry);
+        Gauge.builder("stirling.resource.status", currentStatus, s -> s.get().ordinal())
+                .description("Resource status: 0 OK, 1 WARNING, 2 CRITICAL")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Accumulates pause time and reclaimed bytes from one GC notification. The payload is read as
+     * open data rather than through {@code com.sun.management} so this class still loads on
+     * runtimes without that module.
+     */
+    private void handleGcNotification(Notification notification, Object handback) {
+        try {
+            CompositeData data = (CompositeData) notification.getUserData();
+            CompositeData gcInfo = (CompositeData) data.get("gcInfo");
+            long reclaimed =
+                    usedBytes((TabularData) gcInfo.get("memoryUsageBeforeGc"))
+                            - usedBytes((TabularData) gcInfo.get("memoryUsageAfterGc"));
+            recordGc((String) data.get("gcName"), (Long) gcInfo.get("duration"), reclaimed);
+        } catch (RuntimeException e) {
+            log.trace("Ignoring unreadable GC notification: {}", e.getMessage());
+        }
+    }
+
+    private static long usedBytes(TabularData usageByPool) {
+        long used = 0;
+        for (Object row : usageByPool.values()) {
+            CompositeData usage = (CompositeData) ((CompositeData) row).get("value");
+            used += MemoryUsage.from(usage).getUsed();
+        }
+        return used;
+    }
+
+    /**
+     * Records one collection. Concurrent collectors report whole cycles, most of which run
+     * alongside the application, so only their pause beans count towards pause time; every
+     * collection counts towards the bytes reclaimed.
+     */
+    void recordGc(String gcName, long durationMs, long reclaimedBytes) {
+        if (gcName != null && !gcName.contains("Cycles") && !gcName.contains("Concurrent")) {
+            gcPauseNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(durationMs));
+        }
+        gcReclaimedBytes.addAndGet(reclaimedBytes);
     }
 
     /** Updates the resource metrics by sampling current system state. */
     private void updateResourceMetrics() {
+        sample(System.nanoTime());
+    }
+
+    /**
+     * Takes one sample at {@code nowNanos}, folds it into the smoothed signals and recomputes the
+     * status from them.
+     */
+    void sample(long nowNanos) {
         try {
-            // Get CPU usage
-            double cpuUsage = osMXBean.getSystemLoadAverage() / osMXBean.getAvailableProcessors();
-            if (cpuUsage < 0) cpuUsage = getAlternativeCpuLoad(); // Fallback if not available
+            double cpuUsage = cpuLoad();
 
             // Get memory usage
             long heapUsed = memoryMXBean.getHeapMemoryUsage().getUsed();
@@ -149,22 +322,50 @@ public class ResourceMonitor {
 
             double memoryUsage = (double) totalUsed / maxMemory;
 
+            // Pause time and allocation since the last sample; allocation is the heap growth plus
+            // whatever the collector reclaimed in between.
+            long pauseNanos = gcPauseNanos.getAndSet(0);
+            long reclaimed = gcReclaimedBytes.getAndSet(0);
+            double gcPause = 0;
+            double allocationRate = 0;
+            double alpha = 1.0; // the first sample seeds the averages
+            if (lastSampleNanos != 0 && nowNanos > lastSampleNanos) {
+                long elapsedNanos = nowNanos - lastSampleNanos;
+                gcPause = Math.min(1.0, (double) pauseNanos / elapsedNanos);
+                allocationRate =
+                        Math.max(0, heapUsed - lastHeapUsed + reclaimed) * 1e9 / elapsedNanos;
+                alpha = smoothingFactor(elapsedNanos);
+            }
+            lastSampleNanos = nowNanos;
+            lastHeapUsed = heapUsed;
+
+            smoothedCpu += alpha * (cpuUsage - smoothedCpu);
+            smoothedMemory += alpha * (memoryUsage - smoothedMemory);
+            smoothedGcPause += alpha * (gcPause - smoothedGcPause);
+            smoothedAllocationRate += alpha * (allocationRate - smoothedAllocationRate);
+
             // Create new metrics
             ResourceMetrics metrics =
                     new ResourceMetrics(
-                            cpuUsage,
-                            memoryUsage,
+                            smoothedCpu,
+                            smoothedMemory,
                             freeMemory,
                             totalMemory,
                             maxMemory,
+                            smoothedGcPause,
+                            smoothedAllocationRate,
                             Instant.now());
             latestMetrics.set(metrics);
 
             // Determine system status
             ResourceStatus newStatus;
-            if (cpuUsage > cpuCriticalThreshold || memoryUsage > memoryCriticalThreshold) {
+            if (smoothedCpu > cpuCriticalThreshold
+                    || smoothedMemory > memoryCriticalThreshold
+                    || smoothedGcPause > gcPauseCriticalThreshold) {
                 newStatus = ResourceStatus.CRITICAL;
-            } else if (cpuUsage > cpuHighThreshold || memoryUsage > memoryHighThreshold) {
+            } else if (smoothedCpu > cpuHighThreshold
+                    || smoothedMemory > memoryHighThreshold
+                    || smoothedGcPause > gcPauseHighThreshold) {
                 newStatus = ResourceStatus.WARNING;
             } else {
                 newStatus = ResourceStatus.OK;
@@ -175,9 +376,11 @@ public class ResourceMonitor {
             if (oldStatus != newStatus) {
                 log.info("System resource status changed from {} to {}", oldStatus, newStatus);
                 log.info(
-                        "Current metrics - CPU: {}%, Memory: {}%, Free Memory: {} MB",
-                        String.format(Locale.ROOT, "%.1f", cpuUsage * 100),
-                        String.format(Locale.ROOT, "%.1f", memoryUsage * 100),
+                        "Current metrics - CPU: {}%, Memory: {}%, GC pause: {}%,"
+                                + " Free Memory: {} MB",
+                        String.format(Locale.ROOT, "%.1f", smoothedCpu * 100),
+                        String.format(Locale.ROOT, "%.1f", smoothedMemory * 100),
+                        String.format(Locale.ROOT, "%.1f", smoothedGcPause * 100),
                         freeMemory / (1024 * 1024));
             }
         } catch (Exception e) {
@@ -186,37 +389,41 @@ public class ResourceMonitor {
     }
 
     /**
-     * Alternative method to estimate CPU load if getSystemLoadAverage() is not available. This is a
-     * fallback and less accurate than the official JMX method.
-     *
-     * @return Estimated CPU load as a value between 0.0 and 1.0
+     * Weight given to a new sample taken {@code elapsedNanos} after the previous one. Scaling by
+     * elapsed time keeps the half-life fixed even when a sample runs late.
      */
-    private double getAlternativeCpuLoad() {
-        try {
-            // Try to get CPU time if available through reflection
-            // This is a fallback since we can't directly cast to platform-specific classes
-            try {
-                java.lang.reflect.Method m =
-                        osMXBean.getClass().getDeclaredMethod("getProcessCpuLoad");
-                m.setAccessible(true);
-                return (double) m.invoke(osMXBean);
-            } catch (Exception e) {
-                // Try the older method
-                try {
-                    java.lang.reflect.Method m =
-                            osMXBean.getClass().getDeclaredMethod("getSystemCpuLoad");
-                    m.setAccessible(true);
-                    return (double) m.invoke(osMXBean);
-                } catch (Exception e2) {
-                    log.trace(
-                            "Could not get CPU load through reflection, assuming moderate load (0.5)");
-                    return 0.5;
-                }
+    private double smoothingFactor(long elapsedNanos) {
+        if (smoothingHalfLifeMs <= 0) {
+            return 1.0;
+        }
+        double halfLives =
+                (double) elapsedNanos / TimeUnit.MILLISECONDS.toNanos(smoothingHalfLifeMs);
+        return 1.0 - Math.pow(0.5, halfLives);
+    }
+
+    /**
+     * Recent CPU use as a fraction of the available processors. Prefers the JDK's sampled CPU
+     * load, which reflects a container's CPU quota, then this process's own load. Falls back to
+     * the load average, which is a one-minute run-queue length rather than usage, and finally to a
+     * moderate 0.5 when the platform reports neither.
+     */
+    private double cpuLoad() {
+        if (osMXBean instanceof com.sun.management.OperatingSystemMXBean platform) {
+            double systemLoad = platform.getCpuLoad();
+            if (systemLoad >= 0) {
+                return systemLoad;
             }
-        } catch (Exception e) {
-            log.trace("Could not get CPU load, assuming moderate load (0.5)");
-            return 0.5; // Default to moderate load
+            double processLoad = platform.getProcessCpuLoad();
+            if (processLoad >= 0) {
+                return processLoad;
+            }
+        }
+        double loadAverage = osMXBean.getSystemLoadAverage() / osMXBean.getAvailableProcessors();
+        if (loadAverage >= 0) {
+            return loadAverage;
         }
+        log.trace("CPU load not available, assuming moderate load (0.5)");
+        return 0.5;
     }
 
     /**
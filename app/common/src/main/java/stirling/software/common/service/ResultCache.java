@@ -0,0 +1,422 @@
+package stirling.software.common.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import stirling.software.common.cluster.FileStore;
+import stirling.software.common.cluster.KeyValueCache;
+import stirling.software.common.cluster.inprocess.InProcessKeyValueCache;
+import stirling.software.common.model.api.PDFFile;
+import stirling.software.common.util.ChecksumUtils;
+import stirling.software.common.util.JobContext;
+
+/**
+ * Caches the responses of deterministic tool calls so the same input bytes pushed through the same
+ * operation with the same parameters are served without recomputing. Only endpoints that opt in
+ * with {@link stirling.software.common.annotations.AutoJobPostMapping#cacheable()} are cached, and
+ * only when {@code stirling.result-cache.enabled} is set.
+ *
+ * <p>Outputs live in the {@link FileStore} and are indexed through the {@link KeyValueCache}, so
+ * in cluster mode any node can serve a result another node computed. Each node holds the entries
+ * it stored to a byte budget, deleting the least recently used when it is exceeded; the index TTL
+ * bounds how long an entry another node stored is served.
+ */
+@Slf4j
+@Service
+public class ResultCache {
+
+    static final String NAMESPACE = "result-cache";
+    private static final String DIGEST = "SHA-256";
+    private static final int MAX_DEPTH = 8;
+
+    private final FileStore fileStore;
+    private final KeyValueCache keyValueCache;
+    private final Optional<JobOwnershipService> jobOwnershipService;
+
+    @Value("${stirling.result-cache.enabled:false}")
+    private boolean enabled = false;
+
+    /** Bytes of cached output this node keeps before evicting the least recently used. */
+    @Value("${stirling.result-cache.max-bytes:1073741824}")
+    private long maxBytes = 1L << 30;
+
+    @Value("${stirling.result-cache.ttl-hours:168}")
+    private long ttlHours = 168;
+
+    // Entries this node stored, least recently used first; guarded by itself
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytesInUse = 0;
+
+    /** An indexed result: where its bytes are and the headers to replay with them. */
+    record Entry(String fileId, long size, String contentType, String contentDisposition) {
+
+        String encode() {
+            return String.join(
+                    "\n",
+                    fileId,
+                    Long.toString(size),
+                    contentType == null ? "" : contentType,
+                    contentDisposition == null ? "" : contentDisposition);
+        }
+
+        static Entry decode(String value) {
+            String[] parts = value.split("\n", -1);
+            if (parts.length != 4) {
+                return null;
+            }
+            try {
+                return new Entry(
+                        parts[0],
+                        Long.parseLong(parts[1]),
+                        parts[2].isEmpty() ? null : parts[2],
+                        parts[3].isEmpty() ? null : parts[3]);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    public ResultCache(
+            FileStore fileStore,
+            KeyValueCache keyValueCache,
+            Optional<JobOwnershipService> jobOwnershipService) {
+        this.fileStore = fileStore;
+        this.keyValueCache = keyValueCache;
+        this.jobOwnershipService = jobOwnershipService;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Cache key for one invocation: a digest of the operation, the requesting user, the bytes of
+     * every uploaded file and every other request parameter, with model fields in name order. The
+     * user is part of the key because loading a document can stamp their name into its metadata,
+     * so one user's result must never be served to another.
+     *
+     * @param operation Identifies the endpoint, e.g. its method signature
+     * @param args The handler arguments, after any file id has been resolved to its upload
+     * @return The key, or empty when an argument is not something the cache knows how to
+     *     normalize, in which case the call is simply not cached
+     */
+    public Optional<String> keyFor(String operation, Object[] args) throws IOException {
+        StringBuilder canonical = new StringBuilder(operation).append('\n');
+        appendCanonical(canonical, resolveOwner(), 0);
+        canonical.append('\n');
+        for (Object arg : args) {
+            if (!appendCanonical(canonical, arg, 0)) {
+                return Optional.empty();
+            }
+            canonical.append('\n');
+        }
+        return Optional.of(
+                ChecksumUtils.checksum(
+                        new ByteArrayInputStream(
+                                canonical.toString().getBytes(StandardCharsets.UTF_8)),
+                        DIGEST));
+    }
+
+    private String resolveOwner() {
+        String propagated = JobContext.getOwner();
+        if (propagated != null) {
+            return propagated;
+        }
+        return jobOwnershipService.flatMap(JobOwnershipService::getCurrentUserId).orElse(null);
+    }
+
+    private boolean appendCanonical(StringBuilder out, Object value, int depth)
+            throws IOException {
+        if (depth > MAX_DEPTH) {
+            return false;
+        }
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof MultipartFile file) {
+            try (InputStream in = file.getInputStream()) {
+                out.append("file(")
+                        .append(file.getOriginalFilename())
+                        .append(':')
+                        .append(ChecksumUtils.checksum(in, DIGEST))
+                        .append(')');
+            }
+        } else if (value instanceof CharSequence
+                || value instanceof Number
+                || value instanceof Boolean
+                || value instanceof Character
+                || value instanceof Enum<?>) {
+            // Length-prefixed so a value containing separators cannot mimic two fields
+            String text = value.toString();
+            out.append(value.getClass().getSimpleName())
+                    .append('(')
+                    .append(text.length())
+                    .append("):")
+                    .append(text);
+        } else if (value.getClass().isArray()) {
+            out.append('[');
+            int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                if (!appendCanonical(out, Array.get(value, i), depth + 1)) {
+                    return false;
+                }
+                out.append(',');
+            }
+            out.append(']');
+        } else if (value instanceof Collection<?> collection) {
+            out.append('[');
+            for (Object element : collection) {
+                if (!appendCanonical(out, element, depth + 1)) {
+                    return false;
+                }
+                out.append(',');
+            }
+            out.append(']');
+        } else if (value instanceof Map<?, ?> map) {
+            Map<String, Object> sorted = new TreeMap<>();
+            map.forEach((k, v) -> sorted.put(String.valueOf(k), v));
+            return appendFields(out, "map", sorted, depth);
+        } else if (value.getClass().getName().startsWith("stirling.software.")) {
+            return appendFields(out, value.getClass().getName(), fieldsOf(value), depth);
+        } else {
+            // Servlet requests, principals and the like: not part of what the output depends on
+            // in any way we can see, so stay out of the way rather than guess
+            return false;
+        }
+        return true;
+    }
+
+    private boolean appendFields(
+            StringBuilder out, String type, Map<String, Object> fields, int depth)
+            throws IOException {
+        out.append(type).append('{');
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            out.append(field.getKey()).append('=');
+            if (!appendCanonical(out, field.getValue(), depth + 1)) {
+                return false;
+            }
+            out.append(';');
+        }
+        out.append('}');
+        return true;
+    }
+
+    /** Instance fields of a request model by name, including inherited ones. */
+    private static Map<String, Object> fieldsOf(Object model) {
+        Map<String, Object> fields = new TreeMap<>();
+        for (Class<?> type = model.getClass();
+                type != null && type != Object.class;
+                type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) {
+                    continue;
+                }
+                // The file id of an async upload names a fresh copy of the same bytes the upload
+                // field already covers
+                if (type == PDFFile.class && "fileId".equals(field.getName())) {
+                    continue;
+                }
+                field.setAccessible(true);
+                try {
+                    fields.putIfAbsent(field.getName(), field.get(model));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * The cached response for a key, if there is one whose bytes are still in the file store.
+     *
+     * @param key A key from {@link #keyFor}
+     * @return A response streaming the cached output with its original headers
+     */
+    public Optional<ResponseEntity<Resource>> lookup(String key) {
+        Optional<Entry> indexed = keyValueCache.get(NAMESPACE, key).map(Entry::decode);
+        if (indexed.isEmpty()) {
+            return Optional.empty();
+        }
+        Entry entry = indexed.get();
+        if (!fileStore.exists(entry.fileId())) {
+            // Evicted by the node that stored it, or lost with its disk
+            keyValueCache.evict(NAMESPACE, key);
+            return Optional.empty();
+        }
+        synchronized (entries) {
+            entries.get(key); // refresh recency when this node owns the entry
+        }
+        HttpHeaders headers = new HttpHeaders();
+        if (entry.contentType() != null) {
+            headers.setContentType(MediaType.parseMediaType(entry.contentType()));
+        }
+        if (entry.contentDisposition() != null) {
+            headers.set(HttpHeaders.CONTENT_DISPOSITION, entry.contentDisposition());
+        }
+        headers.setContentLength(entry.size());
+        log.debug("Result cache hit for {}", key);
+        return Optional.of(
+                new ResponseEntity<>(new StoredResult(fileStore, entry), headers, HttpStatus.OK));
+    }
+
+    /**
+     * Stores a handler's response under a key when it is a successful response whose body is a
+     * byte array or a file. Anything else, and any failure to store, leaves the cache unchanged.
+     *
+     * @param key A key from {@link #keyFor}
+     * @param result What the handler returned; it is not consumed
+     */
+    public void store(String key, Object result) {
+        if (!(result instanceof ResponseEntity<?> response)
+                || response.getStatusCode() != HttpStatus.OK) {
+            return;
+        }
+        try {
+            FileStore.Stored stored;
+            Object body = response.getBody();
+            if (body instanceof byte[] bytes) {
+                if (bytes.length > maxBytes) {
+                    return;
+                }
+                stored = fileStore.store(new ByteArrayInputStream(bytes), key);
+            } else if (body instanceof Resource resource
+                    && !(body instanceof StoredResult)
+                    && resource.isFile()) {
+                if (resource.contentLength() > maxBytes) {
+                    return;
+                }
+                stored = fileStore.store(resource.getFile().toPath(), key);
+            } else {
+                return;
+            }
+            HttpHeaders headers = response.getHeaders();
+            MediaType contentType = headers.getContentType();
+            Entry entry =
+                    new Entry(
+                            stored.fileId(),
+                            stored.size(),
+                            contentType == null ? null : contentType.toString(),
+                            headers.getFirst(HttpHeaders.CONTENT_DISPOSITION));
+            keyValueCache.put(NAMESPACE, key, entry.encode(), Duration.ofHours(ttlHours));
+            remember(key, entry);
+            log.debug("Cached {} bytes of result for {}", stored.size(), key);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not cache result for {}: {}", key, e.getMessage());
+        }
+    }
+
+    /** Tracks an entry this node stored and evicts least recently used ones over budget. */
+    private void remember(String key, Entry entry) {
+        List<Map.Entry<String, Entry>> evicted = new ArrayList<>();
+        synchronized (entries) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                bytesInUse -= previous.size();
+                evicted.add(Map.entry(key, previous));
+            }
+            bytesInUse += entry.size();
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (bytesInUse > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Entry> victim = eldest.next();
+                if (victim.getKey().equals(key)) {
+                    continue;
+                }
+                eldest.remove();
+                bytesInUse -= victim.getValue().size();
+                evicted.add(victim);
+            }
+        }
+        for (Map.Entry<String, Entry> victim : evicted) {
+            // A replaced entry shares its key with the new one, whose index must stay
+            if (!victim.getKey().equals(key)) {
+                keyValueCache.evict(NAMESPACE, victim.getKey());
+            }
+            fileStore.delete(victim.getValue().fileId());
+        }
+    }
+
+    /** Bytes of cached output this node currently holds. */
+    public long getBytesInUse() {
+        synchronized (entries) {
+            return bytesInUse;
+        }
+    }
+
+    /**
+     * Drops this node's entries when the index lives only in this process, since nothing could
+     * find their files after a restart.
+     */
+    @PreDestroy
+    void shutdown() {
+        if (!(keyValueCache instanceof InProcessKeyValueCache)) {
+            return;
+        }
+        synchronized (entries) {
+            for (Entry entry : entries.values()) {
+                fileStore.delete(entry.fileId());
+            }
+            entries.clear();
+            bytesInUse = 0;
+        }
+    }
+
+    /** A cached output, opened from the file store each time it is read. */
+    static final class StoredResult extends AbstractResource {
+        private final FileStore fileStore;
+        private final Entry entry;
+
+        StoredResult(FileStore fileStore, Entry entry) {
+            this.fileStore = fileStore;
+            this.entry = entry;
+        }
+
+        @Override
+        public String getDescription() {
+            return "cached result " + entry.fileId();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return fileStore.retrieve(entry.fileId());
+        }
+
+        @Override
+        public long contentLength() {
+            return entry.size();
+        }
+
+        @Override
+        public boolean exists() {
+            return fileStore.exists(entry.fileId());
+        }
+    }
+}
@@ -18,6 +18,8 @@ import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandl
 
 import lombok.extern.slf4j.Slf4j;
 
+import stirling.software.common.annotations.AutoJobPostMapping;
+import stirling.software.common.enumeration.ResourceWeight;
 import stirling.software.common.model.tool.ToolIO;
 import stirling.software.common.model.tool.ToolIOSource;
 import stirling.software.common.model.tool.ToolIOSpec;
@@ -37,6 +39,8 @@ public class ToolIORegistry implements ToolMetadataService, ToolIOSource {
     // happens-before, so no volatile (same as AiEngineEndpointResolver).
     private Map<String, ToolIOSpec> specsByPath = Map.of();
 
+    private Map<String, HandlerMethod> handlersByPath = Map.of();
+
     // Keep this the only constructor: with two, Spring falls back to a no-arg one that isn't here.
     public ToolIORegistry(ApplicationContext applicationContext) {
         this.applicationContext = applicationContext;
@@ -49,20 +53,33 @@ public class ToolIORegistry implements ToolMetadataService, ToolIOSource {
         return registry;
     }
 
+    /** A registry over known handlers, for exercising in-process dispatch without a context. */
+    static ToolIORegistry forHandlers(
+            Map<String, ToolIOSpec> specs, Map<String, HandlerMethod> handlers) {
+        ToolIORegistry registry = forSpecs(specs);
+        registry.handlersByPath = Map.copyOf(handlers);
+        return registry;
+    }
+
     @EventListener(ContextRefreshedEvent.class)
     public void discoverToolIO() {
         Map<String, ToolIOSpec> discovered = new TreeMap<>();
+        Map<String, HandlerMethod> handlers = new TreeMap<>();
         for (RequestMappingHandlerMapping mapping :
                 applicationContext.getBeansOfType(RequestMappingHandlerMapping.class).values()) {
             mapping.getHandlerMethods()
-                    .forEach((info, handler) -> register(discovered, info, handler));
+                    .forEach((info, handler) -> register(discovered, handlers, info, handler));
         }
         specsByPath = Map.copyOf(discovered);
+        handlersByPath = Map.copyOf(handlers);
         log.debug("Discovered {} endpoints declaring @ToolIO", specsByPath.size());
     }
 
     private static void register(
-            Map<String, ToolIOSpec> target, RequestMappingInfo info, HandlerMethod handler) {
+            Map<String, ToolIOSpec> target,
+            Map<String, HandlerMethod> handlers,
+            RequestMappingInfo info,
+            HandlerMethod handler) {
         ToolIO annotation = handler.getMethodAnnotation(ToolIO.class);
         if (annotation == null) {
             return;
@@ -73,9 +90,18 @@ public class ToolIORegistry implements ToolMetadataService, ToolIOSource {
                         annotation, param -> ToolIOParameterDefaults.resolve(method, param));
         for (String pattern : extractPatterns(info)) {
             target.put(pattern, spec);
+            handlers.put(pattern, handler);
         }
     }
 
+    /**
+     * The handler method serving a {@code @ToolIO} endpoint, for callers that invoke the tool
+     * in-process instead of over HTTP. Empty for paths that are not declared tools.
+     */
+    public Optional<HandlerMethod> findHandler(String operationPath) {
+        return Optional.ofNullable(handlersByPath.get(operationPath));
+    }
+
     @Override
     public Optional<ToolIOSpec> find(String operationPath) {
         return Optional.ofNullable(specsByPath.get(operationPath));
@@ -109,6 +135,15 @@ public class ToolIORegistry implements ToolMetadataService, ToolIOSource {
                 .orElse(false);
     }
 
+    @Override
+    public int resourceWeight(String operationPath) {
+        return findHandler(operationPath)
+                .map(handler -> handler.getMethodAnnotation(AutoJobPostMapping.class))
+                .map(AutoJobPostMapping::resourceWeight)
+                .map(weight -> Math.max(1, Math.min(100, weight)))
+                .orElse(ResourceWeight.MEDIUM_WEIGHT);
+    }
+
     private static Set<String> extractPatterns(RequestMappingInfo info) {
         try {
             Method getDirectPaths = info.getClass().getMethod("getDirectPaths");
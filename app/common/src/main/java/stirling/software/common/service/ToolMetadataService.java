@@ -2,6 +2,8 @@ package stirling.software.common.service;
 
 import java.util.List;
 
+import stirling.software.common.enumeration.ResourceWeight;
+
 /** Provides metadata about tool endpoints for internal dispatch. */
 public interface ToolMetadataService {
 
@@ -25,4 +27,12 @@ public interface ToolMetadataService {
      * example {@code extract-attachments}), where unpacking would discard the deliverable.
      */
     boolean shouldUnpackZipResponse(String operationPath);
+
+    /**
+     * Returns the endpoint's declared resource weight (see {@link ResourceWeight}), clamped into
+     * {@code [1, 100]}. Endpoints that declare none count as {@link ResourceWeight#MEDIUM_WEIGHT}.
+     */
+    default int resourceWeight(String operationPath) {
+        return ResourceWeight.MEDIUM_WEIGHT;
+    }
 }
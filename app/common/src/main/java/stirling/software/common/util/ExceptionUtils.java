@@ -299,6 +299,23 @@ public class ExceptionUtils {
         }
     }
 
+    /**
+     * Estimates the heap an image of {@code page} rendered at {@code dpi} will take, using the same
+     * media-box size and 4 bytes per pixel as {@link #validateRenderingDimensions(PDPage, int,
+     * int)}.
+     *
+     * @return the estimate in bytes, or 0 when the page has no media box
+     */
+    public static long estimateRenderingBytes(PDPage page, int dpi) {
+        if (page == null || page.getMediaBox() == null) {
+            return 0;
+        }
+        PDRectangle mediaBox = page.getMediaBox();
+        long widthInPixels = Math.round((mediaBox.getWidth() / 72.0) * dpi);
+        long heightInPixels = Math.round((mediaBox.getHeight() / 72.0) * dpi);
+        return widthInPixels * heightInPixels * 4;
+    }
+
     /**
      * Execute a PDF rendering operation with automatic OutOfMemory exception handling. This wraps
      * any rendering operation and automatically converts OutOfMemoryError or
@@ -0,0 +1,26 @@
+package stirling.software.common.util;
+
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Rasterises the pages of one open document. Implementations are not thread-safe: each thread
+ * renders through its own instance.
+ *
+ * @see PdfBoxPageRasterizer
+ * @see PdfiumPageRasterizer
+ */
+public interface PageRasterizer extends Closeable {
+
+    /** The backend this rasteriser renders with. */
+    RenderBackend backend();
+
+    /**
+     * Renders page {@code pageIndex} (0-based).
+     *
+     * @throws IOException if the page cannot be rendered, including running out of memory
+     */
+    BufferedImage render(int pageIndex, ParallelPageRenderer.RenderSettings settings)
+            throws IOException;
+}
@@ -0,0 +1,104 @@
+package stirling.software.common.util;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import stirling.software.common.model.ApplicationProperties;
+
+/**
+ * Threads and heap budget shared by every {@link ParallelPageRenderer} render, sized from {@code
+ * system.pageRendering}. The bean hands itself to the renderer when it is created; until then,
+ * and outside a Spring context, renders use a pool sized from the defaults.
+ */
+@Slf4j
+@Component
+public class PageRenderPool {
+
+    private final int threads;
+    private final int budgetKib;
+    private final Semaphore budget;
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public PageRenderPool(ApplicationProperties applicationProperties) {
+        this(
+                pageRendering(applicationProperties).getThreads(),
+                pageRendering(applicationProperties).getMemoryBudgetMb());
+        ParallelPageRenderer.setPool(this);
+    }
+
+    /**
+     * @param threads rendering threads including the caller's; 0 or less means one per processor
+     * @param budgetMb heap for rendered pages not yet consumed; 0 or less means 1/4 of max heap
+     */
+    PageRenderPool(int threads, int budgetMb) {
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        long budgetKib =
+                budgetMb > 0 ? budgetMb * 1024L : Runtime.getRuntime().maxMemory() / 4 >> 10;
+        this.budgetKib = (int) Math.min(Math.max(budgetKib, 1), Integer.MAX_VALUE);
+        this.budget = new Semaphore(this.budgetKib);
+
+        AtomicInteger counter = new AtomicInteger();
+        int helperThreads = Math.max(1, this.threads - 1);
+        this.executor =
+                new ThreadPoolExecutor(
+                        helperThreads,
+                        helperThreads,
+                        30,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        runnable -> {
+                            Thread thread =
+                                    new Thread(
+                                            runnable, "page-render-" + counter.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        executor.allowCoreThreadTimeOut(true);
+        log.debug("Page rendering: {} threads, {} MB budget", this.threads, this.budgetKib >> 10);
+    }
+
+    private static ApplicationProperties.System.PageRendering pageRendering(
+            ApplicationProperties applicationProperties) {
+        ApplicationProperties.System system = applicationProperties.getSystem();
+        return system != null && system.getPageRendering() != null
+                ? system.getPageRendering()
+                : new ApplicationProperties.System.PageRendering();
+    }
+
+    /** Rendering threads including the caller's. */
+    int threads() {
+        return threads;
+    }
+
+    /** The whole heap budget, in KiB; no single page is charged more. */
+    int budgetKib() {
+        return budgetKib;
+    }
+
+    /** KiB of heap budget, acquired per page before rendering and released once it is consumed. */
+    Semaphore budget() {
+        return budget;
+    }
+
+    ThreadPoolExecutor executor() {
+        return executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ParallelPageRenderer.clearPool(this);
+        // Running renders keep their helpers; new ones fall back to the default pool
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,481 @@
+package stirling.software.common.util;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.web.multipart.MultipartFile;
+
+import lombok.extern.slf4j.Slf4j;
+
+import stirling.software.common.service.CustomPDFDocumentFactory;
+import stirling.software.common.service.PdfDocumentHandle;
+import stirling.software.jpdfium.PdfDocument;
+
+/**
+ * Renders the pages of one document on several threads and hands the results back in page order.
+ *
+ * <p>PDFBox documents are not thread-safe, so the calling thread renders with the document it
+ * already has open while helper threads each render from their own read-only copy, opened through
+ * the supplied {@link DocumentOpener}. Without an opener (or with {@code
+ * system.pageRendering.threads: 1}) every page is rendered on the calling thread, exactly as a
+ * plain {@link PDFRenderer} loop would.
+ *
+ * <p>Helper threads and the heap budget come from the shared {@link PageRenderPool}. Pages
+ * rendered but not yet consumed are held against that budget, sized per page from the same media
+ * box × DPI figure {@link ExceptionUtils#validateRenderingDimensions} checks, so a burst of large
+ * pages waits for memory instead of running out of it.
+ *
+ * <p>The {@link PageConsumer} always runs on the calling thread, in page order, so it may touch the
+ * caller's document and write to ordered outputs (multi-frame TIFF, ZIP). The {@link PageTask}
+ * runs on whichever thread rendered the page and must not touch shared state.
+ *
+ * <p>When {@link #useBackendFor} selects {@link RenderBackend#PDFIUM} for the operation, pages are
+ * rasterised by PDFium on the calling thread instead, falling back to PDFBox if PDFium cannot open
+ * the document.
+ */
+@Slf4j
+public class ParallelPageRenderer {
+
+    private static final long WAIT_MILLIS = 20;
+
+    // The configured PageRenderPool bean once the context has created it
+    private static volatile PageRenderPool sharedPool;
+
+    private final PDDocument document;
+    private final DocumentOpener opener;
+    private PdfiumOpener pdfiumOpener;
+
+    /**
+     * @param document the caller's open document; only ever used on the calling thread
+     * @param opener opens another read-only copy of the same document for a helper thread, or
+     *     {@code null} to render sequentially
+     */
+    public ParallelPageRenderer(PDDocument document, DocumentOpener opener) {
+        this.document = document;
+        this.opener = opener;
+    }
+
+    /** Makes {@code pool} the one every later render shares. */
+    static synchronized void setPool(PageRenderPool pool) {
+        ParallelPageRenderer.sharedPool = pool;
+    }
+
+    /** Stops handing out {@code pool}, if it is still the shared one. */
+    static synchronized void clearPool(PageRenderPool pool) {
+        if (ParallelPageRenderer.sharedPool == pool) {
+            ParallelPageRenderer.sharedPool = null;
+        }
+    }
+
+    /** The shared pool, sized from the defaults if no bean has configured one. */
+    private static PageRenderPool pool() {
+        PageRenderPool shared = sharedPool;
+        if (shared == null) {
+            synchronized (ParallelPageRenderer.class) {
+                shared = sharedPool;
+                if (shared == null) {
+                    shared = new PageRenderPool(0, 0);
+                    sharedPool = shared;
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * An opener for the upload {@code file}, or {@code null} when its document cannot be reopened
+     * independently (an open document handed on by a previous pipeline step).
+     */
+    public static DocumentOpener opener(
+            CustomPDFDocumentFactory pdfDocumentFactory, MultipartFile file) {
+        if (file instanceof ResourceMultipartFile resourceFile) {
+            if (resourceFile.getFile() != null) {
+                return () -> pdfDocumentFactory.load(resourceFile.getFile(), true);
+            }
+            if (resourceFile.getResource() instanceof PdfDocumentHandle) {
+                return null;
+            }
+        }
+        return () -> pdfDocumentFactory.load(file.getInputStream(), true);
+    }
+
+    /**
+     * Renders through PDFium when {@code operation} is configured for it (see {@link
+     * RenderBackend#forOperation}).
+     *
+     * @param pdfium opens the same document in PDFium, or {@code null} to always use PDFBox
+     * @return this renderer
+     */
+    public ParallelPageRenderer useBackendFor(String operation, PdfiumOpener pdfium) {
+        this.pdfiumOpener =
+                pdfium != null && RenderBackend.forOperation(operation) == RenderBackend.PDFIUM
+                        ? pdfium
+                        : null;
+        return this;
+    }
+
+    /**
+     * A PDFium opener for the upload {@code file}, or {@code null} when it only exists as an open
+     * PDFBox document (handed on by a previous pipeline step).
+     */
+    public static PdfiumOpener pdfiumOpener(MultipartFile file) {
+        if (file instanceof ResourceMultipartFile resourceFile) {
+            if (resourceFile.getFile() != null) {
+                return () -> PdfDocument.open(resourceFile.getFile().toPath());
+            }
+            if (resourceFile.getResource() instanceof PdfDocumentHandle) {
+                return null;
+            }
+        }
+        return () -> PdfDocument.open(file.getBytes());
+    }
+
+    /** Renders every page of the document. */
+    public void renderAll(RenderSettings settings, PageConsumer<BufferedImage> consumer)
+            throws IOException {
+        render(allPages(), settings, (pageIndex, image) -> image, consumer);
+    }
+
+    /**
+     * Renders {@code pageIndexes} (0-based), runs {@code task} on each image on the rendering
+     * thread, and passes the results to {@code consumer} on the calling thread in list order.
+     * The first failure in list order is rethrown once every earlier page has been consumed.
+     */
+    public <T> void render(
+            List<Integer> pageIndexes,
+            RenderSettings settings,
+            PageTask<T> task,
+            PageConsumer<T> consumer)
+            throws IOException {
+        if (pdfiumOpener != null && settings.includeAnnotations()) {
+            PdfiumPageRasterizer pdfium = openPdfium();
+            if (pdfium != null) {
+                try (pdfium) {
+                    renderSequentially(pdfium, pageIndexes, settings, task, consumer);
+                }
+                return;
+            }
+        }
+        PageRenderPool shared = opener == null ? null : pool();
+        int helperCount =
+                shared == null ? 0 : Math.min(shared.threads() - 1, pageIndexes.size() - 1);
+        if (helperCount <= 0) {
+            renderSequentially(
+                    new PdfBoxPageRasterizer(document, false),
+                    pageIndexes,
+                    settings,
+                    task,
+                    consumer);
+            return;
+        }
+        new Run<>(shared, pageIndexes, settings, task, helperCount).execute(consumer);
+    }
+
+    /** Every page index of the document, in order. */
+    public List<Integer> allPages() {
+        return IntStream.range(0, document.getNumberOfPages()).boxed().toList();
+    }
+
+    private <T> void renderSequentially(
+            PageRasterizer rasterizer,
+            List<Integer> pageIndexes,
+            RenderSettings settings,
+            PageTask<T> task,
+            PageConsumer<T> consumer)
+            throws IOException {
+        for (int pageIndex : pageIndexes) {
+            if (rasterizer.backend() != RenderBackend.PDFBOX) {
+                // Same size check PDFBox applies, against the caller's copy of the page
+                ExceptionUtils.validateRenderingDimensions(
+                        document.getPage(pageIndex), pageIndex + 1, settings.dpi());
+            }
+            BufferedImage image = rasterizer.render(pageIndex, settings);
+            consumer.accept(pageIndex, task.apply(pageIndex, image));
+        }
+    }
+
+    private PdfiumPageRasterizer openPdfium() {
+        PdfiumPageRasterizer rasterizer = null;
+        try {
+            rasterizer = new PdfiumPageRasterizer(pdfiumOpener.open());
+            if (rasterizer.pageCount() == document.getNumberOfPages()) {
+                return rasterizer;
+            }
+            log.debug("PDFium page count does not match the source document, using PDFBox");
+        } catch (IOException | RuntimeException | LinkageError e) {
+            // LinkageError: no native library for this platform
+            log.debug("PDFium could not open the document, using PDFBox", e);
+        }
+        if (rasterizer != null) {
+            rasterizer.close();
+        }
+        return null;
+    }
+
+    /** One {@link #render} call that uses helper threads. */
+    private final class Run<T> {
+
+        private final PageRenderPool pool;
+        private final Semaphore budget;
+        private final List<Integer> pageIndexes;
+        private final RenderSettings settings;
+        private final PageTask<T> task;
+        private final int helperCount;
+        private final List<CompletableFuture<T>> results;
+        private final int[] costs;
+        private final int pageCount;
+
+        // Positions in pageIndexes waiting to be rendered; helpers and the caller both take from
+        // the front, so the earliest outstanding page is always picked up next.
+        private final LinkedBlockingDeque<Integer> queue = new LinkedBlockingDeque<>();
+        private volatile boolean finished;
+
+        Run(
+                PageRenderPool pool,
+                List<Integer> pageIndexes,
+                RenderSettings settings,
+                PageTask<T> task,
+                int helperCount) {
+            this.pool = pool;
+            this.budget = pool.budget();
+            this.pageIndexes = pageIndexes;
+            this.settings = settings;
+            this.task = task;
+            this.helperCount = helperCount;
+            this.results = new ArrayList<>(pageIndexes.size());
+            this.costs = new int[pageIndexes.size()];
+            this.pageCount = document.getNumberOfPages();
+            for (int position = 0; position < pageIndexes.size(); position++) {
+                results.add(new CompletableFuture<>());
+                long bytes =
+                        ExceptionUtils.estimateRenderingBytes(
+                                document.getPage(pageIndexes.get(position)), settings.dpi());
+                costs[position] = (int) Math.min(Math.max(1, bytes >> 10), pool.budgetKib());
+            }
+        }
+
+        void execute(PageConsumer<T> consumer) throws IOException {
+            int size = pageIndexes.size();
+            // Enough look-ahead to keep every thread busy while the consumer catches up
+            int lookahead = 2 * (helperCount + 1);
+            int scheduled = 0;
+            int delivered = 0;
+            List<Future<?>> helpers = new ArrayList<>(helperCount);
+            PageRasterizer rasterizer = new PdfBoxPageRasterizer(document, false);
+            try {
+                for (int i = 0; i < helperCount; i++) {
+                    try {
+                        helpers.add(pool.executor().submit(this::help));
+                    } catch (RejectedExecutionException e) {
+                        // The pool is shutting down; render on the threads already started
+                        break;
+                    }
+                }
+                while (delivered < size) {
+                    while (scheduled < size && scheduled - delivered < lookahead) {
+                        if (scheduled == delivered) {
+                            // Nothing of ours holds budget, so blocking cannot deadlock
+                            budget.acquire(costs[scheduled]);
+                        } else if (!budget.tryAcquire(costs[scheduled])) {
+                            break;
+                        }
+                        queue.offerLast(scheduled++);
+                    }
+                    CompletableFuture<T> next = results.get(delivered);
+                    if (!next.isDone()) {
+                        Integer position = queue.pollFirst();
+                        if (position != null) {
+                            renderInto(rasterizer, position);
+                        } else {
+                            awaitQuietly(next);
+                        }
+                        continue;
+                    }
+                    T result = resultOf(next);
+                    budget.release(costs[delivered]);
+                    int pageIndex = pageIndexes.get(delivered++);
+                    consumer.accept(pageIndex, result);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while rendering pages", e);
+            } finally {
+                finished = true;
+                queue.clear();
+                for (int position = delivered; position < scheduled; position++) {
+                    budget.release(costs[position]);
+                }
+                for (Future<?> helper : helpers) {
+                    // Unstarted helpers are dropped; running ones stop after their current page
+                    if (!helper.cancel(false)) {
+                        joinQuietly(helper);
+                    }
+                }
+            }
+        }
+
+        private void help() {
+            PageRasterizer rasterizer = null;
+            try {
+                while (!finished) {
+                    Integer position = queue.pollFirst(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (position == null) {
+                        continue;
+                    }
+                    if (rasterizer == null) {
+                        PDDocument copy = openCopy();
+                        if (copy == null) {
+                            // Leave the page for the caller and the other helpers
+                            queue.offerFirst(position);
+                            return;
+                        }
+                        rasterizer = new PdfBoxPageRasterizer(copy, true);
+                    }
+                    renderInto(rasterizer, position);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (rasterizer != null) {
+                    try {
+                        rasterizer.close();
+                    } catch (IOException e) {
+                        log.debug("Failed to close render copy", e);
+                    }
+                }
+            }
+        }
+
+        private PDDocument openCopy() {
+            PDDocument copy = null;
+            try {
+                copy = opener.open();
+                if (copy != null && copy.getNumberOfPages() == pageCount) {
+                    return copy;
+                }
+                log.debug("Render copy does not match the source document, not using it");
+            } catch (IOException | RuntimeException e) {
+                log.debug("Failed to open render copy, rendering on fewer threads", e);
+            }
+            if (copy != null) {
+                try {
+                    copy.close();
+                } catch (IOException e) {
+                    log.debug("Failed to close render copy", e);
+                }
+            }
+            return null;
+        }
+
+        private void renderInto(PageRasterizer rasterizer, int position) {
+            CompletableFuture<T> result = results.get(position);
+            int pageIndex = pageIndexes.get(position);
+            try {
+                BufferedImage image = rasterizer.render(pageIndex, settings);
+                result.complete(task.apply(pageIndex, image));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private T resultOf(CompletableFuture<T> result) throws IOException {
+            try {
+                return result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while rendering pages", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException ioe) throw ioe;
+                if (cause instanceof RuntimeException re) throw re;
+                if (cause instanceof Error error) throw error;
+                throw new IOException("Page rendering failed", cause);
+            }
+        }
+    }
+
+    private static void awaitQuietly(Future<?> future) {
+        try {
+            future.get(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException | RuntimeException e) {
+            // Checked again by the caller
+        }
+    }
+
+    /** Waits for a helper to stop so its copy is closed before the caller cleans up the source. */
+    private static void joinQuietly(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RuntimeException e) {
+            log.debug("Render helper failed", e);
+        }
+    }
+
+    /**
+     * How pages are rendered.
+     *
+     * @param imageType {@code null} for the PDFBox default (RGB)
+     */
+    public record RenderSettings(int dpi, ImageType imageType, boolean includeAnnotations) {
+
+        public static RenderSettings of(int dpi) {
+            return new RenderSettings(dpi, ImageType.RGB, true);
+        }
+
+        public static RenderSettings of(int dpi, ImageType imageType) {
+            return new RenderSettings(dpi, imageType, true);
+        }
+
+        PDFRenderer createRenderer(PDDocument document) {
+            PDFRenderer renderer = new PDFRenderer(document);
+            renderer.setSubsamplingAllowed(true);
+            if (!includeAnnotations) {
+                renderer.setAnnotationsFilter(annotation -> false);
+            }
+            return renderer;
+        }
+
+        ImageType type() {
+            return imageType != null ? imageType : ImageType.RGB;
+        }
+    }
+
+    @FunctionalInterface
+    public interface DocumentOpener {
+        PDDocument open() throws IOException;
+    }
+
+    /** Opens the same document in PDFium; the rasteriser takes ownership of it. */
+    @FunctionalInterface
+    public interface PdfiumOpener {
+        PdfDocument open() throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface PageTask<T> {
+        T apply(int pageIndex, BufferedImage image) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface PageConsumer<T> {
+        void accept(int pageIndex, T result) throws IOException;
+    }
+}
@@ -0,0 +1,71 @@
+package stirling.software.common.util;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.PDFRenderer;
+
+/** Renders with PDFBox's {@link PDFRenderer}. */
+public final class PdfBoxPageRasterizer implements PageRasterizer {
+
+    private final PDDocument document;
+    private final boolean ownsDocument;
+
+    private PDFRenderer renderer;
+    private boolean rendererIncludesAnnotations;
+
+    /**
+     * @param ownsDocument whether {@link #close()} closes {@code document}
+     */
+    public PdfBoxPageRasterizer(PDDocument document, boolean ownsDocument) {
+        this.document = document;
+        this.ownsDocument = ownsDocument;
+    }
+
+    @Override
+    public RenderBackend backend() {
+        return RenderBackend.PDFBOX;
+    }
+
+    @Override
+    public BufferedImage render(int pageIndex, ParallelPageRenderer.RenderSettings settings)
+            throws IOException {
+        int dpi = settings.dpi();
+        ExceptionUtils.validateRenderingDimensions(document.getPage(pageIndex), pageIndex + 1, dpi);
+        PDFRenderer pdfRenderer = rendererFor(settings);
+        try {
+            return ExceptionUtils.handleOomRendering(
+                    pageIndex + 1,
+                    dpi,
+                    () -> pdfRenderer.renderImageWithDPI(pageIndex, dpi, settings.type()));
+        } catch (IllegalArgumentException e) {
+            if (e.getMessage() != null
+                    && e.getMessage().contains("Maximum size of image exceeded")) {
+                throw ExceptionUtils.createIllegalArgumentException(
+                        "error.pageTooBigForDpi",
+                        "PDF page {0} is too large to render at {1} DPI. Please try a lower DPI"
+                                + " value (recommended: 150 or less).",
+                        pageIndex + 1,
+                        dpi);
+            }
+            throw e;
+        }
+    }
+
+    private PDFRenderer rendererFor(ParallelPageRenderer.RenderSettings settings) {
+        // A renderer caches page resources, so keep it unless the annotation filter changes
+        if (renderer == null || rendererIncludesAnnotations != settings.includeAnnotations()) {
+            renderer = settings.createRenderer(document);
+            rendererIncludesAnnotations = settings.includeAnnotations();
+        }
+        return renderer;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (ownsDocument) {
+            document.close();
+        }
+    }
+}
@@ -3,8 +3,12 @@ package stirling.software.common.util;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.awt.image.RenderedImage;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -15,6 +19,7 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
 import javax.imageio.*;
+import javax.imageio.stream.FileImageOutputStream;
 import javax.imageio.stream.ImageOutputStream;
 
 import org.apache.pdfbox.cos.COSName;
@@ -30,7 +35,6 @@ import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
 import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 import org.apache.pdfbox.rendering.ImageType;
-import org.apache.pdfbox.rendering.PDFRenderer;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.springframework.http.MediaType;
 import org.springframework.web.multipart.MultipartFile;
@@ -42,6 +46,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import stirling.software.common.model.ApplicationProperties;
 import stirling.software.common.service.CustomPDFDocumentFactory;
+import stirling.software.jpdfium.PdfDocument;
 
 @Slf4j
 @UtilityClass
@@ -136,7 +141,82 @@ public class PdfUtils {
             String filename,
             boolean includeAnnotations)
             throws IOException, Exception {
+        validateDpi(DPI);
 
+        try (PDDocument document = pdfDocumentFactory.load(inputStream);
+                ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            writeImages(
+                    document,
+                    () -> pdfDocumentFactory.load(inputStream, true),
+                    () -> PdfDocument.open(inputStream),
+                    imageType,
+                    colorType,
+                    singleImage,
+                    DPI,
+                    filename,
+                    includeAnnotations,
+                    baos,
+                    () -> ImageIO.createImageOutputStream(baos));
+            return baos.toByteArray();
+        } catch (IOException e) {
+            // Log an error message if there is an issue converting the PDF to an image
+            log.error("Error converting PDF to image", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Streaming variant of {@link #convertFromPdf(CustomPDFDocumentFactory, byte[], String,
+     * ImageType, boolean, int, String, boolean)} that writes straight to {@code output} instead
+     * of building the result in heap. ZIP entries are written as each page is rendered, and a
+     * multi-frame TIFF is written through a file-backed {@link ImageOutputStream}, so memory
+     * stays at the pages currently being rendered whatever the page count. The combined "single
+     * image" still needs the full canvas in memory, but not a second encoded copy of it.
+     *
+     * @param output file the image or ZIP is written to; replaced if it exists
+     */
+    public void convertFromPdf(
+            CustomPDFDocumentFactory pdfDocumentFactory,
+            byte[] inputStream,
+            String imageType,
+            ImageType colorType,
+            boolean singleImage,
+            int DPI,
+            String filename,
+            boolean includeAnnotations,
+            Path output)
+            throws IOException {
+        validateDpi(DPI);
+
+        // A multi-frame TIFF is written through a seekable file stream, everything else through
+        // a plain one
+        boolean tiff = singleImage && isTiff(imageType);
+        try (PDDocument document = pdfDocumentFactory.load(inputStream);
+                OutputStream out =
+                        tiff ? null : new BufferedOutputStream(Files.newOutputStream(output))) {
+            writeImages(
+                    document,
+                    () -> pdfDocumentFactory.load(inputStream, true),
+                    () -> PdfDocument.open(inputStream),
+                    imageType,
+                    colorType,
+                    singleImage,
+                    DPI,
+                    filename,
+                    includeAnnotations,
+                    out,
+                    () -> {
+                        // FileImageOutputStream does not truncate an existing file
+                        Files.deleteIfExists(output);
+                        return new FileImageOutputStream(output.toFile());
+                    });
+        } catch (IOException e) {
+            log.error("Error converting PDF to image", e);
+            throw e;
+        }
+    }
+
+    private void validateDpi(int DPI) {
         // Validate and limit DPI to prevent excessive memory usage
         int maxSafeDpi = 500; // Default maximum safe DPI
         ApplicationProperties properties =
@@ -152,270 +232,214 @@ public class PdfUtils {
                     DPI,
                     maxSafeDpi);
         }
+    }
 
-        try (PDDocument document = pdfDocumentFactory.load(inputStream);
-                ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            PDFRenderer pdfRenderer = new PDFRenderer(document);
-            pdfRenderer.setSubsamplingAllowed(true);
-            if (!includeAnnotations) {
-                pdfRenderer.setAnnotationsFilter(annotation -> false);
-            }
-            int pageCount = document.getNumberOfPages();
-
-            if (singleImage) {
-                if ("tiff".equals(imageType.toLowerCase(Locale.ROOT))
-                        || "tif".equals(imageType.toLowerCase(Locale.ROOT))) {
-                    // Write the images to the output stream as a TIFF with multiple frames
-                    ImageWriter writer = ImageIO.getImageWritersByFormatName("tiff").next();
-                    ImageWriteParam param = writer.getDefaultWriteParam();
-                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
-                    param.setCompressionType("ZLib");
-                    param.setCompressionQuality(1.0f);
-
-                    try (ImageOutputStream ios = ImageIO.createImageOutputStream(baos)) {
-                        writer.setOutput(ios);
-                        writer.prepareWriteSequence(null);
-
-                        for (int i = 0; i < pageCount; ++i) {
-                            final int pageIndex = i;
-                            BufferedImage image;
-                            try {
-                                // Validate dimensions before rendering
-                                ExceptionUtils.validateRenderingDimensions(
-                                        document.getPage(pageIndex), pageIndex + 1, DPI);
-
-                                image =
-                                        ExceptionUtils.handleOomRendering(
-                                                pageIndex + 1,
-                                                DPI,
-                                                () ->
-                                                        pdfRenderer.renderImageWithDPI(
-                                                                pageIndex, DPI, colorType));
-                            } catch (IllegalArgumentException e) {
-                                if (e.getMessage() != null
-                                        && e.getMessage()
-                                                .contains("Maximum size of image exceeded")) {
-                                    throw ExceptionUtils.createIllegalArgumentException(
-                                            "error.pageTooBigForDpi",
-                                            "PDF page {0} is too large to render at {1} DPI. Please"
-                                                    + " try a lower DPI value (recommended: 150 or"
-                                                    + " less).",
-                                            i + 1,
-                                            DPI);
-                                }
-                                throw e;
-                            }
-                            writer.writeToSequence(new IIOImage(image, null, null), param);
-                        }
+    private boolean isTiff(String imageType) {
+        String type = imageType.toLowerCase(Locale.ROOT);
+        return "tiff".equals(type) || "tif".equals(type);
+    }
 
-                        writer.endWriteSequence();
-                    }
+    /** Opens the seekable stream a multi-frame TIFF is written to. */
+    @FunctionalInterface
+    private interface TiffOutput {
+        ImageOutputStream open() throws IOException;
+    }
 
+    private void writeImages(
+            PDDocument document,
+            ParallelPageRenderer.DocumentOpener opener,
+            ParallelPageRenderer.PdfiumOpener pdfium,
+            String imageType,
+            ImageType colorType,
+            boolean singleImage,
+            int DPI,
+            String filename,
+            boolean includeAnnotations,
+            OutputStream out,
+            TiffOutput tiffOutput)
+            throws IOException {
+        // Helper threads render from their own read-only copies of the same bytes
+        ParallelPageRenderer pageRenderer =
+                new ParallelPageRenderer(document, opener)
+                        .useBackendFor(RenderBackend.PDF_TO_IMAGE, pdfium);
+        ParallelPageRenderer.RenderSettings renderSettings =
+                new ParallelPageRenderer.RenderSettings(DPI, colorType, includeAnnotations);
+        int pageCount = document.getNumberOfPages();
+
+        if (singleImage) {
+            if (isTiff(imageType)) {
+                // Write the images to the output stream as a TIFF with multiple frames
+                ImageWriter writer = ImageIO.getImageWritersByFormatName("tiff").next();
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionType("ZLib");
+                param.setCompressionQuality(1.0f);
+
+                try (ImageOutputStream ios = tiffOutput.open()) {
+                    writer.setOutput(ios);
+                    writer.prepareWriteSequence(null);
+
+                    // Frames arrive in page order
+                    pageRenderer.renderAll(
+                            renderSettings,
+                            (pageIndex, image) ->
+                                    writer.writeToSequence(
+                                            new IIOImage(image, null, null), param));
+
+                    writer.endWriteSequence();
+                } finally {
                     writer.dispose();
-                } else {
-                    // Combine all images into a single big image
-
-                    // Calculate the combined image dimensions
-                    int maxWidth = 0;
-                    int totalHeight = 0;
-
-                    // Using a map to store the calculated dimensions of each page size
-                    HashMap<PdfRenderSettingsKey, PdfImageDimensionValue> pageSizes =
-                            new HashMap<>();
-                    for (int i = 0; i < pageCount; ++i) {
-                        PDPage page = document.getPage(i);
-                        PDRectangle cropBox = page.getCropBox();
-                        int rotation = page.getRotation();
-                        PdfRenderSettingsKey settings =
-                                new PdfRenderSettingsKey(
-                                        cropBox.getWidth(), cropBox.getHeight(), rotation);
-                        PdfImageDimensionValue dimension = pageSizes.get(settings);
-                        if (dimension == null) {
-                            float scale = DPI / 72f;
-                            int widthPx = (int) Math.max(Math.floor(cropBox.getWidth() * scale), 1);
-                            int heightPx =
-                                    (int) Math.max(Math.floor(cropBox.getHeight() * scale), 1);
-                            if (rotation == 90 || rotation == 270) {
-                                int tmp = widthPx;
-                                widthPx = heightPx;
-                                heightPx = tmp;
-                            }
-                            dimension = new PdfImageDimensionValue(widthPx, heightPx);
-                            pageSizes.put(settings, dimension);
-                            if (widthPx > maxWidth) {
-                                maxWidth = widthPx;
-                            }
+                }
+            } else {
+                // Combine all images into a single big image
+
+                // Calculate the combined image dimensions
+                int maxWidth = 0;
+                int totalHeight = 0;
+
+                // Using a map to store the calculated dimensions of each page size
+                HashMap<PdfRenderSettingsKey, PdfImageDimensionValue> pageSizes = new HashMap<>();
+                for (int i = 0; i < pageCount; ++i) {
+                    PDPage page = document.getPage(i);
+                    PDRectangle cropBox = page.getCropBox();
+                    int rotation = page.getRotation();
+                    PdfRenderSettingsKey settings =
+                            new PdfRenderSettingsKey(
+                                    cropBox.getWidth(), cropBox.getHeight(), rotation);
+                    PdfImageDimensionValue dimension = pageSizes.get(settings);
+                    if (dimension == null) {
+                        float scale = DPI / 72f;
+                        int widthPx = (int) Math.max(Math.floor(cropBox.getWidth() * scale), 1);
+                        int heightPx = (int) Math.max(Math.floor(cropBox.getHeight() * scale), 1);
+                        if (rotation == 90 || rotation == 270) {
+                            int tmp = widthPx;
+                            widthPx = heightPx;
+                            heightPx = tmp;
                         }
-                        totalHeight += dimension.height();
-                    }
-
-                    // Create a new BufferedImage to store the combined images
-                    BufferedImage combined =
-                            prepareImageForPdfToImage(maxWidth, totalHeight, imageType);
-                    Graphics g = combined.getGraphics();
-
-                    int currentHeight = 0;
-                    BufferedImage pageImage;
-
-                    for (int i = 0; i < pageCount; ++i) {
-                        final int pageIndex = i;
-                        try {
-                            // Validate dimensions before rendering
-                            ExceptionUtils.validateRenderingDimensions(
-                                    document.getPage(pageIndex), pageIndex + 1, DPI);
-
-                            pageImage =
-                                    ExceptionUtils.handleOomRendering(
-                                            pageIndex + 1,
-                                            DPI,
-                                            () ->
-                                                    pdfRenderer.renderImageWithDPI(
-                                                            pageIndex, DPI, colorType));
-                        } catch (IllegalArgumentException e) {
-                            if (e.getMessage() != null
-                                    && e.getMessage().contains("Maximum size of image exceeded")) {
-                                throw ExceptionUtils.createIllegalArgumentException(
-                                        "error.pageTooBigForDpi",
-                                        "PDF page {0} is too large to render at {1} DPI. Please"
-                                                + " try a lower DPI value (recommended: 150 or"
-                                                + " less).",
-                                        i + 1,
-                                        DPI);
-                            }
-                            throw e;
+                        dimension = new PdfImageDimensionValue(widthPx, heightPx);
+                        pageSizes.put(settings, dimension);
+                        if (widthPx > maxWidth) {
+                            maxWidth = widthPx;
                         }
-
-                        // Calculate the x-coordinate to center the image
-                        int x = (maxWidth - pageImage.getWidth()) / 2;
-
-                        g.drawImage(pageImage, x, currentHeight, null);
-                        currentHeight += pageImage.getHeight();
                     }
-
-                    // Write the image to the output stream
-                    ImageIO.write(combined, imageType, baos);
+                    totalHeight += dimension.height();
                 }
 
-                // Log that the image was successfully written to the byte array
-                log.info("Image successfully written to byte array");
-            } else {
-                // Zip the images and return as byte array
-                try (ZipOutputStream zos = new ZipOutputStream(baos)) {
-                    for (int i = 0; i < pageCount; ++i) {
-                        final int pageIndex = i;
-                        BufferedImage image;
-                        try {
-                            // Validate dimensions before rendering
-                            ExceptionUtils.validateRenderingDimensions(
-                                    document.getPage(pageIndex), pageIndex + 1, DPI);
-
-                            image =
-                                    ExceptionUtils.handleOomRendering(
-                                            pageIndex + 1,
-                                            DPI,
-                                            () ->
-                                                    pdfRenderer.renderImageWithDPI(
-                                                            pageIndex, DPI, colorType));
-                        } catch (IllegalArgumentException e) {
-                            if (e.getMessage() != null
-                                    && e.getMessage().contains("Maximum size of image exceeded")) {
-                                throw ExceptionUtils.createIllegalArgumentException(
-                                        "error.pageTooBigForDpi",
-                                        "PDF page {0} is too large to render at {1} DPI. Please try"
-                                                + " a lower DPI value (recommended: 150 or less).",
-                                        i + 1,
-                                        DPI);
-                            }
-                            throw e;
-                        }
-                        try (ByteArrayOutputStream baosImage = new ByteArrayOutputStream()) {
-                            ImageIO.write(image, imageType, baosImage);
+                // Create a new BufferedImage to store the combined images
+                BufferedImage combined =
+                        prepareImageForPdfToImage(maxWidth, totalHeight, imageType);
+                Graphics g = combined.getGraphics();
+
+                int combinedWidth = maxWidth;
+                int[] currentHeight = {0};
+                pageRenderer.renderAll(
+                        renderSettings,
+                        (pageIndex, pageImage) -> {
+                            // Calculate the x-coordinate to center the image
+                            int x = (combinedWidth - pageImage.getWidth()) / 2;
+
+                            g.drawImage(pageImage, x, currentHeight[0], null);
+                            currentHeight[0] += pageImage.getHeight();
+                        });
+
+                // Write the image to the output stream
+                ImageIO.write(combined, imageType, out);
+            }
 
+            // Log that the image was successfully written
+            log.info("Image successfully written");
+        } else {
+            // Zip the images, one entry per page as soon as it is rendered
+            try (ZipOutputStream zos = new ZipOutputStream(out)) {
+                // Each page is encoded on the thread that rendered it; entries are written in page
+                // order
+                pageRenderer.render(
+                        pageRenderer.allPages(),
+                        renderSettings,
+                        (pageIndex, image) -> {
+                            try (ByteArrayOutputStream baosImage = new ByteArrayOutputStream()) {
+                                ImageIO.write(image, imageType, baosImage);
+                                return baosImage.toByteArray();
+                            }
+                        },
+                        (pageIndex, imageBytes) -> {
                             // Add the image to the zip file
                             zos.putNextEntry(
                                     new ZipEntry(
                                             String.format(
                                                     Locale.ROOT,
                                                     filename + "_%d.%s",
-                                                    i + 1,
+                                                    pageIndex + 1,
                                                     imageType.toLowerCase(Locale.ROOT))));
-                            zos.write(baosImage.toByteArray());
-                        }
-                    }
-                    // Log that the images were successfully written to the byte array
-                    log.info("Images successfully written to byte array as a zip");
-                }
+                            zos.write(imageBytes);
+                        });
             }
-            return baos.toByteArray();
-        } catch (IOException e) {
-            // Log an error message if there is an issue converting the PDF to an image
-            log.error("Error converting PDF to image", e);
-            throw e;
+            // Log that the images were successfully written
+            log.info("Images successfully written as a zip");
         }
     }
 
     /**
-     * Converts a given Pdf file to PDF-Image.
+     * Converts a given Pdf file to PDF-Image, rendering one page at a time.
      *
      * @param document to be converted. Note: the caller is responsible for closing the document
      * @return converted document to PDF-Image
      * @throws IOException if conversion fails
      */
     public PDDocument convertPdfToPdfImage(PDDocument document) throws IOException {
-        PDDocument imageDocument = new PDDocument();
-        try {
-            PDFRenderer pdfRenderer = new PDFRenderer(document);
-            pdfRenderer.setSubsamplingAllowed(true);
-            for (int page = 0; page < document.getNumberOfPages(); ++page) {
-                final int pageIndex = page;
-                BufferedImage bim;
-
-                // Use global maximum DPI setting, fallback to 300 if not set
-                int renderDpi = 300; // Default fallback
-                ApplicationProperties properties =
-                        ApplicationContextProvider.getBean(ApplicationProperties.class);
-                if (properties != null && properties.getSystem() != null) {
-                    renderDpi = properties.getSystem().getMaxDPI();
-                }
-                final int dpi = renderDpi;
-
-                try {
-                    bim =
-                            ExceptionUtils.handleOomRendering(
-                                    pageIndex + 1,
-                                    dpi,
-                                    () ->
-                                            pdfRenderer.renderImageWithDPI(
-                                                    pageIndex, dpi, ImageType.RGB));
-                } catch (IllegalArgumentException e) {
-                    if (e.getMessage() != null
-                            && e.getMessage().contains("Maximum size of image exceeded")) {
-                        throw ExceptionUtils.createIllegalArgumentException(
-                                "error.pageTooBigFor300Dpi",
-                                "PDF page {0} is too large to render at 300 DPI. The resulting image"
-                                        + " would exceed Java's maximum array size. Please use a lower DPI"
-                                        + " value for PDF-to-image conversion.",
-                                pageIndex + 1);
-                    }
-                    throw e;
-                }
-                PDPage originalPage = document.getPage(page);
+        return convertPdfToPdfImage(document, null);
+    }
 
-                float width = originalPage.getMediaBox().getWidth();
-                float height = originalPage.getMediaBox().getHeight();
+    /**
+     * Converts a given Pdf file to PDF-Image, rendering pages on several threads.
+     *
+     * <p>Helper threads render from their own read-only copies opened by {@code opener}; each page
+     * is added to the result on the calling thread in page order, so only the pages the renderer's
+     * heap budget admits are held at once. With a {@code null} opener this renders sequentially.
+     *
+     * @param document to be converted. Note: the caller is responsible for closing the document
+     * @param opener opens another copy of the same document content, or {@code null}
+     * @return converted document to PDF-Image
+     * @throws IOException if conversion fails
+     */
+    public PDDocument convertPdfToPdfImage(
+            PDDocument document, ParallelPageRenderer.DocumentOpener opener) throws IOException {
+        int renderDpi = 300; // Default fallback
+        ApplicationProperties properties =
+                ApplicationContextProvider.getBean(ApplicationProperties.class);
+        if (properties != null && properties.getSystem() != null) {
+            renderDpi = properties.getSystem().getMaxDPI();
+        }
+        final int dpi = renderDpi;
 
-                PDPage newPage = new PDPage(new PDRectangle(width, height));
-                imageDocument.addPage(newPage);
-                PDImageXObject pdImage = LosslessFactory.createFromImage(imageDocument, bim);
-                try (PDPageContentStream contentStream =
-                        new PDPageContentStream(
-                                imageDocument, newPage, AppendMode.APPEND, true, true)) {
-                    contentStream.drawImage(pdImage, 0, 0, width, height);
-                }
-                bim.flush();
-            }
+        PDDocument imageDocument = new PDDocument();
+        try {
+            new ParallelPageRenderer(document, opener)
+                    .renderAll(
+                            ParallelPageRenderer.RenderSettings.of(dpi, ImageType.RGB),
+                            (pageIndex, image) -> {
+                                PDRectangle mediaBox = document.getPage(pageIndex).getMediaBox();
+                                float width = mediaBox.getWidth();
+                                float height = mediaBox.getHeight();
+
+                                PDPage newPage = new PDPage(new PDRectangle(width, height));
+                                imageDocument.addPage(newPage);
+                                PDImageXObject pdImage =
+                                        LosslessFactory.createFromImage(imageDocument, image);
+                                try (PDPageContentStream contentStream =
+                                        new PDPageContentStream(
+                                                imageDocument,
+                                                newPage,
+                                                AppendMode.APPEND,
+                                                true,
+                                                true)) {
+                                    contentStream.drawImage(pdImage, 0, 0, width, height);
+                                }
+                                image.flush();
+                            });
             return imageDocument;
-        } catch (Exception e) {
+        } catch (IOException | RuntimeException e) {
+            imageDocument.close();
             throw e;
         }
     }
@@ -0,0 +1,87 @@
+package stirling.software.common.util;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import org.apache.pdfbox.rendering.ImageType;
+
+import stirling.software.jpdfium.PdfDocument;
+import stirling.software.jpdfium.PdfPage;
+
+/**
+ * Renders with PDFium through jpdfium. PDFium draws annotation appearances itself, so this
+ * rasteriser only serves settings that include annotations; {@link ParallelPageRenderer} keeps
+ * PDFBox for the rest.
+ *
+ * <p>PDFium is not thread-safe across documents either: the library keeps process-wide state, so
+ * only one thread may call into it at a time. Rendering on helper threads would serialise on that
+ * anyway, while each would hold its own native copy of the document, so pages rendered through
+ * this class are rendered on the calling thread only. {@code RenderBackendBenchmark} in the
+ * benchmarks module compares it with PDFBox.
+ */
+public final class PdfiumPageRasterizer implements PageRasterizer {
+
+    private final PdfDocument document;
+
+    /** Takes ownership of {@code document}; {@link #close()} closes it. */
+    public PdfiumPageRasterizer(PdfDocument document) {
+        this.document = document;
+    }
+
+    @Override
+    public RenderBackend backend() {
+        return RenderBackend.PDFIUM;
+    }
+
+    @Override
+    public BufferedImage render(int pageIndex, ParallelPageRenderer.RenderSettings settings)
+            throws IOException {
+        int dpi = settings.dpi();
+        try (PdfPage page = document.page(pageIndex)) {
+            BufferedImage image =
+                    ExceptionUtils.handleOomRendering(
+                            pageIndex + 1, dpi, () -> page.renderAt(dpi).toBufferedImage());
+            return convert(image, settings.type());
+        }
+    }
+
+    /** Page count as PDFium sees it, to check it opened the same document. */
+    public int pageCount() {
+        return document.pageCount();
+    }
+
+    /** Redraws PDFium's bitmap into the image type PDFBox would have produced. */
+    static BufferedImage convert(BufferedImage image, ImageType imageType) {
+        int type =
+                switch (imageType) {
+                    case GRAY -> BufferedImage.TYPE_BYTE_GRAY;
+                    case BINARY -> BufferedImage.TYPE_BYTE_BINARY;
+                    case ARGB -> BufferedImage.TYPE_INT_ARGB;
+                    case BGR -> BufferedImage.TYPE_3BYTE_BGR;
+                    default -> BufferedImage.TYPE_INT_RGB;
+                };
+        if (image.getType() == type) {
+            return image;
+        }
+        BufferedImage converted = new BufferedImage(image.getWidth(), image.getHeight(), type);
+        Graphics2D g = converted.createGraphics();
+        try {
+            if (type != BufferedImage.TYPE_INT_ARGB) {
+                // Transparent page areas come out white, as they do from PDFBox
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            }
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return converted;
+    }
+
+    @Override
+    public void close() {
+        document.close();
+    }
+}
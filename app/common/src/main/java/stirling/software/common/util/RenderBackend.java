@@ -0,0 +1,55 @@
+package stirling.software.common.util;
+
+import java.util.List;
+import java.util.Locale;
+
+import stirling.software.common.model.ApplicationProperties;
+
+/**
+ * The library PDF pages are rasterised with. PDFBox is the default; PDFium (through jpdfium) is
+ * usually several times faster on scanned and vector-heavy pages and is chosen per operation with
+ * {@code system.pageRendering.backend} and {@code system.pageRendering.pdfiumOperations}.
+ */
+public enum RenderBackend {
+    PDFBOX,
+    PDFIUM;
+
+    /** PDF to image conversion. */
+    public static final String PDF_TO_IMAGE = "pdfToImage";
+
+    /** Blank-page detection. */
+    public static final String BLANK_PAGE = "blankPage";
+
+    /** The page images rendered ahead of Tesseract OCR. */
+    public static final String OCR = "ocr";
+
+    /** Flattening pages to images. */
+    public static final String FLATTEN = "flatten";
+
+    /** The backend configured for {@code operation}, or {@link #PDFBOX} outside Spring. */
+    public static RenderBackend forOperation(String operation) {
+        ApplicationProperties properties =
+                ApplicationContextProvider.getBean(ApplicationProperties.class);
+        if (properties == null || properties.getSystem() == null) {
+            return PDFBOX;
+        }
+        ApplicationProperties.System.PageRendering settings =
+                properties.getSystem().getPageRendering();
+        if (settings == null) {
+            return PDFBOX;
+        }
+        if (parse(settings.getBackend()) == PDFIUM) {
+            return PDFIUM;
+        }
+        List<String> pdfiumOperations = settings.getPdfiumOperations();
+        return pdfiumOperations != null && pdfiumOperations.contains(operation) ? PDFIUM : PDFBOX;
+    }
+
+    /** Parses a configured backend name, falling back to {@link #PDFBOX}. */
+    public static RenderBackend parse(String name) {
+        if (name != null && "pdfium".equals(name.trim().toLowerCase(Locale.ROOT))) {
+            return PDFIUM;
+        }
+        return PDFBOX;
+    }
+}
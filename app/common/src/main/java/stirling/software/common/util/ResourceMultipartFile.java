@@ -0,0 +1,98 @@
+package stirling.software.common.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Presents a {@link Resource} as an uploaded {@link MultipartFile} so a tool controller can be
+ * called in-process with a file that is already on disk. Nothing is copied up front: the content is
+ * read from the resource when the controller asks for it, and {@link #getFile()} lets {@link
+ * stirling.software.common.service.CustomPDFDocumentFactory} open a file-backed resource directly.
+ */
+public class ResourceMultipartFile implements MultipartFile {
+
+    private final String name;
+    private final Resource resource;
+    private final String filename;
+
+    public ResourceMultipartFile(String name, Resource resource) {
+        this.name = name;
+        this.resource = resource;
+        this.filename = resource.getFilename();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return filename;
+    }
+
+    @Override
+    public String getContentType() {
+        return MediaTypeFactory.getMediaType(filename)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    @Override
+    public long getSize() {
+        try {
+            return resource.contentLength();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return resource.getInputStream();
+    }
+
+    @Override
+    public Resource getResource() {
+        return resource;
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            Files.copy(in, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /** The backing file, or {@code null} when the resource does not live on the filesystem. */
+    public File getFile() {
+        if (!resource.isFile()) {
+            return null;
+        }
+        try {
+            return resource.getFile();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -22,6 +22,10 @@ import io.github.pixee.security.Filenames;
 
 import lombok.extern.slf4j.Slf4j;
 
+import stirling.software.common.service.AutomationRunContext;
+import stirling.software.common.service.DocumentHandoff;
+import stirling.software.common.service.PdfDocumentHandle;
+
 @Slf4j
 public class WebResponseUtils {
 
@@ -80,10 +84,22 @@ public class WebResponseUtils {
      * synchronous equivalent of the previous {@code StreamingResponseBody} pattern and avoids the
      * async-dispatch hazards (response-committed races, filter incompatibility, silent write
      * failures) that {@code StreamingResponseBody} introduced.
+     *
+     * <p>Inside a {@link DocumentHandoff} that hands results on, the document is not saved at all:
+     * the body is a {@link PdfDocumentHandle} the next chained step continues editing.
      */
     public static ResponseEntity<Resource> pdfDocToWebResponse(
             PDDocument document, String docName, TempFileManager tempFileManager)
             throws IOException {
+        DocumentHandoff handoff = AutomationRunContext.currentDocumentHandoff();
+        PdfDocumentHandle handle = handoff != null ? handoff.handOn(document, docName) : null;
+        if (handle != null) {
+            // A chained step that the next step continues from: skip the save entirely.
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_PDF);
+            headers.setContentDispositionFormData("attachment", encodeAttachmentName(docName));
+            return new ResponseEntity<>(handle, headers, HttpStatus.OK);
+        }
         TempFile tempFile = tempFileManager.createManagedTempFile(".pdf");
         try {
             document.save(tempFile.getFile());
@@ -191,6 +207,11 @@ public class WebResponseUtils {
             this.tempFile = tempFile;
         }
 
+        /** The backing temp file, for in-process callers that take ownership of it directly. */
+        public TempFile getTempFile() {
+            return tempFile;
+        }
+
         @Override
         public InputStream getInputStream() throws IOException {
             InputStream source;
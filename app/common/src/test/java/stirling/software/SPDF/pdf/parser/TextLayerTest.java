@@ -0,0 +1,220 @@
+package stirling.software.SPDF.pdf.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import stirling.software.SPDF.pdf.parser.TextLayer.Order;
+
+/**
+ * Unit tests for {@link TextLayer} and {@link TextLayerCache}. PDFs are built in memory with
+ * PDFBox; each page draws its text as one or more runs at fixed positions.
+ */
+class TextLayerTest {
+
+    /** One run of text on a page. */
+    private record Run(float x, float y, String text) {}
+
+    private static byte[] pdf(List<List<Run>> pages) throws IOException {
+        try (PDDocument doc = new PDDocument()) {
+            for (List<Run> runs : pages) {
+                PDPage page = new PDPage(PDRectangle.LETTER);
+                doc.addPage(page);
+                if (runs.isEmpty()) {
+                    continue;
+                }
+                try (PDPageContentStream cs = new PDPageContentStream(doc, page)) {
+                    for (Run run : runs) {
+                        cs.beginText();
+                        cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 11);
+                        cs.newLineAtOffset(run.x(), run.y());
+                        cs.showText(run.text());
+                        cs.endText();
+                    }
+                }
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            doc.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] numberedPages(int count) throws IOException {
+        List<List<Run>> pages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            pages.add(List.of(new Run(72, 700, "page " + i)));
+        }
+        return pdf(pages);
+    }
+
+    @Nested
+    @DisplayName("pages")
+    class Pages {
+
+        @Test
+        @DisplayName("every character of the text has its glyph or a separator")
+        void glyphsAlignWithText() throws IOException {
+            byte[] bytes =
+                    pdf(List.of(List.of(new Run(72, 700, "first"), new Run(72, 650, "two"))));
+            try (PDDocument doc = Loader.loadPDF(bytes)) {
+                TextLayer.Page page = TextLayer.of(doc, Order.CONTENT).page(0);
+
+                assertThat(page.text()).startsWith("first\ntwo");
+                assertThat(page.glyphs()).hasSize(page.text().length());
+                assertThat(page.glyphs().get(0).unicode()).isEqualTo("f");
+                assertThat(page.glyphs().get(5)).isNull();
+                assertThat(page.blocks())
+                        .extracting(TextLayer.Block::text)
+                        .containsExactly("first", "two");
+            }
+        }
+
+        @Test
+        @DisplayName("match bounds cover the matched glyphs only")
+        void boundsOfASpan() throws IOException {
+            byte[] bytes =
+                    pdf(List.of(List.of(new Run(72, 700, "first"), new Run(72, 650, "two"))));
+            try (PDDocument doc = Loader.loadPDF(bytes)) {
+                TextLayer.Page page = TextLayer.of(doc, Order.CONTENT).page(0);
+
+                float[] word = page.bounds(6, 9);
+                assertThat(word[0]).isEqualTo(page.glyphs().get(6).x());
+                assertThat(word[3]).isEqualTo(page.glyphs().get(6).y());
+                assertThat(page.bounds(5, 6)).isNull();
+                assertThat(page.nearbyBounds(5, 6)).isNotNull();
+            }
+        }
+
+        @Test
+        @DisplayName("a page with no content stream is empty rather than missing")
+        void emptyPage() throws IOException {
+            byte[] bytes = pdf(List.of(List.of(), List.of(new Run(72, 700, "last"))));
+            try (PDDocument doc = Loader.loadPDF(bytes)) {
+                List<TextLayer.Page> pages = TextLayer.of(doc, Order.CONTENT).pages();
+
+                assertThat(pages).hasSize(2);
+                assertThat(pages.get(0).text()).isEmpty();
+                assertThat(pages.get(0).glyphs()).isEmpty();
+                assertThat(pages.get(1).text()).startsWith("last");
+            }
+        }
+
+        @Test
+        @DisplayName("lines split on a new baseline and on a column gap")
+        void lines() throws IOException {
+            byte[] bytes =
+                    pdf(
+                            List.of(
+                                    List.of(
+                                            new Run(72, 700, "left"),
+                                            new Run(400, 700, "right"),
+                                            new Run(72, 650, "below"))));
+            try (PDDocument doc = Loader.loadPDF(bytes)) {
+                List<TextLayer.Line> lines = TextLayer.of(doc, Order.POSITION).page(0).lines();
+
+                assertThat(lines).hasSize(3);
+                assertThat(lines.get(0).x2()).isLessThan(lines.get(1).x1());
+                assertThat(lines.get(2).baseline()).isGreaterThan(lines.get(0).baseline());
+            }
+        }
+
+        @Test
+        @DisplayName("parallel preload extracts the same pages as serial extraction")
+        void parallelPreload() throws IOException {
+            byte[] bytes = numberedPages(9);
+            try (PDDocument doc = Loader.loadPDF(bytes);
+                    PDDocument serialDoc = Loader.loadPDF(bytes)) {
+                TextLayer parallel = TextLayer.of(doc, Order.CONTENT);
+                parallel.page(4);
+                parallel.preload(() -> Loader.loadPDF(bytes), 3);
+
+                List<TextLayer.Page> serial = TextLayer.of(serialDoc, Order.CONTENT).pages();
+                for (int i = 0; i < 9; i++) {
+                    assertThat(parallel.page(i).text()).isEqualTo(serial.get(i).text());
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("cache")
+    class Cache {
+
+        @Test
+        @DisplayName("documents with the same bytes share extracted pages")
+        void sharedByContentHash() throws IOException {
+            byte[] bytes = numberedPages(2);
+            TextLayerCache cache = new TextLayerCache();
+            try (PDDocument first = Loader.loadPDF(bytes);
+                    PDDocument second = Loader.loadPDF(bytes)) {
+                TextLayer.Page page = cache.layer(first, "hash", Order.CONTENT).page(1);
+
+                assertThat(cache.layer(second, "hash", Order.CONTENT).page(1)).isSameAs(page);
+                assertThat(cache.layer(second, "hash", Order.POSITION).page(1)).isNotSameAs(page);
+                assertThat(cache.layer(second, "other", Order.CONTENT).page(1)).isNotSameAs(page);
+            }
+        }
+
+        @Test
+        @DisplayName("without a hash, pages are shared by the same document object only")
+        void sharedByDocument() throws IOException {
+            byte[] bytes = numberedPages(1);
+            TextLayerCache cache = new TextLayerCache();
+            try (PDDocument first = Loader.loadPDF(bytes);
+                    PDDocument second = Loader.loadPDF(bytes)) {
+                TextLayer.Page page = cache.layer(first, Order.CONTENT).page(0);
+
+                assertThat(cache.layer(first, Order.CONTENT).page(0)).isSameAs(page);
+                assertThat(cache.layer(second, Order.CONTENT).page(0)).isNotSameAs(page);
+            }
+        }
+
+        @Test
+        @DisplayName("documents bound to the same bytes share pages through the plain lookup")
+        void sharedByBinding() throws IOException {
+            byte[] bytes = numberedPages(1);
+            TextLayerCache cache = new TextLayerCache();
+            try (PDDocument first = Loader.loadPDF(bytes);
+                    PDDocument second = Loader.loadPDF(bytes)) {
+                cache.bind(first, bytes);
+                cache.bind(second, bytes);
+                TextLayer.Page page = cache.layer(first, Order.CONTENT).page(0);
+
+                assertThat(cache.layer(second, Order.CONTENT).page(0)).isSameAs(page);
+                String contentHash = TextLayerCache.contentHash(new ByteArrayInputStream(bytes));
+                assertThat(cache.layer(second, contentHash, Order.CONTENT).page(0)).isSameAs(page);
+            }
+        }
+
+        @Test
+        @DisplayName("least recently used documents are evicted over the glyph budget")
+        void evictsOverBudget() throws IOException {
+            byte[] bytes = numberedPages(1);
+            TextLayerCache cache = new TextLayerCache();
+            ReflectionTestUtils.setField(cache, "maxGlyphs", 10L);
+            try (PDDocument doc = Loader.loadPDF(bytes)) {
+                TextLayer.Page first = cache.layer(doc, "a", Order.CONTENT).page(0);
+                cache.layer(doc, "b", Order.CONTENT).page(0);
+
+                assertThat(cache.getGlyphsInUse()).isEqualTo(first.glyphs().size());
+                assertThat(cache.layer(doc, "a", Order.CONTENT).page(0)).isNotSameAs(first);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package stirling.software.common.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import stirling.software.common.cluster.inprocess.InProcessClusterBackplane;
+import stirling.software.common.cluster.inprocess.LocalDiskFileStore;
+import stirling.software.common.model.ApplicationProperties;
+
+class CachingFileStoreTest {
+
+    @TempDir Path storeDir;
+    // Cache directories live under one temp dir so their lock files are cleaned up with them
+    @TempDir Path cacheRoot;
+
+    private Path cacheDir;
+    private Path peerDir;
+
+    private FileStore shared;
+    private InProcessClusterBackplane backplane;
+    private SimpleMeterRegistry registry;
+    private CachingFileStore cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cacheDir = cacheRoot.resolve("cache");
+        peerDir = cacheRoot.resolve("peer");
+        shared = spy(new LocalDiskFileStore(storeDir.toString()));
+        backplane = new InProcessClusterBackplane(new ApplicationProperties());
+        registry = new SimpleMeterRegistry();
+        cache = new CachingFileStore(shared, cacheDir, 1000, backplane, registry);
+    }
+
+    private String put(int size) throws IOException {
+        return cache.store(new ByteArrayInputStream(new byte[size]), "f.bin").fileId();
+    }
+
+    private double counter(String name) {
+        return registry.get(name).counter().count();
+    }
+
+    @Test
+    void repeatReadsAreServedLocally() throws IOException {
+        byte[] payload = "cached bytes".getBytes();
+        String id = cache.store(new ByteArrayInputStream(payload), "c.txt").fileId();
+
+        assertArrayEquals(payload, cache.retrieveBytes(id));
+        assertArrayEquals(payload, cache.retrieveBytes(id));
+        try (InputStream in = cache.retrieve(id)) {
+            assertArrayEquals(payload, in.readAllBytes());
+        }
+
+        verify(shared, times(1)).retrieve(id);
+        assertEquals(1, counter("stirling.cluster.filestore.cache.misses"));
+        assertEquals(2, counter("stirling.cluster.filestore.cache.hits"));
+        assertEquals(2.0 * payload.length, counter("stirling.cluster.filestore.cache.bytes.saved"));
+        assertEquals(payload.length, cache.getBytesInUse());
+    }
+
+    @Test
+    void leastRecentlyUsedCopyIsEvictedOverBudget() throws IOException {
+        String first = put(400);
+        String second = put(400);
+        String third = put(400);
+
+        cache.retrieveBytes(first);
+        cache.retrieveBytes(second);
+        cache.retrieveBytes(first);
+        cache.retrieveBytes(third);
+
+        assertEquals(800, cache.getBytesInUse());
+        assertTrue(Files.exists(cacheDir.resolve(first)));
+        assertFalse(Files.exists(cacheDir.resolve(second)));
+        assertTrue(Files.exists(cacheDir.resolve(third)));
+    }
+
+    @Test
+    void fileOverBudgetIsServedButNotKept() throws IOException {
+        String big = put(1500);
+
+        assertEquals(1500, cache.retrieveBytes(big).length);
+
+        assertEquals(0, cache.getBytesInUse());
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void deleteIsBroadcastToOtherNodes() throws IOException {
+        CachingFileStore peer =
+                new CachingFileStore(shared, peerDir, 1000, backplane, new SimpleMeterRegistry());
+        String id = put(100);
+        peer.retrieveBytes(id);
+        assertEquals(100, peer.getBytesInUse());
+
+        assertTrue(cache.delete(id));
+
+        assertEquals(0, peer.getBytesInUse());
+        assertFalse(Files.exists(peerDir.resolve(id)));
+        assertFalse(peer.exists(id));
+        assertThrows(IOException.class, () -> peer.retrieveBytes(id));
+    }
+
+    @Test
+    void deleteDuringFetchIsNotCached() throws IOException {
+        String id = put(100);
+        doAnswer(
+                        invocation -> {
+                            byte[] bytes;
+                            try (InputStream in = (InputStream) invocation.callRealMethod()) {
+                                bytes = in.readAllBytes();
+                            }
+                            // Arrives while the fetch is still copying the file
+                            assertTrue(cache.delete(id));
+                            return new ByteArrayInputStream(bytes);
+                        })
+                .when(shared)
+                .retrieve(id);
+
+        assertEquals(100, cache.retrieveBytes(id).length);
+
+        assertEquals(0, cache.getBytesInUse());
+        assertFalse(cache.exists(id));
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void ownerAlwaysComesFromSharedStore() throws IOException {
+        String id = cache.store(new ByteArrayInputStream(new byte[10]), "o.bin", "alice").fileId();
+        cache.retrieveBytes(id);
+
+        assertEquals("alice", cache.getOwner(id));
+        verify(shared).getOwner(id);
+    }
+
+    @Test
+    void leftoverCopiesAreClearedAtStartup() throws IOException {
+        cache.close();
+        Files.writeString(cacheDir.resolve("stale"), "from an earlier run");
+
+        new CachingFileStore(shared, cacheDir, 1000, backplane, new SimpleMeterRegistry());
+
+        assertFalse(Files.exists(cacheDir.resolve("stale")));
+    }
+
+    @Test
+    void directoryInUseIsNotClearedBySecondStore() throws IOException {
+        String id = put(100);
+        cache.retrieveBytes(id);
+
+        assertThrows(
+                CachingFileStore.DirectoryInUseException.class,
+                () ->
+                        new CachingFileStore(
+                                shared, cacheDir, 1000, backplane, new SimpleMeterRegistry()));
+
+        assertTrue(Files.exists(cacheDir.resolve(id)));
+        assertArrayEquals(new byte[100], cache.retrieveBytes(id));
+    }
+}
@@ -50,6 +50,27 @@ class ClusterConfigValidationTest {
         assertDoesNotThrow(() -> invokeValidate(config));
     }
 
+    @Test
+    void validationFailsWhenFileCacheHasNoBudget() {
+        ApplicationProperties props = new ApplicationProperties();
+        Cluster cluster = props.getCluster();
+        cluster.setArtifactStore("s3");
+        cluster.getFileCache().setEnabled(true);
+        cluster.getFileCache().setMaxSizeMb(0);
+        ClusterConfig config = new ClusterConfig(props);
+        assertThrows(IllegalStateException.class, () -> invokeValidate(config));
+    }
+
+    @Test
+    void validationPassesWhenFileCacheConfigured() {
+        ApplicationProperties props = new ApplicationProperties();
+        Cluster cluster = props.getCluster();
+        cluster.setArtifactStore("s3");
+        cluster.getFileCache().setEnabled(true);
+        ClusterConfig config = new ClusterConfig(props);
+        assertDoesNotThrow(() -> invokeValidate(config));
+    }
+
     private void invokeValidate(ClusterConfig config) throws Exception {
         Method m = ClusterConfig.class.getDeclaredMethod("validate");
         m.setAccessible(true);
@@ -10,10 +10,13 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
 import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
 import org.apache.pdfbox.io.RandomAccessStreamCache.StreamCacheCreateFunction;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -57,6 +60,8 @@ class CustomPDFDocumentFactoryMoreTest {
                     .isInstanceOf(IllegalArgumentException.class);
             assertThatThrownBy(() -> factory.load((InputStream) null, "pw"))
                     .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> factory.load((RandomAccessRead) null, true))
+                    .isInstanceOf(IllegalArgumentException.class);
         }
     }
 
@@ -135,6 +140,21 @@ class CustomPDFDocumentFactoryMoreTest {
             }
         }
 
+        @Test
+        @DisplayName("read-only load from a direct buffer reads it in place")
+        void readOnlyFromDirectBuffer() throws IOException {
+            PdfMetadataService svc = mock(PdfMetadataService.class);
+            CustomPDFDocumentFactory f = new CustomPDFDocumentFactory(svc);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(basePdfBytes.length);
+            buffer.put(0, basePdfBytes);
+            try (PDDocument doc =
+                    f.load(new RandomAccessReadBuffer(buffer.asReadOnlyBuffer()), true)) {
+                assertThat(doc.getNumberOfPages()).isPositive();
+                org.mockito.Mockito.verify(svc, org.mockito.Mockito.never())
+                        .setDefaultMetadata(org.mockito.ArgumentMatchers.any());
+            }
+        }
+
         @Test
         @DisplayName("encrypted PDF is decrypted on the default (non-read-only) load path")
         void encryptedPdfDecrypted() throws IOException {
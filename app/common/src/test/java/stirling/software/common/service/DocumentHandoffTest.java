@@ -0,0 +1,111 @@
+package stirling.software.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import stirling.software.common.model.ApplicationProperties;
+import stirling.software.common.util.TempFile;
+import stirling.software.common.util.TempFileManager;
+import stirling.software.common.util.TempFileRegistry;
+
+/** Chained steps share one open document and only the end of the chain saves it. */
+class DocumentHandoffTest {
+
+    @TempDir Path tempDir;
+
+    private TempFileManager tempFileManager;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSystem().getTempFileManagement().setBaseTmpDir(tempDir.toString());
+        tempFileManager = new TempFileManager(new TempFileRegistry(), applicationProperties);
+    }
+
+    private static PDDocument twoPages() {
+        PDDocument document = new PDDocument();
+        document.addPage(new PDPage());
+        document.addPage(new PDPage());
+        return document;
+    }
+
+    @Test
+    void documentSurvivesToolCloseAndIsHandedOn() throws Exception {
+        PdfDocumentHandle handle;
+        try (DocumentHandoff handoff = AutomationRunContext.openDocumentHandoff(true)) {
+            PDDocument document = handoff.adopt(twoPages());
+            try (document) {
+                document.getPage(0).setRotation(90);
+                handle = handoff.handOn(document, "rotated.pdf");
+            }
+        }
+        assertNotNull(handle);
+        assertTrue(handle.exists());
+        assertNull(AutomationRunContext.currentDocumentHandoff());
+
+        try (DocumentHandoff handoff = AutomationRunContext.openDocumentHandoff(false)) {
+            PDDocument document = handoff.accept(handle);
+            assertEquals(90, document.getPage(0).getRotation());
+            assertNull(handoff.handOn(document, "again.pdf"));
+        }
+        assertFalse(handle.exists(), "a step that does not hand on releases its input");
+    }
+
+    @Test
+    void materializeSavesOnceAndReleases() throws Exception {
+        PdfDocumentHandle handle;
+        try (DocumentHandoff handoff = AutomationRunContext.openDocumentHandoff(true)) {
+            handle = handoff.handOn(handoff.adopt(twoPages()), "out.pdf");
+        }
+
+        TempFile saved = handle.materialize(tempFileManager);
+
+        assertFalse(handle.exists());
+        try (PDDocument reloaded = Loader.loadPDF(saved.getFile())) {
+            assertEquals(2, reloaded.getNumberOfPages());
+        }
+        saved.close();
+    }
+
+    @Test
+    void inputStaysOpenWithANewDocumentBuiltFromIt() throws Exception {
+        PdfDocumentHandle input;
+        try (DocumentHandoff handoff = AutomationRunContext.openDocumentHandoff(true)) {
+            input = handoff.handOn(handoff.adopt(twoPages()), "in.pdf");
+        }
+
+        PdfDocumentHandle output;
+        try (DocumentHandoff handoff = AutomationRunContext.openDocumentHandoff(true)) {
+            PDDocument source = handoff.accept(input);
+            PDDocument copy = handoff.adopt(new PDDocument());
+            copy.importPage(source.getPage(0));
+            output = handoff.handOn(copy, "out.pdf");
+        }
+
+        assertTrue(input.exists(), "the result may still share objects with its input");
+        output.close();
+        assertFalse(input.exists());
+    }
+
+    @Test
+    void adoptLeavesDocumentsAloneWhenNotHandingOn() throws Exception {
+        try (DocumentHandoff handoff = AutomationRunContext.openDocumentHandoff(false);
+                PDDocument document = twoPages()) {
+            assertSame(document, handoff.adopt(document));
+            assertFalse(handoff.isHandOnResult());
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package stirling.software.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.multipart.MultipartFile;
+
+import lombok.Data;
+
+import stirling.software.common.model.ApplicationProperties;
+import stirling.software.common.model.tool.ToolArity;
+import stirling.software.common.model.tool.ToolFormat;
+import stirling.software.common.model.tool.ToolIOSpec;
+import stirling.software.common.util.ResourceMultipartFile;
+import stirling.software.common.util.TempFile;
+import stirling.software.common.util.TempFileManager;
+import stirling.software.common.util.TempFileRegistry;
+import stirling.software.common.util.WebResponseUtils;
+
+/** Calling a tool controller directly must look the same to callers as the loopback POST. */
+class InProcessToolDispatcherTest {
+
+    private static final String ECHO = "/api/v1/general/echo";
+    private static final String FAILING = "/api/v1/general/fail";
+    private static final String RAW_PARAM = "/api/v1/general/raw-param";
+
+    @TempDir Path tempDir;
+
+    private TempFileManager tempFileManager;
+    private InProcessToolDispatcher dispatcher;
+
+    @Data
+    public static class EchoRequest {
+        private MultipartFile fileInput;
+        private Integer repeat;
+        private List<String> tags;
+    }
+
+    public static class EchoController {
+        private final TempFileManager tempFileManager;
+        MultipartFile lastInput;
+
+        EchoController(TempFileManager tempFileManager) {
+            this.tempFileManager = tempFileManager;
+        }
+
+        public ResponseEntity<Resource> echo(@ModelAttribute EchoRequest request)
+                throws Exception {
+            lastInput = request.getFileInput();
+            String content = new String(request.getFileInput().getBytes(), StandardCharsets.UTF_8);
+            TempFile out = tempFileManager.createManagedTempFile(".pdf");
+            Files.writeString(
+                    out.getPath(),
+                    content.repeat(request.getRepeat()) + String.join(",", request.getTags()));
+            return WebResponseUtils.pdfFileToWebResponse(out, "echoed.pdf");
+        }
+
+        public ResponseEntity<byte[]> fail(@ModelAttribute EchoRequest request) {
+            throw new IllegalArgumentException("bad input");
+        }
+
+        public ResponseEntity<byte[]> rawParam(@RequestParam("value") String value) {
+            return ResponseEntity.ok(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private EchoController controller;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSystem().getTempFileManagement().setBaseTmpDir(tempDir.toString());
+        tempFileManager = new TempFileManager(new TempFileRegistry(), applicationProperties);
+        controller = new EchoController(tempFileManager);
+
+        ToolIOSpec spec =
+                new ToolIOSpec(Set.of(ToolFormat.PDF), ToolFormat.PDF, ToolArity.SISO, List.of());
+        Method echo = EchoController.class.getMethod("echo", EchoRequest.class);
+        Method fail = EchoController.class.getMethod("fail", EchoRequest.class);
+        Method rawParam = EchoController.class.getMethod("rawParam", String.class);
+        ToolIORegistry registry =
+                ToolIORegistry.forHandlers(
+                        Map.of(ECHO, spec, FAILING, spec, RAW_PARAM, spec),
+                        Map.of(
+                                ECHO, new HandlerMethod(controller, echo),
+                                FAILING, new HandlerMethod(controller, fail),
+                                RAW_PARAM, new HandlerMethod(controller, rawParam)));
+        dispatcher = new InProcessToolDispatcher(registry, tempFileManager);
+    }
+
+    private MultiValueMap<String, Object> body(Path input) {
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("fileInput", new FileSystemResource(input.toFile()));
+        body.add("repeat", 2);
+        body.add("tags", "a");
+        body.add("tags", "b");
+        return body;
+    }
+
+    @Test
+    void bindsParametersAndReturnsTempFileResource() throws Exception {
+        Path input = Files.writeString(tempDir.resolve("in.pdf"), "x");
+
+        ResponseEntity<Resource> response = dispatcher.dispatch(ECHO, body(input));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        InternalApiClient.TempFileResource result =
+                assertInstanceOf(InternalApiClient.TempFileResource.class, response.getBody());
+        assertEquals("echoed.pdf", result.getFilename());
+        assertEquals("xxa,b", Files.readString(result.getFile().toPath()));
+        assertEquals(
+                Files.size(result.getFile().toPath()), response.getHeaders().getContentLength());
+    }
+
+    @Test
+    void fileInputIsReadInPlace() throws Exception {
+        Path input = Files.writeString(tempDir.resolve("in.pdf"), "x");
+
+        dispatcher.dispatch(ECHO, body(input));
+
+        ResourceMultipartFile file =
+                assertInstanceOf(ResourceMultipartFile.class, controller.lastInput);
+        assertEquals(input.toFile(), file.getFile());
+        assertEquals("in.pdf", file.getOriginalFilename());
+    }
+
+    @Test
+    void controllerExceptionsPropagateUnwrapped() throws Exception {
+        Path input = Files.writeString(tempDir.resolve("in.pdf"), "x");
+
+        IllegalArgumentException e =
+                assertThrows(
+                        IllegalArgumentException.class,
+                        () -> dispatcher.dispatch(FAILING, body(input)));
+        assertEquals("bad input", e.getMessage());
+    }
+
+    @Test
+    void onlyModelAttributeHandlersAreDispatchable() {
+        assertTrue(dispatcher.canDispatch(ECHO));
+        assertFalse(dispatcher.canDispatch(RAW_PARAM));
+        assertFalse(dispatcher.canDispatch("/api/v1/general/unknown"));
+    }
+}
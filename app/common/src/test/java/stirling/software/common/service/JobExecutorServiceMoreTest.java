@@ -36,6 +36,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import stirling.software.common.enumeration.JobPriority;
 import stirling.software.common.model.job.JobResponse;
 import stirling.software.common.util.ExceptionUtils;
 
@@ -363,7 +364,13 @@ class JobExecutorServiceMoreTest {
             when(resourceMonitor.shouldQueueJob(80)).thenReturn(true);
             // Capture the wrapped supplier so we can run it as the queue would.
             ArgumentCaptor<Supplier<Object>> workCaptor = ArgumentCaptor.forClass(Supplier.class);
-            when(jobQueue.queueJob(anyString(), eq(80), workCaptor.capture(), anyLong()))
+            when(jobQueue.queueJob(
+                            anyString(),
+                            eq(80),
+                            workCaptor.capture(),
+                            anyLong(),
+                            any(),
+                            eq(JobPriority.INTERACTIVE)))
                     .thenReturn(new CompletableFuture<>());
 
             ResponseEntity<?> response =
@@ -382,7 +389,13 @@ class JobExecutorServiceMoreTest {
         void queuedWorkFailure() {
             when(resourceMonitor.shouldQueueJob(80)).thenReturn(true);
             ArgumentCaptor<Supplier<Object>> workCaptor = ArgumentCaptor.forClass(Supplier.class);
-            when(jobQueue.queueJob(anyString(), eq(80), workCaptor.capture(), anyLong()))
+            when(jobQueue.queueJob(
+                            anyString(),
+                            eq(80),
+                            workCaptor.capture(),
+                            anyLong(),
+                            any(),
+                            eq(JobPriority.INTERACTIVE)))
                     .thenReturn(new CompletableFuture<>());
 
             Supplier<Object> failing =
@@ -404,7 +417,7 @@ class JobExecutorServiceMoreTest {
             ResponseEntity<?> response = service.runJobGeneric(false, () -> "inline", 0, true, 90);
             assertThat(response.getBody()).isEqualTo("inline");
             verify(jobQueue, org.mockito.Mockito.never())
-                    .queueJob(anyString(), anyInt(), any(), anyLong());
+                    .queueJob(anyString(), anyInt(), any(), anyLong(), any(), any());
         }
     }
 
@@ -36,6 +36,7 @@ import org.springframework.http.ResponseEntity;
 
 import jakarta.servlet.http.HttpServletRequest;
 
+import stirling.software.common.enumeration.JobPriority;
 import stirling.software.common.model.job.JobResponse;
 
 @ExtendWith(MockitoExtension.class)
@@ -151,7 +152,8 @@ class JobExecutorServiceTest {
         when(resourceMonitor.shouldQueueJob(80)).thenReturn(true);
 
         // Configure jobQueue to return our future
-        when(jobQueue.queueJob(anyString(), eq(80), any(), anyLong())).thenReturn(future);
+        when(jobQueue.queueJob(anyString(), eq(80), any(), anyLong(), any(), any()))
+                .thenReturn(future);
 
         // When
         ResponseEntity<?> response = jobExecutorService.runJobGeneric(true, work, 5000, true, 80);
@@ -161,7 +163,14 @@ class JobExecutorServiceTest {
         assertInstanceOf(JobResponse.class, response.getBody());
 
         // Verify job was queued
-        verify(jobQueue).queueJob(anyString(), eq(80), any(), eq(5000L));
+        verify(jobQueue)
+                .queueJob(
+                        anyString(),
+                        eq(80),
+                        any(),
+                        eq(5000L),
+                        any(),
+                        eq(JobPriority.INTERACTIVE));
         verify(taskManager).createTask(anyString());
     }
 
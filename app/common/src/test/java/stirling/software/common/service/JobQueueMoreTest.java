@@ -6,8 +6,10 @@ import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -23,6 +25,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import stirling.software.common.enumeration.JobPriority;
+import stirling.software.common.enumeration.ResourceWeight;
 import stirling.software.common.service.ResourceMonitor.ResourceStatus;
 
 /** Additional coverage for JobQueue branches not exercised by JobQueueTest. */
@@ -394,6 +398,207 @@ class JobQueueMoreTest {
         }
     }
 
+    @Nested
+    @DisplayName("fair queuing")
+    class FairQueuing {
+
+        private void queue(String jobId, String owner, JobPriority priority) {
+            jobQueue.queueJob(
+                    jobId, ResourceWeight.MEDIUM_WEIGHT, () -> "done", 5000, owner, priority);
+        }
+
+        @Test
+        @DisplayName("owners in a lane take turns instead of first come, first served")
+        void ownersTakeTurns() {
+            queue("a1", "alice", JobPriority.INTERACTIVE);
+            queue("a2", "alice", JobPriority.INTERACTIVE);
+            queue("a3", "alice", JobPriority.INTERACTIVE);
+            queue("b1", "bob", JobPriority.INTERACTIVE);
+
+            assertThat(jobQueue.getJobPosition("a1")).isEqualTo(0);
+            assertThat(jobQueue.getJobPosition("b1")).isEqualTo(1);
+            assertThat(jobQueue.getJobPosition("a2")).isEqualTo(2);
+            assertThat(jobQueue.getJobPosition("a3")).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("interactive jobs go ahead of batch and policy jobs queued earlier")
+        void interactiveFirst() {
+            queue("policy", "alice", JobPriority.POLICY);
+            queue("batch", "alice", JobPriority.BATCH);
+            queue("click", "bob", JobPriority.INTERACTIVE);
+
+            assertThat(jobQueue.getJobPosition("click")).isEqualTo(0);
+            assertThat(jobQueue.getJobPosition("batch")).isEqualTo(1);
+            assertThat(jobQueue.getJobPosition("policy")).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("jobs past the maximum wait go first whatever their lane")
+        void overdueJobsGoFirst() {
+            ReflectionTestUtils.setField(jobQueue, "maxWaitTimeMs", -1L);
+            queue("batch", "alice", JobPriority.BATCH);
+            queue("click", "bob", JobPriority.INTERACTIVE);
+
+            assertThat(jobQueue.getJobPosition("batch")).isEqualTo(0);
+            assertThat(jobQueue.getJobPosition("click")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("admission follows the fair order and cancelling a job closes the gap")
+        void admissionAndCancel() {
+            ReflectionTestUtils.setField(jobQueue, "cpuSlotsSetting", 1);
+            ReflectionTestUtils.setField(jobQueue, "heapBytesPerWeight", 1L);
+            queue("a1", "alice", JobPriority.INTERACTIVE);
+            queue("a2", "alice", JobPriority.INTERACTIVE);
+            queue("b1", "bob", JobPriority.INTERACTIVE);
+
+            invokeProcessQueue();
+
+            assertThat(jobQueue.isJobQueued("a1")).isFalse();
+            assertThat(jobQueue.getJobPosition("b1")).isEqualTo(0);
+            assertThat(jobQueue.getJobPosition("a2")).isEqualTo(1);
+
+            jobQueue.cancelJob("b1");
+            assertThat(jobQueue.getJobPosition("a2")).isEqualTo(0);
+        }
+
+        @Test
+        @DisplayName("stats report queued jobs and owners per lane")
+        @SuppressWarnings("unchecked")
+        void statsPerLane() {
+            queue("a1", "alice", JobPriority.BATCH);
+            queue("a2", "alice", JobPriority.BATCH);
+            queue("b1", "bob", JobPriority.BATCH);
+            queue("c1", null, JobPriority.INTERACTIVE);
+
+            Map<String, Object> lanes = (Map<String, Object>) jobQueue.getQueueStats().get("lanes");
+
+            assertThat(lanes.get("interactive")).isEqualTo(Map.of("queued", 1, "owners", 1));
+            assertThat(lanes.get("batch")).isEqualTo(Map.of("queued", 3, "owners", 2));
+            assertThat(lanes.get("policy")).isEqualTo(Map.of("queued", 0, "owners", 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("admission budget")
+    class AdmissionBudget {
+
+        private final CountDownLatch finish = new CountDownLatch(1);
+
+        @BeforeEach
+        void smallBudget() {
+            ReflectionTestUtils.setField(jobQueue, "cpuSlotsSetting", 2);
+            ReflectionTestUtils.setField(jobQueue, "heapBytesPerWeight", 1L);
+        }
+
+        private Supplier<Object> blocking(CountDownLatch started) {
+            return () -> {
+                started.countDown();
+                try {
+                    finish.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "done";
+            };
+        }
+
+        @Test
+        @DisplayName("admits jobs only while their CPU slots fit the budget")
+        void admitsUpToCpuSlots() throws Exception {
+            CountDownLatch started = new CountDownLatch(2);
+            jobQueue.queueJob("a", ResourceWeight.MEDIUM_WEIGHT, blocking(started), 5000);
+            jobQueue.queueJob("b", ResourceWeight.MEDIUM_WEIGHT, blocking(started), 5000);
+            jobQueue.queueJob("c", ResourceWeight.MEDIUM_WEIGHT, blocking(started), 5000);
+
+            invokeProcessQueue();
+
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(jobQueue.isJobQueued("a")).isFalse();
+            assertThat(jobQueue.isJobQueued("b")).isFalse();
+            assertThat(jobQueue.getJobPosition("c")).isEqualTo(0);
+            finish.countDown();
+        }
+
+        @Test
+        @DisplayName("a finishing job admits the next one without waiting for the periodic check")
+        void completionWakesScheduler() throws Exception {
+            ReflectionTestUtils.setField(jobQueue, "queueCheckIntervalMs", 600_000L);
+            jobQueue.start();
+            try {
+                CountDownLatch heavyStarted = new CountDownLatch(1);
+                CompletableFuture<ResponseEntity<?>> heavy =
+                        jobQueue.queueJob(
+                                "heavy", ResourceWeight.LARGE_WEIGHT, blocking(heavyStarted), 5000);
+                assertThat(heavyStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+                CountDownLatch nextStarted = new CountDownLatch(1);
+                jobQueue.queueJob(
+                        "next", ResourceWeight.LARGE_WEIGHT, blocking(nextStarted), 5000);
+                // Both slots are taken by the heavy job, so the next one waits
+                assertThat(jobQueue.isJobQueued("next")).isTrue();
+
+                finish.countDown();
+                awaitDone(heavy);
+                assertThat(nextStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            } finally {
+                jobQueue.stop();
+            }
+        }
+
+        @Test
+        @DisplayName("halves the budget while resources are under strain")
+        void warningHalvesBudget() throws Exception {
+            statusRef.set(ResourceStatus.WARNING);
+            CountDownLatch started = new CountDownLatch(1);
+            jobQueue.queueJob("w1", ResourceWeight.SMALL_WEIGHT, blocking(started), 5000);
+            jobQueue.queueJob("w2", ResourceWeight.SMALL_WEIGHT, blocking(started), 5000);
+
+            invokeProcessQueue();
+
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(jobQueue.isJobQueued("w1")).isFalse();
+            assertThat(jobQueue.isJobQueued("w2")).isTrue();
+            finish.countDown();
+        }
+
+        @Test
+        @DisplayName("a job larger than the whole budget still runs when nothing else is")
+        void oversizedJobRunsAlone() {
+            // A terabyte per weight unit: far more heap than any budget
+            ReflectionTestUtils.setField(jobQueue, "heapBytesPerWeight", 1L << 40);
+            CompletableFuture<ResponseEntity<?>> future =
+                    jobQueue.queueJob("huge", 100, () -> "done", 5000);
+
+            invokeProcessQueue();
+
+            awaitDone(future);
+            assertThat(future).isCompleted();
+        }
+
+        @Test
+        @DisplayName("reports queue depth and wait times per weight tier")
+        @SuppressWarnings("unchecked")
+        void statsPerTier() throws Exception {
+            CountDownLatch started = new CountDownLatch(1);
+            jobQueue.queueJob("x1", ResourceWeight.XLARGE_WEIGHT, blocking(started), 5000);
+            jobQueue.queueJob("s1", ResourceWeight.SMALL_WEIGHT, blocking(started), 5000);
+
+            invokeProcessQueue();
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Map<String, Object> stats = jobQueue.getQueueStats();
+            var tiers = (Map<String, Map<String, Object>>) stats.get("weightTiers");
+            assertThat(tiers.get("xlarge")).containsEntry("running", 1);
+            assertThat(tiers.get("small")).containsEntry("queued", 1);
+            var xlargeWaits = (Map<String, Object>) tiers.get("xlarge").get("waitTimeMs");
+            assertThat(xlargeWaits).containsEntry("count", 1L);
+            assertThat(stats).containsEntry("cpuSlots", 2).containsEntry("cpuSlotsInUse", 2);
+            finish.countDown();
+        }
+    }
+
     @Nested
     @DisplayName("getQueueStats")
     class QueueStats {
@@ -2,6 +2,9 @@ package stirling.software.common.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.lang.management.MemoryMXBean;
@@ -9,6 +12,7 @@ import java.lang.management.MemoryUsage;
 import java.lang.management.OperatingSystemMXBean;
 import java.time.Instant;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +24,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import stirling.software.common.service.ResourceMonitor.ResourceMetrics;
 import stirling.software.common.service.ResourceMonitor.ResourceStatus;
 
@@ -113,11 +119,42 @@ class ResourceMonitorMoreTest {
 
             ReflectionTestUtils.invokeMethod(resourceMonitor, "updateResourceMetrics");
 
-            // The mock OS bean has no getProcessCpuLoad/getSystemCpuLoad, so fallback yields 0.5.
+            // The mock OS bean is not the JDK's platform bean, so the fallback yields 0.5.
             assertThat(latestMetrics.get().getCpuUsage()).isEqualTo(0.5);
             assertThat(currentStatus.get()).isEqualTo(ResourceStatus.OK);
         }
 
+        @Test
+        @DisplayName("the JDK's sampled CPU load is used ahead of the load average")
+        void platformCpuLoadPreferred() {
+            com.sun.management.OperatingSystemMXBean platform =
+                    mock(com.sun.management.OperatingSystemMXBean.class);
+            when(platform.getCpuLoad()).thenReturn(0.8);
+            ReflectionTestUtils.setField(resourceMonitor, "osMXBean", platform);
+            stubMemory(1L, 1L);
+
+            ReflectionTestUtils.invokeMethod(resourceMonitor, "updateResourceMetrics");
+
+            assertThat(latestMetrics.get().getCpuUsage()).isEqualTo(0.8);
+            assertThat(currentStatus.get()).isEqualTo(ResourceStatus.WARNING);
+            verify(platform, never()).getSystemLoadAverage();
+        }
+
+        @Test
+        @DisplayName("without a system CPU load, this process's CPU load is used")
+        void processCpuLoadWhenSystemLoadUnavailable() {
+            com.sun.management.OperatingSystemMXBean platform =
+                    mock(com.sun.management.OperatingSystemMXBean.class);
+            when(platform.getCpuLoad()).thenReturn(-1.0);
+            when(platform.getProcessCpuLoad()).thenReturn(0.3);
+            ReflectionTestUtils.setField(resourceMonitor, "osMXBean", platform);
+            stubMemory(1L, 1L);
+
+            ReflectionTestUtils.invokeMethod(resourceMonitor, "updateResourceMetrics");
+
+            assertThat(latestMetrics.get().getCpuUsage()).isEqualTo(0.3);
+        }
+
         @Test
         @DisplayName("an exception while sampling is swallowed and status is unchanged")
         void samplingExceptionSwallowed() {
@@ -134,6 +171,104 @@ class ResourceMonitorMoreTest {
         }
     }
 
+    @Nested
+    @DisplayName("smoothed signals")
+    class Smoothing {
+
+        private final long step = TimeUnit.MILLISECONDS.toNanos(250);
+
+        @Test
+        @DisplayName("a single CPU spike is damped and does not change the status")
+        void spikeIsDamped() {
+            // 0.4 / 4 = 0.1 seeds the average, then one sample at 4.0 / 4 = 1.0.
+            when(osMXBean.getSystemLoadAverage()).thenReturn(0.4, 4.0);
+            when(osMXBean.getAvailableProcessors()).thenReturn(4);
+            stubMemory(1L, 1L);
+
+            resourceMonitor.sample(step);
+            resourceMonitor.sample(2 * step);
+
+            // 250ms against a 2s half-life moves the average about 8% of the way.
+            assertThat(latestMetrics.get().getCpuUsage()).isBetween(0.15, 0.2);
+            assertThat(currentStatus.get()).isEqualTo(ResourceStatus.OK);
+        }
+
+        @Test
+        @DisplayName("sustained load converges to the raw value and trips CRITICAL")
+        void sustainedLoadConverges() {
+            when(osMXBean.getSystemLoadAverage()).thenReturn(0.4, 4.0);
+            when(osMXBean.getAvailableProcessors()).thenReturn(4);
+            stubMemory(1L, 1L);
+
+            // 10 seconds of samples is five half-lives.
+            for (int i = 1; i <= 41; i++) {
+                resourceMonitor.sample(i * step);
+            }
+
+            assertThat(latestMetrics.get().getCpuUsage()).isGreaterThan(0.95);
+            assertThat(currentStatus.get()).isEqualTo(ResourceStatus.CRITICAL);
+        }
+
+        @Test
+        @DisplayName("GC pause time counts towards the status; concurrent cycles do not")
+        void gcPauseFraction() {
+            ReflectionTestUtils.setField(resourceMonitor, "smoothingHalfLifeMs", 0L);
+            when(osMXBean.getSystemLoadAverage()).thenReturn(0.1);
+            when(osMXBean.getAvailableProcessors()).thenReturn(4);
+            stubMemory(1L, 1L);
+
+            resourceMonitor.sample(step);
+            resourceMonitor.recordGc("ZGC Cycles", 200, 0);
+            resourceMonitor.sample(2 * step);
+            assertThat(latestMetrics.get().getGcPauseFraction()).isZero();
+
+            resourceMonitor.recordGc("G1 Young Generation", 100, 0);
+            resourceMonitor.sample(3 * step);
+            assertThat(latestMetrics.get().getGcPauseFraction()).isEqualTo(0.4);
+            assertThat(currentStatus.get()).isEqualTo(ResourceStatus.CRITICAL);
+        }
+
+        @Test
+        @DisplayName("allocation rate adds reclaimed bytes to heap growth")
+        void allocationRate() {
+            ReflectionTestUtils.setField(resourceMonitor, "smoothingHalfLifeMs", 0L);
+            when(osMXBean.getSystemLoadAverage()).thenReturn(0.1);
+            when(osMXBean.getAvailableProcessors()).thenReturn(4);
+            when(heapUsage.getUsed()).thenReturn(100L, 50L);
+            when(nonHeapUsage.getUsed()).thenReturn(1L);
+            when(memoryMXBean.getHeapMemoryUsage()).thenReturn(heapUsage);
+            when(memoryMXBean.getNonHeapMemoryUsage()).thenReturn(nonHeapUsage);
+
+            long second = TimeUnit.SECONDS.toNanos(1);
+            resourceMonitor.sample(second);
+            resourceMonitor.recordGc("G1 Young Generation", 0, 150);
+            resourceMonitor.sample(2 * second);
+
+            // 50 - 100 + 150 bytes over one second.
+            assertThat(latestMetrics.get().getAllocationBytesPerSecond()).isEqualTo(100.0);
+        }
+
+        @Test
+        @DisplayName("smoothed signals are published as gauges")
+        void gaugesPublished() {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            ReflectionTestUtils.setField(resourceMonitor, "meterRegistry", registry);
+            ReflectionTestUtils.invokeMethod(resourceMonitor, "registerGauges");
+
+            latestMetrics.set(new ResourceMetrics(0.3, 0.6, 1, 1, 1, 0.05, 2048, Instant.now()));
+            currentStatus.set(ResourceStatus.WARNING);
+
+            assertThat(registry.get("stirling.resource.cpu.usage").gauge().value()).isEqualTo(0.3);
+            assertThat(registry.get("stirling.resource.memory.usage").gauge().value())
+                    .isEqualTo(0.6);
+            assertThat(registry.get("stirling.resource.gc.pause.fraction").gauge().value())
+                    .isEqualTo(0.05);
+            assertThat(registry.get("stirling.resource.allocation.rate").gauge().value())
+                    .isEqualTo(2048);
+            assertThat(registry.get("stirling.resource.status").gauge().value()).isEqualTo(1);
+        }
+    }
+
     @Nested
     @DisplayName("getAlternativeCpuLoad")
     class AlternativeCpuLoad {
@@ -0,0 +1,169 @@
+package stirling.software.common.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import stirling.software.common.cluster.inprocess.InProcessKeyValueCache;
+import stirling.software.common.cluster.inprocess.LocalDiskFileStore;
+import stirling.software.common.model.api.PDFFile;
+
+class ResultCacheTest {
+
+    private static final String OPERATION = "compress";
+
+    @TempDir Path dir;
+
+    private LocalDiskFileStore fileStore;
+    private InProcessKeyValueCache keyValueCache;
+    private JobOwnershipService jobOwnershipService;
+    private ResultCache cache;
+
+    /** Stand-in for a tool's request model with one parameter. */
+    static class LevelRequest extends PDFFile {
+        private int level;
+
+        LevelRequest(byte[] pdf, int level) {
+            setFileInput(new MockMultipartFile("fileInput", "in.pdf", "application/pdf", pdf));
+            this.level = level;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        fileStore = new LocalDiskFileStore(dir.toString());
+        keyValueCache = new InProcessKeyValueCache();
+        jobOwnershipService = mock(JobOwnershipService.class);
+        when(jobOwnershipService.getCurrentUserId()).thenReturn(Optional.empty());
+        cache = new ResultCache(fileStore, keyValueCache, Optional.of(jobOwnershipService));
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxBytes", 1024L);
+        ReflectionTestUtils.setField(cache, "ttlHours", 1L);
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static ResponseEntity<byte[]> pdfResponse(byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("attachment", "out.pdf");
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    private String key(Object... args) throws IOException {
+        return cache.keyFor(OPERATION, args).orElseThrow();
+    }
+
+    @Test
+    void keyDependsOnBytesAndParameters() throws IOException {
+        String key = key(new LevelRequest(bytes("pdf-a"), 3));
+
+        assertEquals(key, key(new LevelRequest(bytes("pdf-a"), 3)));
+        assertNotEquals(key, key(new LevelRequest(bytes("pdf-a"), 4)));
+        assertNotEquals(key, key(new LevelRequest(bytes("pdf-b"), 3)));
+        Object[] sameArgs = {new LevelRequest(bytes("pdf-a"), 3)};
+        assertNotEquals(key, cache.keyFor("other", sameArgs).orElseThrow());
+    }
+
+    @Test
+    void asyncFileIdDoesNotChangeKey() throws IOException {
+        LevelRequest withId = new LevelRequest(bytes("pdf-a"), 3);
+        withId.setFileId("stored-copy");
+
+        assertEquals(key(new LevelRequest(bytes("pdf-a"), 3)), key(withId));
+    }
+
+    @Test
+    void identicalInputFromTwoUsersIsNotShared() throws IOException {
+        when(jobOwnershipService.getCurrentUserId()).thenReturn(Optional.of("alice"));
+        String aliceKey = key(new LevelRequest(bytes("pdf-a"), 3));
+        cache.store(aliceKey, pdfResponse(bytes("stamped for alice")));
+
+        when(jobOwnershipService.getCurrentUserId()).thenReturn(Optional.of("bob"));
+        String bobKey = key(new LevelRequest(bytes("pdf-a"), 3));
+
+        assertNotEquals(aliceKey, bobKey);
+        assertTrue(cache.lookup(bobKey).isEmpty());
+    }
+
+    @Test
+    void unknownArgumentTypesAreNotCached() throws IOException {
+        assertTrue(cache.keyFor(OPERATION, new Object[] {new MockHttpServletRequest()}).isEmpty());
+    }
+
+    @Test
+    void storedResultIsServedWithItsHeaders() throws IOException {
+        String key = key(new LevelRequest(bytes("pdf-a"), 3));
+        assertTrue(cache.lookup(key).isEmpty());
+
+        cache.store(key, pdfResponse(bytes("compressed")));
+
+        ResponseEntity<Resource> hit = cache.lookup(key).orElseThrow();
+        assertEquals(HttpStatus.OK, hit.getStatusCode());
+        assertEquals(MediaType.APPLICATION_PDF, hit.getHeaders().getContentType());
+        assertEquals("out.pdf", hit.getHeaders().getContentDisposition().getFilename());
+        try (InputStream in = hit.getBody().getInputStream()) {
+            assertArrayEquals(bytes("compressed"), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void leastRecentlyUsedIsEvictedOverBudget() throws IOException {
+        String first = key(new LevelRequest(bytes("a"), 1));
+        String second = key(new LevelRequest(bytes("b"), 1));
+        String third = key(new LevelRequest(bytes("c"), 1));
+
+        cache.store(first, pdfResponse(new byte[400]));
+        cache.store(second, pdfResponse(new byte[400]));
+        assertTrue(cache.lookup(first).isPresent());
+        cache.store(third, pdfResponse(new byte[400]));
+
+        assertTrue(cache.lookup(first).isPresent());
+        assertTrue(cache.lookup(second).isEmpty());
+        assertTrue(cache.lookup(third).isPresent());
+        assertEquals(800, cache.getBytesInUse());
+        assertFalse(keyValueCache.get(ResultCache.NAMESPACE, second).isPresent());
+    }
+
+    @Test
+    void onlySuccessfulByteOrFileResponsesAreStored() throws IOException {
+        String key = key(new LevelRequest(bytes("pdf-a"), 3));
+
+        cache.store(key, ResponseEntity.badRequest().body(bytes("nope")));
+        cache.store(
+                key,
+                ResponseEntity.ok(
+                        new InputStreamResource(new ByteArrayInputStream(bytes("stream")))));
+        cache.store(key, "not a response");
+        cache.store(key, pdfResponse(new byte[2048]));
+
+        assertTrue(cache.lookup(key).isEmpty());
+        assertEquals(0, cache.getBytesInUse());
+    }
+}
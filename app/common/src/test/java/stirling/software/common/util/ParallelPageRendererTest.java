@@ -0,0 +1,201 @@
+package stirling.software.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import stirling.software.common.model.ApplicationProperties;
+
+/** Pages come back in the requested order whichever thread rendered them. */
+class ParallelPageRendererTest {
+
+    private static final int DPI = 72;
+
+    /** Page {@code i} is {@code 100 + i} points wide, so each image identifies its page. */
+    private static byte[] pdfWithPages(int pages) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < pages; i++) {
+                document.addPage(new PDPage(new PDRectangle(100 + i, 50)));
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    @Test
+    void deliversEveryPageInOrder() throws Exception {
+        byte[] pdf = pdfWithPages(12);
+        List<Integer> delivered = new ArrayList<>();
+        Thread caller = Thread.currentThread();
+
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            new ParallelPageRenderer(document, () -> Loader.loadPDF(pdf))
+                    .renderAll(
+                            ParallelPageRenderer.RenderSettings.of(DPI, ImageType.GRAY),
+                            (pageIndex, image) -> {
+                                assertSame(caller, Thread.currentThread());
+                                assertEquals(100 + pageIndex, image.getWidth());
+                                delivered.add(pageIndex);
+                            });
+        }
+
+        assertEquals(IntStream.range(0, 12).boxed().toList(), delivered);
+    }
+
+    @Test
+    void deliversSelectedPagesInListOrder() throws Exception {
+        byte[] pdf = pdfWithPages(8);
+        List<Integer> delivered = new ArrayList<>();
+
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            new ParallelPageRenderer(document, () -> Loader.loadPDF(pdf))
+                    .render(
+                            List.of(6, 1, 4),
+                            ParallelPageRenderer.RenderSettings.of(DPI),
+                            (pageIndex, image) -> image.getWidth(),
+                            (pageIndex, width) -> {
+                                assertEquals(100 + pageIndex, width);
+                                delivered.add(pageIndex);
+                            });
+        }
+
+        assertEquals(List.of(6, 1, 4), delivered);
+    }
+
+    @Test
+    void rendersOnCallingThreadWithoutOpener() throws Exception {
+        Thread caller = Thread.currentThread();
+        List<Integer> delivered = new ArrayList<>();
+
+        try (PDDocument document = Loader.loadPDF(pdfWithPages(3))) {
+            new ParallelPageRenderer(document, null)
+                    .render(
+                            List.of(0, 1, 2),
+                            ParallelPageRenderer.RenderSettings.of(DPI),
+                            (pageIndex, image) -> Thread.currentThread(),
+                            (pageIndex, thread) -> {
+                                assertSame(caller, thread);
+                                delivered.add(pageIndex);
+                            });
+        }
+
+        assertEquals(List.of(0, 1, 2), delivered);
+    }
+
+    @Test
+    void configuredSingleThreadRendersOnCallingThread() throws Exception {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getSystem().getPageRendering().setThreads(1);
+        byte[] pdf = pdfWithPages(4);
+        Thread caller = Thread.currentThread();
+        List<Integer> delivered = new ArrayList<>();
+
+        PageRenderPool pool = new PageRenderPool(properties);
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            new ParallelPageRenderer(document, () -> Loader.loadPDF(pdf))
+                    .render(
+                            List.of(0, 1, 2, 3),
+                            ParallelPageRenderer.RenderSettings.of(DPI),
+                            (pageIndex, image) -> Thread.currentThread(),
+                            (pageIndex, thread) -> {
+                                assertSame(caller, thread);
+                                delivered.add(pageIndex);
+                            });
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(List.of(0, 1, 2, 3), delivered);
+    }
+
+    @Test
+    void fallsBackWhenCopiesCannotBeOpened() throws Exception {
+        List<Integer> delivered = new ArrayList<>();
+
+        try (PDDocument document = Loader.loadPDF(pdfWithPages(6))) {
+            new ParallelPageRenderer(
+                            document,
+                            () -> {
+                                throw new IOException("no copy");
+                            })
+                    .renderAll(
+                            ParallelPageRenderer.RenderSettings.of(DPI),
+                            (pageIndex, image) -> delivered.add(pageIndex));
+        }
+
+        assertEquals(IntStream.range(0, 6).boxed().toList(), delivered);
+    }
+
+    @Test
+    void fallsBackToPdfBoxWhenPdfiumCannotOpen() throws Exception {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getSystem().getPageRendering().setBackend("pdfium");
+        byte[] pdf = pdfWithPages(4);
+        List<Integer> delivered = new ArrayList<>();
+
+        try (PDDocument document = Loader.loadPDF(pdf);
+                MockedStatic<ApplicationContextProvider> ctx =
+                        Mockito.mockStatic(ApplicationContextProvider.class)) {
+            ctx.when(() -> ApplicationContextProvider.getBean(ApplicationProperties.class))
+                    .thenReturn(properties);
+            new ParallelPageRenderer(document, () -> Loader.loadPDF(pdf))
+                    .useBackendFor(
+                            RenderBackend.PDF_TO_IMAGE,
+                            () -> {
+                                throw new IOException("no PDFium");
+                            })
+                    .renderAll(
+                            ParallelPageRenderer.RenderSettings.of(DPI),
+                            (pageIndex, image) -> {
+                                assertEquals(100 + pageIndex, image.getWidth());
+                                delivered.add(pageIndex);
+                            });
+        }
+
+        assertEquals(IntStream.range(0, 4).boxed().toList(), delivered);
+    }
+
+    @Test
+    void firstFailureIsRethrownAfterEarlierPages() throws Exception {
+        byte[] pdf = pdfWithPages(10);
+        List<Integer> delivered = new ArrayList<>();
+
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            ParallelPageRenderer renderer =
+                    new ParallelPageRenderer(document, () -> Loader.loadPDF(pdf));
+            IOException failure =
+                    assertThrows(
+                            IOException.class,
+                            () ->
+                                    renderer.render(
+                                            renderer.allPages(),
+                                            ParallelPageRenderer.RenderSettings.of(DPI),
+                                            (pageIndex, image) -> {
+                                                if (pageIndex >= 4) {
+                                                    throw new IOException("page " + pageIndex);
+                                                }
+                                                return pageIndex;
+                                            },
+                                            (pageIndex, result) -> delivered.add(result)));
+            assertEquals("page 4", failure.getMessage());
+        }
+
+        assertEquals(List.of(0, 1, 2, 3), delivered);
+    }
+}
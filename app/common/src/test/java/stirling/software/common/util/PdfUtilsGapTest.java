@@ -8,9 +8,18 @@ import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 
+import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
@@ -23,6 +32,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
@@ -199,6 +209,59 @@ class PdfUtilsGapTest {
             assertEquals('K', out[1]);
         }
 
+        @Test
+        @DisplayName("file variant writes one zip entry per page straight to the output file")
+        void zipOfImagesToFile(@TempDir Path dir) throws Exception {
+            byte[] bytes = simplePdfBytes();
+            when(pdfDocumentFactory.load(bytes)).thenReturn(docWithPages(3));
+            Path output = dir.resolve("out.zip");
+
+            PdfUtils.convertFromPdf(
+                    pdfDocumentFactory,
+                    bytes,
+                    "png",
+                    ImageType.RGB,
+                    false,
+                    72,
+                    "myfile",
+                    true,
+                    output);
+
+            List<String> entries = new ArrayList<>();
+            try (ZipInputStream zis = new ZipInputStream(Files.newInputStream(output))) {
+                for (ZipEntry entry; (entry = zis.getNextEntry()) != null; ) {
+                    entries.add(entry.getName());
+                }
+            }
+            assertEquals(List.of("myfile_1.png", "myfile_2.png", "myfile_3.png"), entries);
+        }
+
+        @Test
+        @DisplayName("file variant writes a multi-frame TIFF, replacing any existing content")
+        void tiffSequenceToFile(@TempDir Path dir) throws Exception {
+            byte[] bytes = simplePdfBytes();
+            when(pdfDocumentFactory.load(bytes)).thenReturn(docWithPages(2));
+            Path output = Files.write(dir.resolve("out.tiff"), new byte[64 * 1024]);
+
+            PdfUtils.convertFromPdf(
+                    pdfDocumentFactory,
+                    bytes,
+                    "tiff",
+                    ImageType.GRAY,
+                    true,
+                    72,
+                    "doc",
+                    false,
+                    output);
+
+            try (ImageInputStream iis = ImageIO.createImageInputStream(output.toFile())) {
+                ImageReader reader = ImageIO.getImageReaders(iis).next();
+                reader.setInput(iis);
+                assertEquals(2, reader.getNumImages(true));
+                reader.dispose();
+            }
+        }
+
         @Test
         @DisplayName("DPI above the safe limit throws IllegalArgumentException")
         void dpiTooHighThrows() {
@@ -282,6 +345,28 @@ class PdfUtilsGapTest {
                 assertEquals(0, result.getNumberOfPages());
             }
         }
+
+        @Test
+        @DisplayName("rendering from copies keeps every page in order")
+        void parallelKeepsPageOrder() throws IOException {
+            byte[] bytes;
+            try (PDDocument source = new PDDocument()) {
+                for (int i = 1; i <= 6; i++) {
+                    source.addPage(new PDPage(new PDRectangle(6f * i, 9f)));
+                }
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                source.save(baos);
+                bytes = baos.toByteArray();
+            }
+            try (PDDocument source = Loader.loadPDF(bytes);
+                    PDDocument result =
+                            PdfUtils.convertPdfToPdfImage(source, () -> Loader.loadPDF(bytes))) {
+                assertEquals(6, result.getNumberOfPages());
+                for (int i = 0; i < 6; i++) {
+                    assertEquals(6f * (i + 1), result.getPage(i).getMediaBox().getWidth(), 0.5f);
+                }
+            }
+        }
     }
 
     // ---- imageToPdf ---------------------------------------------------------
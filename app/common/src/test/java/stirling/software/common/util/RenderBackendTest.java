@@ -0,0 +1,81 @@
+package stirling.software.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import org.apache.pdfbox.rendering.ImageType;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import stirling.software.common.model.ApplicationProperties;
+
+class RenderBackendTest {
+
+    private static ApplicationProperties properties(String backend, List<String> operations) {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getSystem().getPageRendering().setBackend(backend);
+        properties.getSystem().getPageRendering().setPdfiumOperations(operations);
+        return properties;
+    }
+
+    private static RenderBackend configured(ApplicationProperties properties, String operation) {
+        try (MockedStatic<ApplicationContextProvider> ctx =
+                Mockito.mockStatic(ApplicationContextProvider.class)) {
+            ctx.when(() -> ApplicationContextProvider.getBean(ApplicationProperties.class))
+                    .thenReturn(properties);
+            return RenderBackend.forOperation(operation);
+        }
+    }
+
+    @Test
+    void defaultsToPdfBox() {
+        assertEquals(
+                RenderBackend.PDFBOX,
+                configured(new ApplicationProperties(), RenderBackend.PDF_TO_IMAGE));
+    }
+
+    @Test
+    void pdfiumBackendAppliesToEveryOperation() {
+        ApplicationProperties properties = properties("PDFium", List.of());
+        assertEquals(RenderBackend.PDFIUM, configured(properties, RenderBackend.OCR));
+        assertEquals(RenderBackend.PDFIUM, configured(properties, RenderBackend.FLATTEN));
+    }
+
+    @Test
+    void pdfiumOperationsAreChosenIndividually() {
+        ApplicationProperties properties =
+                properties("pdfbox", List.of(RenderBackend.BLANK_PAGE, RenderBackend.OCR));
+        assertEquals(RenderBackend.PDFIUM, configured(properties, RenderBackend.BLANK_PAGE));
+        assertEquals(RenderBackend.PDFIUM, configured(properties, RenderBackend.OCR));
+        assertEquals(RenderBackend.PDFBOX, configured(properties, RenderBackend.PDF_TO_IMAGE));
+    }
+
+    @Test
+    void unknownNamesParseAsPdfBox() {
+        assertEquals(RenderBackend.PDFBOX, RenderBackend.parse("ghostscript"));
+        assertEquals(RenderBackend.PDFBOX, RenderBackend.parse(null));
+        assertEquals(RenderBackend.PDFIUM, RenderBackend.parse(" pdfium "));
+    }
+
+    @Test
+    void pdfiumBitmapsAreConvertedToTheRequestedType() {
+        BufferedImage argb = new BufferedImage(4, 2, BufferedImage.TYPE_INT_ARGB);
+
+        BufferedImage gray = PdfiumPageRasterizer.convert(argb, ImageType.GRAY);
+        assertEquals(BufferedImage.TYPE_BYTE_GRAY, gray.getType());
+        // Transparent pixels are drawn over white, as PDFBox renders them
+        assertEquals(Color.WHITE.getRGB(), gray.getRGB(0, 0));
+
+        BufferedImage rgb = PdfiumPageRasterizer.convert(argb, ImageType.RGB);
+        assertEquals(BufferedImage.TYPE_INT_RGB, rgb.getType());
+        assertEquals(4, rgb.getWidth());
+        assertEquals(2, rgb.getHeight());
+
+        assertSame(argb, PdfiumPageRasterizer.convert(argb, ImageType.ARGB));
+    }
+}
@@ -15,7 +15,11 @@ public class MetricsConfig {
         return new MeterFilter() {
             @Override
             public MeterFilterReply accept(Meter.Id id) {
-                if ("http.requests".equals(id.getName())) {
+                if ("http.requests".equals(id.getName())
+                        || id.getName().startsWith("stirling.resource.")
+                        || id.getName().startsWith("stirling.cluster.filestore.")
+                        || id.getName().startsWith("stirling.audit.writer.")
+                        || id.getName().startsWith("stirling.pdfjson.cache.")) {
                     return MeterFilterReply.NEUTRAL;
                 }
                 return MeterFilterReply.DENY;
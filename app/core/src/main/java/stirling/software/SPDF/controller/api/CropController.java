@@ -25,6 +25,7 @@ import lombok.extern.slf4j.Slf4j;
 import stirling.software.SPDF.config.EndpointConfiguration;
 import stirling.software.SPDF.model.api.general.CropPdfForm;
 import stirling.software.common.annotations.AutoJobPostMapping;
+import stirling.software.common.annotations.SupportsDocumentHandle;
 import stirling.software.common.annotations.api.GeneralApi;
 import stirling.software.common.enumeration.ResourceWeight;
 import stirling.software.common.model.tool.ToolFormat;
@@ -134,6 +135,7 @@ public class CropController {
             consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
             resourceWeight = ResourceWeight.SMALL_WEIGHT)
     @ToolIO(produces = ToolFormat.PDF)
+    @SupportsDocumentHandle
     @Operation(
             summary = "Crops a PDF document",
             description =
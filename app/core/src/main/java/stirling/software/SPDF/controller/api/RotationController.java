@@ -18,6 +18,7 @@ import lombok.RequiredArgsConstructor;
 import stirling.software.SPDF.config.swagger.StandardPdfResponse;
 import stirling.software.SPDF.model.api.general.RotatePDFRequest;
 import stirling.software.common.annotations.AutoJobPostMapping;
+import stirling.software.common.annotations.SupportsDocumentHandle;
 import stirling.software.common.annotations.api.GeneralApi;
 import stirling.software.common.enumeration.ResourceWeight;
 import stirling.software.common.model.tool.ToolFormat;
@@ -41,6 +42,7 @@ public class RotationController {
             resourceWeight = ResourceWeight.SMALL_WEIGHT)
     @StandardPdfResponse
     @ToolIO(produces = ToolFormat.PDF)
+    @SupportsDocumentHandle
     @Operation(
             summary = "Rotate a PDF file",
             description =
@@ -112,7 +112,8 @@ public class SplitPdfBySizeController {
         }
     }
 
-    private List<int[]> computeRanges(SplitPdfBySizeOrCountRequest request, PdfDocument sourceDoc)
+    // visible for benchmarks
+    List<int[]> computeRanges(SplitPdfBySizeOrCountRequest request, PdfDocument sourceDoc)
             throws IOException {
         int type = request.getSplitType();
         String value = request.getSplitValue();
@@ -1,7 +1,6 @@
 package stirling.software.SPDF.controller.api.converters;
 
 import java.io.ByteArrayOutputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URLConnection;
 import java.nio.file.Files;
@@ -81,7 +80,8 @@ public class ConvertImgPDFController {
     @AutoJobPostMapping(
             consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
             value = "/pdf/img",
-            resourceWeight = ResourceWeight.MEDIUM_WEIGHT)
+            resourceWeight = ResourceWeight.MEDIUM_WEIGHT,
+            cacheable = true)
     @MultiFileResponse
     @ToolIO(
             produces = ToolFormat.IMAGE,
@@ -106,10 +106,9 @@ public class ConvertImgPDFController {
         int dpi = request.getDpi();
         String pageNumbers = request.getPageNumbers();
         boolean includeAnnotations = Boolean.TRUE.equals(request.getIncludeAnnotations());
-        Path tempFile = null;
         Path tempOutputDir = null;
         Path tempPdfPath = null;
-        byte[] result = null;
+        TempFile result = null;
         String[] pageOrderArr =
                 (pageNumbers != null && !pageNumbers.trim().isEmpty())
                         ? pageNumbers.split(",")
@@ -125,36 +124,34 @@ public class ConvertImgPDFController {
             } else if ("blackwhite".equals(colorType)) {
                 colorTypeResult = ImageType.BINARY;
             }
-            // returns bytes for image
             boolean singleImage = "single".equals(singleOrMultiple);
             String filename = GeneralUtils.generateFilename(file.getOriginalFilename(), "");
+            String renderFormat =
+                    "webp".equalsIgnoreCase(imageFormat)
+                            ? "png"
+                            : imageFormat.toUpperCase(Locale.ROOT);
 
+            // Pages are written to the file as they are rendered rather than collected in memory
             result =
-                    PdfUtils.convertFromPdf(
-                            pdfDocumentFactory,
-                            newPdfBytes,
-                            "webp".equalsIgnoreCase(imageFormat)
-                                    ? "png"
-                                    : imageFormat.toUpperCase(Locale.ROOT),
-                            colorTypeResult,
-                            singleImage,
-                            dpi,
-                            filename,
-                            includeAnnotations);
-            if (result == null || result.length == 0) {
-                log.error("resultant bytes for {} is null, error converting ", filename);
+                    tempFileManager.createManagedTempFile(
+                            singleImage ? "." + renderFormat.toLowerCase(Locale.ROOT) : ".zip");
+            PdfUtils.convertFromPdf(
+                    pdfDocumentFactory,
+                    newPdfBytes,
+                    renderFormat,
+                    colorTypeResult,
+                    singleImage,
+                    dpi,
+                    filename,
+                    includeAnnotations,
+                    result.getPath());
+            if (Files.size(result.getPath()) == 0) {
+                log.error("resultant file for {} is empty, error converting ", filename);
             }
             if ("webp".equalsIgnoreCase(imageFormat) && !CheckProgramInstall.isPythonAvailable()) {
                 throw ExceptionUtils.createPythonRequiredForWebpException();
             } else if ("webp".equalsIgnoreCase(imageFormat)
                     && CheckProgramInstall.isPythonAvailable()) {
-                // Write the output stream to a temp file
-                tempFile = Files.createTempFile("temp_png", ".png");
-                try (FileOutputStream fos = new FileOutputStream(tempFile.toFile())) {
-                    fos.write(result);
-                    fos.flush();
-                }
-
                 String pythonVersion = CheckProgramInstall.getAvailablePythonCommand();
                 Path pngToWebpScript = GeneralUtils.extractScript("png_to_webp.py");
 
@@ -169,7 +166,7 @@ public class ConvertImgPDFController {
                 tempOutputDir = Files.createTempDirectory("webp_output");
                 if (singleImage) {
                     // Run the Python script to convert PNG to WebP
-                    command.add(tempFile.toString());
+                    command.add(result.getPath().toString());
                     command.add(tempOutputDir.toString());
                     command.add("--single");
                 } else {
@@ -202,8 +199,6 @@ public class ConvertImgPDFController {
                 if (webpFiles.size() == 1) {
                     Path webpFilePath = webpFiles.getFirst();
                     byte[] webpBytes = Files.readAllBytes(webpFilePath);
-                    Files.deleteIfExists(tempFile);
-                    tempFile = null;
                     FileUtils.deleteDirectory(tempOutputDir.toFile());
                     tempOutputDir = null;
                     String docName = filename + "." + imageFormat;
@@ -218,8 +213,6 @@ public class ConvertImgPDFController {
                             zos.closeEntry();
                         }
                     }
-                    Files.deleteIfExists(tempFile);
-                    tempFile = null;
                     FileUtils.deleteDirectory(tempOutputDir.toFile());
                     tempOutputDir = null;
                     String zipFilename = filename + "_convertedToImages.zip";
@@ -231,18 +224,21 @@ public class ConvertImgPDFController {
             if (singleImage) {
                 String docName = filename + "." + imageFormat;
                 MediaType mediaType = MediaType.parseMediaType(getMediaType(imageFormat));
-                return WebResponseUtils.bytesToWebResponse(result, docName, mediaType);
+                TempFile body = result;
+                result = null;
+                return WebResponseUtils.fileToWebResponse(body, docName, mediaType);
             } else {
                 String zipFilename = filename + "_convertedToImages.zip";
-                return WebResponseUtils.bytesToWebResponse(
-                        result, zipFilename, MediaType.APPLICATION_OCTET_STREAM);
+                TempFile body = result;
+                result = null;
+                return WebResponseUtils.zipFileToWebResponse(body, zipFilename);
             }
 
         } finally {
             try {
-                // Clean up temporary files
-                if (tempFile != null) {
-                    Files.deleteIfExists(tempFile);
+                // Clean up temporary files; a returned result is deleted once it has been sent
+                if (result != null) {
+                    result.close();
                 }
                 if (tempPdfPath != null) {
                     Files.deleteIfExists(tempPdfPath);
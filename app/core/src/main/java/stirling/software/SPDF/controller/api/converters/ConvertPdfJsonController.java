@@ -96,6 +96,42 @@ public class ConvertPdfJsonController {
         }
     }
 
+    @AutoJobPostMapping(
+            consumes = "multipart/form-data",
+            value = "/pdf/text-editor/bundle",
+            resourceWeight = ResourceWeight.MEDIUM_WEIGHT)
+    @Operation(
+            summary = "Convert PDF to Text Editor Bundle",
+            description =
+                    "Same as /pdf/text-editor, but returns a ZIP with the JSON structure in document.json and"
+                            + " each font program, image and stream stored once as a raw blobs/<sha256> entry,"
+                            + " referenced from the JSON as \"blob:<sha256>\". /text-editor/pdf accepts it as input.")
+    public ResponseEntity<Resource> convertPdfToJsonBundle(
+            @ModelAttribute PDFFile request,
+            @RequestParam(value = "lightweight", defaultValue = "false") boolean lightweight)
+            throws Exception {
+        MultipartFile inputFile = request.getFileInput();
+        if (inputFile == null) {
+            throw ExceptionUtils.createNullArgumentException("fileInput");
+        }
+
+        String originalName = inputFile.getOriginalFilename();
+        String baseName =
+                (originalName != null && !originalName.isBlank())
+                        ? FILE_EXTENSION_PATTERN
+                                .matcher(Filenames.toSimpleFileName(originalName))
+                                .replaceFirst("")
+                        : "document";
+        TempFile tempOut = tempFileManager.createManagedTempFile(".zip");
+        try (OutputStream os = Files.newOutputStream(tempOut.getPath())) {
+            pdfJsonConversionService.convertPdfToJsonBundle(inputFile, lightweight, os);
+        } catch (Exception e) {
+            tempOut.close();
+            throw e;
+        }
+        return WebResponseUtils.zipFileToWebResponse(tempOut, baseName + ".zip");
+    }
+
     @AutoJobPostMapping(
             consumes = "multipart/form-data",
             value = "/text-editor/pdf",
@@ -278,6 +314,91 @@ public class ConvertPdfJsonController {
         }
     }
 
+    @GetMapping(value = "/pdf/text-editor/page-blobs/{jobId}/{pageNumber}")
+    @Operation(
+            summary = "Extract single page with blob references for text editor",
+            description =
+                    "Same as /pdf/text-editor/page, but each image and stream payload is replaced by a"
+                            + " \"blob:<sha256>\" reference to fetch from /pdf/text-editor/blob, so a payload"
+                            + " shared by several pages is downloaded once. The jobId must belong to the"
+                            + " authenticated user.")
+    public ResponseEntity<Resource> extractSinglePageWithBlobs(
+            @PathVariable String jobId, @PathVariable int pageNumber) throws Exception {
+
+        validateJobAccess(jobId);
+
+        String docName = "page_" + pageNumber + ".json";
+        TempFile tempOut = tempFileManager.createManagedTempFile(".json");
+        try (OutputStream os = Files.newOutputStream(tempOut.getPath())) {
+            pdfJsonConversionService.extractSinglePageWithBlobReferences(jobId, pageNumber, os);
+        } catch (Exception e) {
+            tempOut.close();
+            throw e;
+        }
+        try {
+            return WebResponseUtils.fileToWebResponse(tempOut, docName, MediaType.APPLICATION_JSON);
+        } catch (Exception e) {
+            tempOut.close();
+            throw e;
+        }
+    }
+
+    @GetMapping(value = "/pdf/text-editor/fonts-blobs/{jobId}/{pageNumber}")
+    @Operation(
+            summary = "Extract fonts used by a single cached page, with blob references",
+            description =
+                    "Same as /pdf/text-editor/fonts, but font programs are replaced by \"blob:<sha256>\""
+                            + " references to fetch from /pdf/text-editor/blob. The jobId must belong to the"
+                            + " authenticated user.")
+    public ResponseEntity<Resource> extractPageFontsWithBlobs(
+            @PathVariable String jobId, @PathVariable int pageNumber) throws Exception {
+
+        validateJobAccess(jobId);
+
+        String docName = "page_fonts_" + pageNumber + ".json";
+        TempFile tempOut = tempFileManager.createManagedTempFile(".json");
+        try (OutputStream os = Files.newOutputStream(tempOut.getPath())) {
+            pdfJsonConversionService.extractPageFontsWithBlobReferences(jobId, pageNumber, os);
+        } catch (Exception e) {
+            tempOut.close();
+            throw e;
+        }
+        try {
+            return WebResponseUtils.fileToWebResponse(tempOut, docName, MediaType.APPLICATION_JSON);
+        } catch (Exception e) {
+            tempOut.close();
+            throw e;
+        }
+    }
+
+    @GetMapping(value = "/pdf/text-editor/blob/{jobId}/{hash}")
+    @Operation(
+            summary = "Fetch a blob referenced by a cached page for text editor",
+            description =
+                    "Returns the raw bytes of a \"blob:<sha256>\" reference from /pdf/text-editor/page-blobs"
+                            + " or /pdf/text-editor/fonts-blobs. The jobId must belong to the authenticated"
+                            + " user.")
+    public ResponseEntity<Resource> getBlob(@PathVariable String jobId, @PathVariable String hash)
+            throws Exception {
+
+        validateJobAccess(jobId);
+
+        TempFile tempOut = tempFileManager.createManagedTempFile(".bin");
+        try (OutputStream os = Files.newOutputStream(tempOut.getPath())) {
+            pdfJsonConversionService.writeBlob(jobId, hash, os);
+        } catch (Exception e) {
+            tempOut.close();
+            throw e;
+        }
+        try {
+            return WebResponseUtils.fileToWebResponse(
+                    tempOut, hash, MediaType.APPLICATION_OCTET_STREAM);
+        } catch (Exception e) {
+            tempOut.close();
+            throw e;
+        }
+    }
+
     @AutoJobPostMapping(
             value = "/pdf/text-editor/clear-cache/{jobId}",
             consumes = MediaType.ALL_VALUE,
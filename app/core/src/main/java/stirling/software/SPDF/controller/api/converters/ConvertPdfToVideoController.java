@@ -19,7 +19,6 @@ import javax.imageio.ImageIO;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.rendering.ImageType;
-import org.apache.pdfbox.rendering.PDFRenderer;
 import org.springframework.http.MediaType;
 
 import lombok.RequiredArgsConstructor;
@@ -29,6 +28,7 @@ import stirling.software.common.model.ApplicationProperties;
 import stirling.software.common.service.CustomPDFDocumentFactory;
 import stirling.software.common.util.ApplicationContextProvider;
 import stirling.software.common.util.ExceptionUtils;
+import stirling.software.common.util.ParallelPageRenderer;
 import stirling.software.common.util.TempFile;
 import stirling.software.common.util.TempFileManager;
 
@@ -161,35 +161,31 @@ public class ConvertPdfToVideoController {
             boolean isWatermarkEnabled)
             throws IOException {
         try (PDDocument document = pdfDocumentFactory.load(inputPdf.toFile())) {
-            PDFRenderer renderer = new PDFRenderer(document);
-            renderer.setSubsamplingAllowed(true);
             int pageCount = document.getNumberOfPages();
             if (pageCount == 0) {
                 throw ExceptionUtils.createIllegalArgumentException(
                         "error.invalidFormat", "Invalid {0} format: {1}", "PDF", "no pages");
             }
-            for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
-                final int currentPageIndex = pageIndex;
-
-                // Validate dimensions BEFORE attempting to render to prevent OOM
-                ExceptionUtils.validateRenderingDimensions(
-                        document.getPage(currentPageIndex), currentPageIndex + 1, dpi);
-
-                BufferedImage image =
-                        ExceptionUtils.handleOomRendering(
-                                currentPageIndex + 1,
-                                dpi,
-                                () ->
-                                        renderer.renderImageWithDPI(
-                                                currentPageIndex, dpi, ImageType.RGB));
-                if (isWatermarkEnabled) {
-                    applyWatermark(image, opacity, watermarkText);
-                }
-                Path framePath =
-                        outputDir.resolve(
-                                String.format(Locale.ROOT, "frame_%05d.png", pageIndex + 1));
-                ImageIO.write(image, "png", framePath.toFile());
-            }
+            ParallelPageRenderer pageRenderer =
+                    new ParallelPageRenderer(
+                            document, () -> pdfDocumentFactory.load(inputPdf.toFile(), true));
+            // Frames are independent files, so each is watermarked and written by the thread
+            // that rendered it
+            pageRenderer.render(
+                    pageRenderer.allPages(),
+                    ParallelPageRenderer.RenderSettings.of(dpi, ImageType.RGB),
+                    (pageIndex, image) -> {
+                        if (isWatermarkEnabled) {
+                            applyWatermark(image, opacity, watermarkText);
+                        }
+                        Path framePath =
+                                outputDir.resolve(
+                                        String.format(
+                                                Locale.ROOT, "frame_%05d.png", pageIndex + 1));
+                        ImageIO.write(image, "png", framePath.toFile());
+                        return framePath;
+                    },
+                    (pageIndex, framePath) -> {});
         }
     }
 
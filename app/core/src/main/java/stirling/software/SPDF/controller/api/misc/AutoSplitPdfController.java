@@ -18,7 +18,6 @@ import org.apache.pdfbox.pdfwriter.compress.CompressParameters;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
-import org.apache.pdfbox.rendering.PDFRenderer;
 import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -45,8 +44,8 @@ import stirling.software.common.model.tool.ToolArity;
 import stirling.software.common.model.tool.ToolFormat;
 import stirling.software.common.model.tool.ToolIO;
 import stirling.software.common.service.CustomPDFDocumentFactory;
-import stirling.software.common.util.ExceptionUtils;
 import stirling.software.common.util.GeneralUtils;
+import stirling.software.common.util.ParallelPageRenderer;
 import stirling.software.common.util.TempFile;
 import stirling.software.common.util.TempFileManager;
 import stirling.software.common.util.WebResponseUtils;
@@ -232,37 +231,37 @@ public class AutoSplitPdfController {
     }
 
     /**
-     * Render the full page to an image and scan it for a QR code. Tries a low DPI first (fast, low
-     * memory) and only retries at the system's maxDPI if detection fails. The first rendered image
-     * is released before the retry to allow GC to reclaim it.
+     * Render {@code pages} to images and scan them for a QR code, storing each hit in {@code
+     * qrResults}. Tries a low DPI first (fast, low memory) and only re-renders the pages that
+     * failed at the system's maxDPI. Pages are rendered and decoded on several threads.
      */
-    private String checkPageByRendering(PDFRenderer pdfRenderer, int pageNum) throws IOException {
-        log.debug("Rendering page {} at {} DPI for QR detection", pageNum + 1, QR_DETECTION_DPI);
-
-        BufferedImage bim =
-                ExceptionUtils.handleOomRendering(
-                        pageNum + 1,
-                        QR_DETECTION_DPI,
-                        () -> pdfRenderer.renderImageWithDPI(pageNum, QR_DETECTION_DPI));
-        String result = decodeQRCode(bim);
-        bim = null; // allow GC before potential high-DPI retry
-
-        if (result == null) {
-            int maxDpi = getSystemMaxDpi();
-            if (maxDpi > QR_DETECTION_DPI) {
+    private void checkPagesByRendering(
+            ParallelPageRenderer pageRenderer, List<Integer> pages, String[] qrResults)
+            throws IOException {
+        log.debug("Rendering {} pages at {} DPI for QR detection", pages.size(), QR_DETECTION_DPI);
+        renderAndDecode(pageRenderer, pages, QR_DETECTION_DPI, qrResults);
+
+        int maxDpi = getSystemMaxDpi();
+        if (maxDpi > QR_DETECTION_DPI) {
+            List<Integer> retry = pages.stream().filter(page -> qrResults[page] == null).toList();
+            if (!retry.isEmpty()) {
                 log.debug(
-                        "Retrying page {} at {} DPI (low-DPI detection failed)",
-                        pageNum + 1,
+                        "Retrying {} pages at {} DPI (low-DPI detection failed)",
+                        retry.size(),
                         maxDpi);
-                BufferedImage highRes =
-                        ExceptionUtils.handleOomRendering(
-                                pageNum + 1,
-                                maxDpi,
-                                () -> pdfRenderer.renderImageWithDPI(pageNum, maxDpi));
-                result = decodeQRCode(highRes);
+                renderAndDecode(pageRenderer, retry, maxDpi, qrResults);
             }
         }
-        return result;
+    }
+
+    private static void renderAndDecode(
+            ParallelPageRenderer pageRenderer, List<Integer> pages, int dpi, String[] qrResults)
+            throws IOException {
+        pageRenderer.render(
+                pages,
+                ParallelPageRenderer.RenderSettings.of(dpi),
+                (pageNum, image) -> decodeQRCode(image),
+                (pageNum, result) -> qrResults[pageNum] = result);
     }
 
     private int getSystemMaxDpi() {
@@ -301,26 +300,31 @@ public class AutoSplitPdfController {
             int totalPages = document.getNumberOfPages();
             log.info("PDF loaded, totalPages={}", totalPages);
 
-            PDFRenderer pdfRenderer = new PDFRenderer(document);
-            pdfRenderer.setSubsamplingAllowed(true);
-
+            // Try extracting images directly from the PDF first (faster, avoids rendering); the
+            // pages that still need rendering are then rendered together
+            String[] qrResults = new String[totalPages];
+            List<Integer> pagesToRender = new ArrayList<>();
             for (int page = 0; page < totalPages; ++page) {
                 PDPage pdPage = document.getPage(page);
                 int imageCount = countPageImages(pdPage);
 
-                String qrResult;
                 if (imageCount > 0 && imageCount <= MAX_IMAGES_FOR_DIRECT_EXTRACTION) {
-                    // Try extracting images directly from the PDF (faster, avoids rendering)
-                    qrResult = checkPageImagesDirect(pdPage);
-                    if (qrResult == null) {
-                        // Fall back to rendering — the image may use masking/compositing
-                        // that getImage() doesn't resolve, or the QR may be vector-drawn
-                        qrResult = checkPageByRendering(pdfRenderer, page);
-                    }
-                } else {
-                    // Too many images or no images — render the full page
-                    qrResult = checkPageByRendering(pdfRenderer, page);
+                    qrResults[page] = checkPageImagesDirect(pdPage);
+                }
+                if (qrResults[page] == null) {
+                    // Fall back to rendering — the image may use masking/compositing that
+                    // getImage() doesn't resolve, the QR may be vector-drawn, or there are too
+                    // many images (or none) to check directly
+                    pagesToRender.add(page);
                 }
+            }
+            ParallelPageRenderer pageRenderer =
+                    new ParallelPageRenderer(
+                            document, ParallelPageRenderer.opener(pdfDocumentFactory, file));
+            checkPagesByRendering(pageRenderer, pagesToRender, qrResults);
+
+            for (int page = 0; page < totalPages; ++page) {
+                String qrResult = qrResults[page];
 
                 boolean isValidQrCode = qrResult != null && VALID_QR_CONTENTS.contains(qrResult);
                 if (isValidQrCode) {
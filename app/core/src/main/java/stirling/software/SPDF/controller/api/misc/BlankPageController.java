@@ -13,7 +13,6 @@ import java.util.zip.ZipOutputStream;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageTree;
-import org.apache.pdfbox.rendering.PDFRenderer;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
@@ -40,7 +39,9 @@ import stirling.software.common.service.CustomPDFDocumentFactory;
 import stirling.software.common.util.ApplicationContextProvider;
 import stirling.software.common.util.ExceptionUtils;
 import stirling.software.common.util.GeneralUtils;
+import stirling.software.common.util.ParallelPageRenderer;
 import stirling.software.common.util.PdfUtils;
+import stirling.software.common.util.RenderBackend;
 import stirling.software.common.util.TempFile;
 import stirling.software.common.util.TempFileManager;
 import stirling.software.common.util.WebResponseUtils;
@@ -106,12 +107,11 @@ public class BlankPageController {
             PDPageTree pages = document.getDocumentCatalog().getPages();
             PDFTextStripper textStripper = new PDFTextStripper();
 
-            List<PDPage> nonBlankPages = new ArrayList<>();
-            List<PDPage> blankPages = new ArrayList<>();
+            // Pages without text but with images are rendered to decide; the rest are settled
+            // by the text and image checks alone
+            boolean[] blank = new boolean[document.getNumberOfPages()];
+            List<Integer> pagesToRender = new ArrayList<>();
             int pageIndex = 0;
-
-            PDFRenderer pdfRenderer = new PDFRenderer(document);
-            pdfRenderer.setSubsamplingAllowed(true);
             for (PDPage page : pages) {
                 log.info("checking page {}", pageIndex);
                 textStripper.setStartPage(pageIndex + 1);
@@ -119,39 +119,47 @@ public class BlankPageController {
                 String pageText = textStripper.getText(document);
                 boolean hasText = !pageText.trim().isEmpty();
 
-                boolean blank = true;
+                blank[pageIndex] = true;
                 if (hasText) {
                     log.info("page {} has text, not blank", pageIndex);
-                    blank = false;
+                    blank[pageIndex] = false;
                 } else {
                     boolean hasImages = PdfUtils.hasImagesOnPage(page);
                     if (hasImages) {
                         log.info("page {} has image, running blank detection", pageIndex);
-                        // Render image and save as temp file
-                        BufferedImage image;
-
-                        // Use global maximum DPI setting
-                        int renderDpi = 30; // Default fallback
-                        ApplicationProperties properties =
-                                ApplicationContextProvider.getBean(ApplicationProperties.class);
-                        if (properties != null && properties.getSystem() != null) {
-                            renderDpi = properties.getSystem().getMaxDPI();
-                        }
-                        final int dpi = renderDpi;
-                        final int currentPageIndex = pageIndex;
-
-                        image =
-                                ExceptionUtils.handleOomRendering(
-                                        currentPageIndex + 1,
-                                        dpi,
-                                        () ->
-                                                pdfRenderer.renderImageWithDPI(
-                                                        currentPageIndex, dpi));
-                        blank = isBlankImage(image, threshold, whitePercent, threshold);
+                        pagesToRender.add(pageIndex);
                     }
                 }
+                pageIndex++;
+            }
 
-                if (blank) {
+            // Use global maximum DPI setting
+            int renderDpi = 30; // Default fallback
+            ApplicationProperties properties =
+                    ApplicationContextProvider.getBean(ApplicationProperties.class);
+            if (properties != null && properties.getSystem() != null) {
+                renderDpi = properties.getSystem().getMaxDPI();
+            }
+
+            // Candidate pages are rendered and checked on several threads
+            ParallelPageRenderer pageRenderer =
+                    new ParallelPageRenderer(
+                                    document,
+                                    ParallelPageRenderer.opener(pdfDocumentFactory, inputFile))
+                            .useBackendFor(
+                                    RenderBackend.BLANK_PAGE,
+                                    ParallelPageRenderer.pdfiumOpener(inputFile));
+            pageRenderer.render(
+                    pagesToRender,
+                    ParallelPageRenderer.RenderSettings.of(renderDpi),
+                    (index, image) -> isBlankImage(image, threshold, whitePercent, threshold),
+                    (index, isBlank) -> blank[index] = isBlank);
+
+            List<PDPage> nonBlankPages = new ArrayList<>();
+            List<PDPage> blankPages = new ArrayList<>();
+            pageIndex = 0;
+            for (PDPage page : pages) {
+                if (blank[pageIndex]) {
                     log.info("Skipping, Image was  blank for page #{}", pageIndex);
                     blankPages.add(page);
                 } else {
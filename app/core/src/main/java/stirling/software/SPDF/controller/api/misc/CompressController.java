@@ -928,7 +928,8 @@ public class CompressController {
     @AutoJobPostMapping(
             consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
             value = "/compress-pdf",
-            resourceWeight = ResourceWeight.LARGE_WEIGHT)
+            resourceWeight = ResourceWeight.LARGE_WEIGHT,
+            cacheable = true)
     @ToolIO(produces = ToolFormat.PDF)
     @Operation(
             summary = "Optimize PDF file",
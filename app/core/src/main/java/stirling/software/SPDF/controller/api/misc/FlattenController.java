@@ -1,6 +1,5 @@
 package stirling.software.SPDF.controller.api.misc;
 
-import java.awt.image.BufferedImage;
 import java.io.IOException;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
@@ -10,7 +9,6 @@ import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
 import org.apache.pdfbox.rendering.ImageType;
-import org.apache.pdfbox.rendering.PDFRenderer;
 import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -26,6 +24,7 @@ import lombok.extern.slf4j.Slf4j;
 import stirling.software.SPDF.config.swagger.StandardPdfResponse;
 import stirling.software.SPDF.model.api.misc.FlattenRequest;
 import stirling.software.common.annotations.AutoJobPostMapping;
+import stirling.software.common.annotations.SupportsDocumentHandle;
 import stirling.software.common.annotations.api.MiscApi;
 import stirling.software.common.enumeration.ResourceWeight;
 import stirling.software.common.model.ApplicationProperties;
@@ -34,6 +33,8 @@ import stirling.software.common.model.tool.ToolIO;
 import stirling.software.common.service.CustomPDFDocumentFactory;
 import stirling.software.common.util.ApplicationContextProvider;
 import stirling.software.common.util.ExceptionUtils;
+import stirling.software.common.util.ParallelPageRenderer;
+import stirling.software.common.util.RenderBackend;
 import stirling.software.common.util.TempFileManager;
 import stirling.software.common.util.WebResponseUtils;
 
@@ -51,6 +52,7 @@ public class FlattenController {
             resourceWeight = ResourceWeight.SMALL_WEIGHT)
     @StandardPdfResponse
     @ToolIO(produces = ToolFormat.PDF)
+    @SupportsDocumentHandle
     @Operation(
             summary = "Flatten PDF form fields or full page",
             description =
@@ -75,10 +77,6 @@ public class FlattenController {
             } else {
                 // flatten whole page aka convert each page to image and re-add it (making text
                 // unselectable)
-                PDFRenderer pdfRenderer = new PDFRenderer(document);
-                pdfRenderer.setSubsamplingAllowed(
-                        true); // Enable subsampling to reduce memory usage
-
                 try (PDDocument newDocument =
                         pdfDocumentFactory.createNewDocumentBasedOnOldDocument(document)) {
 
@@ -103,58 +101,46 @@ public class FlattenController {
                     }
                     final int renderDpi = renderDpiTemp;
 
-                    int numPages = document.getNumberOfPages();
-                    for (int i = 0; i < numPages; i++) {
-                        final int pageIndex = i;
-                        BufferedImage image = null;
-                        try {
-                            // Validate dimensions BEFORE rendering to prevent OOM
-                            ExceptionUtils.validateRenderingDimensions(
-                                    document.getPage(pageIndex), pageIndex + 1, renderDpi);
-
-                            // Wrap entire rendering operation to catch OutOfMemoryError from any
-                            // depth
-                            image =
-                                    ExceptionUtils.handleOomRendering(
-                                            pageIndex + 1,
-                                            renderDpi,
-                                            () ->
-                                                    pdfRenderer.renderImageWithDPI(
-                                                            pageIndex, renderDpi, ImageType.RGB));
-
-                            PDPage page = new PDPage();
-                            page.setMediaBox(document.getPage(i).getMediaBox());
-                            newDocument.addPage(page);
-                            // resetContext=true: Ensure clean graphics state when overwriting.
-                            try (PDPageContentStream contentStream =
-                                    new PDPageContentStream(
-                                            newDocument,
-                                            page,
-                                            PDPageContentStream.AppendMode.OVERWRITE,
-                                            true,
-                                            true)) {
-                                PDImageXObject pdImage =
-                                        JPEGFactory.createFromImage(newDocument, image);
-                                float pageWidth = page.getMediaBox().getWidth();
-                                float pageHeight = page.getMediaBox().getHeight();
-
-                                contentStream.drawImage(pdImage, 0, 0, pageWidth, pageHeight);
-                            }
-                        } catch (ExceptionUtils.OutOfMemoryDpiException e) {
-                            // Re-throw OutOfMemoryDpiException to be handled by
-                            // GlobalExceptionHandler
-                            throw e;
-                        } catch (IOException e) {
-                            log.error("IOException during page processing: ", e);
-                            // Continue processing other pages
-                        } catch (OutOfMemoryError e) {
-                            // Catch any OutOfMemoryError that escaped the inner try block
-                            throw ExceptionUtils.createOutOfMemoryDpiException(i + 1, renderDpi, e);
-                        } finally {
-                            // Help GC by clearing the image reference
-                            image = null;
-                        }
-                    }
+                    // Pages are rendered on several threads and added here in page order
+                    ParallelPageRenderer pageRenderer =
+                            new ParallelPageRenderer(
+                                            document,
+                                            ParallelPageRenderer.opener(pdfDocumentFactory, file))
+                                    .useBackendFor(
+                                            RenderBackend.FLATTEN,
+                                            ParallelPageRenderer.pdfiumOpener(file));
+                    pageRenderer.renderAll(
+                            ParallelPageRenderer.RenderSettings.of(renderDpi, ImageType.RGB),
+                            (pageIndex, image) -> {
+                                try {
+                                    PDPage page = new PDPage();
+                                    page.setMediaBox(document.getPage(pageIndex).getMediaBox());
+                                    newDocument.addPage(page);
+                                    // resetContext=true: Ensure clean graphics state when
+                                    // overwriting.
+                                    try (PDPageContentStream contentStream =
+                                            new PDPageContentStream(
+                                                    newDocument,
+                                                    page,
+                                                    PDPageContentStream.AppendMode.OVERWRITE,
+                                                    true,
+                                                    true)) {
+                                        PDImageXObject pdImage =
+                                                JPEGFactory.createFromImage(newDocument, image);
+                                        float pageWidth = page.getMediaBox().getWidth();
+                                        float pageHeight = page.getMediaBox().getHeight();
+
+                                        contentStream.drawImage(
+                                                pdImage, 0, 0, pageWidth, pageHeight);
+                                    }
+                                } catch (IOException e) {
+                                    log.error("IOException during page processing: ", e);
+                                    // Continue processing other pages
+                                } catch (OutOfMemoryError e) {
+                                    throw ExceptionUtils.createOutOfMemoryDpiException(
+                                            pageIndex + 1, renderDpi, e);
+                                }
+                            });
                     return WebResponseUtils.pdfDocToWebResponse(
                             newDocument,
                             Filenames.toSimpleFileName(file.getOriginalFilename()),
@@ -24,6 +24,7 @@ import lombok.extern.slf4j.Slf4j;
 import stirling.software.SPDF.config.swagger.StandardPdfResponse;
 import stirling.software.SPDF.model.api.misc.MetadataRequest;
 import stirling.software.common.annotations.AutoJobPostMapping;
+import stirling.software.common.annotations.SupportsDocumentHandle;
 import stirling.software.common.annotations.api.MiscApi;
 import stirling.software.common.enumeration.ResourceWeight;
 import stirling.software.common.model.tool.ToolFormat;
@@ -65,6 +66,7 @@ public class MetadataController {
             resourceWeight = ResourceWeight.SMALL_WEIGHT)
     @StandardPdfResponse
     @ToolIO(produces = ToolFormat.PDF)
+    @SupportsDocumentHandle
     @Operation(
             summary = "Update metadata of a PDF file",
             description =
@@ -1,6 +1,5 @@
 package stirling.software.SPDF.controller.api.misc;
 
-import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -20,7 +19,6 @@ import org.apache.pdfbox.multipdf.PDFMergerUtility;
 import org.apache.pdfbox.pdfwriter.compress.CompressParameters;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.rendering.PDFRenderer;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
@@ -49,12 +47,15 @@ import stirling.software.common.model.tool.ToolIOWhen;
 import stirling.software.common.service.CustomPDFDocumentFactory;
 import stirling.software.common.util.ExceptionUtils;
 import stirling.software.common.util.GeneralUtils;
+import stirling.software.common.util.ParallelPageRenderer;
 import stirling.software.common.util.ProcessExecutor;
 import stirling.software.common.util.ProcessExecutor.ProcessExecutorResult;
+import stirling.software.common.util.RenderBackend;
 import stirling.software.common.util.TempDirectory;
 import stirling.software.common.util.TempFile;
 import stirling.software.common.util.TempFileManager;
 import stirling.software.common.util.WebResponseUtils;
+import stirling.software.jpdfium.PdfDocument;
 
 @MiscApi
 @Slf4j
@@ -353,11 +354,10 @@ public class OCRController {
             merger.setDestinationFileName(finalOutputFile.toString());
 
             try (PDDocument document = pdfDocumentFactory.load(tempInputFile.toFile())) {
-                PDFRenderer pdfRenderer = new PDFRenderer(document);
-                pdfRenderer.setSubsamplingAllowed(
-                        true); // Enable subsampling to reduce memory usage
                 int pageCount = document.getNumberOfPages();
 
+                boolean[] shouldOcr = new boolean[pageCount];
+                List<Integer> pagesToOcr = new ArrayList<>();
                 for (int pageNum = 0; pageNum < pageCount; pageNum++) {
                     PDPage page = document.getPage(pageNum);
                     boolean hasText;
@@ -369,41 +369,57 @@ public class OCRController {
                         hasText = !stripper.getText(tempDoc).trim().isEmpty();
                     }
 
-                    boolean shouldOcr =
+                    shouldOcr[pageNum] =
                             switch (ocrType) {
                                 case "skip-text" -> !hasText;
                                 case "force-ocr" -> true;
                                 default -> true;
                             };
+                    if (shouldOcr[pageNum]) {
+                        pagesToOcr.add(pageNum);
+                    }
+                }
+
+                // Use global maximum DPI setting, fallback to 300 if not set
+                int renderDpi = 300; // Default fallback
+                if (applicationProperties != null && applicationProperties.getSystem() != null) {
+                    renderDpi = applicationProperties.getSystem().getMaxDPI();
+                }
+
+                // Convert the pages to OCR to images up front, on several threads
+                ParallelPageRenderer pageRenderer =
+                        new ParallelPageRenderer(
+                                        document,
+                                        () -> pdfDocumentFactory.load(tempInputFile, true))
+                                .useBackendFor(
+                                        RenderBackend.OCR,
+                                        () -> PdfDocument.open(tempInputFile.getPath()));
+                pageRenderer.render(
+                        pagesToOcr,
+                        ParallelPageRenderer.RenderSettings.of(renderDpi),
+                        (pageNum, image) -> {
+                            File imagePath =
+                                    new File(
+                                            tempImagesDir,
+                                            String.format(Locale.ROOT, "page_%d.png", pageNum));
+                            ImageIO.write(image, "png", imagePath);
+                            return imagePath;
+                        },
+                        (pageNum, imagePath) -> {});
+
+                for (int pageNum = 0; pageNum < pageCount; pageNum++) {
+                    PDPage page = document.getPage(pageNum);
 
                     File pageOutputPath =
                             new File(
                                     tempOutputDir,
                                     String.format(Locale.ROOT, "page_%d.pdf", pageNum));
 
-                    if (shouldOcr) {
-                        // Convert page to image
-                        BufferedImage image;
-
-                        // Use global maximum DPI setting, fallback to 300 if not set
-                        int renderDpi = 300; // Default fallback
-                        if (applicationProperties != null
-                                && applicationProperties.getSystem() != null) {
-                            renderDpi = applicationProperties.getSystem().getMaxDPI();
-                        }
-                        final int dpi = renderDpi;
-                        final int currentPageNum = pageNum;
-
-                        image =
-                                ExceptionUtils.handleOomRendering(
-                                        currentPageNum + 1,
-                                        dpi,
-                                        () -> pdfRenderer.renderImageWithDPI(currentPageNum, dpi));
+                    if (shouldOcr[pageNum]) {
                         File imagePath =
                                 new File(
                                         tempImagesDir,
                                         String.format(Locale.ROOT, "page_%d.png", pageNum));
-                        ImageIO.write(image, "png", imagePath);
 
                         // Build OCR command
                         List<String> command = new ArrayList<>();
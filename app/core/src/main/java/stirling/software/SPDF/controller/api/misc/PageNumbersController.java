@@ -25,13 +25,13 @@ import lombok.RequiredArgsConstructor;
 import stirling.software.SPDF.config.swagger.StandardPdfResponse;
 import stirling.software.SPDF.model.api.misc.AddPageNumbersRequest;
 import stirling.software.common.annotations.AutoJobPostMapping;
+import stirling.software.common.annotations.SupportsDocumentHandle;
 import stirling.software.common.annotations.api.MiscApi;
 import stirling.software.common.enumeration.ResourceWeight;
 import stirling.software.common.model.tool.ToolFormat;
 import stirling.software.common.model.tool.ToolIO;
 import stirling.software.common.service.CustomPDFDocumentFactory;
 import stirling.software.common.util.GeneralUtils;
-import stirling.software.common.util.TempFile;
 import stirling.software.common.util.TempFileManager;
 import stirling.software.common.util.WebResponseUtils;
 
@@ -48,6 +48,7 @@ public class PageNumbersController {
             resourceWeight = ResourceWeight.SMALL_WEIGHT)
     @StandardPdfResponse
     @ToolIO(produces = ToolFormat.PDF)
+    @SupportsDocumentHandle
     @Operation(
             summary = "Add page numbers to a PDF document",
             description = "This operation takes an input PDF file and adds page numbers to it.")
@@ -183,18 +184,11 @@ public class PageNumbersController {
                 pageNumber++;
             }
 
-            TempFile tempOut = tempFileManager.createManagedTempFile(".pdf");
-            try {
-                document.save(tempOut.getFile());
-            } catch (IOException e) {
-                tempOut.close();
-                throw e;
-            }
-
-            return WebResponseUtils.pdfFileToWebResponse(
-                    tempOut,
+            return WebResponseUtils.pdfDocToWebResponse(
+                    document,
                     GeneralUtils.generateFilename(
-                            file.getOriginalFilename(), "_page_numbers_added.pdf"));
+                            file.getOriginalFilename(), "_page_numbers_added.pdf"),
+                    tempFileManager);
         }
     }
 }
@@ -26,6 +26,7 @@ import stirling.software.SPDF.model.PipelineResult;
 import stirling.software.SPDF.model.api.HandleDataRequest;
 import stirling.software.common.annotations.AutoJobPostMapping;
 import stirling.software.common.annotations.api.PipelineApi;
+import stirling.software.common.enumeration.JobPriority;
 import stirling.software.common.enumeration.ResourceWeight;
 import stirling.software.common.service.PostHogService;
 import stirling.software.common.util.GeneralUtils;
@@ -53,7 +54,8 @@ public class PipelineController {
     @AutoJobPostMapping(
             value = "/handleData",
             consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
-            resourceWeight = ResourceWeight.MEDIUM_WEIGHT)
+            resourceWeight = ResourceWeight.MEDIUM_WEIGHT,
+            priority = JobPriority.BATCH)
     @MultiFileResponse
     @Operation(
             summary = "Execute automated PDF processing pipeline",
@@ -29,8 +29,11 @@ import stirling.software.SPDF.model.PipelineOperation;
 import stirling.software.SPDF.model.PipelineResult;
 import stirling.software.SPDF.service.ApiDocService;
 import stirling.software.common.service.AutomationRunContext;
+import stirling.software.common.service.DocumentHandoff;
 import stirling.software.common.service.InternalApiClient;
+import stirling.software.common.service.PdfDocumentHandle;
 import stirling.software.common.service.ToolMetadataService;
+import stirling.software.common.util.TempFile;
 import stirling.software.common.util.TempFileManager;
 import stirling.software.common.util.ZipExtractionUtils;
 
@@ -83,19 +86,28 @@ public class PipelineProcessor {
         // (see AutomationRunContext); pipeline steps run synchronously on this thread.
         try (AutomationRunContext.Scope ignored =
                 AutomationRunContext.open(UUID.randomUUID().toString())) {
-            return runPipelineAgainstFilesInternal(outputFiles, config);
+            PipelineResult result = new PipelineResult();
+            try {
+                return runPipelineAgainstFilesInternal(outputFiles, config, result);
+            } catch (Exception e) {
+                // Documents held open between chained steps have no file the caller could clean
+                // up, so a failed run has to close them here.
+                result.releaseDocumentHandles();
+                throw e;
+            }
         }
     }
 
     private PipelineResult runPipelineAgainstFilesInternal(
-            List<Resource> outputFiles, PipelineConfig config) throws Exception {
-        PipelineResult result = new PipelineResult();
-
+            List<Resource> outputFiles, PipelineConfig config, PipelineResult result)
+            throws Exception {
         ByteArrayOutputStream logStream = new ByteArrayOutputStream();
         PrintStream logPrintStream = new PrintStream(logStream);
         boolean hasErrors = false;
         boolean filtersApplied = false;
-        for (PipelineOperation pipelineOperation : config.getOperations()) {
+        List<PipelineOperation> operations = config.getOperations();
+        for (int step = 0; step < operations.size(); step++) {
+            PipelineOperation pipelineOperation = operations.get(step);
             String operation = pipelineOperation.getOperation();
             boolean isMultiInputOperation = toolMetadataService.isMultiInput(operation);
             log.info(
@@ -114,6 +126,19 @@ public class PipelineProcessor {
                         "Invalid operation: " + operation + " with parameters: " + parameters);
             }
 
+            // Consecutive steps that both run in-process on an open document skip the
+            // save/re-parse between them; anything else gets a real file.
+            boolean takesDocumentHandle =
+                    !isMultiInputOperation && internalApiClient.supportsDocumentHandle(operation);
+            boolean handOnDocument =
+                    takesDocumentHandle
+                            && step + 1 < operations.size()
+                            && internalApiClient.supportsDocumentHandle(
+                                    operations.get(step + 1).getOperation());
+            if (!takesDocumentHandle) {
+                outputFiles = materializeDocumentHandles(outputFiles, result);
+            }
+
             List<Resource> newOutputFiles = new ArrayList<>();
             if (!isMultiInputOperation) {
                 for (Resource file : outputFiles) {
@@ -136,7 +161,7 @@ public class PipelineProcessor {
                                 }
                             }
                             ResponseEntity<Resource> response =
-                                    internalApiClient.post(operation, body);
+                                    dispatch(operation, body, takesDocumentHandle, handOnDocument);
                             // If the operation is filter and the response body is null or empty,
                             // skip
                             // this
@@ -271,6 +296,7 @@ public class PipelineProcessor {
             log.error("Errors occurred during processing. Log: {}", logStream.toString());
         }
         result.setHasErrors(hasErrors);
+        outputFiles = materializeDocumentHandles(outputFiles, result);
         result.setFiltersApplied(filtersApplied);
         result.setOutputFiles(outputFiles);
         return result;
@@ -293,6 +319,12 @@ public class PipelineProcessor {
             // Otherwise, keep the original filename.
             newFilename = removeTrailingNaming(extractFilename(response));
         }
+        if (response.getBody() instanceof PdfDocumentHandle handle) {
+            PdfDocumentHandle renamed = handle.withFilename(newFilename);
+            result.addDocumentHandle(renamed);
+            newOutputFiles.add(renamed);
+            return newOutputFiles;
+        }
         // Check if the response body is a zip file
         if (ZipExtractionUtils.isZip(response.getBody(), newFilename)) {
             // Unzip the file and add all the files to the new output files
@@ -317,6 +349,51 @@ public class PipelineProcessor {
         return newOutputFiles;
     }
 
+    /**
+     * Runs one step. A step that supports document handles runs inside a {@link DocumentHandoff},
+     * so it can pick up the open document the previous step handed on and, when {@code
+     * handOnResult} is set, hand its own result to the next step without saving it.
+     */
+    private ResponseEntity<Resource> dispatch(
+            String operation,
+            MultiValueMap<String, Object> body,
+            boolean takesDocumentHandle,
+            boolean handOnResult) {
+        if (!takesDocumentHandle) {
+            return internalApiClient.post(operation, body);
+        }
+        try (DocumentHandoff ignored = AutomationRunContext.openDocumentHandoff(handOnResult)) {
+            return internalApiClient.post(operation, body);
+        }
+    }
+
+    /** Saves any open documents among {@code files} once, for a step or caller needing files. */
+    private List<Resource> materializeDocumentHandles(List<Resource> files, PipelineResult result)
+            throws IOException {
+        if (files == null || files.stream().noneMatch(PdfDocumentHandle.class::isInstance)) {
+            return files;
+        }
+        List<Resource> materialized = new ArrayList<>(files.size());
+        for (Resource file : files) {
+            if (!(file instanceof PdfDocumentHandle handle)) {
+                materialized.add(file);
+                continue;
+            }
+            TempFile tempFile = handle.materialize(tempFileManager);
+            result.addTempFile(tempFile);
+            String filename = handle.getFilename();
+            materialized.add(
+                    new FileSystemResource(tempFile.getFile()) {
+
+                        @Override
+                        public String getFilename() {
+                            return filename;
+                        }
+                    });
+        }
+        return materialized;
+    }
+
     public String extractFilename(ResponseEntity<Resource> response) {
         // Default filename if not found
         String filename = "default-filename.ext";
@@ -0,0 +1,248 @@
+package stirling.software.SPDF.controller.api.security;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aho–Corasick automaton over a list of literal terms, finding every term in one pass over a text
+ * however many terms there are.
+ *
+ * <p>Matches agree with running {@code Pattern.quote(term)} per term: each term's matches are
+ * leftmost and non-overlapping, while matches of different terms may overlap. Optionally letters
+ * compare case-insensitively (as {@code CASE_INSENSITIVE | UNICODE_CASE}), any run of whitespace
+ * in a term matches any run of whitespace in the text, and matches must be whole words (as the
+ * {@code \b} boundaries {@link
+ * stirling.software.SPDF.utils.text.TextFinderUtils#createOptimizedSearchPatterns} adds).
+ *
+ * <p>Instances are immutable and safe to share between threads.
+ */
+final class LiteralTermMatcher {
+
+    private static final char SPACE = ' ';
+
+    /** One match: the index of the term in {@link #terms()} and its span in the text. */
+    record Match(int term, int start, int end) {}
+
+    private final List<String> terms;
+    private final int[] termLength; // in symbols, after folding whitespace runs
+    private final boolean caseInsensitive;
+    private final boolean ignoreWhitespace;
+    private final boolean wholeWord;
+
+    // Per state: sorted outgoing symbols and their target states
+    private final char[][] edgeSymbols;
+    private final int[][] edgeTargets;
+    private final int[] failure;
+    // Term ending at the state itself, or -1
+    private final int[] termAt;
+    // Nearest state on the failure chain with a term, or -1
+    private final int[] outputLink;
+
+    private LiteralTermMatcher(
+            List<String> terms,
+            boolean caseInsensitive,
+            boolean ignoreWhitespace,
+            boolean wholeWord) {
+        this.terms = terms;
+        this.caseInsensitive = caseInsensitive;
+        this.ignoreWhitespace = ignoreWhitespace;
+        this.wholeWord = wholeWord;
+        this.termLength = new int[terms.size()];
+
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ends.add(-1);
+        for (int t = 0; t < terms.size(); t++) {
+            String symbols = normalize(terms.get(t));
+            termLength[t] = symbols.length();
+            int state = 0;
+            for (int i = 0; i < symbols.length(); i++) {
+                Integer next = trie.get(state).get(symbols.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    ends.add(-1);
+                    trie.get(state).put(symbols.charAt(i), next);
+                }
+                state = next;
+            }
+            ends.set(state, t);
+        }
+
+        int states = trie.size();
+        edgeSymbols = new char[states][];
+        edgeTargets = new int[states][];
+        termAt = new int[states];
+        for (int s = 0; s < states; s++) {
+            TreeMap<Character, Integer> edges = trie.get(s);
+            edgeSymbols[s] = new char[edges.size()];
+            edgeTargets[s] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                edgeSymbols[s][i] = edge.getKey();
+                edgeTargets[s][i] = edge.getValue();
+                i++;
+            }
+            termAt[s] = ends.get(s);
+        }
+
+        // Breadth-first, so every state's failure target is finished before its children
+        failure = new int[states];
+        outputLink = new int[states];
+        outputLink[0] = -1;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : edgeTargets[0]) {
+            outputLink[child] = -1;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < edgeSymbols[state].length; i++) {
+                char symbol = edgeSymbols[state][i];
+                int child = edgeTargets[state][i];
+                int fallback = failure[state];
+                while (fallback != 0 && edge(fallback, symbol) < 0) {
+                    fallback = failure[fallback];
+                }
+                int target = edge(fallback, symbol);
+                failure[child] = Math.max(target, 0);
+                outputLink[child] =
+                        termAt[failure[child]] >= 0 ? failure[child] : outputLink[failure[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Compiles {@code terms}, skipping blank ones and ones that are the same after normalization.
+     */
+    static LiteralTermMatcher compile(
+            Collection<String> terms,
+            boolean caseInsensitive,
+            boolean ignoreWhitespace,
+            boolean wholeWord) {
+        Map<String, String> unique = new LinkedHashMap<>();
+        for (String term : terms) {
+            if (term == null || term.isBlank()) {
+                continue;
+            }
+            String trimmed = term.trim();
+            unique.putIfAbsent(normalize(trimmed, caseInsensitive, ignoreWhitespace), trimmed);
+        }
+        return new LiteralTermMatcher(
+                List.copyOf(unique.values()), caseInsensitive, ignoreWhitespace, wholeWord);
+    }
+
+    /** The compiled terms, trimmed and de-duplicated, indexed as {@link Match#term()}. */
+    List<String> terms() {
+        return terms;
+    }
+
+    /** Every match in {@code text}, ordered by end offset. */
+    List<Match> find(String text) {
+        List<Match> matches = new ArrayList<>();
+        if (terms.isEmpty() || text.isEmpty()) {
+            return matches;
+        }
+        // Text offset of each symbol fed to the automaton, to recover match starts
+        int[] symbolOffset = new int[text.length()];
+        int symbols = 0;
+        Map<Integer, Integer> lastEnd = new HashMap<>();
+        int state = 0;
+        boolean previousWhitespace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean whitespace = ignoreWhitespace && Character.isWhitespace(c);
+            if (whitespace && previousWhitespace) {
+                continue;
+            }
+            previousWhitespace = whitespace;
+            char symbol = whitespace ? SPACE : fold(c);
+            symbolOffset[symbols++] = i;
+
+            int next;
+            while ((next = edge(state, symbol)) < 0 && state != 0) {
+                state = failure[state];
+            }
+            state = Math.max(next, 0);
+
+            for (int s = termAt[state] >= 0 ? state : outputLink[state];
+                    s >= 0;
+                    s = outputLink[s]) {
+                int term = termAt[s];
+                int start = symbolOffset[symbols - termLength[term]];
+                int end = i + 1;
+                if (start < lastEnd.getOrDefault(term, 0)
+                        || (wholeWord && !isWholeWord(text, start, end))) {
+                    continue;
+                }
+                lastEnd.put(term, end);
+                matches.add(new Match(term, start, end));
+            }
+        }
+        return matches;
+    }
+
+    private int edge(int state, char symbol) {
+        int i = Arrays.binarySearch(edgeSymbols[state], symbol);
+        return i >= 0 ? edgeTargets[state][i] : -1;
+    }
+
+    private String normalize(String term) {
+        return normalize(term, caseInsensitive, ignoreWhitespace);
+    }
+
+    private static String normalize(
+            String term, boolean caseInsensitive, boolean ignoreWhitespace) {
+        StringBuilder symbols = new StringBuilder(term.length());
+        boolean previousWhitespace = false;
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            boolean whitespace = ignoreWhitespace && Character.isWhitespace(c);
+            if (whitespace && previousWhitespace) {
+                continue;
+            }
+            previousWhitespace = whitespace;
+            symbols.append(whitespace ? SPACE : fold(c, caseInsensitive));
+        }
+        return symbols.toString();
+    }
+
+    private char fold(char c) {
+        return fold(c, caseInsensitive);
+    }
+
+    private static char fold(char c, boolean caseInsensitive) {
+        return caseInsensitive ? Character.toLowerCase(Character.toUpperCase(c)) : c;
+    }
+
+    /**
+     * Whether {@code \b} holds at both ends of the span, or for a single character that it has no
+     * word character on either side.
+     */
+    private static boolean isWholeWord(String text, int start, int end) {
+        boolean before = start > 0 && isWordChar(text.charAt(start - 1));
+        boolean after = end < text.length() && isWordChar(text.charAt(end));
+        if (end - start == 1) {
+            return !before && !after;
+        }
+        return before != isWordChar(text.charAt(start))
+                && after != isWordChar(text.charAt(end - 1));
+    }
+
+    // The ASCII \w class, which \b follows by default
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z')
+                || (c >= 'A' && c <= 'Z')
+                || (c >= '0' && c <= '9')
+                || c == '_';
+    }
+}
@@ -8,12 +8,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.PDPageTree;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
@@ -22,6 +24,7 @@ import lombok.extern.slf4j.Slf4j;
 import stirling.software.SPDF.model.PDFText;
 import stirling.software.SPDF.model.api.security.ManualRedactPdfRequest;
 import stirling.software.SPDF.pdf.parser.PageImageLocator;
+import stirling.software.SPDF.pdf.parser.TextLayer;
 import stirling.software.common.model.api.security.RedactionArea;
 import stirling.software.common.util.GeneralUtils;
 import stirling.software.common.util.PdfUtils;
@@ -38,6 +41,10 @@ class ManualRedactionService {
 
     private final TempFileManager tempFileManager;
 
+    /** Documents with at least this many pages are rasterised on several threads. */
+    @Value("${stirling.redaction.parallel-min-pages:16}")
+    private int parallelMinPages = 16;
+
     // -----------------------------------------------------------------------
     // Area and page redaction
     // -----------------------------------------------------------------------
@@ -268,16 +275,15 @@ class ManualRedactionService {
 
     /**
      * Returns bounding boxes for every text line and image on {@code page} in PDF user-space
-     * coordinates: {@code [x1, y1, x2, y2]} (origin bottom-left, Y increases upward).
+     * coordinates: {@code [x1, y1, x2, y2]} (origin bottom-left, Y increases upward). Text lines
+     * come from {@code positioned}, a position-order layer of the page's document.
      */
-    List<float[]> extractPageElementBoxes(PDDocument document, PDPage page, int pageIndex)
+    List<float[]> extractPageElementBoxes(TextLayer positioned, PDPage page, int pageIndex)
             throws IOException {
         List<float[]> boxes = new ArrayList<>();
 
-        AllTextLineExtractor textExtractor =
-                new AllTextLineExtractor(pageIndex + 1, page.getBBox().getHeight());
-        textExtractor.getText(document);
-        boxes.addAll(textExtractor.getLineBoxes());
+        TextLayer.Page text = positioned.page(pageIndex);
+        boxes.addAll(new AllTextLineExtractor(text, page.getBBox().getHeight()).getLineBoxes());
 
         PageImageLocator imgLocator = new PageImageLocator(page, pageIndex);
         imgLocator.processPage(page);
@@ -313,7 +319,7 @@ class ManualRedactionService {
         }
 
         if (Boolean.TRUE.equals(convertToImage)) {
-            try (PDDocument convertedPdf = PdfUtils.convertPdfToPdfImage(document)) {
+            try (PDDocument convertedPdf = convertToImage(document)) {
                 cleanDocumentMetadata(convertedPdf);
 
                 TempFile tempOut = tempFileManager.createManagedTempFile(".pdf");
@@ -349,6 +355,25 @@ class ManualRedactionService {
         return tempOut;
     }
 
+    /**
+     * Rasterises the redacted document. Large documents are saved once so helper threads can
+     * render their pages from independent read-only copies; the image pages are still assembled
+     * in page order on this thread.
+     */
+    private PDDocument convertToImage(PDDocument document) throws IOException {
+        if (document.getNumberOfPages() < parallelMinPages) {
+            return PdfUtils.convertPdfToPdfImage(document);
+        }
+        try (TempFile redacted = tempFileManager.createManagedTempFile(".pdf")) {
+            document.save(redacted.getFile());
+            log.debug(
+                    "Rasterising {} redacted pages on several threads",
+                    document.getNumberOfPages());
+            return PdfUtils.convertPdfToPdfImage(
+                    document, () -> Loader.loadPDF(redacted.getFile()));
+        }
+    }
+
     private void cleanDocumentMetadata(PDDocument document) {
         try {
             var documentInfo = document.getDocumentInformation();
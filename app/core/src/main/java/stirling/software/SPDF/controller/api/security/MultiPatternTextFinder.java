@@ -5,94 +5,217 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.apache.pdfbox.text.TextPosition;
-
 import lombok.extern.slf4j.Slf4j;
 
 import stirling.software.SPDF.model.PDFText;
+import stirling.software.SPDF.pdf.parser.TextLayer;
 
 /**
- * Scans a PDF document once and matches all provided patterns in a single pass, collecting
- * bounding-box positions for every match. Use in place of creating one {@code TextFinder} per
- * search term to avoid O(n) full-document scans.
+ * Matches all provided patterns against each page of a {@link TextLayer}, collecting bounding-box
+ * positions for every match. Use in place of creating one {@code TextFinder} per search term so
+ * the document's text is extracted once however many terms there are.
+ *
+ * <p>Literal terms go through a {@link LiteralTermMatcher} instead, which scans each page once
+ * for the whole list; regex patterns are run one by one.
  */
 @Slf4j
-final class MultiPatternTextFinder extends PDFTextStripper {
+final class MultiPatternTextFinder {
 
     private static final long REGEX_MATCH_TIMEOUT_SECONDS = 30;
     private static final ExecutorService REGEX_EXECUTOR =
             Executors.newVirtualThreadPerTaskExecutor();
+    private static final long POLL_MILLIS = 50;
+
+    /** Helper threads shared by every request, so matching never uses more than the cores. */
+    static final int MATCH_THREADS = Runtime.getRuntime().availableProcessors();
+
+    private static final ThreadPoolExecutor MATCH_EXECUTOR = matchExecutor();
 
     private final List<Pattern> patterns;
-    private final Map<Integer, List<PDFText>> foundTextsByPage = new HashMap<>();
+    private final LiteralTermMatcher literals;
 
-    private final List<TextPosition> pageTextPositions = new ArrayList<>();
-    private final StringBuilder pageTextBuilder = new StringBuilder();
+    MultiPatternTextFinder(List<Pattern> patterns) {
+        this(patterns, null);
+    }
 
-    MultiPatternTextFinder(List<Pattern> patterns) throws IOException {
+    MultiPatternTextFinder(List<Pattern> patterns, LiteralTermMatcher literals) {
         this.patterns = patterns;
-        this.setWordSeparator(" ");
-        this.setLineSeparator("\n");
+        this.literals = literals;
     }
 
-    Map<Integer, List<PDFText>> getFoundTextsByPage() {
-        return foundTextsByPage;
+    private static ThreadPoolExecutor matchExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(
+                        MATCH_THREADS,
+                        MATCH_THREADS,
+                        30,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        runnable -> {
+                            Thread thread =
+                                    new Thread(
+                                            runnable,
+                                            "redaction-match-" + counter.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
-    @Override
-    protected void startPage(PDPage page) throws IOException {
-        super.startPage(page);
-        pageTextPositions.clear();
-        pageTextBuilder.setLength(0);
+    /** Matches keyed by 0-based page index; pages without a match are absent. */
+    Map<Integer, List<PDFText>> find(TextLayer layer) throws IOException {
+        return find(layer, 1);
     }
 
-    @Override
-    protected void writeString(String text, List<TextPosition> textPositions) {
-        pageTextBuilder.append(text);
-        pageTextPositions.addAll(textPositions);
+    /**
+     * As {@link #find(TextLayer)}, matching on up to {@code workers} threads. Pages are extracted
+     * on the calling thread one at a time and handed to helpers from {@link #MATCH_EXECUTOR}
+     * through a queue of a few pages, so matching starts with the first page and only that many
+     * extracted pages wait at once. When the helpers fall behind, or the shared pool is busy with
+     * other requests, the calling thread matches the next queued page itself. Returns only once
+     * every helper that started has matched its last page.
+     */
+    Map<Integer, List<PDFText>> find(TextLayer layer, int workers) throws IOException {
+        int helperCount = Math.min(workers, layer.pageCount()) - 1;
+        if (helperCount <= 0) {
+            Map<Integer, List<PDFText>> foundTextsByPage = new HashMap<>();
+            for (int i = 0; i < layer.pageCount(); i++) {
+                collect(layer.page(i), foundTextsByPage);
+            }
+            return foundTextsByPage;
+        }
+        Map<Integer, List<PDFText>> foundTextsByPage = new ConcurrentHashMap<>();
+        BlockingQueue<TextLayer.Page> queue = new ArrayBlockingQueue<>(2 * (helperCount + 1));
+        AtomicBoolean extracted = new AtomicBoolean();
+        List<Future<?>> helpers = new ArrayList<>(helperCount);
+        // Claimed by a helper when it starts, or by the caller for a helper that never did
+        List<AtomicBoolean> claimed = new ArrayList<>(helperCount);
+        try {
+            for (int i = 0; i < helperCount; i++) {
+                AtomicBoolean claim = new AtomicBoolean();
+                helpers.add(
+                        MATCH_EXECUTOR.submit(
+                                () -> {
+                                    if (claim.compareAndSet(false, true)) {
+                                        help(queue, extracted, foundTextsByPage);
+                                    }
+                                    return null;
+                                }));
+                claimed.add(claim);
+            }
+            for (int i = 0; i < layer.pageCount(); i++) {
+                TextLayer.Page page = layer.page(i);
+                while (!queue.offer(page)) {
+                    rethrowIfFailed(helpers);
+                    TextLayer.Page next = queue.poll();
+                    if (next != null) {
+                        collect(next, foundTextsByPage);
+                    }
+                }
+            }
+            for (TextLayer.Page page = queue.poll(); page != null; page = queue.poll()) {
+                collect(page, foundTextsByPage);
+            }
+            extracted.set(true);
+            for (int i = 0; i < helperCount; i++) {
+                if (claimed.get(i).compareAndSet(false, true)) {
+                    helpers.get(i).cancel(false);
+                } else {
+                    // Running, possibly still matching a page it took from the queue
+                    helpers.get(i).get();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while matching text", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Text matching failed: " + e.getCause().getMessage(), e);
+        } finally {
+            // On failure, running helpers stop after their current page
+            extracted.set(true);
+            queue.clear();
+            for (int i = 0; i < claimed.size(); i++) {
+                if (claimed.get(i).compareAndSet(false, true)) {
+                    helpers.get(i).cancel(false);
+                }
+            }
+        }
+        return foundTextsByPage;
     }
 
-    @Override
-    protected void writeWordSeparator() {
-        pageTextBuilder.append(getWordSeparator());
-        pageTextPositions.add(null);
+    /** Matches queued pages until the caller has extracted and queued the last one. */
+    private void help(
+            BlockingQueue<TextLayer.Page> queue,
+            AtomicBoolean extracted,
+            Map<Integer, List<PDFText>> foundTextsByPage)
+            throws IOException, InterruptedException {
+        while (true) {
+            TextLayer.Page page = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (page != null) {
+                collect(page, foundTextsByPage);
+            } else if (extracted.get()) {
+                return;
+            }
+        }
     }
 
-    @Override
-    protected void writeLineSeparator() {
-        pageTextBuilder.append(getLineSeparator());
-        pageTextPositions.add(null);
+    /** A helper only finishes early by failing; surfaces that failure on the calling thread. */
+    private static void rethrowIfFailed(List<Future<?>> helpers)
+            throws ExecutionException, InterruptedException {
+        for (Future<?> helper : helpers) {
+            if (helper.isDone() && !helper.isCancelled()) {
+                helper.get();
+            }
+        }
     }
 
-    @Override
-    protected void endPage(PDPage page) throws IOException {
-        String text = pageTextBuilder.toString();
-        if (!text.isEmpty()) {
-            int pageIndex = getCurrentPageNo() - 1;
-            for (Pattern pattern : patterns) {
-                Matcher matcher = pattern.matcher(text);
-                while (safeFind(matcher)) {
-                    PDFText pdfText = resolveMatchPosition(matcher, pageIndex);
-                    if (pdfText != null) {
-                        foundTextsByPage
-                                .computeIfAbsent(pageIndex, k -> new ArrayList<>())
-                                .add(pdfText);
-                    }
-                }
+    private void collect(TextLayer.Page page, Map<Integer, List<PDFText>> foundTextsByPage)
+            throws IOException {
+        if (page.text().isEmpty()) {
+            return;
+        }
+        List<PDFText> found = new ArrayList<>();
+        if (literals != null) {
+            for (LiteralTermMatcher.Match match : literals.find(page.text())) {
+                addIfPlaced(found, resolveMatchPosition(page, match.start(), match.end()));
+            }
+        }
+        for (Pattern pattern : patterns) {
+            Matcher matcher = pattern.matcher(page.text());
+            while (safeFind(matcher)) {
+                addIfPlaced(found, resolveMatchPosition(page, matcher.start(), matcher.end()));
             }
         }
-        super.endPage(page);
+        if (!found.isEmpty()) {
+            foundTextsByPage.put(page.index(), found);
+        }
+    }
+
+    private static void addIfPlaced(List<PDFText> found, PDFText pdfText) {
+        if (pdfText != null) {
+            found.add(pdfText);
+        }
     }
 
     /**
@@ -122,53 +245,20 @@ final class MultiPatternTextFinder extends PDFTextStripper {
         }
     }
 
-    private PDFText resolveMatchPosition(Matcher matcher, int pageIndex) {
-        int matchStart = matcher.start();
-        int matchEnd = matcher.end();
-
-        float minX = Float.MAX_VALUE;
-        float minY = Float.MAX_VALUE;
-        float maxX = Float.MIN_VALUE;
-        float maxY = Float.MIN_VALUE;
-        boolean foundPosition = false;
-
-        for (int i = matchStart; i < matchEnd; i++) {
-            if (i >= pageTextPositions.size()) break;
-            TextPosition pos = pageTextPositions.get(i);
-            if (pos != null) {
-                foundPosition = true;
-                minX = Math.min(minX, pos.getX());
-                maxX = Math.max(maxX, pos.getX() + pos.getWidth());
-                minY = Math.min(minY, pos.getY() - pos.getHeight());
-                maxY = Math.max(maxY, pos.getY());
-            }
+    private static PDFText resolveMatchPosition(TextLayer.Page page, int start, int end) {
+        String matched = page.text().substring(start, end);
+        float[] bounds = page.bounds(start, end);
+        if (bounds == null) {
+            bounds = page.nearbyBounds(start, end);
         }
-
-        if (!foundPosition && matchStart < pageTextPositions.size()) {
-            for (int i = Math.max(0, matchStart - 5);
-                    i < Math.min(pageTextPositions.size(), matchEnd + 5);
-                    i++) {
-                TextPosition pos = pageTextPositions.get(i);
-                if (pos != null) {
-                    foundPosition = true;
-                    minX = Math.min(minX, pos.getX());
-                    maxX = Math.max(maxX, pos.getX() + pos.getWidth());
-                    minY = Math.min(minY, pos.getY() - pos.getHeight());
-                    maxY = Math.max(maxY, pos.getY());
-                    break;
-                }
-            }
-        }
-
-        if (!foundPosition) {
+        if (bounds == null) {
             log.warn(
                     "Found text match '{}' but no valid position data at {}-{}",
-                    matcher.group(),
-                    matchStart,
-                    matchEnd);
+                    matched,
+                    start,
+                    end);
             return null;
         }
-
-        return new PDFText(pageIndex, minX, minY, maxX, maxY, matcher.group());
+        return new PDFText(page.index(), bounds[0], bounds[1], bounds[2], bounds[3], matched);
     }
 }
@@ -2,6 +2,7 @@ package stirling.software.SPDF.controller.api.security;
 
 import java.awt.Color;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -30,6 +31,8 @@ import stirling.software.SPDF.model.api.security.RedactExecuteRequest.RedactStyl
 import stirling.software.SPDF.model.api.security.RedactExecuteRequest.TextRange;
 import stirling.software.SPDF.pdf.parser.PageColumnLayout;
 import stirling.software.SPDF.pdf.parser.PageImageLocator;
+import stirling.software.SPDF.pdf.parser.TextLayer;
+import stirling.software.SPDF.pdf.parser.TextLayerCache;
 import stirling.software.common.service.CustomPDFDocumentFactory;
 import stirling.software.common.util.ExceptionUtils;
 import stirling.software.common.util.TempFile;
@@ -42,6 +45,7 @@ class RedactExecuteService {
     private final CustomPDFDocumentFactory pdfDocumentFactory;
     private final ManualRedactionService manualRedactionService;
     private final TextRedactionService textRedactionService;
+    private final TextLayerCache textLayerCache;
 
     TempFile execute(RedactExecuteRequest request) throws IOException {
         RedactStyle style = request.getStyle() != null ? request.getStyle() : new RedactStyle();
@@ -89,11 +93,22 @@ class RedactExecuteService {
         PDDocument document = null;
         try {
             document = pdfDocumentFactory.load(request.getFileInput());
-
-            // Single-pass text scan: collect all text-based targets so we run the PDF
-            // stripper only once across the entire execute() call rather than once per target.
-            Map<Integer, List<PDFText>> foundTexts =
-                    hasTextOps ? collectTextMatches(document, request) : new HashMap<>();
+            String contentHash;
+            try (InputStream in = request.getFileInput().getInputStream()) {
+                contentHash = TextLayerCache.contentHash(in);
+            }
+            // Text is read through the cache only while the document is still the upload
+            boolean unedited = true;
+
+            // Single-pass text scan: collect all text-based targets so we extract the text
+            // only once across the entire execute() call rather than once per target.
+            TextLayer text = textLayerCache.layer(document, contentHash, TextLayer.Order.CONTENT);
+            Map<Integer, List<PDFText>> foundTexts = new HashMap<>();
+            if (hasTextOps) {
+                textLayerCache.preload(
+                        text, () -> pdfDocumentFactory.load(request.getFileInput(), true));
+                foundTexts = collectTextMatches(text, request);
+            }
 
             int totalMatches = foundTexts.values().stream().mapToInt(List::size).sum();
             log.info(
@@ -104,7 +119,8 @@ class RedactExecuteService {
             // Text removal (content-stream rewriting) — skipped in overlay-only mode.
             boolean needsOverlayOnly = overlayOnly;
             if (hasTextOps && !foundTexts.isEmpty() && !overlayOnly) {
-                needsOverlayOnly = applyTextRemoval(document, request);
+                needsOverlayOnly = applyTextRemoval(document, text, request);
+                unedited = false;
             } else if (overlayOnly) {
                 log.info(
                         "[redact/execute] overlay-only mode requested — skipping content-stream rewriting");
@@ -115,9 +131,11 @@ class RedactExecuteService {
                 log.info("[redact/execute] reloading document for clean overlay pass");
                 document.close();
                 document = pdfDocumentFactory.load(request.getFileInput());
+                unedited = true;
+                text = textLayerCache.layer(document, contentHash, TextLayer.Order.CONTENT);
                 foundTexts.clear();
                 if (hasTextOps) {
-                    foundTexts.putAll(collectTextMatches(document, request));
+                    foundTexts.putAll(collectTextMatches(text, request));
                 }
             }
 
@@ -125,11 +143,25 @@ class RedactExecuteService {
             Map<Integer, PageColumnLayout> layoutCache = new HashMap<>();
 
             if (!wipePages.isEmpty()) {
-                applyPageWipe(document, wipePages, style);
+                TextLayer positioned =
+                        unedited
+                                ? textLayerCache.layer(
+                                        document, contentHash, TextLayer.Order.POSITION)
+                                : TextLayer.of(document, TextLayer.Order.POSITION);
+                applyPageWipe(document, positioned, wipePages, style);
+                unedited = false;
             }
 
+            // Range overlays only add boxes, so one set of layers serves every range
+            RangeText rangeText =
+                    unedited
+                            ? new RangeText(
+                                    text,
+                                    textLayerCache.layer(
+                                            document, contentHash, TextLayer.Order.POSITION))
+                            : RangeText.of(document);
             for (TextRange range : ranges) {
-                applyRangeRedaction(document, range, style, layoutCache);
+                applyRangeRedaction(document, rangeText, range, style, layoutCache);
             }
 
             for (ImageBox box : imageBoxes) {
@@ -167,17 +199,16 @@ class RedactExecuteService {
     // -----------------------------------------------------------------------
 
     /**
-     * Runs a single PDF text-stripper pass over all text-based targets and returns the merged hit
-     * map.
+     * Matches all text-based targets against one text extraction and returns the merged hit map.
      */
     private Map<Integer, List<PDFText>> collectTextMatches(
-            PDDocument document, RedactExecuteRequest request) {
+            TextLayer text, RedactExecuteRequest request) {
         Map<Integer, List<PDFText>> found = new HashMap<>();
 
         String[] terms = cleanStrings(request.getTextValues());
         if (terms.length > 0) {
             textRedactionService
-                    .findTextToRedact(document, terms, false, false)
+                    .findTextToRedact(text, terms, false, false, request.isIgnoreWhitespace())
                     .forEach(
                             (page, hits) ->
                                     found.computeIfAbsent(page, k -> new ArrayList<>())
@@ -187,7 +218,7 @@ class RedactExecuteService {
         String[] patterns = cleanStrings(request.getRegexPatterns());
         if (patterns.length > 0) {
             textRedactionService
-                    .findTextToRedact(document, patterns, true, false)
+                    .findTextToRedact(text, patterns, true, false)
                     .forEach(
                             (page, hits) ->
                                     found.computeIfAbsent(page, k -> new ArrayList<>())
@@ -205,25 +236,29 @@ class RedactExecuteService {
      * Attempts content-stream text removal for all text/regex targets. Returns {@code true} if the
      * document fell back to overlay-only mode.
      */
-    private boolean applyTextRemoval(PDDocument document, RedactExecuteRequest request) {
+    private boolean applyTextRemoval(
+            PDDocument document, TextLayer text, RedactExecuteRequest request) {
         try {
             boolean fallback = false;
 
             String[] terms = cleanStrings(request.getTextValues());
             if (terms.length > 0) {
                 Map<Integer, List<PDFText>> exactFound =
-                        textRedactionService.findTextToRedact(document, terms, false, false);
+                        textRedactionService.findTextToRedact(
+                                text, terms, false, false, request.isIgnoreWhitespace());
                 if (!exactFound.isEmpty()) {
                     fallback |=
                             textRedactionService.performTextReplacement(
                                     document, exactFound, terms, false, false);
+                    // The replacement rewrote the pages; search what is left of them
+                    text = TextLayer.of(document, TextLayer.Order.CONTENT);
                 }
             }
 
             String[] patterns = cleanStrings(request.getRegexPatterns());
             if (patterns.length > 0) {
                 Map<Integer, List<PDFText>> regexFound =
-                        textRedactionService.findTextToRedact(document, patterns, true, false);
+                        textRedactionService.findTextToRedact(text, patterns, true, false);
                 if (!regexFound.isEmpty()) {
                     fallback |=
                             textRedactionService.performTextReplacement(
@@ -250,7 +285,11 @@ class RedactExecuteService {
     // Per-operation dispatch methods
     // -----------------------------------------------------------------------
 
-    private void applyPageWipe(PDDocument document, List<Integer> pageNumbers, RedactStyle style)
+    private void applyPageWipe(
+            PDDocument document,
+            TextLayer positioned,
+            List<Integer> pageNumbers,
+            RedactStyle style)
             throws IOException {
         List<Integer> pageIndices = toZeroBasedIndices(pageNumbers);
         if (pageIndices.isEmpty()) return;
@@ -267,7 +306,7 @@ class RedactExecuteService {
                     pageElementBoxes.put(
                             idx,
                             manualRedactionService.extractPageElementBoxes(
-                                    document, allPages.get(idx), idx));
+                                    positioned, allPages.get(idx), idx));
                 } catch (Exception e) {
                     log.warn(
                             "[redact/execute] element extraction failed for page {}: {}",
@@ -306,6 +345,7 @@ class RedactExecuteService {
 
     private void applyRangeRedaction(
             PDDocument document,
+            RangeText text,
             TextRange range,
             RedactStyle style,
             Map<Integer, PageColumnLayout> layoutCache)
@@ -314,7 +354,8 @@ class RedactExecuteService {
         String rangeEnd = trimOrEmpty(range.endString());
         log.info("[redact/execute] range redaction: start='{}' end='{}'", rangeStart, rangeEnd);
         try {
-            List<PDFText> blocks = collectRangeBlocks(document, rangeStart, rangeEnd, layoutCache);
+            List<PDFText> blocks =
+                    collectRangeBlocks(text, document, rangeStart, rangeEnd, layoutCache);
             if (!blocks.isEmpty()) {
                 manualRedactionService.redactFoundText(
                         document,
@@ -404,17 +445,27 @@ class RedactExecuteService {
             String endStr,
             Map<Integer, PageColumnLayout> layoutCache)
             throws IOException {
+        return collectRangeBlocks(RangeText.of(document), document, startStr, endStr, layoutCache);
+    }
+
+    private List<PDFText> collectRangeBlocks(
+            RangeText text,
+            PDDocument document,
+            String startStr,
+            String endStr,
+            Map<Integer, PageColumnLayout> layoutCache)
+            throws IOException {
 
         PDPageTree allPages = document.getDocumentCatalog().getPages();
         int totalPages = allPages.getCount();
 
-        Map<Integer, List<PDFText>> startMatchesByPage = findWithFallbacks(document, startStr);
+        Map<Integer, List<PDFText>> startMatchesByPage = findWithFallbacks(text.content(), startStr);
         if (startMatchesByPage.isEmpty()) {
             log.warn("[redact/execute] range start not found: '{}'", startStr);
             return Collections.emptyList();
         }
 
-        List<Anchor> starts = toAnchors(document, startMatchesByPage, layoutCache);
+        List<Anchor> starts = toAnchors(text, document, startMatchesByPage, layoutCache);
         starts.sort(READING_ORDER);
         log.info(
                 "[redact/execute] start='{}' matched {} anchor(s): {}",
@@ -425,7 +476,7 @@ class RedactExecuteService {
         boolean openEnded = (endStr == null || endStr.isBlank());
         List<Anchor> ends = new ArrayList<>();
         if (!openEnded) {
-            Map<Integer, List<PDFText>> endMatchesByPage = findWithFallbacks(document, endStr);
+            Map<Integer, List<PDFText>> endMatchesByPage = findWithFallbacks(text.content(), endStr);
             if (endMatchesByPage.isEmpty()) {
                 log.warn(
                         "[redact/execute] range end '{}' not found in document - skipping range"
@@ -434,7 +485,7 @@ class RedactExecuteService {
                         startStr);
                 return Collections.emptyList();
             }
-            ends = toAnchors(document, endMatchesByPage, layoutCache);
+            ends = toAnchors(text, document, endMatchesByPage, layoutCache);
             ends.sort(READING_ORDER);
             log.info(
                     "[redact/execute] end='{}' matched {} anchor(s): {}",
@@ -475,7 +526,8 @@ class RedactExecuteService {
                     start.col,
                     openEnded ? "<end of document>" : endStr);
 
-            collectBlocksForRange(document, allPages, start, end, openEnded, blocks, layoutCache);
+            collectBlocksForRange(
+                    text, document, allPages, start, end, openEnded, blocks, layoutCache);
         }
 
         log.info(
@@ -489,10 +541,11 @@ class RedactExecuteService {
     /**
      * Collects all redactable content (text line segments and images) between two anchor positions.
      *
-     * <p>Line boxes are cached per page number in {@code lineBoxCache} and reused across range
-     * iterations within one execute() call, avoiding redundant {@link AllTextLineExtractor} passes.
+     * <p>Line boxes come from the position-ordered layer in {@code text}, which extracts each page
+     * once and reuses it across range iterations and column-layout detection.
      */
     private void collectBlocksForRange(
+            RangeText text,
             PDDocument document,
             PDPageTree allPages,
             Anchor start,
@@ -505,29 +558,21 @@ class RedactExecuteService {
         int startPage = start.page;
         int endPage = openEnded ? allPages.getCount() - 1 : end.page;
         int endCol =
-                openEnded ? layoutFor(document, endPage, layoutCache).columnCount() - 1 : end.col;
+                openEnded
+                        ? layoutFor(text, document, endPage, layoutCache).columnCount() - 1
+                        : end.col;
         float startY = start.y;
         // Use bottom of end anchor so the end anchor line itself is included (inclusive range).
         float endY = openEnded ? Float.POSITIVE_INFINITY : end.text.getY2();
 
-        // Line-box cache: populated lazily per page, reused across range iterations.
-        // Cannot use computeIfAbsent because AllTextLineExtractor's constructor throws IOException.
-        Map<Integer, List<float[]>> lineBoxCache = new HashMap<>();
-
         for (int pageIdx = startPage; pageIdx <= endPage; pageIdx++) {
             PDPage page = allPages.get(pageIdx);
             float pageHeight = page.getBBox().getHeight();
-            PageColumnLayout layout = layoutFor(document, pageIdx, layoutCache);
-
-            List<float[]> screenLineBoxes = lineBoxCache.get(pageIdx);
-            if (screenLineBoxes == null) {
-                AllTextLineExtractor textExtractor =
-                        new AllTextLineExtractor(pageIdx + 1, pageHeight);
-                textExtractor.getText(document);
-                screenLineBoxes = textExtractor.getScreenLineBoxes();
-                lineBoxCache.put(pageIdx, screenLineBoxes);
-            }
+            PageColumnLayout layout = layoutFor(text, document, pageIdx, layoutCache);
 
+            List<float[]> screenLineBoxes =
+                    new AllTextLineExtractor(text.positioned().page(pageIdx), pageHeight)
+                            .getScreenLineBoxes();
             for (float[] sb : screenLineBoxes) {
                 emitColumnSlices(
                         pageIdx, layout, sb[0], sb[2], sb[1], sb[3], start.col, startPage, startY,
@@ -622,15 +667,18 @@ class RedactExecuteService {
 
     /** Lazily builds and caches the column layout for a single page. */
     private PageColumnLayout layoutFor(
-            PDDocument document, int pageIdx, Map<Integer, PageColumnLayout> cache)
+            RangeText text,
+            PDDocument document,
+            int pageIdx,
+            Map<Integer, PageColumnLayout> cache)
             throws IOException {
         PageColumnLayout cached = cache.get(pageIdx);
         if (cached != null) return cached;
         PDPage page = document.getDocumentCatalog().getPages().get(pageIdx);
         float pageWidth = page.getBBox().getWidth();
         float pageHeight = page.getBBox().getHeight();
-        AllTextLineExtractor extractor = new AllTextLineExtractor(pageIdx + 1, pageHeight);
-        extractor.getText(document);
+        AllTextLineExtractor extractor =
+                new AllTextLineExtractor(text.positioned().page(pageIdx), pageHeight);
         PageColumnLayout layout =
                 PageColumnLayout.fromLineBoxes(extractor.getLineBoxes(), pageWidth);
         if (layout.columnCount() > 1) {
@@ -648,13 +696,14 @@ class RedactExecuteService {
     }
 
     private List<Anchor> toAnchors(
+            RangeText text,
             PDDocument document,
             Map<Integer, List<PDFText>> matchesByPage,
             Map<Integer, PageColumnLayout> layoutCache)
             throws IOException {
         List<Anchor> out = new ArrayList<>();
         for (int page : matchesByPage.keySet().stream().sorted().toList()) {
-            PageColumnLayout layout = layoutFor(document, page, layoutCache);
+            PageColumnLayout layout = layoutFor(text, document, page, layoutCache);
             for (PDFText hit : matchesByPage.get(page)) {
                 int col = layout.columnOf(hit.getX1(), hit.getX2());
                 out.add(new Anchor(page, col, hit.getY1(), hit));
@@ -683,11 +732,21 @@ class RedactExecuteService {
 
     private record Anchor(int page, int col, float y, PDFText text) {}
 
+    /** Range anchors are searched in content order; line boxes come from position order. */
+    private record RangeText(TextLayer content, TextLayer positioned) {
+
+        static RangeText of(PDDocument document) {
+            return new RangeText(
+                    TextLayer.of(document, TextLayer.Order.CONTENT),
+                    TextLayer.of(document, TextLayer.Order.POSITION));
+        }
+    }
+
     /**
      * Tries progressively more permissive variants: raw (regex then literal), letter-spacing
      * collapsed, then a punctuation-tolerant regex over alphanumeric runs.
      */
-    private Map<Integer, List<PDFText>> findWithFallbacks(PDDocument document, String raw) {
+    private Map<Integer, List<PDFText>> findWithFallbacks(TextLayer text, String raw) {
         String trimmed = raw.trim();
         String collapsed = collapseLetterSpacing(trimmed);
         String tolerant = punctuationTolerantRegex(trimmed);
@@ -729,7 +788,7 @@ class RedactExecuteService {
         for (Candidate c : candidates) {
             Map<Integer, List<PDFText>> m =
                     textRedactionService.findTextToRedact(
-                            document, new String[] {c.pattern}, c.useRegex, false);
+                            text, new String[] {c.pattern}, c.useRegex, false);
             if (!m.isEmpty()) {
                 if (!c.pattern.equals(trimmed)) {
                     log.info(
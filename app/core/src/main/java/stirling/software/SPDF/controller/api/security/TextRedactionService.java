@@ -4,7 +4,9 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -15,6 +17,7 @@ import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.multipdf.PDFMergerUtility;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import lombok.AllArgsConstructor;
@@ -22,6 +25,7 @@ import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
 import stirling.software.SPDF.model.PDFText;
+import stirling.software.SPDF.pdf.parser.TextLayer;
 import stirling.software.SPDF.utils.text.TextFinderUtils;
 import stirling.software.jpdfium.PdfDocument;
 import stirling.software.jpdfium.redact.PdfRedactor;
@@ -32,8 +36,58 @@ import stirling.software.jpdfium.redact.RedactResult;
 @Slf4j
 class TextRedactionService {
 
+    /** Term lists whose compiled automata are kept; least recently used are dropped first. */
+    private static final int MAX_CACHED_TERM_LISTS = 32;
+
+    private final Map<LiteralKey, LiteralTermMatcher> literalMatchers =
+            Collections.synchronizedMap(
+                    new LinkedHashMap<LiteralKey, LiteralTermMatcher>(16, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(
+                                Map.Entry<LiteralKey, LiteralTermMatcher> eldest) {
+                            return size() > MAX_CACHED_TERM_LISTS;
+                        }
+                    });
+
+    /**
+     * Documents with fewer pages are matched on the calling thread; larger ones also use the
+     * helpers shared by every request.
+     */
+    @Value("${stirling.redaction.parallel-min-pages:16}")
+    private int parallelMinPages = 16;
+
+    private record LiteralKey(Set<String> terms, boolean wholeWord, boolean ignoreWhitespace) {}
+
     Map<Integer, List<PDFText>> findTextToRedact(
             PDDocument document, String[] listOfText, boolean useRegex, boolean wholeWordSearch) {
+        return findTextToRedact(
+                TextLayer.of(document, TextLayer.Order.CONTENT),
+                listOfText,
+                useRegex,
+                wholeWordSearch);
+    }
+
+    /**
+     * Matches the terms against {@code text}, so several searches of one unedited document share a
+     * single text extraction.
+     */
+    Map<Integer, List<PDFText>> findTextToRedact(
+            TextLayer text, String[] listOfText, boolean useRegex, boolean wholeWordSearch) {
+        return findTextToRedact(text, listOfText, useRegex, wholeWordSearch, false);
+    }
+
+    /**
+     * As {@link #findTextToRedact(TextLayer, String[], boolean, boolean)}; literal terms are found
+     * in one pass per page by a cached {@link LiteralTermMatcher}, and with {@code
+     * ignoreWhitespace} a run of whitespace in a term matches any run of whitespace in the text.
+     * {@code ignoreWhitespace} has no effect on regex terms.
+     */
+    Map<Integer, List<PDFText>> findTextToRedact(
+            TextLayer text,
+            String[] listOfText,
+            boolean useRegex,
+            boolean wholeWordSearch,
+            boolean ignoreWhitespace) {
 
         Set<String> terms =
                 Arrays.stream(listOfText)
@@ -45,23 +99,35 @@ class TextRedactionService {
             return new HashMap<>();
         }
 
-        List<Pattern> patterns =
-                TextFinderUtils.createOptimizedSearchPatterns(terms, useRegex, wholeWordSearch);
-
-        if (patterns.isEmpty()) {
-            return new HashMap<>();
+        MultiPatternTextFinder finder;
+        if (useRegex) {
+            List<Pattern> patterns =
+                    TextFinderUtils.createOptimizedSearchPatterns(terms, true, wholeWordSearch);
+            if (patterns.isEmpty()) {
+                return new HashMap<>();
+            }
+            log.debug(
+                    "Scanning document once for {} pattern(s) (wholeWord={})",
+                    patterns.size(),
+                    wholeWordSearch);
+            finder = new MultiPatternTextFinder(patterns);
+        } else {
+            LiteralTermMatcher literals = literalMatcher(terms, wholeWordSearch, ignoreWhitespace);
+            log.debug(
+                    "Scanning document once for {} literal term(s) (wholeWord={},"
+                            + " ignoreWhitespace={})",
+                    literals.terms().size(),
+                    wholeWordSearch,
+                    ignoreWhitespace);
+            finder = new MultiPatternTextFinder(List.of(), literals);
         }
 
-        log.debug(
-                "Scanning document once for {} pattern(s) (useRegex={}, wholeWord={})",
-                patterns.size(),
-                useRegex,
-                wholeWordSearch);
-
         try {
-            MultiPatternTextFinder finder = new MultiPatternTextFinder(patterns);
-            finder.getText(document);
-            Map<Integer, List<PDFText>> result = finder.getFoundTextsByPage();
+            int workers =
+                    text.pageCount() >= parallelMinPages
+                            ? MultiPatternTextFinder.MATCH_THREADS + 1
+                            : 1;
+            Map<Integer, List<PDFText>> result = finder.find(text, workers);
             int total = result.values().stream().mapToInt(List::size).sum();
             log.debug("Multi-pattern scan: {} match(es) across {} page(s)", total, result.size());
             return result;
@@ -71,6 +137,22 @@ class TextRedactionService {
         }
     }
 
+    /**
+     * The compiled automaton for a term list, reused across requests that send the same list.
+     * Literal terms match case-insensitively, as their quoted patterns did.
+     */
+    private LiteralTermMatcher literalMatcher(
+            Set<String> terms, boolean wholeWord, boolean ignoreWhitespace) {
+        LiteralKey key = new LiteralKey(Set.copyOf(terms), wholeWord, ignoreWhitespace);
+        LiteralTermMatcher matcher = literalMatchers.get(key);
+        if (matcher == null) {
+            // Compiled outside the lock; two requests racing on a new list both compile it
+            matcher = LiteralTermMatcher.compile(terms, true, ignoreWhitespace, wholeWord);
+            literalMatchers.put(key, matcher);
+        }
+        return matcher;
+    }
+
     boolean performTextReplacement(
             PDDocument document,
             Map<Integer, List<PDFText>> allFoundTextsByPage,
@@ -1,5 +1,6 @@
 package stirling.software.SPDF.model;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -8,6 +9,7 @@ import org.springframework.core.io.Resource;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
+import stirling.software.common.service.PdfDocumentHandle;
 import stirling.software.common.util.TempFile;
 
 @Data
@@ -17,13 +19,31 @@ public class PipelineResult implements AutoCloseable {
     private boolean hasErrors;
     private boolean filtersApplied;
     private List<TempFile> tempFiles = new ArrayList<>();
+    private List<PdfDocumentHandle> documentHandles = new ArrayList<>();
 
     public void addTempFile(TempFile tempFile) {
         tempFiles.add(tempFile);
     }
 
+    public void addDocumentHandle(PdfDocumentHandle handle) {
+        documentHandles.add(handle);
+    }
+
+    /** Closes documents still held open between chained steps; saved ones are unaffected. */
+    public void releaseDocumentHandles() {
+        for (PdfDocumentHandle handle : documentHandles) {
+            try {
+                handle.close();
+            } catch (IOException e) {
+                log.warn("Failed to close pipeline document handle {}", handle.getFilename(), e);
+            }
+        }
+        documentHandles.clear();
+    }
+
     @Override
     public void close() {
+        releaseDocumentHandles();
         for (TempFile file : tempFiles) {
             file.close();
             log.debug("Deleted temp file: {}", file.getAbsolutePath());
@@ -20,6 +20,14 @@ public class RedactExecuteRequest extends PDFFile {
                             + " Best for known names, identifiers, and specific text found in the document.")
     private List<String> textValues = new ArrayList<>();
 
+    @Schema(
+            description =
+                    "When true, any run of spaces or line breaks inside a textValues entry matches"
+                            + " any run of whitespace in the document, so phrases broken across"
+                            + " lines are still found. Does not apply to regexPatterns.",
+            defaultValue = "false")
+    private boolean ignoreWhitespace;
+
     @Schema(
             description =
                     "Regex patterns to match and redact. Each match anywhere in the document is blacked out."
@@ -7,72 +7,70 @@ import java.util.Locale;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.apache.pdfbox.text.TextPosition;
+import org.apache.pdfbox.pdmodel.PDDocument;
 
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import stirling.software.SPDF.model.PDFText;
+import stirling.software.SPDF.pdf.parser.TextLayer;
 import stirling.software.common.util.RegexPatternUtils;
 
+/**
+ * Finds one search term in a document's {@link TextLayer} and records the bounds of every match.
+ */
 @Slf4j
-public class TextFinder extends PDFTextStripper {
+public class TextFinder {
 
     private final String searchTerm;
     private final boolean useRegex;
     private final boolean wholeWordSearch;
     @Getter private final List<PDFText> foundTexts = new ArrayList<>();
 
-    private final List<TextPosition> pageTextPositions = new ArrayList<>();
-    private final StringBuilder pageTextBuilder = new StringBuilder();
+    @Setter private int startPage = 1;
+    @Setter private int endPage = Integer.MAX_VALUE;
 
-    public TextFinder(String searchTerm, boolean useRegex, boolean wholeWordSearch)
-            throws IOException {
+    private TextLayer.Page lastPage;
+
+    public TextFinder(String searchTerm, boolean useRegex, boolean wholeWordSearch) {
         this.searchTerm = searchTerm;
         this.useRegex = useRegex;
         this.wholeWordSearch = wholeWordSearch;
-        this.setWordSeparator(" ");
-        this.setLineSeparator("\n");
-    }
-
-    @Override
-    protected void startPage(PDPage page) throws IOException {
-        super.startPage(page);
-        pageTextPositions.clear();
-        pageTextBuilder.setLength(0);
     }
 
-    @Override
-    protected void writeString(String text, List<TextPosition> textPositions) {
-        pageTextBuilder.append(text);
-        pageTextPositions.addAll(textPositions);
-    }
-
-    @Override
-    protected void writeWordSeparator() {
-        pageTextBuilder.append(getWordSeparator());
-        pageTextPositions.add(null); // Placeholder for separator
+    /**
+     * Searches pages {@code startPage..endPage} (1-based) of a fresh content-order layer over
+     * {@code document} and returns their text.
+     */
+    public String getText(PDDocument document) throws IOException {
+        TextLayer layer = TextLayer.of(document, TextLayer.Order.CONTENT);
+        StringBuilder text = new StringBuilder();
+        for (int i = Math.max(startPage, 1) - 1; i < Math.min(endPage, layer.pageCount()); i++) {
+            TextLayer.Page page = layer.page(i);
+            find(page);
+            text.append(page.text());
+        }
+        return text.toString();
     }
 
-    @Override
-    protected void writeLineSeparator() {
-        pageTextBuilder.append(getLineSeparator());
-        pageTextPositions.add(null); // Placeholder for separator
+    /** Searches every page of {@code layer}, adding matches to {@link #getFoundTexts()}. */
+    public List<PDFText> find(TextLayer layer) throws IOException {
+        for (TextLayer.Page page : layer.pages()) {
+            find(page);
+        }
+        return foundTexts;
     }
 
-    @Override
-    protected void endPage(PDPage page) throws IOException {
-        String text = pageTextBuilder.toString();
+    private void find(TextLayer.Page page) {
+        lastPage = page;
+        String text = page.text();
         if (text.isEmpty() || this.searchTerm == null || this.searchTerm.isEmpty()) {
-            super.endPage(page);
             return;
         }
 
         String processedSearchTerm = this.searchTerm.trim();
         if (processedSearchTerm.isEmpty()) {
-            super.endPage(page);
             return;
         }
         String regex = this.useRegex ? processedSearchTerm : "\\Q" + processedSearchTerm + "\\E";
@@ -94,7 +92,7 @@ public class TextFinder extends PDFTextStripper {
         log.debug(
                 "Searching for '{}' in page {} with regex '{}' (wholeWord: {}, useRegex: {})",
                 processedSearchTerm,
-                getCurrentPageNo(),
+                page.index() + 1,
                 regex,
                 wholeWordSearch,
                 useRegex);
@@ -112,67 +110,31 @@ public class TextFinder extends PDFTextStripper {
                     matchEnd,
                     matcher.group());
 
-            float minX = Float.MAX_VALUE;
-            float minY = Float.MAX_VALUE;
-            float maxX = Float.MIN_VALUE;
-            float maxY = Float.MIN_VALUE;
-            boolean foundPosition = false;
-
-            for (int i = matchStart; i < matchEnd; i++) {
-                if (i >= pageTextPositions.size()) {
-                    log.debug(
-                            "Position index {} exceeds available positions ({})",
-                            i,
-                            pageTextPositions.size());
-                    continue;
-                }
-                TextPosition pos = pageTextPositions.get(i);
-                if (pos != null) {
-                    foundPosition = true;
-                    minX = Math.min(minX, pos.getX());
-                    maxX = Math.max(maxX, pos.getX() + pos.getWidth());
-                    minY = Math.min(minY, pos.getY() - pos.getHeight());
-                    maxY = Math.max(maxY, pos.getY());
-                }
-            }
-
-            if (!foundPosition && matchStart < pageTextPositions.size()) {
+            float[] bounds = page.bounds(matchStart, matchEnd);
+            if (bounds == null) {
                 log.debug(
                         "Attempting to find nearby positions for match at {}-{}",
                         matchStart,
                         matchEnd);
-
-                for (int i = Math.max(0, matchStart - 5);
-                        i < Math.min(pageTextPositions.size(), matchEnd + 5);
-                        i++) {
-                    TextPosition pos = pageTextPositions.get(i);
-                    if (pos != null) {
-                        foundPosition = true;
-                        minX = Math.min(minX, pos.getX());
-                        maxX = Math.max(maxX, pos.getX() + pos.getWidth());
-                        minY = Math.min(minY, pos.getY() - pos.getHeight());
-                        maxY = Math.max(maxY, pos.getY());
-                        break;
-                    }
-                }
+                bounds = page.nearbyBounds(matchStart, matchEnd);
             }
 
-            if (foundPosition) {
+            if (bounds != null) {
                 foundTexts.add(
                         new PDFText(
-                                this.getCurrentPageNo() - 1,
-                                minX,
-                                minY,
-                                maxX,
-                                maxY,
+                                page.index(),
+                                bounds[0],
+                                bounds[1],
+                                bounds[2],
+                                bounds[3],
                                 matcher.group()));
                 log.debug(
                         "Added PDFText for match: page={}, bounds=({},{},{},{}), text='{}'",
-                        getCurrentPageNo() - 1,
-                        minX,
-                        minY,
-                        maxX,
-                        maxY,
+                        page.index(),
+                        bounds[0],
+                        bounds[1],
+                        bounds[2],
+                        bounds[3],
                         matcher.group());
             } else {
                 log.warn(
@@ -185,25 +147,24 @@ public class TextFinder extends PDFTextStripper {
 
         log.debug(
                 "Page {} search complete: found {} matches for '{}'",
-                getCurrentPageNo(),
+                page.index() + 1,
                 matchCount,
                 processedSearchTerm);
-
-        super.endPage(page);
     }
 
     public String getDebugInfo() {
+        String text = lastPage != null ? lastPage.text() : "";
+        List<TextLayer.Glyph> glyphs = lastPage != null ? lastPage.glyphs() : List.of();
         StringBuilder debug = new StringBuilder();
-        debug.append("Extracted text length: ").append(pageTextBuilder.length()).append("\n");
-        debug.append("Position count: ").append(pageTextPositions.size()).append("\n");
+        debug.append("Extracted text length: ").append(text.length()).append("\n");
+        debug.append("Position count: ").append(glyphs.size()).append("\n");
         debug.append("Text content: '")
-                .append(pageTextBuilder.toString().replace("\n", "\\n").replace("\r", "\\r"))
+                .append(text.replace("\n", "\\n").replace("\r", "\\r"))
                 .append("'\n");
 
-        String text = pageTextBuilder.toString();
         for (int i = 0; i < Math.min(text.length(), 50); i++) {
             char c = text.charAt(i);
-            TextPosition pos = i < pageTextPositions.size() ? pageTextPositions.get(i) : null;
+            TextLayer.Glyph pos = i < glyphs.size() ? glyphs.get(i) : null;
             debug.append(
                     String.format(
                             Locale.ROOT,
@@ -213,7 +174,7 @@ public class TextFinder extends PDFTextStripper {
                             (int) c,
                             pos != null
                                     ? String.format(
-                                            Locale.ROOT, "(%.1f,%.1f)", pos.getX(), pos.getY())
+                                            Locale.ROOT, "(%.1f,%.1f)", pos.x(), pos.y())
                                     : "null"));
         }
 
@@ -40,6 +40,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.zip.ZipFile;
 
 import javax.imageio.ImageIO;
 
@@ -87,6 +88,8 @@ import org.apache.pdfbox.text.PDFTextStripper;
 import org.apache.pdfbox.text.TextPosition;
 import org.apache.pdfbox.util.DateConverter;
 import org.apache.pdfbox.util.Matrix;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -114,6 +117,12 @@ import stirling.software.SPDF.model.json.PdfJsonPageDimension;
 import stirling.software.SPDF.model.json.PdfJsonStream;
 import stirling.software.SPDF.model.json.PdfJsonTextColor;
 import stirling.software.SPDF.model.json.PdfJsonTextElement;
+import stirling.software.SPDF.service.pdfjson.PdfJsonBlobStore;
+import stirling.software.SPDF.service.pdfjson.PdfJsonBundle;
+import stirling.software.SPDF.service.pdfjson.PdfJsonDocumentCache;
+import stirling.software.SPDF.service.pdfjson.PdfJsonDocumentCache.CachedPdf;
+import stirling.software.SPDF.service.pdfjson.PdfJsonDocumentReader;
+import stirling.software.SPDF.service.pdfjson.PdfJsonDocumentWriter;
 import stirling.software.SPDF.service.pdfjson.PdfJsonFontService;
 import stirling.software.SPDF.service.pdfjson.type3.Type3ConversionRequest;
 import stirling.software.SPDF.service.pdfjson.type3.Type3FontConversionService;
@@ -148,33 +157,27 @@ public class PdfJsonConversionService {
     private final Type3FontConversionService type3FontConversionService;
     private final Type3GlyphExtractor type3GlyphExtractor;
     private final stirling.software.common.model.ApplicationProperties applicationProperties;
+    private final PdfJsonBlobStore blobStore;
+    private final PdfJsonDocumentCache documentCache;
     private final Map<String, PDFont> type3NormalizedFontCache = new ConcurrentHashMap<>();
     private final Map<String, Set<Integer>> type3GlyphCoverageCache = new ConcurrentHashMap<>();
 
     private boolean fontNormalizationEnabled;
-    private long cacheMaxBytes;
-    private int cacheMaxPercent;
-
-    /** Cache for storing PDDocuments for lazy page loading. Key is jobId. */
-    private final Map<String, CachedPdfDocument> documentCache = new ConcurrentHashMap<>();
-
-    private final java.util.LinkedHashMap<String, CachedPdfDocument> lruCache =
-            new java.util.LinkedHashMap<>(16, 0.75f, true);
-    private final Object cacheLock = new Object();
-    private volatile long currentCacheBytes = 0L;
-    private volatile long cacheBudgetBytes = -1L;
 
     private volatile boolean ghostscriptAvailable;
 
     private static final float FLOAT_EPSILON = 0.0001f;
     private static final float ORIENTATION_TOLERANCE = 0.0005f;
     private static final float BASELINE_TOLERANCE = 0.5f;
+    private static final int IMAGE_CACHE_MAX_ENTRIES = 32;
+
+    /** Region of {@link PdfJsonDocumentCache} holding the PDFs of lazily loaded editor jobs. */
+    private static final String DOCUMENT_CACHE_REGION = "pdf-json-editor";
 
     @PostConstruct
     private void initializeToolAvailability() {
         loadConfigurationFromProperties();
         initializeGhostscriptAvailability();
-        initializeCacheBudget();
     }
 
     private void loadConfigurationFromProperties() {
@@ -182,12 +185,8 @@ public class PdfJsonConversionService {
                 applicationProperties.getPdfEditor();
         if (cfg != null) {
             fontNormalizationEnabled = cfg.getFontNormalization().isEnabled();
-            cacheMaxBytes = cfg.getCache().getMaxBytes();
-            cacheMaxPercent = cfg.getCache().getMaxPercent();
         } else {
             fontNormalizationEnabled = false;
-            cacheMaxBytes = -1;
-            cacheMaxPercent = 20;
         }
     }
 
@@ -229,25 +228,6 @@ public class PdfJsonConversionService {
         }
     }
 
-    private void initializeCacheBudget() {
-        long effective = -1L;
-        if (cacheMaxBytes > 0) {
-            effective = cacheMaxBytes;
-        } else if (cacheMaxPercent > 0) {
-            long maxMem = Runtime.getRuntime().maxMemory();
-            effective = Math.max(0L, (maxMem * cacheMaxPercent) / 100);
-        }
-        cacheBudgetBytes = effective;
-        if (cacheBudgetBytes > 0) {
-            log.debug(
-                    "PDF JSON cache budget configured: {} bytes (source: {})",
-                    cacheBudgetBytes,
-                    cacheMaxBytes > 0 ? "max-bytes" : "max-percent");
-        } else {
-            log.debug("PDF JSON cache budget: unlimited");
-        }
-    }
-
     public void convertPdfToJson(MultipartFile file, OutputStream out) throws IOException {
         convertPdfToJson(file, null, false, out);
     }
@@ -268,6 +248,22 @@ public class PdfJsonConversionService {
         convertPdfToJson(file, null, lightweight, out);
     }
 
+    /**
+     * Converts a PDF to the bundle form of PDF JSON ({@link PdfJsonBundle}): font programs, images
+     * and stream data are stored once each as raw ZIP entries instead of inline Base64 strings.
+     * {@link #convertJsonToPdf(MultipartFile, OutputStream)} accepts either form.
+     */
+    public void convertPdfToJsonBundle(MultipartFile file, boolean lightweight, OutputStream out)
+            throws IOException {
+        try (TempFile json = new TempFile(tempFileManager, ".json");
+                TempFile structure = new TempFile(tempFileManager, ".json")) {
+            try (OutputStream jsonOut = Files.newOutputStream(json.getPath())) {
+                convertPdfToJson(file, lightweight, jsonOut);
+            }
+            PdfJsonBundle.write(objectMapper, json.getPath(), structure.getPath(), out);
+        }
+    }
+
     public void convertPdfToJson(
             MultipartFile file,
             Consumer<PdfJsonConversionProgress> progressCallback,
@@ -385,7 +381,6 @@ public class PdfJsonConversionService {
                 // Always enable lazy mode for real async jobs so cache is available regardless of
                 // page count. Synchronous calls with synthetic jobId still do full extraction.
                 Map<COSBase, FontModelCacheEntry> fontCache = new IdentityHashMap<>();
-                Map<COSBase, EncodedImage> imageCache = new IdentityHashMap<>();
                 log.debug(
                         "Converting PDF to JSON ({} pages) - {} mode (jobId: {}, isRealJobId: {})",
                         totalPages,
@@ -421,64 +416,18 @@ public class PdfJsonConversionService {
                     pageNumber++;
                 }
 
-                progress.accept(
-                        PdfJsonConversionProgress.of(50, "text", "Extracting text content"));
-                TextCollectingStripper stripper =
-                        new TextCollectingStripper(
-                                document, fonts, textByPage, pageFontResources, fontCache, jobId);
-                stripper.setSortByPosition(true);
-                stripper.getText(document);
-
-                Map<Integer, List<PdfJsonImageElement>> imagesByPage;
-                if (useLazyImages) {
-                    progress.accept(
-                            PdfJsonConversionProgress.of(
-                                    70, "images", "Skipping upfront image extraction"));
-                    imagesByPage = new LinkedHashMap<>();
-                } else {
-                    progress.accept(
-                            PdfJsonConversionProgress.of(
-                                    70, "images", "Extracting embedded images"));
-                    imagesByPage = collectImages(document, totalPages, progress, imageCache);
-                }
-
-                progress.accept(
-                        PdfJsonConversionProgress.of(
-                                80, "annotations", "Collecting annotations and form fields"));
-                boolean includeAnnotationRawData = !(lightweight && useLazyImages);
-                Map<Integer, List<PdfJsonAnnotation>> annotationsByPage =
-                        collectAnnotations(
-                                document, totalPages, progress, includeAnnotationRawData);
+                boolean omitPageStreamData = lightweight && useLazyImages;
+                boolean includeAnnotationRawData = !omitPageStreamData;
 
                 progress.accept(
-                        PdfJsonConversionProgress.of(90, "metadata", "Extracting metadata"));
+                        PdfJsonConversionProgress.of(50, "metadata", "Extracting metadata"));
+                // Everything but the pages and fonts. Pages are built and written one at a time
+                // below, and fonts follow them because extracting a page's text can add fonts.
                 PdfJsonDocument pdfJson = new PdfJsonDocument();
                 pdfJson.setMetadata(extractMetadata(document));
                 pdfJson.setXmpMetadata(extractXmpMetadata(document));
                 pdfJson.setLazyImages(useLazyImages);
-                List<PdfJsonFont> cachedFonts = cloneFontList(fonts.values());
-                cachedFonts.sort(
-                        Comparator.comparing(
-                                PdfJsonFont::getUid,
-                                Comparator.nullsLast(Comparator.naturalOrder())));
-                dedupeFontPayloads(cachedFonts);
-                Map<String, PdfJsonFont> cachedFontMap = new LinkedHashMap<>();
-                for (PdfJsonFont cachedFont : cachedFonts) {
-                    String cacheKey = resolveFontCacheKey(cachedFont);
-                    if (cacheKey != null) {
-                        cachedFontMap.put(cacheKey, cachedFont);
-                    }
-                }
-                List<PdfJsonFont> responseFonts = cloneFontList(cachedFonts);
-                pdfJson.setFonts(responseFonts);
-                pdfJson.setPages(
-                        extractPages(
-                                document,
-                                textByPage,
-                                imagesByPage,
-                                annotationsByPage,
-                                lightweight && useLazyImages));
-                if (lightweight && useLazyImages) {
+                if (omitPageStreamData) {
                     // Lightweight async editor flow does not use form fields and this payload can
                     // be
                     // very large due nested raw dictionaries.
@@ -487,79 +436,105 @@ public class PdfJsonConversionService {
                     pdfJson.setFormFields(collectFormFields(document));
                 }
 
-                // Only cache for real async jobIds, not synthetic synchronous ones
-                if (useLazyImages) {
-                    log.debug(
-                            "Creating cache for jobId: {} (useLazyImages={})",
-                            jobId,
-                            useLazyImages);
-                    PdfJsonDocumentMetadata docMetadata = new PdfJsonDocumentMetadata();
-                    docMetadata.setMetadata(pdfJson.getMetadata());
-                    docMetadata.setXmpMetadata(pdfJson.getXmpMetadata());
-                    docMetadata.setFonts(cloneFontList(responseFonts));
-                    docMetadata.setFormFields(pdfJson.getFormFields());
-                    docMetadata.setLazyImages(Boolean.TRUE);
-
-                    List<PdfJsonPageDimension> pageDimensions = new ArrayList<>();
-                    int pageIndex = 0;
+                progress.accept(PdfJsonConversionProgress.of(55, "pages", "Writing pages"));
+                // The debug analysis needs every page at once, so only it holds on to them
+                List<PdfJsonPage> analyzedPages =
+                        isPdfJsonDebugAnalyzeEnabled() ? new ArrayList<>() : null;
+                Map<COSBase, EncodedImage> imageCache = newImageCache();
+                // Text is extracted one page at a time, so only the page being written holds it
+                TextCollectingStripper stripper =
+                        new TextCollectingStripper(
+                                document, fonts, textByPage, pageFontResources, fontCache, jobId);
+                stripper.setSortByPosition(true);
+                List<PdfJsonFont> responseFonts;
+                try (PdfJsonDocumentWriter writer = new PdfJsonDocumentWriter(objectMapper, out)) {
+                    writer.writeHeader(pdfJson);
+                    pageNumber = 1;
                     for (PDPage page : document.getPages()) {
-                        PdfJsonPageDimension dim = new PdfJsonPageDimension();
-                        dim.setPageNumber(pageIndex + 1);
-                        // Use CropBox if present (defines visible page area), otherwise fall back
-                        // to MediaBox
-                        PDRectangle pageBox = page.getCropBox();
-                        if (pageBox == null
-                                || pageBox.getWidth() == 0
-                                || pageBox.getHeight() == 0) {
-                            pageBox = page.getMediaBox();
+                        stripper.setStartPage(pageNumber);
+                        stripper.setEndPage(pageNumber);
+                        stripper.getText(document);
+                        List<PdfJsonImageElement> images =
+                                useLazyImages
+                                        ? new ArrayList<>()
+                                        : collectPageImages(page, pageNumber, imageCache);
+                        PdfJsonPage pageModel =
+                                extractPage(
+                                        page,
+                                        pageNumber,
+                                        textByPage.remove(pageNumber),
+                                        images,
+                                        collectPageAnnotations(
+                                                page, pageNumber, includeAnnotationRawData),
+                                        omitPageStreamData);
+                        writer.writePage(pageModel);
+                        if (analyzedPages != null) {
+                            analyzedPages.add(pageModel);
                         }
-                        dim.setWidth(pageBox.getWidth());
-                        dim.setHeight(pageBox.getHeight());
-                        dim.setRotation(page.getRotation());
-                        pageDimensions.add(dim);
-                        pageIndex++;
+
+                        // Update progress for page output (55-90%)
+                        int pageProgress = 55 + (int) ((pageNumber / (double) totalPages) * 35);
+                        progress.accept(
+                                PdfJsonConversionProgress.of(
+                                        pageProgress,
+                                        "pages",
+                                        "Writing pages",
+                                        pageNumber,
+                                        totalPages));
+                        pageNumber++;
                     }
-                    docMetadata.setPageDimensions(pageDimensions);
 
-                    if (cachedPdfBytes == null) {
-                        cachedPdfBytes = Files.readAllBytes(workingPath);
+                    progress.accept(PdfJsonConversionProgress.of(90, "fonts", "Writing fonts"));
+                    List<PdfJsonFont> cachedFonts = cloneFontList(fonts.values());
+                    cachedFonts.sort(
+                            Comparator.comparing(
+                                    PdfJsonFont::getUid,
+                                    Comparator.nullsLast(Comparator.naturalOrder())));
+                    dedupeFontPayloads(cachedFonts);
+                    Map<String, PdfJsonFont> cachedFontMap = new LinkedHashMap<>();
+                    for (PdfJsonFont cachedFont : cachedFonts) {
+                        String cacheKey = resolveFontCacheKey(cachedFont);
+                        if (cacheKey != null) {
+                            cachedFontMap.put(cacheKey, cachedFont);
+                        }
                     }
-                    CachedPdfDocument cached =
-                            buildCachedDocument(
-                                    jobId,
-                                    cachedPdfBytes,
-                                    docMetadata,
-                                    cachedFontMap,
-                                    pageFontResources);
-                    putCachedDocument(jobId, cached);
-                    log.info(
-                            "Successfully cached PDF ({} bytes, {} pages, {} fonts) for jobId: {} (diskBacked={})",
-                            cached.getPdfSize(),
-                            totalPages,
-                            fonts.size(),
-                            jobId,
-                            cached.isDiskBacked());
-                    scheduleDocumentCleanup(jobId);
-                } else {
-                    log.warn(
-                            "Skipping cache creation: useLazyImages={}, jobId={}",
-                            useLazyImages,
-                            jobId);
-                }
+                    responseFonts = cloneFontList(cachedFonts);
+                    pdfJson.setFonts(responseFonts);
 
-                if (lightweight) {
-                    applyLightweightTransformations(pdfJson);
-                }
-                if (lightweight && useLazyImages) {
-                    stripFontProgramPayloads(responseFonts);
-                    stripFontCosStreamData(responseFonts);
-                }
+                    // Only cache for real async jobIds, not synthetic synchronous ones
+                    if (useLazyImages) {
+                        cacheConvertedDocument(
+                                document,
+                                jobId,
+                                cachedPdfBytes != null
+                                        ? cachedPdfBytes
+                                        : Files.readAllBytes(workingPath),
+                                pdfJson,
+                                cachedFontMap,
+                                pageFontResources);
+                    } else {
+                        log.warn(
+                                "Skipping cache creation: useLazyImages={}, jobId={}",
+                                useLazyImages,
+                                jobId);
+                    }
 
-                logFontPayloadStats(responseFonts, "pdf/text-editor");
-                analyzePdfJson(pdfJson, "pdf/text-editor");
+                    if (lightweight) {
+                        applyLightweightTransformations(pdfJson);
+                    }
+                    if (lightweight && useLazyImages) {
+                        stripFontProgramPayloads(responseFonts);
+                        stripFontCosStreamData(responseFonts);
+                    }
 
-                progress.accept(
-                        PdfJsonConversionProgress.of(95, "serializing", "Generating JSON output"));
+                    logFontPayloadStats(responseFonts, "pdf/text-editor");
+                    writer.finish(responseFonts, pdfJson.getFormFields());
+                }
+                if (analyzedPages != null) {
+                    pdfJson.setPages(analyzedPages);
+                    analyzePdfJson(pdfJson, "pdf/text-editor");
+                }
+                progress.accept(PdfJsonConversionProgress.complete());
 
                 // Collect font issues for summary
                 java.util.List<String> fontsWithMissingProgram =
@@ -597,7 +572,7 @@ public class PdfJsonConversionService {
                             "PDF->JSON conversion complete: {} fonts ({} Type3), {} pages. Missing font programs for {} embedded font(s): {}",
                             responseFonts.size(),
                             type3Fonts,
-                            pdfJson.getPages().size(),
+                            totalPages,
                             fontsWithMissingProgram.size(),
                             String.join(", ", fontsWithMissingProgram));
                 } else {
@@ -605,14 +580,9 @@ public class PdfJsonConversionService {
                             "PDF->JSON conversion complete: {} fonts ({} Type3), {} pages",
                             responseFonts.size(),
                             type3Fonts,
-                            pdfJson.getPages().size());
+                            totalPages);
                 }
 
-                // Stream JSON directly to the caller's OutputStream to avoid allocating the
-                // entire document on the heap before writing it out.
-                objectMapper.writeValue(out, pdfJson);
-                progress.accept(PdfJsonConversionProgress.complete());
-
                 // Clear Type3 cache entries immediately for non-cached conversions
                 // Cached conversions (useLazyImages=true) are cleaned when cache expires
                 // Synchronous conversions always clear immediately since they don't use lazy mode
@@ -625,25 +595,121 @@ public class PdfJsonConversionService {
         }
     }
 
+    private void cacheConvertedDocument(
+            PDDocument document,
+            String jobId,
+            byte[] pdfBytes,
+            PdfJsonDocument pdfJson,
+            Map<String, PdfJsonFont> cachedFontMap,
+            Map<Integer, Map<PDFont, String>> pageFontResources)
+            throws IOException {
+        log.debug("Creating cache for jobId: {}", jobId);
+        PdfJsonDocumentMetadata docMetadata = new PdfJsonDocumentMetadata();
+        docMetadata.setMetadata(pdfJson.getMetadata());
+        docMetadata.setXmpMetadata(pdfJson.getXmpMetadata());
+        docMetadata.setFonts(cloneFontList(pdfJson.getFonts()));
+        docMetadata.setFormFields(pdfJson.getFormFields());
+        docMetadata.setLazyImages(Boolean.TRUE);
+
+        List<PdfJsonPageDimension> pageDimensions = new ArrayList<>();
+        int pageIndex = 0;
+        for (PDPage page : document.getPages()) {
+            PdfJsonPageDimension dim = new PdfJsonPageDimension();
+            dim.setPageNumber(pageIndex + 1);
+            // Use CropBox if present (defines visible page area), otherwise fall back to MediaBox
+            PDRectangle pageBox = page.getCropBox();
+            if (pageBox == null || pageBox.getWidth() == 0 || pageBox.getHeight() == 0) {
+                pageBox = page.getMediaBox();
+            }
+            dim.setWidth(pageBox.getWidth());
+            dim.setHeight(pageBox.getHeight());
+            dim.setRotation(page.getRotation());
+            pageDimensions.add(dim);
+            pageIndex++;
+        }
+        docMetadata.setPageDimensions(pageDimensions);
+
+        CachedPdf<CachedPdfDocument> cached =
+                putCachedDocument(jobId, pdfBytes, docMetadata, cachedFontMap, pageFontResources);
+        log.info(
+                "Successfully cached PDF ({} bytes, {} pages, {} fonts) for jobId: {} (diskBacked={})",
+                cached.getPdfSize(),
+                pageDimensions.size(),
+                pdfJson.getFonts().size(),
+                jobId,
+                cached.isDiskBacked());
+        scheduleDocumentCleanup(jobId);
+    }
+
+    /**
+     * Rebuilds a PDF from a serialized {@link PdfJsonDocument}. The pages are read and rebuilt one
+     * at a time, so the document is never deserialized as a whole.
+     */
     public void convertJsonToPdf(MultipartFile file, OutputStream out) throws IOException {
         if (file == null) {
             throw ExceptionUtils.createNullArgumentException("fileInput");
         }
-        byte[] jsonBytes = file.getBytes();
-        PdfJsonDocument pdfJson = objectMapper.readValue(jsonBytes, PdfJsonDocument.class);
-        convertJsonToPdf(pdfJson, out);
+        if (!PdfJsonBundle.isBundle(file)) {
+            buildPdf(file, out);
+            return;
+        }
+        // A bundle's blobs are inlined into plain PDF JSON, which is then read as usual
+        try (TempFile bundle = new TempFile(tempFileManager, ".zip");
+                TempFile json = new TempFile(tempFileManager, ".json")) {
+            file.transferTo(bundle.getFile());
+            try (ZipFile zip = new ZipFile(bundle.getFile());
+                    OutputStream jsonOut = Files.newOutputStream(json.getPath())) {
+                PdfJsonBundle.read(objectMapper, zip, jsonOut);
+            }
+            buildPdf(new FileSystemResource(json.getPath()), out);
+        }
+    }
+
+    private void buildPdf(InputStreamSource json, OutputStream out) throws IOException {
+        PdfJsonDocumentReader reader = new PdfJsonDocumentReader(objectMapper);
+        PdfJsonDocument header;
+        try (InputStream in = json.getInputStream()) {
+            header = reader.readHeader(in);
+        }
+        buildPdf(
+                header,
+                consumer -> {
+                    try (InputStream in = json.getInputStream()) {
+                        reader.forEachPage(in, consumer);
+                    }
+                },
+                out);
     }
 
     public void convertJsonToPdf(PdfJsonDocument pdfJson, OutputStream out) throws IOException {
         if (pdfJson == null) {
             throw ExceptionUtils.createNullArgumentException("document");
         }
+        buildPdf(
+                pdfJson,
+                consumer -> {
+                    if (pdfJson.getPages() != null) {
+                        for (PdfJsonPage page : pdfJson.getPages()) {
+                            consumer.accept(page);
+                        }
+                    }
+                },
+                out);
+    }
 
-        List<PdfJsonFont> fontModels = pdfJson.getFonts();
-        if (fontModels == null) {
-            fontModels = new ArrayList<>();
-            pdfJson.setFonts(fontModels);
+    /** Supplies the pages of a document being rebuilt, in order. */
+    @FunctionalInterface
+    private interface PageSource {
+        void forEachPage(PdfJsonDocumentReader.PageConsumer consumer) throws IOException;
+    }
+
+    /** Rebuilds the document described by {@code pdfJson}, whose own page list is not used. */
+    private void buildPdf(PdfJsonDocument pdfJson, PageSource pages, OutputStream out)
+            throws IOException {
+        if (pdfJson.getFonts() == null) {
+            pdfJson.setFonts(new ArrayList<>());
         }
+        List<PdfJsonFont> fontModels = pdfJson.getFonts();
 
         // Generate synthetic jobId for this JSON->PDF conversion to prevent cache collisions
         // Each conversion gets its own namespace for Type3 font caching
@@ -656,158 +722,17 @@ public class PdfJsonConversionService {
             Map<String, PDFont> fontMap = buildFontMap(document, fontModels, syntheticJobId);
             log.debug("Converting JSON to PDF ({} font resources)", fontMap.size());
 
-            Map<String, PdfJsonFont> fontLookup = buildFontModelLookup(fontModels);
-
-            List<PdfJsonPage> pages = pdfJson.getPages();
-            if (pages == null) {
-                pages = new ArrayList<>();
-            }
-
-            int pageIndex = 0;
-            Set<String> allFallbackFontIds = new java.util.HashSet<>();
-            int pagesWithFallbacks = 0;
-            for (PdfJsonPage pageModel : pages) {
-                int pageNumberValue =
-                        pageModel.getPageNumber() != null
-                                ? pageModel.getPageNumber()
-                                : pageIndex + 1;
-                log.debug("Reconstructing page {}", pageNumberValue);
-                PDRectangle pageSize =
-                        new PDRectangle(
-                                safeFloat(pageModel.getWidth(), 612f),
-                                safeFloat(pageModel.getHeight(), 792f));
-                PDPage page = new PDPage(pageSize);
-                if (pageModel.getRotation() != null) {
-                    page.setRotation(pageModel.getRotation());
-                }
-                document.addPage(page);
-
-                applyPageResources(document, page, pageModel.getResources());
-
-                List<PDStream> preservedStreams =
-                        buildContentStreams(document, pageModel.getContentStreams());
-                if (!preservedStreams.isEmpty()) {
-                    page.setContents(preservedStreams);
-                }
-
-                List<PdfJsonImageElement> imageElements =
-                        pageModel.getImageElements() != null
-                                ? pageModel.getImageElements()
-                                : new ArrayList<>();
-
-                // Reconstruct image XObjects if content streams are preserved
-                // (images were filtered out during serialization to avoid duplication)
-                if (!preservedStreams.isEmpty() && !imageElements.isEmpty()) {
-                    reconstructImageXObjects(document, page, preservedStreams, imageElements);
-                }
-
-                List<PdfJsonTextElement> elements =
-                        pageModel.getTextElements() != null
-                                ? pageModel.getTextElements()
-                                : new ArrayList<>();
-
-                PreflightResult preflightResult =
-                        preflightTextElements(
-                                document, fontMap, fontModels, elements, pageNumberValue);
-
-                fontLookup = buildFontModelLookup(fontModels);
-
-                log.debug(
-                        "Page {} preflight complete (elements={}, fallbackApplied={})",
-                        pageNumberValue,
-                        elements.size(),
-                        preflightResult.usesFallback());
-
-                if (!preflightResult.fallbackFontIds().isEmpty()) {
-                    ensureFallbackResources(page, preflightResult.fallbackFontIds(), fontMap);
-                    allFallbackFontIds.addAll(preflightResult.fallbackFontIds());
-                    pagesWithFallbacks++;
-                    log.debug(
-                            "Page {} registered fallback fonts: {}",
-                            pageNumberValue,
-                            preflightResult.fallbackFontIds());
-                }
-
-                boolean hasText = !elements.isEmpty();
-                boolean hasImages = !imageElements.isEmpty();
-                boolean rewriteSucceeded = true;
-
-                if (hasText) {
-                    if (preflightResult.usesFallback()) {
-                        log.debug(
-                                "Skipping token rewrite for page {} because fallback fonts are required",
-                                pageNumberValue);
-                        rewriteSucceeded = false;
-                    } else if (!preservedStreams.isEmpty()) {
-                        log.debug("Attempting token rewrite for page {}", pageNumberValue);
-                        rewriteSucceeded =
-                                rewriteTextOperators(
-                                        document,
-                                        page,
-                                        elements,
-                                        false,
-                                        false,
-                                        fontLookup,
-                                        pageNumberValue);
-                        if (!rewriteSucceeded) {
-                            log.debug(
-                                    "Token rewrite failed for page {}, regenerating text stream",
-                                    pageNumberValue);
-                        } else {
-                            log.debug("Token rewrite succeeded for page {}", pageNumberValue);
+            Set<String> allFallbackFontIds = new HashSet<>();
+            Set<Integer> pagesWithFallbacks = new HashSet<>();
+            pages.forEachPage(
+                    pageModel -> {
+                        Set<String> fallbackFontIds =
+                                rebuildPage(document, pageModel, fontMap, fontModels);
+                        if (!fallbackFontIds.isEmpty()) {
+                            allFallbackFontIds.addAll(fallbackFontIds);
+                            pagesWithFallbacks.add(document.getNumberOfPages());
                         }
-                    } else {
-                        rewriteSucceeded = false;
-                    }
-                }
-
-                boolean shouldRegenerate = preservedStreams.isEmpty();
-                if (hasText && (!rewriteSucceeded || preflightResult.usesFallback())) {
-                    shouldRegenerate = true;
-                }
-                if (hasImages && preservedStreams.isEmpty()) {
-                    shouldRegenerate = true;
-                }
-
-                if (!(hasText || hasImages)) {
-                    pageIndex++;
-                    continue;
-                }
-
-                if (shouldRegenerate) {
-                    log.debug("Regenerating page content for page {}", pageNumberValue);
-                    AppendMode appendMode = AppendMode.OVERWRITE;
-                    if (!preservedStreams.isEmpty()) {
-                        PDStream vectorStream =
-                                extractVectorGraphics(document, preservedStreams, imageElements);
-                        if (vectorStream != null) {
-                            page.setContents(Collections.singletonList(vectorStream));
-                            appendMode = AppendMode.APPEND;
-                        } else {
-                            page.setContents(new ArrayList<>());
-                        }
-                    }
-                    regeneratePageContent(
-                            document,
-                            page,
-                            elements,
-                            imageElements,
-                            fontMap,
-                            fontModels,
-                            pageNumberValue,
-                            appendMode);
-                    log.debug("Page content regeneration complete for page {}", pageNumberValue);
-                }
-
-                // Restore annotations for this page
-                List<PdfJsonAnnotation> annotations =
-                        pageModel.getAnnotations() != null
-                                ? pageModel.getAnnotations()
-                                : new ArrayList<>();
-                restoreAnnotations(document, page, annotations);
-
-                pageIndex++;
-            }
+                    });
 
             // Restore form fields
             List<PdfJsonFormField> formFields =
@@ -818,12 +743,12 @@ public class PdfJsonConversionService {
             if (!allFallbackFontIds.isEmpty()) {
                 log.info(
                         "JSON->PDF conversion complete: {} pages, {} fallback font(s) used across {} page(s): {}",
-                        pages.size(),
+                        document.getNumberOfPages(),
                         allFallbackFontIds.size(),
-                        pagesWithFallbacks,
+                        pagesWithFallbacks.size(),
                         allFallbackFontIds);
             } else {
-                log.info("JSON->PDF conversion complete: {} pages", pages.size());
+                log.info("JSON->PDF conversion complete: {} pages", document.getNumberOfPages());
             }
 
             // Stream the PDF directly to the caller's OutputStream — PDFBox writes incrementally.
@@ -834,6 +759,152 @@ public class PdfJsonConversionService {
         }
     }
 
+    /**
+     * Appends the page described by {@code pageModel} to {@code document}.
+     *
+     * @return the ids of the fallback fonts the page needed, empty if none
+     */
+    private Set<String> rebuildPage(
+            PDDocument document,
+            PdfJsonPage pageModel,
+            Map<String, PDFont> fontMap,
+            List<PdfJsonFont> fontModels)
+            throws IOException {
+        int pageNumberValue =
+                pageModel.getPageNumber() != null
+                        ? pageModel.getPageNumber()
+                        : document.getNumberOfPages() + 1;
+        log.debug("Reconstructing page {}", pageNumberValue);
+        PDRectangle pageSize =
+                new PDRectangle(
+                        safeFloat(pageModel.getWidth(), 612f),
+                        safeFloat(pageModel.getHeight(), 792f));
+        PDPage page = new PDPage(pageSize);
+        if (pageModel.getRotation() != null) {
+            page.setRotation(pageModel.getRotation());
+        }
+        document.addPage(page);
+
+        applyPageResources(document, page, pageModel.getResources());
+
+        List<PDStream> preservedStreams =
+                buildContentStreams(document, pageModel.getContentStreams());
+        if (!preservedStreams.isEmpty()) {
+            page.setContents(preservedStreams);
+        }
+
+        List<PdfJsonImageElement> imageElements =
+                pageModel.getImageElements() != null
+                        ? pageModel.getImageElements()
+                        : new ArrayList<>();
+
+        // Reconstruct image XObjects if content streams are preserved
+        // (images were filtered out during serialization to avoid duplication)
+        if (!preservedStreams.isEmpty() && !imageElements.isEmpty()) {
+            reconstructImageXObjects(document, page, preservedStreams, imageElements);
+        }
+
+        List<PdfJsonTextElement> elements =
+                pageModel.getTextElements() != null
+                        ? pageModel.getTextElements()
+                        : new ArrayList<>();
+
+        PreflightResult preflightResult =
+                preflightTextElements(document, fontMap, fontModels, elements, pageNumberValue);
+
+        Map<String, PdfJsonFont> fontLookup = buildFontModelLookup(fontModels);
+
+        log.debug(
+                "Page {} preflight complete (elements={}, fallbackApplied={})",
+                pageNumberValue,
+                elements.size(),
+                preflightResult.usesFallback());
+
+        if (!preflightResult.fallbackFontIds().isEmpty()) {
+            ensureFallbackResources(page, preflightResult.fallbackFontIds(), fontMap);
+            log.debug(
+                    "Page {} registered fallback fonts: {}",
+                    pageNumberValue,
+                    preflightResult.fallbackFontIds());
+        }
+
+        boolean hasText = !elements.isEmpty();
+        boolean hasImages = !imageElements.isEmpty();
+        boolean rewriteSucceeded = true;
+
+        if (hasText) {
+            if (preflightResult.usesFallback()) {
+                log.debug(
+                        "Skipping token rewrite for page {} because fallback fonts are required",
+                        pageNumberValue);
+                rewriteSucceeded = false;
+            } else if (!preservedStreams.isEmpty()) {
+                log.debug("Attempting token rewrite for page {}", pageNumberValue);
+                rewriteSucceeded =
+                        rewriteTextOperators(
+                                document,
+                                page,
+                                elements,
+                                false,
+                                false,
+                                fontLookup,
+                                pageNumberValue);
+                if (!rewriteSucceeded) {
+                    log.debug(
+                            "Token rewrite failed for page {}, regenerating text stream",
+                            pageNumberValue);
+                } else {
+                    log.debug("Token rewrite succeeded for page {}", pageNumberValue);
+                }
+            } else {
+                rewriteSucceeded = false;
+            }
+        }
+
+        boolean shouldRegenerate = preservedStreams.isEmpty();
+        if (hasText && (!rewriteSucceeded || preflightResult.usesFallback())) {
+            shouldRegenerate = true;
+        }
+        if (hasImages && preservedStreams.isEmpty()) {
+            shouldRegenerate = true;
+        }
+
+        if (!(hasText || hasImages)) {
+            return preflightResult.fallbackFontIds();
+        }
+
+        if (shouldRegenerate) {
+            log.debug("Regenerating page content for page {}", pageNumberValue);
+            AppendMode appendMode = AppendMode.OVERWRITE;
+            if (!preservedStreams.isEmpty()) {
+                PDStream vectorStream =
+                        extractVectorGraphics(document, preservedStreams, imageElements);
+                if (vectorStream != null) {
+                    page.setContents(Collections.singletonList(vectorStream));
+                    appendMode = AppendMode.APPEND;
+                } else {
+                    page.setContents(new ArrayList<>());
+                }
+            }
+            regeneratePageContent(
+                    document,
+                    page,
+                    elements,
+                    imageElements,
+                    fontMap,
+                    fontModels,
+                    pageNumberValue,
+                    appendMode);
+            log.debug("Page content regeneration complete for page {}", pageNumberValue);
+        }
+
+        // Restore annotations for this page
+        List<PdfJsonAnnotation> annotations =
+                pageModel.getAnnotations() != null ? pageModel.getAnnotations() : new ArrayList<>();
+        restoreAnnotations(document, page, annotations);
+        return preflightResult.fallbackFontIds();
+    }
+
     private Map<PDFont, String> collectFontsForPage(
             PDDocument document,
             PDPage page,
@@ -2484,176 +2555,143 @@ public class PdfJsonConversionService {
         return null;
     }
 
-    private List<PdfJsonPage> extractPages(
-            PDDocument document,
-            Map<Integer, List<PdfJsonTextElement>> textByPage,
-            Map<Integer, List<PdfJsonImageElement>> imagesByPage,
-            Map<Integer, List<PdfJsonAnnotation>> annotationsByPage,
+    private PdfJsonPage extractPage(
+            PDPage page,
+            int pageNumber,
+            List<PdfJsonTextElement> textElements,
+            List<PdfJsonImageElement> imageElements,
+            List<PdfJsonAnnotation> annotations,
             boolean omitResourceStreamData)
             throws IOException {
-        List<PdfJsonPage> pages = new ArrayList<>();
-        int pageIndex = 0;
-        for (PDPage page : document.getPages()) {
-            PdfJsonPage pageModel = new PdfJsonPage();
-            pageModel.setPageNumber(pageIndex + 1);
-            // Use CropBox if present (defines visible page area), otherwise fall back to MediaBox
-            PDRectangle pageBox = page.getCropBox();
-            if (pageBox == null || pageBox.getWidth() == 0 || pageBox.getHeight() == 0) {
-                pageBox = page.getMediaBox();
-            }
-            pageModel.setWidth(pageBox.getWidth());
-            pageModel.setHeight(pageBox.getHeight());
-            pageModel.setRotation(page.getRotation());
-            pageModel.setTextElements(textByPage.getOrDefault(pageIndex + 1, new ArrayList<>()));
-            pageModel.setImageElements(imagesByPage.getOrDefault(pageIndex + 1, new ArrayList<>()));
-            pageModel.setAnnotations(
-                    annotationsByPage.getOrDefault(pageIndex + 1, new ArrayList<>()));
+        PdfJsonPage pageModel = new PdfJsonPage();
+        pageModel.setPageNumber(pageNumber);
+        // Use CropBox if present (defines visible page area), otherwise fall back to MediaBox
+        PDRectangle pageBox = page.getCropBox();
+        if (pageBox == null || pageBox.getWidth() == 0 || pageBox.getHeight() == 0) {
+            pageBox = page.getMediaBox();
+        }
+        pageModel.setWidth(pageBox.getWidth());
+        pageModel.setHeight(pageBox.getHeight());
+        pageModel.setRotation(page.getRotation());
+        pageModel.setTextElements(textElements != null ? textElements : new ArrayList<>());
+        pageModel.setImageElements(imageElements);
+        pageModel.setAnnotations(annotations);
+        if (omitResourceStreamData) {
+            // In lightweight editor mode, omit heavy resource/content stream payloads entirely.
+            // Partial export preserves originals from cached PDF when these fields are missing.
+            pageModel.setResources(null);
+            pageModel.setContentStreams(null);
+        } else {
             // Serialize resources but exclude image XObject streams to avoid duplication with
             // imageElements
             COSBase resourcesBase = page.getCOSObject().getDictionaryObject(COSName.RESOURCES);
             COSBase filteredResources = filterImageXObjectsFromResources(resourcesBase);
-            if (omitResourceStreamData) {
-                // In lightweight editor mode, omit heavy resource/content stream payloads entirely.
-                // Partial export preserves originals from cached PDF when these fields are missing.
-                pageModel.setResources(null);
-                pageModel.setContentStreams(null);
-            } else {
-                pageModel.setResources(cosMapper.serializeCosValue(filteredResources));
-                pageModel.setContentStreams(extractContentStreams(page, false));
-            }
-            pages.add(pageModel);
-            pageIndex++;
+            pageModel.setResources(cosMapper.serializeCosValue(filteredResources));
+            pageModel.setContentStreams(extractContentStreams(page, false));
         }
-        return pages;
+        return pageModel;
     }
 
-    private Map<Integer, List<PdfJsonImageElement>> collectImages(
-            PDDocument document,
-            int totalPages,
-            Consumer<PdfJsonConversionProgress> progress,
-            Map<COSBase, EncodedImage> imageCache)
-            throws IOException {
-        Map<Integer, List<PdfJsonImageElement>> imagesByPage = new LinkedHashMap<>();
-        int pageNumber = 1;
-        for (PDPage page : document.getPages()) {
-            ImageCollectingEngine engine =
-                    new ImageCollectingEngine(page, pageNumber, imagesByPage, imageCache);
-            engine.processPage(page);
-
-            // Update progress for image extraction (70-80%)
-            int imageProgress = 70 + (int) ((pageNumber / (double) totalPages) * 10);
-            progress.accept(
-                    PdfJsonConversionProgress.of(
-                            imageProgress, "images", "Extracting images", pageNumber, totalPages));
-            pageNumber++;
-        }
-        return imagesByPage;
+    /**
+     * Encoded images by XObject, so that one drawn on several pages is encoded once. Access-ordered
+     * and bounded, so a long document's images are not all retained until the conversion ends.
+     */
+    private static Map<COSBase, EncodedImage> newImageCache() {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<COSBase, EncodedImage> eldest) {
+                return size() > IMAGE_CACHE_MAX_ENTRIES;
+            }
+        };
     }
 
-    private Map<Integer, List<PdfJsonAnnotation>> collectAnnotations(
-            PDDocument document,
-            int totalPages,
-            Consumer<PdfJsonConversionProgress> progress,
-            boolean includeRawData)
+    private List<PdfJsonImageElement> collectPageImages(
+            PDPage page, int pageNumber, Map<COSBase, EncodedImage> imageCache)
             throws IOException {
-        Map<Integer, List<PdfJsonAnnotation>> annotationsByPage = new LinkedHashMap<>();
-        int pageNumber = 1;
-        for (PDPage page : document.getPages()) {
-            List<PdfJsonAnnotation> annotations = new ArrayList<>();
-            for (PDAnnotation annotation : page.getAnnotations()) {
-                try {
-                    PdfJsonAnnotation ann = new PdfJsonAnnotation();
-                    ann.setSubtype(annotation.getSubtype());
-                    ann.setContents(annotation.getContents());
+        Map<Integer, List<PdfJsonImageElement>> imagesByPage = new HashMap<>();
+        ImageCollectingEngine engine =
+                new ImageCollectingEngine(page, pageNumber, imagesByPage, imageCache);
+        engine.processPage(page);
+        return imagesByPage.getOrDefault(pageNumber, new ArrayList<>());
+    }
 
-                    PDRectangle rect = annotation.getRectangle();
-                    if (rect != null) {
-                        ann.setRect(
-                                new float[] {
-                                    rect.getLowerLeftX(),
-                                    rect.getLowerLeftY(),
-                                    rect.getUpperRightX(),
-                                    rect.getUpperRightY()
-                                });
-                    }
+    private List<PdfJsonAnnotation> collectPageAnnotations(
+            PDPage page, int pageNumber, boolean includeRawData) throws IOException {
+        List<PdfJsonAnnotation> annotations = new ArrayList<>();
+        for (PDAnnotation annotation : page.getAnnotations()) {
+            try {
+                PdfJsonAnnotation ann = new PdfJsonAnnotation();
+                ann.setSubtype(annotation.getSubtype());
+                ann.setContents(annotation.getContents());
 
-                    COSName appearanceState = annotation.getAppearanceState();
-                    if (appearanceState != null) {
-                        ann.setAppearanceState(appearanceState.getName());
-                    }
+                PDRectangle rect = annotation.getRectangle();
+                if (rect != null) {
+                    ann.setRect(
+                            new float[] {
+                                rect.getLowerLeftX(),
+                                rect.getLowerLeftY(),
+                                rect.getUpperRightX(),
+                                rect.getUpperRightY()
+                            });
+                }
 
-                    if (annotation.getColor() != null) {
-                        ann.setColor(annotation.getColor().getComponents());
-                    }
+                COSName appearanceState = annotation.getAppearanceState();
+                if (appearanceState != null) {
+                    ann.setAppearanceState(appearanceState.getName());
+                }
 
-                    COSDictionary annotDict = annotation.getCOSObject();
-                    COSString title = (COSString) annotDict.getDictionaryObject(COSName.T);
-                    if (title != null) {
-                        ann.setAuthor(title.getString());
-                    }
+                if (annotation.getColor() != null) {
+                    ann.setColor(annotation.getColor().getComponents());
+                }
 
-                    COSString subj = (COSString) annotDict.getDictionaryObject(COSName.SUBJ);
-                    if (subj != null) {
-                        ann.setSubject(subj.getString());
-                    }
+                COSDictionary annotDict = annotation.getCOSObject();
+                COSString title = (COSString) annotDict.getDictionaryObject(COSName.T);
+                if (title != null) {
+                    ann.setAuthor(title.getString());
+                }
 
-                    COSString creationDateStr =
-                            (COSString) annotDict.getDictionaryObject(COSName.CREATION_DATE);
-                    if (creationDateStr != null) {
-                        try {
-                            Calendar creationDate =
-                                    DateConverter.toCalendar(creationDateStr.getString());
-                            ann.setCreationDate(formatCalendar(creationDate));
-                        } catch (Exception e) {
-                            log.debug(
-                                    "Failed to parse annotation creation date: {}", e.getMessage());
-                        }
-                    }
+                COSString subj = (COSString) annotDict.getDictionaryObject(COSName.SUBJ);
+                if (subj != null) {
+                    ann.setSubject(subj.getString());
+                }
 
-                    COSString modDateStr = (COSString) annotDict.getDictionaryObject(COSName.M);
-                    if (modDateStr != null) {
-                        try {
-                            Calendar modDate = DateConverter.toCalendar(modDateStr.getString());
-                            ann.setModificationDate(formatCalendar(modDate));
-                        } catch (Exception e) {
-                            log.debug(
-                                    "Failed to parse annotation modification date: {}",
-                                    e.getMessage());
-                        }
+                COSString creationDateStr =
+                        (COSString) annotDict.getDictionaryObject(COSName.CREATION_DATE);
+                if (creationDateStr != null) {
+                    try {
+                        Calendar creationDate =
+                                DateConverter.toCalendar(creationDateStr.getString());
+                        ann.setCreationDate(formatCalendar(creationDate));
+                    } catch (Exception e) {
+                        log.debug("Failed to parse annotation creation date: {}", e.getMessage());
                     }
+                }
 
-                    if (includeRawData) {
-                        // Store raw dictionary for lossless round-trip
-                        ann.setRawData(
-                                cosMapper.serializeCosValue(
-                                        annotDict,
-                                        PdfJsonCosMapper.SerializationContext.ANNOTATION_RAW_DATA));
+                COSString modDateStr = (COSString) annotDict.getDictionaryObject(COSName.M);
+                if (modDateStr != null) {
+                    try {
+                        Calendar modDate = DateConverter.toCalendar(modDateStr.getString());
+                        ann.setModificationDate(formatCalendar(modDate));
+                    } catch (Exception e) {
+                        log.debug(
+                                "Failed to parse annotation modification date: {}", e.getMessage());
                     }
+                }
 
-                    annotations.add(ann);
-                } catch (Exception e) {
-                    log.warn(
-                            "Failed to extract annotation on page {}: {}",
-                            pageNumber,
-                            e.getMessage());
+                if (includeRawData) {
+                    // Store raw dictionary for lossless round-trip
+                    ann.setRawData(
+                            cosMapper.serializeCosValue(
+                                    annotDict,
+                                    PdfJsonCosMapper.SerializationContext.ANNOTATION_RAW_DATA));
                 }
-            }
-            if (!annotations.isEmpty()) {
-                annotationsByPage.put(pageNumber, annotations);
-            }
 
-            // Update progress for annotation collection (80-90%)
-            int annotationProgress = 80 + (int) ((pageNumber / (double) totalPages) * 10);
-            progress.accept(
-                    PdfJsonConversionProgress.of(
-                            annotationProgress,
-                            "annotations",
-                            "Collecting annotations",
-                            pageNumber,
-                            totalPages));
-            pageNumber++;
+                annotations.add(ann);
+            } catch (Exception e) {
+                log.warn("Failed to extract annotation on page {}: {}", pageNumber, e.getMessage());
+            }
         }
-        return annotationsByPage;
+        return annotations;
     }
 
     private List<PdfJsonFormField> collectFormFields(PDDocument document) {
@@ -3571,7 +3609,11 @@ public class PdfJsonConversionService {
     }
 
     // Cache helpers
-    private CachedPdfDocument buildCachedDocument(
+    private PdfJsonDocumentCache.Region<CachedPdfDocument> cachedDocuments() {
+        return documentCache.region(DOCUMENT_CACHE_REGION);
+    }
+
+    private CachedPdf<CachedPdfDocument> putCachedDocument(
             String jobId,
             byte[] pdfBytes,
             PdfJsonDocumentMetadata metadata,
@@ -3581,126 +3623,29 @@ public class PdfJsonConversionService {
         if (pdfBytes == null) {
             throw new IllegalArgumentException("pdfBytes must not be null");
         }
-        long budget = cacheBudgetBytes;
-        // If single document is larger than budget, spill straight to disk
-        if (budget > 0 && pdfBytes.length > budget) {
-            TempFile tempFile = new TempFile(tempFileManager, ".pdfjsoncache");
-            Files.write(tempFile.getPath(), pdfBytes);
-            log.debug(
-                    "Cached PDF spilled to disk ({} bytes exceeds budget {}) for jobId {}",
-                    pdfBytes.length,
-                    budget,
-                    jobId);
-            return new CachedPdfDocument(
-                    null, tempFile, pdfBytes.length, metadata, fonts, pageFontResources);
-        }
-        return new CachedPdfDocument(
-                pdfBytes, null, pdfBytes.length, metadata, fonts, pageFontResources);
+        return cachedDocuments()
+                .put(jobId, pdfBytes, new CachedPdfDocument(metadata, fonts, pageFontResources));
     }
 
-    private void putCachedDocument(String jobId, CachedPdfDocument cached) {
-        synchronized (cacheLock) {
-            CachedPdfDocument existing = documentCache.put(jobId, cached);
-            if (existing != null) {
-                lruCache.remove(jobId);
-                currentCacheBytes = Math.max(0L, currentCacheBytes - existing.getInMemorySize());
-                existing.close();
-            }
-            lruCache.put(jobId, cached);
-            currentCacheBytes += cached.getInMemorySize();
-            enforceCacheBudget();
-        }
-    }
-
-    private CachedPdfDocument getCachedDocument(String jobId) {
-        synchronized (cacheLock) {
-            CachedPdfDocument cached = documentCache.get(jobId);
-            if (cached != null) {
-                lruCache.remove(jobId);
-                lruCache.put(jobId, cached);
-            }
-            return cached;
-        }
+    private CachedPdf<CachedPdfDocument> getCachedDocument(String jobId) {
+        return cachedDocuments().get(jobId);
     }
 
-    private void enforceCacheBudget() {
-        if (cacheBudgetBytes <= 0) {
-            return;
-        }
-        // Must be called under cacheLock
-        java.util.Iterator<java.util.Map.Entry<String, CachedPdfDocument>> it =
-                lruCache.entrySet().iterator();
-        while (currentCacheBytes > cacheBudgetBytes && it.hasNext()) {
-            java.util.Map.Entry<String, CachedPdfDocument> entry = it.next();
-            it.remove();
-            CachedPdfDocument removed = entry.getValue();
-            documentCache.remove(entry.getKey(), removed);
-            currentCacheBytes = Math.max(0L, currentCacheBytes - removed.getInMemorySize());
-            removed.close();
-            log.warn(
-                    "Evicted cached PDF for jobId {} to enforce cache budget (budget={} bytes, current={} bytes)",
-                    entry.getKey(),
-                    cacheBudgetBytes,
-                    currentCacheBytes);
-        }
-        if (currentCacheBytes > cacheBudgetBytes && !lruCache.isEmpty()) {
-            // Spill the most recently used large entry to disk
-            String key =
-                    lruCache.entrySet().stream()
-                            .reduce((first, second) -> second)
-                            .map(java.util.Map.Entry::getKey)
-                            .orElse(null);
-            if (key != null) {
-                CachedPdfDocument doc = lruCache.get(key);
-                if (doc != null && doc.getInMemorySize() > 0) {
-                    try {
-                        CachedPdfDocument diskDoc =
-                                buildCachedDocument(
-                                        key,
-                                        doc.getPdfBytes(),
-                                        doc.getMetadata(),
-                                        doc.getFonts(),
-                                        doc.getPageFontResources());
-                        lruCache.put(key, diskDoc);
-                        documentCache.put(key, diskDoc);
-                        currentCacheBytes =
-                                Math.max(0L, currentCacheBytes - doc.getInMemorySize())
-                                        + diskDoc.getInMemorySize();
-                        doc.close();
-                        log.debug("Spilled cached PDF for jobId {} to disk to satisfy budget", key);
-                    } catch (IOException ex) {
-                        log.warn(
-                                "Failed to spill cached PDF for jobId {} to disk: {}",
-                                key,
-                                ex.getMessage());
-                    }
-                }
-            }
-        }
-    }
-
-    private void removeCachedDocument(String jobId) {
+    private CachedPdf<CachedPdfDocument> removeCachedDocument(String jobId) {
         log.warn(
                 "removeCachedDocument called for jobId: {} [CALLER: {}]",
                 jobId,
                 Thread.currentThread().getStackTrace()[2].toString());
-        CachedPdfDocument removed = null;
-        synchronized (cacheLock) {
-            removed = documentCache.remove(jobId);
-            if (removed != null) {
-                lruCache.remove(jobId);
-                currentCacheBytes = Math.max(0L, currentCacheBytes - removed.getInMemorySize());
-                log.warn(
-                        "Removed cached document for jobId: {} (size={} bytes)",
-                        jobId,
-                        removed.getInMemorySize());
-            } else {
-                log.warn("Attempted to remove jobId: {} but it was not in cache", jobId);
-            }
-        }
+        CachedPdf<CachedPdfDocument> removed = cachedDocuments().remove(jobId);
         if (removed != null) {
-            removed.close();
+            log.warn(
+                    "Removed cached document for jobId: {} (size={} bytes)",
+                    jobId,
+                    removed.getPdfSize());
+        } else {
+            log.warn("Attempted to remove jobId: {} but it was not in cache", jobId);
         }
+        return removed;
     }
 
     private void applyTextState(PDPageContentStream contentStream, PdfJsonTextElement element)
@@ -6082,28 +6027,19 @@ public class PdfJsonConversionService {
     // ========================================================================
 
     /**
-     * Stores PDF bytes for lazy page loading. Each page is extracted on-demand by re-loading the
-     * PDF from bytes.
+     * What lazy page loading needs besides the PDF itself, which {@link PdfJsonDocumentCache} keeps
+     * alongside it. Each page is extracted on-demand by re-loading the PDF from the cached bytes.
      */
     private static class CachedPdfDocument {
-        private final byte[] pdfBytes;
-        private final TempFile pdfTempFile;
-        private final long pdfSize;
         private final PdfJsonDocumentMetadata metadata;
         private final Map<String, PdfJsonFont> fonts; // Font map with UIDs for consistency
         private final Map<Integer, Map<PDFont, String>> pageFontResources; // Page font resources
         private final long timestamp;
 
         public CachedPdfDocument(
-                byte[] pdfBytes,
-                TempFile pdfTempFile,
-                long pdfSize,
                 PdfJsonDocumentMetadata metadata,
                 Map<String, PdfJsonFont> fonts,
                 Map<Integer, Map<PDFont, String>> pageFontResources) {
-            this.pdfBytes = pdfBytes;
-            this.pdfTempFile = pdfTempFile;
-            this.pdfSize = pdfSize;
             this.metadata = metadata;
             // Create defensive copies to prevent mutation of shared maps
             this.fonts =
@@ -6118,16 +6054,6 @@ public class PdfJsonConversionService {
         }
 
         // Getters return defensive copies to prevent external mutation
-        public byte[] getPdfBytes() throws IOException {
-            if (pdfBytes != null) {
-                return pdfBytes;
-            }
-            if (pdfTempFile != null) {
-                return Files.readAllBytes(pdfTempFile.getPath());
-            }
-            throw new IOException("Cached PDF backing missing");
-        }
-
         public PdfJsonDocumentMetadata getMetadata() {
             return metadata;
         }
@@ -6140,43 +6066,9 @@ public class PdfJsonConversionService {
             return new java.util.concurrent.ConcurrentHashMap<>(pageFontResources);
         }
 
-        public long getPdfSize() {
-            return pdfSize;
-        }
-
-        public long getInMemorySize() {
-            return pdfBytes != null ? pdfBytes.length : 0L;
-        }
-
-        public boolean isDiskBacked() {
-            return pdfBytes == null && pdfTempFile != null;
-        }
-
         public long getTimestamp() {
             return timestamp;
         }
-
-        public CachedPdfDocument withUpdatedPdfBytes(byte[] nextBytes) {
-            return withUpdatedFonts(nextBytes, this.fonts);
-        }
-
-        public CachedPdfDocument withUpdatedFonts(
-                byte[] nextBytes, Map<String, PdfJsonFont> nextFonts) {
-            Map<String, PdfJsonFont> fontsToUse = nextFonts != null ? nextFonts : this.fonts;
-            return new CachedPdfDocument(
-                    nextBytes,
-                    null,
-                    nextBytes != null ? nextBytes.length : 0,
-                    metadata,
-                    fontsToUse,
-                    pageFontResources);
-        }
-
-        public void close() {
-            if (pdfTempFile != null) {
-                pdfTempFile.close();
-            }
-        }
     }
 
     /**
@@ -6261,9 +6153,8 @@ public class PdfJsonConversionService {
 
             // Cache PDF bytes, metadata, and fonts for lazy page loading
             if (jobId != null) {
-                CachedPdfDocument cached =
-                        buildCachedDocument(jobId, pdfBytes, docMetadata, fonts, pageFontResources);
-                putCachedDocument(jobId, cached);
+                CachedPdf<CachedPdfDocument> cached =
+                        putCachedDocument(jobId, pdfBytes, docMetadata, fonts, pageFontResources);
                 log.debug(
                         "Cached PDF bytes ({} bytes, {} pages, {} fonts) for lazy loading, jobId: {} (diskBacked={})",
                         cached.getPdfSize(),
@@ -6286,14 +6177,14 @@ public class PdfJsonConversionService {
     /** Extracts a single page from cached PDF bytes. Re-loads the PDF for each request. */
     public void extractSinglePage(String jobId, int pageNumber, OutputStream out)
             throws IOException {
-        CachedPdfDocument cached = getCachedDocument(jobId);
+        CachedPdf<CachedPdfDocument> cached = getCachedDocument(jobId);
         if (cached == null) {
             throw new stirling.software.SPDF.exception.CacheUnavailableException(
                     "No cached document found for jobId: " + jobId);
         }
 
         int pageIndex = pageNumber - 1;
-        int totalPages = cached.getMetadata().getPageDimensions().size();
+        int totalPages = cached.getValue().getMetadata().getPageDimensions().size();
 
         if (pageIndex < 0 || pageIndex >= totalPages) {
             throw new IllegalArgumentException(
@@ -6307,7 +6198,7 @@ public class PdfJsonConversionService {
                 jobId);
 
         // Re-load PDF from cached bytes and extract the single page
-        try (PDDocument document = pdfDocumentFactory.load(cached.getPdfBytes(), true)) {
+        try (PDDocument document = pdfDocumentFactory.load(cached.openPdf(), true)) {
             PDPage page = document.getPage(pageIndex);
             PdfJsonPage pageModel = new PdfJsonPage();
             pageModel.setPageNumber(pageNumber);
@@ -6318,10 +6209,12 @@ public class PdfJsonConversionService {
 
             // Extract text on-demand using cached fonts (ensures consistent font UIDs)
             // Create thread-local copies to prevent mutation of cached maps
+            CachedPdfDocument cachedState = cached.getValue();
             Map<String, PdfJsonFont> threadLocalFonts =
-                    new java.util.concurrent.ConcurrentHashMap<>(cached.getFonts());
+                    new java.util.concurrent.ConcurrentHashMap<>(cachedState.getFonts());
             Map<Integer, Map<PDFont, String>> threadLocalPageFontResources =
-                    new java.util.concurrent.ConcurrentHashMap<>(cached.getPageFontResources());
+                    new java.util.concurrent.ConcurrentHashMap<>(
+                            cachedState.getPageFontResources());
 
             Map<Integer, List<PdfJsonTextElement>> textByPage = new LinkedHashMap<>();
             TextCollectingStripper stripper =
@@ -6442,19 +6335,20 @@ public class PdfJsonConversionService {
 
     public void extractPageFonts(String jobId, int pageNumber, OutputStream out)
             throws IOException {
-        CachedPdfDocument cached = getCachedDocument(jobId);
+        CachedPdf<CachedPdfDocument> cached = getCachedDocument(jobId);
         if (cached == null) {
             throw new stirling.software.SPDF.exception.CacheUnavailableException(
                     "No cached document found for jobId: " + jobId);
         }
 
-        int totalPages = cached.getMetadata().getPageDimensions().size();
+        int totalPages = cached.getValue().getMetadata().getPageDimensions().size();
         if (pageNumber < 1 || pageNumber > totalPages) {
             throw new IllegalArgumentException(
                     String.format("pageNumber must be between 1 and %d", totalPages));
         }
 
-        Map<Integer, Map<PDFont, String>> pageFontResources = cached.getPageFontResources();
+        Map<Integer, Map<PDFont, String>> pageFontResources =
+                cached.getValue().getPageFontResources();
         Map<PDFont, String> pageMap =
                 pageFontResources != null ? pageFontResources.get(pageNumber) : null;
         if (pageMap == null || pageMap.isEmpty()) {
@@ -6462,7 +6356,7 @@ public class PdfJsonConversionService {
             return;
         }
 
-        Map<String, PdfJsonFont> cachedFonts = cached.getFonts();
+        Map<String, PdfJsonFont> cachedFonts = cached.getValue().getFonts();
         List<PdfJsonFont> pageFonts = new ArrayList<>();
         Set<String> seen = new LinkedHashSet<>();
         for (String fontId : pageMap.values()) {
@@ -6490,18 +6384,57 @@ public class PdfJsonConversionService {
         objectMapper.writeValue(out, pageFonts);
     }
 
+    /**
+     * {@link #extractSinglePage(String, int, OutputStream)} with large payloads replaced by {@link
+     * PdfJsonBundle} references, so that images repeated across pages are fetched once through
+     * {@link #writeBlob}.
+     */
+    public void extractSinglePageWithBlobReferences(String jobId, int pageNumber, OutputStream out)
+            throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        extractSinglePage(jobId, pageNumber, json);
+        writeWithBlobReferences(jobId, json.toByteArray(), out);
+    }
+
+    /** {@link #extractPageFonts} with font programs replaced by {@link PdfJsonBundle} references. */
+    public void extractPageFontsWithBlobReferences(String jobId, int pageNumber, OutputStream out)
+            throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        extractPageFonts(jobId, pageNumber, json);
+        writeWithBlobReferences(jobId, json.toByteArray(), out);
+    }
+
+    /** Writes a payload referenced by a page or font list of the cached document. */
+    public void writeBlob(String jobId, String hash, OutputStream out) throws IOException {
+        Path blob = blobStore.find(jobId, hash);
+        if (blob == null) {
+            throw new stirling.software.SPDF.exception.CacheUnavailableException(
+                    "No blob " + hash + " cached for jobId: " + jobId);
+        }
+        Files.copy(blob, out);
+    }
+
+    private void writeWithBlobReferences(String jobId, byte[] json, OutputStream out)
+            throws IOException {
+        PdfJsonBundle.extractBlobs(
+                objectMapper,
+                new ByteArrayInputStream(json),
+                out,
+                (hash, bytes) -> blobStore.put(jobId, hash, bytes));
+    }
+
     public void exportUpdatedPages(String jobId, PdfJsonDocument updates, OutputStream outputStream)
             throws IOException {
         if (jobId == null || jobId.isBlank()) {
             throw new IllegalArgumentException("jobId is required for incremental export");
         }
         log.debug("Looking up cache for jobId: {}", jobId);
-        CachedPdfDocument cached = getCachedDocument(jobId);
+        CachedPdf<CachedPdfDocument> cached = getCachedDocument(jobId);
         if (cached == null) {
             log.error(
                     "Cache not found for jobId: {}. Available cache keys: {}",
                     jobId,
-                    documentCache.keySet());
+                    cachedDocuments().ids());
             throw new stirling.software.SPDF.exception.CacheUnavailableException(
                     "No cached document available for jobId: " + jobId);
         }
@@ -6514,14 +6447,15 @@ public class PdfJsonConversionService {
             log.debug(
                     "Incremental export requested with no page updates; returning cached PDF for jobId {}",
                     jobId);
-            outputStream.write(cached.getPdfBytes());
+            cached.transferTo(outputStream);
             return;
         }
 
-        try (PDDocument document = pdfDocumentFactory.load(cached.getPdfBytes(), true)) {
+        try (PDDocument document = pdfDocumentFactory.load(cached.openPdf(), true)) {
             Map<String, PdfJsonFont> mergedFonts = new LinkedHashMap<>();
-            if (cached.getFonts() != null) {
-                cached.getFonts()
+            if (cached.getValue().getFonts() != null) {
+                cached.getValue()
+                        .getFonts()
                         .forEach(
                                 (key, value) -> {
                                     PdfJsonFont clone = cloneFont(value);
@@ -6546,8 +6480,21 @@ public class PdfJsonConversionService {
                 }
             }
 
-            List<PdfJsonFont> fontModels = new ArrayList<>(mergedFonts.values());
-            List<PdfJsonFont> fontModelsCopy = new ArrayList<>(fontModels);
+            // Only the fonts the edited pages can use are loaded: their own and document-wide ones
+            Set<Integer> editedPageNumbers = new HashSet<>();
+            for (PdfJsonPage pageModel : updates.getPages()) {
+                if (pageModel != null && pageModel.getPageNumber() != null) {
+                    editedPageNumbers.add(pageModel.getPageNumber());
+                }
+            }
+            List<PdfJsonFont> fontModelsCopy = new ArrayList<>();
+            for (PdfJsonFont font : mergedFonts.values()) {
+                if (font.getPageNumber() == null
+                        || editedPageNumbers.contains(font.getPageNumber())
+                        || FALLBACK_FONT_ID.equals(font.getId())) {
+                    fontModelsCopy.add(font);
+                }
+            }
             // Generate synthetic jobId for this incremental update to prevent cache collisions
             String updateJobId = "incremental:" + jobId + ":" + java.util.UUID.randomUUID();
             Map<String, PDFont> fontMap = buildFontMap(document, fontModelsCopy, updateJobId);
@@ -6575,6 +6522,7 @@ public class PdfJsonConversionService {
                 PDPage page = document.getPage(pageIndex);
                 replacePageContentFromModel(
                         document, page, pageModel, fontMap, fontModelsCopy, pageNumber);
+                markForIncrementalSave(page);
                 updatedPages.add(pageIndex);
             }
 
@@ -6582,22 +6530,18 @@ public class PdfJsonConversionService {
                 log.debug(
                         "Incremental export for jobId {} resulted in no page updates; returning cached PDF",
                         jobId);
-                outputStream.write(cached.getPdfBytes());
+                cached.transferTo(outputStream);
                 return;
             }
 
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            document.save(baos);
-            byte[] updatedBytes = baos.toByteArray();
-
-            CachedPdfDocument updated =
-                    buildCachedDocument(
-                            jobId,
-                            updatedBytes,
-                            cached.getMetadata(),
-                            mergedFonts,
-                            cached.getPageFontResources());
-            putCachedDocument(jobId, updated);
+            byte[] updatedBytes = saveIncrementally(document, jobId);
+
+            putCachedDocument(
+                    jobId,
+                    updatedBytes,
+                    cached.getValue().getMetadata(),
+                    mergedFonts,
+                    cached.getValue().getPageFontResources());
 
             // Clear Type3 cache entries for this incremental update
             clearType3CacheEntriesForJob(updateJobId);
@@ -6610,18 +6554,51 @@ public class PdfJsonConversionService {
         }
     }
 
+    /**
+     * Flags an edited page for {@link PDDocument#saveIncremental}. Objects created while rebuilding
+     * it are written with it; its dictionary and resources are flagged here in case they were only
+     * changed in place.
+     */
+    private void markForIncrementalSave(PDPage page) {
+        page.getCOSObject().setNeedToBeUpdated(true);
+        COSBase resources = page.getCOSObject().getDictionaryObject(COSName.RESOURCES);
+        if (resources instanceof COSDictionary resourceDictionary) {
+            resourceDictionary.setNeedToBeUpdated(true);
+        }
+    }
+
+    /**
+     * Saves the edited pages as an incremental update appended to the cached PDF, so the cost of a
+     * save follows the size of the edit rather than of the document. Falls back to rewriting the
+     * whole file where an increment cannot be written, such as for encrypted documents.
+     */
+    private byte[] saveIncrementally(PDDocument document, String jobId) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        if (!document.isEncrypted()) {
+            try {
+                document.saveIncremental(baos);
+                return baos.toByteArray();
+            } catch (IOException | IllegalStateException e) {
+                log.debug(
+                        "Incremental save failed for jobId {}, rewriting the whole PDF: {}",
+                        jobId,
+                        e.getMessage());
+                baos.reset();
+            }
+        }
+        document.save(baos);
+        return baos.toByteArray();
+    }
+
     /** Clears a cached document. */
     public void clearCachedDocument(String jobId) {
-        CachedPdfDocument cached = getCachedDocument(jobId);
-        removeCachedDocument(jobId);
+        CachedPdf<CachedPdfDocument> cached = removeCachedDocument(jobId);
         if (cached != null) {
-            log.debug(
-                    "Removed cached PDF ({} bytes, diskBacked={}) for jobId: {}",
-                    cached.getPdfSize(),
-                    cached.isDiskBacked(),
-                    jobId);
+            log.debug("Removed cached PDF ({} bytes) for jobId: {}", cached.getPdfSize(), jobId);
         }
 
+        blobStore.clear(jobId);
+
         // Clear Type3 caches for this job
         clearType3CacheEntriesForJob(jobId);
     }
@@ -0,0 +1,158 @@
+package stirling.software.SPDF.service.pdfjson;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A fixed number of long-lived CFF converter processes ({@code convert_cff_to_ttf.py --serve}), so
+ * that converting a font costs one request line rather than an interpreter start and a fontTools
+ * import. Each worker converts one font at a time. A worker whose process has exited, or that does
+ * not answer in time, is killed and started again on its next use.
+ */
+@Slf4j
+public class CffConverterWorkerPool implements AutoCloseable {
+
+    public enum Result {
+        CONVERTED,
+        FAILED,
+        /** No worker answered; the caller should convert some other way. */
+        UNAVAILABLE
+    }
+
+    private final List<String> command;
+    private final long timeoutMillis;
+    private final List<Worker> workers = new ArrayList<>();
+    private final BlockingQueue<Worker> idle = new LinkedBlockingQueue<>();
+    private final ExecutorService replyReaders = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean closed;
+
+    public CffConverterWorkerPool(List<String> command, int size, long timeoutMillis) {
+        this.command = List.copyOf(command);
+        this.timeoutMillis = timeoutMillis;
+        for (int i = 0; i < size; i++) {
+            workers.add(new Worker());
+        }
+        idle.addAll(workers);
+    }
+
+    /**
+     * Converts {@code input} to {@code output}, with {@code toUnicode} (may be null) supplying the
+     * Unicode mapping. Waits at most the pool's timeout for a free worker.
+     */
+    public Result convert(Path input, Path output, Path toUnicode) throws InterruptedException {
+        Worker worker = idle.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        if (worker == null) {
+            log.debug("No CFF converter worker free within {} ms", timeoutMillis);
+            return Result.UNAVAILABLE;
+        }
+        try {
+            String request =
+                    input.toAbsolutePath()
+                            + "\t"
+                            + output.toAbsolutePath()
+                            + "\t"
+                            + (toUnicode != null ? toUnicode.toAbsolutePath() : "");
+            return worker.convert(request);
+        } finally {
+            idle.offer(worker);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        // Killing a process ends any conversion in progress on it, which then sees UNAVAILABLE
+        for (Worker worker : workers) {
+            Process process = worker.process;
+            if (process != null) {
+                process.destroyForcibly();
+            }
+        }
+        replyReaders.shutdown();
+    }
+
+    private final class Worker {
+        private volatile Process process;
+        private BufferedWriter requests;
+        private BufferedReader replies;
+
+        synchronized Result convert(String request) throws InterruptedException {
+            if (closed) {
+                return Result.UNAVAILABLE;
+            }
+            try {
+                ensureStarted();
+                requests.write(request);
+                requests.newLine();
+                requests.flush();
+                Future<String> reply = replyReaders.submit(replies::readLine);
+                String line = reply.get(timeoutMillis, TimeUnit.MILLISECONDS);
+                if (line == null) {
+                    log.warn("CFF converter worker exited; restarting on next use");
+                    stop();
+                    return Result.UNAVAILABLE;
+                }
+                return "OK".equals(line) ? Result.CONVERTED : Result.FAILED;
+            } catch (TimeoutException e) {
+                log.warn("CFF converter worker did not answer in {} ms; restarting", timeoutMillis);
+                stop();
+                return Result.UNAVAILABLE;
+            } catch (IOException | ExecutionException | RejectedExecutionException e) {
+                log.warn("CFF converter worker failed: {}", e.getMessage());
+                stop();
+                return Result.UNAVAILABLE;
+            } catch (InterruptedException e) {
+                // Its reply would otherwise be read as the answer to the next request
+                stop();
+                throw e;
+            }
+        }
+
+        private void ensureStarted() throws IOException {
+            if (process != null && process.isAlive()) {
+                return;
+            }
+            stop();
+            process =
+                    new ProcessBuilder(command)
+                            .redirectError(ProcessBuilder.Redirect.DISCARD)
+                            .start();
+            requests =
+                    new BufferedWriter(
+                            new OutputStreamWriter(
+                                    process.getOutputStream(), StandardCharsets.UTF_8));
+            replies =
+                    new BufferedReader(
+                            new InputStreamReader(
+                                    process.getInputStream(), StandardCharsets.UTF_8));
+            log.debug("Started CFF converter worker (pid {})", process.pid());
+        }
+
+        private void stop() {
+            if (process != null) {
+                process.destroyForcibly();
+                process = null;
+                requests = null;
+                replies = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package stirling.software.SPDF.service.pdfjson;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import stirling.software.common.util.TempDirectory;
+import stirling.software.common.util.TempFileManager;
+
+/**
+ * Content-addressed store for the payloads that lazily loaded pages refer to with {@link
+ * PdfJsonBundle#REFERENCE_PREFIX} references. Each job has its own temp directory holding one file
+ * per SHA-256, so a font or image used on many pages is kept and served once.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PdfJsonBlobStore {
+
+    private final TempFileManager tempFileManager;
+
+    private final Map<String, TempDirectory> directories = new ConcurrentHashMap<>();
+
+    /** Stores {@code bytes} under {@code hash} for the job, unless they are already stored. */
+    public void put(String jobId, String hash, byte[] bytes) throws IOException {
+        Path target = directory(jobId).resolve(hash);
+        if (Files.exists(target)) {
+            return;
+        }
+        // Written aside and moved into place, so a concurrent reader never sees a partial blob
+        Path partial = Files.createTempFile(target.getParent(), hash, ".part");
+        try {
+            Files.write(partial, bytes);
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    /** The stored blob, or null if the job has no blob with that hash. */
+    public Path find(String jobId, String hash) {
+        TempDirectory directory = directories.get(jobId);
+        if (directory == null || !PdfJsonBundle.isHash(hash)) {
+            return null;
+        }
+        Path blob = directory.getPath().resolve(hash);
+        return Files.isRegularFile(blob) ? blob : null;
+    }
+
+    public void clear(String jobId) {
+        TempDirectory directory = directories.remove(jobId);
+        if (directory != null) {
+            directory.close();
+            log.debug("Cleared PDF JSON blobs for job {}", jobId);
+        }
+    }
+
+    private Path directory(String jobId) throws IOException {
+        TempDirectory directory = directories.get(jobId);
+        if (directory == null) {
+            TempDirectory created = new TempDirectory(tempFileManager);
+            directory = directories.putIfAbsent(jobId, created);
+            if (directory == null) {
+                directory = created;
+            } else {
+                created.close();
+            }
+        }
+        return directory.getPath();
+    }
+}
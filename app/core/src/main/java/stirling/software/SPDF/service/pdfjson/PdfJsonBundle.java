@@ -0,0 +1,208 @@
+package stirling.software.SPDF.service.pdfjson;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.core.io.InputStreamSource;
+
+import stirling.software.common.util.ChecksumUtils;
+import stirling.software.common.util.ExceptionUtils;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * The bundle form of PDF JSON: a ZIP holding the structural JSON as {@value #DOCUMENT_ENTRY} and
+ * each large Base64 payload (font programs, ToUnicode maps, images, stream data) as raw bytes in a
+ * {@value #BLOB_ENTRY_PREFIX}{@code <sha256>} entry. In the JSON the payload is replaced by {@value
+ * #REFERENCE_PREFIX}{@code <sha256>}; Base64 has no colon, so a reference is never mistaken for
+ * data. Payloads with the same bytes are stored once.
+ */
+public final class PdfJsonBundle {
+
+    public static final String DOCUMENT_ENTRY = "document.json";
+    public static final String BLOB_ENTRY_PREFIX = "blobs/";
+    public static final String REFERENCE_PREFIX = "blob:";
+
+    private static final String DIGEST = "SHA-256";
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    /** Properties whose string values are Base64 payloads. */
+    private static final Set<String> PAYLOAD_PROPERTIES =
+            Set.of(
+                    "program",
+                    "webProgram",
+                    "pdfProgram",
+                    "toUnicode",
+                    "imageData",
+                    "previewImage",
+                    "rawData");
+
+    // Shorter payloads stay inline, where they cost less than a separate entry
+    static final int MIN_BLOB_CHARS = 256;
+
+    // Upper bound on one inflated blob, so a crafted bundle cannot exhaust the heap
+    private static final int MAX_BLOB_BYTES = 256 * 1024 * 1024;
+
+    private PdfJsonBundle() {}
+
+    @FunctionalInterface
+    public interface BlobSink {
+        void accept(String hash, byte[] bytes) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface BlobSource {
+        /** The blob's bytes, or null if there is no blob with that hash. */
+        byte[] read(String hash) throws IOException;
+    }
+
+    public static boolean isHash(String value) {
+        return value != null && HASH_PATTERN.matcher(value).matches();
+    }
+
+    /** True if {@code source} starts with a ZIP local file header rather than JSON. */
+    public static boolean isBundle(InputStreamSource source) throws IOException {
+        try (InputStream in = source.getInputStream()) {
+            byte[] head = in.readNBytes(4);
+            return head.length == 4
+                    && head[0] == 'P'
+                    && head[1] == 'K'
+                    && head[2] == 3
+                    && head[3] == 4;
+        }
+    }
+
+    /**
+     * Copies {@code json} to {@code out}, handing each large payload to {@code sink} and writing a
+     * reference in its place. The sink is called once per payload, duplicates included.
+     */
+    public static void extractBlobs(
+            ObjectMapper objectMapper, InputStream json, OutputStream out, BlobSink sink)
+            throws IOException {
+        try (JsonParser parser = objectMapper.createParser(json);
+                JsonGenerator generator = objectMapper.createGenerator(out)) {
+            while (parser.nextToken() != null) {
+                if (isPayload(parser)) {
+                    String value = parser.getValueAsString();
+                    byte[] bytes = value.length() >= MIN_BLOB_CHARS ? decode(value) : null;
+                    if (bytes != null) {
+                        String hash =
+                                ChecksumUtils.checksum(new ByteArrayInputStream(bytes), DIGEST);
+                        sink.accept(hash, bytes);
+                        generator.writeString(REFERENCE_PREFIX + hash);
+                        continue;
+                    }
+                }
+                generator.copyCurrentEvent(parser);
+            }
+        }
+    }
+
+    /** Copies {@code json} to {@code out}, replacing each reference with its payload. */
+    public static void inlineBlobs(
+            ObjectMapper objectMapper, InputStream json, OutputStream out, BlobSource source)
+            throws IOException {
+        try (JsonParser parser = objectMapper.createParser(json);
+                JsonGenerator generator = objectMapper.createGenerator(out)) {
+            while (parser.nextToken() != null) {
+                if (isPayload(parser) && parser.getValueAsString().startsWith(REFERENCE_PREFIX)) {
+                    String hash = parser.getValueAsString().substring(REFERENCE_PREFIX.length());
+                    byte[] bytes = isHash(hash) ? source.read(hash) : null;
+                    if (bytes == null) {
+                        throw ExceptionUtils.createIllegalArgumentException(
+                                "error.invalidPdfJson",
+                                "PDF JSON bundle is missing blob {0}",
+                                hash);
+                    }
+                    generator.writeString(Base64.getEncoder().encodeToString(bytes));
+                    continue;
+                }
+                generator.copyCurrentEvent(parser);
+            }
+        }
+    }
+
+    /**
+     * Writes the PDF JSON in {@code json} to {@code out} as a bundle. The structural JSON is built
+     * in {@code scratch} while the blobs are written, then appended as the last entry.
+     */
+    public static void write(ObjectMapper objectMapper, Path json, Path scratch, OutputStream out)
+            throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        Set<String> written = new HashSet<>();
+        try (InputStream in = Files.newInputStream(json);
+                OutputStream structure = Files.newOutputStream(scratch)) {
+            extractBlobs(
+                    objectMapper,
+                    in,
+                    structure,
+                    (hash, bytes) -> {
+                        if (written.add(hash)) {
+                            zip.putNextEntry(new ZipEntry(BLOB_ENTRY_PREFIX + hash));
+                            zip.write(bytes);
+                            zip.closeEntry();
+                        }
+                    });
+        }
+        zip.putNextEntry(new ZipEntry(DOCUMENT_ENTRY));
+        Files.copy(scratch, zip);
+        zip.closeEntry();
+        zip.finish();
+    }
+
+    /** Writes the structural JSON of {@code bundle} to {@code out} with every blob inlined. */
+    public static void read(ObjectMapper objectMapper, ZipFile bundle, OutputStream out)
+            throws IOException {
+        ZipEntry document = bundle.getEntry(DOCUMENT_ENTRY);
+        if (document == null) {
+            throw ExceptionUtils.createIllegalArgumentException(
+                    "error.invalidPdfJson", "PDF JSON bundle has no {0} entry", DOCUMENT_ENTRY);
+        }
+        try (InputStream in = bundle.getInputStream(document)) {
+            inlineBlobs(objectMapper, in, out, hash -> readBlob(bundle, hash));
+        }
+    }
+
+    private static byte[] readBlob(ZipFile bundle, String hash) throws IOException {
+        ZipEntry entry = bundle.getEntry(BLOB_ENTRY_PREFIX + hash);
+        if (entry == null) {
+            return null;
+        }
+        try (InputStream in = bundle.getInputStream(entry)) {
+            byte[] bytes = in.readNBytes(MAX_BLOB_BYTES + 1);
+            if (bytes.length > MAX_BLOB_BYTES) {
+                throw ExceptionUtils.createIllegalArgumentException(
+                        "error.invalidPdfJson", "PDF JSON bundle blob {0} is too large", hash);
+            }
+            return bytes;
+        }
+    }
+
+    private static boolean isPayload(JsonParser parser) {
+        return parser.currentToken() == JsonToken.VALUE_STRING
+                && PAYLOAD_PROPERTIES.contains(parser.currentName());
+    }
+
+    private static byte[] decode(String value) {
+        try {
+            return Base64.getDecoder().decode(value);
+        } catch (IllegalArgumentException e) {
+            // Not Base64 after all; leave it inline
+            return null;
+        }
+    }
+}
@@ -0,0 +1,557 @@
+package stirling.software.SPDF.service.pdfjson;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import stirling.software.common.model.ApplicationProperties;
+import stirling.software.common.util.TempFile;
+import stirling.software.common.util.TempFileManager;
+
+/**
+ * The PDF bytes the text editor works from, shared by every editor cache so that one budget covers
+ * all sessions. Bytes are held off the heap in direct buffers and read in place, and which
+ * documents stay there is decided by Caffeine's size-weighted W-TinyLFU policy. A document it
+ * evicts is spilled to a temp file rather than dropped, so a session survives memory pressure at
+ * the cost of a disk read; each read of a spilled document offers it back to the policy, which
+ * keeps it in memory once it is read more often than what it would displace. Entries leave when
+ * removed, or when spilled files outgrow the disk budget, least recently read first.
+ *
+ * <p>Each named {@link Region} reports its own hits, misses and evictions under {@code
+ * stirling.pdfjson.cache.*}, tagged with the region name.
+ */
+@Slf4j
+@Service
+public class PdfJsonDocumentCache {
+
+    private final TempFileManager tempFileManager;
+    private final MeterRegistry meterRegistry;
+
+    // Every cached document, wherever its bytes are
+    private final Map<Key, CachedPdf<?>> entries = new ConcurrentHashMap<>();
+    // The documents whose bytes are in memory, weighted by size
+    private final Cache<Key, CachedPdf<?>> resident;
+    private final Map<String, Region<?>> regions = new ConcurrentHashMap<>();
+    private final AtomicLong memoryBytes = new AtomicLong();
+    private final AtomicLong diskBytes = new AtomicLong();
+    private final long budgetBytes;
+    private final long diskBudgetBytes;
+    private final Object diskBudgetLock = new Object();
+
+    @Autowired
+    public PdfJsonDocumentCache(
+            TempFileManager tempFileManager,
+            ApplicationProperties applicationProperties,
+            MeterRegistry meterRegistry) {
+        this(
+                tempFileManager,
+                budgetFor(applicationProperties.getPdfEditor()),
+                diskBudgetFor(applicationProperties.getPdfEditor()),
+                meterRegistry);
+    }
+
+    /** {@code budgetBytes} caps the bytes held in memory; zero or less means no cap. */
+    public PdfJsonDocumentCache(
+            TempFileManager tempFileManager, long budgetBytes, MeterRegistry meterRegistry) {
+        this(tempFileManager, budgetBytes, -1, meterRegistry);
+    }
+
+    /**
+     * {@code budgetBytes} caps the bytes held in memory and {@code diskBudgetBytes} those spilled
+     * to disk; zero or less means no cap.
+     */
+    public PdfJsonDocumentCache(
+            TempFileManager tempFileManager,
+            long budgetBytes,
+            long diskBudgetBytes,
+            MeterRegistry meterRegistry) {
+        this.tempFileManager = tempFileManager;
+        this.meterRegistry = meterRegistry;
+        this.budgetBytes = budgetBytes;
+        this.diskBudgetBytes = diskBudgetBytes;
+        // Maintenance runs on the writing thread, so a spill is finished when put() returns
+        Caffeine<Key, CachedPdf<?>> builder =
+                Caffeine.newBuilder()
+                        .executor(Runnable::run)
+                        .evictionListener(
+                                (Key key, CachedPdf<?> cached, RemovalCause cause) ->
+                                        spill(key, cached));
+        if (budgetBytes > 0) {
+            builder.maximumWeight(budgetBytes).weigher((key, cached) -> cached.weight());
+            log.debug("PDF JSON document cache budget: {} bytes", budgetBytes);
+        } else {
+            log.debug("PDF JSON document cache budget: unlimited");
+        }
+        log.debug("PDF JSON document cache disk budget: {} bytes", diskBudgetBytes);
+        this.resident = builder.build();
+
+        Gauge.builder("stirling.pdfjson.cache.bytes", memoryBytes, AtomicLong::get)
+                .description("Bytes of cached editor PDFs by where they are held")
+                .baseUnit("bytes")
+                .tag("tier", "memory")
+                .register(meterRegistry);
+        Gauge.builder("stirling.pdfjson.cache.bytes", diskBytes, AtomicLong::get)
+                .description("Bytes of cached editor PDFs by where they are held")
+                .baseUnit("bytes")
+                .tag("tier", "disk")
+                .register(meterRegistry);
+    }
+
+    static long budgetFor(ApplicationProperties.PdfEditor pdfEditor) {
+        long maxBytes = pdfEditor != null ? pdfEditor.getCache().getMaxBytes() : -1;
+        int maxPercent = pdfEditor != null ? pdfEditor.getCache().getMaxPercent() : 20;
+        if (maxBytes > 0) {
+            return maxBytes;
+        }
+        if (maxPercent > 0) {
+            return Math.max(0L, (Runtime.getRuntime().maxMemory() * maxPercent) / 100);
+        }
+        return -1L;
+    }
+
+    static long diskBudgetFor(ApplicationProperties.PdfEditor pdfEditor) {
+        return pdfEditor != null ? pdfEditor.getCache().getMaxDiskBytes() : -1;
+    }
+
+    /** The region with this name, created on first use. */
+    @SuppressWarnings("unchecked")
+    public <T> Region<T> region(String name) {
+        return (Region<T>) regions.computeIfAbsent(name, key -> new Region<>(key));
+    }
+
+    /** Bytes of cached documents currently held in memory. */
+    public long getMemoryBytes() {
+        return memoryBytes.get();
+    }
+
+    /** Bytes of cached documents currently spilled to disk. */
+    public long getDiskBytes() {
+        return diskBytes.get();
+    }
+
+    @PreDestroy
+    public void clear() {
+        for (Key key : entries.keySet()) {
+            CachedPdf<?> removed = entries.remove(key);
+            if (removed != null) {
+                removed.release();
+            }
+        }
+        resident.invalidateAll();
+    }
+
+    private void spill(Key key, CachedPdf<?> cached) {
+        Region<?> region = regions.get(key.region());
+        if (cached.spill()) {
+            if (region != null) {
+                region.spills.increment();
+            }
+            log.debug(
+                    "Spilled cached PDF for {} {} ({} bytes) to disk",
+                    key.region(),
+                    key.id(),
+                    cached.getPdfSize());
+            enforceDiskBudget();
+            return;
+        }
+        entries.remove(key, cached);
+        if (region != null) {
+            region.drops.increment();
+        }
+    }
+
+    /**
+     * Reads a spilled document back into memory and offers it to the eviction policy. If the
+     * policy turns it away straight away, only the memory copy goes; the file is kept for the next
+     * read.
+     */
+    private void promote(Key key, CachedPdf<?> cached) {
+        if (budgetBytes > 0 && cached.getPdfSize() > budgetBytes) {
+            return;
+        }
+        try {
+            if (!cached.load()) {
+                return;
+            }
+        } catch (IOException e) {
+            log.debug(
+                    "Could not read cached PDF for {} {} back into memory: {}",
+                    key.region(),
+                    key.id(),
+                    e.getMessage());
+            return;
+        }
+        resident.asMap().putIfAbsent(key, cached);
+        if (entries.get(key) != cached) {
+            // Replaced or removed while it was being read
+            resident.asMap().remove(key, cached);
+        }
+    }
+
+    /** Drops the least recently read spilled documents until the disk budget is met. */
+    private void enforceDiskBudget() {
+        if (diskBudgetBytes <= 0 || diskBytes.get() <= diskBudgetBytes) {
+            return;
+        }
+        synchronized (diskBudgetLock) {
+            List<Map.Entry<Key, CachedPdf<?>>> byLastRead =
+                    entries.entrySet().stream()
+                            .sorted(Comparator.comparingLong(entry -> entry.getValue().lastRead))
+                            .toList();
+            for (Map.Entry<Key, CachedPdf<?>> entry : byLastRead) {
+                if (diskBytes.get() <= diskBudgetBytes) {
+                    return;
+                }
+                Key key = entry.getKey();
+                CachedPdf<?> cached = entry.getValue();
+                if (cached.trimDisk() && entries.remove(key, cached)) {
+                    Region<?> region = regions.get(key.region());
+                    if (region != null) {
+                        region.drops.increment();
+                    }
+                    log.debug(
+                            "Dropped cached PDF for {} {} ({} bytes) over the disk budget",
+                            key.region(),
+                            key.id(),
+                            cached.getPdfSize());
+                }
+            }
+        }
+    }
+
+    private record Key(String region, String id) {}
+
+    /** A named set of cached documents, each carrying a value of type {@code T}. */
+    public final class Region<T> {
+
+        private final String name;
+        private final Counter memoryHits;
+        private final Counter diskHits;
+        private final Counter misses;
+        private final Counter spills;
+        private final Counter drops;
+
+        private Region(String name) {
+            this.name = name;
+            this.memoryHits = hits(name, "memory");
+            this.diskHits = hits(name, "disk");
+            this.misses =
+                    Counter.builder("stirling.pdfjson.cache.misses")
+                            .description("Lookups of editor PDFs that were not cached")
+                            .tag("cache", name)
+                            .register(meterRegistry);
+            this.spills = evictions(name, "spilled");
+            this.drops = evictions(name, "dropped");
+        }
+
+        /**
+         * Caches {@code pdfBytes} with {@code value} under {@code id}, replacing any document
+         * cached there before.
+         */
+        public CachedPdf<T> put(String id, byte[] pdfBytes, T value) throws IOException {
+            Key key = new Key(name, id);
+            CachedPdf<T> cached = new CachedPdf<>(key, value, pdfBytes);
+            CachedPdf<?> previous = entries.put(key, cached);
+            if (cached.isDiskBacked()) {
+                resident.invalidate(key);
+            } else {
+                // May be refused straight away, in which case it is spilled before this returns
+                resident.put(key, cached);
+            }
+            if (previous != null) {
+                previous.release();
+            }
+            enforceDiskBudget();
+            return cached;
+        }
+
+        /** The document cached under {@code id}, or null. */
+        @SuppressWarnings("unchecked")
+        public CachedPdf<T> get(String id) {
+            Key key = new Key(name, id);
+            CachedPdf<?> cached = entries.get(key);
+            if (cached == null) {
+                misses.increment();
+                return null;
+            }
+            cached.lastRead = System.nanoTime();
+            // Also records the access for the eviction policy
+            if (resident.getIfPresent(key) != null) {
+                memoryHits.increment();
+            } else {
+                diskHits.increment();
+                promote(key, cached);
+            }
+            return (CachedPdf<T>) cached;
+        }
+
+        /** Removes the document cached under {@code id}, returning it, or null if none was. */
+        @SuppressWarnings("unchecked")
+        public CachedPdf<T> remove(String id) {
+            Key key = new Key(name, id);
+            CachedPdf<?> removed = entries.remove(key);
+            resident.invalidate(key);
+            if (removed != null) {
+                removed.release();
+            }
+            return (CachedPdf<T>) removed;
+        }
+
+        /** The ids of the documents cached in this region. */
+        public Set<String> ids() {
+            return entries.keySet().stream()
+                    .filter(key -> key.region().equals(name))
+                    .map(Key::id)
+                    .collect(Collectors.toSet());
+        }
+
+        private Counter hits(String region, String tier) {
+            return Counter.builder("stirling.pdfjson.cache.hits")
+                    .description("Lookups of editor PDFs served from the cache, by tier")
+                    .tag("cache", region)
+                    .tag("tier", tier)
+                    .register(meterRegistry);
+        }
+
+        private Counter evictions(String region, String outcome) {
+            return Counter.builder("stirling.pdfjson.cache.evictions")
+                    .description("Editor PDFs evicted from memory, spilled to disk or dropped")
+                    .tag("cache", region)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * A cached PDF and its value. The bytes live in a direct buffer, a temp file, or both once a
+     * spilled document has been read back into memory.
+     */
+    public final class CachedPdf<T> {
+
+        private final Key key;
+        private final T value;
+        private final long pdfSize;
+        private volatile ByteBuffer memory;
+        private volatile TempFile file;
+        private volatile long lastRead = System.nanoTime();
+        private boolean released;
+
+        private CachedPdf(Key key, T value, byte[] pdfBytes) throws IOException {
+            this.key = key;
+            this.value = value;
+            this.pdfSize = pdfBytes.length;
+            this.memory = allocate(pdfBytes);
+            if (memory == null) {
+                this.file = write(pdfBytes);
+            }
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public long getPdfSize() {
+            return pdfSize;
+        }
+
+        public boolean isDiskBacked() {
+            return memory == null;
+        }
+
+        /**
+         * The PDF for {@link stirling.software.common.service.CustomPDFDocumentFactory} to load,
+         * read in place from memory or from disk without a heap copy.
+         */
+        public RandomAccessRead openPdf() throws IOException {
+            ByteBuffer buffer = memory;
+            if (buffer != null) {
+                return new RandomAccessReadBuffer(buffer.asReadOnlyBuffer());
+            }
+            return new RandomAccessReadBufferedFile(spilledFile().getFile());
+        }
+
+        /** Writes the PDF to {@code out}, which is left open. */
+        public void transferTo(OutputStream out) throws IOException {
+            ByteBuffer buffer = memory;
+            if (buffer != null) {
+                WritableByteChannel channel = Channels.newChannel(out);
+                ByteBuffer source = buffer.asReadOnlyBuffer();
+                while (source.hasRemaining()) {
+                    channel.write(source);
+                }
+                return;
+            }
+            Files.copy(spilledFile().getPath(), out);
+        }
+
+        private TempFile spilledFile() throws IOException {
+            TempFile spilled = file;
+            if (spilled == null) {
+                throw new IOException("Cached PDF backing missing");
+            }
+            return spilled;
+        }
+
+        private int weight() {
+            return (int) Math.min(Integer.MAX_VALUE, pdfSize);
+        }
+
+        /**
+         * Moves the bytes to disk, reusing the file a document read back from disk still has.
+         * False if that failed and the document was dropped.
+         */
+        private synchronized boolean spill() {
+            if (released || memory == null) {
+                return true;
+            }
+            try {
+                if (file == null) {
+                    file = write(memory);
+                }
+            } catch (IOException e) {
+                log.warn(
+                        "Failed to spill cached PDF for {} {} to disk, dropping it: {}",
+                        key.region(),
+                        key.id(),
+                        e.getMessage());
+                release();
+                return false;
+            }
+            memory = null;
+            memoryBytes.addAndGet(-pdfSize);
+            return true;
+        }
+
+        /** Reads the spilled bytes back into memory. False if there is no memory to hold them. */
+        private synchronized boolean load() throws IOException {
+            if (released || file == null) {
+                return false;
+            }
+            if (memory != null) {
+                return true;
+            }
+            ByteBuffer buffer = allocate((int) pdfSize);
+            if (buffer == null) {
+                return false;
+            }
+            try (FileChannel channel = FileChannel.open(file.getPath(), StandardOpenOption.READ)) {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        throw new EOFException("Cached PDF file is truncated");
+                    }
+                }
+            }
+            memory = buffer.clear();
+            memoryBytes.addAndGet(pdfSize);
+            return true;
+        }
+
+        /**
+         * Frees this document's disk space: a document also in memory only loses its file, one
+         * that is only on disk is released. True if it was released.
+         */
+        private synchronized boolean trimDisk() {
+            if (released || file == null) {
+                return false;
+            }
+            if (memory != null) {
+                file.close();
+                file = null;
+                diskBytes.addAndGet(-pdfSize);
+                return false;
+            }
+            release();
+            return true;
+        }
+
+        private synchronized void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            if (memory != null) {
+                memory = null;
+                memoryBytes.addAndGet(-pdfSize);
+            }
+            if (file != null) {
+                file.close();
+                file = null;
+                diskBytes.addAndGet(-pdfSize);
+            }
+        }
+
+        private ByteBuffer allocate(byte[] bytes) {
+            ByteBuffer buffer = allocate(bytes.length);
+            if (buffer == null) {
+                return null;
+            }
+            buffer.put(0, bytes);
+            memoryBytes.addAndGet(bytes.length);
+            return buffer;
+        }
+
+        private ByteBuffer allocate(int length) {
+            try {
+                return ByteBuffer.allocateDirect(length);
+            } catch (OutOfMemoryError e) {
+                // Direct memory is capped separately from the heap; fall back to disk
+                log.debug("No direct memory for a {} byte cached PDF", length);
+                return null;
+            }
+        }
+
+        private TempFile write(byte[] bytes) throws IOException {
+            return write(ByteBuffer.wrap(bytes));
+        }
+
+        private TempFile write(ByteBuffer bytes) throws IOException {
+            TempFile target = new TempFile(tempFileManager, ".pdfjsoncache");
+            try (FileChannel channel =
+                    FileChannel.open(
+                            target.getPath(),
+                            StandardOpenOption.WRITE,
+                            StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer source = bytes.duplicate().clear();
+                while (source.hasRemaining()) {
+                    channel.write(source);
+                }
+            } catch (IOException e) {
+                target.close();
+                throw e;
+            }
+            diskBytes.addAndGet(pdfSize);
+            return target;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package stirling.software.SPDF.service.pdfjson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+
+import stirling.software.SPDF.model.json.PdfJsonDocument;
+import stirling.software.SPDF.model.json.PdfJsonPage;
+import stirling.software.common.util.ExceptionUtils;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+/**
+ * Reads a serialized {@link PdfJsonDocument} without materialising its pages. {@link #readHeader}
+ * returns everything but the pages; {@link #forEachPage} then hands the pages over one at a time.
+ * Each reads its own pass over the input, so the top-level properties may come in any order.
+ */
+public class PdfJsonDocumentReader {
+
+    private static final String PAGES = "pages";
+
+    private final ObjectMapper objectMapper;
+
+    public PdfJsonDocumentReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @FunctionalInterface
+    public interface PageConsumer {
+        void accept(PdfJsonPage page) throws IOException;
+    }
+
+    /** Reads the document with an empty page list, skipping over the pages in the input. */
+    public PdfJsonDocument readHeader(InputStream in) throws IOException {
+        ObjectNode header = objectMapper.createObjectNode();
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            startDocument(parser);
+            while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if (PAGES.equals(name)) {
+                    parser.skipChildren();
+                } else {
+                    header.set(name, objectMapper.readTree(parser));
+                }
+            }
+        }
+        PdfJsonDocument document = objectMapper.treeToValue(header, PdfJsonDocument.class);
+        document.setPages(new ArrayList<>());
+        return document;
+    }
+
+    /**
+     * Reads each page in turn and passes it to {@code consumer}, which must not keep it beyond the
+     * call if the pages are to be released as they go.
+     *
+     * @return the number of pages read
+     */
+    public int forEachPage(InputStream in, PageConsumer consumer) throws IOException {
+        int count = 0;
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            startDocument(parser);
+            while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!PAGES.equals(name) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    PdfJsonPage page = parser.readValueAs(PdfJsonPage.class);
+                    if (page != null) {
+                        consumer.accept(page);
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private static void startDocument(JsonParser parser) {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw ExceptionUtils.createIllegalArgumentException(
+                    "error.invalidPdfJson", "PDF JSON input must be a JSON object");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package stirling.software.SPDF.service.pdfjson;
+
+import java.io.OutputStream;
+import java.util.List;
+
+import stirling.software.SPDF.model.json.PdfJsonDocument;
+import stirling.software.SPDF.model.json.PdfJsonFont;
+import stirling.software.SPDF.model.json.PdfJsonFormField;
+import stirling.software.SPDF.model.json.PdfJsonPage;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Writes a {@link PdfJsonDocument} one page at a time, so that only the page being written has to
+ * be held in memory. The header (metadata) comes first, then each page as it is produced, then the
+ * fonts and form fields. Fonts come last because extracting a page's text can discover more of
+ * them. The output has the same properties as the serialized document and reads back as a {@link
+ * PdfJsonDocument}; {@link PdfJsonDocumentReader} does not depend on their order.
+ */
+public class PdfJsonDocumentWriter implements AutoCloseable {
+
+    private final JsonGenerator generator;
+
+    public PdfJsonDocumentWriter(ObjectMapper objectMapper, OutputStream out) {
+        this.generator = objectMapper.createGenerator(out);
+    }
+
+    /** Writes everything in {@code header} except its pages, fonts and form fields. */
+    public void writeHeader(PdfJsonDocument header) {
+        generator.writeStartObject();
+        if (header.getMetadata() != null) {
+            generator.writePOJOProperty("metadata", header.getMetadata());
+        }
+        if (header.getXmpMetadata() != null) {
+            generator.writeStringProperty("xmpMetadata", header.getXmpMetadata());
+        }
+        if (header.isLazyImages()) {
+            generator.writeBooleanProperty("lazyImages", true);
+        }
+        generator.writeName("pages");
+        generator.writeStartArray();
+    }
+
+    public void writePage(PdfJsonPage page) {
+        generator.writePOJO(page);
+    }
+
+    /** Closes the page array and writes the fonts and form fields that follow it. */
+    public void finish(List<PdfJsonFont> fonts, List<PdfJsonFormField> formFields) {
+        generator.writeEndArray();
+        writeList("fonts", fonts);
+        writeList("formFields", formFields);
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    @Override
+    public void close() {
+        generator.close();
+    }
+
+    private void writeList(String name, List<?> values) {
+        // Empty lists are left out, as they are when the whole document is serialized
+        if (values != null && !values.isEmpty()) {
+            generator.writePOJOProperty(name, values);
+        }
+    }
+}
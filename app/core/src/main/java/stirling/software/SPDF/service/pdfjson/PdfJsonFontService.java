@@ -1,13 +1,24 @@
 package stirling.software.SPDF.service.pdfjson;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +34,9 @@ import stirling.software.common.util.TempFileManager;
 @RequiredArgsConstructor
 public class PdfJsonFontService {
 
+    // Same limit as a one-shot conversion through ProcessExecutor
+    private static final long WORKER_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
     private final TempFileManager tempFileManager;
     private final stirling.software.common.model.ApplicationProperties applicationProperties;
 
@@ -36,9 +50,27 @@ public class PdfJsonFontService {
 
     private String fontforgeCommand;
 
+    private int workerPoolSize;
+
+    private int cacheMaxEntries;
+
     private volatile boolean pythonCffConverterAvailable;
     private volatile boolean fontForgeCffConverterAvailable;
 
+    private volatile CffConverterWorkerPool pythonWorkerPool;
+
+    // Converted programs keyed by the SHA-256 of the program and of its ToUnicode map, so a font
+    // embedded in many documents is converted once. Access-ordered, evicting the least recently
+    // used entry.
+    private final Map<String, byte[]> convertedPrograms =
+            Collections.synchronizedMap(
+                    new LinkedHashMap<>(16, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                            return size() > cacheMaxEntries;
+                        }
+                    });
+
     @PostConstruct
     private void initialiseCffConverterAvailability() {
         loadConfiguration();
@@ -68,9 +100,30 @@ public class PdfJsonFontService {
             log.info("[FONT-DEBUG] FontForge command '{}' is available", fontforgeCommand);
         }
 
+        if (pythonCffConverterAvailable
+                && workerPoolSize > 0
+                && pythonScript != null
+                && !pythonScript.isBlank()) {
+            pythonWorkerPool =
+                    new CffConverterWorkerPool(
+                            List.of(pythonCommand, pythonScript, "--serve"),
+                            workerPoolSize,
+                            WORKER_TIMEOUT_MILLIS);
+            log.info("[FONT-DEBUG] Using {} persistent Python CFF converter(s)", workerPoolSize);
+        }
+
         log.info("[FONT-DEBUG] Selected CFF converter method: {}", cffConverterMethod);
     }
 
+    @PreDestroy
+    private void shutdownWorkerPool() {
+        CffConverterWorkerPool pool = pythonWorkerPool;
+        pythonWorkerPool = null;
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
     private void loadConfiguration() {
         if (applicationProperties.getPdfEditor() != null
                 && applicationProperties.getPdfEditor().getCffConverter() != null) {
@@ -80,6 +133,8 @@ public class PdfJsonFontService {
             this.pythonCommand = cfg.getPythonCommand();
             this.pythonScript = cfg.getPythonScript();
             this.fontforgeCommand = cfg.getFontforgeCommand();
+            this.workerPoolSize = cfg.getWorkerPoolSize();
+            this.cacheMaxEntries = cfg.getCacheMaxEntries();
         } else {
             // Use defaults when config is not available
             this.cffConversionEnabled = false;
@@ -96,6 +151,21 @@ public class PdfJsonFontService {
             return null;
         }
 
+        String cacheKey = programCacheKey(fontBytes, toUnicode);
+        byte[] cached = convertedPrograms.get(cacheKey);
+        if (cached != null) {
+            log.debug("[FONT-DEBUG] Reusing converted CFF font: {} bytes", fontBytes.length);
+            return cached;
+        }
+        byte[] converted = convertCffProgram(fontBytes, toUnicode);
+        // Only successes are kept: a failure may be a busy or crashed converter
+        if (converted != null) {
+            convertedPrograms.put(cacheKey, converted);
+        }
+        return converted;
+    }
+
+    private byte[] convertCffProgram(byte[] fontBytes, String toUnicode) {
         log.info(
                 "[FONT-DEBUG] Converting CFF font: {} bytes, method: {}",
                 fontBytes.length,
@@ -233,17 +303,28 @@ public class PdfJsonFontService {
                             toUnicodeFile != null ? toUnicodeFile.getAbsolutePath() : null);
             log.debug("[FONT-DEBUG] Executing: {}", String.join(" ", command));
 
-            ProcessExecutorResult result =
-                    ProcessExecutor.getInstance(ProcessExecutor.Processes.CFF_CONVERTER)
-                            .runCommandWithOutputHandling(java.util.Arrays.asList(command));
-
-            if (result.getRc() != 0) {
-                log.error(
-                        "[FONT-DEBUG] Python CFF conversion failed with exit code: {}",
-                        result.getRc());
-                log.error("[FONT-DEBUG] Stdout: {}", result.getMessages());
+            CffConverterWorkerPool.Result pooled =
+                    convertUsingWorkerPool(
+                            inputFile.getPath(),
+                            outputFile.getPath(),
+                            toUnicodeFile != null ? toUnicodeFile.getPath() : null);
+            if (pooled == CffConverterWorkerPool.Result.FAILED) {
+                log.error("[FONT-DEBUG] Python CFF conversion failed in persistent converter");
                 return null;
             }
+            if (pooled == CffConverterWorkerPool.Result.UNAVAILABLE) {
+                ProcessExecutorResult result =
+                        ProcessExecutor.getInstance(ProcessExecutor.Processes.CFF_CONVERTER)
+                                .runCommandWithOutputHandling(java.util.Arrays.asList(command));
+
+                if (result.getRc() != 0) {
+                    log.error(
+                            "[FONT-DEBUG] Python CFF conversion failed with exit code: {}",
+                            result.getRc());
+                    log.error("[FONT-DEBUG] Stdout: {}", result.getMessages());
+                    return null;
+                }
+            }
             if (!Files.exists(outputFile.getPath())) {
                 log.error("[FONT-DEBUG] Python CFF conversion produced no output file");
                 return null;
@@ -322,6 +403,30 @@ public class PdfJsonFontService {
         }
     }
 
+    /** Converts with a persistent worker, or returns UNAVAILABLE if there are none. */
+    private CffConverterWorkerPool.Result convertUsingWorkerPool(
+            Path input, Path output, Path toUnicode) throws InterruptedException {
+        CffConverterWorkerPool pool = pythonWorkerPool;
+        if (pool == null) {
+            return CffConverterWorkerPool.Result.UNAVAILABLE;
+        }
+        return pool.convert(input, output, toUnicode);
+    }
+
+    private static String programCacheKey(byte[] fontBytes, String toUnicode) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String key = HexFormat.of().formatHex(digest.digest(fontBytes));
+            if (toUnicode == null) {
+                return key;
+            }
+            byte[] toUnicodeHash = digest.digest(toUnicode.getBytes(StandardCharsets.UTF_8));
+            return key + ":" + HexFormat.of().formatHex(toUnicodeHash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     private boolean isCommandAvailable(String command) {
         if (command == null || command.isBlank()) {
             return false;
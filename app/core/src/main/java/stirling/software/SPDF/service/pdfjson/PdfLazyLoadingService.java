@@ -6,7 +6,6 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -19,7 +18,6 @@ import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -33,6 +31,7 @@ import stirling.software.SPDF.model.json.PdfJsonPage;
 import stirling.software.SPDF.model.json.PdfJsonPageDimension;
 import stirling.software.SPDF.model.json.PdfJsonStream;
 import stirling.software.SPDF.model.json.PdfJsonTextElement;
+import stirling.software.SPDF.service.pdfjson.PdfJsonDocumentCache.CachedPdf;
 import stirling.software.common.service.CustomPDFDocumentFactory;
 import stirling.software.common.service.TaskManager;
 import stirling.software.common.util.ExceptionUtils;
@@ -48,30 +47,20 @@ import tools.jackson.databind.ObjectMapper;
 @RequiredArgsConstructor
 public class PdfLazyLoadingService {
 
+    /** Region of {@link PdfJsonDocumentCache} holding this service's documents. */
+    static final String DOCUMENT_CACHE_REGION = "pdf-json-lazy";
+
     private final CustomPDFDocumentFactory pdfDocumentFactory;
     private final ObjectMapper objectMapper;
     private final TaskManager taskManager;
     private final PdfJsonMetadataService metadataService;
     private final PdfJsonImageService imageService;
 
-    /** Cache for storing PDDocuments for lazy page loading. Key is jobId. */
-    private final Map<String, CachedPdfDocument> documentCache = new ConcurrentHashMap<>();
+    /** Cache for the PDF bytes and metadata used for lazy page loading. Key is jobId. */
+    private final PdfJsonDocumentCache documentCache;
 
-    /**
-     * Stores PDF file bytes for lazy page loading. Each page is extracted on-demand by re-loading
-     * the PDF from bytes.
-     */
-    @Data
-    private static class CachedPdfDocument {
-        private final byte[] pdfBytes;
-        private final PdfJsonDocumentMetadata metadata;
-        private final long timestamp;
-
-        public CachedPdfDocument(byte[] pdfBytes, PdfJsonDocumentMetadata metadata) {
-            this.pdfBytes = pdfBytes;
-            this.metadata = metadata;
-            this.timestamp = System.currentTimeMillis();
-        }
+    private PdfJsonDocumentCache.Region<PdfJsonDocumentMetadata> cachedDocuments() {
+        return documentCache.region(DOCUMENT_CACHE_REGION);
     }
 
     /**
@@ -148,8 +137,7 @@ public class PdfLazyLoadingService {
 
             // Cache PDF bytes and metadata for lazy page loading
             if (jobId != null) {
-                CachedPdfDocument cached = new CachedPdfDocument(pdfBytes, docMetadata);
-                documentCache.put(jobId, cached);
+                cachedDocuments().put(jobId, pdfBytes, docMetadata);
                 log.info(
                         "Cached PDF bytes ({} bytes) for lazy loading, jobId: {}",
                         pdfBytes.length,
@@ -191,13 +179,13 @@ public class PdfLazyLoadingService {
                     extractAnnotations,
             OutputStream out)
             throws IOException {
-        CachedPdfDocument cached = documentCache.get(jobId);
+        CachedPdf<PdfJsonDocumentMetadata> cached = cachedDocuments().get(jobId);
         if (cached == null) {
             throw new IllegalArgumentException("No cached document found for jobId: " + jobId);
         }
 
         int pageIndex = pageNumber - 1;
-        int totalPages = cached.getMetadata().getPageDimensions().size();
+        int totalPages = cached.getValue().getPageDimensions().size();
 
         if (pageIndex < 0 || pageIndex >= totalPages) {
             throw new IllegalArgumentException(
@@ -207,7 +195,7 @@ public class PdfLazyLoadingService {
         log.debug("Loading PDF from bytes to extract page {} (jobId: {})", pageNumber, jobId);
 
         // Re-load PDF from cached bytes and extract the single page
-        try (PDDocument document = pdfDocumentFactory.load(cached.getPdfBytes(), true)) {
+        try (PDDocument document = pdfDocumentFactory.load(cached.openPdf(), true)) {
             PDPage page = document.getPage(pageIndex);
             PdfJsonPage pageModel = new PdfJsonPage();
             pageModel.setPageNumber(pageNumber);
@@ -247,11 +235,11 @@ public class PdfLazyLoadingService {
 
     /** Clears a cached document. */
     public void clearCachedDocument(String jobId) {
-        CachedPdfDocument cached = documentCache.remove(jobId);
+        CachedPdf<PdfJsonDocumentMetadata> cached = cachedDocuments().remove(jobId);
         if (cached != null) {
             log.info(
                     "Removed cached PDF bytes ({} bytes) for jobId: {}",
-                    cached.getPdfBytes().length,
+                    cached.getPdfSize(),
                     jobId);
         }
     }
@@ -0,0 +1,64 @@
+package stirling.software.SPDF.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MetricsConfigTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(new MetricsConfig().meterFilter());
+    }
+
+    @Test
+    @DisplayName("meters outside the accepted names are dropped")
+    void deniesOtherMeters() {
+        Counter.builder("jvm.gc.pause.count").register(registry);
+
+        assertThat(registry.find("jvm.gc.pause.count").meter()).isNull();
+    }
+
+    @Test
+    @DisplayName("audit writer meters survive the filter")
+    void acceptsAuditWriterMeters() {
+        for (String outcome : new String[] {"written", "spilled", "dropped"}) {
+            Counter.builder("stirling.audit.writer.events." + outcome).register(registry);
+        }
+        Gauge.builder("stirling.audit.writer.queue.depth", () -> 0).register(registry);
+        Gauge.builder("stirling.audit.writer.spill.bytes", () -> 0).register(registry);
+
+        assertThat(registry.find("stirling.audit.writer.events.written").counter()).isNotNull();
+        assertThat(registry.find("stirling.audit.writer.events.spilled").counter()).isNotNull();
+        assertThat(registry.find("stirling.audit.writer.events.dropped").counter()).isNotNull();
+        assertThat(registry.find("stirling.audit.writer.queue.depth").gauge()).isNotNull();
+        assertThat(registry.find("stirling.audit.writer.spill.bytes").gauge()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("editor document cache meters survive the filter")
+    void acceptsPdfJsonCacheMeters() {
+        Gauge.builder("stirling.pdfjson.cache.bytes", () -> 0)
+                .tag("tier", "memory")
+                .register(registry);
+        Counter.builder("stirling.pdfjson.cache.hits").tag("cache", "editor").register(registry);
+        Counter.builder("stirling.pdfjson.cache.misses").tag("cache", "editor").register(registry);
+        Counter.builder("stirling.pdfjson.cache.evictions")
+                .tag("cache", "editor")
+                .register(registry);
+
+        assertThat(registry.find("stirling.pdfjson.cache.bytes").gauge()).isNotNull();
+        assertThat(registry.find("stirling.pdfjson.cache.hits").counter()).isNotNull();
+        assertThat(registry.find("stirling.pdfjson.cache.misses").counter()).isNotNull();
+        assertThat(registry.find("stirling.pdfjson.cache.evictions").counter()).isNotNull();
+    }
+}
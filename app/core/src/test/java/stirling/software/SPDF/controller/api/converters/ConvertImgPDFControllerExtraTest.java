@@ -10,16 +10,19 @@ import static org.mockito.ArgumentMatchers.eq;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.rendering.ImageType;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
@@ -27,6 +30,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockMultipartFile;
@@ -39,12 +43,13 @@ import stirling.software.common.util.GeneralUtils;
 import stirling.software.common.util.PdfUtils;
 import stirling.software.common.util.ProcessExecutor;
 import stirling.software.common.util.ProcessExecutor.ProcessExecutorResult;
+import stirling.software.common.util.TempFile;
 import stirling.software.common.util.TempFileManager;
 import stirling.software.common.util.WebResponseUtils;
 
 /**
  * Extra branch coverage for {@link ConvertImgPDFController#convertToImage} not exercised by the
- * existing tests: the null-result logging branch, the octet-stream media-type fallback, and the
+ * existing tests: the empty-result logging branch, the octet-stream media-type fallback, and the
  * webp-with-Python path that produces no output files. The Python/ProcessExecutor boundary is
  * mocked so no interpreter or external binary ever runs.
  */
@@ -59,6 +64,17 @@ class ConvertImgPDFControllerExtraTest {
 
     @InjectMocks private ConvertImgPDFController controller;
 
+    @TempDir Path tempDir;
+
+    @BeforeEach
+    void stubOutputFile() throws IOException {
+        // The rendered output goes to a real TempFile backed by a file in tempDir
+        Mockito.when(tempFileManager.createTempFile(any()))
+                .thenAnswer(inv -> Files.createTempFile(tempDir, "out", ".tmp").toFile());
+        Mockito.when(tempFileManager.createManagedTempFile(any()))
+                .thenAnswer(inv -> new TempFile(tempFileManager, inv.getArgument(0)));
+    }
+
     private static byte[] tinyPdfBytes(int pages) throws IOException {
         try (PDDocument doc = new PDDocument();
                 ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
@@ -99,8 +115,8 @@ class ConvertImgPDFControllerExtraTest {
     class NonWebp {
 
         @Test
-        @DisplayName("null render result still produces a single-image response")
-        void nullResultStillResponds() throws Exception {
+        @DisplayName("empty render output still produces a single-image response")
+        void emptyResultStillResponds() throws Exception {
             byte[] pdfBytes = tinyPdfBytes(1);
             ConvertToImageRequest request = baseRequest(pdfBytes, "png");
 
@@ -108,29 +124,20 @@ class ConvertImgPDFControllerExtraTest {
                     .thenReturn(tinyDocument(1));
 
             @SuppressWarnings("unchecked")
-            ResponseEntity<byte[]> expected = Mockito.mock(ResponseEntity.class);
+            ResponseEntity<Resource> expected = Mockito.mock(ResponseEntity.class);
 
             try (MockedStatic<PdfUtils> pu = Mockito.mockStatic(PdfUtils.class);
                     MockedStatic<WebResponseUtils> wr =
                             Mockito.mockStatic(WebResponseUtils.class)) {
 
-                // Null bytes hit the "resultant bytes is null" log branch but still respond.
-                pu.when(
-                                () ->
-                                        PdfUtils.convertFromPdf(
-                                                eq(pdfDocumentFactory),
-                                                any(byte[].class),
-                                                eq("PNG"),
-                                                eq(ImageType.RGB),
-                                                eq(true),
-                                                eq(72),
-                                                any(String.class),
-                                                eq(false)))
-                        .thenReturn(null);
+                // The mocked render writes nothing, which hits the "resultant file is empty" log
+                // branch but still responds.
                 wr.when(
                                 () ->
-                                        WebResponseUtils.bytesToWebResponse(
-                                                any(), any(String.class), any(MediaType.class)))
+                                        WebResponseUtils.fileToWebResponse(
+                                                any(TempFile.class),
+                                                any(String.class),
+                                                any(MediaType.class)))
                         .thenReturn(expected);
 
                 ResponseEntity<?> response = controller.convertToImage(request);
@@ -181,8 +188,13 @@ class ConvertImgPDFControllerExtraTest {
                                                 anyBoolean(),
                                                 anyInt(),
                                                 any(String.class),
-                                                anyBoolean()))
-                        .thenReturn("png-image".getBytes());
+                                                anyBoolean(),
+                                                any(Path.class)))
+                        .thenAnswer(
+                                inv -> {
+                                    Files.write(inv.getArgument(8), "png-image".getBytes());
+                                    return null;
+                                });
                 gu.when(
                                 () ->
                                         GeneralUtils.parsePageList(
@@ -10,15 +10,19 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.rendering.ImageType;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
@@ -26,6 +30,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -486,6 +491,17 @@ class ConvertImgPDFControllerGapTest {
     @DisplayName("convertToImage")
     class ConvertToImage {
 
+        @TempDir Path tempDir;
+
+        @BeforeEach
+        void stubOutputFile() throws IOException {
+            // The rendered output goes to a real TempFile backed by a file in tempDir
+            Mockito.when(tempFileManager.createTempFile(any()))
+                    .thenAnswer(inv -> Files.createTempFile(tempDir, "out", ".tmp").toFile());
+            Mockito.when(tempFileManager.createManagedTempFile(any()))
+                    .thenAnswer(inv -> new TempFile(tempFileManager, inv.getArgument(0)));
+        }
+
         private MockMultipartFile imagePdf(byte[] bytes) {
             return pdfFile("source.pdf", bytes);
         }
@@ -510,7 +526,8 @@ class ConvertImgPDFControllerGapTest {
                     .thenReturn(tinyDocument(1));
 
             byte[] imageBytes = "png-image".getBytes();
-            ResponseEntity<byte[]> expected = ResponseEntity.ok(imageBytes);
+            ResponseEntity<Resource> expected =
+                    ResponseEntity.ok(new ByteArrayResource(imageBytes));
 
             try (MockedStatic<PdfUtils> pu = Mockito.mockStatic(PdfUtils.class);
                     MockedStatic<WebResponseUtils> wr =
@@ -526,12 +543,17 @@ class ConvertImgPDFControllerGapTest {
                                                 eq(true),
                                                 eq(72),
                                                 any(String.class),
-                                                eq(false)))
-                        .thenReturn(imageBytes);
+                                                eq(false),
+                                                any(Path.class)))
+                        .thenAnswer(
+                                inv -> {
+                                    Files.write(inv.getArgument(8), imageBytes);
+                                    return null;
+                                });
                 wr.when(
                                 () ->
-                                        WebResponseUtils.bytesToWebResponse(
-                                                eq(imageBytes),
+                                        WebResponseUtils.fileToWebResponse(
+                                                any(TempFile.class),
                                                 any(String.class),
                                                 any(MediaType.class)))
                         .thenReturn(expected);
@@ -561,7 +583,8 @@ class ConvertImgPDFControllerGapTest {
                     .thenReturn(tinyDocument(2));
 
             byte[] zipBytes = "zip-bytes".getBytes();
-            ResponseEntity<byte[]> expected = ResponseEntity.ok(zipBytes);
+            ResponseEntity<Resource> expected =
+                    ResponseEntity.ok(new ByteArrayResource(zipBytes));
 
             try (MockedStatic<PdfUtils> pu = Mockito.mockStatic(PdfUtils.class);
                     MockedStatic<WebResponseUtils> wr =
@@ -578,14 +601,17 @@ class ConvertImgPDFControllerGapTest {
                                                 eq(false),
                                                 eq(72),
                                                 any(String.class),
-                                                eq(true)))
-                        .thenReturn(zipBytes);
+                                                eq(true),
+                                                any(Path.class)))
+                        .thenAnswer(
+                                inv -> {
+                                    Files.write(inv.getArgument(8), zipBytes);
+                                    return null;
+                                });
                 wr.when(
                                 () ->
-                                        WebResponseUtils.bytesToWebResponse(
-                                                eq(zipBytes),
-                                                any(String.class),
-                                                eq(MediaType.APPLICATION_OCTET_STREAM)))
+                                        WebResponseUtils.zipFileToWebResponse(
+                                                any(TempFile.class), any(String.class)))
                         .thenReturn(expected);
 
                 ResponseEntity<?> response = controller.convertToImage(request);
@@ -613,7 +639,8 @@ class ConvertImgPDFControllerGapTest {
                     .thenReturn(tinyDocument(1));
 
             byte[] imageBytes = "bw-image".getBytes();
-            ResponseEntity<byte[]> expected = ResponseEntity.ok(imageBytes);
+            ResponseEntity<Resource> expected =
+                    ResponseEntity.ok(new ByteArrayResource(imageBytes));
 
             try (MockedStatic<PdfUtils> pu = Mockito.mockStatic(PdfUtils.class);
                     MockedStatic<WebResponseUtils> wr =
@@ -629,12 +656,17 @@ class ConvertImgPDFControllerGapTest {
                                                 eq(true),
                                                 eq(72),
                                                 any(String.class),
-                                                eq(false)))
-                        .thenReturn(imageBytes);
+                                                eq(false),
+                                                any(Path.class)))
+                        .thenAnswer(
+                                inv -> {
+                                    Files.write(inv.getArgument(8), imageBytes);
+                                    return null;
+                                });
                 wr.when(
                                 () ->
-                                        WebResponseUtils.bytesToWebResponse(
-                                                eq(imageBytes),
+                                        WebResponseUtils.fileToWebResponse(
+                                                any(TempFile.class),
                                                 any(String.class),
                                                 any(MediaType.class)))
                         .thenReturn(expected);
@@ -664,7 +696,8 @@ class ConvertImgPDFControllerGapTest {
                     .thenReturn(tinyDocument(1));
 
             byte[] imageBytes = "png-image".getBytes();
-            ResponseEntity<byte[]> expected = ResponseEntity.ok(imageBytes);
+            ResponseEntity<Resource> expected =
+                    ResponseEntity.ok(new ByteArrayResource(imageBytes));
 
             try (MockedStatic<PdfUtils> pu = Mockito.mockStatic(PdfUtils.class);
                     MockedStatic<WebResponseUtils> wr =
@@ -681,12 +714,17 @@ class ConvertImgPDFControllerGapTest {
                                                 eq(true),
                                                 eq(72),
                                                 any(String.class),
-                                                eq(false)))
-                        .thenReturn(imageBytes);
+                                                eq(false),
+                                                any(Path.class)))
+                        .thenAnswer(
+                                inv -> {
+                                    Files.write(inv.getArgument(8), imageBytes);
+                                    return null;
+                                });
                 wr.when(
                                 () ->
-                                        WebResponseUtils.bytesToWebResponse(
-                                                eq(imageBytes),
+                                        WebResponseUtils.fileToWebResponse(
+                                                any(TempFile.class),
                                                 any(String.class),
                                                 any(MediaType.class)))
                         .thenReturn(expected);
@@ -730,8 +768,13 @@ class ConvertImgPDFControllerGapTest {
                                                 anyBoolean(),
                                                 anyInt(),
                                                 any(String.class),
-                                                anyBoolean()))
-                        .thenReturn("png-image".getBytes());
+                                                anyBoolean(),
+                                                any(Path.class)))
+                        .thenAnswer(
+                                inv -> {
+                                    Files.write(inv.getArgument(8), "png-image".getBytes());
+                                    return null;
+                                });
                 cpi.when(CheckProgramInstall::isPythonAvailable).thenReturn(false);
 
                 assertThrows(IOException.class, () -> controller.convertToImage(request));
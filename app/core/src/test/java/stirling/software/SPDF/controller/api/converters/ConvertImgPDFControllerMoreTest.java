@@ -7,6 +7,8 @@ import static org.mockito.ArgumentMatchers.eq;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -16,6 +18,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
@@ -23,6 +26,8 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockMultipartFile;
@@ -33,6 +38,7 @@ import stirling.software.SPDF.model.api.converters.ConvertToPdfRequest;
 import stirling.software.common.service.CustomPDFDocumentFactory;
 import stirling.software.common.util.GeneralUtils;
 import stirling.software.common.util.PdfUtils;
+import stirling.software.common.util.TempFile;
 import stirling.software.common.util.TempFileManager;
 import stirling.software.common.util.WebResponseUtils;
 
@@ -197,6 +203,8 @@ class ConvertImgPDFControllerMoreTest {
     @DisplayName("convertToImage explicit page selection")
     class ExplicitPages {
 
+        @TempDir Path tempDir;
+
         @Test
         @DisplayName("a specific page-number list is parsed and rendered")
         void specificPageList() throws Exception {
@@ -216,9 +224,14 @@ class ConvertImgPDFControllerMoreTest {
             // rearrangePdfPages loads a real document and selects pages 1 and 3.
             Mockito.when(pdfDocumentFactory.load(any(MockMultipartFile.class)))
                     .thenReturn(tinyDoc(3));
+            Mockito.when(tempFileManager.createTempFile(any()))
+                    .thenReturn(tempDir.resolve("out.png").toFile());
+            Mockito.when(tempFileManager.createManagedTempFile(any()))
+                    .thenAnswer(inv -> new TempFile(tempFileManager, inv.getArgument(0)));
 
             byte[] imageBytes = "img".getBytes();
-            ResponseEntity<byte[]> expected = ResponseEntity.ok(imageBytes);
+            ResponseEntity<Resource> expected =
+                    ResponseEntity.ok(new ByteArrayResource(imageBytes));
 
             try (MockedStatic<PdfUtils> pu = Mockito.mockStatic(PdfUtils.class);
                     MockedStatic<WebResponseUtils> wr =
@@ -234,12 +247,17 @@ class ConvertImgPDFControllerMoreTest {
                                                 eq(true),
                                                 eq(72),
                                                 any(String.class),
-                                                eq(false)))
-                        .thenReturn(imageBytes);
+                                                eq(false),
+                                                any(Path.class)))
+                        .thenAnswer(
+                                inv -> {
+                                    Files.write(inv.getArgument(8), imageBytes);
+                                    return null;
+                                });
                 wr.when(
                                 () ->
-                                        WebResponseUtils.bytesToWebResponse(
-                                                eq(imageBytes),
+                                        WebResponseUtils.fileToWebResponse(
+                                                any(TempFile.class),
                                                 any(String.class),
                                                 any(MediaType.class)))
                         .thenReturn(expected);
@@ -14,6 +14,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import stirling.software.SPDF.pdf.parser.TextLayer;
+
 class AllTextLineExtractorTest {
 
     private PDDocument doc;
@@ -39,9 +41,8 @@ class AllTextLineExtractorTest {
 
     private AllTextLineExtractor extract() throws IOException {
         float pageHeight = page.getMediaBox().getHeight();
-        AllTextLineExtractor extractor = new AllTextLineExtractor(1, pageHeight);
-        extractor.getText(doc);
-        return extractor;
+        TextLayer.Page text = TextLayer.of(doc, TextLayer.Order.POSITION).page(0);
+        return new AllTextLineExtractor(text, pageHeight);
     }
 
     @Nested
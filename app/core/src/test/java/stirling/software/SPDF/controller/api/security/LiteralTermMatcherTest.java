@@ -0,0 +1,143 @@
+package stirling.software.SPDF.controller.api.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import stirling.software.SPDF.controller.api.security.LiteralTermMatcher.Match;
+
+class LiteralTermMatcherTest {
+
+    private static List<String> spans(LiteralTermMatcher matcher, String text) {
+        return matcher.find(text).stream()
+                .map(m -> m.start() + "-" + m.end() + ":" + text.substring(m.start(), m.end()))
+                .toList();
+    }
+
+    @Nested
+    @DisplayName("matching")
+    class Matching {
+
+        @Test
+        @DisplayName("finds every term, including terms inside other terms")
+        void overlappingTerms() {
+            LiteralTermMatcher matcher =
+                    LiteralTermMatcher.compile(
+                            List.of("he", "she", "his", "hers"), false, false, false);
+
+            assertThat(spans(matcher, "ushers")).containsExactly("1-4:she", "2-4:he", "2-6:hers");
+        }
+
+        @Test
+        @DisplayName("matches of one term do not overlap each other")
+        void nonOverlappingPerTerm() {
+            LiteralTermMatcher matcher =
+                    LiteralTermMatcher.compile(List.of("aa"), false, false, false);
+
+            assertThat(spans(matcher, "aaaaa")).containsExactly("0-2:aa", "2-4:aa");
+        }
+
+        @Test
+        @DisplayName("case-insensitive matching keeps the document's own casing")
+        void caseInsensitive() {
+            LiteralTermMatcher matcher =
+                    LiteralTermMatcher.compile(List.of("john smith"), true, false, false);
+
+            assertThat(spans(matcher, "Dear JOHN Smith,")).containsExactly("5-15:JOHN Smith");
+            assertThat(
+                            LiteralTermMatcher.compile(List.of("john"), false, false, false)
+                                    .find("JOHN"))
+                    .isEmpty();
+        }
+
+        @Test
+        @DisplayName("whitespace runs match any whitespace run when enabled")
+        void ignoreWhitespace() {
+            LiteralTermMatcher matcher =
+                    LiteralTermMatcher.compile(List.of("John   Smith"), true, true, false);
+
+            assertThat(spans(matcher, "John\n Smith and John Smith"))
+                    .containsExactly("0-11:John\n Smith", "16-26:John Smith");
+            assertThat(
+                            LiteralTermMatcher.compile(List.of("John Smith"), true, false, false)
+                                    .find("John\nSmith"))
+                    .isEmpty();
+        }
+
+        @Test
+        @DisplayName("whole-word matching rejects terms inside larger words")
+        void wholeWord() {
+            LiteralTermMatcher matcher =
+                    LiteralTermMatcher.compile(List.of("cat", "7"), true, false, true);
+
+            assertThat(spans(matcher, "classification cat 17 7"))
+                    .containsExactly("15-18:cat", "22-23:7");
+        }
+
+        @Test
+        @DisplayName("blank and duplicate terms are dropped")
+        void deduplicates() {
+            LiteralTermMatcher matcher =
+                    LiteralTermMatcher.compile(
+                            List.of(" Secret ", "SECRET", "  "), true, false, false);
+
+            assertThat(matcher.terms()).containsExactly("Secret");
+            assertThat(matcher.find("secret")).containsExactly(new Match(0, 0, 6));
+        }
+    }
+
+    @Nested
+    @DisplayName("agreement with per-term regex")
+    class AgreesWithRegex {
+
+        @Test
+        @DisplayName("finds the same spans as one quoted pattern per term")
+        void randomTermsAndText() {
+            Random random = new Random(42);
+            for (int round = 0; round < 50; round++) {
+                List<String> terms = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    terms.add(randomWord(random, 1 + random.nextInt(4)));
+                }
+                String text = randomWord(random, 200);
+                LiteralTermMatcher matcher = LiteralTermMatcher.compile(terms, true, false, true);
+
+                List<String> expected = new ArrayList<>();
+                for (String term : matcher.terms()) {
+                    String quoted = Pattern.quote(term);
+                    String regex =
+                            term.length() == 1
+                                    ? "(?<![\\w])" + quoted + "(?![\\w])"
+                                    : "\\b" + quoted + "\\b";
+                    Matcher m =
+                            Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE)
+                                    .matcher(text);
+                    while (m.find()) {
+                        expected.add(m.start() + "-" + m.end());
+                    }
+                }
+                List<String> actual =
+                        matcher.find(text).stream().map(m -> m.start() + "-" + m.end()).toList();
+
+                assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+            }
+        }
+
+        private static String randomWord(Random random, int length) {
+            String alphabet = "abAB -";
+            StringBuilder word = new StringBuilder();
+            for (int i = 0; i < length; i++) {
+                word.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            return word.toString();
+        }
+    }
+}
@@ -45,6 +45,7 @@ import org.mockito.quality.Strictness;
 
 import stirling.software.SPDF.model.PDFText;
 import stirling.software.SPDF.model.api.security.ManualRedactPdfRequest;
+import stirling.software.SPDF.pdf.parser.TextLayer;
 import stirling.software.common.model.api.security.RedactionArea;
 import stirling.software.common.util.TempFile;
 import stirling.software.common.util.TempFileManager;
@@ -530,7 +531,9 @@ class ManualRedactionServiceTest {
         void extractsTextBoxes() throws Exception {
             try (PDDocument doc = newDocumentWithText()) {
                 PDPage page = doc.getPage(0);
-                List<float[]> boxes = service.extractPageElementBoxes(doc, page, 0);
+                List<float[]> boxes =
+                        service.extractPageElementBoxes(
+                                TextLayer.of(doc, TextLayer.Order.POSITION), page, 0);
                 assertNotNull(boxes);
                 assertFalse(boxes.isEmpty());
                 // Each box must have 4 coordinates [x1, y1, x2, y2].
@@ -545,7 +548,9 @@ class ManualRedactionServiceTest {
         void blankPageReturnsEmpty() throws Exception {
             try (PDDocument doc = newDocument(1)) {
                 PDPage page = doc.getPage(0);
-                List<float[]> boxes = service.extractPageElementBoxes(doc, page, 0);
+                List<float[]> boxes =
+                        service.extractPageElementBoxes(
+                                TextLayer.of(doc, TextLayer.Order.POSITION), page, 0);
                 assertNotNull(boxes);
                 assertTrue(boxes.isEmpty());
             }
@@ -18,6 +18,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import stirling.software.SPDF.model.PDFText;
+import stirling.software.SPDF.pdf.parser.TextLayer;
 
 /**
  * Additional coverage for {@link MultiPatternTextFinder} driving real PDFBox documents: multi-page
@@ -45,11 +46,8 @@ class MultiPatternTextFinderMoreTest {
 
     private static Map<Integer, List<PDFText>> scan(PDDocument doc, List<Pattern> patterns)
             throws IOException {
-        MultiPatternTextFinder finder = new MultiPatternTextFinder(patterns);
-        finder.setStartPage(1);
-        finder.setEndPage(doc.getNumberOfPages());
-        finder.getText(doc);
-        return finder.getFoundTextsByPage();
+        return new MultiPatternTextFinder(patterns)
+                .find(TextLayer.of(doc, TextLayer.Order.CONTENT));
     }
 
     @Nested
@@ -1,10 +1,14 @@
 package stirling.software.SPDF.controller.api.security;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
@@ -17,6 +21,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import stirling.software.SPDF.model.PDFText;
+import stirling.software.SPDF.pdf.parser.TextLayer;
 
 class MultiPatternTextFinderTest {
 
@@ -36,11 +41,8 @@ class MultiPatternTextFinderTest {
 
     private Map<Integer, List<PDFText>> scan(PDDocument doc, List<Pattern> patterns)
             throws IOException {
-        MultiPatternTextFinder finder = new MultiPatternTextFinder(patterns);
-        finder.setStartPage(1);
-        finder.setEndPage(doc.getNumberOfPages());
-        finder.getText(doc);
-        return finder.getFoundTextsByPage();
+        return new MultiPatternTextFinder(patterns)
+                .find(TextLayer.of(doc, TextLayer.Order.CONTENT));
     }
 
     @Nested
@@ -105,5 +107,76 @@ class MultiPatternTextFinderTest {
                 assertThat(result.get(0).get(0).getText()).isEqualTo("12345");
             }
         }
+
+        @Test
+        @DisplayName("matching page slices on several threads finds the same matches")
+        void parallelMatchesSequential() throws IOException {
+            try (PDDocument doc = new PDDocument()) {
+                for (int i = 0; i < 7; i++) {
+                    PDPage page = new PDPage();
+                    doc.addPage(page);
+                    try (PDPageContentStream cs = new PDPageContentStream(doc, page)) {
+                        cs.beginText();
+                        cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                        cs.newLineAtOffset(50, 700);
+                        cs.showText(i % 2 == 0 ? "code " + i + " here" : "nothing");
+                        cs.endText();
+                    }
+                }
+                TextLayer layer = TextLayer.of(doc, TextLayer.Order.CONTENT);
+                MultiPatternTextFinder finder =
+                        new MultiPatternTextFinder(List.of(Pattern.compile("code \\d")));
+
+                Map<Integer, List<PDFText>> sequential = finder.find(layer);
+                Map<Integer, List<PDFText>> parallel = finder.find(layer, 3);
+
+                assertThat(parallel).containsOnlyKeys(0, 2, 4, 6);
+                assertThat(parallel).isEqualTo(sequential);
+            }
+        }
+
+        @Test
+        @DisplayName("waits for a helper still matching a slow page")
+        void slowHelperPageIsReturned() throws Exception {
+            try (PDDocument doc = new PDDocument()) {
+                for (int i = 0; i < 16; i++) {
+                    PDPage page = new PDPage();
+                    doc.addPage(page);
+                    try (PDPageContentStream cs = new PDPageContentStream(doc, page)) {
+                        cs.beginText();
+                        cs.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                        cs.newLineAtOffset(50, 700);
+                        cs.showText("code " + i);
+                        cs.endText();
+                    }
+                }
+                AtomicBoolean slowPageOnHelper = new AtomicBoolean();
+                LiteralTermMatcher literals = mock(LiteralTermMatcher.class);
+                when(literals.find(anyString()))
+                        .thenAnswer(
+                                invocation -> {
+                                    String text = invocation.getArgument(0);
+                                    boolean helper =
+                                            Thread.currentThread()
+                                                    .getName()
+                                                    .startsWith("redaction-match-");
+                                    // The first page a helper takes outlasts all the caller's
+                                    Thread.sleep(
+                                            helper && slowPageOnHelper.compareAndSet(false, true)
+                                                    ? 500
+                                                    : 20);
+                                    int start = text.indexOf("code");
+                                    return List.of(
+                                            new LiteralTermMatcher.Match(0, start, start + 4));
+                                });
+
+                Map<Integer, List<PDFText>> result =
+                        new MultiPatternTextFinder(List.of(), literals)
+                                .find(TextLayer.of(doc, TextLayer.Order.CONTENT), 3);
+
+                assertThat(slowPageOnHelper).isTrue();
+                assertThat(result).hasSize(16);
+            }
+        }
     }
 }
@@ -44,6 +44,7 @@ import stirling.software.SPDF.model.api.security.RedactExecuteRequest.RedactStyl
 import stirling.software.SPDF.model.api.security.RedactExecuteRequest.RedactionStrategy;
 import stirling.software.SPDF.model.api.security.RedactExecuteRequest.TextRange;
 import stirling.software.SPDF.pdf.parser.PageColumnLayout;
+import stirling.software.SPDF.pdf.parser.TextLayerCache;
 import stirling.software.common.service.CustomPDFDocumentFactory;
 import stirling.software.common.util.TempFile;
 import stirling.software.common.util.TempFileManager;
@@ -95,7 +96,12 @@ class RedactExecuteServiceMoreTest {
 
         manualRedactionService = new ManualRedactionService(tempFileManager);
         textRedactionService = new TextRedactionService();
-        service = new RedactExecuteService(factory, manualRedactionService, textRedactionService);
+        service =
+                new RedactExecuteService(
+                        factory,
+                        manualRedactionService,
+                        textRedactionService,
+                        new TextLayerCache());
     }
 
     @AfterEach
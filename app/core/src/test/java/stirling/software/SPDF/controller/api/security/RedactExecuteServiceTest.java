@@ -22,6 +22,7 @@ import org.junit.jupiter.api.Test;
 
 import stirling.software.SPDF.model.PDFText;
 import stirling.software.SPDF.pdf.parser.PageColumnLayout;
+import stirling.software.SPDF.pdf.parser.TextLayerCache;
 
 /**
  * Integration tests for {@link RedactExecuteService#collectRangeBlocks(PDDocument, String, String,
@@ -42,7 +43,8 @@ class RedactExecuteServiceTest {
     private static final float FONT_SIZE = 11f;
 
     private final RedactExecuteService service =
-            new RedactExecuteService(null, null, new TextRedactionService());
+            new RedactExecuteService(
+                    null, null, new TextRedactionService(), new TextLayerCache());
 
     @Nested
     @DisplayName("Single-column documents")
@@ -24,6 +24,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import stirling.software.SPDF.model.PDFText;
+import stirling.software.SPDF.pdf.parser.TextLayer;
 
 /**
  * Unit tests for {@link TextRedactionService}. Exercises the pure text-matching / placeholder
@@ -173,6 +174,38 @@ class TextRedactionServiceTest {
                 assertEquals("SECRET", result.get(0).get(0).getText());
             }
         }
+
+        @Test
+        @DisplayName("finds every term of a long literal list in one scan")
+        void findsManyLiteralTerms() throws IOException {
+            String[] terms = new String[5000];
+            for (int i = 0; i < terms.length; i++) {
+                terms[i] = "ACCT-" + i;
+            }
+            try (PDDocument doc = buildDoc("ACCT-17 and ACCT-4999", "acct-250")) {
+                Map<Integer, List<PDFText>> result =
+                        service.findTextToRedact(doc, terms, false, true);
+
+                assertEquals(3, result.get(0).size());
+            }
+        }
+
+        @Test
+        @DisplayName("ignoring whitespace matches a phrase broken across lines")
+        void ignoreWhitespaceMatchesAcrossLines() throws IOException {
+            try (PDDocument doc = buildDoc("Dear John", "Smith, hello")) {
+                TextLayer text = TextLayer.of(doc, TextLayer.Order.CONTENT);
+
+                assertTrue(
+                        service.findTextToRedact(
+                                        text, new String[] {"John Smith"}, false, false, false)
+                                .isEmpty());
+                Map<Integer, List<PDFText>> result =
+                        service.findTextToRedact(
+                                text, new String[] {"John Smith"}, false, false, true);
+                assertEquals(1, result.get(0).size());
+            }
+        }
     }
 
     // ── performTextReplacement ───────────────────────────────────────────────────────────────────
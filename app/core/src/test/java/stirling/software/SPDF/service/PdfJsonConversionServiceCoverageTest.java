@@ -1,6 +1,7 @@
 package stirling.software.SPDF.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -20,11 +21,13 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessRead;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDDocumentInformation;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -47,6 +50,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.quality.Strictness;
 import org.springframework.mock.web.MockMultipartFile;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import stirling.software.SPDF.config.EndpointConfiguration;
 import stirling.software.SPDF.exception.CacheUnavailableException;
 import stirling.software.SPDF.model.json.PdfJsonAnnotation;
@@ -58,6 +63,8 @@ import stirling.software.SPDF.model.json.PdfJsonMetadata;
 import stirling.software.SPDF.model.json.PdfJsonPage;
 import stirling.software.SPDF.model.json.PdfJsonTextColor;
 import stirling.software.SPDF.model.json.PdfJsonTextElement;
+import stirling.software.SPDF.service.pdfjson.PdfJsonBlobStore;
+import stirling.software.SPDF.service.pdfjson.PdfJsonDocumentCache;
 import stirling.software.SPDF.service.pdfjson.PdfJsonFontService;
 import stirling.software.SPDF.service.pdfjson.type3.Type3FontConversionService;
 import stirling.software.SPDF.service.pdfjson.type3.Type3GlyphExtractor;
@@ -123,7 +130,9 @@ class PdfJsonConversionServiceCoverageTest {
                         fontService,
                         type3FontConversionService,
                         type3GlyphExtractor,
-                        applicationProperties);
+                        applicationProperties,
+                        new PdfJsonBlobStore(tempFileManager),
+                        new PdfJsonDocumentCache(tempFileManager, -1, new SimpleMeterRegistry()));
 
         when(tempFileManager.createTempFile(anyString()))
                 .thenAnswer(
@@ -345,7 +354,7 @@ class PdfJsonConversionServiceCoverageTest {
     /**
      * Populates the document cache by running a lazy conversion (jobId present on JobContext) so
      * the cache-backed page/font/export endpoints can be exercised afterwards. The factory is
-     * stubbed to load from both Path and raw bytes for the subsequent cache re-loads.
+     * stubbed to load from Path and raw bytes, and from the cached buffer on later re-loads.
      */
     private PdfJsonDocument cacheLazyDocument(String jobId, byte[] pdfBytes) throws IOException {
         when(pdfDocumentFactory.load(any(Path.class), eq(true)))
@@ -354,6 +363,10 @@ class PdfJsonConversionServiceCoverageTest {
                                 Loader.loadPDF(invocation.getArgument(0, Path.class).toFile()));
         when(pdfDocumentFactory.load(any(byte[].class), eq(true)))
                 .thenAnswer(invocation -> Loader.loadPDF(invocation.getArgument(0, byte[].class)));
+        when(pdfDocumentFactory.load(any(RandomAccessRead.class), eq(true)))
+                .thenAnswer(
+                        invocation ->
+                                Loader.loadPDF(invocation.getArgument(0, RandomAccessRead.class)));
         JobContext.setJobId(jobId);
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         service.convertPdfToJson(pdfMultipart(pdfBytes), true, out);
@@ -934,6 +947,8 @@ class PdfJsonConversionServiceCoverageTest {
         void extractDocumentMetadataCaches() throws IOException {
             when(pdfDocumentFactory.load(any(byte[].class), eq(true)))
                     .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, byte[].class)));
+            when(pdfDocumentFactory.load(any(RandomAccessRead.class), eq(true)))
+                    .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, RandomAccessRead.class)));
             ByteArrayOutputStream out = new ByteArrayOutputStream();
             service.extractDocumentMetadata(pdfMultipart(richTextPdf()), "job-meta", out);
             PdfJsonDocumentMetadata md =
@@ -987,6 +1002,33 @@ class PdfJsonConversionServiceCoverageTest {
             }
         }
 
+        @Test
+        @DisplayName("exportUpdatedPages appends the edit as an incremental update")
+        void exportUpdatedPagesSavesIncrementally() throws IOException {
+            stubFallbackFont();
+            cacheLazyDocument("job-export-incr", simpleTextPdf());
+            ByteArrayOutputStream original = new ByteArrayOutputStream();
+            service.exportUpdatedPages("job-export-incr", new PdfJsonDocument(), original);
+
+            ByteArrayOutputStream pageOut = new ByteArrayOutputStream();
+            service.extractSinglePage("job-export-incr", 1, pageOut);
+            PdfJsonPage page = objectMapper.readValue(pageOut.toByteArray(), PdfJsonPage.class);
+            page.setPageNumber(1);
+            PdfJsonDocument updates = new PdfJsonDocument();
+            updates.setPages(List.of(page));
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            service.exportUpdatedPages("job-export-incr", updates, out);
+            byte[] updated = out.toByteArray();
+            byte[] originalBytes = original.toByteArray();
+            // The original file is left intact and the edit is written after it
+            assertThat(updated.length).isGreaterThan(originalBytes.length);
+            assertArrayEquals(originalBytes, Arrays.copyOf(updated, originalBytes.length));
+            try (PDDocument loaded = Loader.loadPDF(updated)) {
+                assertEquals(1, loaded.getNumberOfPages());
+            }
+        }
+
         @Test
         @DisplayName("exportUpdatedPages ignores updates for an out-of-range page")
         void exportUpdatedPagesSkipsOutOfRange() throws IOException {
@@ -1100,6 +1142,8 @@ class PdfJsonConversionServiceCoverageTest {
         void metadataWithoutJobId() throws IOException {
             when(pdfDocumentFactory.load(any(byte[].class), eq(true)))
                     .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, byte[].class)));
+            when(pdfDocumentFactory.load(any(RandomAccessRead.class), eq(true)))
+                    .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, RandomAccessRead.class)));
             ByteArrayOutputStream out = new ByteArrayOutputStream();
             service.extractDocumentMetadata(pdfMultipart(simpleTextPdf()), null, out);
             PdfJsonDocumentMetadata md =
@@ -24,6 +24,7 @@ import java.util.List;
 import javax.imageio.ImageIO;
 
 import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessRead;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
@@ -52,6 +53,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.quality.Strictness;
 import org.springframework.mock.web.MockMultipartFile;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import stirling.software.SPDF.config.EndpointConfiguration;
 import stirling.software.SPDF.model.json.PdfJsonAnnotation;
 import stirling.software.SPDF.model.json.PdfJsonDocument;
@@ -60,6 +63,8 @@ import stirling.software.SPDF.model.json.PdfJsonImageElement;
 import stirling.software.SPDF.model.json.PdfJsonPage;
 import stirling.software.SPDF.model.json.PdfJsonTextColor;
 import stirling.software.SPDF.model.json.PdfJsonTextElement;
+import stirling.software.SPDF.service.pdfjson.PdfJsonBlobStore;
+import stirling.software.SPDF.service.pdfjson.PdfJsonDocumentCache;
 import stirling.software.SPDF.service.pdfjson.PdfJsonFontService;
 import stirling.software.SPDF.service.pdfjson.type3.Type3FontConversionService;
 import stirling.software.SPDF.service.pdfjson.type3.Type3GlyphExtractor;
@@ -124,7 +129,9 @@ class PdfJsonConversionServiceDeepTest {
                         fontService,
                         type3FontConversionService,
                         type3GlyphExtractor,
-                        applicationProperties);
+                        applicationProperties,
+                        new PdfJsonBlobStore(tempFileManager),
+                        new PdfJsonDocumentCache(tempFileManager, -1, new SimpleMeterRegistry()));
 
         when(tempFileManager.createTempFile(anyString()))
                 .thenAnswer(
@@ -212,6 +219,8 @@ class PdfJsonConversionServiceDeepTest {
                 .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, Path.class).toFile()));
         when(pdfDocumentFactory.load(any(byte[].class), eq(true)))
                 .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, byte[].class)));
+        when(pdfDocumentFactory.load(any(RandomAccessRead.class), eq(true)))
+                .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, RandomAccessRead.class)));
         JobContext.setJobId(jobId);
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         service.convertPdfToJson(pdfMultipart(pdfBytes), true, out);
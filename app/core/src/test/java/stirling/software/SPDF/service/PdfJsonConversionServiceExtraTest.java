@@ -27,6 +27,7 @@ import java.util.TimeZone;
 import javax.imageio.ImageIO;
 
 import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessRead;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDDocumentInformation;
 import org.apache.pdfbox.pdmodel.PDPage;
@@ -50,6 +51,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.quality.Strictness;
 import org.springframework.mock.web.MockMultipartFile;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import stirling.software.SPDF.config.EndpointConfiguration;
 import stirling.software.SPDF.exception.CacheUnavailableException;
 import stirling.software.SPDF.model.json.PdfJsonDocument;
@@ -60,6 +63,8 @@ import stirling.software.SPDF.model.json.PdfJsonMetadata;
 import stirling.software.SPDF.model.json.PdfJsonPage;
 import stirling.software.SPDF.model.json.PdfJsonTextColor;
 import stirling.software.SPDF.model.json.PdfJsonTextElement;
+import stirling.software.SPDF.service.pdfjson.PdfJsonBlobStore;
+import stirling.software.SPDF.service.pdfjson.PdfJsonDocumentCache;
 import stirling.software.SPDF.service.pdfjson.PdfJsonFontService;
 import stirling.software.SPDF.service.pdfjson.type3.Type3FontConversionService;
 import stirling.software.SPDF.service.pdfjson.type3.Type3GlyphExtractor;
@@ -126,7 +131,9 @@ class PdfJsonConversionServiceExtraTest {
                         fontService,
                         type3FontConversionService,
                         type3GlyphExtractor,
-                        applicationProperties);
+                        applicationProperties,
+                        new PdfJsonBlobStore(tempFileManager),
+                        new PdfJsonDocumentCache(tempFileManager, -1, new SimpleMeterRegistry()));
 
         when(tempFileManager.createTempFile(anyString()))
                 .thenAnswer(
@@ -228,6 +235,8 @@ class PdfJsonConversionServiceExtraTest {
                 .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, Path.class).toFile()));
         when(pdfDocumentFactory.load(any(byte[].class), eq(true)))
                 .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, byte[].class)));
+        when(pdfDocumentFactory.load(any(RandomAccessRead.class), eq(true)))
+                .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, RandomAccessRead.class)));
         JobContext.setJobId(jobId);
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         service.convertPdfToJson(pdfMultipart(pdfBytes), true, out);
@@ -637,6 +646,8 @@ class PdfJsonConversionServiceExtraTest {
         void metadataThenExportNoUpdates() throws IOException {
             when(pdfDocumentFactory.load(any(byte[].class), eq(true)))
                     .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, byte[].class)));
+            when(pdfDocumentFactory.load(any(RandomAccessRead.class), eq(true)))
+                    .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, RandomAccessRead.class)));
             ByteArrayOutputStream metaOut = new ByteArrayOutputStream();
             service.extractDocumentMetadata(
                     pdfMultipart(simpleTextPdf("Meta then export")), "job-meta-export", metaOut);
@@ -656,6 +667,8 @@ class PdfJsonConversionServiceExtraTest {
         void metadataThenPageFonts() throws IOException {
             when(pdfDocumentFactory.load(any(byte[].class), eq(true)))
                     .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, byte[].class)));
+            when(pdfDocumentFactory.load(any(RandomAccessRead.class), eq(true)))
+                    .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, RandomAccessRead.class)));
             ByteArrayOutputStream metaOut = new ByteArrayOutputStream();
             service.extractDocumentMetadata(
                     pdfMultipart(simpleTextPdf("Fonts via metadata")), "job-meta-fonts", metaOut);
@@ -676,6 +689,8 @@ class PdfJsonConversionServiceExtraTest {
 
             when(pdfDocumentFactory.load(any(byte[].class), eq(true)))
                     .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, byte[].class)));
+            when(pdfDocumentFactory.load(any(RandomAccessRead.class), eq(true)))
+                    .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, RandomAccessRead.class)));
             ByteArrayOutputStream out = new ByteArrayOutputStream();
             service.extractDocumentMetadata(pdfMultipart(bytes), null, out);
             PdfJsonDocumentMetadata md =
@@ -1065,6 +1080,8 @@ class PdfJsonConversionServiceExtraTest {
         void metadataReusedJobIdRefreshes() throws IOException {
             when(pdfDocumentFactory.load(any(byte[].class), eq(true)))
                     .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, byte[].class)));
+            when(pdfDocumentFactory.load(any(RandomAccessRead.class), eq(true)))
+                    .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, RandomAccessRead.class)));
             ByteArrayOutputStream first = new ByteArrayOutputStream();
             service.extractDocumentMetadata(
                     pdfMultipart(simpleTextPdf("First doc")), "job-reuse", first);
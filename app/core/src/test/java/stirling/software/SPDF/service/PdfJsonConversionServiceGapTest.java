@@ -39,12 +39,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.quality.Strictness;
 import org.springframework.mock.web.MockMultipartFile;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import stirling.software.SPDF.config.EndpointConfiguration;
 import stirling.software.SPDF.exception.CacheUnavailableException;
 import stirling.software.SPDF.model.json.PdfJsonDocument;
 import stirling.software.SPDF.model.json.PdfJsonFont;
 import stirling.software.SPDF.model.json.PdfJsonMetadata;
 import stirling.software.SPDF.model.json.PdfJsonPage;
+import stirling.software.SPDF.service.pdfjson.PdfJsonBlobStore;
+import stirling.software.SPDF.service.pdfjson.PdfJsonDocumentCache;
 import stirling.software.SPDF.service.pdfjson.PdfJsonFontService;
 import stirling.software.SPDF.service.pdfjson.type3.Type3FontConversionService;
 import stirling.software.SPDF.service.pdfjson.type3.Type3GlyphExtractor;
@@ -116,7 +120,9 @@ class PdfJsonConversionServiceGapTest {
                         fontService,
                         type3FontConversionService,
                         type3GlyphExtractor,
-                        applicationProperties);
+                        applicationProperties,
+                        new PdfJsonBlobStore(tempFileManager),
+                        new PdfJsonDocumentCache(tempFileManager, -1, new SimpleMeterRegistry()));
 
         // The TempFile wrapper delegates straight to the manager; back it with real temp files so
         // convertPdfToJson can transferTo() and size/read the working path.
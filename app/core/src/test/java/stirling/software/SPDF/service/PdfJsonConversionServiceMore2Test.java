@@ -25,6 +25,7 @@ import java.util.List;
 import javax.imageio.ImageIO;
 
 import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessRead;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
@@ -51,6 +52,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.quality.Strictness;
 import org.springframework.mock.web.MockMultipartFile;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import stirling.software.SPDF.config.EndpointConfiguration;
 import stirling.software.SPDF.exception.CacheUnavailableException;
 import stirling.software.SPDF.model.json.PdfJsonAnnotation;
@@ -62,6 +65,8 @@ import stirling.software.SPDF.model.json.PdfJsonMetadata;
 import stirling.software.SPDF.model.json.PdfJsonPage;
 import stirling.software.SPDF.model.json.PdfJsonTextColor;
 import stirling.software.SPDF.model.json.PdfJsonTextElement;
+import stirling.software.SPDF.service.pdfjson.PdfJsonBlobStore;
+import stirling.software.SPDF.service.pdfjson.PdfJsonDocumentCache;
 import stirling.software.SPDF.service.pdfjson.PdfJsonFontService;
 import stirling.software.SPDF.service.pdfjson.type3.Type3FontConversionService;
 import stirling.software.SPDF.service.pdfjson.type3.Type3GlyphExtractor;
@@ -129,7 +134,9 @@ class PdfJsonConversionServiceMore2Test {
                         fontService,
                         type3FontConversionService,
                         type3GlyphExtractor,
-                        applicationProperties);
+                        applicationProperties,
+                        new PdfJsonBlobStore(tempFileManager),
+                        new PdfJsonDocumentCache(tempFileManager, -1, new SimpleMeterRegistry()));
 
         when(tempFileManager.createTempFile(anyString()))
                 .thenAnswer(
@@ -211,6 +218,8 @@ class PdfJsonConversionServiceMore2Test {
                 .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, Path.class).toFile()));
         when(pdfDocumentFactory.load(any(byte[].class), eq(true)))
                 .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, byte[].class)));
+        when(pdfDocumentFactory.load(any(RandomAccessRead.class), eq(true)))
+                .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, RandomAccessRead.class)));
         JobContext.setJobId(jobId);
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         service.convertPdfToJson(pdfMultipart(pdfBytes), true, out);
@@ -471,6 +480,8 @@ class PdfJsonConversionServiceMore2Test {
         void metadataReportsRotation() throws IOException {
             when(pdfDocumentFactory.load(any(byte[].class), eq(true)))
                     .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, byte[].class)));
+            when(pdfDocumentFactory.load(any(RandomAccessRead.class), eq(true)))
+                    .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, RandomAccessRead.class)));
             ByteArrayOutputStream out = new ByteArrayOutputStream();
             service.extractDocumentMetadata(pdfMultipart(rotatedCroppedPdf(90)), "job-rot", out);
             PdfJsonDocumentMetadata md =
@@ -615,6 +626,8 @@ class PdfJsonConversionServiceMore2Test {
         void metadataExtractionIncludesXmp() throws IOException {
             when(pdfDocumentFactory.load(any(byte[].class), eq(true)))
                     .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, byte[].class)));
+            when(pdfDocumentFactory.load(any(RandomAccessRead.class), eq(true)))
+                    .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, RandomAccessRead.class)));
             ByteArrayOutputStream out = new ByteArrayOutputStream();
             service.extractDocumentMetadata(pdfMultipart(pdfWithXmp("XMP Meta")), null, out);
             PdfJsonDocumentMetadata md =
@@ -872,6 +885,8 @@ class PdfJsonConversionServiceMore2Test {
         void metadataNoJobIdSkipsCache() throws IOException {
             when(pdfDocumentFactory.load(any(byte[].class), eq(true)))
                     .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, byte[].class)));
+            when(pdfDocumentFactory.load(any(RandomAccessRead.class), eq(true)))
+                    .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, RandomAccessRead.class)));
             ByteArrayOutputStream out = new ByteArrayOutputStream();
             service.extractDocumentMetadata(
                     pdfMultipart(simpleTextPdf("No job id meta")), null, out);
@@ -887,6 +902,8 @@ class PdfJsonConversionServiceMore2Test {
         void metadataWithJobIdCachesPage() throws IOException {
             when(pdfDocumentFactory.load(any(byte[].class), eq(true)))
                     .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, byte[].class)));
+            when(pdfDocumentFactory.load(any(RandomAccessRead.class), eq(true)))
+                    .thenAnswer(inv -> Loader.loadPDF(inv.getArgument(0, RandomAccessRead.class)));
             ByteArrayOutputStream metaOut = new ByteArrayOutputStream();
             service.extractDocumentMetadata(
                     pdfMultipart(simpleTextPdf("Job id meta")), "job-meta-cache", metaOut);
@@ -0,0 +1,77 @@
+package stirling.software.SPDF.service.pdfjson;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import stirling.software.SPDF.service.pdfjson.CffConverterWorkerPool.Result;
+
+/** Drives the pool with small shell scripts standing in for the Python converter. */
+@DisabledOnOs(OS.WINDOWS)
+class CffConverterWorkerPoolTest {
+
+    @TempDir Path tempDir;
+
+    private CffConverterWorkerPool pool(String script, long timeoutMillis) {
+        return new CffConverterWorkerPool(List.of("sh", "-c", script), 1, timeoutMillis);
+    }
+
+    private Result convert(CffConverterWorkerPool pool) throws InterruptedException {
+        return pool.convert(tempDir.resolve("in.cff"), tempDir.resolve("out.otf"), null);
+    }
+
+    @Test
+    void oneWorkerAnswersEveryRequest() throws Exception {
+        Path starts = tempDir.resolve("starts");
+        String script = "echo >> '" + starts + "'; while read line; do echo OK; done";
+        try (CffConverterWorkerPool pool = pool(script, 10_000)) {
+            assertEquals(Result.CONVERTED, convert(pool));
+            assertEquals(Result.CONVERTED, convert(pool));
+            assertEquals(Result.CONVERTED, convert(pool));
+        }
+        assertEquals(1, Files.readAllLines(starts).size());
+    }
+
+    @Test
+    void reportsConverterFailures() throws Exception {
+        try (CffConverterWorkerPool pool = pool("while read line; do echo ERR; done", 10_000)) {
+            assertEquals(Result.FAILED, convert(pool));
+        }
+    }
+
+    @Test
+    void restartsAWorkerThatExited() throws Exception {
+        Path starts = tempDir.resolve("starts");
+        // Answers one request, then exits
+        String script = "echo >> '" + starts + "'; read line; echo OK";
+        try (CffConverterWorkerPool pool = pool(script, 10_000)) {
+            assertEquals(Result.CONVERTED, convert(pool));
+            // Depending on timing the exit is noticed before or while sending this request
+            convert(pool);
+            assertEquals(Result.CONVERTED, convert(pool));
+        }
+        assertTrue(Files.readAllLines(starts).size() >= 2);
+    }
+
+    @Test
+    void givesUpOnAWorkerThatDoesNotAnswer() throws Exception {
+        try (CffConverterWorkerPool pool = pool("read line; sleep 10", 200)) {
+            assertEquals(Result.UNAVAILABLE, convert(pool));
+        }
+    }
+
+    @Test
+    void closedPoolConvertsNothing() throws Exception {
+        CffConverterWorkerPool pool = pool("while read line; do echo OK; done", 10_000);
+        pool.close();
+
+        assertEquals(Result.UNAVAILABLE, convert(pool));
+    }
+}
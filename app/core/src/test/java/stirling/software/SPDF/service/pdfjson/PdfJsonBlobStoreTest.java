@@ -0,0 +1,76 @@
+package stirling.software.SPDF.service.pdfjson;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import stirling.software.common.util.TempFileManager;
+
+class PdfJsonBlobStoreTest {
+
+    private static final String HASH = "a".repeat(64);
+
+    @TempDir Path tempDir;
+
+    private TempFileManager tempFileManager;
+    private PdfJsonBlobStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempFileManager = mock(TempFileManager.class);
+        when(tempFileManager.createTempDirectory())
+                .thenAnswer(invocation -> Files.createTempDirectory(tempDir, "blobs"));
+        store = new PdfJsonBlobStore(tempFileManager);
+    }
+
+    @Test
+    void putThenFind_returnsTheStoredBytes() throws IOException {
+        store.put("job", HASH, new byte[] {1, 2, 3});
+
+        Path blob = store.find("job", HASH);
+
+        assertNotNull(blob);
+        assertArrayEquals(new byte[] {1, 2, 3}, Files.readAllBytes(blob));
+    }
+
+    @Test
+    void find_isScopedToTheJob() throws IOException {
+        store.put("job", HASH, new byte[] {1});
+
+        assertNull(store.find("other", HASH));
+        assertNull(store.find("job", "b".repeat(64)));
+    }
+
+    @Test
+    void find_rejectsValuesThatAreNotHashes() throws IOException {
+        store.put("job", HASH, new byte[] {1});
+
+        assertNull(store.find("job", "../" + HASH));
+    }
+
+    @Test
+    void put_usesOneDirectoryPerJob() throws IOException {
+        store.put("job", HASH, new byte[] {1});
+        store.put("job", "b".repeat(64), new byte[] {2});
+
+        verify(tempFileManager, times(1)).createTempDirectory();
+    }
+
+    @Test
+    void clear_deletesTheJobDirectory() throws IOException {
+        store.put("job", HASH, new byte[] {1});
+        Path directory = store.find("job", HASH).getParent();
+
+        store.clear("job");
+
+        verify(tempFileManager).deleteTempDirectory(directory);
+        assertNull(store.find("job", HASH));
+    }
+}
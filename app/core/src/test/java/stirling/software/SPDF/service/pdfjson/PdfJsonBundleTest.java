@@ -0,0 +1,142 @@
+package stirling.software.SPDF.service.pdfjson;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+class PdfJsonBundleTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    private static String payload(int seed) {
+        byte[] bytes = new byte[600];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (i * seed);
+        }
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    // The same font program twice, an image, and a short ToUnicode map that stays inline
+    private static String json() {
+        return "{\"fonts\":[{\"id\":\"F1\",\"program\":\""
+                + payload(3)
+                + "\",\"toUnicode\":\"AAEC\"},{\"id\":\"F2\",\"program\":\""
+                + payload(3)
+                + "\"}],\"pages\":[{\"pageNumber\":1,\"imageElements\":[{\"imageData\":\""
+                + payload(7)
+                + "\"}]}]}";
+    }
+
+    private static ByteArrayInputStream input(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void extractBlobs_replacesLargePayloadsWithReferences() throws IOException {
+        List<String> hashes = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        PdfJsonBundle.extractBlobs(
+                objectMapper, input(json()), out, (hash, bytes) -> hashes.add(hash));
+
+        JsonNode tree = objectMapper.readTree(out.toByteArray());
+        JsonNode font = tree.get("fonts").get(0);
+        assertEquals(3, hashes.size());
+        assertEquals(
+                PdfJsonBundle.REFERENCE_PREFIX + hashes.get(0), font.get("program").asString());
+        assertEquals(hashes.get(0), hashes.get(1));
+        assertEquals("AAEC", font.get("toUnicode").asString());
+        assertEquals("F1", font.get("id").asString());
+    }
+
+    @Test
+    void extractBlobs_leavesNonBase64Inline() throws IOException {
+        String notBase64 = "not base64 ".repeat(40);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        PdfJsonBundle.extractBlobs(
+                objectMapper,
+                input("{\"rawData\":\"" + notBase64 + "\"}"),
+                out,
+                (hash, bytes) -> fail());
+
+        JsonNode tree = objectMapper.readTree(out.toByteArray());
+        assertEquals(notBase64, tree.get("rawData").asString());
+    }
+
+    @Test
+    void inlineBlobs_restoresTheOriginalDocument() throws IOException {
+        Map<String, byte[]> blobs = new HashMap<>();
+        ByteArrayOutputStream extracted = new ByteArrayOutputStream();
+        PdfJsonBundle.extractBlobs(objectMapper, input(json()), extracted, blobs::put);
+
+        ByteArrayOutputStream restored = new ByteArrayOutputStream();
+        PdfJsonBundle.inlineBlobs(
+                objectMapper,
+                new ByteArrayInputStream(extracted.toByteArray()),
+                restored,
+                blobs::get);
+
+        assertEquals(2, blobs.size());
+        assertEquals(objectMapper.readTree(json()), objectMapper.readTree(restored.toByteArray()));
+    }
+
+    @Test
+    void inlineBlobs_rejectsMissingBlob() {
+        String json = "{\"imageData\":\"blob:" + "0".repeat(64) + "\"}";
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        PdfJsonBundle.inlineBlobs(
+                                objectMapper,
+                                input(json),
+                                new ByteArrayOutputStream(),
+                                hash -> null));
+    }
+
+    @Test
+    void write_storesEachBlobOnceAndReadsBack(@TempDir Path dir) throws IOException {
+        Path json = dir.resolve("in.json");
+        Files.writeString(json, json());
+        Path bundle = dir.resolve("out.zip");
+        try (OutputStream out = Files.newOutputStream(bundle)) {
+            PdfJsonBundle.write(objectMapper, json, dir.resolve("scratch.json"), out);
+        }
+
+        assertTrue(PdfJsonBundle.isBundle(new ByteArrayResource(Files.readAllBytes(bundle))));
+        ByteArrayOutputStream restored = new ByteArrayOutputStream();
+        try (ZipFile zip = new ZipFile(bundle.toFile())) {
+            // document.json plus two distinct blobs
+            assertEquals(3, zip.size());
+            PdfJsonBundle.read(objectMapper, zip, restored);
+        }
+        assertEquals(objectMapper.readTree(json()), objectMapper.readTree(restored.toByteArray()));
+    }
+
+    @Test
+    void isBundle_falseForJson() throws IOException {
+        byte[] json = "{}".getBytes(StandardCharsets.UTF_8);
+        assertFalse(PdfJsonBundle.isBundle(new ByteArrayResource(json)));
+    }
+}
@@ -0,0 +1,219 @@
+package stirling.software.SPDF.service.pdfjson;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import stirling.software.SPDF.service.pdfjson.PdfJsonDocumentCache.CachedPdf;
+import stirling.software.SPDF.service.pdfjson.PdfJsonDocumentCache.Region;
+import stirling.software.common.util.TempFileManager;
+
+class PdfJsonDocumentCacheTest {
+
+    @TempDir Path tempDir;
+
+    private TempFileManager tempFileManager;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tempFileManager = mock(TempFileManager.class);
+        when(tempFileManager.createTempFile(anyString()))
+                .thenAnswer(
+                        invocation ->
+                                Files.createTempFile(tempDir, "cache", invocation.getArgument(0))
+                                        .toFile());
+        when(tempFileManager.deleteTempFile(any(File.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0, File.class).delete());
+        registry = new SimpleMeterRegistry();
+    }
+
+    private PdfJsonDocumentCache cache(long budgetBytes) {
+        return new PdfJsonDocumentCache(tempFileManager, budgetBytes, registry);
+    }
+
+    private static byte[] pdf(CachedPdf<?> cached) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cached.transferTo(out);
+        return out.toByteArray();
+    }
+
+    private static byte[] bytes(int length, int fill) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) fill);
+        return bytes;
+    }
+
+    private double count(String name, String... tags) {
+        return registry.get(name).tags(tags).counter().count();
+    }
+
+    @Test
+    void get_servesADocumentHeldInMemory() throws IOException {
+        PdfJsonDocumentCache cache = cache(100);
+        Region<String> region = cache.region("editor");
+        region.put("job", bytes(10, 1), "metadata");
+
+        CachedPdf<String> cached = region.get("job");
+
+        assertFalse(cached.isDiskBacked());
+        assertEquals("metadata", cached.getValue());
+        assertArrayEquals(bytes(10, 1), pdf(cached));
+        assertEquals(10, cache.getMemoryBytes());
+        assertEquals(
+                1, count("stirling.pdfjson.cache.hits", "cache", "editor", "tier", "memory"));
+    }
+
+    @Test
+    void documentLargerThanTheBudget_isSpilledToDisk() throws IOException {
+        PdfJsonDocumentCache cache = cache(100);
+        Region<String> region = cache.region("editor");
+        region.put("job", bytes(150, 2), "metadata");
+
+        CachedPdf<String> cached = region.get("job");
+
+        assertTrue(cached.isDiskBacked());
+        assertArrayEquals(bytes(150, 2), pdf(cached));
+        assertEquals(0, cache.getMemoryBytes());
+        assertEquals(150, cache.getDiskBytes());
+        assertEquals(
+                1,
+                count("stirling.pdfjson.cache.evictions", "cache", "editor", "outcome", "spilled"));
+        assertEquals(1, count("stirling.pdfjson.cache.hits", "cache", "editor", "tier", "disk"));
+    }
+
+    @Test
+    void goingOverTheBudget_spillsDocumentsInsteadOfDroppingThem() throws IOException {
+        PdfJsonDocumentCache cache = cache(100);
+        Region<String> region = cache.region("editor");
+        for (int i = 0; i < 5; i++) {
+            region.put("job" + i, bytes(40, i), "metadata");
+        }
+
+        assertTrue(cache.getMemoryBytes() <= 100);
+        assertEquals(200, cache.getMemoryBytes() + cache.getDiskBytes());
+        for (int i = 0; i < 5; i++) {
+            assertArrayEquals(bytes(40, i), pdf(region.get("job" + i)));
+        }
+    }
+
+    @Test
+    void put_replacesThePreviousDocument() throws IOException {
+        PdfJsonDocumentCache cache = cache(100);
+        Region<String> region = cache.region("editor");
+        region.put("job", bytes(10, 1), "first");
+        region.put("job", bytes(20, 2), "second");
+
+        CachedPdf<String> cached = region.get("job");
+
+        assertEquals("second", cached.getValue());
+        assertArrayEquals(bytes(20, 2), pdf(cached));
+        assertEquals(20, cache.getMemoryBytes());
+    }
+
+    @Test
+    void remove_deletesTheSpilledFile() throws IOException {
+        PdfJsonDocumentCache cache = cache(10);
+        Region<String> region = cache.region("editor");
+        region.put("job", bytes(50, 3), "metadata");
+        assertEquals(1, tempDir.toFile().list().length);
+
+        assertNotNull(region.remove("job"));
+
+        assertEquals(0, tempDir.toFile().list().length);
+        assertEquals(0, cache.getDiskBytes());
+        assertNull(region.get("job"));
+        assertEquals(1, count("stirling.pdfjson.cache.misses", "cache", "editor"));
+    }
+
+    @Test
+    void regions_shareTheBudgetButNotTheirDocuments() throws IOException {
+        PdfJsonDocumentCache cache = cache(100);
+        Region<String> editor = cache.region("editor");
+        Region<String> lazy = cache.region("lazy");
+        editor.put("job", bytes(60, 1), "editor");
+        lazy.put("job", bytes(60, 2), "lazy");
+
+        assertTrue(cache.getMemoryBytes() <= 100);
+        assertEquals(120, cache.getMemoryBytes() + cache.getDiskBytes());
+        assertEquals("editor", editor.get("job").getValue());
+        assertEquals("lazy", lazy.get("job").getValue());
+        assertTrue(cache.getMemoryBytes() <= 100);
+    }
+
+    @Test
+    void spilledDocumentReadOften_isMovedBackIntoMemory() throws IOException {
+        PdfJsonDocumentCache cache = cache(100);
+        Region<String> region = cache.region("editor");
+        region.put("cold", bytes(60, 1), "metadata");
+        region.put("hot", bytes(60, 2), "metadata");
+        String spilled = region.get("cold").isDiskBacked() ? "cold" : "hot";
+
+        CachedPdf<String> cached = null;
+        for (int i = 0; i < 5; i++) {
+            cached = region.get(spilled);
+        }
+
+        assertFalse(cached.isDiskBacked());
+        assertArrayEquals(bytes(60, spilled.equals("cold") ? 1 : 2), pdf(cached));
+        assertTrue(cache.getMemoryBytes() <= 100);
+    }
+
+    @Test
+    void spilledDocumentsOverTheDiskBudget_areDroppedLeastRecentlyReadFirst() throws IOException {
+        PdfJsonDocumentCache cache =
+                new PdfJsonDocumentCache(tempFileManager, 100, 100, registry);
+        Region<String> region = cache.region("editor");
+        for (int i = 0; i < 4; i++) {
+            region.put("job" + i, bytes(60, i), "metadata");
+        }
+
+        assertTrue(cache.getDiskBytes() <= 100);
+        assertEquals(1, tempDir.toFile().list().length);
+        assertEquals(2, region.ids().size());
+        assertEquals(
+                2,
+                count("stirling.pdfjson.cache.evictions", "cache", "editor", "outcome", "dropped"));
+    }
+
+    @Test
+    void openPdf_readsTheCachedBytesInPlace() throws IOException {
+        PdfJsonDocumentCache cache = cache(100);
+        Region<String> region = cache.region("editor");
+        region.put("job", bytes(10, 4), "metadata");
+
+        try (RandomAccessRead read = region.get("job").openPdf()) {
+            byte[] bytes = new byte[10];
+            assertEquals(10, read.read(bytes));
+            assertArrayEquals(bytes(10, 4), bytes);
+        }
+    }
+
+    @Test
+    void clear_releasesEveryDocument() throws IOException {
+        PdfJsonDocumentCache cache = cache(10);
+        cache.region("editor").put("job", bytes(50, 1), "metadata");
+        cache.region("lazy").put("job", bytes(5, 1), "metadata");
+
+        cache.clear();
+
+        assertEquals(0, cache.getMemoryBytes());
+        assertEquals(0, cache.getDiskBytes());
+        assertEquals(0, tempDir.toFile().list().length);
+    }
+}
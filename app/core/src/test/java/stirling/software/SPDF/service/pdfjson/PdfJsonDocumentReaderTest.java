@@ -0,0 +1,69 @@
+package stirling.software.SPDF.service.pdfjson;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import stirling.software.SPDF.model.json.PdfJsonDocument;
+import stirling.software.SPDF.model.json.PdfJsonPage;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class PdfJsonDocumentReaderTest {
+
+    // Pages come first here, so the header has to be found by reading past them
+    private static final String JSON =
+            "{\"pages\":[{\"pageNumber\":1,\"width\":100.0},null,{\"pageNumber\":2}],"
+                    + "\"fonts\":[{\"id\":\"F1\"}],\"metadata\":{\"title\":\"Doc\"},"
+                    + "\"lazyImages\":true}";
+
+    private PdfJsonDocumentReader reader;
+
+    @BeforeEach
+    void setUp() {
+        reader = new PdfJsonDocumentReader(JsonMapper.builder().build());
+    }
+
+    private static ByteArrayInputStream input(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void readHeader_skipsPagesWhereverTheyAppear() throws IOException {
+        PdfJsonDocument header = reader.readHeader(input(JSON));
+
+        assertEquals("Doc", header.getMetadata().getTitle());
+        assertEquals("F1", header.getFonts().get(0).getId());
+        assertTrue(header.isLazyImages());
+        assertTrue(header.getPages().isEmpty());
+    }
+
+    @Test
+    void forEachPage_handsOverPagesInOrderAndSkipsNulls() throws IOException {
+        List<PdfJsonPage> pages = new ArrayList<>();
+
+        int count = reader.forEachPage(input(JSON), pages::add);
+
+        assertEquals(2, count);
+        assertEquals(1, pages.get(0).getPageNumber());
+        assertEquals(100f, pages.get(0).getWidth());
+        assertEquals(2, pages.get(1).getPageNumber());
+    }
+
+    @Test
+    void forEachPage_withoutPagesReadsNothing() throws IOException {
+        assertEquals(0, reader.forEachPage(input("{\"fonts\":[]}"), page -> fail()));
+    }
+
+    @Test
+    void rejectsInputThatIsNotAnObject() {
+        assertThrows(IllegalArgumentException.class, () -> reader.readHeader(input("[]")));
+    }
+}
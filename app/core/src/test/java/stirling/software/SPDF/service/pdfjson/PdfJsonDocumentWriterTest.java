@@ -0,0 +1,80 @@
+package stirling.software.SPDF.service.pdfjson;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import stirling.software.SPDF.model.json.PdfJsonDocument;
+import stirling.software.SPDF.model.json.PdfJsonFont;
+import stirling.software.SPDF.model.json.PdfJsonFormField;
+import stirling.software.SPDF.model.json.PdfJsonMetadata;
+import stirling.software.SPDF.model.json.PdfJsonPage;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+class PdfJsonDocumentWriterTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    private static PdfJsonPage page(int number) {
+        PdfJsonPage page = new PdfJsonPage();
+        page.setPageNumber(number);
+        page.setWidth(612f);
+        page.setHeight(792f);
+        return page;
+    }
+
+    private static PdfJsonDocument document() {
+        PdfJsonMetadata metadata = new PdfJsonMetadata();
+        metadata.setTitle("Streamed");
+        PdfJsonFont font = new PdfJsonFont();
+        font.setId("F1");
+        PdfJsonFormField field = new PdfJsonFormField();
+        field.setName("name");
+        PdfJsonDocument document = new PdfJsonDocument();
+        document.setMetadata(metadata);
+        document.setXmpMetadata("eG1w");
+        document.setLazyImages(true);
+        document.setFonts(List.of(font));
+        document.setPages(List.of(page(1), page(2)));
+        document.setFormFields(List.of(field));
+        return document;
+    }
+
+    private byte[] stream(PdfJsonDocument document) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PdfJsonDocumentWriter writer = new PdfJsonDocumentWriter(objectMapper, out)) {
+            writer.writeHeader(document);
+            for (PdfJsonPage page : document.getPages()) {
+                writer.writePage(page);
+            }
+            writer.finish(document.getFonts(), document.getFormFields());
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void writesTheSameTreeAsSerializingTheWholeDocument() {
+        PdfJsonDocument document = document();
+
+        JsonNode streamed = objectMapper.readTree(stream(document));
+
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(document)), streamed);
+    }
+
+    @Test
+    void leavesOutEmptyHeaderProperties() {
+        PdfJsonDocument document = new PdfJsonDocument();
+        document.setPages(List.of(page(1)));
+
+        JsonNode streamed = objectMapper.readTree(stream(document));
+
+        assertEquals(1, streamed.size());
+        assertEquals(1, streamed.get("pages").size());
+    }
+}
@@ -480,6 +480,106 @@ class PdfJsonFontServiceMoreTest {
         }
     }
 
+    @Nested
+    @DisplayName("converted program cache")
+    class ConvertedProgramCache {
+
+        private ProcessExecutor stubFontForgeWriting(
+                MockedStatic<ProcessExecutor> mocked, File[] ttfHolder) throws Exception {
+            ProcessExecutor exec = mock(ProcessExecutor.class);
+            ProcessExecutorResult result = mock(ProcessExecutorResult.class);
+            when(result.getRc()).thenReturn(0);
+            when(exec.runCommandWithOutputHandling(anyList()))
+                    .thenAnswer(
+                            inv -> {
+                                Files.write(ttfHolder[0].toPath(), new byte[] {7, 7, 7});
+                                return result;
+                            });
+            mocked.when(() -> ProcessExecutor.getInstance(ProcessExecutor.Processes.CFF_CONVERTER))
+                    .thenReturn(exec);
+            return exec;
+        }
+
+        @BeforeEach
+        void enableFontForge() throws Exception {
+            setField("cffConversionEnabled", true);
+            setField("cffConverterMethod", "fontforge");
+            setField("fontForgeCffConverterAvailable", true);
+            setField("fontforgeCommand", "fontforge");
+            setField("cacheMaxEntries", 8);
+        }
+
+        private File[] stubTtfTempFiles() throws Exception {
+            File[] ttfHolder = new File[1];
+            when(tempFileManager.createTempFile(anyString()))
+                    .thenAnswer(
+                            inv -> {
+                                String suffix = inv.getArgument(0);
+                                File f = Files.createTempFile("fontsvc-test", suffix).toFile();
+                                f.deleteOnExit();
+                                if (".ttf".equals(suffix)) {
+                                    ttfHolder[0] = f;
+                                }
+                                return f;
+                            });
+            return ttfHolder;
+        }
+
+        @Test
+        @DisplayName("the same program and ToUnicode map are converted once")
+        void repeatedProgramConvertedOnce() throws Exception {
+            File[] ttfHolder = stubTtfTempFiles();
+
+            try (MockedStatic<ProcessExecutor> mocked = mockStatic(ProcessExecutor.class)) {
+                ProcessExecutor exec = stubFontForgeWriting(mocked, ttfHolder);
+
+                byte[] first = service.convertCffProgramToTrueType(new byte[] {1, 2, 3}, "AAEC");
+                byte[] second = service.convertCffProgramToTrueType(new byte[] {1, 2, 3}, "AAEC");
+
+                assertArrayEquals(first, second);
+                verify(exec, times(1)).runCommandWithOutputHandling(anyList());
+            }
+        }
+
+        @Test
+        @DisplayName("a different ToUnicode map is converted separately")
+        void differentToUnicodeConvertedAgain() throws Exception {
+            File[] ttfHolder = stubTtfTempFiles();
+
+            try (MockedStatic<ProcessExecutor> mocked = mockStatic(ProcessExecutor.class)) {
+                ProcessExecutor exec = stubFontForgeWriting(mocked, ttfHolder);
+
+                service.convertCffProgramToTrueType(new byte[] {1, 2, 3}, "AAEC");
+                service.convertCffProgramToTrueType(new byte[] {1, 2, 3}, null);
+
+                verify(exec, times(2)).runCommandWithOutputHandling(anyList());
+            }
+        }
+
+        @Test
+        @DisplayName("failed conversions are not cached")
+        void failuresRetried() throws Exception {
+            stubRealTempFiles();
+
+            try (MockedStatic<ProcessExecutor> mocked = mockStatic(ProcessExecutor.class)) {
+                ProcessExecutor exec = mock(ProcessExecutor.class);
+                ProcessExecutorResult result = mock(ProcessExecutorResult.class);
+                when(result.getRc()).thenReturn(1);
+                when(exec.runCommandWithOutputHandling(anyList())).thenReturn(result);
+                mocked.when(
+                                () ->
+                                        ProcessExecutor.getInstance(
+                                                ProcessExecutor.Processes.CFF_CONVERTER))
+                        .thenReturn(exec);
+
+                assertNull(service.convertCffProgramToTrueType(new byte[] {1, 2, 3}, null));
+                assertNull(service.convertCffProgramToTrueType(new byte[] {1, 2, 3}, null));
+
+                verify(exec, times(2)).runCommandWithOutputHandling(anyList());
+            }
+        }
+    }
+
     @Nested
     @DisplayName("detect* extra branches")
     class DetectExtra {
@@ -13,12 +13,10 @@ import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
+import org.apache.pdfbox.io.RandomAccessRead;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
@@ -27,11 +25,14 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import stirling.software.SPDF.model.json.PdfJsonDocumentMetadata;
 import stirling.software.SPDF.model.json.PdfJsonImageElement;
 import stirling.software.SPDF.model.json.PdfJsonPageDimension;
 import stirling.software.common.service.CustomPDFDocumentFactory;
 import stirling.software.common.service.TaskManager;
+import stirling.software.common.util.TempFileManager;
 
 import tools.jackson.databind.ObjectMapper;
 
@@ -49,6 +50,7 @@ class PdfLazyLoadingServiceMoreTest {
     private TaskManager taskManager;
     private PdfJsonMetadataService metadataService;
     private PdfJsonImageService imageService;
+    private PdfJsonDocumentCache documentCache;
 
     @BeforeEach
     void setUp() {
@@ -57,23 +59,24 @@ class PdfLazyLoadingServiceMoreTest {
         taskManager = mock(TaskManager.class);
         metadataService = mock(PdfJsonMetadataService.class);
         imageService = mock(PdfJsonImageService.class);
+        documentCache =
+                new PdfJsonDocumentCache(
+                        mock(TempFileManager.class), -1, new SimpleMeterRegistry());
         service =
                 new PdfLazyLoadingService(
                         pdfDocumentFactory,
                         objectMapper,
                         taskManager,
                         metadataService,
-                        imageService);
+                        imageService,
+                        documentCache);
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> cache() throws Exception {
-        Field f = PdfLazyLoadingService.class.getDeclaredField("documentCache");
-        f.setAccessible(true);
-        return (Map<String, Object>) f.get(service);
+    private PdfJsonDocumentCache.Region<PdfJsonDocumentMetadata> cache() {
+        return documentCache.region(PdfLazyLoadingService.DOCUMENT_CACHE_REGION);
     }
 
-    /** Reflectively builds a CachedPdfDocument and inserts it into the document cache. */
+    /** Caches the PDF with metadata describing {@code pageCount} pages. */
     private void seedCache(String jobId, byte[] pdfBytes, int pageCount) throws Exception {
         PdfJsonDocumentMetadata metadata = new PdfJsonDocumentMetadata();
         List<PdfJsonPageDimension> dims = new ArrayList<>();
@@ -85,15 +88,7 @@ class PdfLazyLoadingServiceMoreTest {
             dims.add(d);
         }
         metadata.setPageDimensions(dims);
-
-        Class<?> cachedClass =
-                Class.forName(
-                        "stirling.software.SPDF.service.pdfjson.PdfLazyLoadingService$CachedPdfDocument");
-        Constructor<?> ctor =
-                cachedClass.getDeclaredConstructor(byte[].class, PdfJsonDocumentMetadata.class);
-        ctor.setAccessible(true);
-        Object cached = ctor.newInstance(pdfBytes, metadata);
-        cache().put(jobId, cached);
+        cache().put(jobId, pdfBytes, metadata);
     }
 
     private static byte[] tinyPdfBytes(int pages) throws Exception {
@@ -125,7 +120,8 @@ class PdfLazyLoadingServiceMoreTest {
             byte[] pdfBytes = tinyPdfBytes(2);
             seedCache("job-hit", pdfBytes, 2);
 
-            when(pdfDocumentFactory.load(eq(pdfBytes), eq(true))).thenReturn(tinyDoc(2));
+            when(pdfDocumentFactory.load(any(RandomAccessRead.class), eq(true)))
+                    .thenReturn(tinyDoc(2));
             List<PdfJsonImageElement> images = new ArrayList<>();
             when(imageService.extractImagesForPage(any(), any(), eq(2))).thenReturn(images);
 
@@ -150,7 +146,7 @@ class PdfLazyLoadingServiceMoreTest {
                     out);
 
             assertThat(out.toByteArray()).hasSize(2);
-            verify(pdfDocumentFactory).load(eq(pdfBytes), eq(true));
+            verify(pdfDocumentFactory).load(any(RandomAccessRead.class), eq(true));
             verify(imageService).extractImagesForPage(any(), any(), eq(2));
         }
     }
@@ -180,7 +176,7 @@ class PdfLazyLoadingServiceMoreTest {
                     .hasMessageContaining("out of range");
 
             // The factory is never consulted when validation fails.
-            verify(pdfDocumentFactory, never()).load(any(byte[].class), anyBoolean());
+            verify(pdfDocumentFactory, never()).load(any(RandomAccessRead.class), anyBoolean());
         }
 
         @Test
@@ -213,11 +209,11 @@ class PdfLazyLoadingServiceMoreTest {
         @DisplayName("removes an existing cached entry")
         void removesExisting() throws Exception {
             seedCache("job-clear", tinyPdfBytes(1), 1);
-            assertThat(cache()).containsKey("job-clear");
+            assertThat(cache().ids()).contains("job-clear");
 
             service.clearCachedDocument("job-clear");
 
-            assertThat(cache()).doesNotContainKey("job-clear");
+            assertThat(cache().ids()).doesNotContain("job-clear");
         }
     }
 }
@@ -7,7 +7,6 @@ import static org.mockito.Mockito.*;
 
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
-import java.lang.reflect.Field;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -16,9 +15,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.multipart.MultipartFile;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import stirling.software.SPDF.model.json.PdfJsonFont;
 import stirling.software.common.service.CustomPDFDocumentFactory;
 import stirling.software.common.service.TaskManager;
+import stirling.software.common.util.TempFileManager;
 
 import tools.jackson.databind.ObjectMapper;
 
@@ -30,6 +32,7 @@ class PdfLazyLoadingServiceTest {
     private TaskManager taskManager;
     private PdfJsonMetadataService metadataService;
     private PdfJsonImageService imageService;
+    private PdfJsonDocumentCache documentCache;
 
     @BeforeEach
     void setUp() {
@@ -38,6 +41,9 @@ class PdfLazyLoadingServiceTest {
         taskManager = mock(TaskManager.class);
         metadataService = mock(PdfJsonMetadataService.class);
         imageService = mock(PdfJsonImageService.class);
+        documentCache =
+                new PdfJsonDocumentCache(
+                        mock(TempFileManager.class), -1, new SimpleMeterRegistry());
 
         service =
                 new PdfLazyLoadingService(
@@ -45,7 +51,8 @@ class PdfLazyLoadingServiceTest {
                         objectMapper,
                         taskManager,
                         metadataService,
-                        imageService);
+                        imageService,
+                        documentCache);
     }
 
     @Test
@@ -69,18 +76,15 @@ class PdfLazyLoadingServiceTest {
 
     @Test
     void clearCachedDocument_existingJob_removesEntry() throws Exception {
-        // Access the documentCache via reflection to verify behavior
-        Field cacheField = PdfLazyLoadingService.class.getDeclaredField("documentCache");
-        cacheField.setAccessible(true);
-        @SuppressWarnings("unchecked")
-        Map<String, Object> cache = (Map<String, Object>) cacheField.get(service);
-
-        // Verify cache is initially empty
-        assertTrue(cache.isEmpty());
+        PdfJsonDocumentCache.Region<Object> cache =
+                documentCache.region(PdfLazyLoadingService.DOCUMENT_CACHE_REGION);
+        cache.put("job1", new byte[] {1, 2, 3}, null);
+        assertEquals(3, documentCache.getMemoryBytes());
 
-        // clearCachedDocument on nonexistent should not throw
         service.clearCachedDocument("job1");
-        assertTrue(cache.isEmpty());
+
+        assertTrue(cache.ids().isEmpty());
+        assertEquals(0, documentCache.getMemoryBytes());
     }
 
     @Test
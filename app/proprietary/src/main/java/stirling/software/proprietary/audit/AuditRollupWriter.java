@@ -0,0 +1,373 @@
+package stirling.software.proprietary.audit;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+import stirling.software.proprietary.audit.BatchingAuditWriter.Row;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Keeps {@code audit_rollups} in step with {@code audit_events}. {@link BatchingAuditWriter} calls
+ * {@link #add} in the transaction that inserts each batch, so the hourly tallies commit or roll
+ * back with the events they count. A batch is folded into one increment per bucket before it is
+ * written, so a burst of events costs a handful of updates rather than one per event.
+ *
+ * <p>Events written before rollups existed are added by {@link #backfill}, a chunk of ids at a
+ * time, up to the highest event id at the moment the first rollup was written. Until it finishes
+ * the statistics undercount older periods.
+ */
+@Slf4j
+@Component
+public class AuditRollupWriter {
+
+    static final String UPDATE_SQL =
+            "UPDATE audit_rollups SET event_count = event_count + ?,"
+                    + " success_count = success_count + ?, failure_count = failure_count + ?,"
+                    + " error_count = error_count + ?, latency_sum_ms = latency_sum_ms + ?,"
+                    + " latency_count = latency_count + ? WHERE bucket_hour = ? AND type = ?"
+                    + " AND principal = ? AND source = ? AND endpoint = ?";
+
+    static final String INSERT_SQL =
+            "INSERT INTO audit_rollups (bucket_hour, type, principal, source, endpoint,"
+                    + " event_count, success_count, failure_count, error_count, latency_sum_ms,"
+                    + " latency_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // The watermark is the highest event id when the progress row is created; later ids are live
+    private static final String CREATE_PROGRESS_SQL =
+            "INSERT INTO audit_rollup_progress (id, watermark_id, backfilled_through_id)"
+                    + " SELECT 1, COALESCE(MAX(id), 0), 0 FROM audit_events";
+
+    private static final String SELECT_EVENTS_SQL =
+            "SELECT principal, type, source, data, timestamp FROM audit_events"
+                    + " WHERE id > ? AND id <= ?";
+
+    // Key columns are VARCHAR(255); longer values are cut so they still fit
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final Calendar UTC = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+
+    private static final Comparator<Key> KEY_ORDER =
+            Comparator.comparingLong(Key::bucketHour)
+                    .thenComparing(Key::type)
+                    .thenComparing(Key::principal)
+                    .thenComparing(Key::source)
+                    .thenComparing(Key::endpoint);
+
+    @Value("${stirling.audit.rollup.backfill-chunk:10000}")
+    private int backfillChunk = 10_000;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactions;
+    // Runs a bucket insert under a savepoint, so losing the race for it keeps the batch alive
+    private final TransactionTemplate savepoints;
+    private final ObjectMapper mapper;
+
+    // Set once the progress row is known to be committed
+    private volatile boolean progressCreated;
+    private volatile boolean backfilled;
+
+    public AuditRollupWriter(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper mapper) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.savepoints = new TransactionTemplate(transactionManager);
+        this.savepoints.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.mapper = mapper;
+    }
+
+    /** Hours since the epoch of the bucket {@code timestamp} falls in. */
+    public static long hourOf(Instant timestamp) {
+        return Math.floorDiv(timestamp.getEpochSecond(), 3600);
+    }
+
+    /**
+     * Adds {@code rows} to their hourly buckets. Must run in the transaction that inserts the rows,
+     * before they are inserted, so that the backfill watermark is taken without them.
+     */
+    void add(List<Row> rows) {
+        ensureProgress();
+        apply(aggregate(rows));
+    }
+
+    /**
+     * Adds the next chunk of pre-existing events to the rollups. The progress row is advanced with
+     * a compare-and-set in the same transaction as the increments, so if several instances share
+     * the database each chunk is counted once.
+     */
+    @Scheduled(
+            fixedDelayString = "${stirling.audit.rollup.backfill-interval-ms:1000}",
+            initialDelayString = "${stirling.audit.rollup.backfill-interval-ms:1000}")
+    public void backfill() {
+        if (backfilled) {
+            return;
+        }
+        try {
+            transactions.executeWithoutResult(this::backfillChunk);
+        } catch (DataAccessException | TransactionException e) {
+            log.debug("Audit rollup backfill deferred: {}", e.getMessage());
+        }
+    }
+
+    boolean isBackfilled() {
+        return backfilled;
+    }
+
+    private void backfillChunk(TransactionStatus status) {
+        ensureProgress();
+        long[] progress =
+                jdbc.queryForObject(
+                        "SELECT watermark_id, backfilled_through_id FROM audit_rollup_progress"
+                                + " WHERE id = 1",
+                        (rs, i) -> new long[] {rs.getLong(1), rs.getLong(2)});
+        long watermark = progress[0];
+        long through = progress[1];
+        if (through >= watermark) {
+            backfilled = true;
+            log.info("Audit rollups cover every event up to id {}", watermark);
+            return;
+        }
+        long to = Math.min(watermark, through + backfillChunk);
+        if (jdbc.update(
+                        "UPDATE audit_rollup_progress SET backfilled_through_id = ?"
+                                + " WHERE id = 1 AND backfilled_through_id = ?",
+                        to,
+                        through)
+                == 0) {
+            // Another instance took this chunk
+            status.setRollbackOnly();
+            return;
+        }
+        List<Row> rows =
+                jdbc.query(
+                        SELECT_EVENTS_SQL,
+                        (rs, i) -> {
+                            Timestamp timestamp = rs.getTimestamp(5, UTC);
+                            return new Row(
+                                    rs.getString(1),
+                                    rs.getString(2),
+                                    rs.getString(3),
+                                    rs.getString(4),
+                                    timestamp == null ? null : timestamp.toInstant());
+                        },
+                        through,
+                        to);
+        apply(aggregate(rows));
+        log.debug("Backfilled audit rollups for event ids {} to {}", through + 1, to);
+    }
+
+    /** Creates the progress row, in the current transaction, if it is not known to exist. */
+    private void ensureProgress() {
+        if (progressCreated) {
+            return;
+        }
+        Integer rows =
+                jdbc.queryForObject(
+                        "SELECT COUNT(*) FROM audit_rollup_progress WHERE id = 1", Integer.class);
+        if (rows == null || rows == 0) {
+            // A concurrent insert fails this transaction on the primary key; it is retried later
+            jdbc.update(CREATE_PROGRESS_SQL);
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        progressCreated = true;
+                    }
+                });
+    }
+
+    private Map<Key, Tally> aggregate(List<Row> rows) {
+        Map<Key, Tally> tallies = new TreeMap<>(KEY_ORDER);
+        for (Row row : rows) {
+            if (row.timestamp() == null) {
+                continue;
+            }
+            Map<String, Object> data = parse(row.data());
+            Key key =
+                    new Key(
+                            hourOf(row.timestamp()),
+                            keyPart(row.type()),
+                            keyPart(row.principal()),
+                            keyPart(row.source()),
+                            keyPart(endpointOf(data)));
+            tallies.computeIfAbsent(key, k -> new Tally()).add(data);
+        }
+        return tallies;
+    }
+
+    /**
+     * Increments each bucket, inserting it if it does not exist yet; keys go in a fixed order. Two
+     * writers can both find a bucket missing, whether on different instances or a live batch and
+     * the backfill on this one. The loser's insert fails on the primary key once the winner
+     * commits; only its savepoint is rolled back, and the increment is applied to the winner's row.
+     */
+    private void apply(Map<Key, Tally> tallies) {
+        tallies.forEach(
+                (key, tally) -> {
+                    if (increment(key, tally) > 0) {
+                        return;
+                    }
+                    try {
+                        savepoints.executeWithoutResult(status -> insert(key, tally));
+                    } catch (DuplicateKeyException e) {
+                        if (increment(key, tally) == 0) {
+                            throw e;
+                        }
+                    }
+                });
+    }
+
+    private int increment(Key key, Tally tally) {
+        return jdbc.update(
+                UPDATE_SQL,
+                tally.events,
+                tally.successes,
+                tally.failures,
+                tally.errors,
+                tally.latencySumMs,
+                tally.latencyCount,
+                key.bucketHour(),
+                key.type(),
+                key.principal(),
+                key.source(),
+                key.endpoint());
+    }
+
+    private void insert(Key key, Tally tally) {
+        jdbc.update(
+                INSERT_SQL,
+                key.bucketHour(),
+                key.type(),
+                key.principal(),
+                key.source(),
+                key.endpoint(),
+                tally.events,
+                tally.successes,
+                tally.failures,
+                tally.errors,
+                tally.latencySumMs,
+                tally.latencyCount);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> parse(String data) {
+        if (data == null || data.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            Map<String, Object> parsed = mapper.readValue(data, Map.class);
+            return parsed == null ? Collections.emptyMap() : parsed;
+        } catch (JacksonException e) {
+            log.trace("Failed to parse audit event data: {}", data);
+            return Collections.emptyMap();
+        }
+    }
+
+    /** The request path from {@code endpoint}, {@code path} or {@code requestUri}, or null. */
+    static String endpointOf(Map<String, Object> data) {
+        Object endpoint = data.get("endpoint");
+        if (endpoint == null) {
+            endpoint = data.get("path");
+        }
+        if (endpoint == null) {
+            endpoint = data.get("requestUri");
+        }
+        if (endpoint == null) {
+            return null;
+        }
+        String path = endpoint.toString();
+        int queryIndex = path.indexOf('?');
+        if (queryIndex != -1) {
+            path = path.substring(0, queryIndex);
+        }
+        return path.startsWith("/") ? path : "/" + path;
+    }
+
+    private static String keyPart(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.length() > MAX_KEY_LENGTH ? value.substring(0, MAX_KEY_LENGTH) : value;
+    }
+
+    private static long parseLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        return Long.parseLong(value.toString());
+    }
+
+    private record Key(
+            long bucketHour, String type, String principal, String source, String endpoint) {}
+
+    /** Measures for one bucket, classified the way the dashboard always has. */
+    private static final class Tally {
+        long events;
+        long successes;
+        long failures;
+        long errors;
+        long latencySumMs;
+        long latencyCount;
+
+        void add(Map<String, Object> data) {
+            events++;
+            // "status" is current, "outcome" legacy
+            Object status = data.get("status");
+            if (status == null) {
+                status = data.get("outcome");
+            }
+            if (status != null && "success".equals(status.toString())) {
+                successes++;
+            } else if (status != null && "failure".equals(status.toString())) {
+                failures++;
+                errors++;
+            } else if (data.get("statusCode") != null) {
+                try {
+                    if (parseLong(data.get("statusCode")) >= 400) {
+                        errors++;
+                    }
+                } catch (NumberFormatException e) {
+                    log.trace("Failed to parse statusCode value: {}", data.get("statusCode"));
+                }
+            }
+            Object latency = data.get("latencyMs");
+            if (latency != null) {
+                try {
+                    latencySumMs += parseLong(latency);
+                    latencyCount++;
+                } catch (NumberFormatException e) {
+                    log.trace("Failed to parse latency value: {}", latency);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,490 @@
+package stirling.software.proprietary.audit;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import stirling.software.common.configuration.InstallationPathConfig;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Write-behind pipeline for audit events. {@link #enqueue} puts an event in a bounded lock-free
+ * {@link AuditRingBuffer} and returns; one background thread drains it and inserts the events with
+ * JDBC batch inserts, a batch at a time in its own transaction. A batch is written once it reaches
+ * {@code stirling.audit.writer.batch-size} events or its oldest event has waited {@code
+ * flush-interval-ms}.
+ *
+ * <p>Events go through plain JDBC rather than {@code PersistentAuditEventRepository} because the
+ * entity's IDENTITY ids stop Hibernate from batching inserts. Each batch also updates its hourly
+ * {@link AuditRollupWriter rollups} in the same transaction.
+ *
+ * <p>When the buffer is full, or a batch cannot be written, events are appended to JSON-lines
+ * files in {@code spill-dir} and inserted later once the database keeps up again, including after
+ * a restart. Only when the spill directory is over {@code max-spill-mb} are events dropped. On
+ * shutdown the buffer is flushed, to the database if it can be reached and to disk otherwise.
+ *
+ * <p>Queue depth, spill size and the written, spilled and dropped event counts are exported under
+ * {@code stirling.audit.writer}.
+ */
+@Slf4j
+@Component
+public class BatchingAuditWriter {
+
+    static final String INSERT_SQL =
+            "INSERT INTO audit_events (principal, type, source, data, timestamp)"
+                    + " VALUES (?, ?, ?, ?, ?)";
+
+    // Spilled events are appended to an .open file, which is renamed to .jsonl before replay
+    private static final String OPEN_SUFFIX = ".open";
+    private static final String READY_SUFFIX = ".jsonl";
+
+    private static final Calendar UTC = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+
+    /** One audit event as stored in {@code audit_events}. */
+    public record Row(
+            String principal, String type, String source, String data, Instant timestamp) {}
+
+    @Value("${stirling.audit.writer.capacity:8192}")
+    private int capacity = 8192;
+
+    @Value("${stirling.audit.writer.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${stirling.audit.writer.flush-interval-ms:1000}")
+    private long flushIntervalMs = 1000;
+
+    /** Empty for {@code <config dir>/audit-spill}. */
+    @Value("${stirling.audit.writer.spill-dir:}")
+    private String spillDir = "";
+
+    @Value("${stirling.audit.writer.max-spill-mb:512}")
+    private long maxSpillMb = 512;
+
+    @Value("${stirling.audit.writer.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs = 10_000;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactions;
+    private final ObjectMapper mapper;
+    private final AuditRollupWriter rollups;
+
+    private final Counter written;
+    private final Counter spilled;
+    private final Counter dropped;
+
+    private volatile AuditRingBuffer<Row> buffer;
+    private volatile boolean running;
+    private Thread writer;
+
+    // Spill state, guarded by spillLock
+    private final Object spillLock = new Object();
+    private Path spillPath;
+    private BufferedWriter spillFile;
+    private Path spillFilePath;
+    private final AtomicLong spillBytes = new AtomicLong();
+
+    // Writer thread only: no database writes are attempted before this (System.nanoTime)
+    private long retryAfter;
+
+    public BatchingAuditWriter(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper mapper,
+            MeterRegistry registry,
+            AuditRollupWriter rollups) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.mapper = mapper;
+        this.rollups = rollups;
+        this.written =
+                Counter.builder("stirling.audit.writer.events.written")
+                        .description("Audit events inserted into the database")
+                        .register(registry);
+        this.spilled =
+                Counter.builder("stirling.audit.writer.events.spilled")
+                        .description(
+                                "Audit events written to the local spill directory because the"
+                                        + " queue was full or the database failed")
+                        .register(registry);
+        this.dropped =
+                Counter.builder("stirling.audit.writer.events.dropped")
+                        .description("Audit events lost because the spill directory was full")
+                        .register(registry);
+        Gauge.builder("stirling.audit.writer.queue.depth", this, BatchingAuditWriter::getQueueDepth)
+                .description("Audit events waiting to be written")
+                .register(registry);
+        Gauge.builder("stirling.audit.writer.spill.bytes", spillBytes, AtomicLong::doubleValue)
+                .description("Bytes of audit events waiting in the spill directory")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        spillPath =
+                spillDir == null || spillDir.isBlank()
+                        ? Paths.get(InstallationPathConfig.getConfigPath(), "audit-spill")
+                        : Paths.get(spillDir);
+        Files.createDirectories(spillPath);
+        recoverSpillFiles();
+        buffer = new AuditRingBuffer<>(capacity);
+        running = true;
+        writer = new Thread(this::drainLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.debug(
+                "Audit writer started: capacity={}, batchSize={}, flushIntervalMs={}, spill={}",
+                buffer.capacity(),
+                batchSize,
+                flushIntervalMs,
+                spillPath);
+    }
+
+    /** Queues {@code row} for writing without blocking; spills it to disk if the queue is full. */
+    public void enqueue(Row row) {
+        AuditRingBuffer<Row> current = buffer;
+        if (running && current != null && current.offer(row)) {
+            if (current.size() >= batchSize) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+        spill(List.of(row));
+    }
+
+    public int getQueueDepth() {
+        AuditRingBuffer<Row> current = buffer;
+        return current == null ? 0 : current.size();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        LockSupport.unpark(writer);
+        try {
+            writer.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn(
+                    "Audit writer did not finish within {} ms, spilling the rest",
+                    shutdownTimeoutMs);
+        }
+        // Anything the writer did not get to, including events enqueued while it stopped
+        List<Row> rest = new ArrayList<>();
+        for (Row row; (row = buffer.poll()) != null; ) {
+            rest.add(row);
+        }
+        spill(rest);
+        synchronized (spillLock) {
+            closeSpillFile();
+        }
+    }
+
+    // ── writer thread ───────────────────────────────────────────────────────────────────────
+
+    private void drainLoop() {
+        List<Row> batch = new ArrayList<>(batchSize);
+        long flushInterval = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        long batchStarted = 0;
+        while (true) {
+            boolean stopping = !running;
+            for (Row row; batch.size() < batchSize && (row = buffer.poll()) != null; ) {
+                if (batch.isEmpty()) {
+                    batchStarted = System.nanoTime();
+                }
+                batch.add(row);
+            }
+            boolean due =
+                    batch.size() >= batchSize
+                            || (!batch.isEmpty()
+                                    && System.nanoTime() - batchStarted >= flushInterval);
+            if (!batch.isEmpty() && (due || stopping)) {
+                write(batch);
+                batch.clear();
+                continue;
+            }
+            if (stopping) {
+                return;
+            }
+            if (batch.isEmpty() && replaySpilled()) {
+                continue;
+            }
+            long wait =
+                    batch.isEmpty()
+                            ? flushInterval
+                            : flushInterval - (System.nanoTime() - batchStarted);
+            LockSupport.parkNanos(this, Math.max(wait, 1));
+        }
+    }
+
+    /** Inserts {@code rows}, or spills them if the database cannot take them now. */
+    private void write(List<Row> rows) {
+        if (System.nanoTime() - retryAfter < 0 || !insert(rows)) {
+            spill(rows);
+        }
+    }
+
+    private boolean insert(List<Row> rows) {
+        try {
+            transactions.executeWithoutResult(
+                    status -> {
+                        rollups.add(rows);
+                        jdbc.batchUpdate(
+                                INSERT_SQL,
+                                rows,
+                                rows.size(),
+                                (ps, row) -> {
+                                    ps.setString(1, row.principal());
+                                    ps.setString(2, row.type());
+                                    ps.setString(3, row.source());
+                                    ps.setString(4, row.data());
+                                    ps.setTimestamp(5, Timestamp.from(row.timestamp()), UTC);
+                                });
+                    });
+            written.increment(rows.size());
+            return true;
+        } catch (DataAccessException | TransactionException e) {
+            log.warn(
+                    "Failed to write {} audit event(s), keeping them on disk: {}",
+                    rows.size(),
+                    e.getMessage());
+            retryAfter = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+            return false;
+        }
+    }
+
+    /**
+     * Inserts one spilled file, if there is one and the database is accepting writes. Returns
+     * whether a file was replayed.
+     */
+    private boolean replaySpilled() {
+        if (spillBytes.get() == 0 || System.nanoTime() - retryAfter < 0) {
+            return false;
+        }
+        Path file = nextReadyFile();
+        if (file == null) {
+            synchronized (spillLock) {
+                closeSpillFile();
+            }
+            file = nextReadyFile();
+            if (file == null) {
+                return false;
+            }
+        }
+        List<Row> rows = new ArrayList<>();
+        long size;
+        try {
+            size = Files.size(file);
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    rows.add(mapper.readValue(line, Row.class));
+                }
+            }
+        } catch (IOException | JacksonException e) {
+            log.error("Unreadable audit spill file {}, leaving it for inspection", file, e);
+            quarantine(file);
+            return false;
+        }
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<Row> chunk = rows.subList(from, Math.min(rows.size(), from + batchSize));
+            if (!insert(chunk)) {
+                if (from == 0) {
+                    return false; // nothing written yet, try the whole file again later
+                }
+                // Keep only what has not been written, so a later replay adds no duplicates
+                respill(rows.subList(from, rows.size()));
+                break;
+            }
+        }
+        try {
+            Files.deleteIfExists(file);
+            spillBytes.addAndGet(-size);
+        } catch (IOException e) {
+            log.error("Failed to delete replayed audit spill file {}", file, e);
+            quarantine(file);
+        }
+        log.debug("Replayed spilled audit events from {}", file.getFileName());
+        return true;
+    }
+
+    private Path nextReadyFile() {
+        try (DirectoryStream<Path> files =
+                Files.newDirectoryStream(spillPath, "*" + READY_SUFFIX)) {
+            for (Path file : files) {
+                return file;
+            }
+        } catch (IOException e) {
+            log.warn("Failed to list audit spill directory {}", spillPath, e);
+        }
+        return null;
+    }
+
+    /** Moves a file replay cannot handle out of the way so it is not retried forever. */
+    private void quarantine(Path file) {
+        try {
+            long size = Files.size(file);
+            Files.move(file, file.resolveSibling(file.getFileName() + ".failed"));
+            spillBytes.addAndGet(-size);
+        } catch (IOException e) {
+            log.error("Failed to set aside audit spill file {}", file, e);
+        }
+    }
+
+    // ── spill files ─────────────────────────────────────────────────────────────────────────
+
+    private void spill(List<Row> rows) {
+        int kept = append(rows);
+        spilled.increment(kept);
+        if (kept < rows.size()) {
+            dropped.increment(rows.size() - kept);
+        }
+    }
+
+    /** Puts back the unwritten rest of a replayed file; these events were counted when spilled. */
+    private void respill(List<Row> rows) {
+        int kept = append(rows);
+        if (kept < rows.size()) {
+            dropped.increment(rows.size() - kept);
+        }
+    }
+
+    /** Appends {@code rows} to the open spill file, returning how many fit under the size cap. */
+    private int append(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        long limit = maxSpillMb * 1024 * 1024;
+        synchronized (spillLock) {
+            try {
+                if (spillFile == null) {
+                    spillFilePath =
+                            spillPath.resolve(
+                                    "audit-"
+                                            + System.currentTimeMillis()
+                                            + "-"
+                                            + UUID.randomUUID()
+                                            + OPEN_SUFFIX);
+                    spillFile =
+                            Files.newBufferedWriter(
+                                    spillFilePath,
+                                    StandardCharsets.UTF_8,
+                                    StandardOpenOption.CREATE_NEW,
+                                    StandardOpenOption.WRITE);
+                }
+                int kept = 0;
+                for (Row row : rows) {
+                    String line = mapper.writeValueAsString(row) + "\n";
+                    long bytes = line.getBytes(StandardCharsets.UTF_8).length;
+                    if (spillBytes.get() + bytes > limit) {
+                        break;
+                    }
+                    spillFile.write(line);
+                    spillBytes.addAndGet(bytes);
+                    kept++;
+                }
+                spillFile.flush();
+                if (kept < rows.size()) {
+                    log.error(
+                            "Audit spill directory is over {} MB, dropped {} audit event(s)",
+                            maxSpillMb,
+                            rows.size() - kept);
+                }
+                return kept;
+            } catch (IOException | JacksonException e) {
+                log.error("Failed to spill {} audit event(s), dropping them", rows.size(), e);
+                closeSpillFile();
+                return 0;
+            }
+        }
+    }
+
+    /** Closes the open spill file and makes it available for replay. Caller holds spillLock. */
+    private void closeSpillFile() {
+        if (spillFile == null) {
+            return;
+        }
+        try {
+            spillFile.close();
+            if (Files.size(spillFilePath) == 0) {
+                Files.delete(spillFilePath);
+            } else {
+                Files.move(
+                        spillFilePath, readyPath(spillFilePath), StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            log.error("Failed to close audit spill file {}", spillFilePath, e);
+        } finally {
+            spillFile = null;
+            spillFilePath = null;
+        }
+    }
+
+    /** Makes files left open by an earlier run replayable and counts what is waiting. */
+    private void recoverSpillFiles() throws IOException {
+        long bytes = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spillPath)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(OPEN_SUFFIX)) {
+                    file = Files.move(file, readyPath(file), StandardCopyOption.ATOMIC_MOVE);
+                    name = file.getFileName().toString();
+                }
+                if (name.endsWith(READY_SUFFIX)) {
+                    bytes += Files.size(file);
+                }
+            }
+        }
+        spillBytes.set(bytes);
+        if (bytes > 0) {
+            log.info("Found {} bytes of spilled audit events to replay", bytes);
+        }
+    }
+
+    private static Path readyPath(Path openFile) {
+        String name = openFile.getFileName().toString();
+        return openFile.resolveSibling(
+                name.substring(0, name.length() - OPEN_SUFFIX.length()) + READY_SUFFIX);
+    }
+}
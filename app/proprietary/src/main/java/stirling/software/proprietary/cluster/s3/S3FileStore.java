@@ -1,15 +1,21 @@
 package stirling.software.proprietary.cluster.s3;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -19,6 +25,11 @@ import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
@@ -27,11 +38,18 @@ import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 
 /**
  * S3-backed {@link FileStore} for transient job-result files. Objects are namespaced under a
  * configurable key prefix (default {@code transient/}) and can coexist in the same bucket as {@code
  * S3StorageProvider}.
+ *
+ * <p>Uploads stream straight from the caller's stream. A payload that fits in one part goes up in
+ * a single PUT; anything larger becomes a multipart upload whose parts are sent in parallel while
+ * the caller is still producing the rest, with at most {@code uploadConcurrency} parts in flight
+ * plus the one being filled.
  */
 @Slf4j
 public class S3FileStore implements FileStore, AutoCloseable {
@@ -39,10 +57,25 @@ public class S3FileStore implements FileStore, AutoCloseable {
     public static final String DEFAULT_KEY_PREFIX = "transient/";
     static final String OWNER_METADATA_KEY = "owner";
 
+    /** S3's minimum size for every part of a multipart upload but the last. */
+    public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    /**
+     * Largest part size accepted. Parts are buffered on the heap, up to {@code uploadConcurrency}
+     * at once, so this stays well under both S3's 5 GiB limit and the largest Java array.
+     */
+    public static final int MAX_PART_SIZE = 1024 * 1024 * 1024;
+
+    public static final int DEFAULT_PART_SIZE = 8 * 1024 * 1024;
+    public static final int DEFAULT_UPLOAD_CONCURRENCY = 4;
+
     private final S3Client s3Client;
     private final String bucket;
     private final String keyPrefix;
     private final boolean ownsClient;
+    private final int partSize;
+    private final int uploadConcurrency;
+    private final ExecutorService uploadExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     public S3FileStore(S3Client s3Client, String bucket) {
         this(s3Client, bucket, DEFAULT_KEY_PREFIX, true);
@@ -57,45 +90,229 @@ public class S3FileStore implements FileStore, AutoCloseable {
      *     tests that share the client with another consumer.
      */
     public S3FileStore(S3Client s3Client, String bucket, String keyPrefix, boolean ownsClient) {
+        this(
+                s3Client,
+                bucket,
+                keyPrefix,
+                ownsClient,
+                DEFAULT_PART_SIZE,
+                DEFAULT_UPLOAD_CONCURRENCY);
+    }
+
+    /**
+     * @param partSize bytes per multipart part, and the largest payload sent as a single PUT; at
+     *     least {@link #MIN_PART_SIZE} and at most {@link #MAX_PART_SIZE}
+     * @param uploadConcurrency parts of one upload that may be in flight at once
+     */
+    public S3FileStore(
+            S3Client s3Client,
+            String bucket,
+            String keyPrefix,
+            boolean ownsClient,
+            int partSize,
+            int uploadConcurrency) {
         if (bucket == null || bucket.isBlank()) {
             throw new IllegalArgumentException("S3 bucket must be configured");
         }
+        if (partSize < MIN_PART_SIZE) {
+            throw new IllegalArgumentException(
+                    "S3 part size must be at least " + MIN_PART_SIZE + " bytes");
+        }
+        if (partSize > MAX_PART_SIZE) {
+            throw new IllegalArgumentException(
+                    "S3 part size must be at most " + MAX_PART_SIZE + " bytes");
+        }
+        if (uploadConcurrency < 1) {
+            throw new IllegalArgumentException("S3 upload concurrency must be at least 1");
+        }
         this.s3Client = s3Client;
         this.bucket = bucket;
         this.keyPrefix = normalizePrefix(keyPrefix);
         this.ownsClient = ownsClient;
+        this.partSize = partSize;
+        this.uploadConcurrency = uploadConcurrency;
     }
 
     @Override
     public Stored store(InputStream in, String originalName, String owner) throws IOException {
         String fileId = UUID.randomUUID().toString();
-        // S3 PUT requires a known content-length; spool to a temp file first so memory stays
-        // bounded for large payloads, then stream the file to S3 via RequestBody.fromFile.
-        Path tempFile = Files.createTempFile("s3-upload-", ".bin");
-        long size;
+        String key = resolveKey(fileId);
+        Map<String, String> metadata =
+                owner != null && !owner.isBlank()
+                        ? Map.of(OWNER_METADATA_KEY, owner)
+                        : Collections.emptyMap();
+        try (InputStream src = in) {
+            byte[] firstPart = src.readNBytes(partSize);
+            if (firstPart.length < partSize) {
+                putObject(key, metadata, firstPart);
+                return new Stored(fileId, firstPart.length);
+            }
+            return new Stored(fileId, putMultipart(key, metadata, firstPart, src));
+        }
+    }
+
+    private void putObject(String key, Map<String, String> metadata, byte[] content)
+            throws IOException {
+        PutObjectRequest.Builder builder = PutObjectRequest.builder().bucket(bucket).key(key);
+        if (!metadata.isEmpty()) {
+            builder.metadata(metadata);
+        }
+        try {
+            s3Client.putObject(builder.build(), RequestBody.fromBytes(content));
+        } catch (SdkException e) {
+            throw new IOException("Failed to upload object to S3", e);
+        }
+    }
+
+    /**
+     * Multipart upload of {@code firstPart} followed by the rest of {@code src}. Any failure,
+     * including one reading {@code src}, aborts the upload so no parts are left billed in the
+     * bucket.
+     */
+    private long putMultipart(
+            String key, Map<String, String> metadata, byte[] firstPart, InputStream src)
+            throws IOException {
+        CreateMultipartUploadRequest.Builder create =
+                CreateMultipartUploadRequest.builder().bucket(bucket).key(key);
+        if (!metadata.isEmpty()) {
+            create.metadata(metadata);
+        }
+        MultipartUpload upload;
         try {
-            try (InputStream src = in) {
-                Files.copy(src, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            String uploadId = s3Client.createMultipartUpload(create.build()).uploadId();
+            upload = new MultipartUpload(key, uploadId);
+        } catch (SdkException e) {
+            throw new IOException("Failed to start multipart upload to S3", e);
+        }
+        boolean completed = false;
+        try {
+            long size = 0;
+            byte[] part = firstPart;
+            while (part.length > 0 && !upload.failed()) {
+                size += part.length;
+                upload.submit(part);
+                part = part.length < partSize ? new byte[0] : src.readNBytes(partSize);
             }
-            size = Files.size(tempFile);
-            PutObjectRequest.Builder builder =
-                    PutObjectRequest.builder().bucket(bucket).key(resolveKey(fileId));
-            if (owner != null && !owner.isBlank()) {
-                builder.metadata(Map.of(OWNER_METADATA_KEY, owner));
+            List<CompletedPart> parts = upload.awaitParts();
+            s3Client.completeMultipartUpload(
+                    CompleteMultipartUploadRequest.builder()
+                            .bucket(bucket)
+                            .key(key)
+                            .uploadId(upload.uploadId)
+                            .multipartUpload(
+                                    CompletedMultipartUpload.builder().parts(parts).build())
+                            .build());
+            completed = true;
+            return size;
+        } catch (SdkException e) {
+            throw new IOException("Failed to upload object to S3", e);
+        } finally {
+            if (!completed) {
+                upload.abort();
+            }
+        }
+    }
+
+    /** Parts of one multipart upload, sent on the upload executor and bounded by a semaphore. */
+    private final class MultipartUpload {
+        private final String key;
+        private final String uploadId;
+        private final Semaphore inFlight = new Semaphore(uploadConcurrency);
+        private final List<Future<CompletedPart>> parts = new ArrayList<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private volatile boolean abandoned;
+        private boolean drained;
+
+        MultipartUpload(String key, String uploadId) {
+            this.key = key;
+            this.uploadId = uploadId;
+        }
+
+        boolean failed() {
+            return failure.get() != null;
+        }
+
+        /** Queues the next part, first waiting for a free slot if the upload is at its limit. */
+        void submit(byte[] content) throws IOException {
+            int partNumber = parts.size() + 1;
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted during multipart upload to S3", e);
             }
             try {
-                s3Client.putObject(builder.build(), RequestBody.fromFile(tempFile));
-            } catch (SdkException e) {
-                throw new IOException("Failed to upload object to S3", e);
+                parts.add(uploadExecutor.submit(() -> uploadPart(partNumber, content)));
+            } catch (RejectedExecutionException e) {
+                inFlight.release();
+                throw new IOException("S3 file store is closed", e);
             }
-        } finally {
+        }
+
+        private CompletedPart uploadPart(int partNumber, byte[] content) {
+            try {
+                if (abandoned || failed()) {
+                    return null;
+                }
+                UploadPartResponse response =
+                        s3Client.uploadPart(
+                                UploadPartRequest.builder()
+                                        .bucket(bucket)
+                                        .key(key)
+                                        .uploadId(uploadId)
+                                        .partNumber(partNumber)
+                                        .contentLength((long) content.length)
+                                        .build(),
+                                // A fresh stream per attempt so SDK retries can replay the part
+                                RequestBody.fromContentProvider(
+                                        () -> new ByteArrayInputStream(content),
+                                        content.length,
+                                        "application/octet-stream"));
+                return CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build();
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+                throw e;
+            } finally {
+                inFlight.release();
+            }
+        }
+
+        /** Waits for every queued part and returns them in order, or the first part failure. */
+        List<CompletedPart> awaitParts() throws IOException {
+            drain();
+            if (failed()) {
+                throw new IOException("Failed to upload part to S3", failure.get());
+            }
+            List<CompletedPart> completed = new ArrayList<>(parts.size());
+            for (Future<CompletedPart> part : parts) {
+                completed.add(part.resultNow());
+            }
+            return completed;
+        }
+
+        /** Drops parts not yet sent, waits out those in flight, then aborts the upload. */
+        void abort() {
+            abandoned = true;
+            drain();
             try {
-                Files.deleteIfExists(tempFile);
-            } catch (IOException cleanupError) {
-                log.warn("Failed to delete S3 upload temp file: {}", tempFile, cleanupError);
+                s3Client.abortMultipartUpload(
+                        AbortMultipartUploadRequest.builder()
+                                .bucket(bucket)
+                                .key(key)
+                                .uploadId(uploadId)
+                                .build());
+            } catch (SdkException e) {
+                log.warn("Failed to abort multipart upload {} for {}", uploadId, key, e);
+            }
+        }
+
+        private void drain() {
+            if (!drained) {
+                // Every part releases its permit when it finishes, sent or skipped
+                inFlight.acquireUninterruptibly(uploadConcurrency);
+                drained = true;
             }
         }
-        return new Stored(fileId, size);
     }
 
     @Override
@@ -223,6 +440,7 @@ public class S3FileStore implements FileStore, AutoCloseable {
 
     @Override
     public void close() {
+        uploadExecutor.shutdown();
         if (!ownsClient) {
             return;
         }
@@ -1,29 +1,62 @@
 package stirling.software.proprietary.cluster.s3;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import stirling.software.common.cluster.CachingFileStore;
+import stirling.software.common.cluster.ClusterBackplane;
 import stirling.software.common.cluster.FileStore;
 import stirling.software.common.model.ApplicationProperties;
 
-/** Activates the S3-backed transient {@link FileStore} when {@code cluster.artifactStore=s3}. */
+/**
+ * Activates the S3-backed transient {@link FileStore} when {@code cluster.artifactStore=s3}, behind
+ * a node-local {@link CachingFileStore} when {@code cluster.fileCache.enabled=true}.
+ */
 @Slf4j
 @Configuration
 @RequiredArgsConstructor
 @ConditionalOnProperty(prefix = "cluster", name = "artifactStore", havingValue = "s3")
 public class S3FileStoreConfiguration {
 
+    // Default cache directories tried before giving up, i.e. nodes that can share one host
+    private static final int MAX_DEFAULT_CACHE_DIRS = 16;
+
     private final ApplicationProperties applicationProperties;
 
     @Bean(destroyMethod = "close")
     @ConditionalOnMissingBean
-    public FileStore fileStore(@Value("${cluster.s3.keyPrefix:transient/}") String keyPrefix) {
+    public FileStore fileStore(
+            @Value("${cluster.s3.keyPrefix:transient/}") String keyPrefix,
+            @Value("${cluster.s3.partSizeMb:8}") int partSizeMb,
+            @Value("${cluster.s3.uploadConcurrency:4}") int uploadConcurrency,
+            ClusterBackplane clusterBackplane,
+            ObjectProvider<MeterRegistry> meterRegistry)
+            throws IOException {
+        // In long, so an oversized setting is reported rather than wrapping to a small int
+        long partSizeBytes = partSizeMb * 1024L * 1024;
+        if (partSizeBytes < S3FileStore.MIN_PART_SIZE
+                || partSizeBytes > S3FileStore.MAX_PART_SIZE) {
+            throw new IllegalStateException(
+                    "cluster.s3.partSizeMb must be between "
+                            + (S3FileStore.MIN_PART_SIZE >> 20)
+                            + " and "
+                            + (S3FileStore.MAX_PART_SIZE >> 20)
+                            + ", got "
+                            + partSizeMb);
+        }
         ApplicationProperties.Storage.S3 cfg = applicationProperties.getStorage().getS3();
         S3Clients.Bundle bundle = S3Clients.build(cfg, "cluster file store");
         // FileStore has no signed-URL contract; close the unused presigner immediately.
@@ -31,7 +64,50 @@ public class S3FileStoreConfiguration {
             bundle.presigner().close();
         } catch (Exception ignored) {
         }
-        log.info("Cluster FileStore: s3 (bucket={}, keyPrefix={})", cfg.getBucket(), keyPrefix);
-        return new S3FileStore(bundle.client(), cfg.getBucket(), keyPrefix, true);
+        log.info(
+                "Cluster FileStore: s3 (bucket={}, keyPrefix={}, partSizeMb={},"
+                        + " uploadConcurrency={})",
+                cfg.getBucket(),
+                keyPrefix,
+                partSizeMb,
+                uploadConcurrency);
+        S3FileStore s3FileStore =
+                new S3FileStore(
+                        bundle.client(),
+                        cfg.getBucket(),
+                        keyPrefix,
+                        true,
+                        (int) partSizeBytes,
+                        uploadConcurrency);
+        ApplicationProperties.Cluster.FileCache cache =
+                applicationProperties.getCluster().getFileCache();
+        if (!cache.isEnabled()) {
+            return s3FileStore;
+        }
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        long maxBytes = cache.getMaxSizeMb() * 1024 * 1024;
+        if (cache.getDir() != null && !cache.getDir().isBlank()) {
+            // A configured directory belongs to this node; another store holding it is an error
+            Path dir = Path.of(cache.getDir());
+            log.info("Cluster FileStore cache: {} (maxSizeMb={})", dir, cache.getMaxSizeMb());
+            return new CachingFileStore(s3FileStore, dir, maxBytes, clusterBackplane, registry);
+        }
+        // Nodes sharing a host take the first default directory no other node holds
+        Path base = Path.of(System.getProperty("java.io.tmpdir"), "stirling-filestore-cache");
+        for (int instance = 0; ; instance++) {
+            Path dir = instance == 0 ? base : Path.of(base + "-" + instance);
+            try {
+                CachingFileStore cached =
+                        new CachingFileStore(
+                                s3FileStore, dir, maxBytes, clusterBackplane, registry);
+                log.info("Cluster FileStore cache: {} (maxSizeMb={})", dir, cache.getMaxSizeMb());
+                return cached;
+            } catch (CachingFileStore.DirectoryInUseException e) {
+                if (instance + 1 >= MAX_DEFAULT_CACHE_DIRS) {
+                    throw e;
+                }
+                log.debug("{}, trying the next one", e.getMessage());
+            }
+        }
     }
 }
@@ -1,9 +1,16 @@
 package stirling.software.proprietary.cluster.valkey;
 
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
 import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PreDestroy;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -16,9 +23,14 @@ import stirling.software.common.model.ApplicationProperties;
 @ConditionalOnValkeyBackplane
 public class ValkeyClusterBackplane implements ClusterBackplane {
 
+    private static final String CHANNEL_PREFIX = "stirling:bus:";
+
     private final ApplicationProperties applicationProperties;
     private final StringRedisTemplate template;
 
+    // Started on the first subscribe so nodes that never listen hold no subscriber connection
+    private RedisMessageListenerContainer listenerContainer;
+
     @Override
     public boolean isHealthy() {
         try {
@@ -52,4 +64,45 @@ public class ValkeyClusterBackplane implements ClusterBackplane {
     public boolean shouldRunLocalCleanup() {
         return false;
     }
+
+    /** Valkey PUBLISH; reaches the nodes subscribed at that moment, this one included. */
+    @Override
+    public void publish(String channel, String message) {
+        try {
+            template.convertAndSend(CHANNEL_PREFIX + channel, message);
+        } catch (RuntimeException ex) {
+            log.warn("Valkey publish on {} failed: {}", channel, ex.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void subscribe(String channel, Consumer<String> listener) {
+        if (listenerContainer == null) {
+            listenerContainer = new RedisMessageListenerContainer();
+            listenerContainer.setConnectionFactory(template.getConnectionFactory());
+            listenerContainer.afterPropertiesSet();
+            listenerContainer.start();
+        }
+        listenerContainer.addMessageListener(
+                (message, pattern) -> {
+                    try {
+                        listener.accept(new String(message.getBody(), StandardCharsets.UTF_8));
+                    } catch (RuntimeException ex) {
+                        log.warn("Listener on channel {} failed: {}", channel, ex.getMessage());
+                    }
+                },
+                new ChannelTopic(CHANNEL_PREFIX + channel));
+    }
+
+    @PreDestroy
+    synchronized void shutdown() {
+        if (listenerContainer != null) {
+            try {
+                listenerContainer.destroy();
+            } catch (Exception ex) {
+                log.warn("Error stopping Valkey listener container", ex);
+            }
+            listenerContainer = null;
+        }
+    }
 }
@@ -19,8 +19,7 @@ import org.springframework.util.CollectionUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import stirling.software.proprietary.model.security.PersistentAuditEvent;
-import stirling.software.proprietary.repository.PersistentAuditEventRepository;
+import stirling.software.proprietary.audit.BatchingAuditWriter;
 import stirling.software.proprietary.util.SecretMasker;
 
 import tools.jackson.databind.ObjectMapper;
@@ -31,7 +30,7 @@ import tools.jackson.databind.ObjectMapper;
 @Slf4j
 public class CustomAuditEventRepository implements AuditEventRepository {
 
-    private final PersistentAuditEventRepository repo;
+    private final BatchingAuditWriter writer;
     private final ObjectMapper mapper;
 
     /* ── READ side intentionally inert (endpoint disabled) ── */
@@ -40,7 +39,7 @@ public class CustomAuditEventRepository implements AuditEventRepository {
         return List.of();
     }
 
-    /* ── WRITE side (async) ───────────────────────────────── */
+    /* ── WRITE side (async, batched by BatchingAuditWriter) ── */
     @Async("auditExecutor")
     @Override
     public void add(AuditEvent ev) {
@@ -76,15 +75,13 @@ public class CustomAuditEventRepository implements AuditEventRepository {
             String auditEventData = mapper.writeValueAsString(clean);
             log.debug("AuditEvent data (JSON): {}", auditEventData);
 
-            PersistentAuditEvent ent =
-                    PersistentAuditEvent.builder()
-                            .principal(safePrincipal(ev.getPrincipal()))
-                            .type(ev.getType())
-                            .source(source)
-                            .data(auditEventData)
-                            .timestamp(ev.getTimestamp())
-                            .build();
-            repo.save(ent);
+            writer.enqueue(
+                    new BatchingAuditWriter.Row(
+                            safePrincipal(ev.getPrincipal()),
+                            ev.getType(),
+                            source,
+                            auditEventData,
+                            ev.getTimestamp()));
         } catch (Exception e) {
             log.error("Failed to persist audit event (fail-open); type={}", ev.getType(), e);
         }
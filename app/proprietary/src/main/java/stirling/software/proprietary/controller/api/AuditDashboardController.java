@@ -1,17 +1,18 @@
 package stirling.software.proprietary.controller.api;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
@@ -21,7 +22,6 @@ import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -33,6 +33,8 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import jakarta.servlet.http.HttpServletResponse;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -44,9 +46,8 @@ import stirling.software.proprietary.model.api.audit.AuditStatsResponse;
 import stirling.software.proprietary.model.security.PersistentAuditEvent;
 import stirling.software.proprietary.repository.PersistentAuditEventRepository;
 import stirling.software.proprietary.security.config.EnterpriseEndpoint;
-
-import tools.jackson.core.JacksonException;
-import tools.jackson.databind.ObjectMapper;
+import stirling.software.proprietary.service.AuditExportService;
+import stirling.software.proprietary.service.AuditRollupService;
 
 /** REST endpoints for the audit dashboard. */
 @Slf4j
@@ -59,7 +60,8 @@ import tools.jackson.databind.ObjectMapper;
 public class AuditDashboardController {
 
     private final PersistentAuditEventRepository auditRepository;
-    private final ObjectMapper objectMapper;
+    private final AuditExportService auditExportService;
+    private final AuditRollupService auditRollupService;
 
     /** Get audit events data for the dashboard tables. */
     @GetMapping("/data")
@@ -124,37 +126,14 @@ public class AuditDashboardController {
                     @RequestParam(value = "days", defaultValue = "7")
                     int days) {
 
-        // Get events from the last X days
+        // Sum the hourly rollups for the last X days
         Instant startDate = Instant.now().minus(java.time.Duration.ofDays(days));
-        List<PersistentAuditEvent> events = auditRepository.findByTimestampAfter(startDate);
-
-        // Count events by type
-        Map<String, Long> eventsByType =
-                events.stream()
-                        .collect(
-                                Collectors.groupingBy(
-                                        PersistentAuditEvent::getType, Collectors.counting()));
-
-        // Count events by principal
-        Map<String, Long> eventsByPrincipal =
-                events.stream()
-                        .collect(
-                                Collectors.groupingBy(
-                                        PersistentAuditEvent::getPrincipal, Collectors.counting()));
-
-        // Count events by day
-        Map<String, Long> eventsByDay =
-                events.stream()
-                        .collect(
-                                Collectors.groupingBy(
-                                        e ->
-                                                LocalDateTime.ofInstant(
-                                                                e.getTimestamp(),
-                                                                ZoneId.systemDefault())
-                                                        .format(DateTimeFormatter.ISO_LOCAL_DATE),
-                                        Collectors.counting()));
-
-        return new AuditStatsResponse(eventsByType, eventsByPrincipal, eventsByDay, events.size());
+        Map<String, Long> eventsByType = auditRollupService.countsByType(startDate, null);
+        Map<String, Long> eventsByPrincipal = auditRollupService.countsByPrincipal(startDate, null);
+        Map<String, Long> eventsByDay = auditRollupService.countsByDay(startDate, null);
+        long total = eventsByType.values().stream().mapToLong(Long::longValue).sum();
+
+        return new AuditStatsResponse(eventsByType, eventsByPrincipal, eventsByDay, (int) total);
     }
 
     // /** Advanced statistics using repository aggregations, with explicit date range. */
@@ -217,58 +196,36 @@ public class AuditDashboardController {
         return combinedTypes.stream().sorted().toList();
     }
 
-    /** Export audit data as CSV. */
+    /** Export audit data as CSV, written to the response as rows are read. */
     @GetMapping("/export/csv")
     @Operation(summary = "Export audit data as CSV")
-    public ResponseEntity<byte[]> exportAuditData(@ParameterObject AuditExportRequest request) {
-
-        List<PersistentAuditEvent> events = getAuditEventsByCriteria(request);
-
-        // Convert to CSV
-        StringBuilder csv = new StringBuilder();
-        csv.append("ID,Principal,Type,Timestamp,Data\n");
-
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_INSTANT;
-
-        for (PersistentAuditEvent event : events) {
-            csv.append(event.getId()).append(",");
-            csv.append(escapeCSV(event.getPrincipal())).append(",");
-            csv.append(escapeCSV(event.getType())).append(",");
-            csv.append(formatter.format(event.getTimestamp())).append(",");
-            csv.append(escapeCSV(event.getData())).append("\n");
-        }
-
-        byte[] csvBytes = csv.toString().getBytes(StandardCharsets.UTF_8);
-
-        // Set up HTTP headers for download
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-        headers.setContentDispositionFormData("attachment", "audit_export.csv");
-
-        return ResponseEntity.ok().headers(headers).body(csvBytes);
+    public void exportAuditData(
+            @ParameterObject AuditExportRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        setAttachment(response, "audit_export.csv");
+        Writer csv =
+                new BufferedWriter(
+                        new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        auditExportService.writeCsv(exportFilter(request), csv);
     }
 
-    /** Export audit data as JSON. */
+    /** Export audit data as JSON, written to the response as rows are read. */
     @GetMapping("/export/json")
     @Operation(summary = "Export audit data as JSON")
-    public ResponseEntity<byte[]> exportAuditDataJson(@ParameterObject AuditExportRequest request) {
-
-        List<PersistentAuditEvent> events = getAuditEventsByCriteria(request);
-
-        // Convert to JSON
-        try {
-            byte[] jsonBytes = objectMapper.writeValueAsBytes(events);
-
-            // Set up HTTP headers for download
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setContentDispositionFormData("attachment", "audit_export.json");
+    public void exportAuditDataJson(
+            @ParameterObject AuditExportRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        setAttachment(response, "audit_export.json");
+        auditExportService.writeJson(exportFilter(request), response.getOutputStream());
+    }
 
-            return ResponseEntity.ok().headers(headers).body(jsonBytes);
-        } catch (JacksonException e) {
-            log.error("Error serializing audit events to JSON", e);
-            return ResponseEntity.internalServerError().build();
-        }
+    private static void setAttachment(HttpServletResponse response, String filename) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentDispositionFormData("attachment", filename);
+        response.setHeader(
+                HttpHeaders.CONTENT_DISPOSITION, headers.getFirst(HttpHeaders.CONTENT_DISPOSITION));
     }
 
     // /** Get all unique principals. */
@@ -324,6 +281,7 @@ public class AuditDashboardController {
         if (date != null && !date.isAfter(LocalDate.now())) {
             Instant cutoff = date.atStartOfDay(ZoneId.systemDefault()).toInstant();
             int deleted = auditRepository.deleteByTimestampBefore(cutoff);
+            auditRollupService.deleteBefore(cutoff);
             return Map.of("deleted", deleted, "cutoffDate", date.toString());
         }
         return Map.of(
@@ -343,53 +301,19 @@ public class AuditDashboardController {
     //     return map;
     // }
 
-    /** Helper method to escape CSV fields. */
-    private String escapeCSV(String field) {
-        if (field == null) {
-            return "";
-        }
-        // Replace double quotes with two double quotes and wrap in quotes
-        return "\"" + field.replace("\"", "\"\"") + "\"";
-    }
-
-    private List<PersistentAuditEvent> getAuditEventsByCriteria(AuditExportRequest request) {
+    /** Same filtering as getAuditData: principal matches as a case-insensitive substring. */
+    private static AuditExportService.Filter exportFilter(AuditExportRequest request) {
         String type = request.getType();
-        String principal = request.getPrincipal();
         LocalDate startDate = request.getStartDate();
         LocalDate endDate = request.getEndDate();
 
-        // Get data with same filtering as getAuditData
-        List<PersistentAuditEvent> events;
-
-        if (type != null && principal != null && startDate != null && endDate != null) {
-            Instant start = startDate.atStartOfDay(ZoneId.systemDefault()).toInstant();
-            Instant end = endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
-            events =
-                    auditRepository.findAllByPrincipalAndTypeAndTimestampBetweenForExport(
-                            principal, type, start, end);
-        } else if (type != null && principal != null) {
-            events = auditRepository.findAllByPrincipalAndTypeForExport(principal, type);
-        } else if (type != null && startDate != null && endDate != null) {
-            Instant start = startDate.atStartOfDay(ZoneId.systemDefault()).toInstant();
-            Instant end = endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
-            events = auditRepository.findAllByTypeAndTimestampBetweenForExport(type, start, end);
-        } else if (principal != null && startDate != null && endDate != null) {
-            Instant start = startDate.atStartOfDay(ZoneId.systemDefault()).toInstant();
-            Instant end = endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
-            events =
-                    auditRepository.findAllByPrincipalAndTimestampBetweenForExport(
-                            principal, start, end);
-        } else if (startDate != null && endDate != null) {
-            Instant start = startDate.atStartOfDay(ZoneId.systemDefault()).toInstant();
-            Instant end = endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
-            events = auditRepository.findAllByTimestampBetweenForExport(start, end);
-        } else if (type != null) {
-            events = auditRepository.findByTypeForExport(type);
-        } else if (principal != null) {
-            events = auditRepository.findAllByPrincipalForExport(principal);
-        } else {
-            events = auditRepository.findAll();
+        Instant start = null;
+        Instant end = null;
+        if (startDate != null && endDate != null) {
+            start = startDate.atStartOfDay(ZoneId.systemDefault()).toInstant();
+            end = endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
         }
-        return events;
+        return new AuditExportService.Filter(
+                type != null ? List.of(type) : null, null, request.getPrincipal(), start, end);
     }
 }
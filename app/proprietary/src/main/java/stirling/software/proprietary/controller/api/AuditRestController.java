@@ -1,9 +1,12 @@
 package stirling.software.proprietary.controller.api;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -22,6 +25,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import jakarta.servlet.http.HttpServletResponse;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -30,6 +35,8 @@ import stirling.software.proprietary.audit.AuditEventType;
 import stirling.software.proprietary.model.security.PersistentAuditEvent;
 import stirling.software.proprietary.repository.PersistentAuditEventRepository;
 import stirling.software.proprietary.security.config.EnterpriseEndpoint;
+import stirling.software.proprietary.service.AuditExportService;
+import stirling.software.proprietary.service.AuditRollupService;
 
 import tools.jackson.core.JacksonException;
 import tools.jackson.databind.ObjectMapper;
@@ -44,6 +51,8 @@ public class AuditRestController {
 
     private final PersistentAuditEventRepository auditRepository;
     private final ObjectMapper objectMapper;
+    private final AuditExportService auditExportService;
+    private final AuditRollupService auditRollupService;
 
     /**
      * Get audit events with pagination and filters. Maps to frontend's getEvents() call. Supports
@@ -150,35 +159,11 @@ public class AuditRestController {
                     default -> 7;
                 };
 
-        // Get events from the specified period
+        // Sum the hourly rollups for the specified period
         Instant startDate = Instant.now().minus(java.time.Duration.ofDays(days));
-        List<PersistentAuditEvent> events = auditRepository.findByTimestampAfter(startDate);
-
-        // Count events by type
-        Map<String, Long> eventsByType =
-                events.stream()
-                        .collect(
-                                Collectors.groupingBy(
-                                        PersistentAuditEvent::getType, Collectors.counting()));
-
-        // Count events by principal (user)
-        Map<String, Long> eventsByUser =
-                events.stream()
-                        .collect(
-                                Collectors.groupingBy(
-                                        PersistentAuditEvent::getPrincipal, Collectors.counting()));
-
-        // Count events by day
-        Map<String, Long> eventsByDay =
-                events.stream()
-                        .collect(
-                                Collectors.groupingBy(
-                                        e ->
-                                                LocalDateTime.ofInstant(
-                                                                e.getTimestamp(),
-                                                                ZoneId.systemDefault())
-                                                        .format(DateTimeFormatter.ISO_LOCAL_DATE),
-                                        Collectors.counting()));
+        Map<String, Long> eventsByType = auditRollupService.countsByType(startDate, null);
+        Map<String, Long> eventsByUser = auditRollupService.countsByPrincipal(startDate, null);
+        Map<String, Long> eventsByDay = auditRollupService.countsByDay(startDate, null);
 
         // Convert to ChartData format
         ChartData eventsByTypeChart =
@@ -269,30 +254,14 @@ public class AuditRestController {
                     default -> 7;
                 };
 
-        // Get events from the specified period and previous period
-        Instant now = Instant.now();
-        Instant start = now.minus(java.time.Duration.ofDays(days));
+        // Sum the hourly rollups for the specified period and the one before it
+        Instant start = Instant.now().minus(java.time.Duration.ofDays(days));
         Instant prevStart = start.minus(java.time.Duration.ofDays(days));
 
-        List<PersistentAuditEvent> currentEvents = auditRepository.findByTimestampAfter(start);
-        List<PersistentAuditEvent> prevEvents =
-                auditRepository.findAllByTimestampBetweenForExport(prevStart, start);
+        AuditMetrics currentMetrics = computeMetrics(start, null);
+        AuditMetrics prevMetrics = computeMetrics(prevStart, start);
 
-        // Compute metrics for current period
-        AuditMetrics currentMetrics = computeMetrics(currentEvents);
-        AuditMetrics prevMetrics = computeMetrics(prevEvents);
-
-        // Get hourly distribution using DB aggregation
-        List<Object[]> hourlyData = auditRepository.histogramByHourBetween(start, now);
-        Map<String, Long> hourlyDistribution = new TreeMap<>();
-        for (int h = 0; h < 24; h++) {
-            hourlyDistribution.put(String.format("%02d", h), 0L);
-        }
-        for (Object[] row : hourlyData) {
-            int hour = ((Number) row[0]).intValue();
-            long count = ((Number) row[1]).longValue();
-            hourlyDistribution.put(String.format("%02d", hour), count);
-        }
+        Map<String, Long> hourlyDistribution = auditRollupService.countsByHourOfDay(start, null);
 
         return ResponseEntity.ok(
                 AuditStatsData.builder()
@@ -314,120 +283,32 @@ public class AuditRestController {
                         .build());
     }
 
-    /** Compute metrics from a list of audit events. */
-    private AuditMetrics computeMetrics(List<PersistentAuditEvent> events) {
-        if (events.isEmpty()) {
+    /** Compute metrics for a period from the hourly rollups; {@code end} null for open-ended. */
+    private AuditMetrics computeMetrics(Instant start, Instant end) {
+        AuditRollupService.Totals totals = auditRollupService.totals(start, end);
+        if (totals.events() == 0) {
             return AuditMetrics.builder().build();
         }
 
-        // Count by type
-        Map<String, Long> eventsByType =
-                events.stream()
-                        .collect(
-                                Collectors.groupingBy(
-                                        PersistentAuditEvent::getType, Collectors.counting()));
+        Map<String, Long> eventsByType = auditRollupService.countsByType(start, end);
+        Map<String, Long> eventsByUser = auditRollupService.countsByPrincipal(start, end);
 
-        // Count by principal (user)
-        Map<String, Long> eventsByUser =
-                events.stream()
-                        .collect(
-                                Collectors.groupingBy(
-                                        PersistentAuditEvent::getPrincipal, Collectors.counting()));
-
-        // Parse JSON data once for success rate, latency, tool extraction, and error counting
-        long successCount = 0;
-        long failureCount = 0;
-        long errorCount = 0;
-        long totalLatencyMs = 0;
-        long latencyCount = 0;
+        // A tool is the last segment of the request path
         Map<String, Long> topTools = new HashMap<>();
-
-        for (PersistentAuditEvent event : events) {
-            if (event.getData() != null) {
-                try {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> data = objectMapper.readValue(event.getData(), Map.class);
-
-                    // Track success/failure (safe type conversion)
-                    // Check both "status" (current) and "outcome" (legacy) for compatibility
-                    Object statusObj = data.get("status");
-                    if (statusObj == null) {
-                        statusObj = data.get("outcome");
-                    }
-                    String status = null;
-                    if (statusObj instanceof String) {
-                        status = (String) statusObj;
-                    } else if (statusObj != null) {
-                        status = String.valueOf(statusObj);
-                    }
-                    if ("success".equals(status)) {
-                        successCount++;
-                    } else if ("failure".equals(status)) {
-                        failureCount++;
-                        errorCount++;
-                    } else {
-                        // Check statusCode for error counting (when status is not explicit failure)
-                        Object statusCode = data.get("statusCode");
-                        if (statusCode != null) {
-                            try {
-                                int statusCodeVal;
-                                if (statusCode instanceof Number) {
-                                    statusCodeVal = ((Number) statusCode).intValue();
-                                } else if (statusCode instanceof String) {
-                                    statusCodeVal = Integer.parseInt((String) statusCode);
-                                } else {
-                                    statusCodeVal = 0;
-                                }
-                                if (statusCodeVal >= 400) {
-                                    errorCount++;
-                                }
-                            } catch (NumberFormatException e) {
-                                log.trace("Failed to parse statusCode value: {}", statusCode);
-                            }
-                        }
-                    }
-
-                    // Track latency (safe conversion to handle strings/numbers)
-                    Object latency = data.get("latencyMs");
-                    if (latency != null) {
-                        try {
-                            long latencyVal;
-                            if (latency instanceof Number) {
-                                latencyVal = ((Number) latency).longValue();
-                            } else if (latency instanceof String) {
-                                latencyVal = Long.parseLong((String) latency);
-                            } else {
-                                latencyVal = 0;
-                            }
-                            totalLatencyMs += latencyVal;
-                            latencyCount++;
-                        } catch (NumberFormatException e) {
-                            log.trace("Failed to parse latency value: {}", latency);
-                        }
-                    }
-
-                    // Extract tool from path (safe type conversion)
-                    Object pathObj = data.get("path");
-                    String path = null;
-                    if (pathObj instanceof String) {
-                        path = (String) pathObj;
-                    } else if (pathObj != null) {
-                        path = String.valueOf(pathObj);
-                    }
-                    if (path != null && !path.isEmpty()) {
-                        String[] parts = path.split("/");
-                        if (parts.length > 0) {
-                            String tool = parts[parts.length - 1];
+        auditRollupService
+                .countsByEndpoint(start, end)
+                .forEach(
+                        (endpoint, count) -> {
+                            String tool = endpoint.substring(endpoint.lastIndexOf('/') + 1);
                             if (!tool.isEmpty()) {
-                                topTools.put(tool, topTools.getOrDefault(tool, 0L) + 1);
+                                topTools.merge(tool, count, Long::sum);
                             }
-                        }
-                    }
-                } catch (JacksonException e) {
-                    log.trace("Failed to parse audit event data: {}", event.getData());
-                }
-            }
-        }
+                        });
+
+        long successCount = totals.successes();
+        long failureCount = totals.failures();
+        long totalLatencyMs = totals.latencySumMs();
+        long latencyCount = totals.latencyCount();
 
         // Calculate success rate
         double successRate = 0;
@@ -469,11 +350,11 @@ public class AuditRestController {
                                         LinkedHashMap::new));
 
         return AuditMetrics.builder()
-                .totalEvents(events.size())
-                .uniqueUsers((int) eventsByUser.size())
+                .totalEvents(totals.events())
+                .uniqueUsers((int) totals.principals())
                 .successRate(successRate)
                 .avgLatencyMs(avgLatencyMs)
-                .errorCount(errorCount)
+                .errorCount(totals.errors())
                 .topEventType(topEventType)
                 .topUser(topUser)
                 .eventsByType(eventsByType)
@@ -493,10 +374,10 @@ public class AuditRestController {
      * @param usernames Filter by username(s) - can be single value or array
      * @param startDate Filter start date
      * @param endDate Filter end date
-     * @return File download response
+     * @param response Response the export is written to as rows are read
      */
     @GetMapping("/audit-export")
-    public ResponseEntity<byte[]> exportAuditData(
+    public void exportAuditData(
             @RequestParam(value = "format", defaultValue = "csv") String format,
             @RequestParam(value = "fields", required = false) String fields,
             @RequestParam(value = "eventType", required = false) String[] eventTypes,
@@ -506,12 +387,11 @@ public class AuditRestController {
                     LocalDate startDate,
             @RequestParam(value = "endDate", required = false)
                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
-                    LocalDate endDate) {
+                    LocalDate endDate,
+            HttpServletResponse response)
+            throws IOException {
 
-        // Get data with same filtering as getAuditEvents
-        List<PersistentAuditEvent> events;
-
-        // Convert arrays to lists
+        // Same filtering as getAuditEvents
         List<String> eventTypeList =
                 (eventTypes != null && eventTypes.length > 0) ? Arrays.asList(eventTypes) : null;
         List<String> usernameList =
@@ -524,40 +404,15 @@ public class AuditRestController {
             endInstant = endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
         }
 
-        if (eventTypeList != null
-                && usernameList != null
-                && startInstant != null
-                && endInstant != null) {
-            events =
-                    auditRepository.findByTypeInAndPrincipalInAndTimestampBetweenForExport(
-                            eventTypeList, usernameList, startInstant, endInstant);
-        } else if (eventTypeList != null && usernameList != null) {
-            events =
-                    auditRepository.findByTypeInAndPrincipalInForExport(
-                            eventTypeList, usernameList);
-        } else if (eventTypeList != null && startInstant != null && endInstant != null) {
-            events =
-                    auditRepository.findByTypeInAndTimestampBetweenForExport(
-                            eventTypeList, startInstant, endInstant);
-        } else if (usernameList != null && startInstant != null && endInstant != null) {
-            events =
-                    auditRepository.findByPrincipalInAndTimestampBetweenForExport(
-                            usernameList, startInstant, endInstant);
-        } else if (startInstant != null && endInstant != null) {
-            events = auditRepository.findAllByTimestampBetweenForExport(startInstant, endInstant);
-        } else if (eventTypeList != null) {
-            events = auditRepository.findByTypeInForExport(eventTypeList);
-        } else if (usernameList != null) {
-            events = auditRepository.findByPrincipalInForExport(usernameList);
-        } else {
-            events = auditRepository.findAll();
-        }
+        AuditExportService.Filter filter =
+                new AuditExportService.Filter(
+                        eventTypeList, usernameList, null, startInstant, endInstant);
 
         // Export based on format
         if ("json".equalsIgnoreCase(format)) {
-            return exportAsJson(events);
+            exportAsJson(filter, response);
         } else {
-            return exportAsCsv(events, fields);
+            exportAsCsv(filter, fields, response);
         }
     }
 
@@ -599,7 +454,9 @@ public class AuditRestController {
                 .build();
     }
 
-    private ResponseEntity<byte[]> exportAsCsv(List<PersistentAuditEvent> events, String fields) {
+    private void exportAsCsv(
+            AuditExportService.Filter filter, String fields, HttpServletResponse response)
+            throws IOException {
         // Parse selected fields (comma-separated:
         // date,username,tool,documentName,author,fileHash,ipAddress,etc)
         Set<String> selectedFields = new HashSet<>();
@@ -610,12 +467,15 @@ public class AuditRestController {
             }
         }
 
+        response.setContentType("text/csv;charset=UTF-8");
+
         // If no fields specified, use default technical export
         if (selectedFields.isEmpty()) {
-            return exportAsDefaultCsv(events);
+            setAttachment(response, "audit_export.csv");
+            auditExportService.writeCsv(filter, csvWriter(response));
+            return;
         }
-
-        StringBuilder csv = new StringBuilder();
+        setAttachment(response, "audit_export_" + System.currentTimeMillis() + ".csv");
 
         // Build header based on selected fields
         List<String> headerOrder = new ArrayList<>();
@@ -630,55 +490,44 @@ public class AuditRestController {
         if (selectedFields.contains("operationresults")) headerOrder.add("operationresults");
         if (selectedFields.contains("eventtype")) headerOrder.add("eventtype");
 
+        Writer csv = csvWriter(response);
+
         // Write header
         for (int i = 0; i < headerOrder.size(); i++) {
-            csv.append(capitalizeHeader(headerOrder.get(i)));
-            if (i < headerOrder.size() - 1) csv.append(",");
+            csv.write(capitalizeHeader(headerOrder.get(i)));
+            if (i < headerOrder.size() - 1) csv.write(",");
         }
-        csv.append("\n");
+        csv.write("\n");
 
         DateTimeFormatter formatter = DateTimeFormatter.ISO_INSTANT;
 
-        // Write data rows
-        for (PersistentAuditEvent event : events) {
-            Map<String, String> rowData = extractEventData(event, formatter);
-
-            for (int i = 0; i < headerOrder.size(); i++) {
-                csv.append(escapeCSV(rowData.getOrDefault(headerOrder.get(i), "")));
-                if (i < headerOrder.size() - 1) csv.append(",");
-            }
-            csv.append("\n");
-        }
-
-        byte[] csvBytes = csv.toString().getBytes(StandardCharsets.UTF_8);
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/csv;charset=UTF-8"));
-        headers.setContentDispositionFormData(
-                "attachment", "audit_export_" + System.currentTimeMillis() + ".csv");
-
-        return ResponseEntity.ok().headers(headers).body(csvBytes);
+        // Write data rows as they are read
+        auditExportService.forEach(
+                filter,
+                event -> {
+                    Map<String, String> rowData = extractEventData(event, formatter);
+
+                    for (int i = 0; i < headerOrder.size(); i++) {
+                        csv.write(
+                                AuditExportService.escapeCsv(
+                                        rowData.getOrDefault(headerOrder.get(i), "")));
+                        if (i < headerOrder.size() - 1) csv.write(",");
+                    }
+                    csv.write("\n");
+                });
+        csv.flush();
     }
 
-    private ResponseEntity<byte[]> exportAsDefaultCsv(List<PersistentAuditEvent> events) {
-        StringBuilder csv = new StringBuilder();
-        csv.append("ID,Principal,Type,Timestamp,Data\n");
-
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_INSTANT;
-
-        for (PersistentAuditEvent event : events) {
-            csv.append(event.getId()).append(",");
-            csv.append(escapeCSV(event.getPrincipal())).append(",");
-            csv.append(escapeCSV(event.getType())).append(",");
-            csv.append(formatter.format(event.getTimestamp())).append(",");
-            csv.append(escapeCSV(event.getData())).append("\n");
-        }
+    private static Writer csvWriter(HttpServletResponse response) throws IOException {
+        return new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+    }
 
-        byte[] csvBytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+    private static void setAttachment(HttpServletResponse response, String filename) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("text/csv;charset=UTF-8"));
-        headers.setContentDispositionFormData("attachment", "audit_export.csv");
-
-        return ResponseEntity.ok().headers(headers).body(csvBytes);
+        headers.setContentDispositionFormData("attachment", filename);
+        response.setHeader(
+                HttpHeaders.CONTENT_DISPOSITION, headers.getFirst(HttpHeaders.CONTENT_DISPOSITION));
     }
 
     private Map<String, String> extractEventData(
@@ -769,27 +618,11 @@ public class AuditRestController {
         };
     }
 
-    private ResponseEntity<byte[]> exportAsJson(List<PersistentAuditEvent> events) {
-        try {
-            byte[] jsonBytes = objectMapper.writeValueAsBytes(events);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setContentDispositionFormData("attachment", "audit_export.json");
-
-            return ResponseEntity.ok().headers(headers).body(jsonBytes);
-        } catch (JacksonException e) {
-            log.error("Error serializing audit events to JSON", e);
-            return ResponseEntity.internalServerError().build();
-        }
-    }
-
-    private String escapeCSV(String field) {
-        if (field == null) {
-            return "";
-        }
-        // Replace double quotes with two double quotes and wrap in quotes
-        return "\"" + field.replace("\"", "\"\"") + "\"";
+    private void exportAsJson(AuditExportService.Filter filter, HttpServletResponse response)
+            throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        setAttachment(response, "audit_export.json");
+        auditExportService.writeJson(filter, response.getOutputStream());
     }
 
     // DTOs for response formatting
@@ -874,8 +707,9 @@ public class AuditRestController {
     @PostMapping("/audit-clear-all")
     public ResponseEntity<?> clearAllAuditData() {
         try {
-            // Delete all audit events
+            // Delete all audit events and their rollups
             auditRepository.deleteAll();
+            auditRollupService.deleteAll();
             log.warn("All audit data has been cleared by admin user");
             return ResponseEntity.ok()
                     .body(Map.of("message", "All audit data has been cleared successfully"));
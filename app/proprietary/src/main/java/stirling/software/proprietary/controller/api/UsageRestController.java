@@ -14,12 +14,8 @@ import lombok.extern.slf4j.Slf4j;
 
 import stirling.software.common.annotations.api.ProprietaryUiDataApi;
 import stirling.software.proprietary.audit.AuditEventType;
-import stirling.software.proprietary.model.security.PersistentAuditEvent;
-import stirling.software.proprietary.repository.PersistentAuditEventRepository;
 import stirling.software.proprietary.security.config.EnterpriseEndpoint;
-
-import tools.jackson.core.JacksonException;
-import tools.jackson.databind.ObjectMapper;
+import stirling.software.proprietary.service.AuditRollupService;
 
 /** REST API controller for usage analytics data used by React frontend. */
 @Slf4j
@@ -29,12 +25,11 @@ import tools.jackson.databind.ObjectMapper;
 @EnterpriseEndpoint
 public class UsageRestController {
 
-    private final PersistentAuditEventRepository auditRepository;
-    private final ObjectMapper objectMapper;
+    private final AuditRollupService auditRollupService;
 
     /**
-     * Get endpoint statistics derived from audit events. This endpoint analyzes audit events
-     * filtered by type to generate usage statistics.
+     * Get endpoint statistics derived from audit events. Visits are summed from the hourly audit
+     * rollups, filtered by event type.
      *
      * @param limit Optional limit on number of endpoints to return
      * @param dataType Type of data to include: "all" (default), "api" (operational endpoints), or
@@ -50,18 +45,8 @@ public class UsageRestController {
 
         int lookbackDays = Math.max(1, Math.min(days, 365));
 
-        // Get audit events filtered by type
-        List<PersistentAuditEvent> events = getEventsByDataType(dataType, lookbackDays);
-
-        // Count visits per endpoint
-        Map<String, Long> endpointCounts = new HashMap<>();
-
-        for (PersistentAuditEvent event : events) {
-            String endpoint = extractEndpointFromAuditData(event.getData());
-            if (endpoint != null) {
-                endpointCounts.merge(endpoint, 1L, Long::sum);
-            }
-        }
+        // Sum visits per endpoint from the hourly rollups
+        Map<String, Long> endpointCounts = getEndpointCountsByDataType(dataType, lookbackDays);
 
         // Calculate totals
         long totalVisits = endpointCounts.values().stream().mapToLong(Long::longValue).sum();
@@ -102,93 +87,29 @@ public class UsageRestController {
     }
 
     /**
-     * Extract the endpoint path from the audit event's data field. The data field contains JSON
-     * with an "endpoint" or "path" key.
-     *
-     * @param dataJson JSON string from audit event
-     * @return Endpoint path or null if not found
-     */
-    private String extractEndpointFromAuditData(String dataJson) {
-        if (dataJson == null || dataJson.isEmpty()) {
-            return null;
-        }
-
-        try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> data = objectMapper.readValue(dataJson, Map.class);
-
-            // Try common keys for endpoint path
-            Object endpoint = data.get("endpoint");
-            if (endpoint != null) {
-                return normalizeEndpoint(endpoint.toString());
-            }
-
-            Object path = data.get("path");
-            if (path != null) {
-                return normalizeEndpoint(path.toString());
-            }
-
-            // Fallback: check if there's a request-related key
-            Object requestUri = data.get("requestUri");
-            if (requestUri != null) {
-                return normalizeEndpoint(requestUri.toString());
-            }
-
-        } catch (JacksonException e) {
-            log.debug("Failed to parse audit data JSON: {}", dataJson, e);
-        }
-
-        return null;
-    }
-
-    /**
-     * Normalize endpoint paths by removing query strings and standardizing format.
-     *
-     * @param endpoint Raw endpoint path
-     * @return Normalized endpoint path
-     */
-    private String normalizeEndpoint(String endpoint) {
-        if (endpoint == null) {
-            return null;
-        }
-
-        // Remove query string
-        int queryIndex = endpoint.indexOf('?');
-        if (queryIndex != -1) {
-            endpoint = endpoint.substring(0, queryIndex);
-        }
-
-        // Ensure it starts with /
-        if (!endpoint.startsWith("/")) {
-            endpoint = "/" + endpoint;
-        }
-
-        return endpoint;
-    }
-
-    /**
-     * Get audit events filtered by data type. UI = UI_DATA events. API = everything except UI_DATA.
+     * Get visit counts per endpoint filtered by data type. UI = UI_DATA events. API = everything
+     * except UI_DATA.
      *
      * @param dataType "all", "api" (not UI_DATA), or "ui" (UI_DATA only)
      * @param days lookback window in days
-     * @return List of audit events matching the data type filter
+     * @return Visit counts keyed by endpoint path
      */
-    private List<PersistentAuditEvent> getEventsByDataType(String dataType, int days) {
+    private Map<String, Long> getEndpointCountsByDataType(String dataType, int days) {
         Instant start = Instant.now().minus(Duration.ofDays(days));
 
         if ("all".equalsIgnoreCase(dataType)) {
-            return auditRepository.findByTimestampAfter(start);
+            return auditRollupService.countsByEndpoint(start, null);
         } else if ("ui".equalsIgnoreCase(dataType)) {
             // UI data endpoints only
-            return auditRepository.findByTypeAndTimestampAfterForExport(
-                    AuditEventType.UI_DATA.name(), start);
+            return auditRollupService.countsByEndpointForType(
+                    AuditEventType.UI_DATA.name(), start, null);
         } else if ("api".equalsIgnoreCase(dataType)) {
-            // API = everything except UI_DATA (queried at DB level, not filtered in-memory)
-            return auditRepository.findAllExceptTypeAndTimestampAfterForExport(
-                    AuditEventType.UI_DATA.name(), start);
+            // API = everything except UI_DATA
+            return auditRollupService.countsByEndpointExceptType(
+                    AuditEventType.UI_DATA.name(), start, null);
         }
 
-        return new ArrayList<>();
+        return new HashMap<>();
     }
 
     // DTOs for response formatting
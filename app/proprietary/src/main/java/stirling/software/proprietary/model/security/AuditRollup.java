@@ -0,0 +1,74 @@
+package stirling.software.proprietary.model.security;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One hour's audit event tallies for a type, principal, source and endpoint; the dashboard and
+ * usage statistics are summed from these instead of scanning {@code audit_events}. {@code
+ * bucketHour} is hours since the epoch. Missing principals, sources and endpoints are stored as
+ * {@code ""} so they can be part of the key; {@code endpoint} is the request path without its
+ * query string.
+ *
+ * <p>Rows are only written by {@code AuditRollupWriter}, in the transaction that inserts the events
+ * they count, so this entity is read-only from JPA.
+ */
+@Entity
+@Table(name = "audit_rollups")
+@IdClass(AuditRollupId.class)
+@NoArgsConstructor
+@Getter
+public class AuditRollup implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "bucket_hour")
+    private long bucketHour;
+
+    @Id
+    @Column(name = "type")
+    private String type;
+
+    @Id
+    @Column(name = "principal")
+    private String principal;
+
+    @Id
+    @Column(name = "source")
+    private String source;
+
+    @Id
+    @Column(name = "endpoint")
+    private String endpoint;
+
+    @Column(name = "event_count")
+    private long eventCount;
+
+    /** Events whose data reports a {@code success} status. */
+    @Column(name = "success_count")
+    private long successCount;
+
+    /** Events whose data reports a {@code failure} status. */
+    @Column(name = "failure_count")
+    private long failureCount;
+
+    /** Failures plus events without an explicit status whose status code is 400 or above. */
+    @Column(name = "error_count")
+    private long errorCount;
+
+    @Column(name = "latency_sum_ms")
+    private long latencySumMs;
+
+    /** Events that reported a latency, the divisor for {@code latencySumMs}. */
+    @Column(name = "latency_count")
+    private long latencyCount;
+}
@@ -0,0 +1,47 @@
+package stirling.software.proprietary.model.security;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/** Composite key for {@link AuditRollup}: one row per hour, type, principal, source, endpoint. */
+public class AuditRollupId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long bucketHour;
+    private String type;
+    private String principal;
+    private String source;
+    private String endpoint;
+
+    public AuditRollupId() {}
+
+    public AuditRollupId(
+            long bucketHour, String type, String principal, String source, String endpoint) {
+        this.bucketHour = bucketHour;
+        this.type = type;
+        this.principal = principal;
+        this.source = source;
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AuditRollupId other)) {
+            return false;
+        }
+        return bucketHour == other.bucketHour
+                && Objects.equals(type, other.type)
+                && Objects.equals(principal, other.principal)
+                && Objects.equals(source, other.source)
+                && Objects.equals(endpoint, other.endpoint);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(bucketHour, type, principal, source, endpoint);
+    }
+}
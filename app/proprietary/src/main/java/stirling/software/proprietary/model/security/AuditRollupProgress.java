@@ -0,0 +1,32 @@
+package stirling.software.proprietary.model.security;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single-row ({@code id = 1}) record of how far {@link AuditRollup}s have been backfilled. Events
+ * with ids up to {@code watermarkId} were written before rollups were maintained and are added by
+ * the backfill, in id order, up to {@code backfilledThroughId}; later events are counted as they
+ * are written.
+ */
+@Entity
+@Table(name = "audit_rollup_progress")
+@NoArgsConstructor
+@Getter
+public class AuditRollupProgress {
+
+    @Id
+    @Column(name = "id")
+    private int id;
+
+    @Column(name = "watermark_id")
+    private long watermarkId;
+
+    @Column(name = "backfilled_through_id")
+    private long backfilledThroughId;
+}
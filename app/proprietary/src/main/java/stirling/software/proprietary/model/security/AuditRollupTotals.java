@@ -0,0 +1,14 @@
+package stirling.software.proprietary.model.security;
+
+/**
+ * Summed {@link AuditRollup} measures over a range of hours, plus the number of distinct
+ * principals. The sums are null when no bucket is in range.
+ */
+public record AuditRollupTotals(
+        Long events,
+        Long successes,
+        Long failures,
+        Long errors,
+        Long latencySumMs,
+        Long latencyCount,
+        Long principals) {}
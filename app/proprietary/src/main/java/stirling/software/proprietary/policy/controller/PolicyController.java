@@ -60,6 +60,7 @@ import stirling.software.proprietary.policy.engine.PolicyRunRegistry;
 import stirling.software.proprietary.policy.engine.PolicyRunner;
 import stirling.software.proprietary.policy.engine.PolicyValidator;
 import stirling.software.proprietary.policy.engine.SweepOutcome;
+import stirling.software.proprietary.policy.ledger.ListingWatermarks;
 import stirling.software.proprietary.policy.ledger.ProcessedLedger;
 import stirling.software.proprietary.policy.model.OutputSpec;
 import stirling.software.proprietary.policy.model.PipelineDefinition;
@@ -110,6 +111,7 @@ public class PolicyController {
     private final PolicyAssetCleaner assetCleaner;
     private final PolicyAssetResolver assetResolver;
     private final ProcessedLedger processedLedger;
+    private final ListingWatermarks listingWatermarks;
     private final List<PolicyTrigger> policyTriggers;
     private final ApplicationProperties applicationProperties;
     private final TempFileManager tempFileManager;
@@ -540,6 +542,7 @@ public class PolicyController {
         Policy policy = policyStore.get(policyId).filter(policyAccessGuard::canAccess).orElse(null);
         if (policy != null && policyStore.delete(policyId)) {
             processedLedger.clearPolicy(policyId);
+            listingWatermarks.clearPolicy(policyId);
             assetCleaner.cleanupAfterDelete(policy);
             // Cancel any now-orphaned folder watch promptly rather than leaving the WatchKey open
             // until the next reconcile sweep.
@@ -565,6 +568,8 @@ public class PolicyController {
             return ResponseEntity.notFound().build();
         }
         processedLedger.clearPolicy(policyId);
+        // Without its watermarks the next sweep lists every source in full, so nothing is missed.
+        listingWatermarks.clearPolicy(policyId);
         return ResponseEntity.noContent().build();
     }
 
@@ -21,6 +21,7 @@ import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import stirling.software.common.enumeration.JobPriority;
 import stirling.software.common.model.job.ResultFile;
 import stirling.software.common.service.AutomationRunContext;
 import stirling.software.common.service.FileStorage;
@@ -56,8 +57,9 @@ import stirling.software.proprietary.service.DownstreamEntitlementError;
  *
  * <p>Manages its own virtual-thread execution rather than {@code JobExecutorService}, which
  * force-completes a job once its work returns: incompatible with a run that suspends in {@code
- * WAITING_FOR_INPUT}. Still applies the shared {@link ResourceMonitor}/{@link JobQueue} admission
- * control so heavy runs queue under load.
+ * WAITING_FOR_INPUT}. Runs are first admitted by {@link PolicyRunLimiter} (per-policy and global
+ * concurrency, weighted by each run's heaviest tool), then still pass the shared {@link
+ * ResourceMonitor}/{@link JobQueue} admission control so heavy runs queue under load.
  */
 @Slf4j
 @Service
@@ -72,6 +74,9 @@ public class PolicyEngine {
     // client treats it as "busy" and retries, rather than as a terminal processing failure.
     private static final String QUEUE_FULL_CODE = "POLICY_QUEUE_FULL";
 
+    // PolicyRunLimiter lane for runs with no stored policy; cannot collide with a policy id
+    private static final String ADHOC_LANE_PREFIX = "adhoc:";
+
     private final PolicyExecutor stepExecutor;
     private final TaskManager taskManager;
     private final PolicyRunRegistry registry;
@@ -84,6 +89,7 @@ public class PolicyEngine {
     private final ResourceMonitor resourceMonitor;
     private final JobQueue jobQueue;
     private final PolicyAssetResolver assetResolver;
+    private final PolicyRunLimiter runLimiter;
 
     private final ExecutorService asyncExecutor = ExecutorFactory.newVirtualThreadExecutor();
 
@@ -138,7 +144,8 @@ public class PolicyEngine {
                 inputs,
                 listener,
                 null,
-                null);
+                null,
+                JobPriority.BATCH);
     }
 
     /** Run a stored policy on demand. {@code enabled} gates triggers, not explicit runs. */
@@ -192,7 +199,9 @@ public class PolicyEngine {
                 resolved,
                 listener,
                 sourceId,
-                fileIdentity);
+                fileIdentity,
+                // Nobody is waiting on a trigger-fired run, so it yields to those a user started
+                triggeringUser != null ? JobPriority.BATCH : JobPriority.POLICY);
     }
 
     private PolicyRunHandle submitForPrincipal(
@@ -204,7 +213,8 @@ public class PolicyEngine {
             PolicyInputs inputs,
             PolicyProgressListener listener,
             String sourceId,
-            String fileIdentity) {
+            String fileIdentity,
+            JobPriority priority) {
         // Scope the run id to the current user (this request thread) so the file-download
         // ownership check passes. No-op when security is off.
         String runId = jobOwnershipService.createScopedJobKey(UUID.randomUUID().toString());
@@ -232,24 +242,42 @@ public class PolicyEngine {
                                 () -> runToCompletion(run, inputs, tracking, completion));
 
         // One admission unit per run; steps run synchronously within it, so this gates heavy work
-        // without the pool-within-pool risk of queueing each tool call.
-        if (resourceMonitor.shouldQueueJob(RUN_RESOURCE_WEIGHT)) {
-            log.debug("Queueing policy run {} under resource pressure", runId);
-            jobQueue.queueJob(
-                            runId,
-                            RUN_RESOURCE_WEIGHT,
-                            () -> {
-                                task.run();
-                                return null;
-                            },
-                            0L)
-                    .exceptionally(ex -> failRejectedRun(run, completion, ex));
-        } else {
-            asyncExecutor.execute(task);
-        }
+        // without the pool-within-pool risk of queueing each tool call. Queued runs share fairly by
+        // who pays for them.
+        Runnable dispatch =
+                () -> {
+                    if (resourceMonitor.shouldQueueJob(RUN_RESOURCE_WEIGHT)) {
+                        log.debug("Queueing policy run {} under resource pressure", runId);
+                        jobQueue.queueJob(
+                                        runId,
+                                        RUN_RESOURCE_WEIGHT,
+                                        () -> {
+                                            task.run();
+                                            return null;
+                                        },
+                                        0L,
+                                        billingPrincipal,
+                                        priority)
+                                .exceptionally(ex -> failRejectedRun(run, completion, ex));
+                    } else {
+                        asyncExecutor.execute(task);
+                    }
+                };
+        // Ad-hoc runs have no policy; each payer gets its own lane instead.
+        String lane = policyId != null ? policyId : ADHOC_LANE_PREFIX + billingPrincipal;
+        runLimiter.submit(lane, runLimiter.weightOf(definition), dispatch, completion);
         return new PolicyRunHandle(runId, completion);
     }
 
+    /**
+     * Whether the policy has fewer than {@code policies.maxQueuedRunsPerPolicy} runs waiting to
+     * start. A sweep stops claiming files once this is false, so a source with thousands of new
+     * files is taken on only as fast as its runs drain.
+     */
+    public boolean hasQueueSpace(String policyId) {
+        return runLimiter.hasQueueSpace(policyId);
+    }
+
     public PolicyRun getRun(String runId) {
         return registry.get(runId);
     }
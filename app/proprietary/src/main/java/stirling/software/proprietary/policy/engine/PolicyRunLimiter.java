@@ -0,0 +1,200 @@
+package stirling.software.proprietary.policy.engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import stirling.software.common.enumeration.ResourceWeight;
+import stirling.software.common.model.ApplicationProperties;
+import stirling.software.common.service.ToolMetadataService;
+import stirling.software.proprietary.policy.model.PipelineDefinition;
+import stirling.software.proprietary.policy.model.PipelineStep;
+
+/**
+ * Admission control for policy runs, in front of {@link PolicyEngine}'s executor. A run waits in
+ * its policy's FIFO lane until that policy has fewer than {@code
+ * policies.maxConcurrentRunsPerPolicy} runs executing and the run's weight fits the global budget
+ * of {@code policies.maxConcurrentRuns} medium-weight runs. A run weighs as much as its heaviest
+ * step, read from the tools' declared resource weights, so a chain ending in OCR takes more of the
+ * budget than one that only rotates.
+ *
+ * <p>Lanes take turns when capacity frees up, so one policy with thousands of queued files does
+ * not delay another policy's first run behind all of them. The lane at the head of the rotation
+ * keeps its turn while its next run does not fit the budget, so a heavy run is never starved by a
+ * stream of lighter ones. A sweep checks {@link #hasQueueSpace} before claiming each file and
+ * leaves the rest for a later sweep once its lane holds {@code policies.maxQueuedRunsPerPolicy}
+ * waiting runs, so a backlog never blocks the thread that swept.
+ *
+ * <p>This sits ahead of the shared {@code ResourceMonitor}/{@code JobQueue} admission, which still
+ * applies to every run it releases.
+ */
+@Slf4j
+@Service
+public class PolicyRunLimiter {
+
+    private final ToolMetadataService toolMetadataService;
+    private final int capacity;
+    private final int maxPerPolicy;
+    private final int maxQueuedPerPolicy;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Lane> lanes = new HashMap<>();
+    // Keys of lanes with runs waiting, in turn order
+    private final Deque<String> rotation = new ArrayDeque<>();
+    private int weightInUse;
+
+    public PolicyRunLimiter(
+            ApplicationProperties applicationProperties, ToolMetadataService toolMetadataService) {
+        ApplicationProperties.Policies policies = applicationProperties.getPolicies();
+        this.toolMetadataService = toolMetadataService;
+        this.capacity =
+                Math.max(1, policies.getMaxConcurrentRuns()) * ResourceWeight.MEDIUM_WEIGHT;
+        this.maxPerPolicy = Math.max(1, policies.getMaxConcurrentRunsPerPolicy());
+        this.maxQueuedPerPolicy = Math.max(1, policies.getMaxQueuedRunsPerPolicy());
+    }
+
+    /** A run's admission weight: its heaviest step, or the lightest tier for a stepless run. */
+    public int weightOf(PipelineDefinition definition) {
+        int weight = ResourceWeight.SMALL_WEIGHT;
+        for (PipelineStep step : definition.steps()) {
+            weight = Math.max(weight, toolMetadataService.resourceWeight(step.operation()));
+        }
+        return Math.min(weight, ResourceWeight.XLARGE_WEIGHT);
+    }
+
+    /**
+     * Queue a run in {@code key}'s lane. {@code dispatch} is called, on this or a releasing thread,
+     * once the run is admitted; the run's slot is held until {@code completion} completes, so
+     * {@code dispatch} must make sure it always does.
+     */
+    public void submit(String key, int weight, Runnable dispatch, CompletableFuture<?> completion) {
+        List<Pending> ready;
+        lock.lock();
+        try {
+            Lane lane = lanes.computeIfAbsent(key, Lane::new);
+            if (lane.queued.isEmpty()) {
+                rotation.addLast(key);
+            }
+            lane.queued.addLast(new Pending(lane, weight, dispatch, completion));
+            ready = admitLocked();
+        } finally {
+            lock.unlock();
+        }
+        start(ready);
+    }
+
+    /** Whether {@code key}'s lane is below its queue bound. Never blocks. */
+    public boolean hasQueueSpace(String key) {
+        lock.lock();
+        try {
+            return queued(lanes.get(key)) < maxQueuedPerPolicy;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Runs of {@code key} currently executing. */
+    public int inFlight(String key) {
+        lock.lock();
+        try {
+            Lane lane = lanes.get(key);
+            return lane == null ? 0 : lane.running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Runs of {@code key} waiting to be admitted. */
+    public int queued(String key) {
+        lock.lock();
+        try {
+            return queued(lanes.get(key));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int queued(Lane lane) {
+        return lane == null ? 0 : lane.queued.size();
+    }
+
+    private void release(Pending run) {
+        List<Pending> ready;
+        lock.lock();
+        try {
+            Lane lane = run.lane;
+            lane.running--;
+            weightInUse -= run.weight;
+            if (lane.running == 0 && lane.queued.isEmpty()) {
+                lanes.remove(lane.key);
+            }
+            ready = admitLocked();
+        } finally {
+            lock.unlock();
+        }
+        start(ready);
+    }
+
+    /** Take runs off the lanes, in turn, while they fit. Caller holds the lock. */
+    private List<Pending> admitLocked() {
+        List<Pending> ready = new ArrayList<>();
+        int skipped = 0;
+        while (!rotation.isEmpty() && skipped < rotation.size()) {
+            Lane lane = lanes.get(rotation.peekFirst());
+            if (lane.running >= maxPerPolicy) {
+                rotation.addLast(rotation.pollFirst());
+                skipped++;
+                continue;
+            }
+            Pending next = lane.queued.peekFirst();
+            // An idle engine always admits, so a run heavier than the whole budget still runs
+            if (weightInUse > 0 && weightInUse + next.weight > capacity) {
+                break;
+            }
+            rotation.pollFirst();
+            lane.queued.pollFirst();
+            lane.running++;
+            weightInUse += next.weight;
+            ready.add(next);
+            if (!lane.queued.isEmpty()) {
+                rotation.addLast(lane.key);
+            }
+            skipped = 0;
+        }
+        return ready;
+    }
+
+    private void start(List<Pending> ready) {
+        for (Pending run : ready) {
+            run.completion.whenComplete((result, error) -> release(run));
+            try {
+                run.dispatch.run();
+            } catch (RuntimeException e) {
+                log.error("Policy run dispatch failed", e);
+                run.completion.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static final class Lane {
+        private final String key;
+        private final Deque<Pending> queued = new ArrayDeque<>();
+        private int running;
+
+        private Lane(String key) {
+            this.key = key;
+        }
+    }
+
+    private record Pending(
+            Lane lane, int weight, Runnable dispatch, CompletableFuture<?> completion) {}
+}
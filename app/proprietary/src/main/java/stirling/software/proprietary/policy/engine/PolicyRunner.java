@@ -73,7 +73,12 @@ public class PolicyRunner {
      */
     public SweepOutcome run(Policy policy, List<PipelineInput> inputs, SweepKind sweep) {
         long sweepStart = System.currentTimeMillis();
-        PolicySweep context = new PolicySweep(policy.id(), sweep, processedLedger);
+        PolicySweep context =
+                new PolicySweep(
+                        policy.id(),
+                        sweep,
+                        processedLedger,
+                        () -> policyEngine.hasQueueSpace(policy.id()));
         List<String> runIds = new ArrayList<>();
         if (inputs.isEmpty()) {
             // Generator pipeline: one run with no input. Still fall through to the cleanup
@@ -135,9 +140,10 @@ public class PolicyRunner {
     }
 
     /**
-     * Resolves the source and starts a run per unit; records how many documents the source fed and
-     * returns the ids of the runs started. Any source that could not be listed completely vetoes
-     * this sweep's ledger cleanup.
+     * Resolves the source and starts a run per unit as the source yields it, so a paged listing
+     * starts work on its first page; records how many documents the source fed and returns the ids
+     * of the runs started. Any source that could not be listed completely vetoes this sweep's
+     * ledger cleanup; runs started before a listing failure keep running.
      */
     private List<String> pullAndRun(
             Policy policy, String sourceId, InputSpec spec, PolicySweep context) {
@@ -153,9 +159,22 @@ public class PolicyRunner {
         if (!source.listsExhaustively()) {
             context.vetoCleanup();
         }
-        List<ResolvedInput> work;
+        List<String> runIds = new ArrayList<>();
+        long[] docsFed = {0};
         try {
-            work = source.resolve(spec, context);
+            source.resolve(
+                    spec,
+                    context,
+                    unit -> {
+                        runIds.add(
+                                startRun(
+                                        policy,
+                                        sourceId,
+                                        unit.fileIdentity(),
+                                        unit.inputs(),
+                                        unit.onComplete()));
+                        docsFed[0] += unit.inputs().primary().size();
+                    });
         } catch (IOException | RuntimeException e) {
             log.warn(
                     "Failed to resolve source '{}' for policy {}: {}",
@@ -163,21 +182,8 @@ public class PolicyRunner {
                     policy.id(),
                     e.getMessage());
             context.vetoCleanup();
-            return List.of();
-        }
-        List<String> runIds = new ArrayList<>();
-        long docsFed = 0;
-        for (ResolvedInput unit : work) {
-            runIds.add(
-                    startRun(
-                            policy,
-                            sourceId,
-                            unit.fileIdentity(),
-                            unit.inputs(),
-                            unit.onComplete()));
-            docsFed += unit.inputs().primary().size();
         }
-        docCounter.record(sourceId, docsFed);
+        docCounter.record(sourceId, docsFed[0]);
         return runIds;
     }
 
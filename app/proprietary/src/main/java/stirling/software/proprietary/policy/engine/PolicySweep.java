@@ -6,8 +6,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 
+import lombok.extern.slf4j.Slf4j;
+
 import stirling.software.proprietary.policy.input.ResolveContext;
 import stirling.software.proprietary.policy.ledger.ClaimState;
 import stirling.software.proprietary.policy.ledger.ProcessedFileStatus;
@@ -17,13 +20,17 @@ import stirling.software.proprietary.policy.ledger.ProcessedLedger;
  * The {@link ResolveContext} for one policy sweep: scopes ledger calls to the policy, gathers the
  * present-identity union across sources, prefetches claim state in bulk so per-file claims skip
  * their row lookup, and vetoes presence cleanup when any source could not be listed completely
- * (pruning would wrongly forget its files).
+ * (pruning would wrongly forget its files). Once the policy's run queue is full, further claims are
+ * refused without touching the ledger, leaving those files for a later sweep rather than blocking
+ * the thread that swept.
  */
+@Slf4j
 final class PolicySweep implements ResolveContext {
 
     private final String policyId;
     private final SweepKind kind;
     private final ProcessedLedger ledger;
+    private final BooleanSupplier queueSpace;
     private final Set<String> present = new HashSet<>();
     // Claim states loaded in bulk at reportPresent; a claim outside the prefetch falls back to a
     // single lookup. A stale entry cannot double-claim (the ledger re-checks every transition),
@@ -31,15 +38,25 @@ final class PolicySweep implements ResolveContext {
     private final Map<String, ClaimState> prefetched = new HashMap<>();
     private final Set<String> prefetchedIdentities = new HashSet<>();
     private boolean cleanupVetoed;
+    private boolean deferred;
 
-    PolicySweep(String policyId, SweepKind kind, ProcessedLedger ledger) {
+    PolicySweep(
+            String policyId, SweepKind kind, ProcessedLedger ledger, BooleanSupplier queueSpace) {
         this.policyId = policyId;
         this.kind = kind;
         this.ledger = ledger;
+        this.queueSpace = queueSpace;
     }
 
     @Override
     public synchronized boolean claim(String identity, String gate, Supplier<String> contentHash) {
+        if (!queueSpace.getAsBoolean()) {
+            if (!deferred) {
+                log.debug("Policy {} has a full run queue; deferring files", policyId);
+            }
+            deferred = true;
+            return false;
+        }
         ClaimState observed =
                 prefetchedIdentities.contains(identity)
                         ? prefetched.get(identity)
@@ -75,6 +92,21 @@ final class PolicySweep implements ResolveContext {
         prefetchedIdentities.addAll(identities);
     }
 
+    @Override
+    public String policyId() {
+        return policyId;
+    }
+
+    @Override
+    public void reportPartialListing() {
+        vetoCleanup();
+    }
+
+    @Override
+    public synchronized boolean deferredClaims() {
+        return deferred;
+    }
+
     synchronized void vetoCleanup() {
         cleanupVetoed = true;
     }
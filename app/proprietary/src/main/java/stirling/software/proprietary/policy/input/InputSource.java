@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import stirling.software.proprietary.policy.model.InputSpec;
 
@@ -36,6 +37,17 @@ public interface InputSource {
      */
     List<ResolvedInput> resolve(InputSpec spec, ResolveContext ctx) throws IOException;
 
+    /**
+     * Streaming form of {@link #resolve(InputSpec, ResolveContext)}: hands each unit to {@code
+     * sink} as soon as it is claimed, so a source that lists in pages can start runs before the
+     * listing finishes. Units already handed over stay valid if the listing then fails. The default
+     * resolves in full first.
+     */
+    default void resolve(InputSpec spec, ResolveContext ctx, Consumer<ResolvedInput> sink)
+            throws IOException {
+        resolve(spec, ctx).forEach(sink);
+    }
+
     /**
      * Whether {@link #resolve} observes everything in the source (a complete listing) rather than
      * e.g. only what events surfaced. Presence cleanup of the ledger is skipped for the whole
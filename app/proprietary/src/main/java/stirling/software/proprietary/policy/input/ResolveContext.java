@@ -33,4 +33,25 @@ public interface ResolveContext {
      * whose file is gone.
      */
     void reportPresent(Collection<String> identities);
+
+    /** The policy this sweep runs for, scoping per-policy source state; null outside a policy. */
+    default String policyId() {
+        return null;
+    }
+
+    /**
+     * Report that this sweep deliberately listed only part of the source (e.g. resuming after a
+     * listing watermark), so what {@link #reportPresent} saw is not everything that exists and
+     * presence cleanup must not run.
+     */
+    default void reportPartialListing() {}
+
+    /**
+     * Whether this sweep refused any claim because the policy's run queue was full. Those files are
+     * left unclaimed for a later sweep, so a source must not record its listing as caught up past
+     * them.
+     */
+    default boolean deferredClaims() {
+        return false;
+    }
 }
@@ -3,8 +3,13 @@ package stirling.software.proprietary.policy.input;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.springframework.core.io.AbstractResource;
 import org.springframework.core.io.Resource;
@@ -13,6 +18,8 @@ import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import stirling.software.proprietary.policy.ledger.ListingWatermark;
+import stirling.software.proprietary.policy.ledger.ListingWatermarks;
 import stirling.software.proprietary.policy.model.InputSpec;
 import stirling.software.proprietary.policy.model.PolicyInputs;
 import stirling.software.proprietary.policy.s3.S3Config;
@@ -44,6 +51,15 @@ import software.amazon.awssdk.services.s3.model.S3Object;
  * until they change) or "snapshot" (stateless, every run sees the full set). Keys ending in "/"
  * (folder placeholders) and keys with a dot-prefixed path segment are never picked up, mirroring
  * the folder source's hidden-file rule.
+ *
+ * <p>Listing pages are processed as they arrive, so work on the first page starts while later
+ * pages are still being listed. "listing" picks how much is listed per sweep: "full" (default)
+ * lists everything under the prefix; "incremental" (consume mode only) resumes after the last key
+ * the policy's previous sweep saw, recorded in {@link ListingWatermarks}, and falls back to a full
+ * listing every "fullListingHours" (default 24). S3 lists keys in lexicographic order, so resuming
+ * suits inboxes whose keys grow monotonically (date- or sequence-prefixed names); objects written
+ * under a key at or before the watermark, including overwrites, wait for the next full listing,
+ * which also carries presence cleanup of the ledger.
  */
 @Slf4j
 @Service
@@ -52,8 +68,15 @@ public class S3InputSource implements InputSource {
 
     private static final String TYPE = "s3";
 
+    private static final String LISTING_OPTION = "listing";
+    private static final String FULL_LISTING_HOURS_OPTION = "fullListingHours";
+    private static final String LISTING_FULL = "full";
+    private static final String LISTING_INCREMENTAL = "incremental";
+    private static final int DEFAULT_FULL_LISTING_HOURS = 24;
+
     private final S3ConnectionPool connectionPool;
     private final S3ConnectionResolver connectionResolver;
+    private final ListingWatermarks listingWatermarks;
 
     @Override
     public String type() {
@@ -72,6 +95,11 @@ public class S3InputSource implements InputSource {
     @Override
     public void validate(InputSpec spec) {
         S3Config config = connectionResolver.resolve(spec.options());
+        if (incremental(spec.options()) && config.snapshot()) {
+            throw new IllegalArgumentException(
+                    "s3 'listing' must be 'full' in snapshot mode, which reads every object");
+        }
+        fullListingInterval(spec.options());
         try {
             connectionPool.clientFor(config).listObjectsV2(listRequest(config).maxKeys(1).build());
         } catch (SdkException e) {
@@ -88,37 +116,95 @@ public class S3InputSource implements InputSource {
 
     @Override
     public List<ResolvedInput> resolve(InputSpec spec, ResolveContext ctx) throws IOException {
+        List<ResolvedInput> work = new ArrayList<>();
+        resolve(spec, ctx, work::add);
+        return work;
+    }
+
+    @Override
+    public void resolve(InputSpec spec, ResolveContext ctx, Consumer<ResolvedInput> sink)
+            throws IOException {
         S3Config config = connectionResolver.resolve(spec.options());
         S3Client client = connectionPool.clientFor(config);
-        // A listing failure propagates so the sweep reads it as "could not list" (which vetoes
-        // presence cleanup), never as "verifiably no objects".
-        List<S3Object> objects = listObjects(client, config);
 
         if (config.snapshot()) {
-            return objects.stream()
-                    .map(
-                            object ->
-                                    ResolvedInput.of(
-                                            PolicyInputs.of(
-                                                    List.of(
-                                                            objectResource(
-                                                                    client, config, object)))))
-                    .toList();
+            listObjects(
+                    client,
+                    config,
+                    null,
+                    page -> {
+                        for (S3Object object : page) {
+                            Resource resource = objectResource(client, config, object);
+                            sink.accept(ResolvedInput.of(PolicyInputs.of(List.of(resource))));
+                        }
+                    });
+            return;
+        }
+
+        String policyId = ctx.policyId();
+        String scope = S3Identities.identity(config.bucket(), config.prefix());
+        boolean incremental = policyId != null && incremental(spec.options());
+        Optional<ListingWatermark> previous =
+                incremental ? listingWatermarks.get(policyId, scope) : Optional.empty();
+        Instant now = Instant.now();
+        boolean resume =
+                previous.isPresent()
+                        && previous.get().lastKey() != null
+                        && previous.get().fullListingAt() != null
+                        && previous.get()
+                                .fullListingAt()
+                                .plus(fullListingInterval(spec.options()))
+                                .isAfter(now);
+        if (resume) {
+            // Keys at or before the watermark go unseen, so their ledger rows must not be pruned.
+            ctx.reportPartialListing();
+        }
+
+        // A listing failure propagates so the sweep reads it as "could not list" (which vetoes
+        // presence cleanup), never as "verifiably no objects". Units already handed to the sink
+        // stay claimed and run; the watermark only advances once the listing completes, and not
+        // at all when a full run queue left objects unclaimed for the next sweep to find.
+        ListingProgress progress =
+                listObjects(
+                        client,
+                        config,
+                        resume ? previous.get().lastKey() : null,
+                        page -> claimPage(client, config, ctx, page, sink));
+
+        if (incremental && !ctx.deferredClaims()) {
+            ListingWatermark prior = previous.orElse(new ListingWatermark(null, null, null));
+            String lastKey = progress.lastKey() != null ? progress.lastKey() : prior.lastKey();
+            listingWatermarks.put(
+                    policyId,
+                    scope,
+                    new ListingWatermark(
+                            lastKey,
+                            latest(progress.lastModified(), prior.lastModified()),
+                            resume ? prior.fullListingAt() : now));
         }
+    }
 
+    /** Reports one listing page as present, then claims and hands over each object in it. */
+    private void claimPage(
+            S3Client client,
+            S3Config config,
+            ResolveContext ctx,
+            List<S3Object> page,
+            Consumer<ResolvedInput> sink) {
+        if (page.isEmpty()) {
+            return;
+        }
         ctx.reportPresent(
-                objects.stream()
+                page.stream()
                         .map(object -> S3Identities.identity(config.bucket(), object.key()))
                         .toList());
-
-        List<ResolvedInput> work = new ArrayList<>();
-        for (S3Object object : objects) {
+        for (S3Object object : page) {
             String identity = S3Identities.identity(config.bucket(), object.key());
             String gate = S3Identities.gate(object.eTag(), object.size(), object.lastModified());
             if (!ctx.claim(identity, gate, null)) {
                 continue;
             }
-            work.add(
+            sink.accept(
                     ResolvedInput.forFile(
                             PolicyInputs.of(List.of(objectResource(client, config, object))),
                             identity,
@@ -132,7 +218,6 @@ public class S3InputSource implements InputSource {
                                             gate,
                                             success)));
         }
-        return work;
     }
 
     /**
@@ -175,24 +260,75 @@ public class S3InputSource implements InputSource {
         }
     }
 
-    /** Every ingestible object under the configured prefix, across all listing pages. */
-    private static List<S3Object> listObjects(S3Client client, S3Config config) {
-        List<S3Object> objects = new ArrayList<>();
+    /**
+     * Lists the configured prefix page by page, starting after {@code startAfter} when given, and
+     * hands each page's ingestible objects to {@code onPage} before fetching the next page.
+     */
+    private static ListingProgress listObjects(
+            S3Client client, S3Config config, String startAfter, Consumer<List<S3Object>> onPage) {
+        String lastKey = null;
+        Instant lastModified = null;
         String continuationToken = null;
         do {
             ListObjectsV2Request.Builder request = listRequest(config);
             if (continuationToken != null) {
                 request.continuationToken(continuationToken);
+            } else if (startAfter != null) {
+                request.startAfter(startAfter);
             }
             ListObjectsV2Response page = client.listObjectsV2(request.build());
+            List<S3Object> objects = new ArrayList<>();
             for (S3Object object : page.contents()) {
+                // Placeholders and hidden keys still advance the watermark; they are never read.
+                lastKey = object.key();
+                lastModified = latest(lastModified, object.lastModified());
                 if (ingestible(object)) {
                     objects.add(object);
                 }
             }
+            onPage.accept(objects);
             continuationToken = page.nextContinuationToken();
         } while (continuationToken != null);
-        return objects;
+        return new ListingProgress(lastKey, lastModified);
+    }
+
+    /** The last key and newest modification time one listing saw; both null if it was empty. */
+    private record ListingProgress(String lastKey, Instant lastModified) {}
+
+    private static Instant latest(Instant a, Instant b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+
+    private static boolean incremental(Map<String, Object> options) {
+        Object listing = options.get(LISTING_OPTION);
+        String value = listing == null ? "" : listing.toString().trim();
+        if (value.isEmpty() || LISTING_FULL.equals(value)) {
+            return false;
+        }
+        if (LISTING_INCREMENTAL.equals(value)) {
+            return true;
+        }
+        throw new IllegalArgumentException("s3 'listing' must be 'full' or 'incremental'");
+    }
+
+    private static Duration fullListingInterval(Map<String, Object> options) {
+        Object raw = options.get(FULL_LISTING_HOURS_OPTION);
+        if (raw == null || raw.toString().isBlank()) {
+            return Duration.ofHours(DEFAULT_FULL_LISTING_HOURS);
+        }
+        int hours;
+        try {
+            hours = Integer.parseInt(raw.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("s3 'fullListingHours' must be a number");
+        }
+        if (hours < 1) {
+            throw new IllegalArgumentException("s3 'fullListingHours' must be at least 1");
+        }
+        return Duration.ofHours(hours);
     }
 
     private static ListObjectsV2Request.Builder listRequest(S3Config config) {
@@ -0,0 +1,29 @@
+package stirling.software.proprietary.policy.ledger;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory {@link ListingWatermarks} for tests and DB-less wiring. {@link JpaListingWatermarks} is
+ * the runtime bean.
+ */
+public class InProcessListingWatermarks implements ListingWatermarks {
+
+    private final Map<String, Map<String, ListingWatermark>> byPolicy = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<ListingWatermark> get(String policyId, String scope) {
+        return Optional.ofNullable(byPolicy.getOrDefault(policyId, Map.of()).get(scope));
+    }
+
+    @Override
+    public void put(String policyId, String scope, ListingWatermark watermark) {
+        byPolicy.computeIfAbsent(policyId, id -> new ConcurrentHashMap<>()).put(scope, watermark);
+    }
+
+    @Override
+    public void clearPolicy(String policyId) {
+        byPolicy.remove(policyId);
+    }
+}
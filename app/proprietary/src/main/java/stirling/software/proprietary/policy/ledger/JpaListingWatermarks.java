@@ -0,0 +1,36 @@
+package stirling.software.proprietary.policy.ledger;
+
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Durable {@link ListingWatermarks} backed by JPA; the runtime bean. A put is a plain merge: only
+ * the sweep that holds the policy's source writes its watermark, and a lost update merely makes the
+ * next sweep re-list a page it has already claimed.
+ */
+@Service
+@RequiredArgsConstructor
+public class JpaListingWatermarks implements ListingWatermarks {
+
+    private final ListingWatermarkRepository repository;
+
+    @Override
+    public Optional<ListingWatermark> get(String policyId, String scope) {
+        return repository
+                .findById(new ListingWatermarkId(policyId, IdentityHasher.identityHash(scope)))
+                .map(ListingWatermarkEntity::toWatermark);
+    }
+
+    @Override
+    public void put(String policyId, String scope, ListingWatermark watermark) {
+        repository.save(new ListingWatermarkEntity(policyId, scope, watermark));
+    }
+
+    @Override
+    public void clearPolicy(String policyId) {
+        repository.deleteByPolicy(policyId);
+    }
+}
@@ -0,0 +1,10 @@
+package stirling.software.proprietary.policy.ledger;
+
+import java.time.Instant;
+
+/**
+ * Where a policy's incremental listing of one source scope stopped: the last key listed (listings
+ * are in key order, so the next sweep starts after it), the newest last-modified time seen, and
+ * when the scope was last listed in full.
+ */
+public record ListingWatermark(String lastKey, Instant lastModified, Instant fullListingAt) {}
@@ -0,0 +1,62 @@
+package stirling.software.proprietary.policy.ledger;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One stored {@link ListingWatermark}. Keyed by SHA-256 of the scope, like the processed-file
+ * ledger keys identities, so any scope length fits the primary key.
+ */
+@Entity
+@Table(name = "policy_listing_watermarks")
+@IdClass(ListingWatermarkId.class)
+@NoArgsConstructor
+@Getter
+@Setter
+public class ListingWatermarkEntity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "policy_id")
+    private String policyId;
+
+    @Id
+    @Column(name = "scope_hash", length = 64)
+    private String scopeHash;
+
+    @Column(name = "scope", length = 4096)
+    private String scope;
+
+    @Column(name = "last_key", length = 4096)
+    private String lastKey;
+
+    @Column(name = "last_modified")
+    private Instant lastModified;
+
+    @Column(name = "full_listing_at")
+    private Instant fullListingAt;
+
+    public ListingWatermarkEntity(String policyId, String scope, ListingWatermark watermark) {
+        this.policyId = policyId;
+        this.scopeHash = IdentityHasher.identityHash(scope);
+        this.scope = scope;
+        this.lastKey = watermark.lastKey();
+        this.lastModified = watermark.lastModified();
+        this.fullListingAt = watermark.fullListingAt();
+    }
+
+    ListingWatermark toWatermark() {
+        return new ListingWatermark(lastKey, lastModified, fullListingAt);
+    }
+}
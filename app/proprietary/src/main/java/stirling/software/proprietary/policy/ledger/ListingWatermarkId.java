@@ -0,0 +1,37 @@
+package stirling.software.proprietary.policy.ledger;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/** Composite key for {@link ListingWatermarkEntity}: one row per policy per listing scope. */
+public class ListingWatermarkId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String policyId;
+    private String scopeHash;
+
+    public ListingWatermarkId() {}
+
+    public ListingWatermarkId(String policyId, String scopeHash) {
+        this.policyId = policyId;
+        this.scopeHash = scopeHash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ListingWatermarkId other)) {
+            return false;
+        }
+        return Objects.equals(policyId, other.policyId)
+                && Objects.equals(scopeHash, other.scopeHash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(policyId, scopeHash);
+    }
+}
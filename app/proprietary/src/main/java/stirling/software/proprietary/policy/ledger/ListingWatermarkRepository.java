@@ -0,0 +1,18 @@
+package stirling.software.proprietary.policy.ledger;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ListingWatermarkRepository
+        extends JpaRepository<ListingWatermarkEntity, ListingWatermarkId> {
+
+    @Modifying
+    @Transactional
+    @Query("delete from ListingWatermarkEntity e where e.policyId = :policyId")
+    int deleteByPolicy(@Param("policyId") String policyId);
+}
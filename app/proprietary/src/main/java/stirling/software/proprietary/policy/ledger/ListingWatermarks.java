@@ -0,0 +1,19 @@
+package stirling.software.proprietary.policy.ledger;
+
+import java.util.Optional;
+
+/**
+ * Per-policy listing watermarks for sources that can resume a listing, so a sweep over a very large
+ * prefix only reads what was added since the last one. A scope is whatever the source lists as one
+ * unit (e.g. an S3 bucket and prefix). {@link JpaListingWatermarks} is the runtime bean; {@link
+ * InProcessListingWatermarks} backs tests.
+ */
+public interface ListingWatermarks {
+
+    Optional<ListingWatermark> get(String policyId, String scope);
+
+    void put(String policyId, String scope, ListingWatermark watermark);
+
+    /** Forget every watermark of the policy, so its next sweep lists each source in full. */
+    void clearPolicy(String policyId);
+}
@@ -11,6 +11,7 @@ import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
 
 import stirling.software.proprietary.policy.config.PolicyAccessGuard;
+import stirling.software.proprietary.policy.engine.PolicyRunLimiter;
 import stirling.software.proprietary.policy.model.OutputSpec;
 import stirling.software.proprietary.policy.model.PipelineStep;
 import stirling.software.proprietary.policy.model.Policy;
@@ -23,7 +24,8 @@ import stirling.software.proprietary.policy.store.PolicyStore;
  * Builds the Pipelines overview: one row per policy the caller's team built on the Pipelines page,
  * with its sources resolved to live display names, its steps, and a trigger/output summary.
  * Frontend/catalogue policies (marked by a {@code categoryId} in their output options) belong to
- * the user-facing Policies page and are excluded; a folder-watch trigger is not a signal.
+ * the user-facing Policies page and are excluded; a folder-watch trigger is not a signal. Each row
+ * also carries the policy's executing and queued run counts from {@link PolicyRunLimiter}.
  */
 @Service
 @RequiredArgsConstructor
@@ -36,6 +38,7 @@ public class PolicyOverviewService {
     private final SourceStore sourceStore;
     private final PolicyAccessGuard policyAccessGuard;
     private final SourceAccessGuard sourceAccessGuard;
+    private final PolicyRunLimiter runLimiter;
 
     public PoliciesOverviewResponse overview() {
         List<Policy> policies =
@@ -76,7 +79,7 @@ public class PolicyOverviewService {
         return names;
     }
 
-    private static PolicyView toView(Policy policy, Map<String, String> sourceNames) {
+    private PolicyView toView(Policy policy, Map<String, String> sourceNames) {
         List<PolicyView.SourceRef> sources =
                 policy.sourceIds().stream()
                         // An unresolved id (source deleted, or not visible) falls back to the id so
@@ -93,7 +96,9 @@ public class PolicyOverviewService {
                 sources,
                 steps,
                 outputSummary(policy, sourceNames),
-                policy.owner());
+                policy.owner(),
+                runLimiter.inFlight(policy.id()),
+                runLimiter.queued(policy.id()));
     }
 
     /**
@@ -6,7 +6,8 @@ import java.util.List;
  * One row in the Pipelines overview: a stored policy shown for the admin portal, with its
  * referenced sources resolved to names and its pipeline summarised. The portal's "all pipelines"
  * surface lists every backend policy (the user-facing Policies page builds only a friendly subset
- * of these).
+ * of these). {@code runsInFlight} and {@code runsQueued} are this node's live run counts for the
+ * policy: executing, and waiting for a concurrency slot.
  */
 public record PolicyView(
         String id,
@@ -17,7 +18,9 @@ public record PolicyView(
         List<SourceRef> sources,
         List<String> steps,
         String output,
-        String owner) {
+        String owner,
+        int runsInFlight,
+        int runsQueued) {
 
     /** A source a policy pulls documents from, resolved to its display name. */
     public record SourceRef(String id, String name) {}
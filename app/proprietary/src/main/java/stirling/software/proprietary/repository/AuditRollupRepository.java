@@ -0,0 +1,71 @@
+package stirling.software.proprietary.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import stirling.software.proprietary.model.security.AuditRollup;
+import stirling.software.proprietary.model.security.AuditRollupId;
+import stirling.software.proprietary.model.security.AuditRollupTotals;
+
+/**
+ * Sums over {@link AuditRollup} buckets with {@code from <= bucketHour < to} (hours since the
+ * epoch). Each query reads at most one row per bucket in range and returns one row per group.
+ */
+@Repository
+public interface AuditRollupRepository extends JpaRepository<AuditRollup, AuditRollupId> {
+
+    @Query(
+            "select new stirling.software.proprietary.model.security.AuditRollupTotals("
+                    + "sum(e.eventCount), sum(e.successCount), sum(e.failureCount),"
+                    + " sum(e.errorCount), sum(e.latencySumMs), sum(e.latencyCount),"
+                    + " count(distinct e.principal))"
+                    + " from AuditRollup e where e.bucketHour >= :from and e.bucketHour < :to")
+    AuditRollupTotals totalsBetween(@Param("from") long from, @Param("to") long to);
+
+    @Query(
+            "select e.type, sum(e.eventCount) from AuditRollup e"
+                    + " where e.bucketHour >= :from and e.bucketHour < :to group by e.type")
+    List<Object[]> sumByTypeBetween(@Param("from") long from, @Param("to") long to);
+
+    @Query(
+            "select e.principal, sum(e.eventCount) from AuditRollup e"
+                    + " where e.bucketHour >= :from and e.bucketHour < :to group by e.principal")
+    List<Object[]> sumByPrincipalBetween(@Param("from") long from, @Param("to") long to);
+
+    @Query(
+            "select e.bucketHour, sum(e.eventCount) from AuditRollup e"
+                    + " where e.bucketHour >= :from and e.bucketHour < :to group by e.bucketHour")
+    List<Object[]> sumByHourBetween(@Param("from") long from, @Param("to") long to);
+
+    @Query(
+            "select e.endpoint, sum(e.eventCount) from AuditRollup e"
+                    + " where e.bucketHour >= :from and e.bucketHour < :to and e.endpoint <> ''"
+                    + " group by e.endpoint")
+    List<Object[]> sumByEndpointBetween(@Param("from") long from, @Param("to") long to);
+
+    @Query(
+            "select e.endpoint, sum(e.eventCount) from AuditRollup e"
+                    + " where e.bucketHour >= :from and e.bucketHour < :to and e.endpoint <> ''"
+                    + " and e.type = :type group by e.endpoint")
+    List<Object[]> sumByEndpointForTypeBetween(
+            @Param("type") String type, @Param("from") long from, @Param("to") long to);
+
+    @Query(
+            "select e.endpoint, sum(e.eventCount) from AuditRollup e"
+                    + " where e.bucketHour >= :from and e.bucketHour < :to and e.endpoint <> ''"
+                    + " and e.type <> :type group by e.endpoint")
+    List<Object[]> sumByEndpointExceptTypeBetween(
+            @Param("type") String type, @Param("from") long from, @Param("to") long to);
+
+    /** Delete buckets older than {@code floor} (hours since the epoch). */
+    @Modifying
+    @Transactional
+    @Query("delete from AuditRollup e where e.bucketHour < :floor")
+    int deleteOlderThan(@Param("floor") long floor);
+}
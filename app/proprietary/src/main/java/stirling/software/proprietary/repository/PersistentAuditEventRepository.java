@@ -7,6 +7,7 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,7 +17,9 @@ import org.springframework.transaction.annotation.Transactional;
 import stirling.software.proprietary.model.security.PersistentAuditEvent;
 
 @Repository
-public interface PersistentAuditEventRepository extends JpaRepository<PersistentAuditEvent, Long> {
+public interface PersistentAuditEventRepository
+        extends JpaRepository<PersistentAuditEvent, Long>,
+                JpaSpecificationExecutor<PersistentAuditEvent> {
 
     // Basic queries
     @Query(
@@ -59,58 +62,6 @@ public interface PersistentAuditEventRepository extends JpaRepository<Persistent
             @Param("endDate") Instant endDate,
             Pageable pageable);
 
-    // Non-paged versions for export
-    @Query(
-            "SELECT e FROM PersistentAuditEvent e WHERE UPPER(e.principal) LIKE UPPER(CONCAT('%',"
-                    + " :principal, '%'))")
-    List<PersistentAuditEvent> findAllByPrincipalForExport(@Param("principal") String principal);
-
-    @Query("SELECT e FROM PersistentAuditEvent e WHERE e.type = :type")
-    List<PersistentAuditEvent> findByTypeForExport(@Param("type") String type);
-
-    @Query("SELECT e FROM PersistentAuditEvent e WHERE e.type = :type AND e.timestamp > :startDate")
-    List<PersistentAuditEvent> findByTypeAndTimestampAfterForExport(
-            @Param("type") String type, @Param("startDate") Instant startDate);
-
-    @Query("SELECT e FROM PersistentAuditEvent e WHERE e.timestamp BETWEEN :startDate AND :endDate")
-    List<PersistentAuditEvent> findAllByTimestampBetweenForExport(
-            @Param("startDate") Instant startDate, @Param("endDate") Instant endDate);
-
-    @Query("SELECT e FROM PersistentAuditEvent e WHERE e.timestamp > :startDate")
-    List<PersistentAuditEvent> findByTimestampAfter(@Param("startDate") Instant startDate);
-
-    @Query(
-            "SELECT e FROM PersistentAuditEvent e WHERE UPPER(e.principal) LIKE UPPER(CONCAT('%',"
-                    + " :principal, '%')) AND e.type = :type")
-    List<PersistentAuditEvent> findAllByPrincipalAndTypeForExport(
-            @Param("principal") String principal, @Param("type") String type);
-
-    @Query(
-            "SELECT e FROM PersistentAuditEvent e WHERE UPPER(e.principal) LIKE UPPER(CONCAT('%',"
-                    + " :principal, '%')) AND e.timestamp BETWEEN :startDate AND :endDate")
-    List<PersistentAuditEvent> findAllByPrincipalAndTimestampBetweenForExport(
-            @Param("principal") String principal,
-            @Param("startDate") Instant startDate,
-            @Param("endDate") Instant endDate);
-
-    @Query(
-            "SELECT e FROM PersistentAuditEvent e WHERE e.type = :type AND e.timestamp BETWEEN"
-                    + " :startDate AND :endDate")
-    List<PersistentAuditEvent> findAllByTypeAndTimestampBetweenForExport(
-            @Param("type") String type,
-            @Param("startDate") Instant startDate,
-            @Param("endDate") Instant endDate);
-
-    @Query(
-            "SELECT e FROM PersistentAuditEvent e WHERE UPPER(e.principal) LIKE UPPER(CONCAT('%',"
-                    + " :principal, '%')) AND e.type = :type AND e.timestamp BETWEEN :startDate AND"
-                    + " :endDate")
-    List<PersistentAuditEvent> findAllByPrincipalAndTypeAndTimestampBetweenForExport(
-            @Param("principal") String principal,
-            @Param("type") String type,
-            @Param("startDate") Instant startDate,
-            @Param("endDate") Instant endDate);
-
     // Cleanup queries
     @Query("DELETE FROM PersistentAuditEvent e WHERE e.timestamp < ?1")
     @Modifying
@@ -150,13 +101,6 @@ public interface PersistentAuditEventRepository extends JpaRepository<Persistent
     List<Object[]> histogramByDayBetween(
             @Param("startDate") Instant startDate, @Param("endDate") Instant endDate);
 
-    @Query(
-            "SELECT HOUR(e.timestamp), COUNT(e) FROM PersistentAuditEvent e WHERE e.timestamp"
-                    + " BETWEEN :startDate AND :endDate GROUP BY HOUR(e.timestamp) ORDER BY"
-                    + " HOUR(e.timestamp)")
-    List<Object[]> histogramByHourBetween(
-            @Param("startDate") Instant startDate, @Param("endDate") Instant endDate);
-
     // Get distinct event types for filtering
     @Query("SELECT DISTINCT e.type FROM PersistentAuditEvent e ORDER BY e.type")
     List<String> findDistinctEventTypes();
@@ -230,50 +174,6 @@ public interface PersistentAuditEventRepository extends JpaRepository<Persistent
             @Param("endDate") Instant endDate,
             Pageable pageable);
 
-    // Export versions (non-paged)
-    @Query("SELECT e FROM PersistentAuditEvent e WHERE e.type IN :types")
-    List<PersistentAuditEvent> findByTypeInForExport(@Param("types") List<String> types);
-
-    @Query("SELECT e FROM PersistentAuditEvent e WHERE e.principal IN :principals")
-    List<PersistentAuditEvent> findByPrincipalInForExport(
-            @Param("principals") List<String> principals);
-
-    @Query(
-            "SELECT e FROM PersistentAuditEvent e WHERE e.type IN :types AND e.timestamp BETWEEN :startDate AND :endDate")
-    List<PersistentAuditEvent> findByTypeInAndTimestampBetweenForExport(
-            @Param("types") List<String> types,
-            @Param("startDate") Instant startDate,
-            @Param("endDate") Instant endDate);
-
-    @Query(
-            "SELECT e FROM PersistentAuditEvent e WHERE e.principal IN :principals AND e.timestamp BETWEEN :startDate AND :endDate")
-    List<PersistentAuditEvent> findByPrincipalInAndTimestampBetweenForExport(
-            @Param("principals") List<String> principals,
-            @Param("startDate") Instant startDate,
-            @Param("endDate") Instant endDate);
-
-    @Query(
-            "SELECT e FROM PersistentAuditEvent e WHERE e.type IN :types AND e.principal IN :principals")
-    List<PersistentAuditEvent> findByTypeInAndPrincipalInForExport(
-            @Param("types") List<String> types, @Param("principals") List<String> principals);
-
-    @Query(
-            "SELECT e FROM PersistentAuditEvent e WHERE e.type IN :types AND e.principal IN :principals AND e.timestamp BETWEEN :startDate AND :endDate")
-    List<PersistentAuditEvent> findByTypeInAndPrincipalInAndTimestampBetweenForExport(
-            @Param("types") List<String> types,
-            @Param("principals") List<String> principals,
-            @Param("startDate") Instant startDate,
-            @Param("endDate") Instant endDate);
-
-    // Query events excluding a specific type (used for analytics where we want to exclude UI_DATA)
-    @Query("SELECT e FROM PersistentAuditEvent e WHERE e.type != :excludeType")
-    List<PersistentAuditEvent> findAllExceptTypeForExport(@Param("excludeType") String excludeType);
-
-    @Query(
-            "SELECT e FROM PersistentAuditEvent e WHERE e.type != :excludeType AND e.timestamp > :startDate")
-    List<PersistentAuditEvent> findAllExceptTypeAndTimestampAfterForExport(
-            @Param("excludeType") String excludeType, @Param("startDate") Instant startDate);
-
     // Free-editor fleet usage: count genuine free-UI operations (source = "WEB") by type.
     @Query(
             "SELECT COUNT(e) FROM PersistentAuditEvent e "
@@ -27,6 +27,7 @@ import io.github.pixee.security.Filenames;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
+import stirling.software.SPDF.pdf.parser.TextLayerCache;
 import stirling.software.common.model.ApplicationProperties;
 import stirling.software.common.service.AutomationRunContext;
 import stirling.software.common.service.CustomPDFDocumentFactory;
@@ -74,6 +75,7 @@ public class AiWorkflowService {
     private final CustomPDFDocumentFactory pdfDocumentFactory;
     private final AiEngineClient aiEngineClient;
     private final PdfContentExtractor pdfContentExtractor;
+    private final TextLayerCache textLayerCache;
     private final ObjectMapper objectMapper;
     private final FileStorage fileStorage;
     private final TempFileManager tempFileManager;
@@ -87,6 +89,7 @@ public class AiWorkflowService {
             CustomPDFDocumentFactory pdfDocumentFactory,
             AiEngineClient aiEngineClient,
             PdfContentExtractor pdfContentExtractor,
+            TextLayerCache textLayerCache,
             ObjectMapper objectMapper,
             FileStorage fileStorage,
             TempFileManager tempFileManager,
@@ -98,6 +101,7 @@ public class AiWorkflowService {
         this.pdfDocumentFactory = pdfDocumentFactory;
         this.aiEngineClient = aiEngineClient;
         this.pdfContentExtractor = pdfContentExtractor;
+        this.textLayerCache = textLayerCache;
         this.objectMapper = objectMapper;
         this.fileStorage = fileStorage;
         this.tempFileManager = tempFileManager;
@@ -267,7 +271,9 @@ public class AiWorkflowService {
         List<LoadedFile> loadedFiles = new ArrayList<>();
         try {
             for (AiFile file : filesToLoad) {
-                PDDocument doc = pdfDocumentFactory.load(filesById.get(file.getId()), true);
+                byte[] pdfBytes = filesById.get(file.getId()).getBytes();
+                PDDocument doc = pdfDocumentFactory.load(pdfBytes, true);
+                textLayerCache.bind(doc, pdfBytes);
                 loadedFiles.add(new LoadedFile(file.getId(), file.getName(), doc));
             }
 
@@ -355,7 +361,9 @@ public class AiWorkflowService {
 
     private void ingestFile(AiFile file, MultipartFile multipartFile) throws IOException {
         List<AiPageText> pages = new ArrayList<>();
-        try (PDDocument document = pdfDocumentFactory.load(multipartFile, true)) {
+        byte[] pdfBytes = multipartFile.getBytes();
+        try (PDDocument document = pdfDocumentFactory.load(pdfBytes, true)) {
+            textLayerCache.bind(document, pdfBytes);
             int pageCount = document.getNumberOfPages();
             for (int pageNumber = 1; pageNumber <= pageCount; pageNumber++) {
                 String pageText = pdfContentExtractor.extractPageTextRaw(document, pageNumber);
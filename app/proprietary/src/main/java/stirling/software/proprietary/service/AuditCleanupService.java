@@ -24,6 +24,7 @@ import stirling.software.proprietary.repository.PersistentAuditEventRepository;
 public class AuditCleanupService {
 
     private final PersistentAuditEventRepository auditRepository;
+    private final AuditRollupService auditRollupService;
     private final AuditConfigurationProperties auditConfig;
 
     // Default batch size for deletions
@@ -49,6 +50,7 @@ public class AuditCleanupService {
         try {
             Instant cutoffDate = Instant.now().minus(retentionDays, ChronoUnit.DAYS);
             int totalDeleted = batchDeleteEvents(cutoffDate);
+            auditRollupService.deleteBefore(cutoffDate);
             log.info(
                     "Successfully cleaned up {} audit events older than {}",
                     totalDeleted,
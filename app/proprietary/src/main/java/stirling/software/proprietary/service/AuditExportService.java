@@ -0,0 +1,164 @@
+package stirling.software.proprietary.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+import lombok.RequiredArgsConstructor;
+
+import stirling.software.proprietary.model.security.PersistentAuditEvent;
+import stirling.software.proprietary.repository.PersistentAuditEventRepository;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SequenceWriter;
+
+/**
+ * Reads audit events for export a page at a time and writes them straight to the response, so an
+ * export of any size holds at most one page of events in memory.
+ *
+ * <p>Events are exported oldest first. Pages are read by keyset on {@code (timestamp, id)} rather
+ * than by offset, so each page is an index range scan however deep into the export it is, and
+ * events sharing a timestamp are split across pages without repeats or gaps. Each page is its own
+ * query outside any transaction, so the events of earlier pages are detached and can be
+ * collected.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditExportService {
+
+    private static final Sort BY_TIME = Sort.by("timestamp", "id");
+
+    private final PersistentAuditEventRepository auditRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${stirling.audit.export.page-size:1000}")
+    private int pageSize = 1000;
+
+    /**
+     * Which events to export. Null fields do not filter; {@code start} and {@code end} bound the
+     * timestamp inclusively and are either both set or both null.
+     *
+     * @param types event types to include
+     * @param principals principals to include, matched exactly
+     * @param principalContains case-insensitive substring the principal must contain
+     */
+    public record Filter(
+            List<String> types,
+            List<String> principals,
+            String principalContains,
+            Instant start,
+            Instant end) {
+
+        public static final Filter ALL = new Filter(null, null, null, null, null);
+    }
+
+    /** Receives exported events in timestamp order, ties broken by {@code id}. */
+    @FunctionalInterface
+    public interface EventSink {
+        void accept(PersistentAuditEvent event) throws IOException;
+    }
+
+    /** Passes every event matching {@code filter} to {@code sink}, one page at a time. */
+    public void forEach(Filter filter, EventSink sink) throws IOException {
+        PersistentAuditEvent after = null;
+        while (true) {
+            List<PersistentAuditEvent> page =
+                    auditRepository.findBy(
+                            matching(filter, after),
+                            query -> query.sortBy(BY_TIME).limit(pageSize).all());
+            for (PersistentAuditEvent event : page) {
+                sink.accept(event);
+            }
+            if (page.size() < pageSize) {
+                return;
+            }
+            after = page.get(page.size() - 1);
+        }
+    }
+
+    /** Writes the events as {@code ID,Principal,Type,Timestamp,Data} CSV rows under a header. */
+    public void writeCsv(Filter filter, Writer out) throws IOException {
+        DateTimeFormatter formatter = DateTimeFormatter.ISO_INSTANT;
+        out.write("ID,Principal,Type,Timestamp,Data\n");
+        forEach(
+                filter,
+                event -> {
+                    out.write(String.valueOf(event.getId()));
+                    out.write(',');
+                    out.write(escapeCsv(event.getPrincipal()));
+                    out.write(',');
+                    out.write(escapeCsv(event.getType()));
+                    out.write(',');
+                    out.write(formatter.format(event.getTimestamp()));
+                    out.write(',');
+                    out.write(escapeCsv(event.getData()));
+                    out.write('\n');
+                });
+        out.flush();
+    }
+
+    /** Writes the events as one JSON array, serialized an event at a time. */
+    public void writeJson(Filter filter, OutputStream out) throws IOException {
+        try (SequenceWriter array = objectMapper.writer().writeValuesAsArray(out)) {
+            forEach(filter, array::write);
+        } catch (JacksonException e) {
+            throw new IOException("Failed to write audit events as JSON", e);
+        }
+    }
+
+    /** Quotes a CSV field, doubling any quotes inside it; null becomes an empty field. */
+    public static String escapeCsv(String field) {
+        if (field == null) {
+            return "";
+        }
+        return "\"" + field.replace("\"", "\"\"") + "\"";
+    }
+
+    /** Events matching {@code filter} that sort after {@code after}, or all of them if null. */
+    private static Specification<PersistentAuditEvent> matching(
+            Filter filter, PersistentAuditEvent after) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (after != null) {
+                Path<Instant> timestamp = root.get("timestamp");
+                predicates.add(
+                        cb.or(
+                                cb.greaterThan(timestamp, after.getTimestamp()),
+                                cb.and(
+                                        cb.equal(timestamp, after.getTimestamp()),
+                                        cb.greaterThan(root.<Long>get("id"), after.getId()))));
+            }
+            if (filter.types() != null) {
+                predicates.add(root.get("type").in(filter.types()));
+            }
+            if (filter.principals() != null) {
+                predicates.add(root.get("principal").in(filter.principals()));
+            }
+            if (filter.principalContains() != null) {
+                predicates.add(
+                        cb.like(
+                                cb.upper(root.<String>get("principal")),
+                                "%" + filter.principalContains().toUpperCase(Locale.ROOT) + "%"));
+            }
+            if (filter.start() != null && filter.end() != null) {
+                predicates.add(
+                        cb.between(root.<Instant>get("timestamp"), filter.start(), filter.end()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
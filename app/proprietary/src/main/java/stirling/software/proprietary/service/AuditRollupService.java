@@ -0,0 +1,142 @@
+package stirling.software.proprietary.service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+
+import stirling.software.proprietary.audit.AuditRollupWriter;
+import stirling.software.proprietary.model.security.AuditRollupTotals;
+import stirling.software.proprietary.repository.AuditRollupRepository;
+
+/**
+ * Audit statistics summed from the hourly {@code audit_rollups} rather than from raw events, so a
+ * dashboard query reads at most one row per hour and group however many events the period holds.
+ *
+ * <p>A period runs from the hour containing {@code start} to, but not including, the hour
+ * containing {@code end}, or to the latest event when {@code end} is null; consecutive periods
+ * that share a boundary never count an hour twice. Days and hours of day are in the server's time
+ * zone, summed here from the hourly buckets; where that zone's offset is not a whole number of
+ * hours they are accurate to the hour.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditRollupService {
+
+    private final AuditRollupRepository rollupRepository;
+
+    /** Measures summed over a period; zero when it has no events. */
+    public record Totals(
+            long events,
+            long successes,
+            long failures,
+            long errors,
+            long latencySumMs,
+            long latencyCount,
+            long principals) {}
+
+    public Totals totals(Instant start, Instant end) {
+        AuditRollupTotals sums = rollupRepository.totalsBetween(from(start), to(end));
+        if (sums == null || sums.events() == null) {
+            return new Totals(0, 0, 0, 0, 0, 0, 0);
+        }
+        return new Totals(
+                sums.events(),
+                orZero(sums.successes()),
+                orZero(sums.failures()),
+                orZero(sums.errors()),
+                orZero(sums.latencySumMs()),
+                orZero(sums.latencyCount()),
+                orZero(sums.principals()));
+    }
+
+    public Map<String, Long> countsByType(Instant start, Instant end) {
+        return toMap(rollupRepository.sumByTypeBetween(from(start), to(end)));
+    }
+
+    public Map<String, Long> countsByPrincipal(Instant start, Instant end) {
+        return toMap(rollupRepository.sumByPrincipalBetween(from(start), to(end)));
+    }
+
+    /** Event counts keyed by ISO local date. */
+    public Map<String, Long> countsByDay(Instant start, Instant end) {
+        Map<String, Long> byDay = new HashMap<>();
+        ZoneId zone = ZoneId.systemDefault();
+        for (Object[] row : rollupRepository.sumByHourBetween(from(start), to(end))) {
+            String day = hourStart(row[0]).atZone(zone).format(DateTimeFormatter.ISO_LOCAL_DATE);
+            byDay.merge(day, ((Number) row[1]).longValue(), Long::sum);
+        }
+        return byDay;
+    }
+
+    /** Event counts for each local hour of day, {@code "00"} to {@code "23"}, zeros included. */
+    public Map<String, Long> countsByHourOfDay(Instant start, Instant end) {
+        Map<String, Long> byHour = new TreeMap<>();
+        for (int h = 0; h < 24; h++) {
+            byHour.put(String.format("%02d", h), 0L);
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        for (Object[] row : rollupRepository.sumByHourBetween(from(start), to(end))) {
+            ZonedDateTime local = hourStart(row[0]).atZone(zone);
+            byHour.merge(
+                    String.format("%02d", local.getHour()),
+                    ((Number) row[1]).longValue(),
+                    Long::sum);
+        }
+        return byHour;
+    }
+
+    /** Event counts by request path, for events that recorded one. */
+    public Map<String, Long> countsByEndpoint(Instant start, Instant end) {
+        return toMap(rollupRepository.sumByEndpointBetween(from(start), to(end)));
+    }
+
+    public Map<String, Long> countsByEndpointForType(String type, Instant start, Instant end) {
+        return toMap(rollupRepository.sumByEndpointForTypeBetween(type, from(start), to(end)));
+    }
+
+    public Map<String, Long> countsByEndpointExceptType(String type, Instant start, Instant end) {
+        return toMap(rollupRepository.sumByEndpointExceptTypeBetween(type, from(start), to(end)));
+    }
+
+    /** Drops the hours before the one containing {@code cutoff}, as its events are deleted. */
+    public int deleteBefore(Instant cutoff) {
+        return rollupRepository.deleteOlderThan(from(cutoff));
+    }
+
+    public void deleteAll() {
+        rollupRepository.deleteAllInBatch();
+    }
+
+    private static long from(Instant start) {
+        return AuditRollupWriter.hourOf(start);
+    }
+
+    private static long to(Instant end) {
+        return end == null ? Long.MAX_VALUE : AuditRollupWriter.hourOf(end);
+    }
+
+    private static Instant hourStart(Object bucketHour) {
+        return Instant.ofEpochSecond(((Number) bucketHour).longValue() * 3600);
+    }
+
+    private static long orZero(Long value) {
+        return value == null ? 0 : value;
+    }
+
+    private static Map<String, Long> toMap(List<Object[]> rows) {
+        Map<String, Long> map = new HashMap<>();
+        for (Object[] row : rows) {
+            map.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return map;
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import lombok.extern.slf4j.Slf4j;
 
+import stirling.software.SPDF.pdf.parser.TextLayerCache;
 import stirling.software.common.service.CustomPDFDocumentFactory;
 import stirling.software.common.service.UserServiceInterface;
 import stirling.software.proprietary.model.api.ai.Evidence;
@@ -49,6 +50,7 @@ public class MathAuditorOrchestrator {
     private final AiEngineClient aiEngineClient;
     private final CustomPDFDocumentFactory pdfDocumentFactory;
     private final PdfContentExtractor pdfContentExtractor;
+    private final TextLayerCache textLayerCache;
     private final ObjectMapper objectMapper;
     private final UserServiceInterface userService;
 
@@ -56,11 +58,13 @@ public class MathAuditorOrchestrator {
             AiEngineClient aiEngineClient,
             CustomPDFDocumentFactory pdfDocumentFactory,
             PdfContentExtractor pdfContentExtractor,
+            TextLayerCache textLayerCache,
             ObjectMapper objectMapper,
             @Autowired(required = false) UserServiceInterface userService) {
         this.aiEngineClient = aiEngineClient;
         this.pdfDocumentFactory = pdfDocumentFactory;
         this.pdfContentExtractor = pdfContentExtractor;
+        this.textLayerCache = textLayerCache;
         this.objectMapper = objectMapper;
         this.userService = userService;
     }
@@ -84,7 +88,9 @@ public class MathAuditorOrchestrator {
                 pdfFile.getOriginalFilename(),
                 tolerance);
 
-        try (PDDocument document = pdfDocumentFactory.load(pdfFile)) {
+        byte[] pdfBytes = pdfFile.getBytes();
+        try (PDDocument document = pdfDocumentFactory.load(pdfBytes)) {
+            textLayerCache.bind(document, pdfBytes);
             // Round 1: classify pages cheaply; send manifest; get requisition
             List<FolioType> folioTypes = classifyPages(document);
             FolioManifest manifest =
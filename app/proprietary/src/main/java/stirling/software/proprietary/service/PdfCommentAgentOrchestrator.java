@@ -19,6 +19,7 @@ import org.springframework.web.server.ResponseStatusException;
 
 import lombok.extern.slf4j.Slf4j;
 
+import stirling.software.SPDF.pdf.parser.TextLayerCache;
 import stirling.software.common.model.api.comments.AnnotationLocation;
 import stirling.software.common.model.api.comments.StickyNoteSpec;
 import stirling.software.common.service.CustomPDFDocumentFactory;
@@ -80,6 +81,7 @@ public class PdfCommentAgentOrchestrator {
 
     private final AiEngineClient aiEngineClient;
     private final PdfTextChunkExtractor pdfTextChunkExtractor;
+    private final TextLayerCache textLayerCache;
     private final CustomPDFDocumentFactory pdfDocumentFactory;
     private final ObjectMapper objectMapper;
     private final PdfAnnotationService pdfAnnotationService;
@@ -88,12 +90,14 @@ public class PdfCommentAgentOrchestrator {
     public PdfCommentAgentOrchestrator(
             AiEngineClient aiEngineClient,
             PdfTextChunkExtractor pdfTextChunkExtractor,
+            TextLayerCache textLayerCache,
             CustomPDFDocumentFactory pdfDocumentFactory,
             ObjectMapper objectMapper,
             PdfAnnotationService pdfAnnotationService,
             @Autowired(required = false) UserServiceInterface userService) {
         this.aiEngineClient = aiEngineClient;
         this.pdfTextChunkExtractor = pdfTextChunkExtractor;
+        this.textLayerCache = textLayerCache;
         this.pdfDocumentFactory = pdfDocumentFactory;
         this.objectMapper = objectMapper;
         this.pdfAnnotationService = pdfAnnotationService;
@@ -130,7 +134,9 @@ public class PdfCommentAgentOrchestrator {
                 safeName(pdfFile.getOriginalFilename()),
                 trimmedPrompt.length());
 
-        try (PDDocument document = pdfDocumentFactory.load(pdfFile)) {
+        byte[] pdfBytes = pdfFile.getBytes();
+        try (PDDocument document = pdfDocumentFactory.load(pdfBytes)) {
+            textLayerCache.bind(document, pdfBytes);
             List<TextChunk> chunks = pdfTextChunkExtractor.extract(document);
             if (chunks.isEmpty()) {
                 throw new ResponseStatusException(
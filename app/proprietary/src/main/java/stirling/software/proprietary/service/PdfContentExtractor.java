@@ -18,8 +18,6 @@ import org.apache.commons.csv.QuoteMode;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.apache.pdfbox.text.TextPosition;
 import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -32,6 +30,8 @@ import lombok.extern.slf4j.Slf4j;
 import stirling.software.SPDF.pdf.parser.PageImageLocator;
 import stirling.software.SPDF.pdf.parser.PdfModels.TableFragment;
 import stirling.software.SPDF.pdf.parser.TabulaTableParser;
+import stirling.software.SPDF.pdf.parser.TextLayer;
+import stirling.software.SPDF.pdf.parser.TextLayerCache;
 import stirling.software.common.util.ExceptionUtils;
 import stirling.software.common.util.PdfUtils;
 import stirling.software.common.util.RegexPatternUtils;
@@ -46,6 +46,7 @@ import stirling.software.proprietary.model.api.ai.FolioType;
 public class PdfContentExtractor {
 
     private final TabulaTableParser tabulaTableParser;
+    private final TextLayerCache textLayerCache;
 
     private static final int MAX_CHARACTERS_PER_PAGE = 4_000;
 
@@ -68,10 +69,7 @@ public class PdfContentExtractor {
      * @param pageNumber 1-based page number
      */
     public FolioType classifyPage(PDDocument document, int pageNumber) throws IOException {
-        PDFTextStripper stripper = new PDFTextStripper();
-        stripper.setStartPage(pageNumber);
-        stripper.setEndPage(pageNumber);
-        String text = stripper.getText(document).trim();
+        String text = pageText(document, pageNumber, TextLayer.Order.CONTENT);
 
         boolean hasText = text.length() > TEXT_PRESENCE_THRESHOLD;
         boolean hasImages = PdfUtils.hasImagesOnPage(document.getPage(pageNumber - 1));
@@ -93,13 +91,23 @@ public class PdfContentExtractor {
      * @return trimmed text, or empty string if the page has no extractable text
      */
     public String extractPageTextRaw(PDDocument document, int pageNumber) throws IOException {
-        PDFTextStripper stripper = new PDFTextStripper();
-        stripper.setStartPage(pageNumber);
-        stripper.setEndPage(pageNumber);
-        String text = stripper.getText(document).trim();
+        String text = pageText(document, pageNumber, TextLayer.Order.CONTENT);
         return clip(text, MAX_CHARACTERS_PER_PAGE);
     }
 
+    /**
+     * Trimmed text of a 1-based page, from the document's shared text layer so classifying a page
+     * and then reading it extracts it once. Pages outside the document have no text.
+     */
+    private String pageText(PDDocument document, int pageNumber, TextLayer.Order order)
+            throws IOException {
+        TextLayer layer = textLayerCache.layer(document, order);
+        if (pageNumber < 1 || pageNumber > layer.pageCount()) {
+            return "";
+        }
+        return layer.page(pageNumber - 1).text().trim();
+    }
+
     /**
      * Extract all tables from a single page as CSV strings.
      *
@@ -270,12 +278,7 @@ public class PdfContentExtractor {
                 break;
             }
 
-            PDFTextStripper textStripper = new PDFTextStripper();
-            textStripper.setSortByPosition(true);
-            textStripper.setStartPage(pageNumber);
-            textStripper.setEndPage(pageNumber);
-
-            String pageText = textStripper.getText(document).trim();
+            String pageText = pageText(document, pageNumber, TextLayer.Order.POSITION);
 
             // Prepend page dimensions so the AI agent can reason about absolute coordinates.
             PDPage page = document.getPage(pageNumber - 1);
@@ -425,85 +428,26 @@ public class PdfContentExtractor {
      */
     public List<TextBlock> findTextPositions(PDDocument document, String pattern, boolean useRegex)
             throws IOException {
-        LocalTextFinder finder = new LocalTextFinder(pattern, useRegex);
-        finder.getText(document);
-        return finder.found;
-    }
-
-    private static final class LocalTextFinder extends PDFTextStripper {
-
-        private final String searchTerm;
-        private final boolean useRegex;
-        final List<TextBlock> found = new ArrayList<>();
-
-        private final List<TextPosition> pagePositions = new ArrayList<>();
-        private final StringBuilder pageText = new StringBuilder();
-
-        LocalTextFinder(String searchTerm, boolean useRegex) throws IOException {
-            this.searchTerm = searchTerm;
-            this.useRegex = useRegex;
-            setWordSeparator(" ");
-            setLineSeparator("\n");
+        List<TextBlock> found = new ArrayList<>();
+        if (pattern == null || pattern.isBlank()) {
+            return found;
         }
-
-        @Override
-        protected void startPage(PDPage page) throws IOException {
-            super.startPage(page);
-            pagePositions.clear();
-            pageText.setLength(0);
-        }
-
-        @Override
-        protected void writeString(String text, List<TextPosition> positions) {
-            pageText.append(text);
-            pagePositions.addAll(positions);
-        }
-
-        @Override
-        protected void writeWordSeparator() {
-            pageText.append(getWordSeparator());
-            pagePositions.add(null);
-        }
-
-        @Override
-        protected void writeLineSeparator() {
-            pageText.append(getLineSeparator());
-            pagePositions.add(null);
-        }
-
-        @Override
-        protected void endPage(PDPage page) throws IOException {
-            String text = pageText.toString();
-            if (!text.isEmpty() && searchTerm != null && !searchTerm.isBlank()) {
-                String term = searchTerm.trim();
-                String regex = useRegex ? term : "\\Q" + term + "\\E";
-                Pattern pat = RegexPatternUtils.getInstance().createSearchPattern(regex, true);
-                Matcher matcher = pat.matcher(text);
-                while (matcher.find()) {
-                    float minX = Float.MAX_VALUE;
-                    float minY = Float.MAX_VALUE;
-                    float maxX = -Float.MAX_VALUE;
-                    float maxY = -Float.MAX_VALUE;
-                    boolean hit = false;
-                    for (int i = matcher.start(); i < matcher.end(); i++) {
-                        if (i < pagePositions.size()) {
-                            TextPosition tp = pagePositions.get(i);
-                            if (tp != null) {
-                                hit = true;
-                                minX = Math.min(minX, tp.getX());
-                                maxX = Math.max(maxX, tp.getX() + tp.getWidth());
-                                minY = Math.min(minY, tp.getY() - tp.getHeight());
-                                maxY = Math.max(maxY, tp.getY());
-                            }
-                        }
-                    }
-                    if (hit) {
-                        found.add(new TextBlock(getCurrentPageNo() - 1, minX, minY, maxX, maxY));
-                    }
+        String term = pattern.trim();
+        String regex = useRegex ? term : "\\Q" + term + "\\E";
+        Pattern pat = RegexPatternUtils.getInstance().createSearchPattern(regex, true);
+        TextLayer layer = textLayerCache.layer(document, TextLayer.Order.CONTENT);
+        for (TextLayer.Page page : layer.pages()) {
+            Matcher matcher = pat.matcher(page.text());
+            while (matcher.find()) {
+                float[] bounds = page.bounds(matcher.start(), matcher.end());
+                if (bounds != null) {
+                    found.add(
+                            new TextBlock(
+                                    page.index(), bounds[0], bounds[1], bounds[2], bounds[3]));
                 }
             }
-            super.endPage(page);
         }
+        return found;
     }
 
     // --- Types shared with AiWorkflowService (package-private) ---
@@ -0,0 +1,222 @@
+package stirling.software.proprietary.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import stirling.software.proprietary.audit.BatchingAuditWriter.Row;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class AuditRollupWriterTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T10:15:00Z");
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate transactions;
+    private AuditRollupWriter rollups;
+
+    @BeforeEach
+    void setUp() {
+        dataSource =
+                new DriverManagerDataSource(
+                        "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute(BatchingAuditWriterTest.CREATE_TABLE);
+        jdbc.execute(BatchingAuditWriterTest.CREATE_ROLLUPS);
+        jdbc.execute(BatchingAuditWriterTest.CREATE_ROLLUP_PROGRESS);
+        DataSourceTransactionManager transactionManager =
+                new DataSourceTransactionManager(dataSource);
+        transactions = new TransactionTemplate(transactionManager);
+        rollups =
+                new AuditRollupWriter(dataSource, transactionManager, JsonMapper.builder().build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("SHUTDOWN");
+    }
+
+    private static Row row(String principal, String data, Instant timestamp) {
+        return new Row(principal, "PDF_PROCESS", "WEB", data, timestamp);
+    }
+
+    private void add(Row... rows) {
+        transactions.executeWithoutResult(status -> rollups.add(List.of(rows)));
+    }
+
+    private void insertRaw(Row row) {
+        jdbc.update(
+                BatchingAuditWriter.INSERT_SQL,
+                row.principal(),
+                row.type(),
+                row.source(),
+                row.data(),
+                Timestamp.from(row.timestamp()));
+    }
+
+    /**
+     * Wraps the data source so that, the first time the writer prepares a bucket insert, another
+     * connection commits the same bucket first, as a concurrent writer would.
+     */
+    private DataSource insertingFirst(Object[] bucket) {
+        AtomicBoolean raced = new AtomicBoolean();
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                return (Connection)
+                        Proxy.newProxyInstance(
+                                getClass().getClassLoader(),
+                                new Class<?>[] {Connection.class},
+                                (proxy, method, args) -> {
+                                    if ("prepareStatement".equals(method.getName())
+                                            && AuditRollupWriter.INSERT_SQL.equals(args[0])
+                                            && raced.compareAndSet(false, true)) {
+                                        jdbc.update(AuditRollupWriter.INSERT_SQL, bucket);
+                                    }
+                                    try {
+                                        return method.invoke(connection, args);
+                                    } catch (InvocationTargetException e) {
+                                        throw e.getCause();
+                                    }
+                                });
+            }
+        };
+    }
+
+    private long sum(String column) {
+        Long sum = jdbc.queryForObject("SELECT SUM(" + column + ") FROM audit_rollups", Long.class);
+        return sum == null ? 0 : sum;
+    }
+
+    @Test
+    void classifiesOutcomesLatencyAndEndpointsLikeTheDashboard() {
+        String success = "{\"status\":\"success\",\"latencyMs\":100,\"path\":\"a/merge?x=1\"}";
+        String failure = "{\"status\":\"failure\",\"latencyMs\":\"200\",\"path\":\"/a/merge\"}";
+        add(
+                row("alice", success, T0),
+                row("alice", failure, T0),
+                row("bob", "{\"statusCode\":\"404\"}", T0),
+                row("bob", "{\"outcome\":\"success\",\"endpoint\":\"/b\"}", T0),
+                row("bob", null, T0),
+                row("bob", "not json", T0));
+
+        assertThat(sum("event_count")).isEqualTo(6);
+        assertThat(sum("success_count")).isEqualTo(2);
+        assertThat(sum("failure_count")).isEqualTo(1);
+        // the failure plus the 404
+        assertThat(sum("error_count")).isEqualTo(2);
+        assertThat(sum("latency_sum_ms")).isEqualTo(300);
+        assertThat(sum("latency_count")).isEqualTo(2);
+        assertThat(
+                        jdbc.queryForObject(
+                                "SELECT SUM(event_count) FROM audit_rollups WHERE endpoint = ?",
+                                Long.class,
+                                "/a/merge"))
+                .isEqualTo(2);
+        assertThat(
+                        jdbc.queryForObject(
+                                "SELECT COUNT(*) FROM audit_rollups WHERE endpoint = ''",
+                                Integer.class))
+                .isEqualTo(2);
+    }
+
+    @Test
+    void laterBatchesIncrementExistingBucketsAndOpenNewHours() {
+        add(row("alice", null, T0), row("alice", null, T0.plusSeconds(60)));
+        add(row("alice", null, T0.plusSeconds(120)), row("alice", null, T0.plusSeconds(3600)));
+
+        List<Map<String, Object>> buckets =
+                jdbc.queryForList(
+                        "SELECT bucket_hour, event_count FROM audit_rollups ORDER BY bucket_hour");
+        assertThat(buckets).hasSize(2);
+        assertThat(((Number) buckets.get(0).get("bucket_hour")).longValue())
+                .isEqualTo(AuditRollupWriter.hourOf(T0));
+        assertThat(((Number) buckets.get(0).get("event_count")).longValue()).isEqualTo(3);
+        assertThat(((Number) buckets.get(1).get("event_count")).longValue()).isEqualTo(1);
+    }
+
+    @Test
+    void backfillAddsEventsWrittenBeforeRollupsInChunks() {
+        for (int i = 0; i < 5; i++) {
+            insertRaw(row("user" + i, "{\"status\":\"success\"}", T0.minusSeconds(i * 3600L)));
+        }
+        // The first live batch fixes the watermark at the five existing events
+        add(row("live", null, T0));
+        ReflectionTestUtils.setField(rollups, "backfillChunk", 2);
+
+        for (int i = 0; i < 3; i++) {
+            rollups.backfill();
+            assertThat(rollups.isBackfilled()).isFalse();
+        }
+        rollups.backfill();
+        rollups.backfill();
+
+        assertThat(rollups.isBackfilled()).isTrue();
+        assertThat(sum("event_count")).isEqualTo(6);
+        assertThat(sum("success_count")).isEqualTo(5);
+        assertThat(
+                        jdbc.queryForObject(
+                                "SELECT backfilled_through_id FROM audit_rollup_progress",
+                                Long.class))
+                .isEqualTo(5);
+    }
+
+    @Test
+    void backfillStartsWithoutWaitingForALiveBatch() {
+        insertRaw(row("alice", null, T0));
+
+        rollups.backfill();
+        rollups.backfill();
+
+        assertThat(rollups.isBackfilled()).isTrue();
+        assertThat(sum("event_count")).isEqualTo(1);
+        // Events written afterwards are live and never backfilled twice
+        add(row("bob", null, T0));
+        assertThat(sum("event_count")).isEqualTo(2);
+    }
+
+    @Test
+    void bucketInsertedByAnotherWriterIsIncrementedWithoutFailingTheBatch() {
+        Object[] bucket = {
+            AuditRollupWriter.hourOf(T0), "PDF_PROCESS", "alice", "WEB", "", 1, 0, 0, 0, 0, 0
+        };
+        DataSource racing = insertingFirst(bucket);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(racing);
+        AuditRollupWriter racingRollups =
+                new AuditRollupWriter(racing, transactionManager, JsonMapper.builder().build());
+
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(
+                        status ->
+                                racingRollups.add(
+                                        List.of(row("alice", null, T0), row("bob", null, T0))));
+
+        assertThat(sum("event_count")).isEqualTo(3);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM audit_rollups", Integer.class))
+                .isEqualTo(2);
+    }
+}
@@ -0,0 +1,225 @@
+package stirling.software.proprietary.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class BatchingAuditWriterTest {
+
+    static final String CREATE_TABLE =
+            "CREATE TABLE audit_events (id BIGINT AUTO_INCREMENT PRIMARY KEY,"
+                    + " principal VARCHAR(255), type VARCHAR(255), source VARCHAR(255),"
+                    + " data TEXT, timestamp TIMESTAMP(6) WITH TIME ZONE)";
+
+    static final String CREATE_ROLLUPS =
+            "CREATE TABLE audit_rollups (bucket_hour BIGINT, type VARCHAR(255),"
+                    + " principal VARCHAR(255), source VARCHAR(255), endpoint VARCHAR(255),"
+                    + " event_count BIGINT, success_count BIGINT, failure_count BIGINT,"
+                    + " error_count BIGINT, latency_sum_ms BIGINT, latency_count BIGINT,"
+                    + " PRIMARY KEY (bucket_hour, type, principal, source, endpoint))";
+
+    static final String CREATE_ROLLUP_PROGRESS =
+            "CREATE TABLE audit_rollup_progress (id INT PRIMARY KEY, watermark_id BIGINT,"
+                    + " backfilled_through_id BIGINT)";
+
+    @TempDir Path spillDir;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private SimpleMeterRegistry registry;
+    private final List<BatchingAuditWriter> writers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        dataSource =
+                new DriverManagerDataSource(
+                        "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute(CREATE_TABLE);
+        jdbc.execute(CREATE_ROLLUPS);
+        jdbc.execute(CREATE_ROLLUP_PROGRESS);
+        registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writers.forEach(BatchingAuditWriter::stop);
+        jdbc.execute("SHUTDOWN");
+    }
+
+    private BatchingAuditWriter writer(int batchSize, long flushIntervalMs) throws IOException {
+        DataSourceTransactionManager transactionManager =
+                new DataSourceTransactionManager(dataSource);
+        JsonMapper mapper = JsonMapper.builder().build();
+        BatchingAuditWriter writer =
+                new BatchingAuditWriter(
+                        dataSource,
+                        transactionManager,
+                        mapper,
+                        registry,
+                        new AuditRollupWriter(dataSource, transactionManager, mapper));
+        ReflectionTestUtils.setField(writer, "batchSize", batchSize);
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", flushIntervalMs);
+        ReflectionTestUtils.setField(writer, "spillDir", spillDir.toString());
+        writer.start();
+        writers.add(writer);
+        return writer;
+    }
+
+    private static BatchingAuditWriter.Row row(int i) {
+        return new BatchingAuditWriter.Row(
+                "user" + i, "PDF_PROCESS", "WEB", "{\"i\":" + i + "}", Instant.now());
+    }
+
+    private int rows() {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM audit_events", Integer.class);
+    }
+
+    private double counter(String name) {
+        return registry.get("stirling.audit.writer." + name).counter().count();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("timed out waiting").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void fullBatchIsWrittenWithoutWaitingForTheInterval() throws Exception {
+        BatchingAuditWriter writer = writer(10, TimeUnit.HOURS.toMillis(1));
+
+        for (int i = 0; i < 25; i++) {
+            writer.enqueue(row(i));
+        }
+
+        await(() -> rows() == 20);
+        Thread.sleep(100);
+        assertThat(rows()).isEqualTo(20);
+        assertThat(counter("events.written")).isEqualTo(20);
+    }
+
+    @Test
+    void partialBatchIsWrittenAfterTheInterval() throws Exception {
+        BatchingAuditWriter writer = writer(100, 50);
+
+        writer.enqueue(row(1));
+        writer.enqueue(row(2));
+
+        await(() -> rows() == 2);
+        assertThat(
+                        jdbc.queryForObject(
+                                "SELECT principal FROM audit_events WHERE data = ?",
+                                String.class,
+                                "{\"i\":2}"))
+                .isEqualTo("user2");
+    }
+
+    @Test
+    void rollupsAreWrittenWithEachBatch() throws Exception {
+        BatchingAuditWriter writer = writer(100, 20);
+
+        for (int i = 0; i < 4; i++) {
+            writer.enqueue(row(i));
+        }
+
+        await(() -> rows() == 4);
+        assertThat(
+                        jdbc.queryForObject(
+                                "SELECT SUM(event_count) FROM audit_rollups WHERE type = ?",
+                                Long.class,
+                                "PDF_PROCESS"))
+                .isEqualTo(4);
+    }
+
+    @Test
+    void shutdownFlushesQueuedEvents() throws Exception {
+        BatchingAuditWriter writer = writer(100, TimeUnit.HOURS.toMillis(1));
+        for (int i = 0; i < 30; i++) {
+            writer.enqueue(row(i));
+        }
+
+        writer.stop();
+
+        assertThat(rows()).isEqualTo(30);
+        assertThat(registry.get("stirling.audit.writer.queue.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void failedBatchesSpillToDiskAndAreReplayed() throws Exception {
+        jdbc.execute("ALTER TABLE audit_events RENAME TO audit_events_offline");
+        BatchingAuditWriter writer = writer(5, 20);
+
+        for (int i = 0; i < 12; i++) {
+            writer.enqueue(row(i));
+        }
+        await(() -> counter("events.spilled") == 12);
+        assertThat(registry.get("stirling.audit.writer.spill.bytes").gauge().value())
+                .isPositive();
+
+        jdbc.execute("ALTER TABLE audit_events_offline RENAME TO audit_events");
+
+        await(() -> registry.get("stirling.audit.writer.spill.bytes").gauge().value() == 0);
+        assertThat(rows()).isEqualTo(12);
+        try (Stream<Path> files = Files.list(spillDir)) {
+            assertThat(files).isEmpty();
+        }
+        assertThat(counter("events.dropped")).isZero();
+    }
+
+    @Test
+    void spillFilesLeftByAnEarlierRunAreReplayedOnStartup() throws Exception {
+        jdbc.execute("ALTER TABLE audit_events RENAME TO audit_events_offline");
+        BatchingAuditWriter first = writer(100, TimeUnit.HOURS.toMillis(1));
+        for (int i = 0; i < 3; i++) {
+            first.enqueue(row(i));
+        }
+        first.stop();
+        assertThat(counter("events.spilled")).isEqualTo(3);
+
+        jdbc.execute("ALTER TABLE audit_events_offline RENAME TO audit_events");
+        registry = new SimpleMeterRegistry();
+        writer(100, 20);
+
+        await(() -> rows() == 3);
+    }
+
+    @Test
+    void eventsAreDroppedOnlyOnceTheSpillDirectoryIsFull() throws Exception {
+        jdbc.execute("ALTER TABLE audit_events RENAME TO audit_events_offline");
+        BatchingAuditWriter writer = writer(1, 20);
+        ReflectionTestUtils.setField(writer, "maxSpillMb", 0L);
+
+        for (int i = 0; i < 5; i++) {
+            writer.enqueue(row(i));
+        }
+
+        await(() -> counter("events.dropped") == 5);
+        assertThat(counter("events.spilled")).isZero();
+        assertThat(counter("events.written")).isZero();
+    }
+}
@@ -0,0 +1,87 @@
+package stirling.software.proprietary.cluster.s3;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+/**
+ * Concurrency of {@link S3FileStore} multipart uploads against a fake client whose part uploads
+ * are slow, so parts pile up in flight as far as the upload concurrency allows. Needs no S3.
+ */
+class S3FileStoreMultipartTest {
+
+    private static final int CONCURRENCY = 3;
+    private static final int PARTS = 8;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private S3Client s3Client;
+    private S3FileStore store;
+
+    @BeforeEach
+    void setUp() {
+        s3Client = mock(S3Client.class);
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenAnswer(
+                        invocation -> {
+                            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                            try {
+                                Thread.sleep(150);
+                            } finally {
+                                inFlight.decrementAndGet();
+                            }
+                            UploadPartRequest request = invocation.getArgument(0);
+                            return UploadPartResponse.builder()
+                                    .eTag("\"part-" + request.partNumber() + "\"")
+                                    .build();
+                        });
+        store =
+                new S3FileStore(
+                        s3Client,
+                        "bucket",
+                        "parts/",
+                        false,
+                        S3FileStore.MIN_PART_SIZE,
+                        CONCURRENCY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void slowParts_areSentInParallelUpToTheConcurrencyLimit() throws IOException {
+        byte[] payload = new byte[PARTS * S3FileStore.MIN_PART_SIZE];
+
+        assertThat(store.store(new ByteArrayInputStream(payload), "parts.bin").size())
+                .isEqualTo(payload.length);
+
+        verify(s3Client, times(PARTS))
+                .uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+        verify(s3Client).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+        assertThat(maxInFlight.get()).isGreaterThan(1).isLessThanOrEqualTo(CONCURRENCY);
+    }
+}
@@ -29,6 +29,7 @@ import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListMultipartUploadsRequest;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 
 @Testcontainers(disabledWithoutDocker = true)
@@ -173,7 +174,7 @@ class S3FileStoreTest {
     }
 
     @Test
-    void store_largePayload_streamsViaTempFileWithoutBufferingInMemory() throws IOException {
+    void store_largePayload_streamsWithoutTempFile() throws IOException {
         long payloadSize = 16L * 1024 * 1024;
         Path tempDir = Path.of(System.getProperty("java.io.tmpdir"));
         long uploadTempsBefore = countS3UploadTemps(tempDir);
@@ -194,8 +195,7 @@ class S3FileStoreTest {
         Path tempDir = Path.of(System.getProperty("java.io.tmpdir"));
         long uploadTempsBefore = countS3UploadTemps(tempDir);
 
-        // Non-existent bucket causes putObject to fail after the temp file is written, exercising
-        // the failure-path cleanup in the finally block.
+        // Non-existent bucket causes putObject to fail; no upload temp file may be left behind.
         S3FileStore brokenStore =
                 new S3FileStore(s3Client, "bucket-that-does-not-exist", "transient/", false);
 
@@ -210,6 +210,81 @@ class S3FileStoreTest {
         assertThat(countS3UploadTemps(tempDir)).isEqualTo(uploadTempsBefore);
     }
 
+    @Test
+    void store_overPartSize_uploadsPartsInParallelAndReassembles() throws IOException {
+        S3FileStore multipartStore =
+                new S3FileStore(
+                        s3Client, BUCKET, "multipart/", false, S3FileStore.MIN_PART_SIZE, 2);
+        long payloadSize = 3L * S3FileStore.MIN_PART_SIZE + 123;
+
+        FileStore.Stored stored;
+        try (InputStream large = new CountingInputStream(payloadSize, -1)) {
+            stored = multipartStore.store(large, "parts.bin", "bob");
+        }
+
+        assertThat(stored.size()).isEqualTo(payloadSize);
+        String eTag =
+                s3Client.headObject(
+                                HeadObjectRequest.builder()
+                                        .bucket(BUCKET)
+                                        .key(multipartStore.resolveKey(stored.fileId()))
+                                        .build())
+                        .eTag();
+        // Multipart ETags end in the part count
+        assertThat(eTag).endsWith("-4\"");
+        assertThat(multipartStore.getOwner(stored.fileId())).isEqualTo("bob");
+        try (InputStream in = multipartStore.retrieve(stored.fileId());
+                InputStream expected = new CountingInputStream(payloadSize, -1)) {
+            assertThat(in).hasSameContentAs(expected);
+        }
+        multipartStore.delete(stored.fileId());
+    }
+
+    @Test
+    void store_sourceFailsMidUpload_abortsMultipartUpload() {
+        S3FileStore multipartStore =
+                new S3FileStore(s3Client, BUCKET, "aborted/", false, S3FileStore.MIN_PART_SIZE, 2);
+        long failAt = 2L * S3FileStore.MIN_PART_SIZE + 10;
+        InputStream failing = new CountingInputStream(4L * S3FileStore.MIN_PART_SIZE, failAt);
+
+        assertThatThrownBy(() -> multipartStore.store(failing, "broken.bin"))
+                .isInstanceOf(IOException.class);
+
+        assertThat(
+                        s3Client.listMultipartUploads(
+                                        ListMultipartUploadsRequest.builder()
+                                                .bucket(BUCKET)
+                                                .prefix("aborted/")
+                                                .build())
+                                .uploads())
+                .isEmpty();
+    }
+
+    @Test
+    void partSizeBelowS3Minimum_constructorRejects() {
+        assertThatThrownBy(() -> new S3FileStore(s3Client, BUCKET, "", false, 1024, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(
+                        () ->
+                                new S3FileStore(
+                                        s3Client, BUCKET, "", false, S3FileStore.MIN_PART_SIZE, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void partSizeAboveMaximum_constructorRejects() {
+        assertThatThrownBy(
+                        () ->
+                                new S3FileStore(
+                                        s3Client,
+                                        BUCKET,
+                                        "",
+                                        false,
+                                        S3FileStore.MAX_PART_SIZE + 1,
+                                        4))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     private static long countS3UploadTemps(Path tempDir) {
         try (Stream<Path> entries = Files.list(tempDir)) {
             return entries.filter(p -> p.getFileName().toString().startsWith("s3-upload-")).count();
@@ -251,6 +326,43 @@ class S3FileStoreTest {
         }
     }
 
+    /**
+     * Generates {@code length} bytes that encode their own offset, so reassembled parts in the
+     * wrong order do not compare equal, optionally failing once {@code failAt} bytes are read.
+     */
+    private static final class CountingInputStream extends InputStream {
+        private final long length;
+        private final long failAt;
+        private long position;
+
+        CountingInputStream(long length, long failAt) {
+            this.length = length;
+            this.failAt = failAt;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (failAt >= 0 && position >= failAt) {
+                throw new IOException("source failed");
+            }
+            if (position >= length) {
+                return -1;
+            }
+            int toWrite = (int) Math.min(len, length - position);
+            for (int i = 0; i < toWrite; i++) {
+                b[off + i] = (byte) ((position + i) % 251);
+            }
+            position += toWrite;
+            return toWrite;
+        }
+    }
+
     @Test
     void store_withOwner_persistsOwnerMetadata() throws IOException {
         FileStore.Stored stored =
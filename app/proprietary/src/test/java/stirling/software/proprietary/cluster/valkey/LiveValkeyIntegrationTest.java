@@ -10,6 +10,9 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.AfterAll;
@@ -152,6 +155,26 @@ class LiveValkeyIntegrationTest {
         assertFalse(cacheB.get("apikey", "hash-bob").isPresent());
     }
 
+    @Test
+    @DisplayName("Messages published on one node reach subscribers on every node")
+    void publishReachesSubscribersOnOtherConnections() throws InterruptedException {
+        ValkeyClusterBackplane bpA = new ValkeyClusterBackplane(newProps("node-A"), templateA);
+        ValkeyClusterBackplane bpB = new ValkeyClusterBackplane(newProps("node-B"), templateB);
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        try {
+            bpB.subscribe("live-bus", received::add);
+            // SUBSCRIBE completes asynchronously; publish until the listener is attached
+            String message = null;
+            for (int i = 0; i < 50 && message == null; i++) {
+                bpA.publish("live-bus", "file-1");
+                message = received.poll(100, TimeUnit.MILLISECONDS);
+            }
+            assertEquals("file-1", message);
+        } finally {
+            bpB.shutdown();
+        }
+    }
+
     @Test
     @DisplayName("RateLimitStore enforces ONE global budget across two instances")
     void rateLimitGlobalAcrossInstances() {
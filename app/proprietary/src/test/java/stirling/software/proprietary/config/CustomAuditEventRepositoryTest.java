@@ -17,8 +17,7 @@ import org.mockito.ArgumentCaptor;
 import org.slf4j.MDC;
 import org.springframework.boot.actuate.audit.AuditEvent;
 
-import stirling.software.proprietary.model.security.PersistentAuditEvent;
-import stirling.software.proprietary.repository.PersistentAuditEventRepository;
+import stirling.software.proprietary.audit.BatchingAuditWriter;
 
 import tools.jackson.databind.json.JsonMapper;
 
@@ -31,31 +30,31 @@ class CustomAuditEventRepositoryTest {
 
     @Test
     void sourceIsPopulatedFromMdcAuditSource() {
-        PersistentAuditEventRepository repo = mock(PersistentAuditEventRepository.class);
-        CustomAuditEventRepository writer =
-                new CustomAuditEventRepository(repo, JsonMapper.builder().build());
+        BatchingAuditWriter writer = mock(BatchingAuditWriter.class);
+        CustomAuditEventRepository repo =
+                new CustomAuditEventRepository(writer, JsonMapper.builder().build());
 
         MDC.put("auditSource", "WEB");
-        writer.add(new AuditEvent(Instant.now(), "admin", "PDF_PROCESS", Map.of("k", "v")));
+        repo.add(new AuditEvent(Instant.now(), "admin", "PDF_PROCESS", Map.of("k", "v")));
 
-        ArgumentCaptor<PersistentAuditEvent> captor =
-                ArgumentCaptor.forClass(PersistentAuditEvent.class);
-        verify(repo).save(captor.capture());
-        assertEquals("WEB", captor.getValue().getSource());
+        ArgumentCaptor<BatchingAuditWriter.Row> captor =
+                ArgumentCaptor.forClass(BatchingAuditWriter.Row.class);
+        verify(writer).enqueue(captor.capture());
+        assertEquals("WEB", captor.getValue().source());
     }
 
     @Test
     void sourceIsNullWhenMdcAbsent() {
-        PersistentAuditEventRepository repo = mock(PersistentAuditEventRepository.class);
-        CustomAuditEventRepository writer =
-                new CustomAuditEventRepository(repo, JsonMapper.builder().build());
+        BatchingAuditWriter writer = mock(BatchingAuditWriter.class);
+        CustomAuditEventRepository repo =
+                new CustomAuditEventRepository(writer, JsonMapper.builder().build());
 
-        writer.add(new AuditEvent(Instant.now(), "admin", "PDF_PROCESS", Map.of("k", "v")));
+        repo.add(new AuditEvent(Instant.now(), "admin", "PDF_PROCESS", Map.of("k", "v")));
 
-        ArgumentCaptor<PersistentAuditEvent> captor =
-                ArgumentCaptor.forClass(PersistentAuditEvent.class);
-        verify(repo).save(captor.capture());
-        assertNull(captor.getValue().getSource());
+        ArgumentCaptor<BatchingAuditWriter.Row> captor =
+                ArgumentCaptor.forClass(BatchingAuditWriter.Row.class);
+        verify(writer).enqueue(captor.capture());
+        assertNull(captor.getValue().source());
     }
 
     @Test
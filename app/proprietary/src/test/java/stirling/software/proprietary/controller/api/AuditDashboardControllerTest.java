@@ -3,7 +3,9 @@ package stirling.software.proprietary.controller.api;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -11,20 +13,24 @@ import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import stirling.software.proprietary.model.api.audit.AuditDataRequest;
 import stirling.software.proprietary.model.api.audit.AuditDataResponse;
@@ -32,6 +38,8 @@ import stirling.software.proprietary.model.api.audit.AuditExportRequest;
 import stirling.software.proprietary.model.api.audit.AuditStatsResponse;
 import stirling.software.proprietary.model.security.PersistentAuditEvent;
 import stirling.software.proprietary.repository.PersistentAuditEventRepository;
+import stirling.software.proprietary.service.AuditExportService;
+import stirling.software.proprietary.service.AuditRollupService;
 
 import tools.jackson.databind.ObjectMapper;
 import tools.jackson.databind.json.JsonMapper;
@@ -40,14 +48,24 @@ import tools.jackson.databind.json.JsonMapper;
 class AuditDashboardControllerTest {
 
     @Mock private PersistentAuditEventRepository auditRepository;
+    @Mock private AuditRollupService auditRollupService;
 
-    private ObjectMapper objectMapper;
+    private AuditExportService auditExportService;
     private AuditDashboardController controller;
 
     @BeforeEach
     void setUp() {
-        objectMapper = JsonMapper.builder().build();
-        controller = new AuditDashboardController(auditRepository, objectMapper);
+        ObjectMapper objectMapper = JsonMapper.builder().build();
+        auditExportService = spy(new AuditExportService(auditRepository, objectMapper));
+        controller =
+                new AuditDashboardController(
+                        auditRepository, auditExportService, auditRollupService);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubExport(PersistentAuditEvent... events) {
+        when(auditRepository.findBy(any(Specification.class), any()))
+                .thenReturn(List.of(events));
     }
 
     private PersistentAuditEvent event(long id, String principal, String type, String data) {
@@ -222,14 +240,14 @@ class AuditDashboardControllerTest {
     class GetAuditStats {
 
         @Test
-        @DisplayName("groups events by type, principal and day")
+        @DisplayName("reports the rollup counts by type, principal and day")
         void aggregatesCounts() {
-            List<PersistentAuditEvent> events =
-                    List.of(
-                            event(1L, "admin", "USER_LOGIN", null),
-                            event(2L, "admin", "USER_LOGIN", null),
-                            event(3L, "bob", "PDF_PROCESS", null));
-            when(auditRepository.findByTimestampAfter(any(Instant.class))).thenReturn(events);
+            when(auditRollupService.countsByType(any(Instant.class), isNull()))
+                    .thenReturn(Map.of("USER_LOGIN", 2L, "PDF_PROCESS", 1L));
+            when(auditRollupService.countsByPrincipal(any(Instant.class), isNull()))
+                    .thenReturn(Map.of("admin", 2L, "bob", 1L));
+            when(auditRollupService.countsByDay(any(Instant.class), isNull()))
+                    .thenReturn(Map.of("2025-01-01", 3L));
 
             AuditStatsResponse resp = controller.getAuditStats(7);
 
@@ -243,8 +261,6 @@ class AuditDashboardControllerTest {
         @Test
         @DisplayName("empty result yields zero totals")
         void emptyResult() {
-            when(auditRepository.findByTimestampAfter(any(Instant.class))).thenReturn(List.of());
-
             AuditStatsResponse resp = controller.getAuditStats(30);
 
             assertThat(resp.getTotalEvents()).isZero();
@@ -275,34 +291,38 @@ class AuditDashboardControllerTest {
     class ExportCsv {
 
         @Test
-        @DisplayName("returns CSV with header and escaped rows")
-        void csvWithRows() {
+        @DisplayName("writes CSV with header and escaped rows")
+        void csvWithRows() throws Exception {
             AuditExportRequest req = new AuditExportRequest();
-            when(auditRepository.findAll())
-                    .thenReturn(List.of(event(1L, "ad\"min", "USER_LOGIN", "{\"a\":1}")));
+            stubExport(event(1L, "ad\"min", "USER_LOGIN", "{\"a\":1}"));
+            MockHttpServletResponse resp = new MockHttpServletResponse();
 
-            ResponseEntity<byte[]> resp = controller.exportAuditData(req);
+            controller.exportAuditData(req, resp);
 
-            assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
-            String csv = new String(resp.getBody(), StandardCharsets.UTF_8);
+            assertThat(resp.getStatus()).isEqualTo(HttpStatus.OK.value());
+            String csv = resp.getContentAsString(StandardCharsets.UTF_8);
             assertThat(csv).startsWith("ID,Principal,Type,Timestamp,Data");
             // Quotes inside fields must be doubled
             assertThat(csv).contains("\"ad\"\"min\"");
-            assertThat(resp.getHeaders().getContentDisposition().getFilename())
-                    .isEqualTo("audit_export.csv");
+            assertThat(resp.getHeader(HttpHeaders.CONTENT_DISPOSITION))
+                    .contains("filename=\"audit_export.csv\"");
         }
 
         @Test
-        @DisplayName("type filter feeds findByTypeForExport")
-        void csvWithTypeFilter() {
+        @DisplayName("type filter narrows the export to that type")
+        void csvWithTypeFilter() throws Exception {
             AuditExportRequest req = new AuditExportRequest();
             req.setType("USER_LOGIN");
-            when(auditRepository.findByTypeForExport("USER_LOGIN")).thenReturn(List.of());
+            stubExport();
 
-            controller.exportAuditData(req);
+            controller.exportAuditData(req, new MockHttpServletResponse());
 
-            verify(auditRepository).findByTypeForExport("USER_LOGIN");
-            verify(auditRepository, never()).findAll();
+            verify(auditExportService)
+                    .writeCsv(
+                            eq(
+                                    new AuditExportService.Filter(
+                                            List.of("USER_LOGIN"), null, null, null, null)),
+                            any());
         }
     }
 
@@ -311,38 +331,40 @@ class AuditDashboardControllerTest {
     class ExportJson {
 
         @Test
-        @DisplayName("returns JSON body and attachment header")
-        void jsonExport() {
+        @DisplayName("writes a JSON array and attachment header")
+        void jsonExport() throws Exception {
             AuditExportRequest req = new AuditExportRequest();
-            when(auditRepository.findAll())
-                    .thenReturn(List.of(event(1L, "admin", "USER_LOGIN", null)));
+            stubExport(event(1L, "admin", "USER_LOGIN", null));
+            MockHttpServletResponse resp = new MockHttpServletResponse();
 
-            ResponseEntity<byte[]> resp = controller.exportAuditDataJson(req);
+            controller.exportAuditDataJson(req, resp);
 
-            assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
-            String json = new String(resp.getBody(), StandardCharsets.UTF_8);
-            assertThat(json).contains("\"principal\":\"admin\"");
-            assertThat(resp.getHeaders().getContentDisposition().getFilename())
-                    .isEqualTo("audit_export.json");
+            assertThat(resp.getStatus()).isEqualTo(HttpStatus.OK.value());
+            String json = resp.getContentAsString(StandardCharsets.UTF_8);
+            assertThat(json).startsWith("[").contains("\"principal\":\"admin\"");
+            assertThat(resp.getHeader(HttpHeaders.CONTENT_DISPOSITION))
+                    .contains("filename=\"audit_export.json\"");
         }
 
         @Test
-        @DisplayName("all-filter export routes to combined-criteria query")
-        void jsonExportAllFilters() {
+        @DisplayName("all filters are combined, principal as a substring match")
+        void jsonExportAllFilters() throws Exception {
             AuditExportRequest req = new AuditExportRequest();
             req.setType("USER_LOGIN");
             req.setPrincipal("admin");
             req.setStartDate(LocalDate.of(2025, 1, 1));
             req.setEndDate(LocalDate.of(2025, 1, 31));
-            when(auditRepository.findAllByPrincipalAndTypeAndTimestampBetweenForExport(
-                            eq("admin"), eq("USER_LOGIN"), any(Instant.class), any(Instant.class)))
-                    .thenReturn(List.of());
+            stubExport();
 
-            controller.exportAuditDataJson(req);
+            controller.exportAuditDataJson(req, new MockHttpServletResponse());
 
-            verify(auditRepository)
-                    .findAllByPrincipalAndTypeAndTimestampBetweenForExport(
-                            eq("admin"), eq("USER_LOGIN"), any(Instant.class), any(Instant.class));
+            ArgumentCaptor<AuditExportService.Filter> filter =
+                    ArgumentCaptor.forClass(AuditExportService.Filter.class);
+            verify(auditExportService).writeJson(filter.capture(), any());
+            assertThat(filter.getValue().types()).containsExactly("USER_LOGIN");
+            assertThat(filter.getValue().principals()).isNull();
+            assertThat(filter.getValue().principalContains()).isEqualTo("admin");
+            assertThat(filter.getValue().start()).isBefore(filter.getValue().end());
         }
     }
 
@@ -360,6 +382,7 @@ class AuditDashboardControllerTest {
 
             assertThat(result).containsEntry("deleted", 5);
             assertThat(result).containsEntry("cutoffDate", cutoff.toString());
+            verify(auditRollupService).deleteBefore(any(Instant.class));
         }
 
         @Test
@@ -371,21 +394,23 @@ class AuditDashboardControllerTest {
 
             assertThat(result).containsKey("error");
             verify(auditRepository, never()).deleteByTimestampBefore(any(Instant.class));
+            verify(auditRollupService, never()).deleteBefore(any(Instant.class));
         }
     }
 
     @Test
     @DisplayName("escapeCSV null becomes empty string via default export path")
-    void csvHandlesNullData() {
+    void csvHandlesNullData() throws Exception {
         AuditExportRequest req = new AuditExportRequest();
-        when(auditRepository.findAll()).thenReturn(List.of(event(1L, "admin", "USER_LOGIN", null)));
+        stubExport(event(1L, "admin", "USER_LOGIN", null));
+        MockHttpServletResponse resp = new MockHttpServletResponse();
 
-        ResponseEntity<byte[]> resp = controller.exportAuditData(req);
+        controller.exportAuditData(req, resp);
 
-        String csv = new String(resp.getBody(), StandardCharsets.UTF_8);
-        // Null data field renders as empty quoted field
+        String csv = resp.getContentAsString(StandardCharsets.UTF_8);
+        // Null data field renders as empty field
         assertThat(csv).contains("\"USER_LOGIN\"");
+        assertThat(csv).endsWith(",\n");
         assertThat(csv).contains("admin");
-        verify(auditRepository).findAll();
     }
 }
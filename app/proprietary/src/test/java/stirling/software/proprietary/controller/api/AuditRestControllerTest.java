@@ -4,34 +4,46 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import stirling.software.proprietary.controller.api.AuditRestController.AuditChartsData;
 import stirling.software.proprietary.controller.api.AuditRestController.AuditEventsResponse;
 import stirling.software.proprietary.controller.api.AuditRestController.AuditStatsData;
 import stirling.software.proprietary.model.security.PersistentAuditEvent;
 import stirling.software.proprietary.repository.PersistentAuditEventRepository;
+import stirling.software.proprietary.service.AuditExportService;
+import stirling.software.proprietary.service.AuditRollupService;
+import stirling.software.proprietary.service.AuditRollupService.Totals;
 
 import tools.jackson.databind.ObjectMapper;
 import tools.jackson.databind.json.JsonMapper;
@@ -40,14 +52,25 @@ import tools.jackson.databind.json.JsonMapper;
 class AuditRestControllerTest {
 
     @Mock private PersistentAuditEventRepository auditRepository;
+    @Mock private AuditRollupService auditRollupService;
 
     private ObjectMapper objectMapper;
+    private AuditExportService auditExportService;
     private AuditRestController controller;
 
     @BeforeEach
     void setUp() {
         objectMapper = JsonMapper.builder().build();
-        controller = new AuditRestController(auditRepository, objectMapper);
+        auditExportService = spy(new AuditExportService(auditRepository, objectMapper));
+        controller =
+                new AuditRestController(
+                        auditRepository, objectMapper, auditExportService, auditRollupService);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubExport(PersistentAuditEvent... events) {
+        when(auditRepository.findBy(any(Specification.class), any()))
+                .thenReturn(List.of(events));
     }
 
     private PersistentAuditEvent event(long id, String principal, String type, String data) {
@@ -271,28 +294,28 @@ class AuditRestControllerTest {
     class GetAuditCharts {
 
         @Test
-        @DisplayName("groups events by type, user and day")
+        @DisplayName("charts the rollup counts by type, user and day")
         void buildsChartData() {
-            when(auditRepository.findByTimestampAfter(any(Instant.class)))
-                    .thenReturn(
-                            List.of(
-                                    event(1L, "admin", "USER_LOGIN", null),
-                                    event(2L, "admin", "USER_LOGIN", null),
-                                    event(3L, "bob", "PDF_PROCESS", null)));
+            when(auditRollupService.countsByType(any(Instant.class), isNull()))
+                    .thenReturn(Map.of("USER_LOGIN", 2L, "PDF_PROCESS", 1L));
+            when(auditRollupService.countsByPrincipal(any(Instant.class), isNull()))
+                    .thenReturn(Map.of("admin", 2L, "bob", 1L));
+            when(auditRollupService.countsByDay(any(Instant.class), isNull()))
+                    .thenReturn(Map.of("2025-01-02", 1L, "2025-01-01", 2L));
 
             ResponseEntity<AuditChartsData> resp = controller.getAuditCharts("week");
 
             AuditChartsData data = resp.getBody();
             assertThat(data.getEventsByType().getLabels()).contains("USER_LOGIN", "PDF_PROCESS");
             assertThat(data.getEventsByUser().getLabels()).contains("admin", "bob");
-            assertThat(data.getEventsOverTime().getLabels()).contains("2025-01-01");
+            assertThat(data.getEventsOverTime().getLabels())
+                    .containsExactly("2025-01-01", "2025-01-02");
+            assertThat(data.getEventsOverTime().getValues()).containsExactly(2, 1);
         }
 
         @Test
         @DisplayName("day and month periods resolve without error")
         void dayAndMonthPeriods() {
-            when(auditRepository.findByTimestampAfter(any(Instant.class))).thenReturn(List.of());
-
             assertThat(controller.getAuditCharts("day").getStatusCode()).isEqualTo(HttpStatus.OK);
             assertThat(controller.getAuditCharts("month").getStatusCode()).isEqualTo(HttpStatus.OK);
             assertThat(controller.getAuditCharts("unknown").getStatusCode())
@@ -332,28 +355,24 @@ class AuditRestControllerTest {
     @DisplayName("getAuditStats metric computation")
     class GetAuditStats {
 
+        private final Totals none = new Totals(0, 0, 0, 0, 0, 0, 0);
+
         @Test
         @DisplayName("computes success rate, latency, error count and top items")
         void computesMetrics() {
-            List<PersistentAuditEvent> current =
-                    List.of(
-                            event(
-                                    1L,
-                                    "admin",
-                                    "PDF_PROCESS",
-                                    "{\"status\":\"success\",\"latencyMs\":100,\"path\":\"/api/v1/merge\"}"),
-                            event(
-                                    2L,
-                                    "admin",
-                                    "PDF_PROCESS",
-                                    "{\"status\":\"failure\",\"latencyMs\":200,\"path\":\"/api/v1/merge\"}"),
-                            event(3L, "bob", "USER_LOGIN", "{\"statusCode\":500}"));
-            when(auditRepository.findByTimestampAfter(any(Instant.class))).thenReturn(current);
-            when(auditRepository.findAllByTimestampBetweenForExport(
-                            any(Instant.class), any(Instant.class)))
-                    .thenReturn(List.of());
-            when(auditRepository.histogramByHourBetween(any(Instant.class), any(Instant.class)))
-                    .thenReturn(List.<Object[]>of(new Object[] {10, 2L}));
+            // 1 success, 1 failure; 2 errors; latencies 100 and 200; 2 principals
+            when(auditRollupService.totals(any(Instant.class), isNull()))
+                    .thenReturn(new Totals(3, 1, 1, 2, 300, 2, 2));
+            when(auditRollupService.totals(any(Instant.class), any(Instant.class)))
+                    .thenReturn(none);
+            when(auditRollupService.countsByType(any(Instant.class), isNull()))
+                    .thenReturn(Map.of("PDF_PROCESS", 2L, "USER_LOGIN", 1L));
+            when(auditRollupService.countsByPrincipal(any(Instant.class), isNull()))
+                    .thenReturn(Map.of("admin", 2L, "bob", 1L));
+            when(auditRollupService.countsByEndpoint(any(Instant.class), isNull()))
+                    .thenReturn(Map.of("/api/v1/general/merge", 2L, "/api/v1/misc/merge", 1L));
+            when(auditRollupService.countsByHourOfDay(any(Instant.class), isNull()))
+                    .thenReturn(Map.of("00", 0L, "10", 2L));
 
             ResponseEntity<AuditStatsData> resp = controller.getAuditStats("week");
 
@@ -363,75 +382,42 @@ class AuditRestControllerTest {
             // 1 success out of 2 with explicit outcome
             assertThat(data.getSuccessRate()).isEqualTo(50.0);
             assertThat(data.getAvgLatencyMs()).isEqualTo(150.0);
-            // 1 explicit failure + 1 statusCode>=400
             assertThat(data.getErrorCount()).isEqualTo(2);
             assertThat(data.getTopEventType()).isEqualTo("PDF_PROCESS");
             assertThat(data.getTopUser()).isEqualTo("admin");
-            assertThat(data.getTopTools()).containsKey("merge");
+            // Tools are the last path segment, summed across endpoints
+            assertThat(data.getTopTools()).containsExactly(Map.entry("merge", 3L));
             assertThat(data.getHourlyDistribution()).containsEntry("10", 2L);
-            assertThat(data.getHourlyDistribution()).containsEntry("00", 0L);
+            assertThat(data.getPrevTotalEvents()).isZero();
         }
 
         @Test
-        @DisplayName("string latency and statusCode values are parsed safely")
-        void stringNumericValues() {
-            when(auditRepository.findByTimestampAfter(any(Instant.class)))
-                    .thenReturn(
-                            List.of(
-                                    event(
-                                            1L,
-                                            "admin",
-                                            "PDF_PROCESS",
-                                            "{\"latencyMs\":\"300\",\"statusCode\":\"404\"}")));
-            when(auditRepository.findAllByTimestampBetweenForExport(
-                            any(Instant.class), any(Instant.class)))
-                    .thenReturn(List.of());
-            when(auditRepository.histogramByHourBetween(any(Instant.class), any(Instant.class)))
-                    .thenReturn(List.of());
-
-            ResponseEntity<AuditStatsData> resp = controller.getAuditStats("month");
-
-            assertThat(resp.getBody().getAvgLatencyMs()).isEqualTo(300.0);
-            assertThat(resp.getBody().getErrorCount()).isEqualTo(1);
+        @DisplayName("previous period ends where the current one starts")
+        void previousPeriodIsAdjacent() {
+            when(auditRollupService.totals(any(Instant.class), any())).thenReturn(none);
+
+            controller.getAuditStats("day");
+
+            ArgumentCaptor<Instant> starts = ArgumentCaptor.forClass(Instant.class);
+            ArgumentCaptor<Instant> ends = ArgumentCaptor.forClass(Instant.class);
+            verify(auditRollupService, times(2)).totals(starts.capture(), ends.capture());
+            assertThat(ends.getAllValues().get(0)).isNull();
+            assertThat(ends.getAllValues().get(1)).isEqualTo(starts.getAllValues().get(0));
+            assertThat(starts.getAllValues().get(1))
+                    .isEqualTo(starts.getAllValues().get(0).minus(Duration.ofDays(1)));
         }
 
         @Test
-        @DisplayName("legacy outcome key counts toward success rate")
-        void legacyOutcomeKey() {
-            when(auditRepository.findByTimestampAfter(any(Instant.class)))
-                    .thenReturn(
-                            List.of(
-                                    event(
-                                            1L,
-                                            "admin",
-                                            "PDF_PROCESS",
-                                            "{\"outcome\":\"success\"}")));
-            when(auditRepository.findAllByTimestampBetweenForExport(
-                            any(Instant.class), any(Instant.class)))
-                    .thenReturn(List.of());
-            when(auditRepository.histogramByHourBetween(any(Instant.class), any(Instant.class)))
-                    .thenReturn(List.of());
-
-            ResponseEntity<AuditStatsData> resp = controller.getAuditStats("day");
-
-            assertThat(resp.getBody().getSuccessRate()).isEqualTo(100.0);
-        }
-
-        @Test
-        @DisplayName("empty period yields default metrics")
+        @DisplayName("empty period yields default metrics without further queries")
         void emptyMetrics() {
-            when(auditRepository.findByTimestampAfter(any(Instant.class))).thenReturn(List.of());
-            when(auditRepository.findAllByTimestampBetweenForExport(
-                            any(Instant.class), any(Instant.class)))
-                    .thenReturn(List.of());
-            when(auditRepository.histogramByHourBetween(any(Instant.class), any(Instant.class)))
-                    .thenReturn(List.of());
+            when(auditRollupService.totals(any(Instant.class), any())).thenReturn(none);
 
             ResponseEntity<AuditStatsData> resp = controller.getAuditStats("week");
 
             assertThat(resp.getBody().getTotalEvents()).isZero();
             assertThat(resp.getBody().getSuccessRate()).isZero();
-            assertThat(resp.getBody().getHourlyDistribution()).hasSize(24);
+            assertThat(resp.getBody().getTopTools()).isNull();
+            verify(auditRollupService, never()).countsByEndpoint(any(), any());
         }
     }
 
@@ -441,81 +427,90 @@ class AuditRestControllerTest {
 
         @Test
         @DisplayName("default CSV (no fields) uses technical header")
-        void defaultCsv() {
-            when(auditRepository.findAll())
-                    .thenReturn(List.of(event(1L, "admin", "USER_LOGIN", "{\"a\":1}")));
+        void defaultCsv() throws Exception {
+            stubExport(event(1L, "admin", "USER_LOGIN", "{\"a\":1}"));
+            MockHttpServletResponse resp = new MockHttpServletResponse();
 
-            ResponseEntity<byte[]> resp =
-                    controller.exportAuditData("csv", null, null, null, null, null);
+            controller.exportAuditData("csv", null, null, null, null, null, resp);
 
-            String csv = new String(resp.getBody(), StandardCharsets.UTF_8);
+            String csv = resp.getContentAsString(StandardCharsets.UTF_8);
             assertThat(csv).startsWith("ID,Principal,Type,Timestamp,Data");
-            assertThat(resp.getHeaders().getContentDisposition().getFilename())
-                    .isEqualTo("audit_export.csv");
+            assertThat(csv).contains("\"admin\"");
+            assertThat(resp.getHeader(HttpHeaders.CONTENT_DISPOSITION))
+                    .contains("filename=\"audit_export.csv\"");
         }
 
         @Test
         @DisplayName("field-selected CSV builds custom header and extracts nested data")
-        void fieldSelectedCsv() {
+        void fieldSelectedCsv() throws Exception {
             String data =
                     "{\"path\":\"/api/v1/merge\",\"outcome\":\"success\","
                             + "\"clientIp\":\"1.2.3.4\",\"result\":\"ok\","
                             + "\"files\":[{\"name\":\"a.pdf\",\"pdfAuthor\":\"jo\",\"fileHash\":\"abc\"}]}";
-            when(auditRepository.findAll())
-                    .thenReturn(List.of(event(1L, "admin", "USER_LOGIN", data)));
-
-            ResponseEntity<byte[]> resp =
-                    controller.exportAuditData(
-                            "csv",
-                            "date,username,ipaddress,tool,documentname,outcome,author,filehash,operationresults,eventtype",
-                            null,
-                            null,
-                            null,
-                            null);
-
-            String csv = new String(resp.getBody(), StandardCharsets.UTF_8);
+            stubExport(event(1L, "admin", "USER_LOGIN", data));
+            MockHttpServletResponse resp = new MockHttpServletResponse();
+
+            controller.exportAuditData(
+                    "csv",
+                    "date,username,ipaddress,tool,documentname,outcome,author,filehash,operationresults,eventtype",
+                    null,
+                    null,
+                    null,
+                    null,
+                    resp);
+
+            String csv = resp.getContentAsString(StandardCharsets.UTF_8);
             assertThat(csv).contains("Date,Username,IP Address,Tool,Document Name");
             assertThat(csv).contains("merge");
             assertThat(csv).contains("a.pdf");
             assertThat(csv).contains("jo");
             assertThat(csv).contains("abc");
             assertThat(csv).contains("1.2.3.4");
-            assertThat(resp.getHeaders().getContentDisposition().getFilename())
-                    .startsWith("audit_export_");
+            assertThat(resp.getHeader(HttpHeaders.CONTENT_DISPOSITION))
+                    .contains("filename=\"audit_export_");
         }
 
         @Test
-        @DisplayName("json format returns json bytes")
-        void jsonExport() {
-            when(auditRepository.findAll())
-                    .thenReturn(List.of(event(1L, "admin", "USER_LOGIN", null)));
+        @DisplayName("json format writes a json array")
+        void jsonExport() throws Exception {
+            stubExport(event(1L, "admin", "USER_LOGIN", null), event(2L, "bob", "X", null));
+            MockHttpServletResponse resp = new MockHttpServletResponse();
 
-            ResponseEntity<byte[]> resp =
-                    controller.exportAuditData("json", null, null, null, null, null);
+            controller.exportAuditData("json", null, null, null, null, null, resp);
 
-            String json = new String(resp.getBody(), StandardCharsets.UTF_8);
+            String json = resp.getContentAsString(StandardCharsets.UTF_8);
+            assertThat(objectMapper.readTree(json).size()).isEqualTo(2);
             assertThat(json).contains("\"principal\":\"admin\"");
-            assertThat(resp.getHeaders().getContentDisposition().getFilename())
-                    .isEqualTo("audit_export.json");
+            assertThat(resp.getHeader(HttpHeaders.CONTENT_DISPOSITION))
+                    .contains("filename=\"audit_export.json\"");
         }
 
         @Test
-        @DisplayName("type-only export routes to findByTypeInForExport")
-        void typeOnlyExport() {
-            when(auditRepository.findByTypeInForExport(anyList())).thenReturn(List.of());
-
-            controller.exportAuditData("csv", null, new String[] {"USER_LOGIN"}, null, null, null);
+        @DisplayName("type-only export filters by type alone")
+        void typeOnlyExport() throws Exception {
+            stubExport();
 
-            verify(auditRepository).findByTypeInForExport(eq(List.of("USER_LOGIN")));
-            verify(auditRepository, never()).findAll();
+            controller.exportAuditData(
+                    "csv",
+                    null,
+                    new String[] {"USER_LOGIN"},
+                    null,
+                    null,
+                    null,
+                    new MockHttpServletResponse());
+
+            verify(auditExportService)
+                    .writeCsv(
+                            eq(
+                                    new AuditExportService.Filter(
+                                            List.of("USER_LOGIN"), null, null, null, null)),
+                            any());
         }
 
         @Test
-        @DisplayName("all-filter export routes to combined export query")
-        void allFilterExport() {
-            when(auditRepository.findByTypeInAndPrincipalInAndTimestampBetweenForExport(
-                            anyList(), anyList(), any(Instant.class), any(Instant.class)))
-                    .thenReturn(List.of());
+        @DisplayName("all-filter export combines every filter")
+        void allFilterExport() throws Exception {
+            stubExport();
 
             controller.exportAuditData(
                     "csv",
@@ -523,11 +518,15 @@ class AuditRestControllerTest {
                     new String[] {"USER_LOGIN"},
                     new String[] {"admin"},
                     LocalDate.of(2025, 1, 1),
-                    LocalDate.of(2025, 1, 31));
-
-            verify(auditRepository)
-                    .findByTypeInAndPrincipalInAndTimestampBetweenForExport(
-                            anyList(), anyList(), any(Instant.class), any(Instant.class));
+                    LocalDate.of(2025, 1, 31),
+                    new MockHttpServletResponse());
+
+            ArgumentCaptor<AuditExportService.Filter> filter =
+                    ArgumentCaptor.forClass(AuditExportService.Filter.class);
+            verify(auditExportService).writeCsv(filter.capture(), any());
+            assertThat(filter.getValue().types()).containsExactly("USER_LOGIN");
+            assertThat(filter.getValue().principals()).containsExactly("admin");
+            assertThat(filter.getValue().start()).isBefore(filter.getValue().end());
         }
     }
 
@@ -542,6 +541,7 @@ class AuditRestControllerTest {
 
             assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
             verify(auditRepository).deleteAll();
+            verify(auditRollupService).deleteAll();
         }
 
         @Test
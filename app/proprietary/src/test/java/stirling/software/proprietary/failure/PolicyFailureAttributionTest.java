@@ -41,6 +41,7 @@ import stirling.software.proprietary.policy.asset.PolicyAssetResolver;
 import stirling.software.proprietary.policy.config.PolicyManagementAuthority;
 import stirling.software.proprietary.policy.engine.PolicyEngine;
 import stirling.software.proprietary.policy.engine.PolicyExecutor;
+import stirling.software.proprietary.policy.engine.PolicyRunLimiter;
 import stirling.software.proprietary.policy.engine.PolicyRunRegistry;
 import stirling.software.proprietary.policy.model.OutputSpec;
 import stirling.software.proprietary.policy.model.PipelineStep;
@@ -127,7 +128,8 @@ class PolicyFailureAttributionTest {
                         new PolicyOutputResolver(new InProcessSourceStore()),
                         resourceMonitor,
                         jobQueue,
-                        new PolicyAssetResolver(new InProcessPolicyAssetStore()));
+                        new PolicyAssetResolver(new InProcessPolicyAssetStore()),
+                        new PolicyRunLimiter(new ApplicationProperties(), toolMetadataService));
 
         lenient()
                 .when(jobOwnershipService.createScopedJobKey(anyString()))
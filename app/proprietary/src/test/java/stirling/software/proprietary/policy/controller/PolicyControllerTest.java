@@ -46,6 +46,7 @@ import stirling.software.proprietary.policy.engine.PolicyRunRegistry;
 import stirling.software.proprietary.policy.engine.PolicyRunner;
 import stirling.software.proprietary.policy.engine.PolicyValidator;
 import stirling.software.proprietary.policy.engine.SweepOutcome;
+import stirling.software.proprietary.policy.ledger.ListingWatermarks;
 import stirling.software.proprietary.policy.ledger.ProcessedLedger;
 import stirling.software.proprietary.policy.model.OutputSpec;
 import stirling.software.proprietary.policy.model.PipelineDefinition;
@@ -86,6 +87,7 @@ class PolicyControllerTest {
     @Mock private stirling.software.proprietary.policy.asset.PolicyAssetResolver assetResolver;
 
     @Mock private ProcessedLedger processedLedger;
+    @Mock private ListingWatermarks listingWatermarks;
 
     @Mock private TempFileManager tempFileManager;
     @Mock private JobOwnershipService jobOwnershipService;
@@ -119,6 +121,7 @@ class PolicyControllerTest {
                         assetCleaner,
                         assetResolver,
                         processedLedger,
+                        listingWatermarks,
                         policyTriggers,
                         applicationProperties,
                         tempFileManager,
@@ -615,6 +618,7 @@ class PolicyControllerTest {
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
             verify(processedLedger).clearPolicy("a");
+            verify(listingWatermarks).clearPolicy("a");
             verify(assetCleaner).cleanupAfterDelete(p);
             verify(policyTriggerManager).notifyPoliciesChanged();
         }
@@ -665,6 +669,7 @@ class PolicyControllerTest {
 
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
             verify(processedLedger).clearPolicy("a");
+            verify(listingWatermarks).clearPolicy("a");
         }
 
         @Test
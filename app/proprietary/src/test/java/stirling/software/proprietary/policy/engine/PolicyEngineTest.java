@@ -43,6 +43,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
 
+import stirling.software.common.enumeration.JobPriority;
 import stirling.software.common.model.ApplicationProperties;
 import stirling.software.common.model.job.ResultFile;
 import stirling.software.common.service.FileStorage;
@@ -128,7 +129,8 @@ class PolicyEngineTest {
                         outputResolver,
                         resourceMonitor,
                         jobQueue,
-                        new PolicyAssetResolver(new InProcessPolicyAssetStore()));
+                        new PolicyAssetResolver(new InProcessPolicyAssetStore()),
+                        new PolicyRunLimiter(new ApplicationProperties(), toolMetadataService));
 
         // Identity scoping: the run id is the generated UUID unchanged. Lenient because the
         // resume/cancel tests do not submit a run.
@@ -365,7 +367,9 @@ class PolicyEngineTest {
         when(resourceMonitor.shouldQueueJob(anyInt())).thenReturn(true);
         CompletableFuture<Object> rejected = new CompletableFuture<>();
         rejected.completeExceptionally(new RuntimeException("Job queue full"));
-        doReturn(rejected).when(jobQueue).queueJob(anyString(), anyInt(), any(), anyLong());
+        doReturn(rejected)
+                .when(jobQueue)
+                .queueJob(anyString(), anyInt(), any(), anyLong(), any(), any());
 
         MDC.put("auditPrincipal", "bob");
         try {
@@ -575,7 +579,7 @@ class PolicyEngineTest {
         // start the run) is never executed by this mock, so it stays PENDING.
         doReturn(CompletableFuture.completedFuture(null))
                 .when(jobQueue)
-                .queueJob(anyString(), anyInt(), any(), anyLong());
+                .queueJob(anyString(), anyInt(), any(), anyLong(), any(), any());
 
         PolicyRunHandle handle =
                 engine.submit(
@@ -583,7 +587,14 @@ class PolicyEngineTest {
                         PolicyInputs.of(List.of(pdf("input", "input.pdf"))),
                         PolicyProgressListener.NOOP);
 
-        verify(jobQueue).queueJob(eq(handle.runId()), anyInt(), any(), anyLong());
+        verify(jobQueue)
+                .queueJob(
+                        eq(handle.runId()),
+                        anyInt(),
+                        any(),
+                        anyLong(),
+                        any(),
+                        eq(JobPriority.BATCH));
         assertEquals(PolicyRunStatus.PENDING, registry.get(handle.runId()).getStatus());
     }
 
@@ -594,7 +605,9 @@ class PolicyEngineTest {
         CompletableFuture<Object> rejected = new CompletableFuture<>();
         rejected.completeExceptionally(
                 new RuntimeException("Job queue full, please try again later"));
-        doReturn(rejected).when(jobQueue).queueJob(anyString(), anyInt(), any(), anyLong());
+        doReturn(rejected)
+                .when(jobQueue)
+                .queueJob(anyString(), anyInt(), any(), anyLong(), any(), any());
 
         PolicyRunHandle handle =
                 engine.submit(
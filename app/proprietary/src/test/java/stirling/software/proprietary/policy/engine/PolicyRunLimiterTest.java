@@ -0,0 +1,147 @@
+package stirling.software.proprietary.policy.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import stirling.software.common.enumeration.ResourceWeight;
+import stirling.software.common.model.ApplicationProperties;
+import stirling.software.common.service.ToolMetadataService;
+import stirling.software.proprietary.policy.model.PipelineDefinition;
+import stirling.software.proprietary.policy.model.PipelineStep;
+
+/**
+ * Tests for {@link PolicyRunLimiter}: per-policy and weighted global limits hold runs back until
+ * earlier ones complete, lanes take turns, a heavy run is not overtaken, and a full lane blocks the
+ * sweep feeding it.
+ */
+class PolicyRunLimiterTest {
+
+    private static final int MEDIUM = ResourceWeight.MEDIUM_WEIGHT;
+
+    private final ToolMetadataService tools = mock(ToolMetadataService.class);
+    private final List<String> started = new ArrayList<>();
+    private final Map<String, CompletableFuture<Void>> completions = new ConcurrentHashMap<>();
+
+    private PolicyRunLimiter limiter(int maxRuns, int perPolicy, int maxQueued) {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getPolicies().setMaxConcurrentRuns(maxRuns);
+        properties.getPolicies().setMaxConcurrentRunsPerPolicy(perPolicy);
+        properties.getPolicies().setMaxQueuedRunsPerPolicy(maxQueued);
+        return new PolicyRunLimiter(properties, tools);
+    }
+
+    private void submit(PolicyRunLimiter limiter, String lane, String run, int weight) {
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        completions.put(run, completion);
+        limiter.submit(
+                lane,
+                weight,
+                () -> {
+                    synchronized (started) {
+                        started.add(run);
+                    }
+                },
+                completion);
+    }
+
+    private void finish(String run) {
+        completions.get(run).complete(null);
+    }
+
+    @Test
+    void aPolicyRunsNoMoreThanItsLimitAtOnce() {
+        PolicyRunLimiter limiter = limiter(16, 2, 100);
+        submit(limiter, "a", "a1", MEDIUM);
+        submit(limiter, "a", "a2", MEDIUM);
+        submit(limiter, "a", "a3", MEDIUM);
+
+        assertEquals(List.of("a1", "a2"), started);
+        assertEquals(2, limiter.inFlight("a"));
+        assertEquals(1, limiter.queued("a"));
+
+        finish("a1");
+
+        assertEquals(List.of("a1", "a2", "a3"), started);
+        assertEquals(0, limiter.queued("a"));
+    }
+
+    @Test
+    void lanesTakeTurnsForFreedCapacity() {
+        PolicyRunLimiter limiter = limiter(1, 10, 100);
+        submit(limiter, "a", "a1", MEDIUM);
+        submit(limiter, "a", "a2", MEDIUM);
+        submit(limiter, "a", "a3", MEDIUM);
+        submit(limiter, "b", "b1", MEDIUM);
+
+        finish("a1");
+        finish("a2");
+        finish("b1");
+
+        // b's only run goes ahead of a's backlog instead of waiting behind all of it
+        assertEquals(List.of("a1", "a2", "b1", "a3"), started);
+    }
+
+    @Test
+    void aHeavyRunIsNotOvertakenByLighterOnes() {
+        PolicyRunLimiter limiter = limiter(2, 10, 100);
+        submit(limiter, "a", "a1", MEDIUM);
+        submit(limiter, "b", "b1", ResourceWeight.XLARGE_WEIGHT);
+        submit(limiter, "c", "c1", ResourceWeight.SMALL_WEIGHT);
+
+        assertEquals(List.of("a1"), started);
+
+        // The heavy run exceeds the whole budget, so it runs alone once the engine is idle
+        finish("a1");
+        assertEquals(List.of("a1", "b1"), started);
+
+        finish("b1");
+        assertEquals(List.of("a1", "b1", "c1"), started);
+    }
+
+    @Test
+    void aFullLaneHasNoQueueSpaceUntilRunsStart() {
+        PolicyRunLimiter limiter = limiter(16, 1, 1);
+        submit(limiter, "a", "a1", MEDIUM);
+        submit(limiter, "a", "a2", MEDIUM);
+
+        assertFalse(limiter.hasQueueSpace("a"));
+        // Another policy's lane is unaffected
+        assertTrue(limiter.hasQueueSpace("b"));
+
+        finish("a1");
+
+        assertTrue(limiter.hasQueueSpace("a"));
+        assertEquals(List.of("a1", "a2"), started);
+    }
+
+    @Test
+    void aRunWeighsAsMuchAsItsHeaviestStep() {
+        when(tools.resourceWeight("/rotate")).thenReturn(ResourceWeight.SMALL_WEIGHT);
+        when(tools.resourceWeight("/ocr")).thenReturn(ResourceWeight.XLARGE_WEIGHT);
+        PolicyRunLimiter limiter = limiter(16, 4, 100);
+
+        PipelineDefinition chain =
+                new PipelineDefinition(
+                        "chain",
+                        List.of(
+                                new PipelineStep("/rotate", Map.of()),
+                                new PipelineStep("/ocr", Map.of())),
+                        List.of());
+
+        assertEquals(ResourceWeight.XLARGE_WEIGHT, limiter.weightOf(chain));
+        assertEquals(
+                ResourceWeight.SMALL_WEIGHT,
+                limiter.weightOf(new PipelineDefinition("empty", List.of(), List.of())));
+    }
+}
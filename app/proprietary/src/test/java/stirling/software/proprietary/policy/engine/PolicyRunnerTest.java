@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -15,15 +16,18 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -57,7 +61,9 @@ import stirling.software.proprietary.policy.source.SourceStore;
 class PolicyRunnerTest {
 
     @Mock private PolicyEngine policyEngine;
-    @Mock private InputSource folderSource;
+    // Real default methods, so the runner's streaming resolve reaches the stubbed list form.
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
+    private InputSource folderSource;
     @Mock private ProcessedLedger processedLedger;
 
     private final SourceStore sourceStore = new InProcessSourceStore();
@@ -127,6 +133,40 @@ class PolicyRunnerTest {
         assertEquals(0, outcome.inFlight());
     }
 
+    @Test
+    void aFullRunQueueLeavesFilesForTheNextSweepInsteadOfBlocking() throws Exception {
+        InProcessProcessedLedger ledger = new InProcessProcessedLedger();
+        PolicyRunner deferring =
+                new PolicyRunner(
+                        policyEngine,
+                        List.of(folderSource),
+                        sourceStore,
+                        new InProcessSourceDocCounter(),
+                        ledger);
+        InputSpec spec = InputSpec.folder("/in");
+        Policy policy = policy(List.of(spec));
+        List<Boolean> claims = new ArrayList<>();
+        List<Boolean> deferred = new ArrayList<>();
+        when(folderSource.supports(spec)).thenReturn(true);
+        when(folderSource.resolve(eq(spec), any()))
+                .thenAnswer(
+                        invocation -> {
+                            ResolveContext ctx = invocation.getArgument(1);
+                            ctx.reportPresent(List.of("/in/a.pdf"));
+                            claims.add(ctx.claim("/in/a.pdf", "g1", null));
+                            deferred.add(ctx.deferredClaims());
+                            return List.of();
+                        });
+        when(policyEngine.hasQueueSpace("p1")).thenReturn(false, true);
+
+        SweepOutcome full = deferring.run(policy);
+        deferring.run(policy);
+
+        assertTrue(full.runIds().isEmpty());
+        assertEquals(List.of(false, true), claims);
+        assertEquals(List.of(true, false), deferred);
+    }
+
     @Test
     void pullsEverySourceAndRunsOnePerUnitOfWork() throws Exception {
         InputSpec spec = InputSpec.folder("/in");
@@ -254,6 +294,29 @@ class PolicyRunnerTest {
         verify(processedLedger, never()).deleteUnseen(any(), anyLong()); // history preserved
     }
 
+    @Test
+    void runsHandedOverBeforeAListingFailureKeepRunningButCleanupIsVetoed() throws Exception {
+        InputSpec spec = InputSpec.folder("/in");
+        Policy policy = policy(List.of(spec));
+        when(folderSource.supports(spec)).thenReturn(true);
+        when(folderSource.listsExhaustively()).thenReturn(true);
+        doAnswer(
+                        invocation -> {
+                            Consumer<ResolvedInput> sink = invocation.getArgument(2);
+                            sink.accept(ResolvedInput.of(PolicyInputs.of(List.of())));
+                            throw new IOException("listing cut off");
+                        })
+                .when(folderSource)
+                .resolve(eq(spec), any(), any());
+        when(policyEngine.runPolicy(any(), any(), any(), any(), any()))
+                .thenReturn(new PolicyRunHandle("r", new CompletableFuture<>()));
+
+        SweepOutcome outcome = runner.run(policy);
+
+        assertEquals(List.of("r"), outcome.runIds());
+        verify(processedLedger, never()).deleteUnseen(any(), anyLong());
+    }
+
     @Test
     void aDisabledSourceVetoesCleanup() {
         InputSpec spec = InputSpec.folder("/in");
@@ -20,6 +20,7 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import stirling.software.common.model.ApplicationProperties;
+import stirling.software.proprietary.policy.ledger.InProcessListingWatermarks;
 import stirling.software.proprietary.policy.ledger.InProcessProcessedLedger;
 import stirling.software.proprietary.policy.model.InputSpec;
 import stirling.software.proprietary.policy.s3.S3ConnectionPool;
@@ -85,7 +86,9 @@ class S3InputSourceMinioTest {
         properties.getPolicies().setAllowPrivateS3Endpoints(true);
         source =
                 new S3InputSource(
-                        new S3ConnectionPool(properties), S3TestConnections.legacyResolver());
+                        new S3ConnectionPool(properties),
+                        S3TestConnections.legacyResolver(),
+                        new InProcessListingWatermarks());
         ledger = new InProcessProcessedLedger();
         ctx = new RecordingContext();
     }
@@ -166,7 +169,8 @@ class S3InputSourceMinioTest {
         S3InputSource guarded =
                 new S3InputSource(
                         new S3ConnectionPool(new ApplicationProperties()),
-                        S3TestConnections.legacyResolver());
+                        S3TestConnections.legacyResolver(),
+                        new InProcessListingWatermarks());
 
         assertThatThrownBy(() -> guarded.validate(spec(Map.of())))
                 .isInstanceOf(IllegalArgumentException.class)
@@ -1,16 +1,20 @@
 package stirling.software.proprietary.policy.input;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -22,11 +26,14 @@ import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import stirling.software.common.model.ApplicationProperties;
+import stirling.software.proprietary.policy.ledger.InProcessListingWatermarks;
 import stirling.software.proprietary.policy.ledger.InProcessProcessedLedger;
+import stirling.software.proprietary.policy.ledger.ListingWatermark;
 import stirling.software.proprietary.policy.model.InputSpec;
 import stirling.software.proprietary.policy.s3.S3ConnectionPool;
 import stirling.software.proprietary.policy.s3.S3TestConnections;
@@ -46,8 +53,9 @@ import software.amazon.awssdk.services.s3.model.S3Object;
 
 /**
  * Tests for {@link S3InputSource}: consume mode tracks objects in place through the ledger and
- * removes them by consensus, snapshot stays stateless, and discovery skips folder placeholders and
- * dot-prefixed keys.
+ * removes them by consensus, snapshot stays stateless, discovery skips folder placeholders and
+ * dot-prefixed keys, listing pages are dispatched as they arrive, and incremental listing resumes
+ * after the policy's watermark.
  */
 @ExtendWith(MockitoExtension.class)
 class S3InputSourceTest {
@@ -59,14 +67,17 @@ class S3InputSourceTest {
 
     private S3InputSource source;
     private InProcessProcessedLedger ledger;
+    private InProcessListingWatermarks watermarks;
     private RecordingContext ctx;
 
     @BeforeEach
     void setUp() {
+        watermarks = new InProcessListingWatermarks();
         source =
                 new S3InputSource(
                         new S3ConnectionPool(new ApplicationProperties(), config -> s3Client),
-                        S3TestConnections.legacyResolver());
+                        S3TestConnections.legacyResolver(),
+                        watermarks);
         ledger = new InProcessProcessedLedger();
         ctx = new RecordingContext();
     }
@@ -181,6 +192,71 @@ class S3InputSourceTest {
         assertEquals(2, source.resolve(spec(), ctx).size());
     }
 
+    @Test
+    void eachPageIsDispatchedBeforeTheNextIsListed() {
+        ListObjectsV2Response firstPage =
+                ListObjectsV2Response.builder()
+                        .contents(object("a.pdf", "\"etag-a\""))
+                        .nextContinuationToken("next")
+                        .build();
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
+                .thenReturn(firstPage)
+                .thenThrow(SdkClientException.create("connection reset"));
+        List<ResolvedInput> dispatched = new ArrayList<>();
+
+        assertThrows(
+                SdkClientException.class, () -> source.resolve(spec(), ctx, dispatched::add));
+
+        // The first page's object was claimed and handed over before the listing failed.
+        assertEquals(1, dispatched.size());
+        assertEquals("s3://" + BUCKET + "/a.pdf", dispatched.get(0).fileIdentity());
+    }
+
+    @Test
+    void incrementalListingResumesAfterTheWatermark() throws IOException {
+        InputSpec spec = new InputSpec("s3", options(Map.of("listing", "incremental")));
+        listingReturns(object("a.pdf", "\"etag-a\""), object("b.pdf", "\"etag-b\""));
+        assertEquals(2, source.resolve(spec, ctx).size());
+        assertFalse(ctx.partialListing);
+        String scope = "s3://" + BUCKET + "/";
+        assertEquals("b.pdf", watermarks.get(POLICY, scope).orElseThrow().lastKey());
+
+        listingReturns(object("c.pdf", "\"etag-c\""));
+        assertEquals(1, source.resolve(spec, ctx).size());
+
+        ArgumentCaptor<ListObjectsV2Request> requests =
+                ArgumentCaptor.forClass(ListObjectsV2Request.class);
+        verify(s3Client, times(2)).listObjectsV2(requests.capture());
+        assertNull(requests.getAllValues().get(0).startAfter());
+        assertEquals("b.pdf", requests.getAllValues().get(1).startAfter());
+        // Only part of the prefix was seen, so presence cleanup must not run this sweep.
+        assertTrue(ctx.partialListing);
+        assertEquals("c.pdf", watermarks.get(POLICY, scope).orElseThrow().lastKey());
+    }
+
+    @Test
+    void aStaleWatermarkFallsBackToAFullListing() throws IOException {
+        InputSpec spec =
+                new InputSpec(
+                        "s3",
+                        options(Map.of("listing", "incremental", "fullListingHours", "12")));
+        String scope = "s3://" + BUCKET + "/";
+        Instant lastFull = Instant.now().minus(Duration.ofHours(13));
+        watermarks.put(POLICY, scope, new ListingWatermark("b.pdf", null, lastFull));
+        listingReturns(object("a.pdf", "\"etag-a\""));
+
+        assertEquals(1, source.resolve(spec, ctx).size());
+
+        ArgumentCaptor<ListObjectsV2Request> request =
+                ArgumentCaptor.forClass(ListObjectsV2Request.class);
+        verify(s3Client).listObjectsV2(request.capture());
+        assertNull(request.getValue().startAfter());
+        assertFalse(ctx.partialListing);
+        ListingWatermark watermark = watermarks.get(POLICY, scope).orElseThrow();
+        assertEquals("a.pdf", watermark.lastKey());
+        assertTrue(watermark.fullListingAt().isAfter(lastFull));
+    }
+
     @Test
     void aListingFailurePropagatesSoTheSweepVetoesCleanup() {
         when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
@@ -245,6 +321,26 @@ class S3InputSourceTest {
                         source.validate(
                                 new InputSpec(
                                         "s3", options(Map.of("endpoint", "ftp://example.com")))));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> source.validate(new InputSpec("s3", options(Map.of("listing", "newest")))));
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        source.validate(
+                                new InputSpec(
+                                        "s3",
+                                        options(
+                                                Map.of(
+                                                        "listing",
+                                                        "incremental",
+                                                        "mode",
+                                                        "snapshot")))));
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        source.validate(
+                                new InputSpec("s3", options(Map.of("fullListingHours", "0")))));
     }
 
     @Test
@@ -296,6 +392,7 @@ class S3InputSourceTest {
 
         private final String policyId;
         private final List<String> present = new ArrayList<>();
+        private boolean partialListing;
 
         private RecordingContext() {
             this(POLICY);
@@ -325,5 +422,15 @@ class S3InputSourceTest {
         public void reportPresent(Collection<String> identities) {
             present.addAll(identities);
         }
+
+        @Override
+        public String policyId() {
+            return policyId;
+        }
+
+        @Override
+        public void reportPartialListing() {
+            partialListing = true;
+        }
     }
 }
@@ -24,6 +24,7 @@ import stirling.software.common.model.job.ResultFile;
 import stirling.software.proprietary.policy.input.ResolveContext;
 import stirling.software.proprietary.policy.input.ResolvedInput;
 import stirling.software.proprietary.policy.input.S3InputSource;
+import stirling.software.proprietary.policy.ledger.InProcessListingWatermarks;
 import stirling.software.proprietary.policy.ledger.InProcessProcessedLedger;
 import stirling.software.proprietary.policy.model.InputSpec;
 import stirling.software.proprietary.policy.model.OutputSpec;
@@ -92,7 +93,8 @@ class S3OutputSinkMinioTest {
         S3ConnectionPool pool = new S3ConnectionPool(properties);
         ledger = new InProcessProcessedLedger();
         sink = new S3OutputSink(pool, S3TestConnections.legacyResolver(), ledger);
-        source = new S3InputSource(pool, S3TestConnections.legacyResolver());
+        source = new S3InputSource(
+                        pool, S3TestConnections.legacyResolver(), new InProcessListingWatermarks());
     }
 
     @Test
@@ -12,9 +12,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import stirling.software.common.model.ApplicationProperties;
+import stirling.software.common.service.ToolMetadataService;
 import stirling.software.common.service.UserServiceInterface;
 import stirling.software.proprietary.policy.config.PolicyAccessGuard;
 import stirling.software.proprietary.policy.config.PolicyManagementAuthority;
+import stirling.software.proprietary.policy.engine.PolicyRunLimiter;
 import stirling.software.proprietary.policy.model.OutputSpec;
 import stirling.software.proprietary.policy.model.PipelineInput;
 import stirling.software.proprietary.policy.model.PipelineStep;
@@ -48,7 +50,13 @@ class PolicyOverviewServiceTest {
         PolicyManagementAuthority authority = mock(PolicyManagementAuthority.class);
         SourceAccessGuard sourceGuard = new SourceAccessGuard(userService, properties, authority);
         PolicyAccessGuard policyGuard = new PolicyAccessGuard(userService, properties, authority);
-        service = new PolicyOverviewService(policyStore, sourceStore, policyGuard, sourceGuard);
+        service =
+                new PolicyOverviewService(
+                        policyStore,
+                        sourceStore,
+                        policyGuard,
+                        sourceGuard,
+                        new PolicyRunLimiter(properties, mock(ToolMetadataService.class)));
     }
 
     @Test
@@ -170,7 +178,12 @@ class PolicyOverviewServiceTest {
         SourceAccessGuard sourceGuard = new SourceAccessGuard(userService, properties, authority);
         PolicyAccessGuard policyGuard = new PolicyAccessGuard(userService, properties, authority);
         PolicyOverviewService scoped =
-                new PolicyOverviewService(policyStore, sourceStore, policyGuard, sourceGuard);
+                new PolicyOverviewService(
+                        policyStore,
+                        sourceStore,
+                        policyGuard,
+                        sourceGuard,
+                        new PolicyRunLimiter(properties, mock(ToolMetadataService.class)));
 
         Source ours = teamSource("Ours", "/ours", 1L);
         teamPolicy("Our policy", 1L, ours.id());
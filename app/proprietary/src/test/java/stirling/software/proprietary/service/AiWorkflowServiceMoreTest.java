@@ -33,6 +33,7 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.multipart.MultipartFile;
 
+import stirling.software.SPDF.pdf.parser.TextLayerCache;
 import stirling.software.common.model.ApplicationProperties;
 import stirling.software.common.service.CustomPDFDocumentFactory;
 import stirling.software.common.service.FileStorage;
@@ -96,6 +97,7 @@ class AiWorkflowServiceMoreTest {
                         pdfDocumentFactory,
                         aiEngineClient,
                         pdfContentExtractor,
+                        new TextLayerCache(),
                         objectMapper,
                         fileStorage,
                         tempFileManager,
@@ -45,6 +45,7 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.multipart.MultipartFile;
 
+import stirling.software.SPDF.pdf.parser.TextLayerCache;
 import stirling.software.common.model.ApplicationProperties;
 import stirling.software.common.service.CustomPDFDocumentFactory;
 import stirling.software.common.service.FileStorage;
@@ -118,6 +119,7 @@ class AiWorkflowServiceTest {
                         pdfDocumentFactory,
                         aiEngineClient,
                         pdfContentExtractor,
+                        new TextLayerCache(),
                         objectMapper,
                         fileStorage,
                         tempFileManager,
@@ -540,7 +542,7 @@ class AiWorkflowServiceTest {
         PDDocument document = new PDDocument();
         document.addPage(new PDPage());
         document.addPage(new PDPage());
-        when(pdfDocumentFactory.load(any(MultipartFile.class), anyBoolean())).thenReturn(document);
+        when(pdfDocumentFactory.load(any(byte[].class), anyBoolean())).thenReturn(document);
         when(pdfContentExtractor.extractPageTextRaw(eq(document), anyInt()))
                 .thenReturn("page content");
 
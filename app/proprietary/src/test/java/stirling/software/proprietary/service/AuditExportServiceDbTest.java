@@ -0,0 +1,151 @@
+package stirling.software.proprietary.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import stirling.software.proprietary.model.security.PersistentAuditEvent;
+import stirling.software.proprietary.repository.PersistentAuditEventRepository;
+import stirling.software.proprietary.service.AuditExportService.Filter;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * {@link AuditExportService} against a real (H2) database, with a page size small enough that
+ * every export crosses several keyset pages. {@code NOT_SUPPORTED} runs each page query outside a
+ * transaction, as the export endpoints do.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuditExportServiceDbTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Autowired private PersistentAuditEventRepository repository;
+
+    private AuditExportService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AuditExportService(repository, JsonMapper.builder().build());
+        ReflectionTestUtils.setField(service, "pageSize", 3);
+        List<PersistentAuditEvent> events = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            events.add(
+                    PersistentAuditEvent.builder()
+                            .principal(i % 2 == 0 ? "Alice" : "bob")
+                            .type(i < 5 ? "USER_LOGIN" : "PDF_PROCESS")
+                            .data("{\"i\":" + i + "}")
+                            .timestamp(T0.plusSeconds(i * 3600L))
+                            .build());
+        }
+        repository.saveAll(events);
+    }
+
+    @AfterEach
+    void wipe() {
+        repository.deleteAllInBatch();
+    }
+
+    private List<String> exported(Filter filter) throws Exception {
+        List<String> data = new ArrayList<>();
+        service.forEach(filter, event -> data.add(event.getData()));
+        return data;
+    }
+
+    @Test
+    @DisplayName("pages through every row once, in timestamp order")
+    void allRowsAcrossPages() throws Exception {
+        List<String> data = exported(Filter.ALL);
+
+        assertThat(data).hasSize(10).doesNotHaveDuplicates();
+        assertThat(data.get(0)).isEqualTo("{\"i\":0}");
+        assertThat(data.get(9)).isEqualTo("{\"i\":9}");
+    }
+
+    @Test
+    @DisplayName("orders by timestamp, not insertion, and splits timestamp ties across pages")
+    void timestampOrderAcrossTies() throws Exception {
+        repository.deleteAllInBatch();
+        List<PersistentAuditEvent> events = new ArrayList<>();
+        // Inserted newest first; five events share the middle timestamp and span two pages
+        for (int i = 0; i < 7; i++) {
+            long hours = i == 0 ? 2 : i == 6 ? 0 : 1;
+            events.add(
+                    PersistentAuditEvent.builder()
+                            .principal("Alice")
+                            .type("USER_LOGIN")
+                            .data("{\"i\":" + i + "}")
+                            .timestamp(T0.plusSeconds(hours * 3600))
+                            .build());
+        }
+        repository.saveAll(events);
+
+        assertThat(exported(Filter.ALL))
+                .containsExactly(
+                        "{\"i\":6}",
+                        "{\"i\":1}",
+                        "{\"i\":2}",
+                        "{\"i\":3}",
+                        "{\"i\":4}",
+                        "{\"i\":5}",
+                        "{\"i\":0}");
+    }
+
+    @Test
+    @DisplayName("type, exact principal and time range filters combine")
+    void combinedFilters() throws Exception {
+        Filter filter =
+                new Filter(
+                        List.of("USER_LOGIN"),
+                        List.of("Alice"),
+                        null,
+                        T0.plusSeconds(3600),
+                        T0.plusSeconds(4 * 3600));
+
+        assertThat(exported(filter)).containsExactly("{\"i\":2}", "{\"i\":4}");
+    }
+
+    @Test
+    @DisplayName("principal substring match ignores case")
+    void principalContains() throws Exception {
+        Filter filter = new Filter(List.of("PDF_PROCESS"), null, "LIC", null, null);
+
+        assertThat(exported(filter)).containsExactly("{\"i\":6}", "{\"i\":8}");
+    }
+
+    @Test
+    @DisplayName("CSV and JSON writers emit one record per event")
+    void writers() throws Exception {
+        StringWriter csv = new StringWriter();
+        service.writeCsv(Filter.ALL, csv);
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        service.writeJson(Filter.ALL, json);
+
+        assertThat(csv.toString().lines())
+                .hasSize(11)
+                .first()
+                .isEqualTo("ID,Principal,Type,Timestamp,Data");
+        assertThat(JsonMapper.builder().build().readTree(json.toByteArray()).size()).isEqualTo(10);
+    }
+
+    @SpringBootConfiguration
+    @AutoConfigurationPackage(basePackages = "stirling.software.proprietary")
+    static class TestApp {}
+}
@@ -0,0 +1,153 @@
+package stirling.software.proprietary.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import stirling.software.proprietary.audit.AuditRollupWriter;
+import stirling.software.proprietary.repository.AuditRollupRepository;
+import stirling.software.proprietary.service.AuditRollupService.Totals;
+
+/**
+ * {@link AuditRollupService} against a real (H2) database, so the JPQL sums over {@code
+ * audit_rollups} are exercised end to end. Buckets are inserted directly in the shape {@code
+ * AuditRollupWriter} writes them.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuditRollupServiceDbTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T10:00:00Z");
+
+    @Autowired private AuditRollupRepository repository;
+    @Autowired private DataSource dataSource;
+
+    private JdbcTemplate jdbc;
+    private AuditRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(dataSource);
+        service = new AuditRollupService(repository);
+        // 10:00 - alice merges (1 success, latency 100) and logs in
+        bucket(T0, "PDF_PROCESS", "alice", "/api/v1/general/merge", 2, 1, 0, 0, 100, 1);
+        bucket(T0, "UI_DATA", "alice", "/api/v1/ui-data/footer", 1, 0, 0, 0, 0, 0);
+        // 11:00 - bob fails a split
+        String split = "/api/v1/general/split";
+        bucket(T0.plusSeconds(3600), "PDF_PROCESS", "bob", split, 1, 0, 1, 1, 300, 1);
+        // 12:00 - a login with no endpoint
+        bucket(T0.plusSeconds(7200), "USER_LOGIN", "bob", "", 1, 0, 0, 0, 0, 0);
+    }
+
+    @AfterEach
+    void wipe() {
+        repository.deleteAllInBatch();
+    }
+
+    private void bucket(
+            Instant hour,
+            String type,
+            String principal,
+            String endpoint,
+            long events,
+            long successes,
+            long failures,
+            long errors,
+            long latencySumMs,
+            long latencyCount) {
+        jdbc.update(
+                "INSERT INTO audit_rollups (bucket_hour, type, principal, source, endpoint,"
+                        + " event_count, success_count, failure_count, error_count,"
+                        + " latency_sum_ms, latency_count)"
+                        + " VALUES (?, ?, ?, '', ?, ?, ?, ?, ?, ?, ?)",
+                AuditRollupWriter.hourOf(hour),
+                type,
+                principal,
+                endpoint,
+                events,
+                successes,
+                failures,
+                errors,
+                latencySumMs,
+                latencyCount);
+    }
+
+    @Test
+    @DisplayName("totals sum every measure and count distinct principals")
+    void totals() {
+        assertThat(service.totals(T0, null)).isEqualTo(new Totals(5, 1, 1, 1, 400, 2, 2));
+    }
+
+    @Test
+    @DisplayName("an empty period has zero totals")
+    void emptyTotals() {
+        assertThat(service.totals(T0.minusSeconds(86400), T0))
+                .isEqualTo(new Totals(0, 0, 0, 0, 0, 0, 0));
+    }
+
+    @Test
+    @DisplayName("periods include the start hour and exclude the end hour")
+    void halfOpenPeriods() {
+        Instant midEleven = T0.plusSeconds(3600 + 1800);
+
+        assertThat(service.countsByType(T0, midEleven)).containsOnlyKeys("PDF_PROCESS", "UI_DATA");
+        assertThat(service.countsByType(midEleven, null))
+                .containsEntry("PDF_PROCESS", 1L)
+                .containsEntry("USER_LOGIN", 1L)
+                .doesNotContainKey("UI_DATA");
+        assertThat(service.countsByPrincipal(T0, null))
+                .containsEntry("alice", 3L)
+                .containsEntry("bob", 2L);
+    }
+
+    @Test
+    @DisplayName("endpoint counts skip events without one and filter on type")
+    void endpoints() {
+        assertThat(service.countsByEndpoint(T0, null))
+                .containsOnlyKeys(
+                        "/api/v1/general/merge", "/api/v1/ui-data/footer", "/api/v1/general/split");
+        assertThat(service.countsByEndpointForType("UI_DATA", T0, null))
+                .containsOnlyKeys("/api/v1/ui-data/footer");
+        assertThat(service.countsByEndpointExceptType("UI_DATA", T0, null))
+                .containsEntry("/api/v1/general/merge", 2L)
+                .doesNotContainKey("/api/v1/ui-data/footer");
+    }
+
+    @Test
+    @DisplayName("hours roll up into local days and hours of day")
+    void daysAndHours() {
+        Map<String, Long> byDay = service.countsByDay(T0, null);
+        Map<String, Long> byHour = service.countsByHourOfDay(T0, null);
+
+        assertThat(byDay.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(5);
+        assertThat(byHour).hasSize(24);
+        assertThat(byHour.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("deleteBefore drops whole hours before the cutoff")
+    void deleteBefore() {
+        assertThat(service.deleteBefore(T0.plusSeconds(3600 + 60))).isEqualTo(2);
+
+        assertThat(service.totals(T0, null).events()).isEqualTo(2);
+    }
+
+    @SpringBootConfiguration
+    @AutoConfigurationPackage(basePackages = "stirling.software.proprietary")
+    static class TestApp {}
+}
@@ -35,6 +35,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
+import stirling.software.SPDF.pdf.parser.TextLayerCache;
 import stirling.software.common.service.CustomPDFDocumentFactory;
 import stirling.software.common.service.UserServiceInterface;
 import stirling.software.proprietary.model.api.ai.Verdict;
@@ -59,6 +60,7 @@ class MathAuditorOrchestratorTest {
     @Mock private UserServiceInterface userService;
 
     private ObjectMapper objectMapper;
+    private TextLayerCache textLayerCache;
     private PdfContentExtractor pdfContentExtractor;
     private MathAuditorOrchestrator orchestrator;
 
@@ -69,12 +71,14 @@ class MathAuditorOrchestratorTest {
         stirling.software.SPDF.pdf.parser.TabulaTableParser tabula =
                 org.mockito.Mockito.mock(stirling.software.SPDF.pdf.parser.TabulaTableParser.class);
         lenient().when(tabula.parse(any(PDDocument.class), anyInt())).thenReturn(List.of());
-        pdfContentExtractor = new PdfContentExtractor(tabula);
+        textLayerCache = new TextLayerCache();
+        pdfContentExtractor = new PdfContentExtractor(tabula, textLayerCache);
         orchestrator =
                 new MathAuditorOrchestrator(
                         aiEngineClient,
                         pdfDocumentFactory,
                         pdfContentExtractor,
+                        textLayerCache,
                         objectMapper,
                         userService);
     }
@@ -143,7 +147,7 @@ class MathAuditorOrchestratorTest {
         @Test
         @DisplayName("classifies, examines, fulfils text pages, then returns a verdict")
         void fullAuditReturnsVerdict() throws IOException {
-            when(pdfDocumentFactory.load(any(MultipartFile.class))).thenReturn(loadedDocument());
+            when(pdfDocumentFactory.load(any(byte[].class))).thenReturn(loadedDocument());
             when(aiEngineClient.post(eq(EXAMINE_PATH), anyString(), nullable(String.class)))
                     .thenReturn(requisitionJson("[0,1]", "[]", "[]"));
             when(aiEngineClient.post(contains("deliberate"), anyString(), nullable(String.class)))
@@ -163,7 +167,7 @@ class MathAuditorOrchestratorTest {
         @Test
         @DisplayName("passes the tolerance through as a deliberate query parameter")
         void toleranceIsForwarded() throws IOException {
-            when(pdfDocumentFactory.load(any(MultipartFile.class))).thenReturn(loadedDocument());
+            when(pdfDocumentFactory.load(any(byte[].class))).thenReturn(loadedDocument());
             when(aiEngineClient.post(eq(EXAMINE_PATH), anyString(), nullable(String.class)))
                     .thenReturn(requisitionJson("[0]", "[]", "[]"));
             when(aiEngineClient.post(contains("deliberate"), anyString(), nullable(String.class)))
@@ -181,7 +185,7 @@ class MathAuditorOrchestratorTest {
         @Test
         @DisplayName("requesting tables triggers tabula extraction for that page")
         void tableRequisitionFulfilled() throws IOException {
-            when(pdfDocumentFactory.load(any(MultipartFile.class))).thenReturn(loadedDocument());
+            when(pdfDocumentFactory.load(any(byte[].class))).thenReturn(loadedDocument());
             when(aiEngineClient.post(eq(EXAMINE_PATH), anyString(), nullable(String.class)))
                     .thenReturn(requisitionJson("[]", "[0]", "[]"));
             when(aiEngineClient.post(contains("deliberate"), anyString(), nullable(String.class)))
@@ -195,7 +199,7 @@ class MathAuditorOrchestratorTest {
         @DisplayName(
                 "OCR-only requisition marks the page unauditable and skips deliberation cleanly")
         void ocrRequisitionMarksUnauditable() throws IOException {
-            when(pdfDocumentFactory.load(any(MultipartFile.class))).thenReturn(loadedDocument());
+            when(pdfDocumentFactory.load(any(byte[].class))).thenReturn(loadedDocument());
             when(aiEngineClient.post(eq(EXAMINE_PATH), anyString(), nullable(String.class)))
                     .thenReturn(requisitionJson("[]", "[]", "[0]"));
             when(aiEngineClient.post(contains("deliberate"), anyString(), nullable(String.class)))
@@ -208,7 +212,7 @@ class MathAuditorOrchestratorTest {
         @Test
         @DisplayName("out-of-bounds requisition pages are filtered before fulfilment")
         void outOfBoundsPagesFiltered() throws IOException {
-            when(pdfDocumentFactory.load(any(MultipartFile.class))).thenReturn(loadedDocument());
+            when(pdfDocumentFactory.load(any(byte[].class))).thenReturn(loadedDocument());
             when(aiEngineClient.post(eq(EXAMINE_PATH), anyString(), nullable(String.class)))
                     .thenReturn(requisitionJson("[5,9]", "[]", "[]"));
             when(aiEngineClient.post(contains("deliberate"), anyString(), nullable(String.class)))
@@ -226,7 +230,7 @@ class MathAuditorOrchestratorTest {
         @Test
         @DisplayName("throws IllegalStateException when deliberate returns null")
         void nullVerdictThrows() throws IOException {
-            when(pdfDocumentFactory.load(any(MultipartFile.class))).thenReturn(loadedDocument());
+            when(pdfDocumentFactory.load(any(byte[].class))).thenReturn(loadedDocument());
             when(aiEngineClient.post(eq(EXAMINE_PATH), anyString(), nullable(String.class)))
                     .thenReturn(requisitionJson("[0]", "[]", "[]"));
             when(aiEngineClient.post(contains("deliberate"), anyString(), nullable(String.class)))
@@ -240,7 +244,7 @@ class MathAuditorOrchestratorTest {
         @Test
         @DisplayName("propagates an IOException raised by the engine client")
         void engineFailurePropagates() throws IOException {
-            when(pdfDocumentFactory.load(any(MultipartFile.class))).thenReturn(loadedDocument());
+            when(pdfDocumentFactory.load(any(byte[].class))).thenReturn(loadedDocument());
             when(aiEngineClient.post(eq(EXAMINE_PATH), anyString(), nullable(String.class)))
                     .thenThrow(new IOException("engine down"));
 
@@ -260,7 +264,7 @@ class MathAuditorOrchestratorTest {
         @DisplayName("forwards the current username to the engine when security is enabled")
         void forwardsUsername() throws IOException {
             when(userService.getCurrentUsername()).thenReturn("alice");
-            when(pdfDocumentFactory.load(any(MultipartFile.class))).thenReturn(loadedDocument());
+            when(pdfDocumentFactory.load(any(byte[].class))).thenReturn(loadedDocument());
             when(aiEngineClient.post(eq(EXAMINE_PATH), anyString(), eq("alice")))
                     .thenReturn(requisitionJson("[0]", "[]", "[]"));
             when(aiEngineClient.post(contains("deliberate"), anyString(), eq("alice")))
@@ -279,9 +283,10 @@ class MathAuditorOrchestratorTest {
                             aiEngineClient,
                             pdfDocumentFactory,
                             pdfContentExtractor,
+                            textLayerCache,
                             objectMapper,
                             null);
-            when(pdfDocumentFactory.load(any(MultipartFile.class))).thenReturn(loadedDocument());
+            when(pdfDocumentFactory.load(any(byte[].class))).thenReturn(loadedDocument());
             when(aiEngineClient.post(eq(EXAMINE_PATH), anyString(), nullable(String.class)))
                     .thenReturn(requisitionJson("[0]", "[]", "[]"));
             when(aiEngineClient.post(contains("deliberate"), anyString(), nullable(String.class)))
@@ -32,9 +32,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
-import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import stirling.software.SPDF.pdf.parser.TextLayerCache;
 import stirling.software.common.service.CustomPDFDocumentFactory;
 import stirling.software.common.service.PdfAnnotationService;
 import stirling.software.proprietary.model.api.ai.comments.PdfCommentEngineResponse;
@@ -71,6 +71,7 @@ class PdfCommentAgentOrchestratorTest {
                 new PdfCommentAgentOrchestrator(
                         aiEngineClient,
                         pdfTextChunkExtractor,
+                        new TextLayerCache(),
                         pdfDocumentFactory,
                         objectMapper,
                         pdfAnnotationService,
@@ -81,7 +82,7 @@ class PdfCommentAgentOrchestratorTest {
     void happyPathAppliesValidInstructionsOnCorrectPagesAndReturnsBytes() throws IOException {
         MockMultipartFile input = pdf("doc.pdf");
         byte[] pdfBytes = twoPagePdfBytes();
-        when(pdfDocumentFactory.load(any(MultipartFile.class)))
+        when(pdfDocumentFactory.load(any(byte[].class)))
                 .thenAnswer(inv -> Loader.loadPDF(pdfBytes));
 
         TextChunk c0 = new TextChunk("p0-c0", 0, 72f, 700f, 100f, 12f, "Chunk zero");
@@ -119,7 +120,7 @@ class PdfCommentAgentOrchestratorTest {
     void unknownChunkIdsAreSkippedButValidOnesApplied() throws IOException {
         MockMultipartFile input = pdf("doc.pdf");
         byte[] pdfBytes = twoPagePdfBytes();
-        when(pdfDocumentFactory.load(any(MultipartFile.class)))
+        when(pdfDocumentFactory.load(any(byte[].class)))
                 .thenAnswer(inv -> Loader.loadPDF(pdfBytes));
 
         TextChunk c0 = new TextChunk("p0-c0", 0, 72f, 700f, 100f, 12f, "Chunk zero");
@@ -150,7 +151,7 @@ class PdfCommentAgentOrchestratorTest {
     void emptyCommentsListReturnsDocumentWithoutAnnotations() throws IOException {
         MockMultipartFile input = pdf("doc.pdf");
         byte[] pdfBytes = twoPagePdfBytes();
-        when(pdfDocumentFactory.load(any(MultipartFile.class)))
+        when(pdfDocumentFactory.load(any(byte[].class)))
                 .thenAnswer(inv -> Loader.loadPDF(pdfBytes));
 
         TextChunk c0 = new TextChunk("p0-c0", 0, 72f, 700f, 100f, 12f, "Chunk");
@@ -177,7 +178,7 @@ class PdfCommentAgentOrchestratorTest {
     void emptyChunksListThrowsBadRequestAndDoesNotCallEngine() throws IOException {
         MockMultipartFile input = pdf("doc.pdf");
         byte[] pdfBytes = twoPagePdfBytes();
-        when(pdfDocumentFactory.load(any(MultipartFile.class)))
+        when(pdfDocumentFactory.load(any(byte[].class)))
                 .thenAnswer(inv -> Loader.loadPDF(pdfBytes));
         when(pdfTextChunkExtractor.extract(any(PDDocument.class))).thenReturn(List.of());
 
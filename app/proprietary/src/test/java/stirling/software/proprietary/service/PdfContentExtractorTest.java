@@ -31,6 +31,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import stirling.software.SPDF.pdf.parser.PdfModels.Bounds;
 import stirling.software.SPDF.pdf.parser.PdfModels.TableFragment;
 import stirling.software.SPDF.pdf.parser.TabulaTableParser;
+import stirling.software.SPDF.pdf.parser.TextLayerCache;
 import stirling.software.proprietary.model.api.ai.AiPdfContentType;
 import stirling.software.proprietary.model.api.ai.AiWorkflowFileRequest;
 import stirling.software.proprietary.model.api.ai.FolioType;
@@ -56,7 +57,7 @@ class PdfContentExtractorTest {
     private PdfContentExtractor extractor;
 
     private PdfContentExtractor newExtractor() {
-        return new PdfContentExtractor(tabulaTableParser);
+        return new PdfContentExtractor(tabulaTableParser, new TextLayerCache());
     }
 
     // ------------------------------------------------------------------
@@ -18,6 +18,7 @@ import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 import org.junit.jupiter.api.Test;
 
+import stirling.software.SPDF.pdf.parser.TextLayerCache;
 import stirling.software.proprietary.model.api.ai.comments.TextChunk;
 
 /**
@@ -28,7 +29,7 @@ class PdfTextChunkExtractorTest {
 
     private static final Pattern CHUNK_ID_PATTERN = Pattern.compile("^p\\d+-c\\d+$");
 
-    private final PdfTextChunkExtractor extractor = new PdfTextChunkExtractor();
+    private final PdfTextChunkExtractor extractor = new PdfTextChunkExtractor(new TextLayerCache());
 
     @Test
     void extractsOneChunkPerVisualLineWithValidBoundingBoxes() throws IOException {
@@ -84,6 +84,8 @@ public final class SaasSchemaOwnership {
                     "account_link_usage_counter",
                     "api_key_daily_usage",
                     "api_keys",
+                    "audit_rollup_progress",
+                    "audit_rollups",
                     "file_encryption_keys",
                     "file_run_events",
                     "file_share_accesses",
@@ -95,6 +97,7 @@ public final class SaasSchemaOwnership {
                     "policies",
                     "policy_assets",
                     "policy_completed_migrations",
+                    "policy_listing_watermarks",
                     "policy_processed_files",
                     "policy_source_doc_counts",
                     "policy_source_doc_totals",
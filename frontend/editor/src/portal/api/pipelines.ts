@@ -96,6 +96,10 @@ export interface PipelineView {
   /** Output sink type (e.g. "inline", "folder"). */
   output: string;
   owner: string;
+  /** Runs of this pipeline executing right now. */
+  runsInFlight: number;
+  /** Runs of this pipeline waiting for a concurrency slot. */
+  runsQueued: number;
 }
 
 export interface PipelineKpi {
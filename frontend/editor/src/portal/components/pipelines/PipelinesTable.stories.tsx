@@ -13,6 +13,8 @@ const PIPELINES: PipelineView[] = [
     steps: ["redact", "sanitize", "watermark"],
     output: "folder",
     owner: "jane@stirlingpdf.com",
+    runsInFlight: 0,
+    runsQueued: 0,
   },
   {
     id: "pipe-archive",
@@ -24,6 +26,8 @@ const PIPELINES: PipelineView[] = [
     steps: [],
     output: "inline",
     owner: "jane@stirlingpdf.com",
+    runsInFlight: 0,
+    runsQueued: 0,
   },
 ];
 
@@ -245,6 +245,8 @@ function makePipelineView(
     steps: [],
     output: "inline",
     owner: "alice",
+    runsInFlight: 0,
+    runsQueued: 0,
   };
 }
 
@@ -164,6 +164,8 @@ function toView(policy: StoredPolicy): PipelineView {
         ? policy.outputIds.map((id) => SOURCE_NAMES[id] ?? id).join(", ")
         : (policy.output?.type ?? "inline"),
     owner: policy.owner ?? "you@acme.com",
+    runsInFlight: 0,
+    runsQueued: 0,
   };
 }
 
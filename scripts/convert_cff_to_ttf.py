@@ -484,6 +484,26 @@ def wrap_cff_as_otf(input_path, output_path, tounicode_path=None):
         return False
 
 
+def serve():
+    """
+    Convert fonts for requests read from stdin until it is closed, so one interpreter (with
+    fontTools already imported) handles every font instead of one process per font.
+
+    Each request is a line of tab-separated paths: input, output and an optional ToUnicode file.
+    Each reply is a line on stdout, "OK" or "ERR"; diagnostics go to stderr as usual.
+    """
+    for line in sys.stdin:
+        parts = line.rstrip("\n").split("\t")
+        if len(parts) < 2 or not parts[0] or not parts[1]:
+            print(f"ERROR: Malformed request: {line!r}", file=sys.stderr)
+            success = False
+        else:
+            tounicode_path = parts[2] if len(parts) > 2 and parts[2] else None
+            success = wrap_cff_as_otf(parts[0], parts[1], tounicode_path)
+        sys.stdout.write("OK\n" if success else "ERR\n")
+        sys.stdout.flush()
+
+
 def main():
     import argparse
 
@@ -498,6 +518,9 @@ Examples:
 
   # Positional arguments (backward compatibility):
   convert_cff_to_ttf.py font.cff font.otf mapping.tounicode
+
+  # Long-lived worker reading requests from stdin (used by the server's worker pool):
+  convert_cff_to_ttf.py --serve
         """,
     )
 
@@ -505,6 +528,9 @@ Examples:
     parser.add_argument("--input", dest="input_file", help="Input CFF file path")
     parser.add_argument("--output", dest="output_file", help="Output OTF file path")
     parser.add_argument("--to-unicode", dest="tounicode_file", help="ToUnicode mapping file path")
+    parser.add_argument(
+        "--serve", action="store_true", help="Convert requests read from stdin until it closes"
+    )
 
     # Add positional arguments for backward compatibility
     parser.add_argument("input_pos", nargs="?", help="Input CFF file (positional)")
@@ -513,6 +539,10 @@ Examples:
 
     args = parser.parse_args()
 
+    if args.serve:
+        serve()
+        return
+
     # Determine which arguments to use (named take precedence over positional)
     input_path = args.input_file or args.input_pos
     output_path = args.output_file or args.output_pos